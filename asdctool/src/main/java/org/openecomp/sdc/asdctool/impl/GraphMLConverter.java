@@ -27,6 +27,8 @@ import org.janusgraph.core.JanusGraph;
 import org.janusgraph.core.JanusGraphQuery;
 import org.janusgraph.core.JanusGraphVertex;
 import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.io.IoCore;
@@ -35,6 +37,9 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONReader;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.openecomp.sdc.asdctool.Utils;
+import org.openecomp.sdc.asdctool.impl.partitioned.PartitionedGraphExporter;
+import org.openecomp.sdc.asdctool.impl.partitioned.PartitionedGraphImporter;
+import org.openecomp.sdc.asdctool.impl.partitioned.PartitionedGraphManifest;
 import org.openecomp.sdc.be.dao.neo4j.GraphPropertiesDictionary;
 import org.openecomp.sdc.be.datatypes.enums.NodeTypeEnum;
 import org.openecomp.sdc.common.log.wrappers.Logger;
@@ -63,6 +68,8 @@ public class GraphMLConverter {
 
     private static final String INMEMORY = "inmemory";
 
+    private static final String STORAGE_BATCH_LOADING = "storage.batch-loading";
+
     private static final String CLOSE_FILE_OUTPUT_STREAM_FAILED = "close FileOutputStream failed - {}";
 
     private static final String EXPORT_GRAPH = "exportGraph.";
@@ -85,23 +92,102 @@ public class GraphMLConverter {
 			String inputFile = args[2];
 			graph = openGraph(janusGraphFileLocation);
 
-			List<ImmutablePair<String, String>> propertiesCriteriaToDelete = new ArrayList<>();
-			ImmutablePair<String, String> immutablePair1 = new ImmutablePair<>("healthcheckis", "GOOD");
-			ImmutablePair<String, String> immutablePair2 = new ImmutablePair<>(NODE_LABEL, "user");
-			ImmutablePair<String, String> immutablePair3 = new ImmutablePair<>(NODE_LABEL,
-					"resourceCategory");
-			ImmutablePair<String, String> immutablePair4 = new ImmutablePair<>(NODE_LABEL,
-					"serviceCategory");
+			return importJsonGraph(graph, inputFile, getPropertiesCriteriaToDelete());
+
+		} catch (Exception e) {
+			log.info("import graph failed - {} " , e);
+			return false;
+		} finally {
+			if (graph != null) {
+				graph.close();
+			}
+		}
+
+	}
 
-			propertiesCriteriaToDelete.add(immutablePair1);
-			propertiesCriteriaToDelete.add(immutablePair2);
-			propertiesCriteriaToDelete.add(immutablePair3);
-			propertiesCriteriaToDelete.add(immutablePair4);
+	private List<ImmutablePair<String, String>> getPropertiesCriteriaToDelete() {
+		List<ImmutablePair<String, String>> propertiesCriteriaToDelete = new ArrayList<>();
+		ImmutablePair<String, String> immutablePair1 = new ImmutablePair<>("healthcheckis", "GOOD");
+		ImmutablePair<String, String> immutablePair2 = new ImmutablePair<>(NODE_LABEL, "user");
+		ImmutablePair<String, String> immutablePair3 = new ImmutablePair<>(NODE_LABEL,
+				"resourceCategory");
+		ImmutablePair<String, String> immutablePair4 = new ImmutablePair<>(NODE_LABEL,
+				"serviceCategory");
+
+		propertiesCriteriaToDelete.add(immutablePair1);
+		propertiesCriteriaToDelete.add(immutablePair2);
+		propertiesCriteriaToDelete.add(immutablePair3);
+		propertiesCriteriaToDelete.add(immutablePair4);
+		return propertiesCriteriaToDelete;
+	}
 
-			return importJsonGraph(graph, inputFile, propertiesCriteriaToDelete);
+	/**
+	 * Imports an export of {@link #exportPartitionedGraph(String[])} into a graph opened with storage.batch-loading.
+	 * Running it again after a failure resumes the import.
+	 *
+	 * @param args import-partitioned, janusgraph.properties, export directory and optionally the number of threads and
+	 *             the number of records per commit
+	 */
+	public boolean importPartitionedGraph(String[] args) {
 
+		JanusGraph graph = null;
+		try {
+			String janusGraphFileLocation = args[1];
+			String exportDirectory = args[2];
+			int threads = args.length > 3 ? Integer.parseInt(args[3]) : PartitionedGraphImporter.DEFAULT_THREADS;
+			int commitSize = args.length > 4 ? Integer.parseInt(args[4]) : PartitionedGraphImporter.DEFAULT_COMMIT_SIZE;
+			graph = openGraphForBatchLoading(janusGraphFileLocation);
+
+			PartitionedGraphManifest manifest = new PartitionedGraphImporter(graph, threads, commitSize)
+					.importGraph(new File(exportDirectory), getPropertiesCriteriaToDelete());
+
+			System.out.println("Imported " + manifest.getVertices() + " vertices and " + manifest.getEdges()
+					+ " edges from " + exportDirectory);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.info("import partitioned graph was interrupted - {}" , e);
+			return false;
 		} catch (Exception e) {
-			log.info("import graph failed - {} " , e);
+			System.out.println("Failed to import graph " + e.getMessage());
+			log.info("import partitioned graph failed - {}" , e);
+			return false;
+		} finally {
+			if (graph != null) {
+				graph.close();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Exports the graph in chunks exported in parallel, into compressed part files listed with their checksum by a
+	 * manifest.
+	 *
+	 * @param args export-partitioned, janusgraph.properties, output directory and optionally the number of threads and
+	 *             the number of vertices per chunk
+	 */
+	public boolean exportPartitionedGraph(String[] args) {
+
+		JanusGraph graph = null;
+		try {
+			String janusGraphFileLocation = args[1];
+			String outputDirectory = args[2];
+			int threads = args.length > 3 ? Integer.parseInt(args[3]) : PartitionedGraphExporter.DEFAULT_THREADS;
+			int chunkSize = args.length > 4 ? Integer.parseInt(args[4]) : PartitionedGraphExporter.DEFAULT_CHUNK_SIZE;
+			graph = openGraph(janusGraphFileLocation);
+
+			PartitionedGraphManifest manifest = new PartitionedGraphExporter(graph, threads, chunkSize)
+					.export(new File(outputDirectory));
+
+			System.out.println("Exported " + manifest.getVertices() + " vertices and " + manifest.getEdges()
+					+ " edges to " + outputDirectory);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.info("export partitioned graph was interrupted - {}" , e);
+			return false;
+		} catch (Exception e) {
+			log.info("export partitioned graph failed - {}" , e);
 			return false;
 		} finally {
 			if (graph != null) {
@@ -109,6 +195,7 @@ public class GraphMLConverter {
 			}
 		}
 
+		return true;
 	}
 
 	public boolean exportGraph(String[] args) {
@@ -195,6 +282,14 @@ public class GraphMLConverter {
 
 	}
 
+	public JanusGraph openGraphForBatchLoading(String janusGraphFileLocation) throws ConfigurationException {
+
+		PropertiesConfiguration configuration = new PropertiesConfiguration(janusGraphFileLocation);
+		configuration.setProperty(STORAGE_BATCH_LOADING, true);
+		return JanusGraphFactory.open(configuration);
+
+	}
+
 	public String exportJsonGraph(JanusGraph graph, String outputDirectory) {
 
 		String result = null;
@@ -0,0 +1,118 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.asdctool.impl;
+
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphException;
+import org.janusgraph.core.JanusGraphFactory;
+import org.janusgraph.core.schema.JanusGraphIndex;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.janusgraph.core.schema.SchemaAction;
+import org.janusgraph.core.schema.SchemaStatus;
+import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanMetrics;
+import org.janusgraph.graphdb.database.management.ManagementSystem;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphCompositeIndexes;
+import org.openecomp.sdc.be.dao.jsongraph.types.CompositeIndexEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Builds the missing composite indexes of {@link CompositeIndexEnum} on a graph with data and enables them by
+ * reindexing the existing vertices. The graph stays online, the back end keeps using it while the indexes are built.
+ */
+public class JanusGraphCompositeIndexReindexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JanusGraphCompositeIndexReindexer.class.getName());
+    private static final long STATUS_TIMEOUT_IN_MINUTES = 10;
+
+    private JanusGraphCompositeIndexReindexer() {
+    }
+
+    public static boolean reindex(String janusGraphCfgFile) {
+        JanusGraph graph;
+        try {
+            graph = JanusGraphFactory.open(janusGraphCfgFile);
+        } catch (JanusGraphException e) {
+            logger.info("reindex : failed to open JanusGraph graph with configuration file: {}", janusGraphCfgFile, e);
+            return false;
+        }
+        try {
+            for (CompositeIndexEnum compositeIndex : CompositeIndexEnum.values()) {
+                if (!reindex(graph, compositeIndex)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            graph.close();
+        }
+    }
+
+    static boolean reindex(JanusGraph graph, CompositeIndexEnum compositeIndex) {
+        String indexName = compositeIndex.getIndexName();
+        try {
+            JanusGraphManagement graphMgt = graph.openManagement();
+            boolean exists = graphMgt.containsGraphIndex(indexName);
+            JanusGraphIndex index = exists ? graphMgt.getGraphIndex(indexName) : JanusGraphCompositeIndexes.buildIndex(graphMgt, compositeIndex);
+            SchemaStatus status = index.getIndexStatus(index.getFieldKeys()[0]);
+            if (status == SchemaStatus.ENABLED) {
+                graphMgt.rollback();
+                logger.info("Composite index {} is enabled", indexName);
+                return true;
+            }
+            if (status == SchemaStatus.DISABLED) {
+                graphMgt.rollback();
+                logger.error("Composite index {} is disabled and is not reindexed", indexName);
+                return false;
+            }
+            if (exists && status == SchemaStatus.INSTALLED) {
+                // installed by an earlier run, registering it again does not wait for instances that are gone
+                graphMgt.updateIndex(index, SchemaAction.REGISTER_INDEX).get();
+            }
+            graphMgt.commit();
+            awaitStatus(graph, indexName, SchemaStatus.REGISTERED, SchemaStatus.ENABLED);
+
+            long start = System.currentTimeMillis();
+            graphMgt = graph.openManagement();
+            ScanMetrics metrics = graphMgt.updateIndex(graphMgt.getGraphIndex(indexName), SchemaAction.REINDEX).get();
+            graphMgt.commit();
+            awaitStatus(graph, indexName, SchemaStatus.ENABLED);
+            logger.info("Composite index {} was reindexed and enabled in {} ms, {} vertices were indexed", indexName,
+                    System.currentTimeMillis() - start, metrics.get(ScanMetrics.Metric.SUCCESS));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Reindexing composite index {} was interrupted", indexName, e);
+            return false;
+        } catch (Exception e) {
+            logger.error("Failed to reindex composite index {}", indexName, e);
+            graph.tx().rollback();
+            return false;
+        }
+    }
+
+    private static void awaitStatus(JanusGraph graph, String indexName, SchemaStatus... statuses) throws InterruptedException {
+        ManagementSystem.awaitGraphIndexStatus(graph, indexName).status(statuses)
+                .timeout(STATUS_TIMEOUT_IN_MINUTES, ChronoUnit.MINUTES).call();
+    }
+}
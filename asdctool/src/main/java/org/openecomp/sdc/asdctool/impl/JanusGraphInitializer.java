@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.openecomp.sdc.be.dao.graph.datatype.ActionEnum;
 import org.openecomp.sdc.be.dao.graph.datatype.GraphElementTypeEnum;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphCompositeIndexes;
 import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
 import org.openecomp.sdc.be.dao.jsongraph.utils.IdBuilderUtils;
 import org.openecomp.sdc.be.dao.neo4j.GraphEdgePropertiesDictionary;
@@ -163,6 +164,7 @@ public class JanusGraphInitializer {
 				}
 			}
 		}
+		JanusGraphCompositeIndexes.createMissingIndexes(graphMgt);
 		graphMgt.commit();
 		logger.info("** createVertexIndixes ended");
 
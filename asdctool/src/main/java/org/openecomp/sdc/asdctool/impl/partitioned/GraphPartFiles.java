@@ -0,0 +1,253 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.openecomp.sdc.asdctool.impl.partitioned.PartitionedGraphManifest.Part;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The files of a partitioned graph export. A part file holds one GraphSON 3.0 record per line, gzip compressed, so the
+ * values keep their type. A vertex record holds the id of the vertex in the exported graph, an edge record the ids of
+ * its vertices.
+ */
+final class GraphPartFiles {
+
+    static final String MANIFEST_FILE = "manifest.json";
+    static final String ID = "id";
+    static final String LABEL = "label";
+    static final String OUT_VERTEX = "outV";
+    static final String IN_VERTEX = "inV";
+    static final String PROPERTIES = "properties";
+
+    private static final String IDS_SUFFIX = ".ids";
+    private static final String BATCH_SUFFIX = ".ids.batch";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private GraphPartFiles() {
+    }
+
+    static ObjectMapper newMapper(Graph graph) {
+        return graph.io(IoCore.graphson()).mapper().version(GraphSONVersion.V3_0).create().createMapper();
+    }
+
+    static String vertexPartName(int index) {
+        return String.format("vertices-%05d.json.gz", index);
+    }
+
+    static String edgePartName(int index) {
+        return String.format("edges-%05d.json.gz", index);
+    }
+
+    /**
+     * The file mapping the ids of the exported vertices of a vertex part to the ids of the imported vertices, a line
+     * per vertex
+     */
+    static File idsFile(File directory, Part vertexPart) {
+        return new File(directory, vertexPart.getFile() + IDS_SUFFIX);
+    }
+
+    /**
+     * The file listing the ids of the batch of a part being committed. For a vertex part it is in the format of the ids
+     * file, for an edge part a line per edge has the number of its record in the part and the id of the imported edge.
+     */
+    static File batchFile(File directory, Part part) {
+        return new File(directory, part.getFile() + BATCH_SUFFIX);
+    }
+
+    static void writeManifest(File directory, PartitionedGraphManifest manifest) throws IOException {
+        writeAtomically(new File(directory, MANIFEST_FILE), GSON.toJson(manifest));
+    }
+
+    static PartitionedGraphManifest readManifest(File directory) throws IOException {
+        File file = new File(directory, MANIFEST_FILE);
+        if (!file.isFile()) {
+            throw new IOException("Manifest " + file + " cannot be found");
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            PartitionedGraphManifest manifest = GSON.fromJson(reader, PartitionedGraphManifest.class);
+            if (manifest.getFormatVersion() != PartitionedGraphManifest.FORMAT_VERSION) {
+                throw new IOException("Manifest " + file + " has unsupported format version " + manifest.getFormatVersion());
+            }
+            return manifest;
+        }
+    }
+
+    /**
+     * Writes the file through a temporary file, so a reader finds either the former or the new content
+     */
+    static void writeAtomically(File file, String content) throws IOException {
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        Files.write(tmp.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @throws IOException if the checksum of the part file is not the one in the manifest
+     */
+    static void verify(File directory, Part part) throws IOException {
+        String sha256;
+        try (InputStream in = new FileInputStream(new File(directory, part.getFile()))) {
+            sha256 = DigestUtils.sha256Hex(in);
+        }
+        if (!sha256.equals(part.getSha256())) {
+            throw new IOException("Part " + part.getFile() + " is corrupted, its checksum is " + sha256 + " instead of "
+                    + part.getSha256());
+        }
+    }
+
+    static Map<String, Object> toRecord(Vertex vertex) {
+        Map<String, List<Object>> properties = new LinkedHashMap<>();
+        vertex.properties().forEachRemaining(property ->
+                properties.computeIfAbsent(property.key(), key -> new ArrayList<>()).add(property.value()));
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put(ID, vertex.id());
+        record.put(LABEL, vertex.label());
+        record.put(PROPERTIES, properties);
+        return record;
+    }
+
+    static Map<String, Object> toRecord(Edge edge) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        edge.properties().forEachRemaining(property -> properties.put(property.key(), property.value()));
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put(LABEL, edge.label());
+        record.put(OUT_VERTEX, edge.outVertex().id());
+        record.put(IN_VERTEX, edge.inVertex().id());
+        record.put(PROPERTIES, properties);
+        return record;
+    }
+
+    /**
+     * Writes the records of a part file, computing the checksum of the compressed file as it is written
+     */
+    static class PartWriter implements Closeable {
+
+        private final String file;
+        private final ObjectMapper mapper;
+        private final MessageDigest digest = DigestUtils.getSha256Digest();
+        private final Writer writer;
+        private long records;
+        private boolean closed;
+
+        PartWriter(File directory, String file, ObjectMapper mapper) throws IOException {
+            this.file = file;
+            this.mapper = mapper;
+            this.writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(new DigestOutputStream(
+                    new FileOutputStream(new File(directory, file)), digest), 64 * 1024), StandardCharsets.UTF_8));
+        }
+
+        void write(Map<String, Object> record) throws IOException {
+            writer.write(mapper.writeValueAsString(record));
+            writer.write('\n');
+            records++;
+        }
+
+        long getRecords() {
+            return records;
+        }
+
+        /**
+         * Closes the part file
+         *
+         * @return the part, as listed by the manifest
+         */
+        Part finish() throws IOException {
+            close();
+            return new Part(file, records, Hex.encodeHexString(digest.digest()));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the records of a part file
+     */
+    static class PartReader implements Closeable {
+
+        private final ObjectMapper mapper;
+        private final BufferedReader reader;
+
+        PartReader(File directory, Part part, ObjectMapper mapper) throws IOException {
+            this.mapper = mapper;
+            this.reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                    new FileInputStream(new File(directory, part.getFile())), 64 * 1024), StandardCharsets.UTF_8));
+        }
+
+        void skip(long records) throws IOException {
+            for (long i = 0; i < records && reader.readLine() != null; i++) {
+                // skipped
+            }
+        }
+
+        /**
+         * @return the next record, null once all were read
+         */
+        @SuppressWarnings("unchecked")
+        Map<String, Object> read() throws IOException {
+            String line = reader.readLine();
+            return line == null ? null : (Map<String, Object>) mapper.readValue(line, Object.class);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
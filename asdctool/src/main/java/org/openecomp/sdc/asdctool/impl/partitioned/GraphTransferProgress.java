@@ -0,0 +1,98 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports the progress and the throughput of an export or an import periodically, and once it is done.
+ */
+class GraphTransferProgress implements AutoCloseable {
+
+    static final long UNKNOWN = -1;
+
+    private static final Logger log = Logger.getLogger(GraphTransferProgress.class.getName());
+    private static final long REPORT_INTERVAL_IN_SECONDS = 30;
+
+    private final String operation;
+    private final long expectedVertices;
+    private final long expectedEdges;
+    private final long start = System.currentTimeMillis();
+    private final AtomicLong vertices = new AtomicLong();
+    private final AtomicLong edges = new AtomicLong();
+    private final ScheduledExecutorService reporter;
+
+    /**
+     * @param operation        names the transfer in the reports, e.g. Exported
+     * @param expectedVertices the number of vertices to transfer, {@link #UNKNOWN} if not known
+     * @param expectedEdges    the number of edges to transfer, {@link #UNKNOWN} if not known
+     */
+    GraphTransferProgress(String operation, long expectedVertices, long expectedEdges) {
+        this.operation = operation;
+        this.expectedVertices = expectedVertices;
+        this.expectedEdges = expectedEdges;
+        reporter = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("GraphTransferProgress-%d").setDaemon(true).build());
+        reporter.scheduleAtFixedRate(this::report, REPORT_INTERVAL_IN_SECONDS, REPORT_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+    }
+
+    void addVertices(long count) {
+        vertices.addAndGet(count);
+    }
+
+    void addEdges(long count) {
+        edges.addAndGet(count);
+    }
+
+    long getVertices() {
+        return vertices.get();
+    }
+
+    long getEdges() {
+        return edges.get();
+    }
+
+    String report() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        String report = String.format("%s %d%s vertices and %d%s edges in %d s, %d elements/s", operation,
+                vertices.get(), total(expectedVertices), edges.get(), total(expectedEdges), elapsed / 1000,
+                (vertices.get() + edges.get()) * 1000 / elapsed);
+        System.out.println(report);
+        log.info(report);
+        return report;
+    }
+
+    private static String total(long expected) {
+        return expected == UNKNOWN ? "" : "/" + expected;
+    }
+
+    @Override
+    public void close() {
+        reporter.shutdownNow();
+    }
+}
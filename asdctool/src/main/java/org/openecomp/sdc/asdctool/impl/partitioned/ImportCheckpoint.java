@@ -0,0 +1,90 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Properties;
+
+/**
+ * The progress of an import, kept in the directory of the export so an interrupted import resumes where it stopped.
+ * It records whether the import started and completed, and the number of records committed of each edge part. The
+ * vertices committed of a vertex part are the ones listed in its ids file.
+ */
+class ImportCheckpoint {
+
+    static final String FILE_NAME = "import.checkpoint";
+
+    private static final String STARTED = "started";
+    private static final String COMPLETED = "completed";
+
+    private final File file;
+    private final Properties properties = new Properties();
+
+    private ImportCheckpoint(File file) {
+        this.file = file;
+    }
+
+    static ImportCheckpoint load(File directory) throws IOException {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(new File(directory, FILE_NAME));
+        if (checkpoint.file.isFile()) {
+            try (InputStream in = new FileInputStream(checkpoint.file)) {
+                checkpoint.properties.load(in);
+            }
+        }
+        return checkpoint;
+    }
+
+    synchronized boolean isStarted() {
+        return Boolean.parseBoolean(properties.getProperty(STARTED));
+    }
+
+    synchronized void markStarted() throws IOException {
+        update(STARTED, Boolean.TRUE.toString());
+    }
+
+    synchronized boolean isCompleted() {
+        return Boolean.parseBoolean(properties.getProperty(COMPLETED));
+    }
+
+    synchronized void markCompleted() throws IOException {
+        update(COMPLETED, Boolean.TRUE.toString());
+    }
+
+    synchronized long getCommitted(String part) {
+        return Long.parseLong(properties.getProperty(part, "0"));
+    }
+
+    synchronized void setCommitted(String part, long records) throws IOException {
+        update(part, Long.toString(records));
+    }
+
+    private void update(String key, String value) throws IOException {
+        properties.setProperty(key, value);
+        StringWriter content = new StringWriter();
+        properties.store(content, null);
+        GraphPartFiles.writeAtomically(file, content.toString());
+    }
+}
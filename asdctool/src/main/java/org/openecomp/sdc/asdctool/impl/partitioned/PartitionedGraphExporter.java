@@ -0,0 +1,215 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphVertex;
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.configuration.Configuration;
+import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanMetrics;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.olap.QueryContainer;
+import org.janusgraph.graphdb.olap.VertexJobConverter;
+import org.janusgraph.graphdb.olap.VertexScanJob;
+import org.janusgraph.graphdb.types.system.BaseLabel;
+import org.openecomp.sdc.asdctool.impl.partitioned.GraphPartFiles.PartWriter;
+import org.openecomp.sdc.asdctool.impl.partitioned.PartitionedGraphManifest.Part;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exports a graph into part files, without holding more than a few chunks of it in memory.
+ * <p>
+ * The edge store is scanned once by a vertex scan job, which loads every vertex with its label, properties and
+ * outgoing edges as it is scanned. The scanned vertices are processed by the workers in blocks of chunkSize vertices,
+ * each block exported into a vertex part and an edge part of its own. The parts are listed with their checksum by the
+ * manifest, written once all are exported.
+ */
+public class PartitionedGraphExporter {
+
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    private static final Logger log = Logger.getLogger(PartitionedGraphExporter.class.getName());
+
+    private final JanusGraph graph;
+    private final int threads;
+    private final int chunkSize;
+
+    public PartitionedGraphExporter(JanusGraph graph, int threads, int chunkSize) {
+        this.graph = graph;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return the manifest of the export, written into outputDirectory with the parts
+     */
+    public PartitionedGraphManifest export(File outputDirectory) throws IOException, InterruptedException {
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Output directory " + outputDirectory + " cannot be created");
+        }
+        try (GraphTransferProgress progress = new GraphTransferProgress("Exported", GraphTransferProgress.UNKNOWN,
+                GraphTransferProgress.UNKNOWN)) {
+            ChunkExportJob job = new ChunkExportJob(outputDirectory, GraphPartFiles.newMapper(graph), progress);
+            ScanMetrics metrics;
+            try {
+                metrics = ((StandardJanusGraph) graph).getBackend().buildEdgeScanJob()
+                        .setNumProcessingThreads(threads)
+                        .setWorkBlockSize(chunkSize)
+                        .setJob(VertexJobConverter.convert(graph, job))
+                        .execute()
+                        .get();
+            } catch (BackendException e) {
+                throw new IOException("Failed to scan the graph", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to scan the graph", e.getCause());
+            }
+            if (job.failure.get() != null) {
+                throw job.failure.get();
+            }
+            if (metrics.get(ScanMetrics.Metric.FAILURE) > 0) {
+                throw new IOException(metrics.get(ScanMetrics.Metric.FAILURE) + " vertices failed to be exported");
+            }
+            PartitionedGraphManifest manifest = new PartitionedGraphManifest();
+            job.chunks.values().forEach(parts -> manifest.addChunk(parts[0], parts[1]));
+            GraphPartFiles.writeManifest(outputDirectory, manifest);
+            progress.report();
+            return manifest;
+        }
+    }
+
+    /**
+     * Exports the vertices of a worker iteration, a block of at most chunkSize vertices, into a chunk. A clone of the
+     * job is run by each worker, the chunks and the first failure are shared by all clones.
+     */
+    private static class ChunkExportJob implements VertexScanJob {
+
+        private final File outputDirectory;
+        private final ObjectMapper mapper;
+        private final GraphTransferProgress progress;
+        private final AtomicInteger lastIndex;
+        private final ConcurrentSkipListMap<Integer, Part[]> chunks;
+        private final AtomicReference<IOException> failure;
+        private int index;
+        private PartWriter vertexPart;
+        private PartWriter edgePart;
+        private long start;
+
+        ChunkExportJob(File outputDirectory, ObjectMapper mapper, GraphTransferProgress progress) {
+            this(outputDirectory, mapper, progress, new AtomicInteger(), new ConcurrentSkipListMap<>(), new AtomicReference<>());
+        }
+
+        private ChunkExportJob(File outputDirectory, ObjectMapper mapper, GraphTransferProgress progress, AtomicInteger lastIndex,
+                               ConcurrentSkipListMap<Integer, Part[]> chunks, AtomicReference<IOException> failure) {
+            this.outputDirectory = outputDirectory;
+            this.mapper = mapper;
+            this.progress = progress;
+            this.lastIndex = lastIndex;
+            this.chunks = chunks;
+            this.failure = failure;
+        }
+
+        @Override
+        public void getQueries(QueryContainer queries) {
+            queries.addQuery().type(BaseLabel.VertexLabelEdge).direction(Direction.OUT).edges();
+            queries.addQuery().properties();
+            queries.addQuery().direction(Direction.OUT).edges();
+        }
+
+        @Override
+        public void workerIterationStart(JanusGraph graph, Configuration config, ScanMetrics metrics) {
+            vertexPart = null;
+            edgePart = null;
+        }
+
+        @Override
+        public void process(JanusGraphVertex vertex, ScanMetrics metrics) {
+            // once a chunk failed the remaining vertices are skipped, the failure is thrown by export
+            if (failure.get() != null) {
+                return;
+            }
+            try {
+                if (vertexPart == null) {
+                    // the chunk is opened by its first vertex, so a worker which gets no vertex writes no part
+                    start = System.currentTimeMillis();
+                    index = lastIndex.incrementAndGet();
+                    vertexPart = new PartWriter(outputDirectory, GraphPartFiles.vertexPartName(index), mapper);
+                    edgePart = new PartWriter(outputDirectory, GraphPartFiles.edgePartName(index), mapper);
+                }
+                vertexPart.write(GraphPartFiles.toRecord(vertex));
+                Iterator<Edge> edges = vertex.edges(Direction.OUT);
+                while (edges.hasNext()) {
+                    edgePart.write(GraphPartFiles.toRecord(edges.next()));
+                }
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void workerIterationEnd(ScanMetrics metrics) {
+            if (vertexPart == null) {
+                return;
+            }
+            try {
+                chunks.put(index, new Part[]{vertexPart.finish(), edgePart.finish()});
+                progress.addVertices(vertexPart.getRecords());
+                progress.addEdges(edgePart.getRecords());
+                log.debug("Exported chunk {} with {} vertices and {} edges in {} ms", index, vertexPart.getRecords(),
+                        edgePart.getRecords(), System.currentTimeMillis() - start);
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+                close(vertexPart);
+                close(edgePart);
+            } finally {
+                vertexPart = null;
+                edgePart = null;
+            }
+        }
+
+        private static void close(PartWriter part) {
+            try {
+                part.close();
+            } catch (IOException e) {
+                log.debug("Failed to close part {}", part, e);
+            }
+        }
+
+        @Override
+        public ChunkExportJob clone() {
+            return new ChunkExportJob(outputDirectory, mapper, progress, lastIndex, chunks, failure);
+        }
+    }
+}
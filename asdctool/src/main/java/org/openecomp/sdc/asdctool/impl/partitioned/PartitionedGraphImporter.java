@@ -0,0 +1,437 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphElement;
+import org.openecomp.sdc.asdctool.impl.partitioned.GraphPartFiles.PartReader;
+import org.openecomp.sdc.asdctool.impl.partitioned.PartitionedGraphManifest.Part;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Imports a graph exported by {@link PartitionedGraphExporter}, meant for a graph opened with storage.batch-loading.
+ * <p>
+ * The vertex parts are loaded first, then the edge parts, each part by a worker which commits every commitSize
+ * records. The checksum of a part is verified before it is loaded. Before a vertex batch is committed, the ids of its
+ * vertices are written to the batch file of the part, and once committed they are appended to the ids file. When the
+ * import resumes, a batch file left is settled first: a batch fully committed is appended to the ids file, and the
+ * vertices of a batch committed partially are removed. This relies on the vertex ids being assigned when the vertices
+ * are added, as with the default ids.flush. Before an edge batch is committed, the ids of its edges are written to the
+ * batch file of the part, and once committed the number of records committed is saved in the checkpoint, so an
+ * interrupted import resumes after the last batch recorded. The edges of a batch left which exist are not added again.
+ */
+public class PartitionedGraphImporter {
+
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_COMMIT_SIZE = 1000;
+
+    private static final Logger log = Logger.getLogger(PartitionedGraphImporter.class.getName());
+    private static final Pattern ID_MAPPING = Pattern.compile("-?\\d+ -?\\d+");
+
+    private final JanusGraph graph;
+    private final int threads;
+    private final int commitSize;
+
+    public PartitionedGraphImporter(JanusGraph graph, int threads, int commitSize) {
+        this.graph = graph;
+        this.threads = threads;
+        this.commitSize = commitSize;
+    }
+
+    /**
+     * @param exportDirectory            the directory of the export, where the progress of the import is kept too
+     * @param propertiesCriteriaToDelete the vertices of the graph having one of these property values are removed
+     *                                   before the import starts
+     * @return the manifest of the imported export
+     */
+    public PartitionedGraphManifest importGraph(File exportDirectory, List<ImmutablePair<String, String>> propertiesCriteriaToDelete)
+            throws IOException, InterruptedException {
+        PartitionedGraphManifest manifest = GraphPartFiles.readManifest(exportDirectory);
+        ImportCheckpoint checkpoint = ImportCheckpoint.load(exportDirectory);
+        if (checkpoint.isCompleted()) {
+            throw new IOException("The export in " + exportDirectory + " was imported already");
+        }
+        if (!checkpoint.isStarted()) {
+            removeVertices(propertiesCriteriaToDelete);
+            checkpoint.markStarted();
+        } else {
+            System.out.println("Resuming the import of " + exportDirectory);
+        }
+        ObjectMapper mapper = GraphPartFiles.newMapper(graph);
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("PartitionedGraphImporter-%d").setDaemon(true).build());
+        try (GraphTransferProgress progress = new GraphTransferProgress("Imported", manifest.getVertices(), manifest.getEdges())) {
+            runAll(executor, manifest.getVertexParts(), part -> importVertices(exportDirectory, part, mapper, progress));
+            VertexIdMap vertexIds = loadVertexIds(exportDirectory, manifest);
+            runAll(executor, manifest.getEdgeParts(),
+                    part -> importEdges(exportDirectory, part, mapper, vertexIds, checkpoint, progress));
+            checkpoint.markCompleted();
+            progress.report();
+            return manifest;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void removeVertices(List<ImmutablePair<String, String>> propertiesCriteriaToDelete) {
+        if (propertiesCriteriaToDelete != null) {
+            for (ImmutablePair<String, String> criteria : propertiesCriteriaToDelete) {
+                Iterator<? extends Vertex> vertices = graph.query().has(criteria.getKey(), criteria.getValue()).vertices().iterator();
+                while (vertices.hasNext()) {
+                    vertices.next().remove();
+                    System.out.println("Remove vertex of type " + criteria.getKey() + " and value " + criteria.getValue());
+                }
+            }
+        }
+        graph.tx().commit();
+    }
+
+    private void importVertices(File directory, Part part, ObjectMapper mapper, GraphTransferProgress progress) throws IOException {
+        File idsFile = GraphPartFiles.idsFile(directory, part);
+        File batchFile = GraphPartFiles.batchFile(directory, part);
+        repairIds(idsFile);
+        settleBatch(idsFile, batchFile);
+        long committed = repairIds(idsFile);
+        progress.addVertices(committed);
+        if (committed >= part.getRecords()) {
+            return;
+        }
+        GraphPartFiles.verify(directory, part);
+        long start = System.currentTimeMillis();
+        List<Object> exportedIds = new ArrayList<>(commitSize);
+        List<Vertex> importedVertices = new ArrayList<>(commitSize);
+        try (PartReader reader = new PartReader(directory, part, mapper);
+             Writer ids = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(idsFile, true), StandardCharsets.UTF_8))) {
+            reader.skip(committed);
+            Map<String, Object> record;
+            while ((record = reader.read()) != null) {
+                Vertex vertex = graph.addVertex(T.label, record.get(GraphPartFiles.LABEL));
+                setProperties(vertex, getProperties(record));
+                exportedIds.add(record.get(GraphPartFiles.ID));
+                importedVertices.add(vertex);
+                if (importedVertices.size() == commitSize) {
+                    commitVertices(batchFile, ids, exportedIds, importedVertices, progress);
+                }
+            }
+            commitVertices(batchFile, ids, exportedIds, importedVertices, progress);
+        } catch (IOException | RuntimeException e) {
+            graph.tx().rollback();
+            throw e;
+        }
+        log.debug("Imported vertex part {} in {} ms", part.getFile(), System.currentTimeMillis() - start);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getProperties(Map<String, Object> record) {
+        return (Map<String, Object>) record.get(GraphPartFiles.PROPERTIES);
+    }
+
+    private static void setProperties(Vertex vertex, Map<String, Object> properties) {
+        properties.forEach((key, values) -> {
+            List<?> valueList = (List<?>) values;
+            if (valueList.size() == 1) {
+                vertex.property(key, valueList.get(0));
+            } else {
+                valueList.forEach(value -> vertex.property(VertexProperty.Cardinality.list, key, value));
+            }
+        });
+    }
+
+    private void commitVertices(File batchFile, Writer ids, List<Object> exportedIds, List<Vertex> importedVertices,
+                                GraphTransferProgress progress) throws IOException {
+        if (importedVertices.isEmpty()) {
+            graph.tx().commit();
+            return;
+        }
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < importedVertices.size(); i++) {
+            Vertex vertex = importedVertices.get(i);
+            if (!((JanusGraphElement) vertex).hasId()) {
+                throw new IllegalStateException("Vertex ids must be assigned when the vertices are added, ids.flush cannot be disabled");
+            }
+            batch.append(toLong(exportedIds.get(i))).append(' ').append(toLong(vertex.id())).append('\n');
+        }
+        GraphPartFiles.writeAtomically(batchFile, batch.toString());
+        graph.tx().commit();
+        ids.write(batch.toString());
+        ids.flush();
+        Files.delete(batchFile.toPath());
+        progress.addVertices(importedVertices.size());
+        exportedIds.clear();
+        importedVertices.clear();
+    }
+
+    /**
+     * Settles the batch whose commit was interrupted, if the batch file of the part is left. The batch is recorded
+     * already if the ids file ends with it. Otherwise it is appended to the ids file if all its vertices were committed,
+     * and if only some were, these are removed so the batch is loaded again.
+     */
+    void settleBatch(File idsFile, File batchFile) throws IOException {
+        if (!batchFile.isFile()) {
+            return;
+        }
+        List<String> batch = Files.readAllLines(batchFile.toPath(), StandardCharsets.UTF_8);
+        if (!batch.isEmpty() && !batch.get(batch.size() - 1).equals(readLastLine(idsFile))) {
+            List<Vertex> committedVertices = new ArrayList<>();
+            for (String mapping : batch) {
+                Iterator<Vertex> vertices = graph.vertices(Long.parseLong(mapping.substring(mapping.indexOf(' ') + 1)));
+                if (vertices.hasNext()) {
+                    committedVertices.add(vertices.next());
+                }
+            }
+            if (committedVertices.size() == batch.size()) {
+                graph.tx().rollback();
+                try (Writer ids = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(idsFile, true), StandardCharsets.UTF_8))) {
+                    for (String mapping : batch) {
+                        ids.write(mapping + "\n");
+                    }
+                }
+                log.info("Batch of {} vertices committed before the import was interrupted is recorded", batch.size());
+            } else {
+                committedVertices.forEach(Vertex::remove);
+                graph.tx().commit();
+                log.info("{} vertices of a batch committed partially before the import was interrupted are removed",
+                        committedVertices.size());
+            }
+        }
+        Files.delete(batchFile.toPath());
+    }
+
+    private static String readLastLine(File file) throws IOException {
+        String last = null;
+        if (file.isFile()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    last = line;
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Drops the last line of the ids file if it was not fully written
+     *
+     * @return the number of vertices listed by the ids file
+     */
+    static long repairIds(File idsFile) throws IOException {
+        if (!idsFile.isFile()) {
+            return 0;
+        }
+        StringBuilder valid = new StringBuilder();
+        long lines = 0;
+        boolean repaired = false;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(idsFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (ID_MAPPING.matcher(line).matches()) {
+                    valid.append(line).append('\n');
+                    lines++;
+                } else {
+                    repaired = true;
+                }
+            }
+        }
+        if (repaired) {
+            GraphPartFiles.writeAtomically(idsFile, valid.toString());
+        }
+        return lines;
+    }
+
+    static VertexIdMap loadVertexIds(File directory, PartitionedGraphManifest manifest) throws IOException {
+        VertexIdMap vertexIds = new VertexIdMap(manifest.getVertices());
+        for (Part part : manifest.getVertexParts()) {
+            File idsFile = GraphPartFiles.idsFile(directory, part);
+            if (!idsFile.isFile()) {
+                continue;
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(idsFile), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf(' ');
+                    vertexIds.put(Long.parseLong(line.substring(0, separator)), Long.parseLong(line.substring(separator + 1)));
+                }
+            }
+        }
+        return vertexIds;
+    }
+
+    private void importEdges(File directory, Part part, ObjectMapper mapper, VertexIdMap vertexIds,
+                             ImportCheckpoint checkpoint, GraphTransferProgress progress) throws IOException {
+        long committed = checkpoint.getCommitted(part.getFile());
+        progress.addEdges(committed);
+        if (committed >= part.getRecords()) {
+            return;
+        }
+        GraphPartFiles.verify(directory, part);
+        File batchFile = GraphPartFiles.batchFile(directory, part);
+        Map<Long, String> committedEdges = findCommittedEdges(batchFile, committed);
+        long start = System.currentTimeMillis();
+        try (PartReader reader = new PartReader(directory, part, mapper)) {
+            reader.skip(committed);
+            long read = committed;
+            int pending = 0;
+            StringBuilder batch = new StringBuilder();
+            Map<String, Object> record;
+            while ((record = reader.read()) != null) {
+                read++;
+                pending++;
+                String edgeId = committedEdges.get(read);
+                if (edgeId == null) {
+                    edgeId = addEdge(record, vertexIds);
+                }
+                if (edgeId != null) {
+                    batch.append(read).append(' ').append(edgeId).append('\n');
+                }
+                if (pending == commitSize) {
+                    commitEdges(part, batchFile, batch, read, pending, checkpoint, progress);
+                    pending = 0;
+                }
+            }
+            commitEdges(part, batchFile, batch, read, pending, checkpoint, progress);
+        } catch (IOException | RuntimeException e) {
+            graph.tx().rollback();
+            throw e;
+        }
+        log.debug("Imported edge part {} in {} ms", part.getFile(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Finds the edges of the batch whose commit was interrupted which exist, if the batch file of the part is left.
+     *
+     * @return the ids of the edges found by the number of their record in the part
+     */
+    Map<Long, String> findCommittedEdges(File batchFile, long committed) throws IOException {
+        Map<Long, String> committedEdges = new HashMap<>();
+        if (!batchFile.isFile()) {
+            return committedEdges;
+        }
+        for (String line : Files.readAllLines(batchFile.toPath(), StandardCharsets.UTF_8)) {
+            int separator = line.indexOf(' ');
+            long record = Long.parseLong(line.substring(0, separator));
+            String edgeId = line.substring(separator + 1);
+            if (record > committed && graph.edges(edgeId).hasNext()) {
+                committedEdges.put(record, edgeId);
+            }
+        }
+        graph.tx().rollback();
+        if (!committedEdges.isEmpty()) {
+            log.info("{} edges of a batch committed before the import was interrupted are not added again",
+                    committedEdges.size());
+        }
+        return committedEdges;
+    }
+
+    /**
+     * @return the id of the edge added, null if it is skipped
+     */
+    private String addEdge(Map<String, Object> record, VertexIdMap vertexIds) {
+        long outVertexId = vertexIds.get(toLong(record.get(GraphPartFiles.OUT_VERTEX)));
+        long inVertexId = vertexIds.get(toLong(record.get(GraphPartFiles.IN_VERTEX)));
+        if (outVertexId == VertexIdMap.NOT_FOUND || inVertexId == VertexIdMap.NOT_FOUND) {
+            log.info("Edge {} from vertex {} to vertex {} is skipped, its vertices were not exported",
+                    record.get(GraphPartFiles.LABEL), record.get(GraphPartFiles.OUT_VERTEX), record.get(GraphPartFiles.IN_VERTEX));
+            return null;
+        }
+        Vertex outVertex = graph.vertices(outVertexId).next();
+        Vertex inVertex = graph.vertices(inVertexId).next();
+        Edge edge = outVertex.addEdge((String) record.get(GraphPartFiles.LABEL), inVertex);
+        getProperties(record).forEach(edge::property);
+        if (!((JanusGraphElement) edge).hasId()) {
+            throw new IllegalStateException("Edge ids must be assigned when the edges are added, ids.flush cannot be disabled");
+        }
+        return edge.id().toString();
+    }
+
+    private void commitEdges(Part part, File batchFile, StringBuilder batch, long read, int pending,
+                             ImportCheckpoint checkpoint, GraphTransferProgress progress) throws IOException {
+        if (batch.length() > 0) {
+            GraphPartFiles.writeAtomically(batchFile, batch.toString());
+        }
+        graph.tx().commit();
+        checkpoint.setCommitted(part.getFile(), read);
+        Files.deleteIfExists(batchFile.toPath());
+        progress.addEdges(pending);
+        batch.setLength(0);
+    }
+
+    private static long toLong(Object id) {
+        return ((Number) id).longValue();
+    }
+
+    private static void runAll(ExecutorService executor, List<Part> parts, PartTask task)
+            throws IOException, InterruptedException {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Part part : parts) {
+            futures.add(executor.submit(() -> {
+                task.run(part);
+                return null;
+            }));
+        }
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                futures.forEach(other -> other.cancel(true));
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Failed to import a part of the graph", e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartTask {
+        void run(Part part) throws IOException;
+    }
+}
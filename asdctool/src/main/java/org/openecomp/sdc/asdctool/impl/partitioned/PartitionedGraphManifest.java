@@ -0,0 +1,91 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The manifest of a partitioned graph export, listing its part files with the number of records and the checksum of
+ * each. The vertices of a chunk are in a vertex part, the edges going out of them in the edge part of the same index.
+ */
+public class PartitionedGraphManifest {
+
+    static final int FORMAT_VERSION = 1;
+
+    private int formatVersion = FORMAT_VERSION;
+    private long vertices;
+    private long edges;
+    private List<Part> vertexParts = new ArrayList<>();
+    private List<Part> edgeParts = new ArrayList<>();
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public long getVertices() {
+        return vertices;
+    }
+
+    public long getEdges() {
+        return edges;
+    }
+
+    public List<Part> getVertexParts() {
+        return vertexParts;
+    }
+
+    public List<Part> getEdgeParts() {
+        return edgeParts;
+    }
+
+    void addChunk(Part vertexPart, Part edgePart) {
+        vertexParts.add(vertexPart);
+        edgeParts.add(edgePart);
+        vertices += vertexPart.getRecords();
+        edges += edgePart.getRecords();
+    }
+
+    public static class Part {
+
+        private String file;
+        private long records;
+        private String sha256;
+
+        Part(String file, long records, String sha256) {
+            this.file = file;
+            this.records = records;
+            this.sha256 = sha256;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import java.util.Arrays;
+
+/**
+ * Maps the ids of the exported vertices to the ids of the imported vertices. The ids are kept in open addressing
+ * arrays rather than as boxed map entries, so the ids of millions of vertices fit in memory.
+ */
+class VertexIdMap {
+
+    static final long NOT_FOUND = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] keys;
+    private final long[] values;
+    private final int mask;
+    private int size;
+
+    /**
+     * @param expectedSize the number of ids to map, more ids cannot be added
+     */
+    VertexIdMap(long expectedSize) {
+        int capacity = Integer.highestOneBit((int) Math.max(2, Math.min(1 << 30, expectedSize * 2)) - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void put(long key, long value) {
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            if (size == mask) {
+                throw new IllegalStateException("Vertex id map is full with " + size + " ids");
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * @return the id mapped to key, {@link #NOT_FOUND} if none is
+     */
+    long get(long key) {
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? NOT_FOUND : values[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -22,6 +22,7 @@
 
 package org.openecomp.sdc.asdctool.main;
 
+import org.openecomp.sdc.asdctool.impl.JanusGraphCompositeIndexReindexer;
 import org.openecomp.sdc.asdctool.impl.JanusGraphInitializer;
 import org.openecomp.sdc.be.config.ConfigurationManager;
 import org.openecomp.sdc.be.dao.cassandra.schema.SdcSchemaBuilder;
@@ -73,6 +74,17 @@ public class DataSchemaMenu {
                     System.exit(2);
                 }
                 break;
+            case "reindex-janusgraph-composite-indexes":
+                log.debug("Start reindex janusgraph composite indexes");
+                String janusGraphConfig = 2 == args.length ? configurationManager.getConfiguration().getJanusGraphCfgFile() : args[2];
+                if (JanusGraphCompositeIndexReindexer.reindex(janusGraphConfig)) {
+                    log.debug("reindex janusgraph composite indexes successfull");
+                    System.exit(0);
+                } else {
+                    log.debug("reindex janusgraph composite indexes failed");
+                    System.exit(2);
+                }
+                break;
             case "clean-cassndra":
                 log.debug("Start clean keyspace, tables");
                 if (sdcSchemaBuilder.deleteSchema()) {
@@ -97,5 +109,6 @@ public class DataSchemaMenu {
     private static void DataSchemeUsage() {
         System.out.println("Usage: create-cassandra-structures <configuration dir> ");
         System.out.println("Usage: create-janusgraph-structures <configuration dir> ");
+        System.out.println("Usage: reindex-janusgraph-composite-indexes <configuration dir> ");
     }
 }
@@ -117,6 +117,28 @@ public class ExportImportMenu {
 					System.exit(2);
 				}
 			}
+		},EXPORT_PARTITIONED("Usage: export-partitioned <janusgraph.properties> <output directory> [threads] [vertices per chunk]", "export-partitioned"){
+			@Override
+			void handle(String[] args) {
+				if (verifyParamsLength(args, 3)) {
+					usage();
+					System.exit(1);
+				}
+				if (!GRAPH_ML_CONVERTER.exportPartitionedGraph(args)) {
+					System.exit(2);
+				}
+			}
+		},IMPORT_PARTITIONED("Usage: import-partitioned <janusgraph.properties> <export directory> [threads] [records per commit]", "import-partitioned"){
+			@Override
+			void handle(String[] args) {
+				if (verifyParamsLength(args, 3)) {
+					usage();
+					System.exit(1);
+				}
+				if (!GRAPH_ML_CONVERTER.importPartitionedGraph(args)) {
+					System.exit(2);
+				}
+			}
 		},VALIDATE_JSON("Usage: validate-json <export graph path>", "validate-json"){
 			@Override
 			void handle(String[] args) throws IOException {
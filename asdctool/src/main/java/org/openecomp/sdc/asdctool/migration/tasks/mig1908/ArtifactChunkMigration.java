@@ -0,0 +1,90 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.asdctool.migration.tasks.mig1908;
+
+import fj.data.Either;
+import org.openecomp.sdc.asdctool.migration.core.DBVersion;
+import org.openecomp.sdc.asdctool.migration.core.task.Migration;
+import org.openecomp.sdc.asdctool.migration.core.task.MigrationResult;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.resources.data.ESArtifactData;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Moves the payloads of existing artifacts which are larger than the configured chunk size to chunks.
+ */
+@Component
+public class ArtifactChunkMigration implements Migration {
+
+    private static final Logger log = Logger.getLogger(ArtifactChunkMigration.class);
+
+    private final ArtifactCassandraDao artifactCassandraDao;
+
+    public ArtifactChunkMigration(ArtifactCassandraDao artifactCassandraDao) {
+        this.artifactCassandraDao = artifactCassandraDao;
+    }
+
+    @Override
+    public String description() {
+        return "store large artifact payloads in chunks";
+    }
+
+    @Override
+    public DBVersion getVersion() {
+        return DBVersion.from(BigInteger.valueOf(1908), BigInteger.valueOf(0));
+    }
+
+    @Override
+    public MigrationResult migrate() {
+        int chunkSize = artifactCassandraDao.getChunkSize();
+        if (chunkSize <= 0) {
+            log.info("artifact chunks are not configured, skipping migration");
+            return MigrationResult.success();
+        }
+        Either<List<String>, CassandraOperationStatus> artifactIds = artifactCassandraDao.getUnchunkedArtifactIds();
+        if (artifactIds.isRight()) {
+            return MigrationResult.error("failed to get the artifacts to migrate. error: " + artifactIds.right().value());
+        }
+        int migrated = 0;
+        for (String artifactId : artifactIds.left().value()) {
+            Either<ESArtifactData, CassandraOperationStatus> artifact = artifactCassandraDao.getArtifact(artifactId);
+            if (artifact.isRight()) {
+                return MigrationResult.error("failed to get artifact " + artifactId + ". error: " + artifact.right().value());
+            }
+            ESArtifactData data = artifact.left().value();
+            if (data.getData() == null || data.getData().remaining() <= chunkSize) {
+                continue;
+            }
+            CassandraOperationStatus status = artifactCassandraDao.saveArtifact(data);
+            if (status != CassandraOperationStatus.OK) {
+                return MigrationResult.error("failed to store artifact " + artifactId + " in chunks. error: " + status);
+            }
+            migrated++;
+        }
+        log.info("stored {} of {} artifacts in chunks", migrated, artifactIds.left().value().size());
+        return MigrationResult.success();
+    }
+}
@@ -0,0 +1,137 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.asdctool.migration.tasks.mig1908;
+
+import fj.data.Either;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.openecomp.sdc.asdctool.migration.core.DBVersion;
+import org.openecomp.sdc.asdctool.migration.core.task.Migration;
+import org.openecomp.sdc.asdctool.migration.core.task.MigrationResult;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
+import org.openecomp.sdc.be.dao.jsongraph.GraphVertex;
+import org.openecomp.sdc.be.dao.jsongraph.JanusGraphDao;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.JsonParseFlagEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Converts the existing data vertices of the labels configured to be sharded to one shard vertex per key, and deletes
+ * the shards no data vertex uses anymore.
+ */
+@Component
+public class ShardInstanceDataMigration implements Migration {
+
+    private static final Logger log = Logger.getLogger(ShardInstanceDataMigration.class);
+    private static final int COMMIT_BATCH_SIZE = 100;
+
+    private final JanusGraphDao janusGraphDao;
+
+    public ShardInstanceDataMigration(JanusGraphDao janusGraphDao) {
+        this.janusGraphDao = janusGraphDao;
+    }
+
+    @Override
+    public String description() {
+        return "shard the instance data vertices per component instance";
+    }
+
+    @Override
+    public DBVersion getVersion() {
+        return DBVersion.from(BigInteger.valueOf(1908), BigInteger.valueOf(1));
+    }
+
+    @Override
+    public MigrationResult migrate() {
+        boolean sharded = false;
+        for (VertexTypeEnum label : VertexTypeEnum.values()) {
+            if (!janusGraphDao.isShardedDataLabel(label)) {
+                continue;
+            }
+            sharded = true;
+            JanusGraphOperationStatus status = shardDataVertices(label);
+            if (status != JanusGraphOperationStatus.OK) {
+                janusGraphDao.rollback();
+                return MigrationResult.error("failed to shard the data vertices of " + label + ". error: " + status);
+            }
+        }
+        if (!sharded) {
+            log.info("sharded instance data is not configured, skipping migration");
+            return MigrationResult.success();
+        }
+        JanusGraphOperationStatus status = deleteUnusedShards();
+        if (status != JanusGraphOperationStatus.OK) {
+            janusGraphDao.rollback();
+            return MigrationResult.error("failed to delete the unused data shards. error: " + status);
+        }
+        return MigrationResult.success();
+    }
+
+    private JanusGraphOperationStatus shardDataVertices(VertexTypeEnum label) {
+        Either<List<GraphVertex>, JanusGraphOperationStatus> dataVertices = janusGraphDao.getByCriteria(label, null, JsonParseFlagEnum.NoParse);
+        if (dataVertices.isRight()) {
+            return dataVertices.right().value() == JanusGraphOperationStatus.NOT_FOUND ? JanusGraphOperationStatus.OK : dataVertices.right().value();
+        }
+        int migrated = 0;
+        for (GraphVertex dataVertex : dataVertices.left().value()) {
+            if (Boolean.TRUE.equals(dataVertex.getMetadataProperty(GraphPropertyEnum.SHARDED))) {
+                continue;
+            }
+            janusGraphDao.parseVertexProperties(dataVertex, JsonParseFlagEnum.ParseAll);
+            if (dataVertex.getJson() == null) {
+                continue;
+            }
+            Either<GraphVertex, JanusGraphOperationStatus> updated = janusGraphDao.updateVertex(dataVertex);
+            if (updated.isRight()) {
+                log.error("failed to shard data vertex {}. error: {}", dataVertex.getUniqueId(), updated.right().value());
+                return updated.right().value();
+            }
+            if (++migrated % COMMIT_BATCH_SIZE == 0) {
+                janusGraphDao.commit();
+            }
+        }
+        janusGraphDao.commit();
+        log.info("sharded {} of {} data vertices of {}", migrated, dataVertices.left().value().size(), label);
+        return JanusGraphOperationStatus.OK;
+    }
+
+    private JanusGraphOperationStatus deleteUnusedShards() {
+        Either<List<GraphVertex>, JanusGraphOperationStatus> shards = janusGraphDao.getByCriteria(VertexTypeEnum.DATA_SHARD, null, JsonParseFlagEnum.NoParse);
+        if (shards.isRight()) {
+            return shards.right().value() == JanusGraphOperationStatus.NOT_FOUND ? JanusGraphOperationStatus.OK : shards.right().value();
+        }
+        int deleted = 0;
+        for (GraphVertex shard : shards.left().value()) {
+            if (!shard.getVertex().edges(Direction.IN, EdgeLabelEnum.DATA_SHARD.name()).hasNext()) {
+                shard.getVertex().remove();
+                deleted++;
+            }
+        }
+        janusGraphDao.commit();
+        log.info("deleted {} unused data shards", deleted);
+        return JanusGraphOperationStatus.OK;
+    }
+}
@@ -0,0 +1,113 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openecomp.sdc.asdctool.impl.partitioned.GraphPartFiles.PartReader;
+import org.openecomp.sdc.asdctool.impl.partitioned.GraphPartFiles.PartWriter;
+import org.openecomp.sdc.asdctool.impl.partitioned.PartitionedGraphManifest.Part;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class GraphPartFilesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ObjectMapper mapper = GraphSONMapper.build().version(GraphSONVersion.V3_0).create().createMapper();
+
+    @Test
+    public void testPartRoundTripKeepsValueTypes() throws Exception {
+        File directory = folder.getRoot();
+        Part part = writePart(directory, record(1L, 7), record(2L, 8));
+
+        assertEquals(GraphPartFiles.vertexPartName(0), part.getFile());
+        assertEquals(2, part.getRecords());
+        GraphPartFiles.verify(directory, part);
+        try (PartReader reader = new PartReader(directory, part, mapper)) {
+            reader.skip(1);
+            Map<String, Object> record = reader.read();
+            assertEquals(2L, record.get(GraphPartFiles.ID));
+            assertEquals("resource", record.get(GraphPartFiles.LABEL));
+            assertEquals(Collections.singletonMap("version", Arrays.asList(8, "8.0")), record.get(GraphPartFiles.PROPERTIES));
+            assertNull(reader.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testVerifyDetectsCorruptedPart() throws Exception {
+        File directory = folder.getRoot();
+        Part part = writePart(directory, record(1L, 7));
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, part.getFile()), "rw")) {
+            file.seek(file.length() - 1);
+            file.write(file.read() ^ 0xff);
+        }
+
+        GraphPartFiles.verify(directory, part);
+    }
+
+    @Test
+    public void testManifestRoundTrip() throws Exception {
+        File directory = folder.getRoot();
+        PartitionedGraphManifest manifest = new PartitionedGraphManifest();
+        manifest.addChunk(new Part(GraphPartFiles.vertexPartName(0), 3, "abc"), new Part(GraphPartFiles.edgePartName(0), 5, "def"));
+        GraphPartFiles.writeManifest(directory, manifest);
+
+        PartitionedGraphManifest read = GraphPartFiles.readManifest(directory);
+        assertEquals(3, read.getVertices());
+        assertEquals(5, read.getEdges());
+        assertEquals(GraphPartFiles.edgePartName(0), read.getEdgeParts().get(0).getFile());
+        assertEquals("def", read.getEdgeParts().get(0).getSha256());
+    }
+
+    @SafeVarargs
+    private final Part writePart(File directory, Map<String, Object>... records) throws IOException {
+        try (PartWriter writer = new PartWriter(directory, GraphPartFiles.vertexPartName(0), mapper)) {
+            for (Map<String, Object> record : records) {
+                writer.write(record);
+            }
+            return writer.finish();
+        }
+    }
+
+    private static Map<String, Object> record(long id, int version) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put(GraphPartFiles.ID, id);
+        record.put(GraphPartFiles.LABEL, "resource");
+        record.put(GraphPartFiles.PROPERTIES, Collections.singletonMap("version", Arrays.asList(version, version + ".0")));
+        return record;
+    }
+}
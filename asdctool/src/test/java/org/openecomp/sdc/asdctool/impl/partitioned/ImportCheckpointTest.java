@@ -0,0 +1,65 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ImportCheckpointTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCheckpointIsReloaded() throws Exception {
+        ImportCheckpoint checkpoint = ImportCheckpoint.load(folder.getRoot());
+        assertFalse(checkpoint.isStarted());
+        checkpoint.markStarted();
+        checkpoint.setCommitted(GraphPartFiles.edgePartName(3), 2000);
+
+        ImportCheckpoint reloaded = ImportCheckpoint.load(folder.getRoot());
+        assertTrue(reloaded.isStarted());
+        assertFalse(reloaded.isCompleted());
+        assertEquals(2000, reloaded.getCommitted(GraphPartFiles.edgePartName(3)));
+        assertEquals(0, reloaded.getCommitted(GraphPartFiles.edgePartName(4)));
+    }
+
+    @Test
+    public void testRepairIdsDropsPartiallyWrittenLines() throws Exception {
+        File idsFile = folder.newFile("vertices-00000.json.gz.ids");
+        Files.write(idsFile.toPath(), "4096 8192\n-12 24\n40".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, PartitionedGraphImporter.repairIds(idsFile));
+        assertEquals(Arrays.asList("4096 8192", "-12 24"), Files.readAllLines(idsFile.toPath(), StandardCharsets.UTF_8));
+        assertEquals(0, PartitionedGraphImporter.repairIds(new File(folder.getRoot(), "missing.ids")));
+    }
+}
@@ -0,0 +1,122 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PartitionedGraphImporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JanusGraph graph;
+    private Transaction tx;
+    private PartitionedGraphImporter testSubject;
+    private File idsFile;
+    private File batchFile;
+
+    @Before
+    public void initImporter() throws Exception {
+        graph = Mockito.mock(JanusGraph.class);
+        tx = Mockito.mock(Transaction.class);
+        Mockito.when(graph.tx()).thenReturn(tx);
+        Mockito.when(graph.vertices(Mockito.any())).thenReturn(Collections.emptyIterator());
+        Mockito.when(graph.edges(Mockito.any())).thenReturn(Collections.emptyIterator());
+        testSubject = new PartitionedGraphImporter(graph, 1, 2);
+        idsFile = folder.newFile("vertices-00001.json.gz.ids");
+        batchFile = new File(folder.getRoot(), "vertices-00001.json.gz.ids.batch");
+        Files.write(idsFile.toPath(), "1 101\n2 102\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(batchFile.toPath(), "3 103\n4 104\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSettleBatchRecordsCommittedBatch() throws Exception {
+        Mockito.when(graph.vertices(103L)).thenReturn(Collections.singletonList(Mockito.mock(Vertex.class)).iterator());
+        Mockito.when(graph.vertices(104L)).thenReturn(Collections.singletonList(Mockito.mock(Vertex.class)).iterator());
+
+        testSubject.settleBatch(idsFile, batchFile);
+
+        assertEquals(Arrays.asList("1 101", "2 102", "3 103", "4 104"), Files.readAllLines(idsFile.toPath(), StandardCharsets.UTF_8));
+        assertFalse(batchFile.exists());
+        Mockito.verify(tx, Mockito.never()).commit();
+    }
+
+    @Test
+    public void testSettleBatchRemovesPartiallyCommittedBatch() throws Exception {
+        Vertex committed = Mockito.mock(Vertex.class);
+        Mockito.when(graph.vertices(103L)).thenReturn(Collections.singletonList(committed).iterator());
+
+        testSubject.settleBatch(idsFile, batchFile);
+
+        assertEquals(Arrays.asList("1 101", "2 102"), Files.readAllLines(idsFile.toPath(), StandardCharsets.UTF_8));
+        assertFalse(batchFile.exists());
+        Mockito.verify(committed).remove();
+        Mockito.verify(tx).commit();
+    }
+
+    @Test
+    public void testSettleBatchKeepsRecordedBatch() throws Exception {
+        Files.write(idsFile.toPath(), "3 103\n4 104\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        testSubject.settleBatch(idsFile, batchFile);
+
+        assertEquals(4, PartitionedGraphImporter.repairIds(idsFile));
+        assertFalse(batchFile.exists());
+        Mockito.verify(graph, Mockito.never()).vertices(Mockito.any());
+    }
+
+    @Test
+    public void testFindCommittedEdgesOfBatchNotRecorded() throws Exception {
+        File edgeBatchFile = new File(folder.getRoot(), "edges-00001.json.gz.ids.batch");
+        Files.write(edgeBatchFile.toPath(), "2 e2\n3 e3\n5 e5\n".getBytes(StandardCharsets.UTF_8));
+        Mockito.when(graph.edges("e2")).thenReturn(Collections.singletonList(Mockito.mock(Edge.class)).iterator());
+        Mockito.when(graph.edges("e3")).thenReturn(Collections.singletonList(Mockito.mock(Edge.class)).iterator());
+
+        Map<Long, String> committedEdges = testSubject.findCommittedEdges(edgeBatchFile, 2);
+
+        assertEquals(Collections.singletonMap(3L, "e3"), committedEdges);
+        Mockito.verify(graph, Mockito.never()).edges("e2");
+    }
+
+    @Test
+    public void testFindCommittedEdgesWithoutBatch() throws Exception {
+        assertTrue(testSubject.findCommittedEdges(new File(folder.getRoot(), "edges-00002.json.gz.ids.batch"), 0).isEmpty());
+    }
+}
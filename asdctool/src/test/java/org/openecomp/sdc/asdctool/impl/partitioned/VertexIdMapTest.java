@@ -0,0 +1,43 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.asdctool.impl.partitioned;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class VertexIdMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        VertexIdMap testSubject = new VertexIdMap(1000);
+        for (long id = 0; id < 1000; id++) {
+            testSubject.put(id * 4096, id + 1);
+        }
+        testSubject.put(0, 42);
+
+        assertEquals(1000, testSubject.size());
+        assertEquals(42, testSubject.get(0));
+        assertEquals(1000, testSubject.get(999 * 4096));
+        assertEquals(VertexIdMap.NOT_FOUND, testSubject.get(1));
+    }
+}
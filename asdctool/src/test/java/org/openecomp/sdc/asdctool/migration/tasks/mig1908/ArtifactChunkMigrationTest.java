@@ -0,0 +1,89 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.asdctool.migration.tasks.mig1908;
+
+import fj.data.Either;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openecomp.sdc.asdctool.migration.core.DBVersion;
+import org.openecomp.sdc.asdctool.migration.core.task.MigrationResult;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.resources.data.ESArtifactData;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArtifactChunkMigrationTest {
+
+    @Mock
+    private ArtifactCassandraDao artifactCassandraDao;
+
+    private ArtifactChunkMigration artifactChunkMigration;
+
+    @Before
+    public void setUp() throws Exception {
+        artifactChunkMigration = new ArtifactChunkMigration(artifactCassandraDao);
+    }
+
+    @Test
+    public void testGetVersion() {
+        assertEquals(DBVersion.from(BigInteger.valueOf(1908), BigInteger.valueOf(0)), artifactChunkMigration.getVersion());
+    }
+
+    @Test
+    public void testMigrateWithoutChunks() {
+        assertEquals(MigrationResult.MigrationStatus.COMPLETED, artifactChunkMigration.migrate().getMigrationStatus());
+        Mockito.verify(artifactCassandraDao, Mockito.never()).getUnchunkedArtifactIds();
+    }
+
+    @Test
+    public void testMigrateSavesLargeArtifactsOnly() {
+        ESArtifactData small = new ESArtifactData("small", "0123".getBytes());
+        ESArtifactData large = new ESArtifactData("large", "01234".getBytes());
+        Mockito.when(artifactCassandraDao.getChunkSize()).thenReturn(4);
+        Mockito.when(artifactCassandraDao.getUnchunkedArtifactIds()).thenReturn(Either.left(Arrays.asList("small", "large")));
+        Mockito.when(artifactCassandraDao.getArtifact("small")).thenReturn(Either.left(small));
+        Mockito.when(artifactCassandraDao.getArtifact("large")).thenReturn(Either.left(large));
+        Mockito.when(artifactCassandraDao.saveArtifact(large)).thenReturn(CassandraOperationStatus.OK);
+
+        assertEquals(MigrationResult.MigrationStatus.COMPLETED, artifactChunkMigration.migrate().getMigrationStatus());
+        Mockito.verify(artifactCassandraDao, Mockito.never()).saveArtifact(small);
+    }
+
+    @Test
+    public void testMigrateFailsOnSaveError() {
+        ESArtifactData large = new ESArtifactData("large", "01234".getBytes());
+        Mockito.when(artifactCassandraDao.getChunkSize()).thenReturn(4);
+        Mockito.when(artifactCassandraDao.getUnchunkedArtifactIds()).thenReturn(Either.left(Arrays.asList("large")));
+        Mockito.when(artifactCassandraDao.getArtifact("large")).thenReturn(Either.left(large));
+        Mockito.when(artifactCassandraDao.saveArtifact(large)).thenReturn(CassandraOperationStatus.GENERAL_ERROR);
+
+        assertEquals(MigrationResult.MigrationStatus.FAILED, artifactChunkMigration.migrate().getMigrationStatus());
+    }
+}
@@ -0,0 +1,100 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.asdctool.migration.tasks.mig1908;
+
+import fj.data.Either;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openecomp.sdc.asdctool.migration.core.DBVersion;
+import org.openecomp.sdc.asdctool.migration.core.task.MigrationResult;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
+import org.openecomp.sdc.be.dao.jsongraph.GraphVertex;
+import org.openecomp.sdc.be.dao.jsongraph.JanusGraphDao;
+import org.openecomp.sdc.be.dao.jsongraph.types.JsonParseFlagEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.datatypes.elements.MapPropertiesDataDefinition;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ShardInstanceDataMigrationTest {
+
+    @Mock
+    private JanusGraphDao janusGraphDao;
+
+    private ShardInstanceDataMigration shardInstanceDataMigration;
+
+    @Before
+    public void setUp() throws Exception {
+        shardInstanceDataMigration = new ShardInstanceDataMigration(janusGraphDao);
+    }
+
+    @Test
+    public void testGetVersion() {
+        assertEquals(DBVersion.from(BigInteger.valueOf(1908), BigInteger.valueOf(1)), shardInstanceDataMigration.getVersion());
+    }
+
+    @Test
+    public void testMigrateWithoutSharding() {
+        assertEquals(MigrationResult.MigrationStatus.COMPLETED, shardInstanceDataMigration.migrate().getMigrationStatus());
+        Mockito.verify(janusGraphDao, Mockito.never()).getByCriteria(Mockito.any(), Mockito.any(), Mockito.any(JsonParseFlagEnum.class));
+    }
+
+    @Test
+    public void testMigrateShardsUnshardedVerticesOnly() {
+        GraphVertex sharded = new GraphVertex(VertexTypeEnum.INST_PROPERTIES);
+        sharded.addMetadataProperty(GraphPropertyEnum.SHARDED, true);
+        GraphVertex unsharded = new GraphVertex(VertexTypeEnum.INST_PROPERTIES);
+        unsharded.setJson(Collections.singletonMap("instance", new MapPropertiesDataDefinition()));
+        Mockito.when(janusGraphDao.isShardedDataLabel(VertexTypeEnum.INST_PROPERTIES)).thenReturn(true);
+        Mockito.when(janusGraphDao.getByCriteria(VertexTypeEnum.INST_PROPERTIES, null, JsonParseFlagEnum.NoParse))
+                .thenReturn(Either.left(Arrays.asList(sharded, unsharded)));
+        Mockito.when(janusGraphDao.getByCriteria(VertexTypeEnum.DATA_SHARD, null, JsonParseFlagEnum.NoParse))
+                .thenReturn(Either.right(JanusGraphOperationStatus.NOT_FOUND));
+        Mockito.when(janusGraphDao.updateVertex(unsharded)).thenReturn(Either.left(unsharded));
+
+        assertEquals(MigrationResult.MigrationStatus.COMPLETED, shardInstanceDataMigration.migrate().getMigrationStatus());
+        Mockito.verify(janusGraphDao, Mockito.never()).updateVertex(sharded);
+        Mockito.verify(janusGraphDao).parseVertexProperties(unsharded, JsonParseFlagEnum.ParseAll);
+    }
+
+    @Test
+    public void testMigrateFailsOnUpdateError() {
+        GraphVertex unsharded = new GraphVertex(VertexTypeEnum.INST_PROPERTIES);
+        unsharded.setJson(Collections.singletonMap("instance", new MapPropertiesDataDefinition()));
+        Mockito.when(janusGraphDao.isShardedDataLabel(VertexTypeEnum.INST_PROPERTIES)).thenReturn(true);
+        Mockito.when(janusGraphDao.getByCriteria(VertexTypeEnum.INST_PROPERTIES, null, JsonParseFlagEnum.NoParse))
+                .thenReturn(Either.left(Collections.singletonList(unsharded)));
+        Mockito.when(janusGraphDao.updateVertex(unsharded)).thenReturn(Either.right(JanusGraphOperationStatus.GENERAL_ERROR));
+
+        assertEquals(MigrationResult.MigrationStatus.FAILED, shardInstanceDataMigration.migrate().getMigrationStatus());
+        Mockito.verify(janusGraphDao).rollback();
+    }
+}
@@ -14,6 +14,11 @@ default['DCAE']['BE'][:http_port] = 8082
 default['DCAE']['BE'][:https_port] = 8444
 default['DCAE_BE_VIP'] = "dcae-be"
 
+#Audit pipeline, the journal is used by the spill overflow policy
+default['BE']['audit_pipeline']['enabled'] = false
+default['BE']['audit_pipeline']['overflow_policy'] = "block"
+default['BE']['audit_pipeline']['journal_dir'] = "/var/lib/jetty/logs/audit-journal"
+
 #Cassandra
 default['cassandra']['cassandra_port'] = 9042
 default['cassandra']['datacenter_name'] = "DC-"
@@ -54,7 +54,10 @@ template "catalog-be-config" do
       :cassandra_truststore_password => node['cassandra'][:truststore_password],
       :cassandra_ssl_enabled  => "#{ENV['cassandra_ssl_enabled']}",
       :dcae_be_vip            => node['DCAE_BE_VIP'],
-      :dmaap_active => node['DMAAP']['active']
+      :dmaap_active => node['DMAAP']['active'],
+      :audit_pipeline_enabled => node['BE']['audit_pipeline']['enabled'],
+      :audit_overflow_policy  => node['BE']['audit_pipeline']['overflow_policy'],
+      :audit_journal_dir      => node['BE']['audit_pipeline']['journal_dir']
    })
 end
 
@@ -0,0 +1,316 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.auditing.impl;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.config.Configuration.AuditPipelineConfig;
+import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.dao.cassandra.AuditCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.dao.impl.AuditingDao;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingGenericEvent;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.LatencyHistogram;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the audit events to elastic search and cassandra in batches on a background thread.
+ * <p>
+ * Events are queued in a bounded queue. The writer takes the first pending event and waits up to the flush interval
+ * for more events to fill the batch, then writes the batch with a single elastic search bulk request and one cassandra
+ * insert per event, all sent before waiting for any of them. The inserts which fail are retried one by one.
+ * <p>
+ * When the queue is full the event is handled by the overflow policy: block the caller, drop the event or spill it to
+ * a local journal. The writer replays the journal of the previous run before taking queued events, a journaled event
+ * is deleted only once both stores acknowledged it. A batch the writer was interrupted on is handled by the overflow
+ * policy as well.
+ */
+@Component("audit-event-pipeline")
+public class AuditEventPipeline {
+
+    private static final Logger log = Logger.getLogger(AuditEventPipeline.class.getName());
+    private static final String METRICS_NAME = "AuditPipeline";
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_FLUSH_INTERVAL_IN_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_IN_MS = 10000;
+
+    enum OverflowPolicy {
+        BLOCK, DROP, SPILL
+    }
+
+    private final AuditingDao auditingDao;
+    private final AuditCassandraDao cassandraDao;
+    private final ConfigurationProvider configurationProvider;
+
+    private BlockingQueue<PendingEvent> queue;
+    private int batchSize;
+    private long flushIntervalNanos;
+    private OverflowPolicy overflowPolicy;
+    private AuditJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final LatencyHistogram flushTimes = new LatencyHistogram();
+    private volatile int lastBatchSize;
+
+    @Autowired
+    public AuditEventPipeline(AuditingDao auditingDao, AuditCassandraDao cassandraDao, ConfigurationProvider configurationProvider) {
+        this.auditingDao = auditingDao;
+        this.cassandraDao = cassandraDao;
+        this.configurationProvider = configurationProvider;
+    }
+
+    @PostConstruct
+    public void init() {
+        AuditPipelineConfig config = configurationProvider.getConfiguration().getAuditPipeline();
+        if (config == null || !Boolean.TRUE.equals(config.getEnabled())) {
+            log.debug("Audit pipeline is disabled, audit events are written on the request thread");
+            return;
+        }
+        int queueSize = config.getQueueSize() != null ? config.getQueueSize() : DEFAULT_QUEUE_SIZE;
+        batchSize = config.getBatchSize() != null ? config.getBatchSize() : DEFAULT_BATCH_SIZE;
+        flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalInMs() != null ?
+                config.getFlushIntervalInMs() : DEFAULT_FLUSH_INTERVAL_IN_MS);
+        overflowPolicy = config.getOverflowPolicy() != null ?
+                OverflowPolicy.valueOf(config.getOverflowPolicy().toUpperCase()) : OverflowPolicy.BLOCK;
+        if (config.getJournalDir() != null) {
+            journal = new AuditJournal(Paths.get(config.getJournalDir()));
+        } else if (overflowPolicy == OverflowPolicy.SPILL) {
+            log.warn("No journal dir is configured for the audit pipeline, overflowing events are dropped");
+            overflowPolicy = OverflowPolicy.DROP;
+        }
+        start(queueSize);
+        PerformanceMetricsRegistry.getInstance().register(METRICS_NAME, this::getMetrics);
+        log.info("Audit pipeline is enabled. queue size {}, batch size {}, overflow policy {}", queueSize, batchSize, overflowPolicy);
+    }
+
+    void start(int queueSize) {
+        queue = new ArrayBlockingQueue<>(queueSize);
+        running = true;
+        writer = new Thread(this::writeLoop, "AuditEventWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    void configure(int batchSize, long flushIntervalMillis, OverflowPolicy overflowPolicy, AuditJournal journal) {
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.journal = journal;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_IN_MS);
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(SHUTDOWN_TIMEOUT_IN_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingEvent> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        if (!pending.isEmpty()) {
+            log.warn("{} audit events are still pending on shutdown", pending.size());
+            pending.forEach(this::overflow);
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        PerformanceMetricsRegistry.getInstance().unregister(METRICS_NAME);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    public void submit(AuditingGenericEvent event, String esType) {
+        submitted.incrementAndGet();
+        enqueue(event, esType);
+    }
+
+    private void enqueue(AuditingGenericEvent event, String esType) {
+        PendingEvent pending = new PendingEvent(event, esType);
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            put(pending);
+        } else if (!queue.offer(pending)) {
+            overflow(pending);
+        }
+    }
+
+    private void put(PendingEvent pending) {
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(pending);
+        }
+    }
+
+    private void overflow(PendingEvent pending) {
+        if (journal != null && journal.append(pending.event, pending.esType)) {
+            spilled.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+            log.debug("Dropped audit event {}", pending.event.getAction());
+        }
+    }
+
+    private void writeLoop() {
+        if (journal != null) {
+            int replayed = journal.replay(batchSize, this::replay);
+            log.info("Replayed {} journaled audit events", replayed);
+        }
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PendingEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Audit event writer was interrupted with {} events taken for a batch", batch.size());
+                batch.forEach(this::overflow);
+                break;
+            } catch (RuntimeException e) {
+                log.error("Failed to write a batch of {} audit events", batch.size(), e);
+                failed.addAndGet(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * @return true if both elastic search and cassandra acknowledged all the events of the batch
+     */
+    boolean flush(List<PendingEvent> batch) {
+        long start = System.nanoTime();
+        List<ImmutablePair<String, ? extends AuditingGenericEvent>> esEvents = new ArrayList<>(batch.size());
+        List<AuditingGenericEvent> dbEvents = new ArrayList<>(batch.size());
+        for (PendingEvent pending : batch) {
+            esEvents.add(ImmutablePair.of(pending.esType, pending.event));
+            dbEvents.add(pending.event);
+        }
+        ActionStatus esStatus = auditingDao.addRecords(esEvents);
+        boolean acknowledged = esStatus == ActionStatus.OK;
+        if (!acknowledged) {
+            log.warn("Failed to persist {} auditing events: {}", batch.size(), esStatus.name());
+        }
+        List<CassandraOperationStatus> cassandraStatuses = cassandraDao.saveRecords(dbEvents);
+        for (int i = 0; i < dbEvents.size(); i++) {
+            if (cassandraStatuses.get(i) == CassandraOperationStatus.OK) {
+                continue;
+            }
+            log.debug("Failed to persist auditing event to cassandra: {}, saving it again", cassandraStatuses.get(i).name());
+            CassandraOperationStatus result = cassandraDao.saveRecord(dbEvents.get(i));
+            if (result != CassandraOperationStatus.OK) {
+                failed.incrementAndGet();
+                acknowledged = false;
+                log.warn("Failed to persist to cassandra auditing event: {}", result.name());
+            }
+        }
+        flushTimes.record(System.nanoTime() - start);
+        written.addAndGet(batch.size());
+        batches.incrementAndGet();
+        lastBatchSize = batch.size();
+        return acknowledged;
+    }
+
+    private boolean replay(List<ImmutablePair<AuditingGenericEvent, String>> events) {
+        List<PendingEvent> batch = new ArrayList<>(events.size());
+        events.forEach(event -> batch.add(new PendingEvent(event.getLeft(), event.getRight())));
+        return flush(batch);
+    }
+
+    private void write(PendingEvent pending) {
+        List<PendingEvent> batch = new ArrayList<>(1);
+        batch.add(pending);
+        flush(batch);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        metrics.put("queueDepth", queue != null ? queue.size() : 0);
+        metrics.put("submitted", submitted.get());
+        metrics.put("written", written.get());
+        metrics.put("dropped", dropped.get());
+        metrics.put("spilled", spilled.get());
+        metrics.put("failed", failed.get());
+        metrics.put("batches", batches.get());
+        metrics.put("lastBatchSize", lastBatchSize);
+        metrics.put("meanBatchSize", batches.get() > 0 ? written.get() / batches.get() : 0);
+        metrics.put("flushMs", flushTimes.getMetrics());
+        return metrics;
+    }
+
+    static class PendingEvent {
+        private final AuditingGenericEvent event;
+        private final String esType;
+
+        PendingEvent(AuditingGenericEvent event, String esType) {
+            this.event = event;
+            this.esType = esType;
+        }
+    }
+}
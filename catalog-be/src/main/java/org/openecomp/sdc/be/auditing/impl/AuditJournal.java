@@ -0,0 +1,256 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.auditing.impl;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingGenericEvent;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Local journal of the audit events which did not fit in the queue of the {@link AuditEventPipeline}.
+ * <p>
+ * Events are appended as json lines together with their class and elastic search type. On replay the journal is
+ * renamed first, so events spilled while replaying go to a new journal. A replayed journal is deleted only once all
+ * its events were written, the events which were not are kept for the next replay.
+ */
+public class AuditJournal implements Closeable {
+
+    private static final Logger log = Logger.getLogger(AuditJournal.class.getName());
+    static final String JOURNAL_FILE = "audit-journal.log";
+    private static final String REPLAY_SUFFIX = ".replay";
+    private static final String TYPE = "type";
+    private static final String CLASS = "class";
+    private static final String EVENT = "event";
+
+    private final Path journalDir;
+    private final Map<Class<?>, Gson> gsons = new ConcurrentHashMap<>();
+    private BufferedWriter writer;
+
+    public AuditJournal(Path journalDir) {
+        this.journalDir = journalDir;
+    }
+
+    /**
+     * @return false if the event could not be written
+     */
+    public synchronized boolean append(AuditingGenericEvent event, String esType) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty(TYPE, esType);
+        entry.addProperty(CLASS, event.getClass().getName());
+        entry.add(EVENT, getGson(event.getClass()).toJsonTree(event));
+        try {
+            if (writer == null) {
+                Files.createDirectories(journalDir);
+                writer = Files.newBufferedWriter(journalDir.resolve(JOURNAL_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(entry.toString());
+            writer.newLine();
+            writer.flush();
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to append audit event to journal {}", journalDir, e);
+            return false;
+        }
+    }
+
+    /**
+     * Hands the journaled events to the writer in batches and deletes the ones it wrote. The replay stops at the first
+     * batch the writer fails to write, that batch and the events after it stay journaled.
+     *
+     * @param writer writes a batch of events with their elastic search type, returns false if they were not all written
+     * @return the number of events replayed
+     */
+    public int replay(int batchSize, Predicate<List<ImmutablePair<AuditingGenericEvent, String>>> writer) {
+        if (!Files.isDirectory(journalDir)) {
+            return 0;
+        }
+        synchronized (this) {
+            close();
+            Path journal = journalDir.resolve(JOURNAL_FILE);
+            try {
+                if (Files.exists(journal)) {
+                    Files.move(journal, journalDir.resolve(JOURNAL_FILE + "." + System.currentTimeMillis() + REPLAY_SUFFIX));
+                }
+            } catch (IOException e) {
+                log.warn("Failed to rotate audit journal {}", journal, e);
+                return 0;
+            }
+        }
+        AtomicInteger replayed = new AtomicInteger();
+        for (Path file : listReplayFiles()) {
+            if (!replay(file, Math.max(1, batchSize), writer, replayed)) {
+                break;
+            }
+        }
+        return replayed.get();
+    }
+
+    private List<Path> listReplayFiles() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalDir, JOURNAL_FILE + ".*" + REPLAY_SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            log.warn("Failed to list audit journals in {}", journalDir, e);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * @return false if not all the events of the file were written, the file then keeps the events which were not
+     */
+    private boolean replay(Path file, int batchSize, Predicate<List<ImmutablePair<AuditingGenericEvent, String>>> writer,
+            AtomicInteger replayed) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Failed to replay audit journal {}", file, e);
+            return false;
+        }
+        int fileReplayed = 0;
+        for (int from = 0; from < lines.size(); from += batchSize) {
+            List<String> batchLines = lines.subList(from, Math.min(lines.size(), from + batchSize));
+            List<ImmutablePair<AuditingGenericEvent, String>> batch = new ArrayList<>(batchLines.size());
+            for (String line : batchLines) {
+                ImmutablePair<AuditingGenericEvent, String> entry = parse(line);
+                if (entry != null) {
+                    batch.add(entry);
+                }
+            }
+            if (!batch.isEmpty() && !writer.test(batch)) {
+                log.warn("Failed to write replayed audit events, {} events stay in {}", lines.size() - from, file);
+                keep(file, lines.subList(from, lines.size()));
+                replayed.addAndGet(fileReplayed);
+                return false;
+            }
+            fileReplayed += batch.size();
+        }
+        replayed.addAndGet(fileReplayed);
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete replayed audit journal {}", file, e);
+        }
+        log.info("Replayed {} audit events from {}", fileReplayed, file);
+        return true;
+    }
+
+    private void keep(Path file, List<String> lines) {
+        Path kept = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(kept, lines, StandardCharsets.UTF_8);
+            Files.move(kept, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to rewrite audit journal {}, it is replayed from its start", file, e);
+        }
+    }
+
+    private ImmutablePair<AuditingGenericEvent, String> parse(String line) {
+        try {
+            JsonObject entry = new JsonParser().parse(line).getAsJsonObject();
+            Class<?> clazz = Class.forName(entry.get(CLASS).getAsString());
+            if (!AuditingGenericEvent.class.isAssignableFrom(clazz)) {
+                log.warn("Skipping journaled audit event of class {}", clazz);
+                return null;
+            }
+            AuditingGenericEvent event = (AuditingGenericEvent) getGson(clazz).fromJson(entry.get(EVENT), clazz);
+            return ImmutablePair.of(event, entry.get(TYPE).getAsString());
+        } catch (RuntimeException | ClassNotFoundException e) {
+            log.warn("Skipping invalid journaled audit event {}", line, e);
+            return null;
+        }
+    }
+
+    /**
+     * The audit events redeclare some of the fields of their super classes, a field hidden by the event class is
+     * skipped so the event is written with the fields which its getters return.
+     */
+    private Gson getGson(Class<?> eventClass) {
+        return gsons.computeIfAbsent(eventClass, clazz -> new GsonBuilder()
+                .setExclusionStrategies(new ExclusionStrategy() {
+                    @Override
+                    public boolean shouldSkipField(FieldAttributes f) {
+                        return f.getDeclaredClass() == SimpleDateFormat.class || isHidden(clazz, f);
+                    }
+
+                    @Override
+                    public boolean shouldSkipClass(Class<?> skipped) {
+                        return false;
+                    }
+                })
+                .registerTypeAdapter(Date.class, (JsonSerializer<Date>) (date, type, context) -> new JsonPrimitive(date.getTime()))
+                .registerTypeAdapter(Date.class, (JsonDeserializer<Date>) (json, type, context) -> new Date(json.getAsLong()))
+                .create());
+    }
+
+    private static boolean isHidden(Class<?> clazz, FieldAttributes f) {
+        for (Class<?> current = clazz; current != null && current != f.getDeclaringClass(); current = current.getSuperclass()) {
+            try {
+                current.getDeclaredField(f.getName());
+                return true;
+            } catch (NoSuchFieldException e) {
+                // not declared by this class
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.debug("Failed to close audit journal {}", journalDir, e);
+            }
+            writer = null;
+        }
+    }
+}
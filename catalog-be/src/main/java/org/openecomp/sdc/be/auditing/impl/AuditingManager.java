@@ -42,6 +42,8 @@ public class AuditingManager {
     private final AuditingDao auditingDao;
     private final AuditCassandraDao cassandraDao;
     private final ConfigurationProvider configurationProvider;
+    @Autowired(required = false)
+    private AuditEventPipeline auditEventPipeline;
 
     @Autowired
     public AuditingManager(AuditingDao auditingDao, AuditCassandraDao cassandraDao, ConfigurationProvider configurationProvider) {
@@ -57,12 +59,20 @@ public class AuditingManager {
         String msg = factory.getLogMessage();
         logAuditEvent(msg);
 
+        if (auditEventPipeline != null && auditEventPipeline.isEnabled()) {
+            auditEventPipeline.submit(factory.getDbEvent(), factory.getAuditingEsType());
+            return msg;
+        }
         //TODO - remove this method after we got rid of ES
         saveEventToElasticSearch(factory);
         saveEventToCassandra(factory.getDbEvent());
         return msg;
     }
 
+    public void setAuditEventPipeline(AuditEventPipeline auditEventPipeline) {
+        this.auditEventPipeline = auditEventPipeline;
+    }
+
     private void saveEventToCassandra(AuditingGenericEvent event) {
         CassandraOperationStatus result = cassandraDao.saveRecord(event);
         if (!result.equals(CassandraOperationStatus.OK)) {
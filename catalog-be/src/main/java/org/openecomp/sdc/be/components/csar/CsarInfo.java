@@ -53,6 +53,7 @@ public class CsarInfo {
     private Queue<String> cvfcToCreateQueue;
     private boolean isUpdate;
     private Map<String, Resource> createdNodes;
+    private List<String> committedNodeTypeIds;
 
     @SuppressWarnings("unchecked")
     public CsarInfo(User modifier, String csarUUID, Map<String, byte[]> csar, String vfResourceName, String mainTemplateName, String mainTemplateContent, boolean isUpdate){
@@ -67,6 +68,7 @@ public class CsarInfo {
         this.cvfcToCreateQueue = new PriorityQueue<>();
         this.isUpdate = isUpdate;
         this.createdNodes  = new HashMap<>();
+        this.committedNodeTypeIds = new ArrayList<>();
     }
 
     public String getVfResourceName() {
@@ -136,6 +138,14 @@ public class CsarInfo {
         return createdNodes;
     }
 
+    /**
+     * @return the unique ids of the node types which were created and committed concurrently by this import, so
+     * they are deleted when the import fails
+     */
+    public List<String> getCommittedNodeTypeIds() {
+        return committedNodeTypeIds;
+    }
+
     public Map<String,NodeTypeInfo> extractNodeTypesInfo() {
         Map<String, NodeTypeInfo> nodeTypesInfo = new HashMap<>();
         List<Map.Entry<String, byte[]>> globalSubstitutes = new ArrayList<>();
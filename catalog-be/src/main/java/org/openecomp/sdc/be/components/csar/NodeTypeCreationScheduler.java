@@ -0,0 +1,275 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.components.csar;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import fj.data.Either;
+import org.openecomp.sdc.be.config.Configuration.CsarImportConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.model.ArtifactDefinition;
+import org.openecomp.sdc.be.model.Resource;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.be.utils.TypeUtils;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.util.ThreadLocalsHolder;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the node types of an imported csar concurrently.
+ * <p>
+ * The node types are created level by level, a level holding the node types whose parent, if defined by the same
+ * template, was created by a former level. The node types of a level are created by a bounded pool, each in its own
+ * graph transaction which is committed once created, so the next level finds its parents. A worker runs with the
+ * request id and logging context of the importing thread. Once a node type fails to be created, the node types created
+ * and committed so far are deleted with the payloads of the artifacts created for them, and the failure is thrown.
+ * The node types of a successful creation stay committed, so the import deletes them with {@link #delete(Collection)}
+ * when it fails later.
+ */
+@org.springframework.stereotype.Component("node-type-creation-scheduler")
+public class NodeTypeCreationScheduler {
+
+    private static final Logger log = Logger.getLogger(NodeTypeCreationScheduler.class.getName());
+
+    private final ToscaOperationFacade toscaOperationFacade;
+    private final ArtifactCassandraDao artifactCassandraDao;
+    private ExecutorService executor;
+    private int threads;
+
+    @Autowired
+    public NodeTypeCreationScheduler(ToscaOperationFacade toscaOperationFacade, ArtifactCassandraDao artifactCassandraDao) {
+        this.toscaOperationFacade = toscaOperationFacade;
+        this.artifactCassandraDao = artifactCassandraDao;
+    }
+
+    @PostConstruct
+    public void init() {
+        CsarImportConfig csarImportConfig = ConfigurationManager.getConfigurationManager().getConfiguration().getCsarImport();
+        init(csarImportConfig == null || csarImportConfig.getNodeTypeCreationThreads() == null ? 0
+                : csarImportConfig.getNodeTypeCreationThreads());
+    }
+
+    void init(int threads) {
+        if (threads <= 0) {
+            log.debug("Node types are created sequentially");
+            return;
+        }
+        this.threads = threads;
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("NodeTypeCreationScheduler-%d").setDaemon(true).build());
+        ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+        log.debug("Node types are created by {} threads", threads);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    /**
+     * @param nodeTypes the node types of a template, by name
+     * @return the names of the node types, in levels. The parent of a node type, if defined in nodeTypes, is in a
+     * former level. Node types deriving from each other in a cycle are put last, one per level, in their template order
+     */
+    public static List<List<String>> sortByDerivedFrom(Map<String, Object> nodeTypes) {
+        Map<String, String> parents = new LinkedHashMap<>();
+        nodeTypes.forEach((name, nodeType) -> parents.put(name, getDerivedFrom(name, nodeType, nodeTypes)));
+        List<List<String>> levels = new ArrayList<>();
+        Set<String> remaining = new LinkedHashSet<>(parents.keySet());
+        while (!remaining.isEmpty()) {
+            List<String> level = new ArrayList<>();
+            for (String name : remaining) {
+                if (!remaining.contains(parents.get(name))) {
+                    level.add(name);
+                }
+            }
+            if (level.isEmpty()) {
+                log.debug("Node types {} derive from each other in a cycle", remaining);
+                remaining.forEach(name -> levels.add(Collections.singletonList(name)));
+                break;
+            }
+            remaining.removeAll(level);
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private static String getDerivedFrom(String name, Object nodeType, Map<String, Object> nodeTypes) {
+        if (!(nodeType instanceof Map)) {
+            return null;
+        }
+        Object derivedFrom = ((Map<?, ?>) nodeType).get(TypeUtils.ToscaTagNamesEnum.DERIVED_FROM.getElementName());
+        return derivedFrom instanceof String && !name.equals(derivedFrom) && nodeTypes.containsKey(derivedFrom)
+                ? (String) derivedFrom : null;
+    }
+
+    /**
+     * @param levels           the names of the node types to create, in levels as returned by
+     *                         {@link #sortByDerivedFrom(Map)}
+     * @param creator          creates a node type by its name, adding the artifacts it creates to the given list. It is
+     *                         called by a worker and does not commit
+     * @param createdArtifacts the artifacts created for the node types are added to it once all are created
+     * @return the created node types by name, in the order they were created
+     */
+    public Map<String, Resource> create(List<List<String>> levels, BiFunction<String, List<ArtifactDefinition>, Resource> creator,
+                                        List<ArtifactDefinition> createdArtifacts) {
+        long start = System.currentTimeMillis();
+        Map<String, Resource> created = new LinkedHashMap<>();
+        List<ArtifactDefinition> artifacts = Collections.synchronizedList(new ArrayList<>());
+        for (List<String> level : levels) {
+            Map<String, CompletableFuture<Resource>> creations = new LinkedHashMap<>();
+            for (String nodeType : level) {
+                creations.put(nodeType, CompletableFuture.supplyAsync(
+                        withRequestContext(() -> create(nodeType, creator, artifacts)), executor));
+            }
+            RuntimeException failure = null;
+            for (Map.Entry<String, CompletableFuture<Resource>> creation : creations.entrySet()) {
+                try {
+                    created.put(creation.getKey(), creation.getValue().join());
+                } catch (CompletionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                    }
+                }
+            }
+            if (failure != null) {
+                delete(created.values().stream().map(Resource::getUniqueId).collect(Collectors.toList()));
+                deletePayloads(artifacts);
+                throw failure;
+            }
+        }
+        createdArtifacts.addAll(artifacts);
+        log.debug("Created {} node types in {} levels by {} threads in {} ms", created.size(), levels.size(), threads,
+                System.currentTimeMillis() - start);
+        return created;
+    }
+
+    private Resource create(String nodeType, BiFunction<String, List<ArtifactDefinition>, Resource> creator,
+                            List<ArtifactDefinition> artifacts) {
+        long start = System.currentTimeMillis();
+        List<ArtifactDefinition> nodeTypeArtifacts = new ArrayList<>();
+        try {
+            Resource resource = creator.apply(nodeType, nodeTypeArtifacts);
+            toscaOperationFacade.commit();
+            log.debug("Created node type {} in {} ms", nodeType, System.currentTimeMillis() - start);
+            return resource;
+        } catch (RuntimeException e) {
+            toscaOperationFacade.rollback();
+            log.debug("Failed to create node type {} after {} ms", nodeType, System.currentTimeMillis() - start, e);
+            throw e;
+        } finally {
+            artifacts.addAll(nodeTypeArtifacts);
+        }
+    }
+
+    /**
+     * Deletes node types which were created and committed by {@link #create}, in a transaction of their own, in the
+     * reverse order of their creation.
+     *
+     * @param nodeTypeIds the unique ids of the node types, in the order they were created
+     */
+    public void delete(Collection<String> nodeTypeIds) {
+        if (nodeTypeIds.isEmpty()) {
+            return;
+        }
+        List<String> toDelete = new ArrayList<>(nodeTypeIds);
+        Collections.reverse(toDelete);
+        CompletableFuture.supplyAsync(withRequestContext(() -> {
+            try {
+                for (String nodeTypeId : toDelete) {
+                    Either<Resource, StorageOperationStatus> deleted = toscaOperationFacade.deleteToscaComponent(nodeTypeId);
+                    if (deleted.isRight()) {
+                        log.error("Failed to delete node type {} created by a failed import, error: {}", nodeTypeId,
+                                deleted.right().value());
+                    }
+                }
+                toscaOperationFacade.commit();
+            } catch (RuntimeException e) {
+                toscaOperationFacade.rollback();
+                log.error("Failed to delete the node types created by a failed import", e);
+            }
+            return null;
+        }), executor).join();
+        log.debug("Deleted {} node types created by a failed import", toDelete.size());
+    }
+
+    private void deletePayloads(List<ArtifactDefinition> artifacts) {
+        for (ArtifactDefinition artifact : artifacts) {
+            if (artifact.getEsId() != null && artifactCassandraDao.deleteArtifact(artifact.getEsId()) != CassandraOperationStatus.OK) {
+                log.error("Failed to delete the payload of artifact {} created by a failed import", artifact.getEsId());
+            }
+        }
+        log.debug("Deleted {} artifacts created by a failed import", artifacts.size());
+    }
+
+    /**
+     * @return runs the task with the request id and the logging context of the calling thread, and clears them after
+     */
+    private static <T> Supplier<T> withRequestContext(Supplier<T> task) {
+        String uuid = ThreadLocalsHolder.getUuid();
+        Long requestStartTime = ThreadLocalsHolder.getRequestStartTime();
+        Boolean mdcProcessed = ThreadLocalsHolder.isMdcProcessed();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            ThreadLocalsHolder.setUuid(uuid);
+            ThreadLocalsHolder.setRequestStartTime(requestStartTime);
+            ThreadLocalsHolder.setMdcProcessed(mdcProcessed);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return task.get();
+            } finally {
+                ThreadLocalsHolder.cleanup();
+                MDC.clear();
+            }
+        };
+    }
+}
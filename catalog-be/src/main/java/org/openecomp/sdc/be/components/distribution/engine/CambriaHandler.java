@@ -45,7 +45,10 @@ import java.net.MalformedURLException;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -499,18 +502,43 @@ public class CambriaHandler {
     }
 
     public CambriaErrorResponse sendNotificationAndClose(String topicName, String uebPublicKey, String uebSecretKey, List<String> uebServers, INotificationData data, long waitBeforeCloseTimeout) {
-        String methodName = "sendNotificationAndClose";
+        return sendNotificationsAndClose(topicName, uebPublicKey, uebSecretKey, uebServers, Collections.singletonList(toJson(data)), waitBeforeCloseTimeout);
+    }
+
+    /**
+     * Publishes several notifications, already serialized, to a topic through a single publisher, waiting once for
+     * all of them to be sent before closing it.
+     *
+     * @return OK if all the notifications were sent, otherwise the status of the first one which was not
+     */
+    public CambriaErrorResponse sendNotificationsAndClose(String topicName, String uebPublicKey, String uebSecretKey, List<String> uebServers, List<String> jsonNotifications, long waitBeforeCloseTimeout) {
+        List<CambriaErrorResponse> responses = sendEachNotificationAndClose(topicName, uebPublicKey, uebSecretKey, uebServers, jsonNotifications, waitBeforeCloseTimeout);
+        return responses.stream().filter(response -> response.getOperationStatus() != CambriaOperationStatus.OK).findFirst()
+                .orElse(new CambriaErrorResponse(CambriaOperationStatus.OK, 200));
+    }
+
+    /**
+     * Same as {@link #sendNotificationsAndClose(String, String, String, List, List, long)}, with the status of each
+     * notification: the notifications left in the queue of the publisher when it was closed were not sent.
+     *
+     * @return the statuses in the order of the notifications
+     */
+    public List<CambriaErrorResponse> sendEachNotificationAndClose(String topicName, String uebPublicKey, String uebSecretKey, List<String> uebServers, List<String> jsonNotifications, long waitBeforeCloseTimeout) {
+        String methodName = "sendNotificationsAndClose";
         CambriaBatchingPublisher createSimplePublisher;
         CambriaErrorResponse response;
         try {
 
-            String json = gson.toJson(data);
-            log.debug("Before sending notification data {} to topic {}", json, topicName);
+            log.debug("Before sending {} notifications to topic {}", jsonNotifications.size(), topicName);
 
             createSimplePublisher = new PublisherBuilder().onTopic(topicName).usingHosts(uebServers).build();
             createSimplePublisher.setApiCredentials(uebPublicKey, uebSecretKey);
 
-            int result = createSimplePublisher.send(PARTITION_KEY, json);
+            List<message> messages = new ArrayList<>();
+            for (String json : jsonNotifications) {
+                messages.add(new message(PARTITION_KEY, json));
+            }
+            int result = createSimplePublisher.send(messages);
 
             try {
                 Thread.sleep(1000);
@@ -524,28 +552,30 @@ public class CambriaHandler {
 
         }
         catch (IOException | GeneralSecurityException  e) {
-            log.debug("Failed to send notification {} to topic {} ", data, topicName, e);
+            log.debug("Failed to send {} notifications to topic {} ", jsonNotifications.size(), topicName, e);
 
 
             response = processError(e);
 
             writeErrorToLog(response, methodName, SEND_NOTIFICATION);
 
-            return response;
+            return Collections.nCopies(jsonNotifications.size(), response);
 
         }
 
         log.debug("Before closing publisher. Maximum timeout is {} seconds", waitBeforeCloseTimeout);
+        List<CambriaErrorResponse> responses;
         try {
             List<message> messagesInQ = createSimplePublisher.close(waitBeforeCloseTimeout, SECONDS);
             if (messagesInQ != null && !messagesInQ.isEmpty()) {
                 log.debug("Cambria client returned {} non sent messages.", messagesInQ.size());
                 response = new CambriaErrorResponse(CambriaOperationStatus.INTERNAL_SERVER_ERROR, 500);
                 writeErrorToLog(response, methodName, SEND_NOTIFICATION);
+                responses = toResponses(jsonNotifications, messagesInQ, response);
             }
             else {
                 log.debug("No message left in the queue after closing cambria publisher");
-                response = new CambriaErrorResponse(CambriaOperationStatus.OK, 200);
+                responses = Collections.nCopies(jsonNotifications.size(), new CambriaErrorResponse(CambriaOperationStatus.OK, 200));
             }
         }
         catch (InterruptedException e) {
@@ -553,16 +583,44 @@ public class CambriaHandler {
             Thread.currentThread().interrupt();
             response = new CambriaErrorResponse(CambriaOperationStatus.INTERNAL_SERVER_ERROR, 500);
             writeErrorToLog(response, methodName, SEND_NOTIFICATION);
+            responses = Collections.nCopies(jsonNotifications.size(), response);
         }
         catch (IOException e) {
             log.debug("Failed to close cambria publisher", e);
             response = new CambriaErrorResponse(CambriaOperationStatus.INTERNAL_SERVER_ERROR, 500);
             writeErrorToLog(response, methodName, SEND_NOTIFICATION);
+            responses = Collections.nCopies(jsonNotifications.size(), response);
         }
         log.debug("After closing publisher");
 
-        return response;
+        return responses;
+
+    }
+
+    /**
+     * Matches the messages left in the queue of the publisher to the notifications by their content
+     */
+    private static List<CambriaErrorResponse> toResponses(List<String> jsonNotifications, List<message> notSent, CambriaErrorResponse notSentResponse) {
+        Map<String, Integer> notSentCount = new HashMap<>();
+        for (message notSentMessage : notSent) {
+            notSentCount.merge(notSentMessage.fMsg, 1, Integer::sum);
+        }
+        CambriaErrorResponse sent = new CambriaErrorResponse(CambriaOperationStatus.OK, 200);
+        List<CambriaErrorResponse> responses = new ArrayList<>();
+        for (String json : jsonNotifications) {
+            Integer count = notSentCount.get(json);
+            if (count != null && count > 0) {
+                notSentCount.put(json, count - 1);
+                responses.add(notSentResponse);
+            } else {
+                responses.add(sent);
+            }
+        }
+        return responses;
+    }
 
+    public String toJson(INotificationData data) {
+        return gson.toJson(data);
     }
 
     public CambriaErrorResponse getApiKey(String server, String apiKey) {
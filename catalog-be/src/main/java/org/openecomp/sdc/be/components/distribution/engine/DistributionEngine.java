@@ -60,6 +60,9 @@ public class DistributionEngine implements IDistributionEngine {
     @Resource
     private DistributionNotificationSender distributionNotificationSender;
 
+    @Resource
+    private DistributionNotificationDispatcher distributionNotificationDispatcher;
+
     @Resource
     private ServiceDistributionArtifactsBuilder serviceDistributionArtifactsBuilder;
 
@@ -293,12 +296,19 @@ public class DistributionEngine implements IDistributionEngine {
         String topicName = buildTopicName(envName);
         ActionStatus notifyServiceStatus = Optional.ofNullable(environmentsEngine.getEnvironmentById(envId))
                 .map(EnvironmentMessageBusData::new)
-                .map(messageBusData -> distributionNotificationSender.sendNotification(topicName, distributionId, messageBusData, notificationData, service, modifier))
+                .map(messageBusData -> sendNotification(topicName, distributionId, messageBusData, notificationData, service, modifier))
                 .orElse(ActionStatus.DISTRIBUTION_ENVIRONMENT_NOT_AVAILABLE);
         LOGGER.debug("Finish notifyService. status is {}", notifyServiceStatus);
         return notifyServiceStatus;
     }
 
+    private ActionStatus sendNotification(String topicName, String distributionId, EnvironmentMessageBusData messageBusData, INotificationData notificationData, Service service, User modifier) {
+        if (distributionNotificationDispatcher != null && distributionNotificationDispatcher.isEnabled()) {
+            return distributionNotificationDispatcher.dispatch(topicName, distributionId, messageBusData, notificationData, service, modifier);
+        }
+        return distributionNotificationSender.sendNotification(topicName, distributionId, messageBusData, notificationData, service, modifier);
+    }
+
     private String buildTopicName(String envName) {
         DistributionEngineConfiguration deConfiguration = ConfigurationManager.getConfigurationManager().getDistributionEngineConfiguration();
         String distributionNotifTopicName = deConfiguration.getDistributionNotifTopicName();
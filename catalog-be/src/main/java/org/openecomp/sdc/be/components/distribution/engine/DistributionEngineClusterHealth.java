@@ -35,8 +35,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 @Component("distribution-engine-cluster-health")
 public class DistributionEngineClusterHealth {
 
@@ -84,6 +86,10 @@ public class DistributionEngineClusterHealth {
 
     private Map<String, AtomicBoolean> envNamePerStatus = null;
 
+    private static final String NOTIFICATION_QUEUE_COMPONENT_PREFIX = "notificationQueue.";
+
+    private final Map<String, Supplier<Map<String, Object>>> notificationQueues = new ConcurrentHashMap<>();
+
     private ScheduledFuture<?> scheduledFuture = null;
 
     ScheduledExecutorService healthCheckScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
@@ -310,7 +316,38 @@ public class DistributionEngineClusterHealth {
     }
 
     public HealthCheckInfo getHealthCheckInfo() {
-        return healthCheckInfo;
+        if (notificationQueues.isEmpty()) {
+            return healthCheckInfo;
+        }
+        HealthCheckInfo withQueues = new HealthCheckInfo(healthCheckInfo.getHealthCheckComponent(),
+                healthCheckInfo.getHealthCheckStatus(), healthCheckInfo.getVersion(), healthCheckInfo.getDescription());
+        List<HealthCheckInfo> queuesInfo = new ArrayList<>();
+        getNotificationQueueMetrics().forEach((envId, metrics) -> queuesInfo.add(new HealthCheckInfo(
+                NOTIFICATION_QUEUE_COMPONENT_PREFIX + envId, healthCheckInfo.getHealthCheckStatus(), null,
+                metrics.toString())));
+        withQueues.setComponentsInfo(queuesInfo);
+        return withQueues;
+    }
+
+    /**
+     * Registers the metrics of the notification queue of an environment, to be reported along with the health of
+     * the distribution engine.
+     */
+    public void registerNotificationQueue(String envId, Supplier<Map<String, Object>> metrics) {
+        notificationQueues.put(envId, metrics);
+    }
+
+    public void unregisterNotificationQueue(String envId) {
+        notificationQueues.remove(envId);
+    }
+
+    /**
+     * @return the queue depth and publish latency of the notification queue of every environment, by environment id
+     */
+    public Map<String, Map<String, Object>> getNotificationQueueMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        notificationQueues.forEach((envId, queueMetrics) -> metrics.put(envId, queueMetrics.get()));
+        return metrics;
     }
 
     /**
@@ -0,0 +1,582 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.components.distribution.engine;
+
+import com.datastax.driver.core.utils.UUIDs;
+import fj.data.Either;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.config.DistributionEngineConfiguration.DistributionNotificationDispatchConfig;
+import org.openecomp.sdc.be.config.DistributionEngineConfiguration.DistributionNotificationTopicConfig;
+import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.dao.cassandra.DistributionNotificationQueueDao;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.Service;
+import org.openecomp.sdc.be.model.User;
+import org.openecomp.sdc.be.resources.data.DistributionNotificationQueueEntry;
+import org.openecomp.sdc.be.resources.data.OperationalEnvironmentEntry;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.LatencyHistogram;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the distribution notifications from a bounded queue per operational environment.
+ * <p>
+ * Every environment has its own workers, so a slow or unreachable message bus of one environment does not hold the
+ * notifications of the others. A worker takes the first pending notification and waits up to the flush interval for
+ * more, then publishes the notifications of each topic with a single publisher. A batch which fails on a transient
+ * error is retried with a growing interval, up to the configured number of retries.
+ * <p>
+ * When the queue of an environment is full, the caller waits up to the offer timeout for room and the notification is
+ * rejected after it. A caller waiting for the publishing waits up to the publish timeout. A notification which is not
+ * published, because it was left in the queue on shutdown or its worker was interrupted, completes exceptionally.
+ * <p>
+ * Accepted notifications can be kept in cassandra until they are published. Each BE owns the notifications it
+ * queued and renews their lease while they are queued. The notifications whose lease expired, because their BE
+ * stopped or lost them, are taken over and published by the BE which claims them first. A notification which failed
+ * to be published is kept as a dead letter rather than deleted. Otherwise the workers get a grace period on shutdown
+ * to publish what is left in the queues, and what is left after it is dropped.
+ */
+@Component("distributionNotificationDispatcher")
+public class DistributionNotificationDispatcher {
+
+    private static final Logger log = Logger.getLogger(DistributionNotificationDispatcher.class.getName());
+    private static final String METRICS_NAME_PREFIX = "DistributionNotificationQueue.";
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
+    private static final int DEFAULT_WORKER_THREADS = 2;
+    private static final int DEFAULT_BATCH_SIZE = 20;
+    private static final int DEFAULT_FLUSH_INTERVAL_IN_MS = 200;
+    private static final int DEFAULT_OFFER_TIMEOUT_IN_MS = 5000;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final int DEFAULT_RETRY_INTERVAL_IN_MS = 2000;
+    private static final int DEFAULT_PUBLISH_TIMEOUT_IN_MS = 30000;
+    private static final int DEFAULT_LEASE_IN_MS = 60000;
+    private static final long SHUTDOWN_TIMEOUT_IN_MS = 10000;
+    private static final Set<ActionStatus> RETRIABLE = EnumSet.of(ActionStatus.GENERAL_ERROR,
+            ActionStatus.CONNNECTION_ERROR, ActionStatus.UNKNOWN_HOST);
+
+    private final DistributionNotificationSender distributionNotificationSender;
+    private final EnvironmentsEngine environmentsEngine;
+    private final DistributionNotificationQueueDao queueDao;
+    private final DistributionEngineClusterHealth distributionEngineClusterHealth;
+
+    private final Map<String, EnvironmentQueue> queues = new ConcurrentHashMap<>();
+    private final Map<UUID, QueuedDistributionNotification> held = new ConcurrentHashMap<>();
+    private final String owner = UUID.randomUUID().toString();
+    private ScheduledExecutorService leaseRenewer;
+    private int queueSize;
+    private int workerThreads;
+    private int batchSize;
+    private long flushIntervalNanos;
+    private long offerTimeoutMillis;
+    private int maxRetries;
+    private long retryIntervalMillis;
+    private long publishTimeoutMillis;
+    private long leaseMillis;
+    private boolean persistent;
+    private boolean waitForPublish;
+    private volatile boolean running;
+
+    @Autowired
+    public DistributionNotificationDispatcher(DistributionNotificationSender distributionNotificationSender,
+            EnvironmentsEngine environmentsEngine, DistributionNotificationQueueDao queueDao,
+            DistributionEngineClusterHealth distributionEngineClusterHealth) {
+        this.distributionNotificationSender = distributionNotificationSender;
+        this.environmentsEngine = environmentsEngine;
+        this.queueDao = queueDao;
+        this.distributionEngineClusterHealth = distributionEngineClusterHealth;
+    }
+
+    @PostConstruct
+    public void init() {
+        DistributionNotificationTopicConfig topicConfig = ConfigurationManager.getConfigurationManager()
+                .getDistributionEngineConfiguration().getDistributionNotificationTopic();
+        DistributionNotificationDispatchConfig config = topicConfig != null ? topicConfig.getDispatch() : null;
+        if (config == null || !Boolean.TRUE.equals(config.getEnabled())) {
+            log.debug("Distribution notification dispatch is disabled, notifications are published on the request thread");
+            return;
+        }
+        configure(valueOf(config.getQueueSize(), DEFAULT_QUEUE_SIZE),
+                valueOf(config.getWorkerThreads(), DEFAULT_WORKER_THREADS),
+                valueOf(config.getBatchSize(), DEFAULT_BATCH_SIZE),
+                valueOf(config.getFlushIntervalInMs(), DEFAULT_FLUSH_INTERVAL_IN_MS),
+                valueOf(config.getOfferTimeoutInMs(), DEFAULT_OFFER_TIMEOUT_IN_MS),
+                valueOf(config.getMaxRetries(), DEFAULT_MAX_RETRIES),
+                valueOf(config.getRetryIntervalInMs(), DEFAULT_RETRY_INTERVAL_IN_MS),
+                valueOf(config.getPublishTimeoutInMs(), DEFAULT_PUBLISH_TIMEOUT_IN_MS),
+                valueOf(config.getLeaseInMs(), DEFAULT_LEASE_IN_MS),
+                Boolean.TRUE.equals(config.getPersistent()), !Boolean.FALSE.equals(config.getWaitForPublish()));
+        running = true;
+        if (persistent) {
+            recover();
+            leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "DistributionNotificationLeaseRenewer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long renewInterval = Math.max(1, leaseMillis / 3);
+            leaseRenewer.scheduleWithFixedDelay(this::renewLeases, renewInterval, renewInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Distribution notification dispatch is enabled. {}", config);
+    }
+
+    void configure(int queueSize, int workerThreads, int batchSize, long flushIntervalMillis, long offerTimeoutMillis,
+            int maxRetries, long retryIntervalMillis, long publishTimeoutMillis, long leaseMillis, boolean persistent,
+            boolean waitForPublish) {
+        this.queueSize = queueSize;
+        this.workerThreads = workerThreads;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.publishTimeoutMillis = publishTimeoutMillis;
+        this.leaseMillis = leaseMillis;
+        this.persistent = persistent;
+        this.waitForPublish = waitForPublish;
+    }
+
+    void start() {
+        running = true;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (leaseRenewer != null) {
+            leaseRenewer.shutdownNow();
+            leaseRenewer = null;
+        }
+        for (EnvironmentQueue queue : queues.values()) {
+            queue.stop();
+            PerformanceMetricsRegistry.getInstance().unregister(METRICS_NAME_PREFIX + queue.envId);
+            distributionEngineClusterHealth.unregisterNotificationQueue(queue.envId);
+        }
+        queues.clear();
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues a notification to be published on the topic of an environment.
+     *
+     * @return the status of the publishing when waiting for it, otherwise OK once the notification is queued.
+     * GENERAL_ERROR when the queue of the environment stayed full, or the notification was not published within the
+     * publish timeout
+     */
+    public ActionStatus dispatch(String topicName, String distributionId, EnvironmentMessageBusData messageBusData,
+            INotificationData notificationData, Service service, User modifier) {
+        QueuedDistributionNotification notification = new QueuedDistributionNotification(UUIDs.timeBased(),
+                topicName, distributionId, messageBusData, distributionNotificationSender.toJson(notificationData),
+                notificationData.getWorkloadContext(), service, modifier);
+        if (persistent) {
+            DistributionNotificationQueueEntry entry = toEntry(notification);
+            entry.setOwner(owner);
+            entry.setLeaseExpires(leaseExpires());
+            CassandraOperationStatus saved = queueDao.save(entry);
+            if (saved == CassandraOperationStatus.OK) {
+                held.put(notification.getId(), notification);
+            } else {
+                log.warn("Failed to keep distribution notification {} in cassandra: {}", distributionId, saved);
+            }
+        }
+        EnvironmentQueue queue = queueOf(messageBusData.getEnvId());
+        if (!queue.offer(notification)) {
+            log.warn("Notification queue of environment {} is full, distribution {} is rejected",
+                    messageBusData.getEnvId(), distributionId);
+            forget(notification);
+            return ActionStatus.GENERAL_ERROR;
+        }
+        if (!waitForPublish) {
+            return ActionStatus.OK;
+        }
+        try {
+            return notification.getResult().get(publishTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Distribution notification {} was not published within {} ms", distributionId,
+                    publishTimeoutMillis);
+            return ActionStatus.GENERAL_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted while waiting for distribution notification {} to be published", distributionId);
+            return ActionStatus.GENERAL_ERROR;
+        } catch (ExecutionException e) {
+            log.debug("Failed to publish distribution notification {}", distributionId, e);
+            return ActionStatus.GENERAL_ERROR;
+        }
+    }
+
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        queues.forEach((envId, queue) -> metrics.put(envId, queue.getMetrics()));
+        return metrics;
+    }
+
+    private EnvironmentQueue queueOf(String envId) {
+        return queues.computeIfAbsent(envId, id -> {
+            EnvironmentQueue queue = new EnvironmentQueue(id);
+            PerformanceMetricsRegistry.getInstance().register(METRICS_NAME_PREFIX + id, queue::getMetrics);
+            distributionEngineClusterHealth.registerNotificationQueue(id, queue::getMetrics);
+            queue.start();
+            return queue;
+        });
+    }
+
+    /**
+     * Takes over the persistent notifications which are owned by no running BE, because their lease expired, and
+     * queues them. Dead letters and the notifications of this BE are left as they are.
+     */
+    void recover() {
+        Either<List<DistributionNotificationQueueEntry>, CassandraOperationStatus> entries = queueDao.getAll();
+        if (entries.isRight()) {
+            log.warn("Failed to read the pending distribution notifications: {}", entries.right().value());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int recovered = 0;
+        for (DistributionNotificationQueueEntry entry : entries.left().value()) {
+            if (entry.getFailure() != null || owner.equals(entry.getOwner())
+                    || entry.getLeaseExpires() != null && entry.getLeaseExpires().getTime() > now) {
+                continue;
+            }
+            if (queueDao.claim(entry.getEnvId(), entry.getId(), owner, leaseExpires(), entry.getOwner())
+                    != CassandraOperationStatus.OK) {
+                log.debug("Pending distribution notification {} was taken over by another BE", entry.getDistributionId());
+                continue;
+            }
+            OperationalEnvironmentEntry environment = environmentsEngine.getEnvironmentById(entry.getEnvId());
+            if (environment == null) {
+                log.warn("Environment {} of pending distribution notification {} is not available, it is kept as failed",
+                        entry.getEnvId(), entry.getDistributionId());
+                queueDao.fail(entry.getEnvId(), entry.getId(), owner, ActionStatus.DISTRIBUTION_ENVIRONMENT_NOT_FOUND.name());
+                continue;
+            }
+            QueuedDistributionNotification notification = fromEntry(entry, new EnvironmentMessageBusData(environment));
+            held.put(notification.getId(), notification);
+            if (queueOf(entry.getEnvId()).offer(notification)) {
+                recovered++;
+            } else {
+                log.warn("Notification queue of environment {} is full, pending distribution notification {} is left until its lease expires",
+                        entry.getEnvId(), entry.getDistributionId());
+                held.remove(notification.getId());
+            }
+        }
+        log.info("Recovered {} pending distribution notifications", recovered);
+    }
+
+    /**
+     * Renews the lease of the persistent notifications this BE holds, and takes over those whose lease expired.
+     */
+    void renewLeases() {
+        try {
+            Date leaseExpires = leaseExpires();
+            for (QueuedDistributionNotification notification : held.values()) {
+                if (queueDao.renew(notification.getEnvId(), notification.getId(), owner, leaseExpires)
+                        == CassandraOperationStatus.NOT_FOUND && held.remove(notification.getId()) != null) {
+                    log.warn("Distribution notification {} was taken over by another BE after its lease expired",
+                            notification.getDistributionId());
+                }
+            }
+            recover();
+        } catch (RuntimeException e) {
+            log.error("Failed to renew the leases of the pending distribution notifications", e);
+        }
+    }
+
+    void publish(EnvironmentQueue queue, String topicName, List<QueuedDistributionNotification> notifications) {
+        EnvironmentMessageBusData messageBusData = notifications.get(0).getMessageBusData();
+        ActionStatus status;
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            long start = System.nanoTime();
+            status = distributionNotificationSender.sendNotifications(topicName, messageBusData, notifications);
+            queue.publishTimes.record(System.nanoTime() - start);
+            if (status == ActionStatus.OK || !RETRIABLE.contains(status) || attempt > maxRetries) {
+                break;
+            }
+            if (!running || !sleep(retryIntervalMillis * attempt)) {
+                log.warn("Stopped retrying to publish {} notifications to topic {}: {}", notifications.size(),
+                        topicName, status);
+                notifications.forEach(notification -> abandon(notification,
+                        "Distribution notification dispatch stopped before the notification was published"));
+                return;
+            }
+            queue.retries.incrementAndGet();
+            log.debug("Failed to publish {} notifications to topic {}: {}, retrying", notifications.size(), topicName,
+                    status);
+        }
+        if (status == ActionStatus.OK) {
+            queue.published.addAndGet(notifications.size());
+        } else {
+            queue.failed.addAndGet(notifications.size());
+            log.warn("Failed to publish {} notifications to topic {} after {} attempts: {}", notifications.size(),
+                    topicName, attempt, status);
+        }
+        queue.batches.incrementAndGet();
+        for (QueuedDistributionNotification notification : notifications) {
+            queue.queueTimes.record(System.nanoTime() - notification.getAcceptedAt());
+            if (status == ActionStatus.OK) {
+                forget(notification);
+            } else {
+                deadLetter(notification, status);
+            }
+            notification.getResult().complete(status);
+        }
+    }
+
+    private void forget(QueuedDistributionNotification notification) {
+        if (persistent && held.remove(notification.getId()) != null) {
+            queueDao.delete(notification.getEnvId(), notification.getId(), owner);
+        }
+    }
+
+    private void deadLetter(QueuedDistributionNotification notification, ActionStatus status) {
+        if (persistent && held.remove(notification.getId()) != null) {
+            queueDao.fail(notification.getEnvId(), notification.getId(), owner, status.name());
+        }
+    }
+
+    /**
+     * Completes a notification which was not published exceptionally. A persistent notification is left to be
+     * taken over once its lease expires.
+     */
+    private void abandon(QueuedDistributionNotification notification, String reason) {
+        held.remove(notification.getId());
+        notification.getResult().completeExceptionally(new IllegalStateException(reason));
+    }
+
+    private Date leaseExpires() {
+        return new Date(System.currentTimeMillis() + leaseMillis);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static int valueOf(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static DistributionNotificationQueueEntry toEntry(QueuedDistributionNotification notification) {
+        DistributionNotificationQueueEntry entry = new DistributionNotificationQueueEntry();
+        entry.setEnvId(notification.getEnvId());
+        entry.setId(notification.getId());
+        entry.setTopicName(notification.getTopicName());
+        entry.setDistributionId(notification.getDistributionId());
+        entry.setMessage(notification.getJson());
+        entry.setWorkloadContext(notification.getWorkloadContext());
+        Service service = notification.getService();
+        entry.setServiceUuid(service.getUUID());
+        entry.setServiceName(service.getName());
+        entry.setServiceVersion(service.getVersion());
+        entry.setServiceState(service.getLifecycleState() != null ? service.getLifecycleState().name() : null);
+        User modifier = notification.getModifier();
+        if (modifier != null) {
+            entry.setModifierId(modifier.getUserId());
+            entry.setModifierFirstName(modifier.getFirstName());
+            entry.setModifierLastName(modifier.getLastName());
+        }
+        return entry;
+    }
+
+    private static QueuedDistributionNotification fromEntry(DistributionNotificationQueueEntry entry,
+            EnvironmentMessageBusData messageBusData) {
+        Service service = new Service();
+        service.setUUID(entry.getServiceUuid());
+        service.setName(entry.getServiceName());
+        service.setVersion(entry.getServiceVersion());
+        if (entry.getServiceState() != null) {
+            service.setLifecycleState(LifecycleStateEnum.valueOf(entry.getServiceState()));
+        }
+        User modifier = new User(entry.getModifierFirstName(), entry.getModifierLastName(), entry.getModifierId(),
+                null, null, null);
+        return new QueuedDistributionNotification(entry.getId(), entry.getTopicName(), entry.getDistributionId(),
+                messageBusData, entry.getMessage(), entry.getWorkloadContext(), service, modifier);
+    }
+
+    /**
+     * The queue of an environment and the workers publishing from it.
+     */
+    class EnvironmentQueue {
+
+        private final String envId;
+        private final BlockingQueue<QueuedDistributionNotification> pending;
+        private final List<Thread> workers = new ArrayList<>();
+        private final AtomicLong accepted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final LatencyHistogram publishTimes = new LatencyHistogram();
+        private final LatencyHistogram queueTimes = new LatencyHistogram();
+
+        EnvironmentQueue(String envId) {
+            this.envId = envId;
+            this.pending = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void start() {
+            for (int i = 0; i < workerThreads; i++) {
+                Thread worker = new Thread(this::publishLoop, "DistributionNotificationWorker-" + envId + "-" + i);
+                worker.setDaemon(true);
+                worker.start();
+                workers.add(worker);
+            }
+        }
+
+        void stop() {
+            for (Thread worker : workers) {
+                try {
+                    worker.join(SHUTDOWN_TIMEOUT_IN_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<QueuedDistributionNotification> left = new ArrayList<>();
+            pending.drainTo(left);
+            if (left.isEmpty()) {
+                return;
+            }
+            if (persistent) {
+                log.warn("{} notifications of environment {} are still pending on shutdown, they are published once their lease expires",
+                        left.size(), envId);
+                left.forEach(notification -> abandon(notification,
+                        "Distribution notification is still pending on shutdown, it is published once its lease expires"));
+            } else {
+                log.warn("{} notifications of environment {} are still pending on shutdown, they are dropped",
+                        left.size(), envId);
+                left.forEach(notification -> abandon(notification,
+                        "Distribution notification is still pending on shutdown, it is dropped"));
+            }
+        }
+
+        boolean offer(QueuedDistributionNotification notification) {
+            try {
+                if (pending.offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    accepted.incrementAndGet();
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rejected.incrementAndGet();
+            return false;
+        }
+
+        private void publishLoop() {
+            List<QueuedDistributionNotification> batch = new ArrayList<>(batchSize);
+            while (running || !pending.isEmpty()) {
+                try {
+                    QueuedDistributionNotification first = pending.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.nanoTime() + flushIntervalNanos;
+                    while (batch.size() < batchSize) {
+                        pending.drainTo(batch, batchSize - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                            break;
+                        }
+                        QueuedDistributionNotification next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next != null) {
+                            batch.add(next);
+                        }
+                    }
+                    Map<String, List<QueuedDistributionNotification>> byTopic = new LinkedHashMap<>();
+                    batch.forEach(notification -> byTopic
+                            .computeIfAbsent(notification.getTopicName(), topic -> new ArrayList<>())
+                            .add(notification));
+                    byTopic.forEach((topic, notifications) -> publish(this, topic, notifications));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    batch.stream().filter(notification -> !notification.getResult().isDone())
+                            .forEach(notification -> abandon(notification,
+                                    "Distribution notification worker was interrupted before the notification was published"));
+                    break;
+                } catch (RuntimeException e) {
+                    log.error("Failed to publish a batch of {} notifications of environment {}", batch.size(), envId, e);
+                    for (QueuedDistributionNotification notification : batch) {
+                        if (!notification.getResult().isDone()) {
+                            failed.incrementAndGet();
+                            deadLetter(notification, ActionStatus.GENERAL_ERROR);
+                            notification.getResult().complete(ActionStatus.GENERAL_ERROR);
+                        }
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        Map<String, Object> getMetrics() {
+            Map<String, Object> metrics = new TreeMap<>();
+            metrics.put("queueDepth", pending.size());
+            metrics.put("accepted", accepted.get());
+            metrics.put("rejected", rejected.get());
+            metrics.put("published", published.get());
+            metrics.put("failed", failed.get());
+            metrics.put("retries", retries.get());
+            metrics.put("batches", batches.get());
+            metrics.put("publishMs", publishTimes.getMetrics());
+            metrics.put("queuedMs", queueTimes.getMetrics());
+            return metrics;
+        }
+    }
+}
@@ -30,6 +30,9 @@ import org.openecomp.sdc.be.model.User;
 import org.openecomp.sdc.common.log.wrappers.Logger;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Component("distributionNotificationSender")
 public class DistributionNotificationSender {
 
@@ -70,6 +73,56 @@ public class DistributionNotificationSender {
         return convertCambriaResponse(status);
     }
 
+    /**
+     * Publishes several notifications of an environment to a topic at once. The batch is published within the request
+     * of its first notification, and the publishing of each notification is audited with its own status within the
+     * request which dispatched it.
+     *
+     * @return OK if all the notifications were published, otherwise the status of the first one which was not
+     */
+    public ActionStatus sendNotifications(String topicName, EnvironmentMessageBusData messageBusData,
+            List<QueuedDistributionNotification> notifications) {
+        long startTime = System.currentTimeMillis();
+        List<String> jsonNotifications = notifications.stream().map(QueuedDistributionNotification::getJson)
+                .collect(Collectors.toList());
+        List<CambriaErrorResponse> statuses = notifications.get(0).withRequestContext(() -> {
+            List<CambriaErrorResponse> published =
+                    cambriaHandler.sendEachNotificationAndClose(topicName, messageBusData.getUebPublicKey(),
+                            messageBusData.getUebPrivateKey(), messageBusData.getDmaaPuebEndpoints(), jsonNotifications,
+                            deConfiguration.getDistributionNotificationTopic().getMaxWaitingAfterSendingSeconds());
+            logger.info("After publishing {} notifications to topic {}. {} were not sent", notifications.size(),
+                    topicName, published.stream().filter(status -> status.getOperationStatus() != CambriaOperationStatus.OK).count());
+            return published;
+        });
+
+        CambriaErrorResponse batchStatus = null;
+        for (int i = 0; i < notifications.size(); i++) {
+            QueuedDistributionNotification notification = notifications.get(i);
+            CambriaErrorResponse status = statuses.get(i);
+            if (batchStatus == null && status.getOperationStatus() != CambriaOperationStatus.OK) {
+                batchStatus = status;
+            }
+            notification.runInRequestContext(() -> auditDistributionNotification(
+                    new AuditDistributionNotificationBuilder().setTopicName(topicName)
+                            .setDistributionId(notification.getDistributionId()).setStatus(status)
+                            .setService(notification.getService()).setEnvId(messageBusData.getEnvId())
+                            .setModifier(notification.getModifier())
+                            .setWorkloadContext(notification.getWorkloadContext())
+                            .setTenant(messageBusData.getTenant())));
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("After publishing {} notifications. Total took {} milliseconds", notifications.size(),
+                    System.currentTimeMillis() - startTime);
+        }
+
+        return batchStatus == null ? ActionStatus.OK : convertCambriaResponse(batchStatus);
+    }
+
+    public String toJson(INotificationData notificationData) {
+        return cambriaHandler.toJson(notificationData);
+    }
+
     private void auditDistributionNotification(AuditDistributionNotificationBuilder builder) {
         if (this.componentUtils != null) {
             Integer httpCode = builder.getStatus().getHttpCode();
@@ -0,0 +1,145 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.components.distribution.engine;
+
+import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.model.Service;
+import org.openecomp.sdc.be.model.User;
+import org.openecomp.sdc.common.util.ThreadLocalsHolder;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A distribution notification waiting in the queue of its environment to be published. The notification keeps the
+ * request id and the logging context of the thread it was created on, so it is published and audited within the
+ * request which dispatched it.
+ */
+public class QueuedDistributionNotification {
+
+    private final UUID id;
+    private final String topicName;
+    private final String distributionId;
+    private final EnvironmentMessageBusData messageBusData;
+    private final String json;
+    private final String workloadContext;
+    private final Service service;
+    private final User modifier;
+    private final long acceptedAt = System.nanoTime();
+    private final String requestId = ThreadLocalsHolder.getUuid();
+    private final Long requestStartTime = ThreadLocalsHolder.getRequestStartTime();
+    private final Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+    private final CompletableFuture<ActionStatus> result = new CompletableFuture<>();
+    private int attempts;
+
+    public QueuedDistributionNotification(UUID id, String topicName, String distributionId,
+            EnvironmentMessageBusData messageBusData, String json, String workloadContext, Service service,
+            User modifier) {
+        this.id = id;
+        this.topicName = topicName;
+        this.distributionId = distributionId;
+        this.messageBusData = messageBusData;
+        this.json = json;
+        this.workloadContext = workloadContext;
+        this.service = service;
+        this.modifier = modifier;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEnvId() {
+        return messageBusData.getEnvId();
+    }
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public String getDistributionId() {
+        return distributionId;
+    }
+
+    public EnvironmentMessageBusData getMessageBusData() {
+        return messageBusData;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    public String getWorkloadContext() {
+        return workloadContext;
+    }
+
+    public Service getService() {
+        return service;
+    }
+
+    public User getModifier() {
+        return modifier;
+    }
+
+    long getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    CompletableFuture<ActionStatus> getResult() {
+        return result;
+    }
+
+    int nextAttempt() {
+        return ++attempts;
+    }
+
+    String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Runs the task with the request id and the logging context the notification was created with, and clears them
+     * after.
+     */
+    <T> T withRequestContext(Supplier<T> task) {
+        ThreadLocalsHolder.setUuid(requestId);
+        ThreadLocalsHolder.setRequestStartTime(requestStartTime);
+        if (loggingContext != null) {
+            MDC.setContextMap(loggingContext);
+        }
+        try {
+            return task.get();
+        } finally {
+            ThreadLocalsHolder.cleanup();
+            MDC.clear();
+        }
+    }
+
+    void runInRequestContext(Runnable task) {
+        withRequestContext(() -> {
+            task.run();
+            return null;
+        });
+    }
+}
@@ -46,6 +46,7 @@ import org.openecomp.sdc.be.config.Configuration.ArtifactTypeConfig;
 import org.openecomp.sdc.be.config.ConfigurationManager;
 import org.openecomp.sdc.be.dao.api.ActionStatus;
 import org.openecomp.sdc.be.dao.cassandra.ArtifactCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactPayloadStream;
 import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
 import org.openecomp.sdc.be.dao.jsongraph.types.JsonParseFlagEnum;
 import org.openecomp.sdc.be.datatypes.elements.ArtifactDataDefinition;
@@ -92,6 +93,7 @@ import org.openecomp.sdc.be.resources.data.auditing.AuditingActionEnum;
 import org.openecomp.sdc.be.resources.data.auditing.model.ResourceCommonInfo;
 import org.openecomp.sdc.be.resources.data.auditing.model.ResourceVersionInfo;
 import org.openecomp.sdc.be.servlets.RepresentationUtils;
+import org.openecomp.sdc.be.tosca.CsarPayload;
 import org.openecomp.sdc.be.tosca.CsarUtils;
 import org.openecomp.sdc.be.tosca.ToscaError;
 import org.openecomp.sdc.be.tosca.ToscaExportHandler;
@@ -122,6 +124,7 @@ import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -420,7 +423,14 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
 
         }
         else {
-            Either<ToscaRepresentation, ToscaError> exportComponent = toscaExportUtils.exportComponent(parent);
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            Either<ToscaRepresentation, ToscaError> exportComponent;
+            try {
+                exportComponent = toscaExportUtils.exportComponent(parent, payload);
+            } catch (IOException e) {
+                log.debug("Failed to write tosca yaml for component {}", parent.getUniqueId(), e);
+                return Either.right(componentsUtils.getResponseFormat(ActionStatus.GENERAL_ERROR));
+            }
             if (exportComponent.isRight()) {
                 log.debug("Failed export tosca yaml for component {} error {}", parent.getUniqueId(), exportComponent.right()
                                                                                                                      .value());
@@ -429,8 +439,7 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
                 return Either.right(responseFormat);
             }
             log.debug("Tosca yaml exported for component {} ", parent.getUniqueId());
-            String payload = exportComponent.left().value().getMainYaml();
-            artifactInfo.setPayloadData(payload);
+            artifactInfo.setPayload(payload.toByteArray());
         }
         return Either.left(Either.left(artifactInfo));
     }
@@ -685,6 +694,29 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
         return downloadArtifact(csarArtifact);
     }
 
+    /**
+     * Same as {@link #handleDownloadToscaModelRequest(Component, ArtifactDefinition)}, but a generated CSAR is spooled
+     * instead of being built in memory. The caller must close the returned payload.
+     */
+    public Either<ImmutablePair<String, CsarPayload>, ResponseFormat> handleDownloadToscaModelStreamRequest(Component component, ArtifactDefinition csarArtifact) {
+        if (artifactGenerationRequired(component, csarArtifact)) {
+            Either<CsarPayload, ResponseFormat> generated = csarUtils.createSpooledCsar(component, false, false);
+
+            if (generated.isRight()) {
+                log.debug("Failed to export tosca csar for component {} error {}", component.getUniqueId(), generated.right()
+                                                                                                                     .value());
+
+                return Either.right(generated.right().value());
+            }
+            return Either.left(new ImmutablePair<>(csarArtifact.getArtifactName(), generated.left().value()));
+        }
+        Either<ImmutablePair<String, byte[]>, ResponseFormat> downloaded = downloadArtifact(csarArtifact);
+        if (downloaded.isRight()) {
+            return Either.right(downloaded.right().value());
+        }
+        return Either.left(new ImmutablePair<>(downloaded.left().value().getLeft(), CsarPayload.of(downloaded.left().value().getRight())));
+    }
+
     public Either<ImmutablePair<String, byte[]>, ResponseFormat> handleDownloadRequestById(String componentId, String artifactId, String userId, ComponentTypeEnum componentType, String parentId, String containerComponentType) {
         // perform all validation in common flow
         Either<Either<ArtifactDefinition, Operation>, ResponseFormat> result = handleArtifactRequest(componentId, userId, componentType, new ArtifactOperationInfo(false, false, ArtifactOperationEnum.DOWNLOAD), artifactId, null, null, null, null,
@@ -2988,22 +3020,12 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
             currArtifactId = artifactDefinition.getUniqueId();
 
 
+            String sourceEsId = null;
             if (decodedPayload == null) {
                 if (!artifactDefinition.getMandatory() || artifactDefinition.getEsId() != null) {
-                    Either<ESArtifactData, CassandraOperationStatus> artifactFromCassandra = artifactCassandraDao.getArtifact(artifactDefinition
-                            .getEsId());
-                    if (artifactFromCassandra.isRight()) {
-                        log.debug("Failed to get artifact data from ES for artifact id  {}", artifactId);
-                        error = DaoStatusConverter.convertCassandraStatusToStorageStatus(artifactFromCassandra.right()
-                                .value());
-                        ResponseFormat responseFormat = componentsUtils.getResponseFormat(componentsUtils.convertFromStorageResponse(error));
-                        handleAuditing(auditingAction, parent, parentId, user, artifactInfo, prevArtifactId, currArtifactId, responseFormat, componentType, null);
-                        resultOp = Either.right(responseFormat);
-                        return resultOp;
-                    }
-                    // clone data to new artifact
-                    artifactData.setData(artifactFromCassandra.left().value().getData());
-                    artifactData.setId(artifactFromCassandra.left().value().getId());
+                    // the payload is copied to the new artifact once its id is known, without reading it
+                    sourceEsId = artifactDefinition.getEsId();
+                    artifactData.setId(sourceEsId);
                 }
             } else {
                 if (artifactDefinition.getEsId() == null) {
@@ -3062,6 +3084,9 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
                     }
                     res = saveArtifacts(artifactData, parentId);
 
+                } else if (sourceEsId != null && !artifactDefinition.getDuplicated() && artifactDefinition.getEsId() != null
+                        && !sourceEsId.equals(artifactDefinition.getEsId())) {
+                    res = copyArtifacts(sourceEsId, artifactDefinition.getEsId(), parentId);
                 }
             }
 
@@ -3246,6 +3271,21 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
 
     // download by MSO
     public Either<byte[], ResponseFormat> downloadRsrcArtifactByNames(String serviceName, String serviceVersion, String resourceName, String resourceVersion, String artifactName) {
+        Either<ArtifactDefinition, ResponseFormat> deploymentArtifact = findRsrcArtifactByNames(serviceName, serviceVersion, resourceName, resourceVersion, artifactName);
+        if (deploymentArtifact.isRight()) {
+            return Either.right(deploymentArtifact.right().value());
+        }
+        // Downloading the artifact
+        Either<ImmutablePair<String, byte[]>, ResponseFormat> downloadArtifactEither = downloadArtifact(deploymentArtifact.left().value());
+        if (downloadArtifactEither.isRight()) {
+            log.debug(FAILED_DOWNLOAD_ARTIFACT, deploymentArtifact.left().value().getArtifactName());
+            return Either.right(downloadArtifactEither.right().value());
+        }
+        log.trace("Download of resource artifact succeeded, uniqueId {}", deploymentArtifact.left().value().getUniqueId());
+        return Either.left(downloadArtifactEither.left().value().getRight());
+    }
+
+    public Either<ArtifactDefinition, ResponseFormat> findRsrcArtifactByNames(String serviceName, String serviceVersion, String resourceName, String resourceVersion, String artifactName) {
 
         // General validation
         if (serviceName == null || serviceVersion == null || resourceName == null || resourceVersion == null || artifactName == null) {
@@ -3292,19 +3332,27 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
             log.debug("No deployment artifact {} was found for resource {}", artifactName, resourceId);
             return Either.right(componentsUtils.getResponseFormat(ActionStatus.ARTIFACT_NOT_FOUND, artifactName));
         }
+        return Either.left(deploymentArtifact);
+    }
 
+    // download by MSO
+    public Either<byte[], ResponseFormat> downloadRsrcInstArtifactByNames(String serviceName, String serviceVersion, String resourceInstanceName, String artifactName) {
+        Either<ArtifactDefinition, ResponseFormat> deployableArtifact = findRsrcInstArtifactByNames(serviceName, serviceVersion, resourceInstanceName, artifactName);
+        if (deployableArtifact.isRight()) {
+            return Either.right(deployableArtifact.right().value());
+        }
         // Downloading the artifact
-        Either<ImmutablePair<String, byte[]>, ResponseFormat> downloadArtifactEither = downloadArtifact(deploymentArtifact);
+        Either<ImmutablePair<String, byte[]>, ResponseFormat> downloadArtifactEither = downloadArtifact(deployableArtifact.left().value());
+
         if (downloadArtifactEither.isRight()) {
-            log.debug(FAILED_DOWNLOAD_ARTIFACT, artifactName);
+            log.debug(FAILED_DOWNLOAD_ARTIFACT, deployableArtifact.left().value().getArtifactName());
             return Either.right(downloadArtifactEither.right().value());
         }
-        log.trace("Download of resource artifact succeeded, uniqueId {}", deploymentArtifact.getUniqueId());
+        log.trace("Download of resource artifact succeeded, uniqueId {}", deployableArtifact.left().value().getUniqueId());
         return Either.left(downloadArtifactEither.left().value().getRight());
     }
 
-    // download by MSO
-    public Either<byte[], ResponseFormat> downloadRsrcInstArtifactByNames(String serviceName, String serviceVersion, String resourceInstanceName, String artifactName) {
+    public Either<ArtifactDefinition, ResponseFormat> findRsrcInstArtifactByNames(String serviceName, String serviceVersion, String resourceInstanceName, String artifactName) {
 
         // General validation
         if (serviceName == null || serviceVersion == null || resourceInstanceName == null || artifactName == null) {
@@ -3348,15 +3396,7 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
 
         log.debug(FOUND_DEPLOYMENT_ARTIFACT, artifactName);
         deployableArtifact = artifacts.values().stream().filter(filterArtifactByName).findFirst().get();
-        // Downloading the artifact
-        Either<ImmutablePair<String, byte[]>, ResponseFormat> downloadArtifactEither = downloadArtifact(deployableArtifact);
-
-        if (downloadArtifactEither.isRight()) {
-            log.debug(FAILED_DOWNLOAD_ARTIFACT, artifactName);
-            return Either.right(downloadArtifactEither.right().value());
-        }
-        log.trace("Download of resource artifact succeeded, uniqueId {}", deployableArtifact.getUniqueId());
-        return Either.left(downloadArtifactEither.left().value().getRight());
+        return Either.left(deployableArtifact);
     }
 
     private Either<ComponentInstance, ResponseFormat> validateResourceInstance(Service service, String resourceInstanceName) {
@@ -3416,6 +3456,21 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
     }
 
     public Either<byte[], ResponseFormat> downloadServiceArtifactByNames(String serviceName, String serviceVersion, String artifactName) {
+        Either<ArtifactDefinition, ResponseFormat> foundArtifact = findServiceArtifactByNames(serviceName, serviceVersion, artifactName);
+        if (foundArtifact.isRight()) {
+            return Either.right(foundArtifact.right().value());
+        }
+        // Downloading the artifact
+        Either<ImmutablePair<String, byte[]>, ResponseFormat> downloadArtifactEither = downloadArtifact(foundArtifact.left().value());
+        if (downloadArtifactEither.isRight()) {
+            log.debug(FAILED_DOWNLOAD_ARTIFACT, foundArtifact.left().value().getArtifactName());
+            return Either.right(downloadArtifactEither.right().value());
+        }
+        log.trace("Download of service artifact succeeded, uniqueId {}", foundArtifact.left().value().getUniqueId());
+        return Either.left(downloadArtifactEither.left().value().getRight());
+    }
+
+    public Either<ArtifactDefinition, ResponseFormat> findServiceArtifactByNames(String serviceName, String serviceVersion, String artifactName) {
         // Validation
         log.trace("Starting download of service interface artifact, serviceName {}, serviceVersion {}, artifact name {}", serviceName, serviceVersion, artifactName);
         if (serviceName == null || serviceVersion == null || artifactName == null) {
@@ -3459,15 +3514,7 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
             return Either.right(componentsUtils.getResponseFormat(ActionStatus.ARTIFACT_NOT_FOUND, normalizedArtifactName));
         }
         log.debug(FOUND_DEPLOYMENT_ARTIFACT, normalizedArtifactName);
-        // Downloading the artifact
-        Either<ImmutablePair<String, byte[]>, ResponseFormat> downloadArtifactEither = downloadArtifact(foundArtifactOptl
-                .get());
-        if (downloadArtifactEither.isRight()) {
-            log.debug(FAILED_DOWNLOAD_ARTIFACT, normalizedArtifactName);
-            return Either.right(downloadArtifactEither.right().value());
-        }
-        log.trace("Download of service artifact succeeded, uniqueId {}", foundArtifactOptl.get().getUniqueId());
-        return Either.left(downloadArtifactEither.left().value().getRight());
+        return Either.left(foundArtifactOptl.get());
     }
 
     public Either<ImmutablePair<String, byte[]>, ResponseFormat> downloadArtifact(String parentId, String artifactUniqueId) {
@@ -3707,11 +3754,27 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
         return Either.left(new ImmutablePair<String, byte[]>(artifactName, data));
     }
 
+    /**
+     * Opens the payload of the artifact for reading, a large payload is read from the storage as the stream is read.
+     */
+    public Either<ArtifactPayloadStream, ResponseFormat> downloadArtifactStream(ArtifactDefinition artifactDefinition) {
+        Either<ArtifactPayloadStream, CassandraOperationStatus> artifactStream = artifactCassandraDao.getArtifactStream(artifactDefinition.getEsId());
+        if (artifactStream.isRight()) {
+            StorageOperationStatus storageResponse = DaoStatusConverter.convertCassandraStatusToStorageStatus(artifactStream.right().value());
+            ActionStatus actionStatus = componentsUtils.convertFromStorageResponse(storageResponse);
+            log.debug("Error when getting artifact stream, error: {}", actionStatus);
+            return Either.right(componentsUtils.getResponseFormatByArtifactId(actionStatus, artifactDefinition.getArtifactDisplayName()));
+        }
+        log.trace("Opened artifact stream, uniqueId {}, size {}", artifactDefinition.getUniqueId(), artifactStream.left().value().getSize());
+        return Either.left(artifactStream.left().value());
+    }
+
     public ESArtifactData createEsArtifactData(ArtifactDataDefinition artifactInfo, byte[] artifactPayload) {
         return new ESArtifactData(artifactInfo.getEsId(), artifactPayload);
     }
 
     private boolean saveArtifacts(ESArtifactData artifactData, String resourceId) {
+        // the payload was decoded from the request, the dao writes a large one in chunks sliced from its buffer
         CassandraOperationStatus resourceUploadStatus = artifactCassandraDao.saveArtifact(artifactData);
 
         if (resourceUploadStatus.equals(CassandraOperationStatus.OK)) {
@@ -3724,6 +3787,19 @@ public class ArtifactsBusinessLogic extends BaseBusinessLogic {
         return true;
     }
 
+    private boolean copyArtifacts(String sourceEsId, String targetEsId, String resourceId) {
+        CassandraOperationStatus copyStatus = artifactCassandraDao.copyArtifact(sourceEsId, targetEsId);
+
+        if (copyStatus.equals(CassandraOperationStatus.OK)) {
+            log.debug("Artifact {} was copied to {} in component {}.", sourceEsId, targetEsId, resourceId);
+        }
+        else {
+            log.info("Failed to copy artifact {} to {}, error {}.", sourceEsId, targetEsId, copyStatus);
+            return false;
+        }
+        return true;
+    }
+
     private boolean isArtifactMetadataUpdate(AuditingActionEnum auditingActionEnum) {
         return auditingActionEnum.equals(AuditingActionEnum.ARTIFACT_METADATA_UPDATE);
     }
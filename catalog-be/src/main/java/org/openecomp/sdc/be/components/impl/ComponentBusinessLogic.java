@@ -79,6 +79,7 @@ import org.openecomp.sdc.be.resources.data.ComponentMetadataData;
 import org.openecomp.sdc.be.resources.data.auditing.AuditingActionEnum;
 import org.openecomp.sdc.be.resources.data.auditing.model.ResourceCommonInfo;
 import org.openecomp.sdc.be.resources.data.auditing.model.ResourceVersionInfo;
+import org.openecomp.sdc.be.tosca.CsarPayload;
 import org.openecomp.sdc.be.ui.model.UiComponentDataTransfer;
 import org.openecomp.sdc.be.user.Role;
 import org.openecomp.sdc.be.utils.CommonBeUtils;
@@ -689,7 +690,7 @@ public abstract class ComponentBusinessLogic extends BaseBusinessLogic {
         return artifactsBusinessLogic.generateAndSaveToscaArtifact(artifactDefinition, component, user, isInCertificationRequest, shouldLock, inTransaction, fetchTemplatesFromDB);
     }
 
-    public Either<ImmutablePair<String, byte[]>, ResponseFormat> getToscaModelByComponentUuid(ComponentTypeEnum componentType, String uuid, ResourceCommonInfo resourceCommonInfo) {
+    public Either<ImmutablePair<String, CsarPayload>, ResponseFormat> getToscaModelByComponentUuid(ComponentTypeEnum componentType, String uuid, ResourceCommonInfo resourceCommonInfo) {
 
         Either<List<Component>, StorageOperationStatus> latestVersionEither = toscaOperationFacade.getComponentListByUuid(uuid, null);
 
@@ -718,7 +719,7 @@ public abstract class ComponentBusinessLogic extends BaseBusinessLogic {
         ArtifactDefinition csarArtifact = component.getToscaArtifacts().values().stream()
                 .filter(p -> p.getArtifactType().equals(ArtifactTypeEnum.TOSCA_CSAR.getType()))
                 .findAny().get();
-        return artifactsBusinessLogic.handleDownloadToscaModelRequest(component, csarArtifact);
+        return artifactsBusinessLogic.handleDownloadToscaModelStreamRequest(component, csarArtifact);
     }
 
     protected StorageOperationStatus markComponentToDelete(Component component) {
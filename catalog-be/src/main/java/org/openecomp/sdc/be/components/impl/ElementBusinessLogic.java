@@ -42,7 +42,9 @@ import org.openecomp.sdc.be.datatypes.components.ComponentMetadataDataDefinition
 import org.openecomp.sdc.be.datatypes.components.ResourceMetadataDataDefinition;
 import org.openecomp.sdc.be.datatypes.enums.*;
 import org.openecomp.sdc.be.model.*;
+import org.openecomp.sdc.be.model.catalog.CatalogChanges;
 import org.openecomp.sdc.be.model.catalog.CatalogComponent;
+import org.openecomp.sdc.be.model.catalog.CatalogSnapshot;
 import org.openecomp.sdc.be.model.category.CategoryDefinition;
 import org.openecomp.sdc.be.model.category.GroupingDefinition;
 import org.openecomp.sdc.be.model.category.SubCategoryDefinition;
@@ -84,6 +86,9 @@ public class ElementBusinessLogic extends BaseBusinessLogic {
     private static final Logger log = Logger.getLogger(ElementBusinessLogic.class);
     private static final String SERVICES = "services";
     private static final String RESOURCES = "resources";
+    private static final String VERSION = "version";
+    private static final String RELOAD_REQUIRED = "reloadRequired";
+    private static final String REMOVED = "removed";
     private static final String VALIDATION_OF_USER_FAILED_USER_ID = "Validation of user failed, userId {}";
     private static final String COMPONENT_TYPE_IS_INVALID = "Component type {} is invalid";
     private static final String VALIDATION_OF_USER_ROLE_FAILED_USER_ID = "Validation of user role failed, userId {}";
@@ -1023,7 +1028,39 @@ public class ElementBusinessLogic extends BaseBusinessLogic {
         }
     }
 
-    private Map<String, List<CatalogComponent>> groupByComponentType(List<CatalogComponent> components) {
+    public Either<CatalogSnapshot, ResponseFormat> getCatalogSnapshot(String userId, List<OriginTypeEnum> excludeTypes) {
+        try {
+            validateUserExists(userId, "get Catalog Components", true);
+            return toscaOperationFacade.getCatalogOrArchiveSnapshot(true, excludeTypes)
+                    .right().map(err -> componentsUtils.getResponseFormat(componentsUtils.convertFromStorageResponse(err)));
+        } finally {
+            janusGraphDao.commit();
+        }
+    }
+
+    /**
+     * @return the catalog components updated and the ids of the components removed since the given catalog version
+     */
+    public Either<Map<String, Object>, ResponseFormat> getCatalogChanges(String userId, String sinceVersion, List<OriginTypeEnum> excludeTypes) {
+        try {
+            validateUserExists(userId, "get Catalog Changes", true);
+            return toscaOperationFacade.getCatalogOrArchiveChanges(true, sinceVersion, excludeTypes)
+                    .bimap(this::toCatalogChangesResponse,
+                            err -> componentsUtils.getResponseFormat(componentsUtils.convertFromStorageResponse(err)));
+        } finally {
+            janusGraphDao.commit();
+        }
+    }
+
+    private Map<String, Object> toCatalogChangesResponse(CatalogChanges changes) {
+        Map<String, Object> response = new HashMap<>(groupByComponentType(changes.getUpdated()));
+        response.put(VERSION, changes.getVersion());
+        response.put(RELOAD_REQUIRED, changes.isReloadRequired());
+        response.put(REMOVED, changes.getRemoved());
+        return response;
+    }
+
+    public Map<String, List<CatalogComponent>> groupByComponentType(List<CatalogComponent> components) {
         Map<String, List<CatalogComponent>> map = components.stream().collect(Collectors.groupingBy(cmpt -> cmptTypeToString(cmpt.getComponentType())));
 
         // fixed response for UI!!! UI need to receive always map!
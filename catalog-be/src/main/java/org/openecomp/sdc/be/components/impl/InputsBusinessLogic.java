@@ -685,7 +685,7 @@ public class InputsBusinessLogic extends BaseBusinessLogic {
             return Either.right(allDataTypes.right().value());
         }
 
-        Map<String, DataTypeDefinition> dataTypes = allDataTypes.left().value();
+        Map<String, DataTypeDefinition> dataTypes = new HashMap<>(allDataTypes.left().value());
         dataTypes.putAll(privateDataTypes);
 
         for (Map.Entry<String, InputDefinition> inputDefinition : inputs.entrySet()) {
@@ -33,12 +33,14 @@ import static org.openecomp.sdc.be.components.impl.ImportUtils.findFirstToscaStr
 import static org.openecomp.sdc.be.components.impl.ImportUtils.getPropertyJsonStringValue;
 import static org.openecomp.sdc.be.tosca.CsarUtils.VF_NODE_TYPE_ARTIFACTS_PATH_PATTERN;
 
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -58,6 +60,7 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.openecomp.sdc.be.components.csar.CsarArtifactsAndGroupsBusinessLogic;
 import org.openecomp.sdc.be.components.csar.CsarBusinessLogic;
 import org.openecomp.sdc.be.components.csar.CsarInfo;
+import org.openecomp.sdc.be.components.csar.NodeTypeCreationScheduler;
 import org.openecomp.sdc.be.components.impl.ArtifactsBusinessLogic.ArtifactOperationEnum;
 import org.openecomp.sdc.be.components.impl.ArtifactsBusinessLogic.ArtifactOperationInfo;
 import org.openecomp.sdc.be.components.impl.ImportUtils.ResultStatusEnum;
@@ -187,6 +190,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
     private ICapabilityTypeOperation capabilityTypeOperation;
     private IInterfaceLifecycleOperation interfaceTypeOperation;
     private LifecycleBusinessLogic lifecycleBusinessLogic;
+    private NodeTypeCreationScheduler nodeTypeCreationScheduler;
 
     private final ComponentInstanceBusinessLogic componentInstanceBusinessLogic;
     private final ResourceImportManager resourceImportManager;
@@ -235,6 +239,11 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
         this.lifecycleBusinessLogic = lifecycleBusinessLogic;
     }
 
+    @Autowired
+    public void setNodeTypeCreationScheduler(NodeTypeCreationScheduler nodeTypeCreationScheduler) {
+        this.nodeTypeCreationScheduler = nodeTypeCreationScheduler;
+    }
+
     public IElementOperation getElementDao() {
         return elementDao;
     }
@@ -476,7 +485,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             connectUiRelations(oldResource, updatedResource);
 
         } catch (ComponentException|StorageException e){
-            rollback(inTransaction, newResource, createdArtifacts, null);
+            rollback(inTransaction, newResource, createdArtifacts, null, csarInfo);
             throw e;
         }
         finally {
@@ -1021,6 +1030,10 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
     }
 
     private void createNodeTypes(String yamlName, Resource resource, boolean needLock, Map<String, EnumMap<ArtifactOperationEnum, List<ArtifactDefinition>>> nodeTypesArtifactsToHandle, List<ArtifactDefinition> nodeTypesNewCreatedArtifacts, Map<String, NodeTypeInfo> nodeTypesInfo, CsarInfo csarInfo, Map<String, Object> mapToConvert, Map<String, Object> nodeTypes) {
+        if (canCreateNodeTypesConcurrently(yamlName, resource, nodeTypesInfo, csarInfo, nodeTypes)) {
+            createNodeTypesConcurrently(yamlName, resource, needLock, nodeTypesArtifactsToHandle, nodeTypesNewCreatedArtifacts, csarInfo, mapToConvert, nodeTypes);
+            return;
+        }
         Iterator<Entry<String, Object>> nodesNameValueIter = nodeTypes.entrySet().iterator();
         Resource vfcCreated = null;
         while (nodesNameValueIter.hasNext()) {
@@ -1038,10 +1051,11 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             } else if (csarInfo.getCreatedNodesToscaResourceNames() != null
                     && !csarInfo.getCreatedNodesToscaResourceNames().containsKey(nodeType.getKey())) {
                 log.trace("************* Going to create node {}", nodeType.getKey());
+                long start = System.currentTimeMillis();
                 ImmutablePair<Resource, ActionStatus> resourceCreated = createNodeTypeResourceFromYaml(yamlName, nodeType, csarInfo.getModifier(), mapToConvert,
                         resource, needLock, nodeTypeArtifactsToHandle, nodeTypesNewCreatedArtifacts, true,
                         csarInfo, true);
-                log.debug("************* Finished to create node {}", nodeType.getKey());
+                log.debug("************* Finished to create node {} in {} ms", nodeType.getKey(), System.currentTimeMillis() - start);
 
                 vfcCreated = resourceCreated.getLeft();
                 csarInfo.getCreatedNodesToscaResourceNames().put(nodeType.getKey(),
@@ -1054,6 +1068,68 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
         }
     }
 
+    /**
+     * The node types of a template are created concurrently, each committed in its own transaction, only when none
+     * of them is a nested vfc, exists already, or derives from a node type created but not committed yet by this import
+     */
+    private boolean canCreateNodeTypesConcurrently(String yamlName, Resource resource, Map<String, NodeTypeInfo> nodeTypesInfo,
+                                                   CsarInfo csarInfo, Map<String, Object> nodeTypes) {
+        if (nodeTypeCreationScheduler == null || !nodeTypeCreationScheduler.isParallel() || csarInfo.isUpdate()
+                || csarInfo.getCreatedNodesToscaResourceNames() == null) {
+            return false;
+        }
+        Map<String, String> createdNodes = csarInfo.getCreatedNodesToscaResourceNames();
+        int nodeTypesToCreate = 0;
+        for (Entry<String, Object> nodeType : nodeTypes.entrySet()) {
+            if (nodeTypesInfo.containsKey(nodeType.getKey())) {
+                return false;
+            }
+            if (createdNodes.containsKey(nodeType.getKey())) {
+                continue;
+            }
+            Object derivedFrom = nodeType.getValue() instanceof Map
+                    ? ((Map<?, ?>) nodeType.getValue()).get(TypeUtils.ToscaTagNamesEnum.DERIVED_FROM.getElementName()) : null;
+            if (derivedFrom != null && (createdNodes.containsKey(derivedFrom) || createdNodes.containsValue(derivedFrom))) {
+                return false;
+            }
+            UploadResourceInfo resourceMetaData = fillResourceMetadata(yamlName, resource, nodeType.getKey(), csarInfo.getModifier());
+            String toscaResourceName = buildNestedToscaResourceName(resourceMetaData.getResourceType(),
+                    csarInfo.getVfResourceName(), nodeType.getKey()).getLeft();
+            Either<Resource, StorageOperationStatus> existing = toscaOperationFacade.getLatestByToscaResourceName(toscaResourceName);
+            if (existing.isLeft() || existing.right().value() != StorageOperationStatus.NOT_FOUND) {
+                return false;
+            }
+            nodeTypesToCreate++;
+        }
+        return nodeTypesToCreate > 1;
+    }
+
+    private void createNodeTypesConcurrently(String yamlName, Resource resource, boolean needLock,
+                                             Map<String, EnumMap<ArtifactOperationEnum, List<ArtifactDefinition>>> nodeTypesArtifactsToHandle,
+                                             List<ArtifactDefinition> nodeTypesNewCreatedArtifacts, CsarInfo csarInfo,
+                                             Map<String, Object> mapToConvert, Map<String, Object> nodeTypes) {
+        Map<String, Object> nodeTypesToCreate = new LinkedHashMap<>(nodeTypes);
+        nodeTypesToCreate.keySet().removeAll(csarInfo.getCreatedNodesToscaResourceNames().keySet());
+        log.debug("************* Going to create {} nodes concurrently from yaml {}", nodeTypesToCreate.size(), yamlName);
+        List<ArtifactDefinition> createdArtifacts = new ArrayList<>();
+        Map<String, Resource> createdNodes = nodeTypeCreationScheduler.create(NodeTypeCreationScheduler.sortByDerivedFrom(nodeTypesToCreate),
+                (nodeTypeName, nodeTypeCreatedArtifacts) -> createNodeTypeResourceFromYaml(yamlName,
+                        new SimpleEntry<>(nodeTypeName, nodeTypesToCreate.get(nodeTypeName)), csarInfo.getModifier(),
+                        new HashMap<>(mapToConvert), resource, needLock,
+                        nodeTypesArtifactsToHandle == null ? null : nodeTypesArtifactsToHandle.get(nodeTypeName),
+                        nodeTypeCreatedArtifacts, true, csarInfo, true).getLeft(),
+                createdArtifacts);
+        createdNodes.forEach((nodeTypeName, vfcCreated) -> {
+            csarInfo.getCreatedNodesToscaResourceNames().put(nodeTypeName, vfcCreated.getToscaResourceName());
+            csarInfo.getCreatedNodes().put(nodeTypeName, vfcCreated);
+            csarInfo.getCommittedNodeTypeIds().add(vfcCreated.getUniqueId());
+        });
+        if (nodeTypesNewCreatedArtifacts != null) {
+            nodeTypesNewCreatedArtifacts.addAll(createdArtifacts);
+        }
+        log.debug("************* Finished to create {} nodes concurrently from yaml {}", createdNodes.size(), yamlName);
+    }
+
     private Resource handleNestedVfc(Resource resource, Map<String, EnumMap<ArtifactOperationEnum, List<ArtifactDefinition>>> nodesArtifactsToHandle,
                                      List<ArtifactDefinition> createdArtifacts, Map<String, NodeTypeInfo> nodesInfo, CsarInfo csarInfo,
                                      String nodeName) {
@@ -1336,7 +1412,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             Either<Boolean, ResponseFormat> lockResult = lockComponentByName(resource.getSystemName(), resource,
                     CREATE_RESOURCE);
             if (lockResult.isRight()) {
-                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts);
+                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts, csarInfo);
                 throw new ByResponseFormatComponentException(lockResult.right().value());
             }
             log.debug("name is locked {} status = {}", resource.getSystemName(), lockResult);
@@ -1367,7 +1443,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             Either<Map<String, GroupDefinition>, ResponseFormat> validateUpdateVfGroupNamesRes = groupBusinessLogic
                     .validateUpdateVfGroupNames(parsedToscaYamlInfo.getGroups(), resource.getSystemName());
             if (validateUpdateVfGroupNamesRes.isRight()) {
-                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts);
+                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts, csarInfo);
                 throw new ByResponseFormatComponentException(validateUpdateVfGroupNamesRes.right().value());
             }
             // add groups to resource
@@ -1383,7 +1459,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             Either<Resource, ResponseFormat> createGroupsOnResource = createGroupsOnResource(resource,
                     groups);
             if (createGroupsOnResource.isRight()) {
-                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts);
+                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts, csarInfo);
                 throw new ByResponseFormatComponentException(createGroupsOnResource.right().value());
             }
             resource = createGroupsOnResource.left().value();
@@ -1397,7 +1473,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             Either<Resource, ResponseFormat> createArtifactsEither = createOrUpdateArtifacts(ArtifactOperationEnum.CREATE, createdArtifacts, yamlName,
                     csarInfo, resource, nodeTypeInfoToUpdateArtifacts, inTransaction, shouldLock);
             if (createArtifactsEither.isRight()) {
-                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts);
+                rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts, csarInfo);
                 throw new ByResponseFormatComponentException(createArtifactsEither.right().value());
             }
 
@@ -1409,7 +1485,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             return resource;
 
         } catch(ComponentException|StorageException e) {
-            rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts);
+            rollback(inTransaction, resource, createdArtifacts, nodeTypesNewCreatedArtifacts, csarInfo);
             throw e;
         } finally {
             if (!inTransaction) {
@@ -1422,10 +1498,16 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
         }
     }
 
-    private void rollback(boolean inTransaction, Resource resource, List<ArtifactDefinition> createdArtifacts, List<ArtifactDefinition> nodeTypesNewCreatedArtifacts) {
+    private void rollback(boolean inTransaction, Resource resource, List<ArtifactDefinition> createdArtifacts, List<ArtifactDefinition> nodeTypesNewCreatedArtifacts,
+                          CsarInfo csarInfo) {
         if(!inTransaction) {
             janusGraphDao.rollback();
         }
+        if (csarInfo != null && !csarInfo.getCommittedNodeTypeIds().isEmpty()) {
+            log.debug("Deleting {} node types committed by the failed import of {}", csarInfo.getCommittedNodeTypeIds().size(), resource.getName());
+            nodeTypeCreationScheduler.delete(csarInfo.getCommittedNodeTypeIds());
+            csarInfo.getCommittedNodeTypeIds().clear();
+        }
         if (isNotEmpty(createdArtifacts) && isNotEmpty(nodeTypesNewCreatedArtifacts)) {
             createdArtifacts.addAll(nodeTypesNewCreatedArtifacts);
             log.debug("Found {} newly created artifacts to deleted, the component name: {}",createdArtifacts.size(), resource.getName());
@@ -2186,12 +2268,8 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
                         instProperties, instCapabilities, instRequirements, instDeploymentArtifacts,
                         instArtifacts, instAttributes, originCompMap, instInputs, i));
 
-        associateComponentInstancePropertiesToComponent(yamlName, resource, instProperties);
-        associateComponentInstanceInputsToComponent(yamlName, resource, instInputs);
-        associateDeploymentArtifactsToInstances(user, yamlName, resource, instDeploymentArtifacts);
-        associateArtifactsToInstances(yamlName, resource, instArtifacts);
-        associateOrAddCalculatedCapReq(yamlName, resource, instCapabilities, instRequirements);
-        associateInstAttributeToComponentToInstances(yamlName, resource, instAttributes);
+        associateComponentInstancesDataToComponent(user, yamlName, resource, instProperties, instInputs, instDeploymentArtifacts,
+                instArtifacts, instCapabilities, instRequirements, instAttributes);
 
         resource = getResourceAfterCreateRelations(resource);
 
@@ -2241,72 +2319,21 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
         return parametersView;
     }
 
-    private void associateInstAttributeToComponentToInstances(String yamlName, Resource resource, Map<String, List<PropertyDefinition>> instAttributes) {
-        StorageOperationStatus addArtToInst;
-        addArtToInst = toscaOperationFacade.associateInstAttributeToComponentToInstances(instAttributes,
-                resource.getUniqueId());
-        if (addArtToInst != StorageOperationStatus.OK && addArtToInst != StorageOperationStatus.NOT_FOUND) {
-            log.debug("failed to associate attributes of resource {} status is {}", resource.getUniqueId(),
-                    addArtToInst);
-            throw new ByResponseFormatComponentException(componentsUtils
-                    .getResponseFormat(componentsUtils.convertFromStorageResponse(addArtToInst), yamlName));
-        }
-    }
-
-    private void associateOrAddCalculatedCapReq(String yamlName, Resource resource, Map<ComponentInstance, Map<String, List<CapabilityDefinition>>> instCapabilities, Map<ComponentInstance, Map<String, List<RequirementDefinition>>> instRequirements) {
-        StorageOperationStatus addArtToInst;
-        addArtToInst = toscaOperationFacade.associateOrAddCalculatedCapReq(instCapabilities, instRequirements,
-                resource.getUniqueId());
-        if (addArtToInst != StorageOperationStatus.OK && addArtToInst != StorageOperationStatus.NOT_FOUND) {
-            log.debug("failed to associate cap and req of resource {} status is {}", resource.getUniqueId(),
-                    addArtToInst);
-            throw new ByResponseFormatComponentException(componentsUtils
-                    .getResponseFormat(componentsUtils.convertFromStorageResponse(addArtToInst), yamlName));
-        }
-    }
-
-    private void associateArtifactsToInstances(String yamlName, Resource resource, Map<String, Map<String, ArtifactDefinition>> instArtifacts) {
-        StorageOperationStatus addArtToInst;
-
-        addArtToInst = toscaOperationFacade.associateArtifactsToInstances(instArtifacts, resource.getUniqueId());
-        if (addArtToInst != StorageOperationStatus.OK && addArtToInst != StorageOperationStatus.NOT_FOUND) {
-            log.debug("failed to associate artifact of resource {} status is {}", resource.getUniqueId(), addArtToInst);
-            throw new ByResponseFormatComponentException(componentsUtils
-                    .getResponseFormat(componentsUtils.convertFromStorageResponse(addArtToInst), yamlName));
-        }
-    }
-
-    private void associateDeploymentArtifactsToInstances(User user, String yamlName, Resource resource, Map<String, Map<String, ArtifactDefinition>> instDeploymentArtifacts) {
-        StorageOperationStatus addArtToInst = toscaOperationFacade
-                .associateDeploymentArtifactsToInstances(instDeploymentArtifacts, resource.getUniqueId(), user);
-        if (addArtToInst != StorageOperationStatus.OK && addArtToInst != StorageOperationStatus.NOT_FOUND) {
-            log.debug("failed to associate artifact of resource {} status is {}", resource.getUniqueId(), addArtToInst);
+    private void associateComponentInstancesDataToComponent(User user, String yamlName, Resource resource,
+                                                            Map<String, List<ComponentInstanceProperty>> instProperties,
+                                                            Map<String, List<ComponentInstanceInput>> instInputs,
+                                                            Map<String, Map<String, ArtifactDefinition>> instDeploymentArtifacts,
+                                                            Map<String, Map<String, ArtifactDefinition>> instArtifacts,
+                                                            Map<ComponentInstance, Map<String, List<CapabilityDefinition>>> instCapabilities,
+                                                            Map<ComponentInstance, Map<String, List<RequirementDefinition>>> instRequirements,
+                                                            Map<String, List<PropertyDefinition>> instAttributes) {
+        StorageOperationStatus status = toscaOperationFacade.associateComponentInstancesDataToComponent(resource.getUniqueId(),
+                instProperties, instInputs, instDeploymentArtifacts, instArtifacts, instCapabilities, instRequirements,
+                instAttributes, user);
+        if (status != StorageOperationStatus.OK && status != StorageOperationStatus.NOT_FOUND) {
+            log.debug("failed to associate the instances data of resource {} status is {}", resource.getUniqueId(), status);
             throw new ByResponseFormatComponentException(componentsUtils
-                    .getResponseFormat(componentsUtils.convertFromStorageResponse(addArtToInst), yamlName));
-        }
-    }
-
-    private void associateComponentInstanceInputsToComponent(String yamlName, Resource resource, Map<String, List<ComponentInstanceInput>> instInputs) {
-        if (MapUtils.isNotEmpty(instInputs)) {
-            Either<Map<String, List<ComponentInstanceInput>>, StorageOperationStatus> addInputToInst = toscaOperationFacade
-                    .associateComponentInstanceInputsToComponent(instInputs, resource.getUniqueId());
-            if (addInputToInst.isRight()) {
-                log.debug("failed to associate inputs value of resource {} status is {}", resource.getUniqueId(),
-                        addInputToInst.right().value());
-                throw new ByResponseFormatComponentException(componentsUtils.getResponseFormat(
-                        componentsUtils.convertFromStorageResponse(addInputToInst.right().value()), yamlName));
-            }
-        }
-    }
-
-    private void associateComponentInstancePropertiesToComponent(String yamlName, Resource resource, Map<String, List<ComponentInstanceProperty>> instProperties) {
-        Either<Map<String, List<ComponentInstanceProperty>>, StorageOperationStatus> addPropToInst = toscaOperationFacade
-                .associateComponentInstancePropertiesToComponent(instProperties, resource.getUniqueId());
-        if (addPropToInst.isRight()) {
-            log.debug("failed to associate properties of resource {} status is {}", resource.getUniqueId(),
-                    addPropToInst.right().value());
-            throw new ByResponseFormatComponentException(componentsUtils.getResponseFormat(
-                    componentsUtils.convertFromStorageResponse(addPropToInst.right().value()), yamlName));
+                    .getResponseFormat(componentsUtils.convertFromStorageResponse(status), yamlName));
         }
     }
 
@@ -4081,7 +4108,7 @@ public class ResourceBusinessLogic extends ComponentBusinessLogic {
             return dataModelResponse.left().value();
 
         } catch (ComponentException|StorageException e){
-            rollback(inTransaction, newResource, null, null);
+            rollback(inTransaction, newResource, null, null, null);
             throw e;
         }
         finally {
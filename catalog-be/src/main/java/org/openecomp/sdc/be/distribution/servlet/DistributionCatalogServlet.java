@@ -20,15 +20,20 @@
 
 package org.openecomp.sdc.be.distribution.servlet;
 
+import com.google.common.net.HttpHeaders;
 import com.jcabi.aspects.Loggable;
 import fj.data.Either;
 import io.swagger.annotations.*;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.openecomp.sdc.be.components.impl.ArtifactsBusinessLogic;
 import org.openecomp.sdc.be.components.impl.ComponentInstanceBusinessLogic;
 import org.openecomp.sdc.be.components.impl.GroupBusinessLogic;
 import org.openecomp.sdc.be.config.BeEcompErrorManager;
 import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactPayloadStream;
 import org.openecomp.sdc.be.impl.ComponentsUtils;
+import org.openecomp.sdc.be.model.ArtifactDefinition;
 import org.openecomp.sdc.be.resources.data.auditing.model.DistributionData;
 import org.openecomp.sdc.be.servlets.BeGenericServlet;
 import org.openecomp.sdc.be.user.UserBusinessLogic;
@@ -47,6 +52,8 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -65,6 +72,8 @@ public class DistributionCatalogServlet extends BeGenericServlet {
     private static final String DOWNLOAD_ARTIFACT_FAILED_WITH_EXCEPTION = "download artifact failed with exception";
 	private static final String MISSING_X_ECOMP_INSTANCE_ID_HEADER = "Missing X-ECOMP-InstanceID header";
 	private static final Logger log = Logger.getLogger(DistributionCatalogServlet.class);
+	private static final String BYTES = "bytes";
+	private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
 	private final ArtifactsBusinessLogic artifactsBusinessLogic;
 
 	  @Autowired
@@ -99,6 +108,7 @@ public class DistributionCatalogServlet extends BeGenericServlet {
     @ApiOperation(value = "Download service artifact", httpMethod = "GET", notes = "Returns downloaded artifact", response = String.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The artifact is found and streamed.", response = String.class),
+            @ApiResponse(code = 206, message = "The requested range of the artifact is streamed.", response = String.class),
             @ApiResponse(code = 400, message = "Missing  'X-ECOMP-InstanceID'  HTTP header - POL5001"),
             @ApiResponse(code = 401, message = "ECOMP component  should authenticate itself  and  to  re-send  again  HTTP  request  with its Basic  Authentication credentials - POL5002"),
             @ApiResponse(code = 403, message = "ECOMP component is not authorized - POL5003"),
@@ -106,6 +116,7 @@ public class DistributionCatalogServlet extends BeGenericServlet {
             @ApiResponse(code = 404, message = "Specified Service Version is  not  found - SVC4504"),
             @ApiResponse(code = 404, message = "Specified artifact is  not found - SVC4505"),
             @ApiResponse(code = 405, message = "Method  Not Allowed: Invalid HTTP method type used (PUT,DELETE,POST will be rejected) - POL4050"),
+            @ApiResponse(code = 416, message = "The requested range is not satisfiable"),
             @ApiResponse(code = 500, message = "The GET request failed either due to internal SDC problem or Cambria Service failure. ECOMP Component should continue the attempts to get the needed information - POL5000")})
     public Response downloadServiceArtifact(
             @ApiParam(value = "X-ECOMP-RequestID header", required = false)@HeaderParam(value = Constants.X_ECOMP_REQUEST_ID_HEADER) String requestId,
@@ -126,6 +137,11 @@ public class DistributionCatalogServlet extends BeGenericServlet {
         }
 
         try {
+            String range = request.getHeader(HttpHeaders.RANGE);
+            if (isSingleByteRange(range)) {
+                return buildRangeResponse(artifactsBusinessLogic.findServiceArtifactByNames(serviceName, serviceVersion, artifactName), range, instanceIdHeader,
+                        requestURI, artifactName);
+            }
             Either<byte[], ResponseFormat> downloadRsrcArtifactEither = artifactsBusinessLogic
                 .downloadServiceArtifactByNames(serviceName, serviceVersion, artifactName);
             if (downloadRsrcArtifactEither.isRight()) {
@@ -171,6 +187,7 @@ public class DistributionCatalogServlet extends BeGenericServlet {
     @ApiOperation(value = "Download resource artifact", httpMethod = "GET", notes = "Returns downloaded artifact", response = String.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The artifact is found and streamed.", response = String.class),
+            @ApiResponse(code = 206, message = "The requested range of the artifact is streamed.", response = String.class),
             @ApiResponse(code = 400, message = "Missing  'X-ECOMP-InstanceID'  HTTP header - POL5001"),
             @ApiResponse(code = 401, message = "ECOMP component  should authenticate itself  and  to  re-send  again  HTTP  request  with its Basic  Authentication credentials - POL5002"),
             @ApiResponse(code = 403, message = "ECOMP component is not authorized - POL5003"),
@@ -179,6 +196,7 @@ public class DistributionCatalogServlet extends BeGenericServlet {
             @ApiResponse(code = 404, message = "Specified Service Version is  not  found - SVC4504"),
             @ApiResponse(code = 404, message = "Specified artifact is  not found - SVC4505"),
             @ApiResponse(code = 405, message = "Method  Not Allowed: Invalid HTTP method type used (PUT,DELETE,POST will be rejected) - POL4050"),
+            @ApiResponse(code = 416, message = "The requested range is not satisfiable"),
             @ApiResponse(code = 500, message = "The GET request failed either due to internal SDC problem or Cambria Service failure. ECOMP Component should continue the attempts to get the needed information - POL5000")})
     public Response downloadResourceArtifact(
             @ApiParam(value = "X-ECOMP-RequestID header", required = false)@HeaderParam(value = Constants.X_ECOMP_REQUEST_ID_HEADER) String requestId,
@@ -202,6 +220,11 @@ public class DistributionCatalogServlet extends BeGenericServlet {
         }
 
         try {
+            String range = request.getHeader(HttpHeaders.RANGE);
+            if (isSingleByteRange(range)) {
+                return buildRangeResponse(artifactsBusinessLogic.findRsrcArtifactByNames(serviceName, serviceVersion, resourceName, resourceVersion, artifactName), range, instanceIdHeader,
+                        requestURI, artifactName);
+            }
             Either<byte[], ResponseFormat> downloadRsrcArtifactEither = artifactsBusinessLogic
                 .downloadRsrcArtifactByNames(serviceName, serviceVersion, resourceName, resourceVersion, artifactName);
             if (downloadRsrcArtifactEither.isRight()) {
@@ -246,6 +269,7 @@ public class DistributionCatalogServlet extends BeGenericServlet {
     @ApiOperation(value = "Download resource instance artifact", httpMethod = "GET", notes = "Returns downloaded artifact", response = String.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The artifact is found and streamed.", response = String.class),
+            @ApiResponse(code = 206, message = "The requested range of the artifact is streamed.", response = String.class),
             @ApiResponse(code = 400, message = "Missing  'X-ECOMP-InstanceID'  HTTP header - POL5001"),
             @ApiResponse(code = 401, message = "ECOMP component  should authenticate itself  and  to  re-send  again  HTTP  request  with its Basic  Authentication credentials - POL5002"),
             @ApiResponse(code = 403, message = "ECOMP component is not authorized - POL5003"),
@@ -254,6 +278,7 @@ public class DistributionCatalogServlet extends BeGenericServlet {
             @ApiResponse(code = 404, message = "Specified Service Version is  not  found - SVC4504"),
             @ApiResponse(code = 404, message = "Specified artifact is  not found - SVC4505"),
             @ApiResponse(code = 405, message = "Method  Not Allowed: Invalid HTTP method type used (PUT,DELETE,POST will be rejected) - POL4050"),
+            @ApiResponse(code = 416, message = "The requested range is not satisfiable"),
             @ApiResponse(code = 500, message = "The GET request failed either due to internal SDC problem or Cambria Service failure. ECOMP Component should continue the attempts to get the needed information - POL5000")})
     public Response downloadResourceInstanceArtifactByName(
             @ApiParam(value = "X-ECOMP-RequestID header", required = false)@HeaderParam(value = Constants.X_ECOMP_REQUEST_ID_HEADER) String requestId,
@@ -276,6 +301,11 @@ public class DistributionCatalogServlet extends BeGenericServlet {
         }
 
         try {
+            String range = request.getHeader(HttpHeaders.RANGE);
+            if (isSingleByteRange(range)) {
+                return buildRangeResponse(artifactsBusinessLogic.findRsrcInstArtifactByNames(serviceName, serviceVersion, resourceInstanceName, artifactName), range, instanceIdHeader,
+                        requestURI, artifactName);
+            }
             Either<byte[], ResponseFormat> downloadRsrcArtifactEither = artifactsBusinessLogic
                 .downloadRsrcInstArtifactByNames(serviceName, serviceVersion, resourceInstanceName, artifactName);
             if (downloadRsrcArtifactEither.isRight()) {
@@ -300,4 +330,75 @@ public class DistributionCatalogServlet extends BeGenericServlet {
             return buildErrorResponse(getComponentsUtils().getResponseFormat(ActionStatus.GENERAL_ERROR));
         }
     }
+
+    /**
+     * Streams the requested byte range of the artifact. The payload of a chunked artifact is read from the storage
+     * only for the chunks covering the range, the payload of an artifact stored in a single blob is loaded whole.
+     */
+    private Response buildRangeResponse(Either<ArtifactDefinition, ResponseFormat> artifact, String range,
+            String instanceIdHeader, String requestURI, String artifactName) {
+        Either<ArtifactPayloadStream, ResponseFormat> payload = artifact.left().bind(artifactsBusinessLogic::downloadArtifactStream);
+        if (payload.isRight()) {
+            ResponseFormat responseFormat = payload.right().value();
+            getComponentsUtils().auditDistributionDownload(responseFormat, new DistributionData(instanceIdHeader, requestURI));
+            return buildErrorResponse(responseFormat);
+        }
+        ArtifactPayloadStream stream = payload.left().value();
+        long size = stream.getSize();
+        ImmutablePair<Long, Long> bounds = parseRange(range, size);
+        if (bounds.getLeft() > bounds.getRight()) {
+            log.debug("Range {} is not satisfiable for artifact {} of size {}", range, artifactName, size);
+            stream.close();
+            ResponseFormat responseFormat = getComponentsUtils().getResponseFormat(ActionStatus.ARTIFACT_RANGE_NOT_SATISFIABLE, range, artifactName);
+            getComponentsUtils().auditDistributionDownload(responseFormat, new DistributionData(instanceIdHeader, requestURI));
+            return Response.fromResponse(buildErrorResponse(responseFormat))
+                    .header(HttpHeaders.CONTENT_RANGE, BYTES + " */" + size)
+                    .build();
+        }
+        stream.skip(bounds.getLeft());
+        long length = bounds.getRight() - bounds.getLeft() + 1;
+        Map<String, String> headers = new HashMap<>();
+        headers.put(Constants.CONTENT_DISPOSITION_HEADER, getContentDispositionValue(artifactName));
+        headers.put(HttpHeaders.ACCEPT_RANGES, BYTES);
+        headers.put(HttpHeaders.CONTENT_RANGE, BYTES + " " + bounds.getLeft() + "-" + bounds.getRight() + "/" + size);
+        headers.put(HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
+        ResponseFormat responseFormat = getComponentsUtils().getResponseFormat(ActionStatus.OK);
+        getComponentsUtils().auditDistributionDownload(responseFormat, new DistributionData(instanceIdHeader, requestURI));
+        Response response = buildOkResponse(responseFormat, new BoundedInputStream(stream, length), headers);
+        return Response.fromResponse(response).status(Response.Status.PARTIAL_CONTENT).build();
+    }
+
+    /**
+     * @return true if the header is a single byte range. Any other range header is ignored and the artifact is
+     * downloaded as if there was none.
+     */
+    static boolean isSingleByteRange(String range) {
+        return range != null && parseRange(range, Long.MAX_VALUE) != null;
+    }
+
+    /**
+     * @return the first and the last byte of a single byte range, the first is after the last if the range is not
+     * satisfiable. null if the header is not a single byte range.
+     */
+    static ImmutablePair<Long, Long> parseRange(String range, long size) {
+        Matcher matcher = BYTE_RANGE.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            if (matcher.group(1).isEmpty()) {
+                long suffix = Long.parseLong(matcher.group(2));
+                return ImmutablePair.of(Math.max(0, size - suffix), size - 1);
+            }
+            long first = Long.parseLong(matcher.group(1));
+            long last = matcher.group(2).isEmpty() ? Long.MAX_VALUE : Long.parseLong(matcher.group(2));
+            if (last < first) {
+                return null;
+            }
+            return ImmutablePair.of(first, Math.min(last, size - 1));
+        } catch (NumberFormatException e) {
+            log.debug("Invalid range {}", range, e);
+            return null;
+        }
+    }
 }
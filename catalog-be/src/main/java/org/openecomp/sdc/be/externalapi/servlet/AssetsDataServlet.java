@@ -35,6 +35,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.glassfish.jersey.server.CloseableService;
 import org.openecomp.sdc.be.components.impl.ComponentBusinessLogic;
 import org.openecomp.sdc.be.components.impl.ComponentBusinessLogicProvider;
 import org.openecomp.sdc.be.components.impl.ComponentInstanceBusinessLogic;
@@ -55,10 +56,10 @@ import org.openecomp.sdc.be.resources.data.auditing.model.DistributionData;
 import org.openecomp.sdc.be.resources.data.auditing.model.ResourceCommonInfo;
 import org.openecomp.sdc.be.servlets.AbstractValidationsServlet;
 import org.openecomp.sdc.be.servlets.RepresentationUtils;
+import org.openecomp.sdc.be.tosca.CsarPayload;
 import org.openecomp.sdc.be.user.UserBusinessLogic;
 import org.openecomp.sdc.common.api.Constants;
 import org.openecomp.sdc.common.log.wrappers.Logger;
-import org.openecomp.sdc.common.util.GeneralUtility;
 import org.openecomp.sdc.exception.ResponseFormat;
 
 import javax.inject.Singleton;
@@ -66,8 +67,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
@@ -334,7 +334,8 @@ public class AssetsDataServlet extends AbstractValidationsServlet {
             @ApiParam(value = "Determines the format of the body of the response", required = false)@HeaderParam(value = Constants.ACCEPT_HEADER) String accept,
             @ApiParam(value = "The username and password", required = true)@HeaderParam(value = Constants.AUTHORIZATION_HEADER) String authorization,
             @ApiParam(value = "The requested asset type", required = true, allowableValues = "resources, services")@PathParam("assetType") final String assetType,
-            @ApiParam(value = "The requested asset uuid", required = true)@PathParam("uuid") final String uuid) {
+            @ApiParam(value = "The requested asset uuid", required = true)@PathParam("uuid") final String uuid,
+            @Context CloseableService closeableService) {
 
         String url = request.getRequestURI();
         log.debug("Start handle request of {} {}", request.getMethod(), url);
@@ -358,23 +359,24 @@ public class AssetsDataServlet extends AbstractValidationsServlet {
             ComponentBusinessLogic componentBL = componentBusinessLogicProvider.getInstance(componentType);
 
 
-            Either<ImmutablePair<String, byte[]>, ResponseFormat> csarArtifact = componentBL.getToscaModelByComponentUuid(componentType, uuid, resourceCommonInfo);
+            Either<ImmutablePair<String, CsarPayload>, ResponseFormat> csarArtifact = componentBL.getToscaModelByComponentUuid(componentType, uuid, resourceCommonInfo);
             if (csarArtifact.isRight()) {
                 responseFormat = csarArtifact.right().value();
                 getComponentsUtils().auditExternalGetAsset(responseFormat, auditingActionEnum, distributionData,
                         resourceCommonInfo, requestId, uuid);
                 response = buildErrorResponse(responseFormat);
             } else {
-                byte[] value = csarArtifact.left().value().getRight();
-                InputStream is = new ByteArrayInputStream(value);
-                String contenetMD5 = GeneralUtility.calculateMD5Base64EncodedByByteArray(value);
+                CsarPayload csarPayload = csarArtifact.left().value().getRight();
+                // the payload is released once the request is done, even if the response is never written
+                closeableService.add(csarPayload);
+                StreamingOutput stream = csarPayload::writeTo;
                 Map<String, String> headers = new HashMap<>();
                 headers.put(Constants.CONTENT_DISPOSITION_HEADER, getContentDispositionValue(csarArtifact.left().value().getLeft()));
-                headers.put(Constants.MD5_HEADER, contenetMD5);
+                headers.put(Constants.MD5_HEADER, csarPayload.getMd5());
                 responseFormat = getComponentsUtils().getResponseFormat(ActionStatus.OK);
                 getComponentsUtils().auditExternalGetAsset(responseFormat, auditingActionEnum, distributionData,
                         resourceCommonInfo, requestId, uuid);
-                response = buildOkResponse(responseFormat, is, headers);
+                response = buildOkResponse(responseFormat, stream, headers);
             }
             return response;
 
@@ -139,6 +139,7 @@ public class BeServletFilter implements ContainerRequestFilter, ContainerRespons
             log.debug("Error during response filter: {} ", e);
         } finally {
             // Cleaning up
+            endTransactionScope();
             MDC.clear();
             ThreadLocalsHolder.cleanup();
         }
@@ -161,6 +162,17 @@ public class BeServletFilter implements ContainerRequestFilter, ContainerRespons
         }
     }
 
+    private void endTransactionScope() {
+        try {
+            HealingJanusGraphDao janusGraphDao = getJanusGraphDao();
+            if (janusGraphDao != null) {
+                janusGraphDao.endTransactionScope();
+            }
+        } catch (RuntimeException e) {
+            log.debug("Failed to end the transaction scope of the request", e);
+        }
+    }
+
     private String processMdcFields(ContainerRequestContext requestContext) {
         // UserId for logging
         String userId = requestContext.getHeaderString(Constants.USER_ID_HEADER);
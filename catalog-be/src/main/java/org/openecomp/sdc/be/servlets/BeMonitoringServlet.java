@@ -43,6 +43,7 @@ import org.openecomp.sdc.common.api.HealthCheckInfo;
 import org.openecomp.sdc.common.api.HealthCheckWrapper;
 import org.openecomp.sdc.common.log.wrappers.Logger;
 import org.openecomp.sdc.common.monitoring.MonitoringEvent;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
 import org.openecomp.sdc.exception.ResponseFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -130,6 +131,22 @@ public class BeMonitoringServlet extends BeGenericServlet {
         }
     }
 
+    @GET
+    @Path("/monitoring/metrics")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Return in-process performance metrics of the BE (caches, queues, timings)", notes = "return BE performance metrics", response = String.class)
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "return BE performance metrics"), @ApiResponse(code = 500, message = "Internal Error") })
+    public Response getPerformanceMetrics(@Context final HttpServletRequest request) {
+        try {
+            String metricsStr = prettyGson.toJson(PerformanceMetricsRegistry.getInstance().getMetrics());
+            return buildOkResponse(getComponentsUtils().getResponseFormat(ActionStatus.OK), metricsStr);
+        } catch (Exception e) {
+            log.debug("BE performance metrics unexpected exception", e);
+            return buildErrorResponse(getComponentsUtils().getResponseFormat(ActionStatus.GENERAL_ERROR));
+        }
+    }
+
     @GET
     @Path("/version")
     @Consumes(MediaType.APPLICATION_JSON)
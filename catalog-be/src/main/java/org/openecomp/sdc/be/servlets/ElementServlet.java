@@ -38,7 +38,7 @@ import org.openecomp.sdc.be.impl.ComponentsUtils;
 import org.openecomp.sdc.be.info.ArtifactTypesInfo;
 import org.openecomp.sdc.be.model.*;
 import org.openecomp.sdc.be.model.Tag;
-import org.openecomp.sdc.be.model.catalog.CatalogComponent;
+import org.openecomp.sdc.be.model.catalog.CatalogSnapshot;
 import org.openecomp.sdc.be.model.category.CategoryDefinition;
 import org.openecomp.sdc.be.model.category.GroupingDefinition;
 import org.openecomp.sdc.be.model.category.SubCategoryDefinition;
@@ -53,12 +53,15 @@ import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Path("/v1/")
 
@@ -541,15 +544,24 @@ public class ElementServlet extends BeGenericServlet {
             String url = request.getMethod() + " " + request.getRequestURI();
             log.debug("Start handle request of {}", url);
 
-			Either<Map<String, List<CatalogComponent>>, ResponseFormat> catalogData = elementBusinessLogic
-          .getCatalogComponents(userId, excludeTypes);
+            Either<CatalogSnapshot, ResponseFormat> catalogData = elementBusinessLogic
+          .getCatalogSnapshot(userId, excludeTypes);
 
             if (catalogData.isRight()) {
                 log.debug("failed to get catalog data");
                 return buildErrorResponse(catalogData.right().value());
             }
-            Object data = RepresentationUtils.toRepresentation(catalogData.left().value());
-            res = buildOkResponse(getComponentsUtils().getResponseFormat(ActionStatus.OK), data);
+            CatalogSnapshot snapshot = catalogData.left().value();
+            Map<String, String> headers = new HashMap<>();
+            if (snapshot.getVersion() != null) {
+                EntityTag entityTag = buildEntityTag(snapshot.getVersion(), excludeTypes);
+                if (isNoneMatchFailed(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag)) {
+                    return Response.notModified(entityTag).build();
+                }
+                headers.put(HttpHeaders.ETAG, entityTag.toString());
+            }
+            Object data = RepresentationUtils.toRepresentation(elementBusinessLogic.groupByComponentType(snapshot.getComponents()));
+            res = buildOkResponse(getComponentsUtils().getResponseFormat(ActionStatus.OK), data, headers);
 
         } catch (Exception e) {
             BeEcompErrorManager.getInstance().logBeRestApiGeneralError("Get Catalog Components");
@@ -559,6 +571,60 @@ public class ElementServlet extends BeGenericServlet {
         return res;
     }
 
+    // retrieve the catalog resources and services changed since a version returned by /screen
+    @GET
+    @Path("/screen/changes")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Retrieve catalog changes", httpMethod = "GET", notes = "Retrieve catalog resources and services updated or removed since the given catalog version", response = Map.class)
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "Returns catalog changes Ok"), @ApiResponse(code = 404, message = "User not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error") })
+    public Response getCatalogChanges(@Context final HttpServletRequest request, @HeaderParam(value = Constants.USER_ID_HEADER) String userId,
+            @QueryParam("since") String since, @QueryParam("excludeTypes") List<OriginTypeEnum> excludeTypes) {
+
+        Response res = null;
+        try {
+            String url = request.getMethod() + " " + request.getRequestURI();
+            log.debug("Start handle request of {}", url);
+
+            Either<Map<String, Object>, ResponseFormat> catalogChanges = elementBusinessLogic.getCatalogChanges(userId, since, excludeTypes);
+            if (catalogChanges.isRight()) {
+                log.debug("failed to get catalog changes");
+                return buildErrorResponse(catalogChanges.right().value());
+            }
+            Object data = RepresentationUtils.toRepresentation(catalogChanges.left().value());
+            res = buildOkResponse(getComponentsUtils().getResponseFormat(ActionStatus.OK), data);
+
+        } catch (Exception e) {
+            BeEcompErrorManager.getInstance().logBeRestApiGeneralError("Get Catalog Changes");
+            log.debug("Getting catalog changes failed with exception", e);
+            res = buildErrorResponse(getComponentsUtils().getResponseFormat(ActionStatus.GENERAL_ERROR));
+        }
+        return res;
+    }
+
+    // the same snapshot version filtered by other types is another representation
+    private EntityTag buildEntityTag(String version, List<OriginTypeEnum> excludeTypes) {
+        if (excludeTypes == null || excludeTypes.isEmpty()) {
+            return new EntityTag(version);
+        }
+        String types = excludeTypes.stream().map(Enum::name).distinct().sorted().collect(Collectors.joining(","));
+        return new EntityTag(version + "-" + Integer.toHexString(types.hashCode()));
+    }
+
+    private boolean isNoneMatchFailed(String ifNoneMatch, EntityTag entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if ("*".equals(value) || entityTag.toString().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @DELETE
     @Path("/inactiveComponents/{componentType}")
     public Response deleteMarkedResources(@PathParam("componentType") final String componentType, @Context final HttpServletRequest request) {
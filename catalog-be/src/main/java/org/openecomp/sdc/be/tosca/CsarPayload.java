@@ -0,0 +1,143 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.tosca;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.util.GeneralUtility;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+/**
+ * Payload of a CSAR to be downloaded.
+ * <p>
+ * A generated CSAR is written to a spool which is kept in memory up to a threshold and moved to a temporary file
+ * beyond it, so a download holds at most the threshold in heap regardless of the size of the CSAR. The MD5 is
+ * calculated while the CSAR is written. The spool is closed and its temporary file deleted on {@link #close()}, which
+ * the servlets serving the payload register to run once the response is done.
+ */
+public class CsarPayload implements Closeable {
+
+    private static final Logger log = Logger.getLogger(CsarPayload.class);
+    static final int DEFAULT_MEMORY_THRESHOLD = 8 * 1024 * 1024;
+
+    private final byte[] data;
+    private final DeferredFileOutputStream spool;
+    private final MessageDigest digest;
+    private OutputStream outputStream;
+    private String md5;
+
+    private CsarPayload(byte[] data) {
+        this.data = data;
+        this.spool = null;
+        this.digest = null;
+        this.md5 = GeneralUtility.calculateMD5Base64EncodedByByteArray(data);
+    }
+
+    private CsarPayload(int memoryThreshold) {
+        this.data = null;
+        this.spool = new DeferredFileOutputStream(memoryThreshold, "csar", ".zip", null);
+        this.digest = DigestUtils.getMd5Digest();
+    }
+
+    public static CsarPayload of(byte[] data) {
+        return new CsarPayload(data);
+    }
+
+    static CsarPayload spooled(int memoryThreshold) {
+        return new CsarPayload(memoryThreshold);
+    }
+
+    OutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new DigestOutputStream(spool, digest);
+        }
+        return outputStream;
+    }
+
+    /**
+     * Called once the whole CSAR was written to the {@link #getOutputStream() output stream}.
+     */
+    void complete() throws IOException {
+        getOutputStream().close();
+        md5 = new String(Base64.encodeBase64(Hex.encodeHexString(digest.digest()).getBytes()));
+    }
+
+    /**
+     * @return the MD5 of the payload, in the format of {@link GeneralUtility#calculateMD5Base64EncodedByByteArray(byte[])}
+     */
+    public String getMd5() {
+        return md5;
+    }
+
+    public long getSize() {
+        return data != null ? data.length : spool.getByteCount();
+    }
+
+    public boolean isInMemory() {
+        return data != null || spool.isInMemory();
+    }
+
+    File getSpoolFile() {
+        return spool != null ? spool.getFile() : null;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        if (data != null) {
+            out.write(data);
+        } else {
+            spool.writeTo(out);
+        }
+    }
+
+    /**
+     * Closes the spool and deletes its temporary file, may be called more than once.
+     */
+    @Override
+    public void close() {
+        if (spool == null) {
+            return;
+        }
+        try {
+            // the spool is still open if the CSAR was not completed
+            (outputStream != null ? outputStream : spool).close();
+        } catch (IOException e) {
+            log.debug("Failed to close the CSAR spool", e);
+        }
+        File file = getSpoolFile();
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                log.debug("Failed to delete the CSAR spool file {}", file, e);
+            }
+        }
+    }
+}
@@ -25,15 +25,18 @@ import fj.data.Either;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang.WordUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Triple;
 import org.openecomp.sdc.be.components.impl.ImportUtils;
+import org.openecomp.sdc.be.config.Configuration.ArtifactPrefetchConfig;
 import org.openecomp.sdc.be.config.Configuration.ArtifactTypeConfig;
 import org.openecomp.sdc.be.config.ConfigurationManager;
 import org.openecomp.sdc.be.dao.api.ActionStatus;
 import org.openecomp.sdc.be.dao.cassandra.ArtifactCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactPrefetchPipeline;
 import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
 import org.openecomp.sdc.be.dao.cassandra.SdcSchemaFilesCassandraDao;
 import org.openecomp.sdc.be.datatypes.enums.ComponentTypeEnum;
@@ -58,10 +61,10 @@ import org.openecomp.sdc.common.util.ValidationUtils;
 import org.openecomp.sdc.exception.ResponseFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
@@ -125,6 +128,8 @@ public class CsarUtils {
 			"([\\w\\_\\-\\.\\s]+)";
 
 	public static final String ARTIFACT_CREATED_FROM_CSAR = "Artifact created from csar";
+	private static final int DEFAULT_PREFETCH_MAX_IN_FLIGHT = 16;
+	private static final int DEFAULT_PREFETCH_MAX_IN_FLIGHT_BYTES_IN_MB = 64;
     private static final String BLOCK_0_TEMPLATE = "SDC-TOSCA-Meta-File-Version: %s\nSDC-TOSCA-Definitions-Version: %s\n";
 
 	public CsarUtils() {
@@ -154,33 +159,96 @@ public class CsarUtils {
 
 	private Either<byte[], ResponseFormat> createCsar(Component component, boolean getFromCS,
 			boolean isInCertificationRequest, boolean mockGenerator) {
-		final String createdBy = component.getCreatorFullName();
+        Either<byte[], ResponseFormat> generateCsarZipResponse = generateCsarZip(createCsarBlock0Bytes(),
+				createToscaBlock0Bytes(component), component, getFromCS, isInCertificationRequest);
 
-		String fileName;
-		Map<String, ArtifactDefinition> toscaArtifacts = component.getToscaArtifacts();
-		ArtifactDefinition artifactDefinition = toscaArtifacts.get(ToscaExportHandler.ASSET_TOSCA_TEMPLATE);
-		fileName = artifactDefinition.getArtifactName();
+		if (generateCsarZipResponse.isRight()) {
+			return Either.right(generateCsarZipResponse.right().value());
+		}
+
+		return Either.left(generateCsarZipResponse.left().value());
+	}
+
+	/**
+	 * Writes the CSAR of the component to the given stream instead of building it in memory. The entries are written
+	 * one by one, each artifact payload is read from Cassandra right before it is written. The stream is not closed.
+	 *
+	 * @param component
+	 * @param getFromCS
+	 * @param isInCertificationRequest
+	 * @param out
+	 * @return
+	 */
+	public Either<Boolean, ResponseFormat> writeCsar(Component component, boolean getFromCS,
+			boolean isInCertificationRequest, OutputStream out) {
+		return writeCsarZip(createCsarBlock0Bytes(), createToscaBlock0Bytes(component), component, getFromCS,
+				isInCertificationRequest, out);
+	}
+
+	/**
+	 * Generates the CSAR of the component into a {@link CsarPayload} which moves to a temporary file once it grows
+	 * beyond the memory threshold. The caller must close the returned payload.
+	 *
+	 * @param component
+	 * @param getFromCS
+	 * @param isInCertificationRequest
+	 * @return
+	 */
+	public Either<CsarPayload, ResponseFormat> createSpooledCsar(Component component, boolean getFromCS,
+			boolean isInCertificationRequest) {
+		CsarPayload csarPayload = CsarPayload.spooled(CsarPayload.DEFAULT_MEMORY_THRESHOLD);
+		boolean completed = false;
+		try {
+			Either<Boolean, ResponseFormat> writeCsar = writeCsar(component, getFromCS, isInCertificationRequest,
+					csarPayload.getOutputStream());
+			if (writeCsar.isRight()) {
+				return Either.right(writeCsar.right().value());
+			}
+			csarPayload.complete();
+			completed = true;
+			return Either.left(csarPayload);
+		} catch (IOException e) {
+			log.debug("Failed to spool CSAR for component {}", component.getUniqueId(), e);
+			return Either.right(componentsUtils.getResponseFormat(ActionStatus.GENERAL_ERROR));
+		} finally {
+			if (!completed) {
+				csarPayload.close();
+			}
+		}
+	}
 
+	private byte[] createCsarBlock0Bytes() {
 		String toscaConformanceLevel = ConfigurationManager.getConfigurationManager().getConfiguration()
 				.getToscaConformanceLevel();
-		String csarBlock0 = createCsarBlock0(CSAR_META_VERSION, toscaConformanceLevel);
-		byte[] csarBlock0Byte = csarBlock0.getBytes();
+		return createCsarBlock0(CSAR_META_VERSION, toscaConformanceLevel).getBytes();
+	}
 
-		final String toscaBlock0 = createToscaBlock0(TOSCA_META_VERSION, CSAR_VERSION, createdBy, fileName);
-		byte[] toscaBlock0Byte = toscaBlock0.getBytes();
+	private byte[] createToscaBlock0Bytes(Component component) {
+		final String createdBy = component.getCreatorFullName();
+		Map<String, ArtifactDefinition> toscaArtifacts = component.getToscaArtifacts();
+		ArtifactDefinition artifactDefinition = toscaArtifacts.get(ToscaExportHandler.ASSET_TOSCA_TEMPLATE);
+		String fileName = artifactDefinition.getArtifactName();
+		return createToscaBlock0(TOSCA_META_VERSION, CSAR_VERSION, createdBy, fileName).getBytes();
+	}
 
-        Either<byte[], ResponseFormat> generateCsarZipResponse = generateCsarZip(csarBlock0Byte, toscaBlock0Byte, component, getFromCS, isInCertificationRequest);
+    private Either<byte[], ResponseFormat> generateCsarZip(byte[] csarBlock0Byte, byte[] toscaBlock0Byte, Component component, boolean getFromCS, boolean isInCertificationRequest) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Either<Boolean, ResponseFormat> writeCsarZip = writeCsarZip(csarBlock0Byte, toscaBlock0Byte, component, getFromCS, isInCertificationRequest, out);
+            if (writeCsarZip.isRight()) {
+                return Either.right(writeCsarZip.right().value());
+            }
+			return Either.left(out.toByteArray());
+		} catch (IOException e) {
+			log.debug("Failed with IOexception to create CSAR zip for component {}", component.getUniqueId(), e);
 
-		if (generateCsarZipResponse.isRight()) {
-			return Either.right(generateCsarZipResponse.right().value());
+			ResponseFormat responseFormat = componentsUtils.getResponseFormat(ActionStatus.GENERAL_ERROR);
+			return Either.right(responseFormat);
 		}
-
-		return Either.left(generateCsarZipResponse.left().value());
 	}
 
-    private Either<byte[], ResponseFormat> generateCsarZip(byte[] csarBlock0Byte, byte[] toscaBlock0Byte, Component component, boolean getFromCS, boolean isInCertificationRequest) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             ZipOutputStream zip = new ZipOutputStream(out)) {
+    private Either<Boolean, ResponseFormat> writeCsarZip(byte[] csarBlock0Byte, byte[] toscaBlock0Byte, Component component, boolean getFromCS, boolean isInCertificationRequest, OutputStream out) {
+        // the zip is closed to release its deflater, the target stream is left open
+        try (ZipOutputStream zip = new ZipOutputStream(new CloseShieldOutputStream(out))) {
 			zip.putNextEntry(new ZipEntry(CSAR_META_PATH_FILE_NAME));
 			zip.write(csarBlock0Byte);
 			zip.putNextEntry(new ZipEntry(TOSCA_META_PATH_FILE_NAME));
@@ -192,9 +260,8 @@ public class CsarUtils {
             }
 
 			zip.finish();
-			byte[] byteArray = out.toByteArray();
 
-			return Either.left(byteArray);
+			return Either.left(true);
 		} catch (IOException | NullPointerException e) {
 			log.debug("Failed with IOexception to create CSAR zip for component {}", component.getUniqueId(), e);
 
@@ -206,9 +273,7 @@ public class CsarUtils {
     private Either<ZipOutputStream, ResponseFormat> populateZip(Component component, boolean getFromCS, ZipOutputStream zip, boolean isInCertificationRequest) throws IOException {
 
 		LifecycleStateEnum lifecycleState = component.getLifecycleState();
-		String componentYaml;
 		Either<ToscaRepresentation, ToscaError> exportComponent;
-		byte[] mainYaml;
 		// <file name, cassandraId, component>
 		List<Triple<String, String, Component>> dependencies = null;
 
@@ -226,10 +291,13 @@ public class CsarUtils {
 				ResponseFormat responseFormat = componentsUtils.getResponseFormat(fromCassandra.right().value());
 				return Either.right(responseFormat);
 			}
-			mainYaml = fromCassandra.left().value();
+			zip.putNextEntry(new ZipEntry(DEFINITIONS_PATH + fileName));
+			zip.write(fromCassandra.left().value());
 
 		} else {
-			exportComponent = toscaExportUtils.exportComponent(component);
+			// the template is emitted straight into its zip entry
+			zip.putNextEntry(new ZipEntry(DEFINITIONS_PATH + fileName));
+			exportComponent = toscaExportUtils.exportComponent(component, zip);
 			if (exportComponent.isRight()) {
 				log.debug("exportComponent failed", exportComponent.right().value());
 				ActionStatus convertedFromToscaError = componentsUtils
@@ -237,14 +305,9 @@ public class CsarUtils {
 				ResponseFormat responseFormat = componentsUtils.getResponseFormat(convertedFromToscaError);
 				return Either.right(responseFormat);
 			}
-			ToscaRepresentation exportResult = exportComponent.left().value();
-			componentYaml = exportResult.getMainYaml();
-			mainYaml = componentYaml.getBytes();
-			dependencies = exportResult.getDependencies();
+			dependencies = exportComponent.left().value().getDependencies();
 		}
 
-		zip.putNextEntry(new ZipEntry(DEFINITIONS_PATH + fileName));
-		zip.write(mainYaml);
 		// US798487 - Abstraction of complex types
 		if (!ModelConverter.isAtomicComponent(component)) {
 			log.debug("Component {} is complex - generating abstract type for it..", component.getName());
@@ -346,27 +409,19 @@ public class CsarUtils {
 
 		log.debug("Starting copy from Schema file zip to CSAR zip");
 
-		try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(schemaFileZip));
-				ByteArrayOutputStream out = new ByteArrayOutputStream();
-             BufferedOutputStream bos = new BufferedOutputStream(out, initSize)) {
+		// every entry is copied straight to the CSAR through a fixed size buffer
+		try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(schemaFileZip))) {
 
             ZipEntry entry;
+			byte[] entryData = new byte[initSize];
 			while ((entry = zipStream.getNextEntry()) != null) {
 
-				String entryName = entry.getName();
-				int readSize = initSize;
-				byte[] entryData = new byte[initSize];
-
-				while ((readSize = zipStream.read(entryData, 0, readSize)) != -1) {
-					bos.write(entryData, 0, readSize);
+				zip.putNextEntry(new ZipEntry(DEFINITIONS_PATH + entry.getName()));
+				int readSize;
+				while ((readSize = zipStream.read(entryData, 0, initSize)) != -1) {
+					zip.write(entryData, 0, readSize);
 				}
-
-				bos.flush();
-				out.flush();
-				zip.putNextEntry(new ZipEntry(DEFINITIONS_PATH + entryName));
-				zip.write(out.toByteArray());
 				zip.flush();
-				out.reset();
 			}
 		} catch (IOException | NullPointerException e) {
 			log.error("Error while writing the SDC schema file to the CSAR {}", e);
@@ -825,10 +880,30 @@ public class CsarUtils {
 	private Either<ZipOutputStream, ResponseFormat> writeAllFilesToCsar(Component mainComponent,
 			CsarDefinition csarDefinition, ZipOutputStream zipstream, boolean isInCertificationRequest)
 			throws IOException {
+		ArtifactPrefetchPipeline<ArtifactZipEntry> pipeline = createArtifactPipeline(zipstream);
+		boolean finished = false;
+		try {
+			Either<ZipOutputStream, ResponseFormat> result = writeAllFilesToCsar(mainComponent, csarDefinition,
+					zipstream, isInCertificationRequest, pipeline);
+			if (result.isLeft()) {
+				pipeline.finish();
+				finished = true;
+			}
+			return result;
+		} finally {
+			if (!finished) {
+				pipeline.cancel();
+			}
+		}
+	}
+
+	private Either<ZipOutputStream, ResponseFormat> writeAllFilesToCsar(Component mainComponent,
+			CsarDefinition csarDefinition, ZipOutputStream zipstream, boolean isInCertificationRequest,
+			ArtifactPrefetchPipeline<ArtifactZipEntry> pipeline) throws IOException {
 		ComponentArtifacts componentArtifacts = csarDefinition.getComponentArtifacts();
 
 		Either<ZipOutputStream, ResponseFormat> writeComponentArtifactsToSpecifiedPath = writeComponentArtifactsToSpecifiedPath(
-				mainComponent, componentArtifacts, zipstream, ARTIFACTS_PATH, isInCertificationRequest);
+				mainComponent, componentArtifacts, zipstream, ARTIFACTS_PATH, isInCertificationRequest, pipeline);
 
 		if (writeComponentArtifactsToSpecifiedPath.isRight()) {
 			return Either.right(writeComponentArtifactsToSpecifiedPath.right().value());
@@ -836,7 +911,8 @@ public class CsarUtils {
 
 		ComponentTypeArtifacts mainTypeAndCIArtifacts = componentArtifacts.getMainTypeAndCIArtifacts();
 		writeComponentArtifactsToSpecifiedPath = writeArtifactsInfoToSpecifiedPath(mainComponent,
-				mainTypeAndCIArtifacts.getComponentArtifacts(), zipstream, ARTIFACTS_PATH, isInCertificationRequest);
+				mainTypeAndCIArtifacts.getComponentArtifacts(), zipstream, ARTIFACTS_PATH, isInCertificationRequest,
+				pipeline);
 
 		if (writeComponentArtifactsToSpecifiedPath.isRight()) {
 			return Either.right(writeComponentArtifactsToSpecifiedPath.right().value());
@@ -851,7 +927,7 @@ public class CsarUtils {
 			ArtifactsInfo artifactsInfo = componentInstancesArtifacts.get(keyAssetName);
 			String pathWithAssetName = currentPath + keyAssetName + "/";
 			writeComponentArtifactsToSpecifiedPath = writeArtifactsInfoToSpecifiedPath(mainComponent, artifactsInfo,
-					zipstream, pathWithAssetName, isInCertificationRequest);
+					zipstream, pathWithAssetName, isInCertificationRequest, pipeline);
 
 			if (writeComponentArtifactsToSpecifiedPath.isRight()) {
 				return Either.right(writeComponentArtifactsToSpecifiedPath.right().value());
@@ -862,7 +938,7 @@ public class CsarUtils {
 
 	private Either<ZipOutputStream, ResponseFormat> writeComponentArtifactsToSpecifiedPath(Component mainComponent,
 			ComponentArtifacts componentArtifacts, ZipOutputStream zipstream, String currentPath,
-			boolean isInCertificationRequest) throws IOException {
+			boolean isInCertificationRequest, ArtifactPrefetchPipeline<ArtifactZipEntry> pipeline) throws IOException {
 		Map<String, ComponentTypeArtifacts> componentTypeArtifacts = componentArtifacts.getComponentTypeArtifacts();
 		// Keys are defined:
 		// <Inner Asset TOSCA name (e.g. VFC name)> folder name: <Inner Asset TOSCA name
@@ -874,7 +950,7 @@ public class CsarUtils {
 			ArtifactsInfo componentArtifacts2 = componentInstanceArtifacts.getComponentArtifacts();
 			String pathWithAssetName = currentPath + keyAssetName + "/";
 			Either<ZipOutputStream, ResponseFormat> writeArtifactsInfoToSpecifiedPath = writeArtifactsInfoToSpecifiedPath(
-					mainComponent, componentArtifacts2, zipstream, pathWithAssetName, isInCertificationRequest);
+					mainComponent, componentArtifacts2, zipstream, pathWithAssetName, isInCertificationRequest, pipeline);
 
 			if (writeArtifactsInfoToSpecifiedPath.isRight()) {
 				return writeArtifactsInfoToSpecifiedPath;
@@ -885,8 +961,8 @@ public class CsarUtils {
 	}
 
 	private Either<ZipOutputStream, ResponseFormat> writeArtifactsInfoToSpecifiedPath(Component mainComponent,
-			ArtifactsInfo currArtifactsInfo, ZipOutputStream zip, String path, boolean isInCertificationRequest)
-			throws IOException {
+			ArtifactsInfo currArtifactsInfo, ZipOutputStream zip, String path, boolean isInCertificationRequest,
+			ArtifactPrefetchPipeline<ArtifactZipEntry> pipeline) throws IOException {
 		Map<ArtifactGroupTypeEnum, Map<ArtifactTypeEnum, List<ArtifactDefinition>>> artifactsInfo = currArtifactsInfo
 				.getArtifactsInfo();
 		Set<ArtifactGroupTypeEnum> groupTypeEnumKeySet = artifactsInfo.keySet();
@@ -910,7 +986,7 @@ public class CsarUtils {
 				}
 
 				Either<ZipOutputStream, ResponseFormat> writeArtifactDefinition = writeArtifactDefinition(mainComponent,
-						zip, artifactDefinitionList, artifactTypeFolder, isInCertificationRequest);
+						zip, artifactDefinitionList, artifactTypeFolder, isInCertificationRequest, pipeline);
 
 				if (writeArtifactDefinition.isRight()) {
 					return writeArtifactDefinition;
@@ -921,9 +997,12 @@ public class CsarUtils {
 		return Either.left(zip);
 	}
 
+	/**
+	 * Adds the artifacts to the pipeline, which writes them to the zip in the same order once their payload is read.
+	 */
 	private Either<ZipOutputStream, ResponseFormat> writeArtifactDefinition(Component mainComponent,
 			ZipOutputStream zip, List<ArtifactDefinition> artifactDefinitionList, String artifactPathAndFolder,
-			boolean isInCertificationRequest) throws IOException {
+			boolean isInCertificationRequest, ArtifactPrefetchPipeline<ArtifactZipEntry> pipeline) throws IOException {
 
 		ComponentTypeEnum componentType = mainComponent.getComponentType();
 		String heatEnvType = ArtifactTypeEnum.HEAT_ENV.getType();
@@ -936,26 +1015,72 @@ public class CsarUtils {
 				continue;
 			}
 
-			byte[] payloadData = artifactDefinition.getPayloadData();
-			String artifactFileName = artifactDefinition.getArtifactName();
+			ArtifactZipEntry entry = new ArtifactZipEntry(artifactDefinition, artifactPathAndFolder);
+			pipeline.add(entry, artifactDefinition.getPayloadData() == null ? artifactDefinition.getEsId() : null);
+		}
 
-			if (payloadData == null) {
-				Either<byte[], ActionStatus> fromCassandra = getFromCassandra(artifactDefinition.getEsId());
+		return Either.left(zip);
+	}
 
-				if (fromCassandra.isRight()) {
-					log.debug("ArtifactName {}, unique ID {}", artifactDefinition.getArtifactName(),
-							artifactDefinition.getUniqueId());
-					log.debug("Failed to get {} payload from DB reason: {}", artifactFileName,
-							fromCassandra.right().value());
-					continue;
-				}
-				payloadData = fromCassandra.left().value();
+	private ArtifactPrefetchPipeline<ArtifactZipEntry> createArtifactPipeline(ZipOutputStream zip) {
+		int maxInFlight = DEFAULT_PREFETCH_MAX_IN_FLIGHT;
+		int maxInFlightBytesInMB = DEFAULT_PREFETCH_MAX_IN_FLIGHT_BYTES_IN_MB;
+		ArtifactPrefetchConfig prefetchConfig = ConfigurationManager.getConfigurationManager().getConfiguration()
+				.getArtifactPrefetch();
+		if (prefetchConfig != null) {
+			if (prefetchConfig.getMaxInFlight() != null) {
+				maxInFlight = prefetchConfig.getMaxInFlight();
+			}
+			if (prefetchConfig.getMaxInFlightBytesInMB() != null) {
+				maxInFlightBytesInMB = prefetchConfig.getMaxInFlightBytesInMB();
 			}
-			zip.putNextEntry(new ZipEntry(artifactPathAndFolder + artifactFileName));
-			zip.write(payloadData);
 		}
+		return new ArtifactPrefetchPipeline<>(
+				(artifactId, read) -> artifactCassandraDao.getArtifactAsync(artifactId, read), maxInFlight,
+				maxInFlightBytesInMB * 1024L * 1024L, (entry, payload) -> writeArtifactZipEntry(zip, entry, payload));
+	}
 
-		return Either.left(zip);
+	private void writeArtifactZipEntry(ZipOutputStream zip, ArtifactZipEntry entry,
+			Either<ESArtifactData, CassandraOperationStatus> payload) throws IOException {
+		ArtifactDefinition artifactDefinition = entry.getArtifactDefinition();
+		String artifactFileName = artifactDefinition.getArtifactName();
+		byte[] payloadData = artifactDefinition.getPayloadData();
+
+		if (payloadData == null) {
+			if (payload == null || payload.isRight()) {
+				log.debug("ArtifactName {}, unique ID {}", artifactFileName, artifactDefinition.getUniqueId());
+				log.debug("Failed to get {} payload from DB reason: {}", artifactFileName,
+						payload == null ? null : payload.right().value());
+				return;
+			}
+			payloadData = payload.left().value().getDataAsArray();
+			if (payloadData == null) {
+				payloadData = new byte[0];
+			}
+		}
+		zip.putNextEntry(new ZipEntry(entry.getPath() + artifactFileName));
+		zip.write(payloadData);
+	}
+
+	/**
+	 * An artifact waiting in the prefetch pipeline to be written to the zip
+	 */
+	private static class ArtifactZipEntry {
+		private final ArtifactDefinition artifactDefinition;
+		private final String path;
+
+		ArtifactZipEntry(ArtifactDefinition artifactDefinition, String path) {
+			this.artifactDefinition = artifactDefinition;
+			this.path = path;
+		}
+
+		ArtifactDefinition getArtifactDefinition() {
+			return artifactDefinition;
+		}
+
+		String getPath() {
+			return path;
+		}
 	}
 
 	/************************************
@@ -0,0 +1,168 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.tosca;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import fj.data.Either;
+import org.openecomp.sdc.be.config.Configuration.ToscaExportConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.model.Component;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the origin components of the instances of an exported topology in parallel.
+ * <p>
+ * Each distinct origin is read once by a bounded pool. A worker reads in its own graph transaction, which is rolled
+ * back once read, so it does not see changes not committed yet by the exporting thread. Once the queue of the pool is
+ * full, the exporting thread reads the origin itself in its own transaction, which is left as is. Only certified
+ * origins, which do not change anymore, are returned. All other origins are left to be read by the exporting thread.
+ */
+@org.springframework.stereotype.Component("tosca-dependency-resolver")
+public class ToscaDependencyResolver {
+
+    private static final Logger log = Logger.getLogger(ToscaDependencyResolver.class.getName());
+    private static final int DEFAULT_THREADS = 8;
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 4;
+    private static final int QUEUED_READS_PER_THREAD = 16;
+
+    private final ToscaOperationFacade toscaOperationFacade;
+    private ExecutorService executor;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    @Autowired
+    public ToscaDependencyResolver(ToscaOperationFacade toscaOperationFacade) {
+        this.toscaOperationFacade = toscaOperationFacade;
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = DEFAULT_THREADS;
+        ToscaExportConfig toscaExportConfig = ConfigurationManager.getConfigurationManager().getConfiguration().getToscaExport();
+        if (toscaExportConfig != null) {
+            if (toscaExportConfig.getDependencyResolverThreads() != null) {
+                threads = toscaExportConfig.getDependencyResolverThreads();
+            }
+            if (toscaExportConfig.getParallelResolveThreshold() != null) {
+                parallelThreshold = toscaExportConfig.getParallelResolveThreshold();
+            }
+        }
+        init(threads);
+    }
+
+    void init(int threads) {
+        init(threads, threads * QUEUED_READS_PER_THREAD);
+    }
+
+    /**
+     * A read rejected by the full queue is run by the caller, as by {@link ThreadPoolExecutor.CallerRunsPolicy}, but
+     * also once the pool is shut down, so the read always completes.
+     */
+    void init(int threads, int queueSize) {
+        if (threads <= 0) {
+            log.debug("Tosca dependencies are resolved sequentially");
+            return;
+        }
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                new ThreadFactoryBuilder().setNameFormat("ToscaDependencyResolver-%d").setDaemon(true).build(),
+                (read, pool) -> read.run());
+        ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+        log.debug("Tosca dependencies are resolved by {} threads with up to {} reads queued", threads, queueSize);
+    }
+
+    void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param componentUids the origins to read, may contain duplicates
+     * @return the certified origins which were read, by unique id. Origins which failed to be read, or are not certified,
+     * are missing
+     */
+    public Map<String, Component> resolve(Collection<String> componentUids) {
+        Set<String> distinctUids = new LinkedHashSet<>(componentUids);
+        distinctUids.remove(null);
+        if (executor == null || distinctUids.size() < parallelThreshold) {
+            return Collections.emptyMap();
+        }
+        long start = System.currentTimeMillis();
+        Thread caller = Thread.currentThread();
+        Map<String, CompletableFuture<Component>> reads = new LinkedHashMap<>();
+        for (String componentUid : distinctUids) {
+            reads.put(componentUid, CompletableFuture.supplyAsync(() -> read(componentUid, Thread.currentThread() != caller), executor));
+        }
+        Map<String, Component> resolved = new HashMap<>();
+        reads.forEach((componentUid, read) -> {
+            Component component = read.exceptionally(e -> {
+                log.debug("Failed to read origin component {}", componentUid, e);
+                return null;
+            }).join();
+            if (component != null) {
+                resolved.put(componentUid, component);
+            }
+        });
+        log.debug("Resolved {} of {} origin components in {} ms", resolved.size(), distinctUids.size(),
+                System.currentTimeMillis() - start);
+        return resolved;
+    }
+
+    /**
+     * @param pooled false if the read is run by the caller, whose transaction is not rolled back
+     */
+    private Component read(String componentUid, boolean pooled) {
+        try {
+            Either<Component, StorageOperationStatus> component = toscaOperationFacade.getToscaFullElement(componentUid);
+            if (component.isLeft() && component.left().value().getLifecycleState() == LifecycleStateEnum.CERTIFIED) {
+                return component.left().value();
+            }
+            return null;
+        } finally {
+            if (pooled) {
+                toscaOperationFacade.rollback();
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.sdc.be.components.impl.exceptions.SdcResourceNotFoundException;
 import org.openecomp.sdc.be.config.ConfigurationManager;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
+import org.openecomp.sdc.be.resources.data.ComponentMetadataData;
 import org.openecomp.sdc.be.datatypes.components.ResourceMetadataDataDefinition;
 import org.openecomp.sdc.be.datatypes.elements.*;
 import org.openecomp.sdc.be.datatypes.enums.ComponentTypeEnum;
@@ -67,6 +68,13 @@ import org.yaml.snakeyaml.representer.Represent;
 import org.yaml.snakeyaml.representer.Representer;
 
 import java.beans.IntrospectionException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.Supplier;
@@ -93,6 +101,10 @@ public class ToscaExportHandler {
     private PropertyConvertor propertyConvertor;
     private InputConverter inputConverter;
     private InterfaceLifecycleOperation interfaceLifecycleOperation;
+    @Autowired(required = false)
+    private ToscaRenderCache toscaRenderCache;
+    @Autowired(required = false)
+    private ToscaDependencyResolver toscaDependencyResolver;
 
     @Autowired
     public ToscaExportHandler(ApplicationDataTypeCache dataTypeCache, ToscaOperationFacade toscaOperationFacade,
@@ -121,11 +133,29 @@ public class ToscaExportHandler {
     private static final List<Map<String, Map<String, String>>> DEFAULT_IMPORTS = ConfigurationManager
                                                                                           .getConfigurationManager().getConfiguration().getDefaultImports();
     private static YamlUtil yamlUtil = new YamlUtil();
+    // snakeyaml dumpers are not thread safe, each thread reuses its own
+    private static final ThreadLocal<Yaml> TOSCA_YAML = ThreadLocal.withInitial(ToscaExportHandler::createToscaYaml);
 
     public ToscaExportHandler(){}
 
-    public Either<ToscaRepresentation, ToscaError> exportComponent(Component component) {
+    public void setToscaRenderCache(ToscaRenderCache toscaRenderCache) {
+        this.toscaRenderCache = toscaRenderCache;
+    }
 
+    public void setToscaDependencyResolver(ToscaDependencyResolver toscaDependencyResolver) {
+        this.toscaDependencyResolver = toscaDependencyResolver;
+    }
+
+    public Either<ToscaRepresentation, ToscaError> exportComponent(Component component) {
+        long start = System.nanoTime();
+        if (toscaRenderCache != null) {
+            ToscaRepresentation cached = toscaRenderCache.getRepresentation(component, this::readDependencyStamps,
+                    this::resolveDependencies);
+            if (cached != null) {
+                toscaRenderCache.recordRenderTime(component, System.nanoTime() - start);
+                return Either.left(cached);
+            }
+        }
         Either<ToscaTemplate, ToscaError> toscaTemplateRes = convertToToscaTemplate(component);
         if (toscaTemplateRes.isRight()) {
             return Either.right(toscaTemplateRes.right().value());
@@ -133,6 +163,45 @@ public class ToscaExportHandler {
 
         ToscaTemplate toscaTemplate = toscaTemplateRes.left().value();
         ToscaRepresentation toscaRepresentation = this.createToscaRepresentation(toscaTemplate);
+        if (toscaRenderCache != null) {
+            toscaRenderCache.recordRenderTime(component, System.nanoTime() - start);
+            toscaRenderCache.putRepresentation(component, toscaRepresentation);
+        }
+        return Either.left(toscaRepresentation);
+    }
+
+    /**
+     * Writes the tosca template of the component to the stream as it is emitted instead of building it in memory first.
+     * Templates which are cached, or are going to be, are written from the cache.
+     *
+     * @return the representation of the component without its main yaml, which is written to the stream
+     */
+    public Either<ToscaRepresentation, ToscaError> exportComponent(Component component, OutputStream out)
+            throws IOException {
+        if (toscaRenderCache != null && toscaRenderCache.isEnabled()
+                && component.getLifecycleState() == LifecycleStateEnum.CERTIFIED) {
+            Either<ToscaRepresentation, ToscaError> exported = exportComponent(component);
+            if (exported.isRight()) {
+                return exported;
+            }
+            ToscaRepresentation toscaRepresentation = exported.left().value();
+            out.write(toscaRepresentation.getMainYaml().getBytes(StandardCharsets.UTF_8));
+            toscaRepresentation.setMainYaml(null);
+            return Either.left(toscaRepresentation);
+        }
+        long start = System.nanoTime();
+        Either<ToscaTemplate, ToscaError> toscaTemplateRes = convertToToscaTemplate(component);
+        if (toscaTemplateRes.isRight()) {
+            return Either.right(toscaTemplateRes.right().value());
+        }
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writeToscaRepresentation(toscaTemplateRes.left().value(), writer);
+        writer.flush();
+        if (toscaRenderCache != null) {
+            toscaRenderCache.recordRenderTime(component, System.nanoTime() - start);
+        }
+        ToscaRepresentation toscaRepresentation = new ToscaRepresentation();
+        toscaRepresentation.setDependencies(toscaTemplateRes.left().value().getDependencies());
         return Either.left(toscaRepresentation);
     }
 
@@ -158,40 +227,62 @@ public class ToscaExportHandler {
     }
 
     public ToscaRepresentation createToscaRepresentation(ToscaTemplate toscaTemplate) {
+        StringWriter writer = new StringWriter();
+        writeToscaRepresentation(toscaTemplate, writer);
+
+        ToscaRepresentation toscaRepresentation = new ToscaRepresentation();
+        toscaRepresentation.setMainYaml(writer.toString());
+        toscaRepresentation.setDependencies(toscaTemplate.getDependencies());
+
+        return toscaRepresentation;
+    }
+
+    /**
+     * Emits the tosca template, surrounded by the configured header and footer, to the writer.
+     */
+    private void writeToscaRepresentation(ToscaTemplate toscaTemplate, Writer writer) {
+        PrintWriter printWriter = new PrintWriter(writer);
+        printWriter.print(ConfigurationManager.getConfigurationManager().getConfiguration().getHeatEnvArtifactHeader());
+        TOSCA_YAML.get().dump(toscaTemplate, printWriter);
+        printWriter.print(ConfigurationManager.getConfigurationManager().getConfiguration().getHeatEnvArtifactFooter());
+        printWriter.flush();
+    }
+
+    private static Yaml createToscaYaml() {
         CustomRepresenter representer = new CustomRepresenter();
         DumperOptions options = new DumperOptions();
         options.setAllowReadOnlyProperties(false);
         options.setPrettyFlow(true);
 
-        options.setDefaultFlowStyle(FlowStyle.FLOW);
+        // same output as dumpAsMap, which switches to the block style for each dump
+        options.setDefaultFlowStyle(FlowStyle.BLOCK);
         options.setCanonical(false);
 
-        representer.addClassTag(toscaTemplate.getClass(), Tag.MAP);
+        representer.addClassTag(ToscaTemplate.class, Tag.MAP);
 
         representer.setPropertyUtils(new UnsortedPropertyUtils());
-        Yaml yaml = new Yaml(representer, options);
-
-        String yamlAsString = yaml.dumpAsMap(toscaTemplate);
-
-        StringBuilder sb = new StringBuilder();
-        sb.append(ConfigurationManager.getConfigurationManager().getConfiguration().getHeatEnvArtifactHeader());
-        sb.append(yamlAsString);
-        sb.append(ConfigurationManager.getConfigurationManager().getConfiguration().getHeatEnvArtifactFooter());
-
-        ToscaRepresentation toscaRepresentation = new ToscaRepresentation();
-        toscaRepresentation.setMainYaml(sb.toString());
-        toscaRepresentation.setDependencies(toscaTemplate.getDependencies());
-
-        return toscaRepresentation;
+        return new Yaml(representer, options);
     }
 
     public Either<ToscaTemplate, ToscaError> getDependencies(Component component) {
+        if (toscaRenderCache != null) {
+            List<Triple<String, String, Component>> cached = toscaRenderCache.getDependencies(component,
+                    this::readDependencyStamps, this::resolveDependencies);
+            if (cached != null) {
+                ToscaTemplate toscaTemplate = new ToscaTemplate(null);
+                toscaTemplate.setDependencies(cached);
+                return Either.left(toscaTemplate);
+            }
+        }
         ToscaTemplate toscaTemplate = new ToscaTemplate(null);
         Either<ImmutablePair<ToscaTemplate, Map<String, Component>>, ToscaError> fillImports = fillImports(component,
                 toscaTemplate);
         if (fillImports.isRight()) {
             return Either.right(fillImports.right().value());
         }
+        if (toscaRenderCache != null && fillImports.left().value().left.getDependencies() != null) {
+            toscaRenderCache.putDependencies(component, fillImports.left().value().left.getDependencies());
+        }
         return Either.left(fillImports.left().value().left);
     }
 
@@ -452,7 +543,8 @@ public class ToscaExportHandler {
             }
             List<ComponentInstance> componentInstances = component.getComponentInstances();
             if (componentInstances != null && !componentInstances.isEmpty()) {
-                componentInstances.forEach(ci -> createDependency(componentCache, additionalImports, dependecies, ci));
+                Map<String, Component> resolvedOrigins = resolveOrigins(componentInstances);
+                componentInstances.forEach(ci -> createDependency(componentCache, resolvedOrigins, additionalImports, dependecies, ci));
             }
             toscaTemplate.setDependencies(dependecies);
             toscaTemplate.setImports(additionalImports);
@@ -462,8 +554,74 @@ public class ToscaExportHandler {
         return Either.left(new ImmutablePair<>(toscaTemplate, componentCache));
     }
 
+    /**
+     * Reads the distinct origins of the instances ahead in parallel, the imports are still added in the order of the
+     * instances.
+     */
+    private Map<String, Component> resolveOrigins(List<ComponentInstance> componentInstances) {
+        if (toscaDependencyResolver == null) {
+            return Collections.emptyMap();
+        }
+        List<String> originUids = new ArrayList<>();
+        for (ComponentInstance ci : componentInstances) {
+            originUids.add(ci.getComponentUid());
+            if (ci.getOriginType() == OriginTypeEnum.ServiceProxy) {
+                originUids.add(ci.getSourceModelUid());
+            }
+        }
+        return toscaDependencyResolver.resolve(originUids);
+    }
+
+    /**
+     * Reads the dependency components of a cached tosca template, dependencies which could not be read are missing.
+     */
+    private Map<String, Component> resolveDependencies(Collection<String> componentUids) {
+        Map<String, Component> resolved = new HashMap<>();
+        if (toscaDependencyResolver != null) {
+            resolved.putAll(toscaDependencyResolver.resolve(componentUids));
+        }
+        for (String componentUid : componentUids) {
+            if (!resolved.containsKey(componentUid)) {
+                Either<Component, StorageOperationStatus> component = toscaOperationFacade.getToscaFullElement(componentUid);
+                if (component.isLeft()) {
+                    resolved.put(componentUid, component.left().value());
+                }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Reads the last update dates of the dependencies of a cached tosca template from their metadata, dependencies
+     * which could not be read are missing.
+     */
+    private Map<String, Long> readDependencyStamps(Collection<String> componentUids) {
+        Map<String, Long> stamps = new HashMap<>();
+        for (String componentUid : componentUids) {
+            Either<ComponentMetadataData, StorageOperationStatus> metadata = toscaOperationFacade.getComponentMetadata(componentUid);
+            if (metadata.isLeft()) {
+                stamps.put(componentUid, metadata.left().value().getMetadataDataDefinition().getLastUpdateDate());
+            }
+        }
+        return stamps;
+    }
+
+    private Either<Component, StorageOperationStatus> getOrigin(Map<String, Component> resolvedOrigins, String componentUid) {
+        Component resolved = resolvedOrigins.get(componentUid);
+        if (resolved != null) {
+            return Either.left(resolved);
+        }
+        return toscaOperationFacade.getToscaFullElement(componentUid);
+    }
+
     private void createDependency(Map<String, Component> componentCache, List<Map<String, Map<String, String>>> imports,
             List<Triple<String, String, Component>> dependecies, ComponentInstance ci) {
+        createDependency(componentCache, Collections.emptyMap(), imports, dependecies, ci);
+    }
+
+    private void createDependency(Map<String, Component> componentCache, Map<String, Component> resolvedOrigins,
+            List<Map<String, Map<String, String>>> imports, List<Triple<String, String, Component>> dependecies,
+            ComponentInstance ci) {
         Map<String, String> files = new HashMap<>();
         Map<String, Map<String, String>> importsListMember = new HashMap<>();
         StringBuilder keyNameBuilder;
@@ -471,8 +629,7 @@ public class ToscaExportHandler {
         Component componentRI = componentCache.get(ci.getComponentUid());
         if (componentRI == null) {
             // all resource must be only once!
-            Either<Component, StorageOperationStatus> resource = toscaOperationFacade
-                                                                         .getToscaFullElement(ci.getComponentUid());
+            Either<Component, StorageOperationStatus> resource = getOrigin(resolvedOrigins, ci.getComponentUid());
             if ((resource.isRight()) && (log.isDebugEnabled())) {
                 log.debug("Failed to fetch resource with id {} for instance {}",ci.getComponentUid() ,ci.getUniqueId());
                 return ;
@@ -482,8 +639,7 @@ public class ToscaExportHandler {
             componentCache.put(fetchedComponent.getUniqueId(), fetchedComponent);
 
             if (ci.getOriginType() == OriginTypeEnum.ServiceProxy){
-                Either<Component, StorageOperationStatus> sourceService = toscaOperationFacade
-                                                                                  .getToscaFullElement(ci.getSourceModelUid());
+                Either<Component, StorageOperationStatus> sourceService = getOrigin(resolvedOrigins, ci.getSourceModelUid());
                 if (sourceService.isRight() && (log.isDebugEnabled())) {
                     log.debug("Failed to fetch source service with id {} for proxy {}", ci.getSourceModelUid(), ci.getUniqueId());
                 }
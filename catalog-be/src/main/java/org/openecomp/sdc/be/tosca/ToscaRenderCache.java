@@ -0,0 +1,317 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.tosca;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.apache.commons.lang3.tuple.Triple;
+import org.openecomp.sdc.be.config.Configuration.ApplicationL1CacheComponentsInfo;
+import org.openecomp.sdc.be.config.Configuration.ApplicationL1CacheConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.model.Component;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.LatencyHistogram;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * In-process cache of the tosca templates rendered by {@link ToscaExportHandler}.
+ * <p>
+ * Only certified components are cached, their tosca template never changes once certified. An entry is keyed by the
+ * component unique id and version and holds the rendered main yaml together with the file name, the payload id,
+ * the unique id and the last update date of each dependency of the component. The dependency components themselves
+ * are not kept, so an entry weighs only what it holds. A hit compares the last update dates with the stored ones,
+ * which only needs the metadata of the dependencies, and is handled as a miss if one of them changed or can't be
+ * read. The dependency components are read through the given resolver once they are asked for.
+ * <p>
+ * The render times of all the components, cached or not, are recorded per component type.
+ */
+@org.springframework.stereotype.Component("tosca-render-cache")
+public class ToscaRenderCache {
+
+    private static final Logger log = Logger.getLogger(ToscaRenderCache.class.getName());
+    private static final String METRICS_NAME = "ToscaRender";
+    private static final long DEFAULT_MAX_WEIGHT = 102400;
+    private static final int DEFAULT_EXPIRE_AFTER_WRITE_IN_SEC = 3600;
+
+    private final Map<String, LatencyHistogram> renderTimes = new ConcurrentHashMap<>();
+    private Cache<String, CachedRender> cache;
+
+    @PostConstruct
+    public void init() {
+        ApplicationL1CacheComponentsInfo templatesInfo = null;
+        ApplicationL1CacheConfig applicationL1CacheConfig = ConfigurationManager.getConfigurationManager()
+                .getConfiguration().getApplicationL1Cache();
+        if (applicationL1CacheConfig != null) {
+            templatesInfo = applicationL1CacheConfig.getToscaTemplates();
+        }
+        PerformanceMetricsRegistry.getInstance().register(METRICS_NAME, this::getMetrics);
+        if (templatesInfo == null || !Boolean.TRUE.equals(templatesInfo.getEnabled())) {
+            log.debug("ToscaRenderCache is disabled");
+            return;
+        }
+        long maxWeight = templatesInfo.getMaxWeight() != null ? templatesInfo.getMaxWeight() : DEFAULT_MAX_WEIGHT;
+        int expireAfterWriteInSec = templatesInfo.getExpireAfterWriteInSec() != null ?
+                templatesInfo.getExpireAfterWriteInSec() : DEFAULT_EXPIRE_AFTER_WRITE_IN_SEC;
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String key, CachedRender value) -> value.getWeight())
+                .expireAfterWrite(expireAfterWriteInSec, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        log.debug("ToscaRenderCache is enabled. max weight {} KB, expire after write {} seconds", maxWeight, expireAfterWriteInSec);
+    }
+
+    @PreDestroy
+    void destroy() {
+        PerformanceMetricsRegistry.getInstance().unregister(METRICS_NAME);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @param stamps reads the last update dates of the given unique ids, components which could not be read are missing
+     * @param resolver reads the components of the given unique ids, components which could not be read are missing
+     * @return the cached tosca template of the component or null if not cached, its dependencies are resolved once
+     * they are asked for
+     */
+    public ToscaRepresentation getRepresentation(Component component,
+            Function<Collection<String>, Map<String, Long>> stamps,
+            Function<Collection<String>, Map<String, Component>> resolver) {
+        CachedRender cached = getValid(component, RenderKind.TEMPLATE, stamps);
+        if (cached == null) {
+            return null;
+        }
+        ToscaRepresentation toscaRepresentation = new ToscaRepresentation();
+        toscaRepresentation.setMainYaml(cached.getMainYaml());
+        toscaRepresentation.setDependencyLoader(() -> resolve(cached.getDependencies(), resolver));
+        return toscaRepresentation;
+    }
+
+    public void putRepresentation(Component component, ToscaRepresentation toscaRepresentation) {
+        put(component, RenderKind.TEMPLATE,
+                new CachedRender(toscaRepresentation.getMainYaml(), toRefs(toscaRepresentation.getDependencies())));
+    }
+
+    /**
+     * @param stamps reads the last update dates of the given unique ids, components which could not be read are missing
+     * @param resolver reads the components of the given unique ids, components which could not be read are missing
+     * @return the cached dependencies of the component as resolved by {@link ToscaExportHandler#getDependencies(Component)}
+     * or null if not cached or if they could not all be read
+     */
+    public List<Triple<String, String, Component>> getDependencies(Component component,
+            Function<Collection<String>, Map<String, Long>> stamps,
+            Function<Collection<String>, Map<String, Component>> resolver) {
+        CachedRender cached = getValid(component, RenderKind.DEPENDENCIES, stamps);
+        return cached != null ? resolve(cached.getDependencies(), resolver) : null;
+    }
+
+    public void putDependencies(Component component, List<Triple<String, String, Component>> dependencies) {
+        put(component, RenderKind.DEPENDENCIES, new CachedRender(null, toRefs(dependencies)));
+    }
+
+    public void evictAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public void recordRenderTime(Component component, long nanos) {
+        String type = component.getComponentType() != null ? component.getComponentType().getValue().toLowerCase() : "unknown";
+        renderTimes.computeIfAbsent(type, key -> new LatencyHistogram()).record(nanos);
+        log.debug("Rendered tosca template of {} {} in {} ms", type, component.getUniqueId(),
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        if (cache != null) {
+            CacheStats stats = cache.stats();
+            metrics.put("size", cache.size());
+            metrics.put("hitCount", stats.hitCount());
+            metrics.put("missCount", stats.missCount());
+            metrics.put("hitRate", stats.hitRate());
+            metrics.put("evictionCount", stats.evictionCount());
+        }
+        renderTimes.forEach((type, histogram) -> metrics.put(type + ".renderMs", histogram.getMetrics()));
+        return metrics;
+    }
+
+    private CachedRender getCached(Component component, RenderKind kind) {
+        if (cache == null || !isCacheable(component)) {
+            return null;
+        }
+        return cache.getIfPresent(buildKey(component, kind));
+    }
+
+    private CachedRender getValid(Component component, RenderKind kind,
+            Function<Collection<String>, Map<String, Long>> stamps) {
+        CachedRender cached = getCached(component, kind);
+        if (cached == null || cached.getDependencies() == null || cached.getDependencies().isEmpty()) {
+            return cached;
+        }
+        List<String> uids = new ArrayList<>(cached.getDependencies().size());
+        cached.getDependencies().forEach(ref -> uids.add(ref.getUid()));
+        Map<String, Long> current = stamps.apply(uids);
+        for (DependencyRef ref : cached.getDependencies()) {
+            if (!current.containsKey(ref.getUid()) || !Objects.equals(current.get(ref.getUid()), ref.getStamp())) {
+                log.debug("Dependency {} of the cached tosca template of {} changed", ref.getUid(), component.getUniqueId());
+                cache.invalidate(buildKey(component, kind));
+                return null;
+            }
+        }
+        return cached;
+    }
+
+    private void put(Component component, RenderKind kind, CachedRender cachedRender) {
+        if (cache != null && isCacheable(component)) {
+            cache.put(buildKey(component, kind), cachedRender);
+        }
+    }
+
+    private static boolean isCacheable(Component component) {
+        return component.getUniqueId() != null && component.getLifecycleState() == LifecycleStateEnum.CERTIFIED;
+    }
+
+    private static String buildKey(Component component, RenderKind kind) {
+        return component.getUniqueId() + ":" + component.getVersion() + ":" + kind;
+    }
+
+    private static List<DependencyRef> toRefs(List<Triple<String, String, Component>> dependencies) {
+        if (dependencies == null) {
+            return null;
+        }
+        List<DependencyRef> refs = new ArrayList<>(dependencies.size());
+        for (Triple<String, String, Component> dependency : dependencies) {
+            refs.add(new DependencyRef(dependency.getLeft(), dependency.getMiddle(), dependency.getRight().getUniqueId(),
+                    dependency.getRight().getLastUpdateDate()));
+        }
+        return refs;
+    }
+
+    private static List<Triple<String, String, Component>> resolve(List<DependencyRef> refs,
+            Function<Collection<String>, Map<String, Component>> resolver) {
+        if (refs == null) {
+            return null;
+        }
+        List<String> uids = new ArrayList<>(refs.size());
+        refs.forEach(ref -> uids.add(ref.getUid()));
+        Map<String, Component> components = refs.isEmpty() ? null : resolver.apply(uids);
+        List<Triple<String, String, Component>> dependencies = new ArrayList<>(refs.size());
+        for (DependencyRef ref : refs) {
+            Component dependency = components.get(ref.getUid());
+            if (dependency == null) {
+                log.debug("Dependency {} of a cached tosca template could not be read", ref.getUid());
+                return null;
+            }
+            dependencies.add(new ImmutableTriple<>(ref.getFileName(), ref.getEsId(), dependency));
+        }
+        return dependencies;
+    }
+
+    private enum RenderKind {
+        TEMPLATE, DEPENDENCIES
+    }
+
+    private static class DependencyRef {
+        private final String fileName;
+        private final String esId;
+        private final String uid;
+        private final Long stamp;
+
+        DependencyRef(String fileName, String esId, String uid, Long stamp) {
+            this.fileName = fileName;
+            this.esId = esId;
+            this.uid = uid;
+            this.stamp = stamp;
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+
+        String getEsId() {
+            return esId;
+        }
+
+        String getUid() {
+            return uid;
+        }
+
+        Long getStamp() {
+            return stamp;
+        }
+
+        int getSize() {
+            return length(fileName) + length(esId) + length(uid) + Long.BYTES;
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+
+    private static class CachedRender {
+        private final String mainYaml;
+        private final List<DependencyRef> dependencies;
+        private final int weight;
+
+        CachedRender(String mainYaml, List<DependencyRef> dependencies) {
+            this.mainYaml = mainYaml;
+            this.dependencies = dependencies;
+            long size = mainYaml != null ? mainYaml.length() : 0;
+            if (dependencies != null) {
+                for (DependencyRef dependency : dependencies) {
+                    size += dependency.getSize();
+                }
+            }
+            this.weight = (int) Math.min(Integer.MAX_VALUE, 1 + size / 1024);
+        }
+
+        String getMainYaml() {
+            return mainYaml;
+        }
+
+        List<DependencyRef> getDependencies() {
+            return dependencies;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+    }
+}
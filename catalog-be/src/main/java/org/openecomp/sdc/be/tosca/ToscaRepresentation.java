@@ -24,11 +24,13 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.openecomp.sdc.be.model.Component;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 public class ToscaRepresentation {
 
     private String mainYaml;
     private List<Triple<String, String, Component>> dependencies;
+    private Supplier<List<Triple<String, String, Component>>> dependencyLoader;
 
     public String getMainYaml() {
         return mainYaml;
@@ -39,11 +41,24 @@ public class ToscaRepresentation {
     }
 
     public List<Triple<String, String, Component>> getDependencies() {
+        if (dependencyLoader != null) {
+            dependencies = dependencyLoader.get();
+            dependencyLoader = null;
+        }
         return dependencies;
     }
 
     public void setDependencies(List<Triple<String, String, Component>> dependancies) {
         this.dependencies = dependancies;
+        this.dependencyLoader = null;
+    }
+
+    /**
+     * The dependencies are read by the loader once they are first asked for, a loader returning null means they
+     * could not be read.
+     */
+    void setDependencyLoader(Supplier<List<Triple<String, String, Component>>> dependencyLoader) {
+        this.dependencyLoader = dependencyLoader;
     }
 
 }
@@ -0,0 +1,246 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.auditing.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.openecomp.sdc.be.config.Configuration;
+import org.openecomp.sdc.be.config.Configuration.AuditPipelineConfig;
+import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.dao.cassandra.AuditCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.dao.impl.AuditingDao;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingGenericEvent;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AuditEventPipelineTest {
+
+    private static final String ES_TYPE = "resourceadminevent";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private AuditingDao auditingDao;
+    private AuditCassandraDao cassandraDao;
+    private AuditPipelineConfig pipelineConfig;
+    private AuditEventPipeline pipeline;
+    private final CountDownLatch writing = new CountDownLatch(1);
+
+    @Before
+    public void initPipeline() {
+        auditingDao = mock(AuditingDao.class);
+        cassandraDao = mock(AuditCassandraDao.class);
+        when(auditingDao.addRecords(anyList())).thenReturn(ActionStatus.OK);
+        when(cassandraDao.saveRecords(anyList())).thenAnswer(invocation -> statuses(invocation.getArgument(0),
+                CassandraOperationStatus.OK));
+        pipelineConfig = new AuditPipelineConfig();
+        pipelineConfig.setEnabled(true);
+        pipelineConfig.setQueueSize(100);
+        pipelineConfig.setBatchSize(10);
+        pipelineConfig.setFlushIntervalInMs(50);
+        pipelineConfig.setOverflowPolicy("block");
+        Configuration configuration = new Configuration();
+        configuration.setAuditPipeline(pipelineConfig);
+        ConfigurationProvider configurationProvider = mock(ConfigurationProvider.class);
+        when(configurationProvider.getConfiguration()).thenReturn(configuration);
+        pipeline = new AuditEventPipeline(auditingDao, cassandraDao, configurationProvider);
+    }
+
+    @After
+    public void destroyPipeline() {
+        pipeline.destroy();
+    }
+
+    @Test
+    public void testDisabled() {
+        pipelineConfig.setEnabled(false);
+        pipeline.init();
+        assertFalse(pipeline.isEnabled());
+    }
+
+    @Test
+    public void testEventsAreWrittenInBatches() {
+        pipeline.init();
+        assertTrue(pipeline.isEnabled());
+        for (int i = 0; i < 25; i++) {
+            pipeline.submit(AuditJournalTest.createEvent("Checkin" + i), ES_TYPE);
+        }
+        pipeline.destroy();
+
+        Map<String, Object> metrics = pipeline.getMetrics();
+        assertEquals(25L, metrics.get("submitted"));
+        assertEquals(25L, metrics.get("written"));
+        assertEquals(0L, metrics.get("dropped"));
+        assertTrue((Long) metrics.get("batches") < 25);
+        verify(auditingDao, atLeastOnce()).addRecords(anyList());
+        verify(cassandraDao, never()).saveRecord(any());
+        verify(auditingDao, never()).addRecord(any(AuditingGenericEvent.class), any(String.class));
+    }
+
+    @Test
+    public void testFailedInsertsAreSavedAgain() {
+        when(cassandraDao.saveRecords(anyList())).thenAnswer(invocation -> statuses(invocation.getArgument(0),
+                CassandraOperationStatus.GENERAL_ERROR));
+        when(cassandraDao.saveRecord(any())).thenReturn(CassandraOperationStatus.OK);
+        pipeline.init();
+        pipeline.submit(AuditJournalTest.createEvent("Checkin"), ES_TYPE);
+        pipeline.submit(AuditJournalTest.createEvent("Checkout"), ES_TYPE);
+        pipeline.destroy();
+
+        verify(cassandraDao, Mockito.times(2)).saveRecord(any());
+        assertEquals(0L, pipeline.getMetrics().get("failed"));
+    }
+
+    @Test
+    public void testOverflowIsDropped() throws InterruptedException {
+        CountDownLatch blocked = blockWriter();
+        pipelineConfig.setQueueSize(1);
+        pipelineConfig.setOverflowPolicy("drop");
+        pipeline.init();
+        pipeline.submit(AuditJournalTest.createEvent("Checkin"), ES_TYPE);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit(AuditJournalTest.createEvent("Checkin" + i), ES_TYPE);
+        }
+        Map<String, Object> metrics = pipeline.getMetrics();
+        blocked.countDown();
+        assertEquals(4L, metrics.get("dropped"));
+        assertEquals(0L, metrics.get("spilled"));
+    }
+
+    @Test
+    public void testOverflowIsSpilledAndReplayed() throws InterruptedException {
+        CountDownLatch blocked = blockWriter();
+        pipelineConfig.setQueueSize(1);
+        pipelineConfig.setOverflowPolicy("spill");
+        pipelineConfig.setJournalDir(folder.getRoot().getAbsolutePath());
+        pipeline.init();
+        pipeline.submit(AuditJournalTest.createEvent("Checkin"), ES_TYPE);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit(AuditJournalTest.createEvent("Checkin" + i), ES_TYPE);
+        }
+        long spilled = (Long) pipeline.getMetrics().get("spilled");
+        assertEquals(4L, spilled);
+        assertEquals(0L, pipeline.getMetrics().get("dropped"));
+        blocked.countDown();
+        pipeline.destroy();
+
+        List<AuditingGenericEvent> written = new ArrayList<>();
+        when(cassandraDao.saveRecords(anyList())).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return statuses(invocation.getArgument(0), CassandraOperationStatus.OK);
+        });
+        pipeline.init();
+        pipeline.destroy();
+        assertEquals(spilled, written.size());
+    }
+
+    @Test
+    public void testJournalIsKeptUntilReplayedEventsAreAcknowledged() throws IOException {
+        AuditJournal journal = new AuditJournal(folder.getRoot().toPath());
+        journal.append(AuditJournalTest.createEvent("Checkin"), ES_TYPE);
+        journal.close();
+        pipelineConfig.setOverflowPolicy("spill");
+        pipelineConfig.setJournalDir(folder.getRoot().getAbsolutePath());
+        when(auditingDao.addRecords(anyList())).thenReturn(ActionStatus.GENERAL_ERROR);
+        pipeline.init();
+        pipeline.destroy();
+        assertTrue(Files.list(folder.getRoot().toPath()).findAny().isPresent());
+
+        when(auditingDao.addRecords(anyList())).thenReturn(ActionStatus.OK);
+        pipeline.init();
+        pipeline.destroy();
+        assertFalse(Files.list(folder.getRoot().toPath()).findAny().isPresent());
+        verify(auditingDao, Mockito.times(2)).addRecords(anyList());
+    }
+
+    @Test
+    public void testInterruptedBatchIsSpilled() throws InterruptedException {
+        pipelineConfig.setFlushIntervalInMs(60000);
+        pipelineConfig.setOverflowPolicy("spill");
+        pipelineConfig.setJournalDir(folder.getRoot().getAbsolutePath());
+        pipeline.init();
+        pipeline.submit(AuditJournalTest.createEvent("Checkin"), ES_TYPE);
+        Thread writer = findWriter();
+        while ((Integer) pipeline.getMetrics().get("queueDepth") > 0) {
+            Thread.sleep(5);
+        }
+        writer.interrupt();
+        writer.join(5000);
+
+        assertEquals(1L, pipeline.getMetrics().get("spilled"));
+        verify(auditingDao, never()).addRecords(anyList());
+    }
+
+    @Test
+    public void testMetricsAreRegistered() {
+        pipeline.init();
+        assertTrue(PerformanceMetricsRegistry.getInstance().getMetrics().containsKey("AuditPipeline"));
+        pipeline.destroy();
+        assertFalse(PerformanceMetricsRegistry.getInstance().getMetrics().containsKey("AuditPipeline"));
+    }
+
+    private static List<CassandraOperationStatus> statuses(List<?> records, CassandraOperationStatus status) {
+        return new ArrayList<>(Collections.nCopies(records.size(), status));
+    }
+
+    private static Thread findWriter() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> "AuditEventWriter".equals(thread.getName()) && thread.isAlive())
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private CountDownLatch blockWriter() {
+        CountDownLatch blocked = new CountDownLatch(1);
+        when(auditingDao.addRecords(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            blocked.await(5, TimeUnit.SECONDS);
+            return ActionStatus.OK;
+        });
+        return blocked;
+    }
+}
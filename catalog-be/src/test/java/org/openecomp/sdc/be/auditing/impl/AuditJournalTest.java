@@ -0,0 +1,127 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.auditing.impl;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingGenericEvent;
+import org.openecomp.sdc.be.resources.data.auditing.ResourceAdminEvent;
+import org.openecomp.sdc.be.resources.data.auditing.model.CommonAuditData;
+import org.openecomp.sdc.be.resources.data.auditing.model.ResourceCommonInfo;
+import org.openecomp.sdc.be.resources.data.auditing.model.ResourceVersionInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AuditJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAppendAndReplay() throws IOException {
+        Path dir = folder.newFolder("journal").toPath();
+        AuditJournal journal = new AuditJournal(dir);
+        ResourceAdminEvent event = createEvent("Checkin");
+        assertTrue(journal.append(event, "resourceadminevent"));
+        assertTrue(journal.append(createEvent("Checkout"), "resourceadminevent"));
+
+        List<ImmutablePair<AuditingGenericEvent, String>> replayed = new ArrayList<>();
+        assertEquals(2, journal.replay(10, replayed::addAll));
+
+        ResourceAdminEvent first = (ResourceAdminEvent) replayed.get(0).getLeft();
+        assertEquals("resourceadminevent", replayed.get(0).getRight());
+        assertEquals("Checkin", first.getAction());
+        assertEquals(event.getResourceName(), first.getResourceName());
+        assertEquals(event.getRequestId(), first.getRequestId());
+        assertEquals(event.getTimebaseduuid(), first.getTimebaseduuid());
+        assertEquals(event.getTimestamp1(), first.getTimestamp1());
+        assertEquals("Checkout", replayed.get(1).getLeft().getAction());
+        assertFalse(Files.list(dir).findAny().isPresent());
+    }
+
+    @Test
+    public void testReplaySkipsInvalidLines() throws IOException {
+        Path dir = folder.newFolder("journal").toPath();
+        AuditJournal journal = new AuditJournal(dir);
+        journal.append(createEvent("Checkin"), "resourceadminevent");
+        journal.close();
+        Files.write(dir.resolve(AuditJournal.JOURNAL_FILE), "not json\n".getBytes(), java.nio.file.StandardOpenOption.APPEND);
+
+        List<ImmutablePair<AuditingGenericEvent, String>> replayed = new ArrayList<>();
+        assertEquals(1, journal.replay(10, replayed::addAll));
+        assertEquals("Checkin", replayed.get(0).getLeft().getAction());
+    }
+
+    @Test
+    public void testEventsWhichWereNotWrittenStayJournaled() throws IOException {
+        Path dir = folder.newFolder("journal").toPath();
+        AuditJournal journal = new AuditJournal(dir);
+        journal.append(createEvent("Checkin"), "resourceadminevent");
+        journal.append(createEvent("Checkout"), "resourceadminevent");
+        journal.append(createEvent("Certify"), "resourceadminevent");
+
+        List<String> written = new ArrayList<>();
+        assertEquals(1, journal.replay(1, events -> {
+            if (written.size() == 1) {
+                return false;
+            }
+            events.forEach(event -> written.add(event.getLeft().getAction()));
+            return true;
+        }));
+        assertTrue(Files.list(dir).findAny().isPresent());
+
+        assertEquals(2, journal.replay(1, events -> {
+            events.forEach(event -> written.add(event.getLeft().getAction()));
+            return true;
+        }));
+        assertEquals(Arrays.asList("Checkin", "Checkout", "Certify"), written);
+        assertFalse(Files.list(dir).findAny().isPresent());
+    }
+
+    @Test
+    public void testReplayWithoutJournal() {
+        AuditJournal journal = new AuditJournal(folder.getRoot().toPath().resolve("missing"));
+        assertEquals(0, journal.replay(10, events -> true));
+    }
+
+    static ResourceAdminEvent createEvent(String action) {
+        CommonAuditData commonAuditData = CommonAuditData.newBuilder()
+                .status("200")
+                .description("OK")
+                .requestId("requestId")
+                .serviceInstanceId("serviceInstanceId")
+                .build();
+        return new ResourceAdminEvent(action, commonAuditData, new ResourceCommonInfo("resource", "Resource"),
+                ResourceVersionInfo.newBuilder().build(), ResourceVersionInfo.newBuilder().version("1.0").build(),
+                "invariantUuid", "modifier", "artifactData", "comment", "did", "toscaNodeType");
+    }
+}
@@ -71,5 +71,17 @@ public class AuditingManagerTest {
         Mockito.verify(auditingDao).addRecord(auditEvent, MSG);
     }
 
+    @Test
+    public void testShouldSubmitEventToPipeline() {
+        AuditEventPipeline pipeline = Mockito.mock(AuditEventPipeline.class);
+        Mockito.when(pipeline.isEnabled()).thenReturn(true);
+        auditingManager.setAuditEventPipeline(pipeline);
+        String result = auditingManager.auditEvent(eventFactory);
+        assertThat(result, is(msg));
+        Mockito.verify(pipeline).submit(auditEvent, MSG);
+        Mockito.verify(cassandraDao, Mockito.never()).saveRecord(auditEvent);
+        Mockito.verify(auditingDao, Mockito.never()).addRecord(auditEvent, MSG);
+    }
+
 
 }
\ No newline at end of file
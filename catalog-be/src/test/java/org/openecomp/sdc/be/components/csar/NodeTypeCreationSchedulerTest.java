@@ -0,0 +1,192 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.components.csar;
+
+import fj.data.Either;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.openecomp.sdc.be.components.impl.exceptions.ByActionStatusComponentException;
+import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.model.ArtifactDefinition;
+import org.openecomp.sdc.be.model.Resource;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade;
+import org.openecomp.sdc.common.util.ThreadLocalsHolder;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NodeTypeCreationSchedulerTest {
+
+    private ToscaOperationFacade toscaOperationFacade;
+    private ArtifactCassandraDao artifactCassandraDao;
+    private NodeTypeCreationScheduler testSubject;
+
+    @Before
+    public void initScheduler() {
+        toscaOperationFacade = Mockito.mock(ToscaOperationFacade.class);
+        artifactCassandraDao = Mockito.mock(ArtifactCassandraDao.class);
+        testSubject = new NodeTypeCreationScheduler(toscaOperationFacade, artifactCassandraDao);
+        testSubject.init(4);
+    }
+
+    @After
+    public void destroyScheduler() {
+        testSubject.destroy();
+    }
+
+    @Test
+    public void testSortByDerivedFrom() {
+        Map<String, Object> nodeTypes = new LinkedHashMap<>();
+        nodeTypes.put("c", nodeType("b"));
+        nodeTypes.put("b", nodeType("a"));
+        nodeTypes.put("a", nodeType("tosca.nodes.Root"));
+        nodeTypes.put("d", nodeType("a"));
+        nodeTypes.put("e", nodeType(null));
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "e"), Arrays.asList("b", "d"), Collections.singletonList("c")),
+                NodeTypeCreationScheduler.sortByDerivedFrom(nodeTypes));
+    }
+
+    @Test
+    public void testSortByDerivedFromPutsCycleLast() {
+        Map<String, Object> nodeTypes = new LinkedHashMap<>();
+        nodeTypes.put("a", nodeType("b"));
+        nodeTypes.put("b", nodeType("a"));
+        nodeTypes.put("c", nodeType("c"));
+
+        assertEquals(Arrays.asList(Collections.singletonList("c"), Collections.singletonList("a"), Collections.singletonList("b")),
+                NodeTypeCreationScheduler.sortByDerivedFrom(nodeTypes));
+    }
+
+    @Test
+    public void testCreateCommitsEachNodeType() {
+        List<ArtifactDefinition> createdArtifacts = new ArrayList<>();
+
+        Map<String, Resource> created = testSubject.create(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")),
+                (name, artifacts) -> {
+                    artifacts.add(artifact(name));
+                    return resource(name);
+                }, createdArtifacts);
+
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(created.keySet()));
+        assertEquals("c", created.get("c").getUniqueId());
+        assertEquals(3, createdArtifacts.size());
+        Mockito.verify(toscaOperationFacade, Mockito.times(3)).commit();
+        Mockito.verify(toscaOperationFacade, Mockito.never()).rollback();
+    }
+
+    @Test
+    public void testFailureDeletesCreatedNodeTypesAndArtifacts() {
+        Mockito.doReturn(Either.left(resource("a"))).when(toscaOperationFacade).deleteToscaComponent("a");
+        Mockito.when(artifactCassandraDao.deleteArtifact(Mockito.anyString())).thenReturn(CassandraOperationStatus.OK);
+        List<ArtifactDefinition> createdArtifacts = new ArrayList<>();
+        try {
+            testSubject.create(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")),
+                    (name, artifacts) -> {
+                        artifacts.add(artifact(name));
+                        if ("b".equals(name)) {
+                            throw new ByActionStatusComponentException(ActionStatus.GENERAL_ERROR);
+                        }
+                        return resource(name);
+                    }, createdArtifacts);
+            fail("the failure to create b should be thrown");
+        } catch (ByActionStatusComponentException e) {
+            assertEquals(ActionStatus.GENERAL_ERROR, e.getActionStatus());
+        }
+
+        assertTrue(createdArtifacts.isEmpty());
+        Mockito.verify(toscaOperationFacade).deleteToscaComponent("a");
+        Mockito.verify(toscaOperationFacade, Mockito.never()).deleteToscaComponent("c");
+        Mockito.verify(artifactCassandraDao).deleteArtifact("a-artifact");
+        Mockito.verify(artifactCassandraDao).deleteArtifact("b-artifact");
+        Mockito.verify(toscaOperationFacade, Mockito.times(1)).rollback();
+    }
+
+    @Test
+    public void testWorkersRunWithTheRequestContext() {
+        ThreadLocalsHolder.setUuid("requestId");
+        MDC.put("userId", "cs0008");
+        List<String> contexts = Collections.synchronizedList(new ArrayList<>());
+        try {
+            testSubject.create(Collections.singletonList(Arrays.asList("a", "b")), (name, artifacts) -> {
+                contexts.add(ThreadLocalsHolder.getUuid() + "/" + MDC.get("userId"));
+                return resource(name);
+            }, new ArrayList<>());
+        } finally {
+            ThreadLocalsHolder.cleanup();
+            MDC.clear();
+        }
+
+        assertEquals(Arrays.asList("requestId/cs0008", "requestId/cs0008"), contexts);
+        contexts.clear();
+        testSubject.create(Collections.singletonList(Arrays.asList("c", "d", "e", "f")), (name, artifacts) -> {
+            contexts.add(ThreadLocalsHolder.getUuid() + "/" + MDC.get("userId"));
+            return resource(name);
+        }, new ArrayList<>());
+        assertEquals(Collections.nCopies(4, "null/null"), contexts);
+    }
+
+    @Test
+    public void testDeleteCommittedNodeTypesInReverseOrder() {
+        Mockito.doReturn(Either.left(resource("a"))).when(toscaOperationFacade).deleteToscaComponent(Mockito.anyString());
+
+        testSubject.delete(Arrays.asList("a", "b"));
+
+        InOrder inOrder = Mockito.inOrder(toscaOperationFacade);
+        inOrder.verify(toscaOperationFacade).deleteToscaComponent("b");
+        inOrder.verify(toscaOperationFacade).deleteToscaComponent("a");
+        inOrder.verify(toscaOperationFacade).commit();
+    }
+
+    private static Map<String, Object> nodeType(String derivedFrom) {
+        Map<String, Object> nodeType = new LinkedHashMap<>();
+        if (derivedFrom != null) {
+            nodeType.put("derived_from", derivedFrom);
+        }
+        return nodeType;
+    }
+
+    private static Resource resource(String uniqueId) {
+        Resource resource = new Resource();
+        resource.setUniqueId(uniqueId);
+        return resource;
+    }
+
+    private static ArtifactDefinition artifact(String name) {
+        ArtifactDefinition artifact = new ArtifactDefinition();
+        artifact.setEsId(name + "-artifact");
+        return artifact;
+    }
+}
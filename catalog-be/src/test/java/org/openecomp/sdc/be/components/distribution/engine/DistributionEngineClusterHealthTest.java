@@ -31,6 +31,10 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
 public class DistributionEngineClusterHealthTest extends BeConfDependentTest{
 
 	private DistributionEngineClusterHealth createTestSubject() {
@@ -173,4 +177,23 @@ public class DistributionEngineClusterHealthTest extends BeConfDependentTest{
 		testSubject = createTestSubject();
 		testSubject.setHealthCheckOkAndReportInCaseLastStateIsDown();
 	}
+
+	@Test
+	public void testNotificationQueuesAreReportedWithTheHealthCheck() throws Exception {
+		DistributionEngineClusterHealth testSubject = createTestSubject();
+		HealthCheckInfo withoutQueues = testSubject.getHealthCheckInfo();
+		Map<String, Object> queueMetrics = new HashMap<>();
+		queueMetrics.put("queueDepth", 3);
+
+		testSubject.registerNotificationQueue("env", () -> queueMetrics);
+		HealthCheckInfo withQueues = testSubject.getHealthCheckInfo();
+
+		assertEquals(queueMetrics, testSubject.getNotificationQueueMetrics().get("env"));
+		assertEquals(withoutQueues.getHealthCheckStatus(), withQueues.getHealthCheckStatus());
+		assertEquals(1, withQueues.getComponentsInfo().size());
+		assertNull(withoutQueues.getComponentsInfo());
+
+		testSubject.unregisterNotificationQueue("env");
+		assertSame(withoutQueues, testSubject.getHealthCheckInfo());
+	}
 }
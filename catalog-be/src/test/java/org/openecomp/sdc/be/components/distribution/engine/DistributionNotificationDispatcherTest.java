@@ -0,0 +1,327 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.components.distribution.engine;
+
+import fj.data.Either;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.dao.cassandra.DistributionNotificationQueueDao;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.Service;
+import org.openecomp.sdc.be.model.User;
+import org.openecomp.sdc.be.resources.data.DistributionNotificationQueueEntry;
+import org.openecomp.sdc.be.resources.data.OperationalEnvironmentEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DistributionNotificationDispatcherTest {
+
+    private static final String ENV_ID = "env1";
+
+    private DistributionNotificationSender sender;
+    private EnvironmentsEngine environmentsEngine;
+    private DistributionNotificationQueueDao queueDao;
+    private DistributionEngineClusterHealth clusterHealth;
+    private DistributionNotificationDispatcher dispatcher;
+    private EnvironmentMessageBusData messageBusData;
+    private INotificationData notificationData;
+    private Service service;
+    private User modifier;
+
+    @Before
+    public void initDispatcher() {
+        sender = mock(DistributionNotificationSender.class);
+        environmentsEngine = mock(EnvironmentsEngine.class);
+        queueDao = mock(DistributionNotificationQueueDao.class);
+        clusterHealth = mock(DistributionEngineClusterHealth.class);
+        when(sender.toJson(any())).thenReturn("{}");
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenReturn(ActionStatus.OK);
+        when(queueDao.save(any())).thenReturn(CassandraOperationStatus.OK);
+        when(queueDao.getAll()).thenReturn(Either.left(Collections.emptyList()));
+        when(queueDao.claim(anyString(), any(), anyString(), any(), any())).thenReturn(CassandraOperationStatus.OK);
+        when(queueDao.renew(anyString(), any(), anyString(), any())).thenReturn(CassandraOperationStatus.OK);
+        dispatcher = new DistributionNotificationDispatcher(sender, environmentsEngine, queueDao, clusterHealth);
+        messageBusData = new EnvironmentMessageBusData();
+        messageBusData.setEnvId(ENV_ID);
+        notificationData = mock(INotificationData.class);
+        when(notificationData.getWorkloadContext()).thenReturn("Production");
+        service = new Service();
+        service.setUUID("serviceUuid");
+        service.setName("service");
+        service.setVersion("1.0");
+        service.setLifecycleState(LifecycleStateEnum.CERTIFIED);
+        modifier = new User("first", "last", "cs0008", null, null, null);
+    }
+
+    @After
+    public void destroyDispatcher() {
+        dispatcher.destroy();
+    }
+
+    private void start(int queueSize, boolean persistent, boolean waitForPublish) {
+        start(queueSize, 1, 5000, persistent, waitForPublish);
+    }
+
+    private void start(int queueSize, long retryIntervalMillis, long publishTimeoutMillis, boolean persistent,
+            boolean waitForPublish) {
+        dispatcher.configure(queueSize, 1, 10, 50, 10, 2, retryIntervalMillis, publishTimeoutMillis, 60000, persistent,
+                waitForPublish);
+        dispatcher.start();
+    }
+
+    private ActionStatus dispatch(String topicName) {
+        return dispatcher.dispatch(topicName, "distributionId", messageBusData, notificationData, service, modifier);
+    }
+
+    @Test
+    public void testNotificationsOfATopicArePublishedTogether() {
+        Map<String, AtomicInteger> publishedPerTopic = new ConcurrentHashMap<>();
+        AtomicInteger publishes = new AtomicInteger();
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenAnswer(invocation -> {
+            List<?> notifications = invocation.getArgument(2);
+            publishedPerTopic.computeIfAbsent(invocation.getArgument(0), topic -> new AtomicInteger())
+                    .addAndGet(notifications.size());
+            publishes.incrementAndGet();
+            return ActionStatus.OK;
+        });
+        start(100, false, false);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(ActionStatus.OK, dispatch(i % 2 == 0 ? "topicA" : "topicB"));
+        }
+        dispatcher.destroy();
+
+        assertEquals(5, publishedPerTopic.get("topicA").get());
+        assertEquals(5, publishedPerTopic.get("topicB").get());
+        assertTrue(publishes.get() < 10);
+        verify(clusterHealth).registerNotificationQueue(eq(ENV_ID), any());
+    }
+
+    @Test
+    public void testWaitForPublishReturnsTheStatus() {
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenReturn(ActionStatus.AUTHENTICATION_ERROR);
+        start(100, false, true);
+
+        assertEquals(ActionStatus.AUTHENTICATION_ERROR, dispatch("topic"));
+        verify(sender, times(1)).sendNotifications(anyString(), any(), anyList());
+    }
+
+    @Test
+    public void testTransientFailureIsRetried() {
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenReturn(ActionStatus.CONNNECTION_ERROR)
+                .thenReturn(ActionStatus.OK);
+        start(100, false, true);
+
+        assertEquals(ActionStatus.OK, dispatch("topic"));
+        assertEquals(1L, dispatcher.getMetrics().get(ENV_ID).get("retries"));
+        assertEquals(1L, dispatcher.getMetrics().get(ENV_ID).get("published"));
+    }
+
+    @Test
+    public void testFailureIsReturnedAfterTheLastRetry() {
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenReturn(ActionStatus.GENERAL_ERROR);
+        start(100, false, true);
+
+        assertEquals(ActionStatus.GENERAL_ERROR, dispatch("topic"));
+        verify(sender, times(3)).sendNotifications(anyString(), any(), anyList());
+        assertEquals(1L, dispatcher.getMetrics().get(ENV_ID).get("failed"));
+    }
+
+    @Test
+    public void testFullQueueRejectsTheNotification() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenAnswer(invocation -> {
+            publishing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return ActionStatus.OK;
+        });
+        start(1, false, false);
+
+        assertEquals(ActionStatus.OK, dispatch("topic"));
+        assertTrue(publishing.await(10, TimeUnit.SECONDS));
+        assertEquals(ActionStatus.OK, dispatch("topic"));
+        assertEquals(ActionStatus.GENERAL_ERROR, dispatch("topic"));
+        assertEquals(1L, dispatcher.getMetrics().get(ENV_ID).get("rejected"));
+        release.countDown();
+    }
+
+    @Test
+    public void testPersistedNotificationIsDeletedOncePublished() {
+        start(100, true, true);
+
+        assertEquals(ActionStatus.OK, dispatch("topic"));
+        ArgumentCaptor<DistributionNotificationQueueEntry> saved =
+                ArgumentCaptor.forClass(DistributionNotificationQueueEntry.class);
+        verify(queueDao).save(saved.capture());
+        assertEquals(ENV_ID, saved.getValue().getEnvId());
+        assertEquals("serviceUuid", saved.getValue().getServiceUuid());
+        assertEquals("cs0008", saved.getValue().getModifierId());
+        assertNotNull(saved.getValue().getOwner());
+        assertNotNull(saved.getValue().getLeaseExpires());
+        verify(queueDao).delete(ENV_ID, saved.getValue().getId(), saved.getValue().getOwner());
+    }
+
+    @Test
+    public void testFailedNotificationIsKeptAsDeadLetter() {
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenReturn(ActionStatus.AUTHENTICATION_ERROR);
+        start(100, true, true);
+
+        assertEquals(ActionStatus.AUTHENTICATION_ERROR, dispatch("topic"));
+        ArgumentCaptor<DistributionNotificationQueueEntry> saved =
+                ArgumentCaptor.forClass(DistributionNotificationQueueEntry.class);
+        verify(queueDao).save(saved.capture());
+        verify(queueDao).fail(ENV_ID, saved.getValue().getId(), saved.getValue().getOwner(),
+                ActionStatus.AUTHENTICATION_ERROR.name());
+        verify(queueDao, never()).delete(anyString(), any(), anyString());
+    }
+
+    @Test
+    public void testWaitForPublishTimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return ActionStatus.OK;
+        });
+        start(100, 1, 50, false, true);
+
+        assertEquals(ActionStatus.GENERAL_ERROR, dispatch("topic"));
+        release.countDown();
+    }
+
+    @Test
+    public void testNotificationNotPublishedOnShutdownIsLeftToBeTakenOver() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenAnswer(invocation -> {
+            publishing.countDown();
+            return ActionStatus.CONNNECTION_ERROR;
+        });
+        start(100, 500, 10000, true, true);
+
+        CompletableFuture<ActionStatus> result = CompletableFuture.supplyAsync(() -> dispatch("topic"));
+        assertTrue(publishing.await(10, TimeUnit.SECONDS));
+        dispatcher.destroy();
+
+        assertEquals(ActionStatus.GENERAL_ERROR, result.get(10, TimeUnit.SECONDS));
+        verify(queueDao, never()).delete(anyString(), any(), anyString());
+        verify(queueDao, never()).fail(anyString(), any(), anyString(), anyString());
+    }
+
+    @Test
+    public void testLeasesOfQueuedNotificationsAreRenewed() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sender.sendNotifications(anyString(), any(), anyList())).thenAnswer(invocation -> {
+            publishing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return ActionStatus.OK;
+        });
+        start(100, true, false);
+
+        assertEquals(ActionStatus.OK, dispatch("topic"));
+        assertTrue(publishing.await(10, TimeUnit.SECONDS));
+        dispatcher.renewLeases();
+        release.countDown();
+
+        ArgumentCaptor<DistributionNotificationQueueEntry> saved =
+                ArgumentCaptor.forClass(DistributionNotificationQueueEntry.class);
+        verify(queueDao).save(saved.capture());
+        verify(queueDao).renew(eq(ENV_ID), eq(saved.getValue().getId()), eq(saved.getValue().getOwner()), any());
+    }
+
+    @Test
+    public void testOrphanedNotificationsAreRecovered() {
+        DistributionNotificationQueueEntry pending = pendingEntry(ENV_ID, "be0", -1000);
+        DistributionNotificationQueueEntry leased = pendingEntry(ENV_ID, "be0", 60000);
+        DistributionNotificationQueueEntry failed = pendingEntry(ENV_ID, null, -1000);
+        failed.setFailure(ActionStatus.GENERAL_ERROR.name());
+        DistributionNotificationQueueEntry orphan = pendingEntry("removed", "be0", -1000);
+        when(queueDao.getAll()).thenReturn(Either.left(Arrays.asList(pending, leased, failed, orphan)));
+        OperationalEnvironmentEntry environment = new OperationalEnvironmentEntry();
+        environment.setEnvironmentId(ENV_ID);
+        environment.setDmaapUebAddress(Collections.singleton("ueb"));
+        when(environmentsEngine.getEnvironmentById(ENV_ID)).thenReturn(environment);
+        start(100, true, true);
+
+        dispatcher.recover();
+        dispatcher.destroy();
+
+        verify(sender).sendNotifications(eq("topic"), any(), anyList());
+        verify(queueDao).claim(eq(ENV_ID), eq(pending.getId()), anyString(), any(), eq("be0"));
+        verify(queueDao).delete(eq(ENV_ID), eq(pending.getId()), anyString());
+        verify(queueDao, never()).claim(eq(ENV_ID), eq(leased.getId()), anyString(), any(), any());
+        verify(queueDao, never()).claim(eq(ENV_ID), eq(failed.getId()), anyString(), any(), any());
+        verify(queueDao).fail(eq("removed"), eq(orphan.getId()), anyString(),
+                eq(ActionStatus.DISTRIBUTION_ENVIRONMENT_NOT_FOUND.name()));
+    }
+
+    @Test
+    public void testNotificationClaimedByAnotherBeIsNotRecovered() {
+        DistributionNotificationQueueEntry pending = pendingEntry(ENV_ID, "be0", -1000);
+        when(queueDao.getAll()).thenReturn(Either.left(Collections.singletonList(pending)));
+        when(queueDao.claim(anyString(), any(), anyString(), any(), any())).thenReturn(CassandraOperationStatus.ALREADY_LOCKED);
+        start(100, true, true);
+
+        dispatcher.recover();
+        dispatcher.destroy();
+
+        verify(sender, never()).sendNotifications(anyString(), any(), anyList());
+        verify(environmentsEngine, never()).getEnvironmentById(anyString());
+    }
+
+    private static DistributionNotificationQueueEntry pendingEntry(String envId, String owner, long leaseInMs) {
+        DistributionNotificationQueueEntry entry = new DistributionNotificationQueueEntry();
+        entry.setEnvId(envId);
+        entry.setId(UUID.randomUUID());
+        entry.setTopicName("topic");
+        entry.setMessage("{}");
+        entry.setServiceState(LifecycleStateEnum.CERTIFIED.name());
+        entry.setOwner(owner);
+        entry.setLeaseExpires(new Date(System.currentTimeMillis() + leaseInMs));
+        return entry;
+    }
+}
@@ -0,0 +1,116 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.be.components.distribution.engine;
+
+import mockit.Deencapsulation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openecomp.sdc.be.config.DistributionEngineConfiguration.DistributionNotificationTopicConfig;
+import org.openecomp.sdc.be.config.DistributionEngineConfiguration.DistributionStatusTopicConfig;
+import org.openecomp.sdc.be.dao.api.ActionStatus;
+import org.openecomp.sdc.be.distribution.api.client.CambriaOperationStatus;
+import org.openecomp.sdc.be.impl.ComponentsUtils;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.Service;
+import org.openecomp.sdc.be.model.User;
+import org.openecomp.sdc.common.util.ThreadLocalsHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DistributionNotificationSenderTest {
+
+    private final List<String> audits = new ArrayList<>();
+    private CambriaHandler cambriaHandler;
+    private DistributionNotificationSender sender;
+    private EnvironmentMessageBusData messageBusData;
+
+    @Before
+    public void initSender() {
+        DummyDistributionConfigurationManager configurationManager = new DummyDistributionConfigurationManager();
+        DistributionNotificationTopicConfig topicConfig = new DistributionNotificationTopicConfig();
+        topicConfig.setMaxWaitingAfterSendingSeconds(5);
+        when(configurationManager.getConfigurationMock().getDistributionNotificationTopic()).thenReturn(topicConfig);
+        when(configurationManager.getConfigurationMock().getDistributionStatusTopic())
+                .thenReturn(new DistributionStatusTopicConfig());
+        cambriaHandler = mock(CambriaHandler.class);
+        ComponentsUtils componentsUtils = mock(ComponentsUtils.class);
+        doAnswer(invocation -> audits.add(ThreadLocalsHolder.getUuid() + ":" + invocation.getArgument(8) + ":"
+                + invocation.getArgument(10))).when(componentsUtils).auditDistributionNotification(anyString(),
+                anyString(), anyString(), anyString(), any(), any(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), any(), any());
+        sender = new DistributionNotificationSender();
+        sender.componentUtils = componentsUtils;
+        Deencapsulation.setField(sender, "cambriaHandler", cambriaHandler);
+        messageBusData = new EnvironmentMessageBusData();
+        messageBusData.setEnvId("env1");
+    }
+
+    @After
+    public void cleanup() {
+        ThreadLocalsHolder.cleanup();
+    }
+
+    @Test
+    public void testEachNotificationIsAuditedWithItsStatusInItsRequest() {
+        QueuedDistributionNotification first = createNotification("request1", "distribution1");
+        QueuedDistributionNotification second = createNotification("request2", "distribution2");
+        when(cambriaHandler.sendEachNotificationAndClose(anyString(), any(), any(), any(), anyList(), anyLong()))
+                .thenReturn(Arrays.asList(new CambriaErrorResponse(CambriaOperationStatus.OK, 200),
+                        new CambriaErrorResponse(CambriaOperationStatus.INTERNAL_SERVER_ERROR, 500)));
+
+        ActionStatus status = sender.sendNotifications("topic", messageBusData, Arrays.asList(first, second));
+
+        assertEquals(ActionStatus.GENERAL_ERROR, status);
+        assertEquals(Arrays.asList("request1:distribution1:200", "request2:distribution2:500"), audits);
+        assertNull(ThreadLocalsHolder.getUuid());
+    }
+
+    private QueuedDistributionNotification createNotification(String requestId, String distributionId) {
+        Service service = new Service();
+        service.setUUID("serviceUuid");
+        service.setName("service");
+        service.setVersion("1.0");
+        service.setLifecycleState(LifecycleStateEnum.CERTIFIED);
+        ThreadLocalsHolder.setUuid(requestId);
+        try {
+            return new QueuedDistributionNotification(UUID.randomUUID(), "topic", distributionId, messageBusData,
+                    "{\"distributionID\":\"" + distributionId + "\"}", "Production", service,
+                    new User("first", "last", "cs0008", null, null, null));
+        } finally {
+            ThreadLocalsHolder.cleanup();
+        }
+    }
+}
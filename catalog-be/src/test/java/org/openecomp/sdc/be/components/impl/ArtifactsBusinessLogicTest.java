@@ -98,6 +98,7 @@ import org.openecomp.sdc.be.model.operations.impl.InterfaceLifecycleOperation;
 import org.openecomp.sdc.be.resources.data.ESArtifactData;
 import org.openecomp.sdc.be.resources.data.auditing.AuditingActionEnum;
 import org.openecomp.sdc.be.servlets.RepresentationUtils;
+import org.openecomp.sdc.be.tosca.CsarPayload;
 import org.openecomp.sdc.be.tosca.CsarUtils;
 import org.openecomp.sdc.be.tosca.ToscaExportHandler;
 import org.openecomp.sdc.be.user.IUserBusinessLogic;
@@ -122,6 +123,7 @@ import java.util.Map;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -1641,6 +1643,30 @@ public class ArtifactsBusinessLogicTest extends BaseBusinessLogicMock{
         assertEquals(csarArtifact.getArtifactName(), leftResult.getKey());
     }
 
+    @Test
+    public void testHandleDownloadToscaModelStreamRequest() {
+        ArtifactsBusinessLogic testSubject = getTestSubject();
+        CsarPayload generatedCsar = CsarPayload.of("test.csar".getBytes());
+
+        Resource resource = new Resource();
+        resource.setComponentType(ComponentTypeEnum.RESOURCE);
+
+        ArtifactDefinition csarArtifact = new ArtifactDefinition();
+        csarArtifact.setArtifactName("csarArtifact");
+        csarArtifact.setArtifactType(ArtifactTypeEnum.HEAT_ENV.name());
+        csarArtifact.setArtifactGroupType(ArtifactGroupTypeEnum.TOSCA);
+
+        when(csarUtils.createSpooledCsar(any(Component.class), anyBoolean(), anyBoolean()))
+                .thenReturn(Either.left(generatedCsar));
+
+        Either<ImmutablePair<String, CsarPayload>, ResponseFormat> result =
+                testSubject.handleDownloadToscaModelStreamRequest(resource, csarArtifact);
+
+        ImmutablePair<String, CsarPayload> leftResult = result.left().value();
+        assertEquals(csarArtifact.getArtifactName(), leftResult.getKey());
+        assertSame(generatedCsar, leftResult.getValue());
+    }
+
     @Test
     public void testHandleDownloadRequestById_returnsSuccessful() {
         String componentId = "componentId";
@@ -0,0 +1,378 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.components.impl;
+
+import fj.data.Either;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraphVertex;
+import org.mockito.Mockito;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
+import org.openecomp.sdc.be.dao.jsongraph.GraphVertex;
+import org.openecomp.sdc.be.dao.jsongraph.HealingJanusGraphDao;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgePropertyEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.JsonParseFlagEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.dao.jsongraph.utils.JsonParserUtils;
+import org.openecomp.sdc.be.datatypes.elements.ComponentInstanceDataDefinition;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+import org.openecomp.sdc.be.model.ArtifactDefinition;
+import org.openecomp.sdc.be.model.CapabilityDefinition;
+import org.openecomp.sdc.be.model.ComponentInstance;
+import org.openecomp.sdc.be.model.ComponentInstanceInput;
+import org.openecomp.sdc.be.model.ComponentInstanceProperty;
+import org.openecomp.sdc.be.model.PropertyDefinition;
+import org.openecomp.sdc.be.model.RequirementDefinition;
+import org.openecomp.sdc.be.model.User;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.NodeTemplateOperation;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.TopologyTemplateOperation;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.common.api.ConfigurationSource;
+import org.openecomp.sdc.common.impl.ExternalConfiguration;
+import org.openecomp.sdc.common.impl.FSConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Persists the component instances of a VF imported from a CSAR - their instance edges and their properties, inputs,
+ * artifacts, calculated capabilities, requirements and attributes - through a simulated graph with a fixed latency per
+ * round trip, in which the data vertices of the VF already exist. Every 10 instances share an origin.
+ * "perInstance" replays the calls of the import before the bulk path, creating the instance edges and the calculated
+ * capabilities and requirements instance by instance; "bulk" builds the data of all the instances first.
+ * Not a unit test, run with the main method or through the jmh runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentInstancesImportBenchmark {
+
+    private static final long ROUND_TRIP_LATENCY_MICROS = 200;
+    private static final int INSTANCES_PER_ORIGIN = 10;
+    private static final String VF_ID = "vf";
+    private static final EnumSet<EdgeLabelEnum> EXISTING_DATA = EnumSet.of(EdgeLabelEnum.CALCULATED_CAPABILITIES,
+            EdgeLabelEnum.CALCULATED_REQUIREMENTS, EdgeLabelEnum.FULLFILLED_CAPABILITIES,
+            EdgeLabelEnum.FULLFILLED_REQUIREMENTS, EdgeLabelEnum.CALCULATED_CAP_PROPERTIES);
+
+    @Param({"100", "500"})
+    private int instances;
+
+    @Param({"perInstance", "bulk"})
+    private String mode;
+
+    private SimulatedGraphDao graphDao;
+    private ToscaOperationFacade toscaOperationFacade;
+    private NodeTemplateOperation nodeTemplateOperation;
+    private final User user = new User();
+
+    private final List<ComponentInstanceDataDefinition> componentInstances = new ArrayList<>();
+    private final Map<String, List<ComponentInstanceProperty>> instProperties = new HashMap<>();
+    private final Map<String, List<ComponentInstanceInput>> instInputs = new HashMap<>();
+    private final Map<String, Map<String, ArtifactDefinition>> instDeploymentArtifacts = new HashMap<>();
+    private final Map<String, Map<String, ArtifactDefinition>> instArtifacts = new HashMap<>();
+    private final Map<ComponentInstance, Map<String, List<CapabilityDefinition>>> instCapabilities = new HashMap<>();
+    private final Map<ComponentInstance, Map<String, List<RequirementDefinition>>> instRequirements = new HashMap<>();
+    private final Map<String, List<PropertyDefinition>> instAttributes = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        ExternalConfiguration.setAppName("catalog-be");
+        ConfigurationSource configurationSource = new FSConfigurationSource(ExternalConfiguration.getChangeListener(),
+                "src/test/resources/config/catalog-be");
+        new ConfigurationManager(configurationSource);
+        for (int i = 0; i < instances; i++) {
+            createInstance(i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createGraph() {
+        graphDao = new SimulatedGraphDao();
+        nodeTemplateOperation = new NodeTemplateOperation();
+        nodeTemplateOperation.setJanusGraphDao(graphDao);
+        TopologyTemplateOperation topologyTemplateOperation = new TopologyTemplateOperation();
+        topologyTemplateOperation.setJanusGraphDao(graphDao);
+        toscaOperationFacade = new ToscaOperationFacade();
+        toscaOperationFacade.setJanusGraphDao(graphDao);
+        toscaOperationFacade.setNodeTemplateOperation(nodeTemplateOperation);
+        toscaOperationFacade.setTopologyTemplateOperation(topologyTemplateOperation);
+    }
+
+    @Benchmark
+    public int importInstances() {
+        GraphVertex vfVertex = graphDao.getVertexById(VF_ID).left().value();
+        if ("bulk".equals(mode)) {
+            check(nodeTemplateOperation.createInstanceEdges(vfVertex, componentInstances));
+            check(toscaOperationFacade.associateComponentInstancesDataToComponent(VF_ID, instProperties, instInputs,
+                    instDeploymentArtifacts, instArtifacts, instCapabilities, instRequirements, instAttributes, user));
+        } else {
+            componentInstances.forEach(instance -> check(nodeTemplateOperation.createInstanceEdge(vfVertex, instance)));
+            toscaOperationFacade.associateComponentInstancePropertiesToComponent(instProperties, VF_ID);
+            toscaOperationFacade.associateComponentInstanceInputsToComponent(instInputs, VF_ID);
+            check(toscaOperationFacade.associateDeploymentArtifactsToInstances(instDeploymentArtifacts, VF_ID, user));
+            check(toscaOperationFacade.associateArtifactsToInstances(instArtifacts, VF_ID));
+            instCapabilities.forEach((instance, capabilities) -> check(toscaOperationFacade.associateOrAddCalculatedCapReq(
+                    Collections.singletonMap(instance, capabilities),
+                    Collections.singletonMap(instance, instRequirements.get(instance)), VF_ID)));
+            check(toscaOperationFacade.associateInstAttributeToComponentToInstances(instAttributes, VF_ID));
+        }
+        return graphDao.roundTrips;
+    }
+
+    private static void check(StorageOperationStatus status) {
+        if (status != StorageOperationStatus.OK) {
+            throw new IllegalStateException("failed to import the instances, status " + status);
+        }
+    }
+
+    private void createInstance(int index) {
+        ComponentInstance instance = new ComponentInstance();
+        instance.setUniqueId("instance" + index);
+        instance.setName("instance" + index);
+        instance.setComponentUid("origin" + index / INSTANCES_PER_ORIGIN);
+        componentInstances.add(new ComponentInstanceDataDefinition(instance));
+
+        List<ComponentInstanceProperty> properties = new ArrayList<>();
+        List<PropertyDefinition> attributes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ComponentInstanceProperty property = new ComponentInstanceProperty();
+            property.setName("property" + i);
+            property.setType("string");
+            property.setValue("value" + index);
+            properties.add(property);
+            PropertyDefinition attribute = new PropertyDefinition();
+            attribute.setName("attribute" + i);
+            attribute.setType("string");
+            attributes.add(attribute);
+        }
+        instProperties.put(instance.getUniqueId(), properties);
+        instAttributes.put(instance.getUniqueId(), attributes);
+        ComponentInstanceInput input = new ComponentInstanceInput();
+        input.setName("input");
+        input.setType("string");
+        instInputs.put(instance.getUniqueId(), Collections.singletonList(input));
+
+        instDeploymentArtifacts.put(instance.getUniqueId(), Collections.singletonMap("deployment", createArtifact("deployment")));
+        instArtifacts.put(instance.getUniqueId(), Collections.singletonMap("informational", createArtifact("informational")));
+
+        CapabilityDefinition capability = new CapabilityDefinition();
+        capability.setName("feature");
+        capability.setType("tosca.capabilities.Node");
+        capability.setUniqueId(instance.getUniqueId() + ".feature");
+        capability.setOwnerId(instance.getComponentUid());
+        ComponentInstanceProperty capabilityProperty = new ComponentInstanceProperty();
+        capabilityProperty.setName("name");
+        capabilityProperty.setType("string");
+        capability.setProperties(Collections.singletonList(capabilityProperty));
+        instCapabilities.put(instance, Collections.singletonMap(capability.getType(), Collections.singletonList(capability)));
+        RequirementDefinition requirement = new RequirementDefinition();
+        requirement.setName("dependency");
+        requirement.setCapability("tosca.capabilities.Node");
+        requirement.setUniqueId(instance.getUniqueId() + ".dependency");
+        requirement.setOwnerId(instance.getComponentUid());
+        instRequirements.put(instance, Collections.singletonMap(requirement.getCapability(), Collections.singletonList(requirement)));
+    }
+
+    private static ArtifactDefinition createArtifact(String label) {
+        ArtifactDefinition artifact = new ArtifactDefinition();
+        artifact.setArtifactLabel(label);
+        artifact.setArtifactName(label + ".yml");
+        artifact.setArtifactType("OTHER");
+        return artifact;
+    }
+
+    /**
+     * Keeps the vertices and edges of the VF in memory, in the serialized form the graph keeps them, and parks for
+     * the latency of a round trip on every read and write.
+     */
+    private static class SimulatedGraphDao extends HealingJanusGraphDao {
+
+        private final Map<Vertex, String> idsByVertex = new IdentityHashMap<>();
+        private final Map<String, JanusGraphVertex> vertices = new HashMap<>();
+        private final Map<String, VertexTypeEnum> labels = new HashMap<>();
+        private final Map<String, String> jsons = new HashMap<>();
+        private final Map<String, String> dataVertexIds = new HashMap<>();
+        private final Map<String, Edge> instanceEdges = new HashMap<>();
+        private final Map<Edge, List<String>> edgeInstances = new IdentityHashMap<>();
+        private final JanusGraphVertex vfVertex;
+        private int roundTrips;
+
+        SimulatedGraphDao() {
+            super(null, null);
+            vfVertex = register(VF_ID, VertexTypeEnum.TOPOLOGY_TEMPLATE);
+            for (EdgeLabelEnum label : EXISTING_DATA) {
+                String dataId = VF_ID + "." + label;
+                register(dataId, VertexTypeEnum.valueOf(label.name()));
+                jsons.put(dataId, "{}");
+                dataVertexIds.put(VF_ID + label, dataId);
+            }
+        }
+
+        private JanusGraphVertex register(String id, VertexTypeEnum label) {
+            JanusGraphVertex vertex = Mockito.mock(JanusGraphVertex.class);
+            Edge edgeFromVf = Mockito.mock(Edge.class);
+            Mockito.when(edgeFromVf.outVertex()).thenAnswer(invocation -> vfVertex);
+            Mockito.when(vertex.edges(Mockito.eq(Direction.IN), anyString()))
+                    .thenAnswer(invocation -> Collections.singletonList(edgeFromVf).iterator());
+            idsByVertex.put(vertex, id);
+            vertices.put(id, vertex);
+            labels.put(id, label);
+            return vertex;
+        }
+
+        private void roundTrip() {
+            roundTrips++;
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(ROUND_TRIP_LATENCY_MICROS));
+        }
+
+        private GraphVertex read(String id, JsonParseFlagEnum parseFlag) {
+            GraphVertex graphVertex = new GraphVertex(labels.get(id));
+            graphVertex.setUniqueId(id);
+            graphVertex.setVertex(vertices.get(id));
+            if (parseFlag != JsonParseFlagEnum.NoParse && jsons.containsKey(id)) {
+                graphVertex.setJson(JsonParserUtils.toMap(jsons.get(id), labels.get(id).getClassOfJson()));
+            }
+            return graphVertex;
+        }
+
+        @Override
+        public Either<GraphVertex, JanusGraphOperationStatus> getVertexById(String id) {
+            return getVertexById(id, JsonParseFlagEnum.ParseAll);
+        }
+
+        @Override
+        public Either<GraphVertex, JanusGraphOperationStatus> getVertexById(String id, JsonParseFlagEnum parseFlag) {
+            roundTrip();
+            if (!vertices.containsKey(id)) {
+                register(id, VertexTypeEnum.NODE_TYPE);
+            }
+            return Either.left(read(id, parseFlag));
+        }
+
+        @Override
+        public Either<GraphVertex, JanusGraphOperationStatus> getChildVertex(GraphVertex parentVertex, EdgeLabelEnum edgeLabel, JsonParseFlagEnum parseFlag) {
+            roundTrip();
+            String dataId = dataVertexIds.get(parentVertex.getUniqueId() + edgeLabel);
+            return dataId == null ? Either.right(JanusGraphOperationStatus.NOT_FOUND) : Either.left(read(dataId, parseFlag));
+        }
+
+        @Override
+        public Either<GraphVertex, JanusGraphOperationStatus> createVertex(GraphVertex graphVertex) {
+            roundTrip();
+            graphVertex.setVertex(register(graphVertex.getUniqueId(), graphVertex.getLabel()));
+            return store(graphVertex);
+        }
+
+        @Override
+        public Either<GraphVertex, JanusGraphOperationStatus> updateVertex(GraphVertex graphVertex) {
+            roundTrip();
+            return store(graphVertex);
+        }
+
+        private Either<GraphVertex, JanusGraphOperationStatus> store(GraphVertex graphVertex) {
+            if (graphVertex.getJson() != null) {
+                try {
+                    jsons.put(graphVertex.getUniqueId(), JsonParserUtils.toJson(graphVertex.getJson()));
+                } catch (IOException e) {
+                    return Either.right(JanusGraphOperationStatus.GENERAL_ERROR);
+                }
+            }
+            return Either.left(graphVertex);
+        }
+
+        @Override
+        public JanusGraphOperationStatus createEdge(Vertex from, Vertex to, EdgeLabelEnum label, Map<EdgePropertyEnum, Object> properties) {
+            roundTrip();
+            dataVertexIds.put(idsByVertex.get(from) + label, idsByVertex.get(to));
+            return JanusGraphOperationStatus.OK;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JanusGraphOperationStatus createEdge(GraphVertex from, GraphVertex to, EdgeLabelEnum label, Map<EdgePropertyEnum, Object> properties) {
+            roundTrip();
+            Edge edge = Mockito.mock(Edge.class);
+            Mockito.when(edge.property(anyString(), any())).thenAnswer(invocation -> {
+                edgeInstances.put(edge, JsonParserUtils.toList(invocation.getArgument(1), String.class));
+                return null;
+            });
+            edgeInstances.put(edge, new ArrayList<>((List<String>) properties.get(EdgePropertyEnum.INSTANCES)));
+            instanceEdges.put(label + to.getUniqueId(), edge);
+            return JanusGraphOperationStatus.OK;
+        }
+
+        @Override
+        public Either<Edge, JanusGraphOperationStatus> getEdgeByChildrenVertexProperties(GraphVertex vertex, EdgeLabelEnum label, Map<GraphPropertyEnum, Object> properties) {
+            roundTrip();
+            Edge edge = instanceEdges.get(label + (String) properties.get(GraphPropertyEnum.UNIQUE_ID));
+            return edge == null ? Either.right(JanusGraphOperationStatus.NOT_FOUND) : Either.left(edge);
+        }
+
+        @Override
+        public Object getProperty(JanusGraphVertex vertex, String key) {
+            return idsByVertex.get(vertex);
+        }
+
+        @Override
+        public Object getProperty(Edge edge, EdgePropertyEnum key) {
+            return new ArrayList<>(edgeInstances.get(edge));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ComponentInstancesImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
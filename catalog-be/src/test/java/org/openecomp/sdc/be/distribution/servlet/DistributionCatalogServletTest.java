@@ -0,0 +1,66 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.distribution.servlet;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DistributionCatalogServletTest {
+
+    @Test
+    public void testParseRange() {
+        assertEquals(ImmutablePair.of(0L, 99L), DistributionCatalogServlet.parseRange("bytes=0-99", 1000));
+        assertEquals(ImmutablePair.of(500L, 999L), DistributionCatalogServlet.parseRange("bytes=500-", 1000));
+        assertEquals(ImmutablePair.of(900L, 999L), DistributionCatalogServlet.parseRange("bytes=-100", 1000));
+        assertEquals(ImmutablePair.of(900L, 999L), DistributionCatalogServlet.parseRange("bytes=900-5000", 1000));
+        assertEquals(ImmutablePair.of(0L, 999L), DistributionCatalogServlet.parseRange("bytes=-5000", 1000));
+    }
+
+    @Test
+    public void testParseRangeNotSatisfiable() {
+        ImmutablePair<Long, Long> range = DistributionCatalogServlet.parseRange("bytes=1000-", 1000);
+        assertTrue(range.getLeft() > range.getRight());
+        range = DistributionCatalogServlet.parseRange("bytes=-0", 1000);
+        assertTrue(range.getLeft() > range.getRight());
+    }
+
+    @Test
+    public void testParseRangeUnsupported() {
+        assertNull(DistributionCatalogServlet.parseRange("bytes=0-9,20-29", 1000));
+        assertNull(DistributionCatalogServlet.parseRange("items=0-9", 1000));
+        assertNull(DistributionCatalogServlet.parseRange("bytes=-", 1000));
+        assertNull(DistributionCatalogServlet.parseRange("bytes=9-0", 1000));
+    }
+
+    @Test
+    public void testIsSingleByteRange() {
+        assertTrue(DistributionCatalogServlet.isSingleByteRange("bytes=0-99"));
+        assertTrue(DistributionCatalogServlet.isSingleByteRange("bytes=-0"));
+        assertFalse(DistributionCatalogServlet.isSingleByteRange(null));
+        assertFalse(DistributionCatalogServlet.isSingleByteRange("bytes=0-9,20-29"));
+        assertFalse(DistributionCatalogServlet.isSingleByteRange("bytes=99999999999999999999-"));
+    }
+}
@@ -0,0 +1,90 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.tosca;
+
+import org.junit.Test;
+import org.openecomp.sdc.common.util.GeneralUtility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CsarPayloadTest {
+
+    @Test
+    public void testSpooledInMemory() throws IOException {
+        byte[] data = "small csar".getBytes();
+        try (CsarPayload csarPayload = spool(data, 1024)) {
+            assertTrue(csarPayload.isInMemory());
+            assertPayload(data, csarPayload);
+        }
+    }
+
+    @Test
+    public void testSpooledToFile() throws IOException {
+        byte[] data = new byte[4096];
+        Arrays.fill(data, (byte) 'a');
+        CsarPayload csarPayload = spool(data, 1024);
+        assertFalse(csarPayload.isInMemory());
+        assertPayload(data, csarPayload);
+        csarPayload.close();
+    }
+
+    @Test
+    public void testOfBytes() throws IOException {
+        byte[] data = "csar".getBytes();
+        try (CsarPayload csarPayload = CsarPayload.of(data)) {
+            assertTrue(csarPayload.isInMemory());
+            assertPayload(data, csarPayload);
+        }
+    }
+
+    @Test
+    public void testCloseReleasesIncompleteSpool() throws IOException {
+        CsarPayload csarPayload = CsarPayload.spooled(16);
+        csarPayload.getOutputStream().write(new byte[64]);
+        assertFalse(csarPayload.isInMemory());
+
+        csarPayload.close();
+        csarPayload.close();
+
+        assertFalse(csarPayload.getSpoolFile().exists());
+    }
+
+    private CsarPayload spool(byte[] data, int memoryThreshold) throws IOException {
+        CsarPayload csarPayload = CsarPayload.spooled(memoryThreshold);
+        csarPayload.getOutputStream().write(data);
+        csarPayload.complete();
+        return csarPayload;
+    }
+
+    private void assertPayload(byte[] data, CsarPayload csarPayload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csarPayload.writeTo(out);
+        assertTrue(Arrays.equals(data, out.toByteArray()));
+        assertEquals(data.length, csarPayload.getSize());
+        assertEquals(GeneralUtility.calculateMD5Base64EncodedByByteArray(data), csarPayload.getMd5());
+    }
+}
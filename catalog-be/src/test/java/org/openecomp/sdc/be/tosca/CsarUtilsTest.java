@@ -22,13 +22,16 @@ package org.openecomp.sdc.be.tosca;
 
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -47,6 +50,7 @@ import org.openecomp.sdc.be.components.impl.ArtifactsBusinessLogic;
 import org.openecomp.sdc.be.components.impl.ArtifactsBusinessLogic.ArtifactOperationInfo;
 import org.openecomp.sdc.be.dao.api.ActionStatus;
 import org.openecomp.sdc.be.dao.cassandra.ArtifactCassandraDao;
+import org.openecomp.sdc.be.dao.cassandra.ArtifactPrefetchPipeline;
 import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
 import org.openecomp.sdc.be.dao.cassandra.SdcSchemaFilesCassandraDao;
 import org.openecomp.sdc.be.datatypes.enums.ComponentTypeEnum;
@@ -67,6 +71,7 @@ import org.openecomp.sdc.be.tosca.CsarUtils.NonMetaArtifactInfo;
 import org.openecomp.sdc.be.tosca.model.ToscaTemplate;
 import org.openecomp.sdc.common.api.ArtifactGroupTypeEnum;
 import org.openecomp.sdc.common.api.ArtifactTypeEnum;
+import org.openecomp.sdc.common.util.GeneralUtility;
 
 import fj.data.Either;
 import mockit.Deencapsulation;
@@ -104,7 +109,8 @@ public class CsarUtilsTest extends BeConfDependentTest {
 	@Before
 	public void setUpMock() throws Exception {
 		MockitoAnnotations.initMocks(this);
-		
+		Mockito.when(artifactCassandraDao.getArtifactAsync(Mockito.any(String.class), Mockito.any())).thenAnswer(invocation ->
+				CompletableFuture.completedFuture(artifactCassandraDao.getArtifact(invocation.getArgument(0))));
 	}
 
 	private NonMetaArtifactInfo createNonMetaArtifactInfoTestSubject() {
@@ -180,6 +186,51 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		assertTrue(csar.isLeft());
 	}
 
+	@Test
+	public void testCreateSpooledCsarIsSameAsCreateCsar() throws IOException {
+		Component component = new Resource();
+		Map<String, ArtifactDefinition> toscaArtifacts = new HashMap<>();
+		ArtifactDefinition artifact = new ArtifactDefinition();
+		artifact.setArtifactName("artifactName");
+		artifact.setEsId("esId");
+		artifact.setArtifactUUID("artifactUUID");
+		artifact.setArtifactType("YANG");
+		toscaArtifacts.put("assettoscatemplate", artifact);
+
+		component.setToscaArtifacts(toscaArtifacts);
+		component.setDeploymentArtifacts(toscaArtifacts);
+		component.setArtifacts(toscaArtifacts);
+		ESArtifactData artifactData = new ESArtifactData();
+		byte[] data = "value".getBytes();
+		artifactData.setDataAsArray(data);
+
+		ToscaTemplate toscaTemplate = new ToscaTemplate("version");
+		toscaTemplate.setDependencies(new ArrayList<>());
+
+		List<SdcSchemaFilesData> filesData = new ArrayList<>();
+		SdcSchemaFilesData filedata = new SdcSchemaFilesData();
+		filedata.setPayloadAsArray(data);
+		filesData.add(filedata);
+
+		Mockito.when(artifactCassandraDao.getArtifact(Mockito.any(String.class))).thenReturn(Either.left(artifactData));
+		Mockito.when(toscaExportUtils.getDependencies(Mockito.any(Component.class)))
+				.thenReturn(Either.left(toscaTemplate));
+		Mockito.when(
+				sdcSchemaFilesCassandraDao.getSpecificSchemaFiles(Mockito.any(String.class), Mockito.any(String.class)))
+				.thenReturn(Either.left(filesData));
+
+		byte[] csar = testSubject.createCsar(component, false, true).left().value();
+		Either<CsarPayload, ResponseFormat> spooledCsar = testSubject.createSpooledCsar(component, false, true);
+
+		assertTrue(spooledCsar.isLeft());
+		try (CsarPayload csarPayload = spooledCsar.left().value();
+				ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			csarPayload.writeTo(out);
+			assertTrue(Arrays.equals(csar, out.toByteArray()));
+			assertEquals(GeneralUtility.calculateMD5Base64EncodedByByteArray(csar), csarPayload.getMd5());
+		}
+	}
+
 	@Test
 	public void testGenerateCsarZipThrowsIOException() {
 
@@ -213,6 +264,8 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		Mockito.when(artifactCassandraDao.getArtifact(Mockito.any(String.class))).thenReturn(Either.left(artifactData));
 
 		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class))).thenReturn(Either.left(tosca));
+		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class), Mockito.any(OutputStream.class)))
+				.thenReturn(Either.left(tosca));
 
 		Mockito.when(toscaExportUtils.getDependencies(Mockito.any(Component.class)))
 				.thenReturn(Either.right(ToscaError.GENERAL_ERROR));
@@ -246,7 +299,7 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		byte[] data = "value".getBytes();
 		artifactData.setDataAsArray(data);
 
-		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class)))
+		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class), Mockito.any(OutputStream.class)))
 				.thenReturn(Either.right(ToscaError.GENERAL_ERROR));
 
 		try (ByteArrayOutputStream out = new ByteArrayOutputStream(); ZipOutputStream zip = new ZipOutputStream(out)) {
@@ -301,6 +354,8 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		Mockito.when(artifactCassandraDao.getArtifact(Mockito.any(String.class))).thenReturn(Either.left(artifactData));
 
 		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class))).thenReturn(Either.left(tosca));
+		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class), Mockito.any(OutputStream.class)))
+				.thenReturn(Either.left(tosca));
 
 		Mockito.when(toscaExportUtils.getDependencies(Mockito.any(Component.class)))
 				.thenReturn(Either.left(toscaTemplate));
@@ -320,7 +375,7 @@ public class CsarUtilsTest extends BeConfDependentTest {
 				Mockito.any(ArtifactDefinition.class), Mockito.any(String.class), Mockito.any(String.class),
 				Mockito.isNull(), Mockito.isNull(), Mockito.any(User.class), Mockito.any(Component.class),
 				Mockito.any(Boolean.class), Mockito.any(Boolean.class), Mockito.any(Boolean.class)))
-				.thenReturn(Either.left(Mockito.any(Either.class)));
+				.thenReturn(Either.left(Either.left(new ArtifactDefinition())));
 
 		try (ByteArrayOutputStream out = new ByteArrayOutputStream(); ZipOutputStream zip = new ZipOutputStream(out)) {
 			Either<ZipOutputStream, ResponseFormat> output = Deencapsulation.invoke(testSubject, "populateZip", component, getFromCS, zip, true);
@@ -417,8 +472,11 @@ public class CsarUtilsTest extends BeConfDependentTest {
 
 		Mockito.when(artifactCassandraDao.getArtifact(Mockito.any(String.class))).thenReturn(Either.left(artifactData));
 
+		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class), Mockito.any(OutputStream.class)))
+				.thenReturn(Either.left(tosca));
+
 		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class))).thenReturn(Either.left(tosca),
-				Either.left(tosca), Either.right(ToscaError.GENERAL_ERROR));
+				Either.right(ToscaError.GENERAL_ERROR));
 
 		Mockito.when(toscaExportUtils.getDependencies(Mockito.any(Component.class)))
 				.thenReturn(Either.left(toscaTemplate));
@@ -470,6 +528,8 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		Mockito.when(artifactCassandraDao.getArtifact(Mockito.any(String.class))).thenReturn(Either.left(artifactData));
 
 		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class))).thenReturn(Either.left(tosca));
+		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class), Mockito.any(OutputStream.class)))
+				.thenReturn(Either.left(tosca));
 
 		Mockito.when(toscaExportUtils.getDependencies(Mockito.any(Component.class)))
 				.thenReturn(Either.left(toscaTemplate));
@@ -530,6 +590,8 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		Mockito.when(artifactCassandraDao.getArtifact(Mockito.any(String.class))).thenReturn(Either.left(artifactData));
 
 		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class))).thenReturn(Either.left(tosca));
+		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class), Mockito.any(OutputStream.class)))
+				.thenReturn(Either.left(tosca));
 
 		Mockito.when(toscaExportUtils.getDependencies(Mockito.any(Component.class)))
 				.thenReturn(Either.left(toscaTemplate));
@@ -592,6 +654,8 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		Mockito.when(artifactCassandraDao.getArtifact(Mockito.any(String.class))).thenReturn(Either.left(artifactData));
 
 		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class))).thenReturn(Either.left(tosca));
+		Mockito.when(toscaExportUtils.exportComponent(Mockito.any(Component.class), Mockito.any(OutputStream.class)))
+				.thenReturn(Either.left(tosca));
 
 		Mockito.when(toscaExportUtils.getDependencies(Mockito.any(Component.class)))
 				.thenReturn(Either.left(toscaTemplate));
@@ -938,7 +1002,9 @@ public class CsarUtilsTest extends BeConfDependentTest {
 		artifactDefinitionList.add(artifact);
 
 		try (ByteArrayOutputStream out = new ByteArrayOutputStream(); ZipOutputStream zip = new ZipOutputStream(out);) {
-			Either<ZipOutputStream, ResponseFormat> output = Deencapsulation.invoke(testSubject, "writeArtifactDefinition", component, zip, artifactDefinitionList, artifactPathAndFolder, false);
+			ArtifactPrefetchPipeline<?> pipeline = Deencapsulation.invoke(testSubject, "createArtifactPipeline", zip);
+			Either<ZipOutputStream, ResponseFormat> output = Deencapsulation.invoke(testSubject, "writeArtifactDefinition", component, zip, artifactDefinitionList, artifactPathAndFolder, false, pipeline);
+			pipeline.finish();
 
 			assertNotNull(output);
 			assertTrue(output.isLeft());
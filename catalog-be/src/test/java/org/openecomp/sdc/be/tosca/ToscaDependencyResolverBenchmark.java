@@ -0,0 +1,164 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.tosca;
+
+import fj.data.Either;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.datatypes.enums.ComponentTypeEnum;
+import org.openecomp.sdc.be.datatypes.enums.OriginTypeEnum;
+import org.openecomp.sdc.be.model.ArtifactDefinition;
+import org.openecomp.sdc.be.model.Component;
+import org.openecomp.sdc.be.model.ComponentInstance;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.Resource;
+import org.openecomp.sdc.be.model.Service;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.common.api.ConfigurationSource;
+import org.openecomp.sdc.common.impl.ExternalConfiguration;
+import org.openecomp.sdc.common.impl.FSConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Resolves the imports of a synthetic service through {@link ToscaExportHandler#getDependencies(Component)}, reading
+ * the origin components through a simulated graph with a fixed latency per read. Every 4 instances share an origin.
+ * 0 threads is the sequential resolution used before.
+ * Not a unit test, run with the main method or through the jmh runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToscaDependencyResolverBenchmark {
+
+    private static final long READ_LATENCY_MICROS = 500;
+    private static final int INSTANCES_PER_ORIGIN = 4;
+
+    @Param({"50", "200", "800"})
+    private int instances;
+
+    @Param({"0", "8"})
+    private int threads;
+
+    private ToscaDependencyResolver toscaDependencyResolver;
+    private ToscaExportHandler toscaExportHandler;
+    private Service service;
+
+    @Setup
+    public void setUp() {
+        ExternalConfiguration.setAppName("catalog-be");
+        ConfigurationSource configurationSource = new FSConfigurationSource(ExternalConfiguration.getChangeListener(),
+                "src/test/resources/config/catalog-be");
+        new ConfigurationManager(configurationSource);
+
+        ToscaOperationFacade toscaOperationFacade = new SlowToscaOperationFacade();
+        toscaDependencyResolver = new ToscaDependencyResolver(toscaOperationFacade);
+        toscaDependencyResolver.init(threads);
+        toscaExportHandler = new ToscaExportHandler(null, toscaOperationFacade, null, null, null, null, null);
+        toscaExportHandler.setToscaDependencyResolver(toscaDependencyResolver);
+        service = createService(instances);
+    }
+
+    @TearDown
+    public void tearDown() {
+        toscaDependencyResolver.destroy();
+    }
+
+    @Benchmark
+    public int resolveDependencies() {
+        return toscaExportHandler.getDependencies(service).left().value().getDependencies().size();
+    }
+
+    private static Service createService(int instances) {
+        Service service = new Service();
+        service.setUniqueId("service");
+        service.setName("service");
+        service.setToscaArtifacts(Collections.singletonMap(ToscaExportHandler.ASSET_TOSCA_TEMPLATE,
+                createToscaArtifact("service-template.yml")));
+        List<ComponentInstance> componentInstances = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            ComponentInstance componentInstance = new ComponentInstance();
+            componentInstance.setUniqueId("instance" + i);
+            componentInstance.setComponentUid("origin" + i / INSTANCES_PER_ORIGIN);
+            componentInstance.setComponentName("origin" + i / INSTANCES_PER_ORIGIN);
+            componentInstance.setOriginType(OriginTypeEnum.VF);
+            componentInstances.add(componentInstance);
+        }
+        service.setComponentInstances(componentInstances);
+        return service;
+    }
+
+    private static ArtifactDefinition createToscaArtifact(String artifactName) {
+        ArtifactDefinition artifactDefinition = new ArtifactDefinition();
+        artifactDefinition.setArtifactName(artifactName);
+        artifactDefinition.setEsId(artifactName);
+        return artifactDefinition;
+    }
+
+    private static class SlowToscaOperationFacade extends ToscaOperationFacade {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Component> Either<T, StorageOperationStatus> getToscaFullElement(String componentId) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(READ_LATENCY_MICROS));
+            Resource origin = new Resource();
+            origin.setUniqueId(componentId);
+            origin.setComponentType(ComponentTypeEnum.RESOURCE);
+            origin.setLifecycleState(LifecycleStateEnum.CERTIFIED);
+            origin.setToscaArtifacts(Collections.singletonMap(ToscaExportHandler.ASSET_TOSCA_TEMPLATE,
+                    createToscaArtifact(componentId + "-template.yml")));
+            return Either.left((T) origin);
+        }
+
+        @Override
+        public void rollback() {
+            // nothing to roll back
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ToscaDependencyResolverBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,127 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.tosca;
+
+import fj.data.Either;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openecomp.sdc.be.components.BeConfDependentTest;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.Resource;
+import org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ToscaDependencyResolverTest extends BeConfDependentTest {
+
+    private ToscaOperationFacade toscaOperationFacade;
+    private ToscaDependencyResolver testSubject;
+
+    @Before
+    public void initResolver() {
+        toscaOperationFacade = Mockito.mock(ToscaOperationFacade.class);
+        testSubject = new ToscaDependencyResolver(toscaOperationFacade);
+        testSubject.init(4);
+        testSubject.setParallelThreshold(2);
+    }
+
+    @After
+    public void destroyResolver() {
+        testSubject.destroy();
+    }
+
+    @Test
+    public void testResolveEachOriginOnce() {
+        Resource certified = createComponent("a", LifecycleStateEnum.CERTIFIED);
+        Resource other = createComponent("b", LifecycleStateEnum.CERTIFIED);
+        Mockito.when(toscaOperationFacade.getToscaFullElement("a")).thenReturn(Either.left(certified));
+        Mockito.when(toscaOperationFacade.getToscaFullElement("b")).thenReturn(Either.left(other));
+
+        Map<String, org.openecomp.sdc.be.model.Component> resolved = testSubject.resolve(Arrays.asList("a", "b", "a", null, "a"));
+
+        assertEquals(2, resolved.size());
+        assertEquals(certified, resolved.get("a"));
+        Mockito.verify(toscaOperationFacade, Mockito.times(1)).getToscaFullElement("a");
+        Mockito.verify(toscaOperationFacade, Mockito.times(2)).rollback();
+    }
+
+    @Test
+    public void testNotCertifiedAndFailedAreLeftOut() {
+        Resource checkedOut = createComponent("a", LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT);
+        Mockito.when(toscaOperationFacade.getToscaFullElement("a")).thenReturn(Either.left(checkedOut));
+        Mockito.when(toscaOperationFacade.getToscaFullElement("b")).thenReturn(Either.right(StorageOperationStatus.NOT_FOUND));
+        Mockito.when(toscaOperationFacade.getToscaFullElement("c")).thenThrow(new IllegalStateException());
+
+        assertTrue(testSubject.resolve(Arrays.asList("a", "b", "c")).isEmpty());
+        Mockito.verify(toscaOperationFacade, Mockito.times(3)).rollback();
+    }
+
+    @Test
+    public void testReadsRejectedByFullQueueRunOnCaller() {
+        testSubject.destroy();
+        testSubject.init(1, 1);
+        Thread caller = Thread.currentThread();
+        CountDownLatch callerRead = new CountDownLatch(1);
+        Map<String, Thread> readers = new ConcurrentHashMap<>();
+        Mockito.when(toscaOperationFacade.getToscaFullElement(Mockito.anyString())).thenAnswer(invocation -> {
+            String uid = invocation.getArgument(0);
+            readers.put(uid, Thread.currentThread());
+            if (uid.equals("a")) {
+                callerRead.await(5, TimeUnit.SECONDS);
+            } else if (Thread.currentThread() == caller) {
+                callerRead.countDown();
+            }
+            return Either.left(createComponent(uid, LifecycleStateEnum.CERTIFIED));
+        });
+
+        Map<String, org.openecomp.sdc.be.model.Component> resolved = testSubject.resolve(Arrays.asList("a", "b", "c", "d"));
+
+        assertEquals(4, resolved.size());
+        assertEquals(caller, readers.get("c"));
+        long pooledReads = readers.values().stream().filter(reader -> reader != caller).count();
+        Mockito.verify(toscaOperationFacade, Mockito.times((int) pooledReads)).rollback();
+    }
+
+    @Test
+    public void testBelowThresholdIsNotResolved() {
+        testSubject.setParallelThreshold(3);
+
+        assertTrue(testSubject.resolve(Arrays.asList("a", "b", "a")).isEmpty());
+        Mockito.verifyZeroInteractions(toscaOperationFacade);
+    }
+
+    private static Resource createComponent(String uniqueId, LifecycleStateEnum state) {
+        Resource component = new Resource();
+        component.setUniqueId(uniqueId);
+        component.setLifecycleState(state);
+        return component;
+    }
+}
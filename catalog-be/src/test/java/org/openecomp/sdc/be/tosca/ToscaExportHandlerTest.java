@@ -21,6 +21,7 @@
 package org.openecomp.sdc.be.tosca;
 
 import fj.data.Either;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -62,6 +63,7 @@ import org.openecomp.sdc.be.model.GroupDefinition;
 import org.openecomp.sdc.be.model.GroupInstance;
 import org.openecomp.sdc.be.model.InputDefinition;
 import org.openecomp.sdc.be.model.InterfaceDefinition;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
 import org.openecomp.sdc.be.model.PropertyDefinition;
 import org.openecomp.sdc.be.model.RelationshipInfo;
 import org.openecomp.sdc.be.model.RequirementCapabilityRelDef;
@@ -74,6 +76,8 @@ import org.openecomp.sdc.be.model.category.SubCategoryDefinition;
 import org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade;
 import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
 import org.openecomp.sdc.be.model.operations.impl.InterfaceLifecycleOperation;
+import org.openecomp.sdc.be.resources.data.ComponentMetadataData;
+import org.openecomp.sdc.be.resources.data.ResourceMetadataData;
 import org.openecomp.sdc.be.tosca.model.SubstitutionMapping;
 import org.openecomp.sdc.be.tosca.model.ToscaCapability;
 import org.openecomp.sdc.be.tosca.model.ToscaMetadata;
@@ -207,6 +211,67 @@ public class ToscaExportHandlerTest extends BeConfDependentTest {
 		result = testSubject.exportComponent(component);
 	}
 
+	@Test
+	public void testExportComponentFromRenderCache() throws Exception {
+		Component component = getNewResource();
+		ToscaRenderCache toscaRenderCache = Mockito.mock(ToscaRenderCache.class);
+		ToscaRepresentation cached = new ToscaRepresentation();
+		Mockito.when(toscaRenderCache.getRepresentation(Mockito.eq(component), Mockito.any(), Mockito.any()))
+				.thenReturn(cached);
+		testSubject.setToscaRenderCache(toscaRenderCache);
+
+		Either<ToscaRepresentation, ToscaError> result = testSubject.exportComponent(component);
+		Assert.assertSame(cached, result.left().value());
+		Mockito.verifyZeroInteractions(dataTypeCache);
+		Mockito.verify(toscaRenderCache).recordRenderTime(Mockito.eq(component), Mockito.anyLong());
+	}
+
+	@Test
+	public void testRenderCacheHitChecksDependencyMetadataOnly() throws Exception {
+		Component component = getNewResource();
+		component.setUniqueId("componentId");
+		component.setLifecycleState(LifecycleStateEnum.CERTIFIED);
+		Resource dependency = new Resource();
+		dependency.setUniqueId("dependencyId");
+		dependency.setLastUpdateDate(1L);
+		ToscaRepresentation rendered = new ToscaRepresentation();
+		rendered.setMainYaml("yaml");
+		rendered.setDependencies(Collections.singletonList(Triple.of("file", "esId", dependency)));
+		ToscaRenderCache toscaRenderCache = new ToscaRenderCache();
+		toscaRenderCache.init();
+		toscaRenderCache.putRepresentation(component, rendered);
+		testSubject.setToscaRenderCache(toscaRenderCache);
+		ComponentMetadataData metadata = new ResourceMetadataData();
+		metadata.getMetadataDataDefinition().setLastUpdateDate(1L);
+		Mockito.when(toscaOperationFacade.getComponentMetadata("dependencyId")).thenReturn(Either.left(metadata));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Either<ToscaRepresentation, ToscaError> result = testSubject.exportComponent(component, out);
+		Assert.assertEquals("yaml", out.toString());
+		Mockito.verify(toscaOperationFacade, Mockito.never()).getToscaFullElement(Mockito.anyString());
+		Mockito.when(toscaOperationFacade.getToscaFullElement("dependencyId")).thenReturn(Either.left(dependency));
+		Assert.assertSame(dependency, result.left().value().getDependencies().get(0).getRight());
+	}
+
+	@Test
+	public void testExportComponentToStream() throws Exception {
+		Component component = getNewResource();
+		ToscaRenderCache toscaRenderCache = Mockito.mock(ToscaRenderCache.class);
+		testSubject.setToscaRenderCache(toscaRenderCache);
+
+		Mockito.when(dataTypeCache.getAll()).thenReturn(Either.left(new HashMap<>()));
+		Mockito.when(capabiltyRequirementConvertor.convertRequirements(Mockito.any(Map.class), Mockito.any(Resource.class),
+				Mockito.any(ToscaNodeType.class))).thenReturn(Either.left(new ToscaNodeType()));
+		Mockito.when(interfaceLifecycleOperation.getAllInterfaceLifecycleTypes())
+				.thenReturn(Either.left(Collections.emptyMap()));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Either<ToscaRepresentation, ToscaError> result = testSubject.exportComponent(component, out);
+		Assert.assertTrue(result.isLeft());
+		Assert.assertTrue(out.toString().contains(TOSCA_VERSION));
+		Mockito.verify(toscaRenderCache).recordRenderTime(Mockito.eq(component), Mockito.anyLong());
+	}
+
 	@Test
 	public void testExportComponentInterface() throws Exception {
 		Component component = getNewResource();
@@ -426,6 +491,32 @@ public class ToscaExportHandlerTest extends BeConfDependentTest {
 		result = Deencapsulation.invoke(testSubject, "fillImports", component, toscaTemplate);
 	}
 
+	@Test
+	public void testGetDependenciesFromResolvedOrigins() throws Exception {
+		Service service = getNewService();
+		List<ComponentInstance> componentInstances = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			ComponentInstance ci = new ComponentInstance();
+			ci.setComponentUid("origin");
+			ci.setComponentName("origin");
+			componentInstances.add(ci);
+		}
+		service.setComponentInstances(componentInstances);
+		Resource origin = getNewResource();
+		origin.setUniqueId("origin");
+		ArtifactDefinition artifact = new ArtifactDefinition();
+		artifact.setArtifactName("origin.yml");
+		origin.setToscaArtifacts(Collections.singletonMap("assettoscatemplate", artifact));
+		ToscaDependencyResolver toscaDependencyResolver = Mockito.mock(ToscaDependencyResolver.class);
+		Mockito.when(toscaDependencyResolver.resolve(Mockito.anyCollection()))
+				.thenReturn(Collections.singletonMap("origin", origin));
+		testSubject.setToscaDependencyResolver(toscaDependencyResolver);
+
+		Either<ToscaTemplate, ToscaError> result = testSubject.getDependencies(service);
+		Assert.assertEquals(1, result.left().value().getDependencies().size());
+		Mockito.verify(toscaOperationFacade, Mockito.never()).getToscaFullElement(Mockito.anyString());
+	}
+
 	@Test
 	public void testCreateDependency() throws Exception {
 
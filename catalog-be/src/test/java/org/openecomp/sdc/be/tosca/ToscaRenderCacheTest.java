@@ -0,0 +1,170 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.tosca;
+
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.apache.commons.lang3.tuple.Triple;
+import org.junit.Before;
+import org.junit.Test;
+import org.openecomp.sdc.be.components.BeConfDependentTest;
+import org.openecomp.sdc.be.model.Component;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.Resource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ToscaRenderCacheTest extends BeConfDependentTest {
+
+    private ToscaRenderCache testSubject;
+    private final Map<String, Component> storedComponents = new HashMap<>();
+    private int resolverCalls;
+    private final Function<Collection<String>, Map<String, Component>> resolver = uids -> {
+        resolverCalls++;
+        Map<String, Component> resolved = new HashMap<>();
+        uids.stream().filter(storedComponents::containsKey).forEach(uid -> resolved.put(uid, storedComponents.get(uid)));
+        return resolved;
+    };
+    private final Function<Collection<String>, Map<String, Long>> stamps = uids -> {
+        Map<String, Long> read = new HashMap<>();
+        uids.stream().filter(storedComponents::containsKey)
+                .forEach(uid -> read.put(uid, storedComponents.get(uid).getLastUpdateDate()));
+        return read;
+    };
+
+    @Before
+    public void initCache() {
+        testSubject = new ToscaRenderCache();
+        testSubject.init();
+    }
+
+    @Test
+    public void testCertifiedRepresentation() {
+        Resource component = createComponent(LifecycleStateEnum.CERTIFIED, "1.0");
+        testSubject.putRepresentation(component, createRepresentation("yaml"));
+
+        ToscaRepresentation cached = testSubject.getRepresentation(component, stamps, resolver);
+        assertEquals("yaml", cached.getMainYaml());
+        assertEquals(1, cached.getDependencies().size());
+        assertEquals("file", cached.getDependencies().get(0).getLeft());
+        assertSame(storedComponents.get("dependencyId"), cached.getDependencies().get(0).getRight());
+        assertNotSame(cached, testSubject.getRepresentation(component, stamps, resolver));
+        assertNull(testSubject.getRepresentation(createComponent(LifecycleStateEnum.CERTIFIED, "2.0"), stamps, resolver));
+        assertNull(testSubject.getDependencies(component, stamps, resolver));
+    }
+
+    @Test
+    public void testDependenciesAreReadOnceAskedFor() {
+        Resource component = createComponent(LifecycleStateEnum.CERTIFIED, "1.0");
+        testSubject.putRepresentation(component, createRepresentation("yaml"));
+        Resource reread = createDependency(1L);
+
+        ToscaRepresentation cached = testSubject.getRepresentation(component, stamps, resolver);
+        assertEquals("yaml", cached.getMainYaml());
+        assertEquals(0, resolverCalls);
+        assertSame(reread, cached.getDependencies().get(0).getRight());
+        assertEquals(1, resolverCalls);
+        storedComponents.clear();
+        assertNull(testSubject.getRepresentation(component, stamps, resolver));
+    }
+
+    @Test
+    public void testChangedDependencyIsMiss() {
+        Resource component = createComponent(LifecycleStateEnum.CERTIFIED, "1.0");
+        testSubject.putRepresentation(component, createRepresentation("yaml"));
+        createDependency(2L);
+
+        assertNull(testSubject.getRepresentation(component, stamps, resolver));
+        createDependency(1L);
+        assertNull(testSubject.getRepresentation(component, stamps, resolver));
+        assertEquals(0, resolverCalls);
+    }
+
+    @Test
+    public void testNotCertifiedIsNotCached() {
+        Resource component = createComponent(LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT, "0.1");
+        testSubject.putRepresentation(component, createRepresentation("yaml"));
+        testSubject.putDependencies(component, Collections.emptyList());
+
+        assertNull(testSubject.getRepresentation(component, stamps, resolver));
+        assertNull(testSubject.getDependencies(component, stamps, resolver));
+    }
+
+    @Test
+    public void testDependenciesAndEvictAll() {
+        Resource component = createComponent(LifecycleStateEnum.CERTIFIED, "1.0");
+        testSubject.putDependencies(component, createRepresentation("yaml").getDependencies());
+
+        assertEquals(1, testSubject.getDependencies(component, stamps, resolver).size());
+        testSubject.evictAll();
+        assertNull(testSubject.getDependencies(component, stamps, resolver));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRenderTimes() {
+        Resource component = createComponent(LifecycleStateEnum.CERTIFIED, "1.0");
+        testSubject.recordRenderTime(component, TimeUnit.MILLISECONDS.toNanos(5));
+        testSubject.getRepresentation(component, stamps, resolver);
+
+        Map<String, Object> metrics = testSubject.getMetrics();
+        assertTrue(testSubject.isEnabled());
+        assertEquals(1L, ((Map<String, Object>) metrics.get("resource.renderMs")).get("count"));
+        assertEquals(1L, metrics.get("missCount"));
+    }
+
+    private static Resource createComponent(LifecycleStateEnum state, String version) {
+        Resource component = new Resource();
+        component.setUniqueId("componentId");
+        component.setLifecycleState(state);
+        component.setVersion(version);
+        return component;
+    }
+
+    private Resource createDependency(Long lastUpdateDate) {
+        Resource dependency = new Resource();
+        dependency.setUniqueId("dependencyId");
+        dependency.setLastUpdateDate(lastUpdateDate);
+        storedComponents.put("dependencyId", dependency);
+        return dependency;
+    }
+
+    private ToscaRepresentation createRepresentation(String mainYaml) {
+        Resource dependency = createDependency(1L);
+        List<Triple<String, String, Component>> dependencies = Collections.singletonList(
+                new ImmutableTriple<>("file", "esId", dependency));
+        ToscaRepresentation toscaRepresentation = new ToscaRepresentation();
+        toscaRepresentation.setMainYaml(mainYaml);
+        toscaRepresentation.setDependencies(dependencies);
+        return toscaRepresentation;
+    }
+}
@@ -91,6 +91,7 @@ public enum ActionStatus {
     GROUP_INSTANCE_NOT_FOUND_ON_COMPONENT_INSTANCE, INVALID_GROUP_MIN_MAX_INSTANCES_PROPERTY_VALUE, INVALID_GROUP_INITIAL_COUNT_PROPERTY_VALUE, INVALID_GROUP_PROPERTY_VALUE_LOWER_HIGHER,
 
     ARTIFACT_NOT_FOUND_IN_CSAR, ARTIFACT_ALREADY_EXIST_IN_DIFFERENT_TYPE_IN_CSAR, FAILED_RETRIVE_ARTIFACTS_TYPES, ARTIFACT_ALRADY_EXIST_IN_MASTER_IN_CSAR, ARTIFACT_NOT_VALID_IN_MASTER, ARTIFACT_NOT_VALID_ENV,
+    ARTIFACT_RANGE_NOT_SATISFIABLE,
 
     // cache
     CONVERT_COMPONENT_ERROR, COMPONENT_NOT_FOUND,
@@ -21,10 +21,13 @@
 package org.openecomp.sdc.be.dao.cassandra;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
 
+import java.nio.ByteBuffer;
+
 
 /**
  * Created by chaya on 7/5/2017.
@@ -34,4 +37,60 @@ public interface ArtifactAccessor {
     // *****  get the number of artifacts with a specific id
     @Query("SELECT COUNT(*) FROM sdcartifact.resources WHERE ID = :uniqueId")
     ResultSet getNumOfArtifactsById(@Param("uniqueId") String uniqueId);
+
+    // *****  get where the payload of an artifact is stored, without reading the payload
+    @Query("SELECT checksum, size, chunkSize, generation FROM sdcartifact.resources WHERE ID = :uniqueId")
+    ResultSet getArtifactManifest(@Param("uniqueId") String uniqueId);
+
+    // *****  the payload of an artifact is switched by lightweight transactions, on condition that the artifact still
+    // *****  references the payload it was read with, so the storage of the replaced payload is released once
+    @Query("INSERT INTO sdcartifact.resources (id, data, checksum, size, chunkSize, generation) "
+            + "VALUES (:uniqueId, :data, :checksum, :size, :chunkSize, :generation) IF NOT EXISTS")
+    ResultSet insertArtifactManifest(@Param("uniqueId") String uniqueId, @Param("data") ByteBuffer data,
+            @Param("checksum") String checksum, @Param("size") Long size, @Param("chunkSize") Integer chunkSize,
+            @Param("generation") String generation);
+
+    @Query("UPDATE sdcartifact.resources SET data = :data, checksum = :checksum, size = :size, chunkSize = :chunkSize, "
+            + "generation = :generation WHERE ID = :uniqueId IF checksum = :expectedChecksum "
+            + "AND chunkSize = :expectedChunkSize AND generation = :expectedGeneration")
+    ResultSet updateArtifactManifest(@Param("uniqueId") String uniqueId, @Param("data") ByteBuffer data,
+            @Param("checksum") String checksum, @Param("size") Long size, @Param("chunkSize") Integer chunkSize,
+            @Param("generation") String generation, @Param("expectedChecksum") String expectedChecksum,
+            @Param("expectedChunkSize") Integer expectedChunkSize, @Param("expectedGeneration") String expectedGeneration);
+
+    @Query("DELETE FROM sdcartifact.resources WHERE ID = :uniqueId IF checksum = :expectedChecksum "
+            + "AND chunkSize = :expectedChunkSize AND generation = :expectedGeneration")
+    ResultSet deleteArtifactManifest(@Param("uniqueId") String uniqueId, @Param("expectedChecksum") String expectedChecksum,
+            @Param("expectedChunkSize") Integer expectedChunkSize, @Param("expectedGeneration") String expectedGeneration);
+
+    @Query("SELECT id, checksum, size, chunkSize FROM sdcartifact.resources")
+    ResultSet getAllArtifactManifests();
+
+    @Query("SELECT size, chunkSize, generation FROM sdcartifact.payloads WHERE checksum = :checksum")
+    ResultSet getPayloadManifest(@Param("checksum") String checksum);
+
+    // *****  the reference count of a payload is only changed by lightweight transactions
+    @Query("SELECT refcount, generation FROM sdcartifact.payloads WHERE checksum = :checksum")
+    ResultSet getPayloadRefCount(@Param("checksum") String checksum);
+
+    @Query("INSERT INTO sdcartifact.payloads (checksum, data, size, chunkSize, generation, refcount) "
+            + "VALUES (:checksum, :data, :size, :chunkSize, :generation, 1) IF NOT EXISTS")
+    ResultSet insertPayload(@Param("checksum") String checksum, @Param("data") ByteBuffer data, @Param("size") Long size,
+            @Param("chunkSize") Integer chunkSize, @Param("generation") String generation);
+
+    @Query("UPDATE sdcartifact.payloads SET refcount = :refcount WHERE checksum = :checksum IF refcount = :expected")
+    ResultSet updatePayloadRefCount(@Param("checksum") String checksum, @Param("refcount") int refCount,
+            @Param("expected") int expected);
+
+    @Query("DELETE FROM sdcartifact.payloads WHERE checksum = :checksum IF refcount = :expected")
+    ResultSet deletePayload(@Param("checksum") String checksum, @Param("expected") int expected);
+
+    @Query("SELECT data FROM sdcartifact.chunks WHERE id = :id AND chunk = :chunk")
+    ResultSet getChunk(@Param("id") String id, @Param("chunk") int chunk);
+
+    @Query("SELECT data FROM sdcartifact.chunks WHERE id = :id AND chunk = :chunk")
+    ResultSetFuture getChunkAsync(@Param("id") String id, @Param("chunk") int chunk);
+
+    @Query("DELETE FROM sdcartifact.chunks WHERE id = :id AND chunk >= :fromChunk")
+    ResultSet deleteChunks(@Param("id") String id, @Param("fromChunk") int fromChunk);
 }
@@ -21,10 +21,20 @@
 package org.openecomp.sdc.be.dao.cassandra;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.mapping.MappingManager;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import fj.data.Either;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.config.Configuration.ArtifactStorageConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.resources.data.ArtifactChunkData;
+import org.openecomp.sdc.be.resources.data.ArtifactPayloadData;
 import org.openecomp.sdc.be.resources.data.ESArtifactData;
 import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
 import org.openecomp.sdc.common.log.wrappers.Logger;
@@ -32,12 +42,44 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+/**
+ * Stores artifact payloads in the artifact keyspace.
+ * <p>
+ * In content addressed mode an artifact row only references its payload by checksum, the payload itself is stored
+ * once in the payloads table and reference counted. Saving an artifact with the payload it already has, or with a
+ * payload which is already stored for another artifact, doesn't write the payload again, and
+ * {@link #copyArtifact(String, String)} only writes the reference. The reference count is held by the payload row and
+ * only changed by lightweight transactions: the last reference is released by deleting the row on condition that it is
+ * still the last one, so a payload concurrently referenced again is never deleted. The chunks of a chunked payload are
+ * stored under a generation of their own, so deleting the chunks of a released payload never deletes the chunks of the
+ * same content stored again meanwhile. Referenced payloads are resolved on read whatever the mode, so the mode can be
+ * switched off without migrating the rows written while it was on. Only deleting such an artifact releases its payload
+ * then, overwriting it with the mode off does not.
+ * <p>
+ * When a chunk size is configured, payloads larger than a chunk are stored in fixed size chunks and the artifact or
+ * payload row only holds the size, the chunk size and the generation of the payload. Every write of a payload writes
+ * its chunks under a new generation, the row is switched to it once all the chunks are written and only then the
+ * chunks of the previous generation are deleted, so a reader never sees a mix of the old and the new payload.
+ * {@link #getArtifactStream(String)} reads such a payload one chunk at a time, {@link #saveArtifact(String, InputStream)}
+ * writes it one chunk at a time. Chunked payloads are read whatever the configuration.
+ */
 @Component("artifact-cassandra-dao")
 public class ArtifactCassandraDao extends CassandraDao {
 
 	private static Logger logger = Logger.getLogger(ArtifactCassandraDao.class.getName());
+	private static final int MAX_REF_COUNT_ATTEMPTS = 10;
 	private ArtifactAccessor artifactAccessor;
+	private boolean contentAddressed;
+	private int chunkSize;
 
 
 	@Autowired
@@ -55,7 +97,13 @@ public class ArtifactCassandraDao extends CassandraDao {
 				session = result.left().value().left;
 				manager = result.left().value().right;
 				artifactAccessor = manager.createAccessor(ArtifactAccessor.class);
-				logger.info("** ArtifactCassandraDao created");
+				ArtifactStorageConfig storageConfig = getArtifactStorageConfig();
+				if (storageConfig != null) {
+					contentAddressed = Boolean.TRUE.equals(storageConfig.getContentAddressed());
+					chunkSize = storageConfig.getChunkSizeInKB() != null ? storageConfig.getChunkSizeInKB() * 1024 : 0;
+				}
+				logger.info("** ArtifactCassandraDao created, content addressed {}, chunk size {}", contentAddressed,
+						chunkSize);
 			} else {
 				logger.info("** ArtifactCassandraDao failed");
 				throw new RuntimeException("Artifact keyspace [" + keyspace + "] failed to connect with error : "
@@ -68,17 +116,258 @@ public class ArtifactCassandraDao extends CassandraDao {
 	}
 
 	public CassandraOperationStatus saveArtifact(ESArtifactData artifact) {
-		return client.save(artifact, ESArtifactData.class, manager);
+		if ((!contentAddressed && chunkSize <= 0) || artifact == null || artifact.getData() == null) {
+			return client.save(artifact, ESArtifactData.class, manager);
+		}
+		Either<ArtifactManifest, CassandraOperationStatus> current = getArtifactManifest(artifact.getId());
+		if (current.isRight()) {
+			return current.right().value();
+		}
+		if (!contentAddressed) {
+			return savePayload(artifact.getId(), artifact.getData(), current.left().value());
+		}
+		String checksum = calculateChecksum(artifact.getData());
+		if (checksum.equals(current.left().value().checksum)) {
+			logger.debug("Artifact {} already references payload {}", artifact.getId(), checksum);
+			return CassandraOperationStatus.OK;
+		}
+		CassandraOperationStatus status = acquirePayload(checksum, artifact.getData());
+		if (status != CassandraOperationStatus.OK) {
+			return status;
+		}
+		return saveReference(artifact.getId(), checksum, current.left().value());
+	}
+
+	/**
+	 * Saves the payload read from the stream, writing it chunk by chunk when it is larger than a chunk. A payload
+	 * larger than a chunk is stored for the artifact itself also in content addressed mode, since its checksum is
+	 * known only once it was written.
+	 */
+	public CassandraOperationStatus saveArtifact(String artifactId, InputStream payload) {
+		try {
+			if (chunkSize <= 0) {
+				return saveArtifact(new ESArtifactData(artifactId, IOUtils.toByteArray(payload)));
+			}
+			byte[] chunk = readChunk(payload);
+			if (chunk.length < chunkSize) {
+				return saveArtifact(new ESArtifactData(artifactId, chunk));
+			}
+			Either<ArtifactManifest, CassandraOperationStatus> current = getArtifactManifest(artifactId);
+			if (current.isRight()) {
+				return current.right().value();
+			}
+			String generation = UUID.randomUUID().toString();
+			String key = chunksKey(artifactId, generation);
+			long size = 0;
+			int chunks = 0;
+			try {
+				while (chunk.length > 0) {
+					CassandraOperationStatus status = client.save(new ArtifactChunkData(key, chunks, ByteBuffer.wrap(chunk)),
+							ArtifactChunkData.class, manager);
+					if (status != CassandraOperationStatus.OK) {
+						deleteChunks(key, 0);
+						return status;
+					}
+					size += chunk.length;
+					chunks++;
+					chunk = readChunk(payload);
+				}
+			} catch (IOException e) {
+				deleteChunks(key, 0);
+				throw e;
+			}
+			return saveManifest(artifactId, size, generation, current.left().value());
+		} catch (IOException e) {
+			logger.debug("Failed to read the payload of artifact {}", artifactId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
 	}
 
 	public Either<ESArtifactData, CassandraOperationStatus> getArtifact(String artifactId) {
-		return client.getById(artifactId, ESArtifactData.class, manager);
+		Either<ESArtifactData, CassandraOperationStatus> result = client.getById(artifactId, ESArtifactData.class, manager);
+		if (result == null || result.isRight() || result.left().value().getData() != null) {
+			return result;
+		}
+		ESArtifactData artifact = result.left().value();
+		if (artifact.getChecksum() != null) {
+			Either<ArtifactPayloadData, CassandraOperationStatus> payload = client.getById(artifact.getChecksum(),
+					ArtifactPayloadData.class, manager);
+			if (payload.isRight()) {
+				logger.debug("Failed to get payload {} of artifact {}, error {}", artifact.getChecksum(), artifactId,
+						payload.right().value());
+				return Either.right(payload.right().value());
+			}
+			if (payload.left().value().getData() != null) {
+				artifact.setData(payload.left().value().getData());
+				return result;
+			}
+			return readChunks(artifact, chunksKey(artifact.getChecksum(), payload.left().value().getGeneration()),
+					payload.left().value().getSize(), payload.left().value().getChunkSize());
+		}
+		return readChunks(artifact, chunksKey(artifactId, artifact.getGeneration()), artifact.getSize(),
+				artifact.getChunkSize());
+	}
+
+	public CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> getArtifactAsync(String artifactId) {
+		return getArtifactAsync(artifactId, ArtifactReadHandle.unbounded());
 	}
 
+	/**
+	 * Reads an artifact asynchronously. The bytes of a chunked payload are reserved through the given read before
+	 * they are allocated, and the statements issued are registered with it so cancelling the read cancels them.
+	 */
+	public CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> getArtifactAsync(String artifactId,
+			ArtifactReadHandle read) {
+		return client.getByIdAsync(artifactId, ESArtifactData.class, manager, read::track).thenCompose(result -> {
+			if (result.isRight() || result.left().value().getData() != null) {
+				return CompletableFuture.completedFuture(result);
+			}
+			ESArtifactData artifact = result.left().value();
+			if (artifact.getChecksum() == null) {
+				return readChunksAsync(artifact, chunksKey(artifactId, artifact.getGeneration()), artifact.getSize(),
+						artifact.getChunkSize(), read);
+			}
+			return client.getByIdAsync(artifact.getChecksum(), ArtifactPayloadData.class, manager, read::track).thenCompose(payload -> {
+				if (payload.isRight()) {
+					return CompletableFuture.completedFuture(Either.right(payload.right().value()));
+				}
+				if (payload.left().value().getData() != null) {
+					artifact.setData(payload.left().value().getData());
+					return CompletableFuture.completedFuture(result);
+				}
+				return readChunksAsync(artifact, chunksKey(artifact.getChecksum(), payload.left().value().getGeneration()),
+						payload.left().value().getSize(), payload.left().value().getChunkSize(), read);
+			});
+		});
+	}
+
+	/**
+	 * Opens the payload of an artifact for reading. A chunked payload is read one chunk at a time as the stream is
+	 * read, other payloads are stored in a single blob which is loaded whole, even to read a range of it.
+	 */
+	public Either<ArtifactPayloadStream, CassandraOperationStatus> getArtifactStream(String artifactId) {
+		Either<ArtifactManifest, CassandraOperationStatus> manifest = getArtifactManifest(artifactId);
+		if (manifest.isRight()) {
+			return Either.right(manifest.right().value());
+		}
+		if (!manifest.left().value().exists) {
+			return Either.right(CassandraOperationStatus.NOT_FOUND);
+		}
+		String key = chunksKey(artifactId, manifest.left().value().generation);
+		Long size = manifest.left().value().size;
+		Integer payloadChunkSize = manifest.left().value().chunkSize;
+		if (manifest.left().value().checksum != null) {
+			key = manifest.left().value().checksum;
+			try {
+				Row payloadRow = artifactAccessor.getPayloadManifest(key).one();
+				if (payloadRow == null) {
+					return Either.right(CassandraOperationStatus.NOT_FOUND);
+				}
+				size = payloadRow.get(0, Long.class);
+				payloadChunkSize = payloadRow.get(1, Integer.class);
+				key = chunksKey(key, payloadRow.getString(2));
+			} catch (Exception e) {
+				logger.debug("Failed to get the manifest of payload {}", key, e);
+				return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+			}
+		}
+		if (payloadChunkSize == null || size == null) {
+			Either<ESArtifactData, CassandraOperationStatus> artifact = getArtifact(artifactId);
+			if (artifact.isRight()) {
+				return Either.right(artifact.right().value());
+			}
+			ByteBuffer data = artifact.left().value().getData();
+			return Either.left(ArtifactPayloadStream.of(data != null ? data : ByteBuffer.allocate(0)));
+		}
+		String chunksKey = key;
+		return Either.left(new ArtifactPayloadStream(size, payloadChunkSize, chunk -> readChunk(chunksKey, chunk)));
+	}
+
+	/**
+	 * Deletes the artifact row, and what it references once the row was deleted. A row referencing stored payload is
+	 * deleted on condition that it still references the payload it was read with, so the payload is released once.
+	 */
 	public CassandraOperationStatus deleteArtifact(String artifactId) {
+		Either<ArtifactManifest, CassandraOperationStatus> manifest = getArtifactManifest(artifactId);
+		try {
+			for (int attempt = 0; attempt < MAX_REF_COUNT_ATTEMPTS && manifest.isLeft(); attempt++) {
+				ArtifactManifest expected = manifest.left().value();
+				if (!expected.referencesStorage()) {
+					break;
+				}
+				if (artifactAccessor.deleteArtifactManifest(artifactId, expected.checksum, expected.chunkSize,
+						expected.generation).wasApplied()) {
+					releaseStorage(artifactId, expected);
+					return CassandraOperationStatus.OK;
+				}
+				manifest = getArtifactManifest(artifactId);
+			}
+		} catch (Exception e) {
+			logger.debug("Failed to delete artifact {}", artifactId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+		if (manifest.isLeft() && manifest.left().value().referencesStorage()) {
+			logger.debug("Failed to delete artifact {}, too many concurrent updates", artifactId);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
 		return client.delete(artifactId, ESArtifactData.class, manager);
 	}
 
+	/**
+	 * Copies the payload of an artifact to another artifact. In content addressed mode only a reference to the
+	 * payload of the source is written, otherwise the payload is copied one chunk at a time. The payload is copied
+	 * also when the payload the source referenced was deleted concurrently, the source being updated meanwhile.
+	 */
+	public CassandraOperationStatus copyArtifact(String sourceArtifactId, String targetArtifactId) {
+		Either<ArtifactManifest, CassandraOperationStatus> source = getArtifactManifest(sourceArtifactId);
+		if (source.isRight()) {
+			return source.right().value();
+		}
+		String checksum = source.left().value().checksum;
+		if (contentAddressed && checksum != null) {
+			CassandraOperationStatus status = copyReference(checksum, targetArtifactId);
+			if (status != CassandraOperationStatus.NOT_FOUND) {
+				return status;
+			}
+			logger.debug("Payload {} of artifact {} was deleted concurrently, copying the payload", checksum,
+					sourceArtifactId);
+		}
+		Either<ArtifactPayloadStream, CassandraOperationStatus> sourcePayload = getArtifactStream(sourceArtifactId);
+		if (sourcePayload.isRight()) {
+			return sourcePayload.right().value();
+		}
+		return saveArtifact(targetArtifactId, sourcePayload.left().value());
+	}
+
+	/**
+	 * @return the ids of the artifacts holding their whole payload in their row
+	 */
+	public Either<List<String>, CassandraOperationStatus> getUnchunkedArtifactIds() {
+		try {
+			List<String> ids = new ArrayList<>();
+			for (Row row : artifactAccessor.getAllArtifactManifests()) {
+				if (row.getString(1) == null && row.get(3, Integer.class) == null) {
+					ids.add(row.getString(0));
+				}
+			}
+			return Either.left(ids);
+		} catch (Exception e) {
+			logger.debug("Failed to get the artifact ids", e);
+			return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+		}
+	}
+
+	public boolean isContentAddressed() {
+		return contentAddressed;
+	}
+
+	/**
+	 * @return the size of the chunks payloads are stored in, 0 if payloads are not stored in chunks
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
 	/**
 	 * ---------for use in JUnit only--------------- the method deletes all the
 	 * tables in the audit keyspace
@@ -88,9 +377,10 @@ public class ArtifactCassandraDao extends CassandraDao {
 	 */
 	public CassandraOperationStatus deleteAllArtifacts() {
 		logger.info("cleaning all artifacts.");
-		String query = "truncate sdcartifact.resources;";
 		try {
-			session.execute(query);
+			session.execute("truncate sdcartifact.resources;");
+			session.execute("truncate sdcartifact.payloads;");
+			session.execute("truncate sdcartifact.chunks;");
 		} catch (Exception e) {
 			logger.debug("Failed to clean artifacts", e);
 			return CassandraOperationStatus.GENERAL_ERROR;
@@ -118,4 +408,416 @@ public class ArtifactCassandraDao extends CassandraDao {
 		return Either.left(artifactCount.one().getLong(0));
 	}
 
+	private Either<ArtifactManifest, CassandraOperationStatus> getArtifactManifest(String artifactId) {
+		try {
+			ResultSet result = artifactAccessor.getArtifactManifest(artifactId);
+			Row row = result == null ? null : result.one();
+			if (row == null) {
+				return Either.left(ArtifactManifest.NONE);
+			}
+			return Either.left(new ArtifactManifest(row.getString(0), row.get(1, Long.class), row.get(2, Integer.class),
+					row.getString(3)));
+		} catch (Exception e) {
+			logger.debug("Failed to get the payload manifest of artifact {}", artifactId, e);
+			return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+		}
+	}
+
+	/**
+	 * Saves the payload in the artifact row, or in chunks of a new generation if it is larger than a chunk.
+	 */
+	private CassandraOperationStatus savePayload(String artifactId, ByteBuffer data, ArtifactManifest previous) {
+		if (!isChunked(data.remaining())) {
+			ESArtifactData artifact = new ESArtifactData(artifactId);
+			artifact.setData(data);
+			return switchManifest(artifact, previous);
+		}
+		String generation = UUID.randomUUID().toString();
+		CassandraOperationStatus status = writeChunks(chunksKey(artifactId, generation), data);
+		if (status != CassandraOperationStatus.OK) {
+			deleteChunks(chunksKey(artifactId, generation), 0);
+			return status;
+		}
+		return saveManifest(artifactId, data.remaining(), generation, previous);
+	}
+
+	/**
+	 * Switches the artifact row to the chunks written under the generation, the chunks of the previous payload are
+	 * deleted once the row was switched and the new ones if it could not be.
+	 */
+	private CassandraOperationStatus saveManifest(String artifactId, long size, String generation, ArtifactManifest previous) {
+		ESArtifactData manifest = new ESArtifactData(artifactId);
+		manifest.setSize(size);
+		manifest.setChunkSize(chunkSize);
+		manifest.setGeneration(generation);
+		CassandraOperationStatus status = switchManifest(manifest, previous);
+		if (status != CassandraOperationStatus.OK) {
+			deleteChunks(chunksKey(artifactId, generation), 0);
+		}
+		return status;
+	}
+
+	/**
+	 * Switches the artifact row to the given payload on condition that the row still references the payload it was
+	 * read with, so the storage of the replaced payload is released by the one writer which replaced it. The row is
+	 * read again and the switch retried when it was updated concurrently.
+	 */
+	private CassandraOperationStatus switchManifest(ESArtifactData manifest, ArtifactManifest previous) {
+		String artifactId = manifest.getId();
+		ArtifactManifest expected = previous;
+		try {
+			for (int attempt = 0; attempt < MAX_REF_COUNT_ATTEMPTS; attempt++) {
+				ResultSet result = expected.exists
+						? artifactAccessor.updateArtifactManifest(artifactId, manifest.getData(), manifest.getChecksum(),
+								manifest.getSize(), manifest.getChunkSize(), manifest.getGeneration(), expected.checksum,
+								expected.chunkSize, expected.generation)
+						: artifactAccessor.insertArtifactManifest(artifactId, manifest.getData(), manifest.getChecksum(),
+								manifest.getSize(), manifest.getChunkSize(), manifest.getGeneration());
+				if (result.wasApplied()) {
+					releaseStorage(artifactId, expected);
+					return CassandraOperationStatus.OK;
+				}
+				Either<ArtifactManifest, CassandraOperationStatus> current = getArtifactManifest(artifactId);
+				if (current.isRight()) {
+					return current.right().value();
+				}
+				expected = current.left().value();
+				logger.debug("Artifact {} was updated concurrently, switching it again", artifactId);
+			}
+		} catch (Exception e) {
+			logger.debug("Failed to save the manifest of artifact {}", artifactId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+		logger.debug("Failed to save the manifest of artifact {}, too many concurrent updates", artifactId);
+		return CassandraOperationStatus.GENERAL_ERROR;
+	}
+
+	/**
+	 * Releases what the previous version of an artifact row referenced and the current one doesn't anymore
+	 */
+	private void releaseStorage(String artifactId, ArtifactManifest previous) {
+		if (previous.checksum != null) {
+			releasePayload(previous.checksum);
+		} else if (previous.chunkSize != null) {
+			deleteChunks(chunksKey(artifactId, previous.generation), 0);
+		}
+	}
+
+	/**
+	 * Adds a reference to the payload, storing the payload if it is not stored yet. The chunks of a new chunked payload
+	 * are written before its row, and deleted again if the same payload was stored concurrently.
+	 */
+	private CassandraOperationStatus acquirePayload(String checksum, ByteBuffer data) {
+		for (int attempt = 0; attempt < MAX_REF_COUNT_ATTEMPTS; attempt++) {
+			CassandraOperationStatus status = addPayloadReference(checksum);
+			if (status != CassandraOperationStatus.NOT_FOUND) {
+				return status;
+			}
+			String generation = null;
+			ByteBuffer rowData = data;
+			Long size = null;
+			Integer payloadChunkSize = null;
+			if (isChunked(data.remaining())) {
+				generation = UUID.randomUUID().toString();
+				status = writeChunks(chunksKey(checksum, generation), data);
+				if (status != CassandraOperationStatus.OK) {
+					deleteChunks(chunksKey(checksum, generation), 0);
+					return status;
+				}
+				rowData = null;
+				size = (long) data.remaining();
+				payloadChunkSize = chunkSize;
+			}
+			boolean inserted = false;
+			try {
+				inserted = artifactAccessor.insertPayload(checksum, rowData, size, payloadChunkSize, generation).wasApplied();
+				status = CassandraOperationStatus.OK;
+			} catch (Exception e) {
+				logger.debug("Failed to store payload {}", checksum, e);
+				status = CassandraOperationStatus.GENERAL_ERROR;
+			}
+			if (inserted) {
+				return status;
+			}
+			if (generation != null) {
+				deleteChunks(chunksKey(checksum, generation), 0);
+			}
+			if (status != CassandraOperationStatus.OK) {
+				return status;
+			}
+			logger.debug("Payload {} was stored concurrently, referencing it", checksum);
+		}
+		logger.debug("Failed to reference payload {}, too many concurrent updates", checksum);
+		return CassandraOperationStatus.GENERAL_ERROR;
+	}
+
+	/**
+	 * Increments the reference count of a stored payload.
+	 *
+	 * @return NOT_FOUND if the payload is not stored
+	 */
+	private CassandraOperationStatus addPayloadReference(String checksum) {
+		try {
+			for (int attempt = 0; attempt < MAX_REF_COUNT_ATTEMPTS; attempt++) {
+				Row row = artifactAccessor.getPayloadRefCount(checksum).one();
+				if (row == null) {
+					return CassandraOperationStatus.NOT_FOUND;
+				}
+				int refCount = row.getInt(0);
+				if (artifactAccessor.updatePayloadRefCount(checksum, refCount + 1, refCount).wasApplied()) {
+					return CassandraOperationStatus.OK;
+				}
+			}
+		} catch (Exception e) {
+			logger.debug("Failed to reference payload {}", checksum, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+		logger.debug("Failed to reference payload {}, too many concurrent updates", checksum);
+		return CassandraOperationStatus.GENERAL_ERROR;
+	}
+
+	/**
+	 * @return NOT_FOUND if the payload is not stored anymore
+	 */
+	private CassandraOperationStatus copyReference(String checksum, String targetArtifactId) {
+		Either<ArtifactManifest, CassandraOperationStatus> target = getArtifactManifest(targetArtifactId);
+		if (target.isRight()) {
+			return target.right().value();
+		}
+		if (checksum.equals(target.left().value().checksum)) {
+			return CassandraOperationStatus.OK;
+		}
+		CassandraOperationStatus status = addPayloadReference(checksum);
+		if (status != CassandraOperationStatus.OK) {
+			return status;
+		}
+		return saveReference(targetArtifactId, checksum, target.left().value());
+	}
+
+	private CassandraOperationStatus saveReference(String artifactId, String checksum, ArtifactManifest previous) {
+		ESArtifactData reference = new ESArtifactData(artifactId);
+		reference.setChecksum(checksum);
+		CassandraOperationStatus status = switchManifest(reference, previous);
+		if (status != CassandraOperationStatus.OK) {
+			releasePayload(checksum);
+		}
+		return status;
+	}
+
+	/**
+	 * Removes a reference to the payload and deletes the payload with its last reference. The row is deleted on
+	 * condition that its reference count didn't change since it was read, so a concurrent reference is never lost.
+	 */
+	private void releasePayload(String checksum) {
+		try {
+			for (int attempt = 0; attempt < MAX_REF_COUNT_ATTEMPTS; attempt++) {
+				Row row = artifactAccessor.getPayloadRefCount(checksum).one();
+				if (row == null) {
+					return;
+				}
+				int refCount = row.getInt(0);
+				if (refCount > 1) {
+					if (artifactAccessor.updatePayloadRefCount(checksum, refCount - 1, refCount).wasApplied()) {
+						return;
+					}
+				} else if (artifactAccessor.deletePayload(checksum, refCount).wasApplied()) {
+					logger.debug("Payload {} is not referenced anymore, deleted it", checksum);
+					String generation = row.getString(1);
+					if (generation != null) {
+						deleteChunks(chunksKey(checksum, generation), 0);
+					}
+					return;
+				}
+			}
+			logger.debug("Failed to release payload {}, too many concurrent updates", checksum);
+		} catch (Exception e) {
+			logger.debug("Failed to release payload {}", checksum, e);
+		}
+	}
+
+	/**
+	 * @return the partition key of the chunks of a payload stored under the given generation, the chunks of a payload
+	 * written before generations were introduced are keyed by the key of the payload alone
+	 */
+	private static String chunksKey(String key, String generation) {
+		return generation == null ? key : key + "#" + generation;
+	}
+
+	private boolean isChunked(long size) {
+		return chunkSize > 0 && size > chunkSize;
+	}
+
+	private byte[] readChunk(InputStream payload) throws IOException {
+		byte[] chunk = new byte[chunkSize];
+		int length = IOUtils.read(payload, chunk);
+		if (length == chunkSize) {
+			return chunk;
+		}
+		byte[] last = new byte[length];
+		System.arraycopy(chunk, 0, last, 0, length);
+		return last;
+	}
+
+	private CassandraOperationStatus writeChunks(String key, ByteBuffer data) {
+		ByteBuffer remaining = data.duplicate();
+		int chunk = 0;
+		while (remaining.hasRemaining()) {
+			ByteBuffer chunkData = remaining.slice();
+			chunkData.limit(Math.min(chunkSize, remaining.remaining()));
+			remaining.position(remaining.position() + chunkData.remaining());
+			CassandraOperationStatus status = client.save(new ArtifactChunkData(key, chunk++, chunkData),
+					ArtifactChunkData.class, manager);
+			if (status != CassandraOperationStatus.OK) {
+				return status;
+			}
+		}
+		return CassandraOperationStatus.OK;
+	}
+
+	private void deleteChunks(String key, int fromChunk) {
+		if (execute(() -> artifactAccessor.deleteChunks(key, fromChunk)) != CassandraOperationStatus.OK) {
+			logger.debug("Failed to delete the chunks of {} from chunk {}", key, fromChunk);
+		}
+	}
+
+	private ByteBuffer readChunk(String key, int chunk) throws IOException {
+		try {
+			Row row = artifactAccessor.getChunk(key, chunk).one();
+			return row == null ? null : row.getBytes(0);
+		} catch (Exception e) {
+			throw new IOException("Failed to read chunk " + chunk + " of " + key, e);
+		}
+	}
+
+	private Either<ESArtifactData, CassandraOperationStatus> readChunks(ESArtifactData artifact, String key, Long size,
+			Integer payloadChunkSize) {
+		if (size == null || payloadChunkSize == null) {
+			return Either.left(artifact);
+		}
+		byte[] data = new byte[Math.toIntExact(size)];
+		try (ArtifactPayloadStream stream = new ArtifactPayloadStream(size, payloadChunkSize, chunk -> readChunk(key, chunk))) {
+			IOUtils.readFully(stream, data);
+		} catch (IOException e) {
+			logger.debug("Failed to read the chunks of artifact {}", artifact.getId(), e);
+			return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+		}
+		artifact.setData(ByteBuffer.wrap(data));
+		return Either.left(artifact);
+	}
+
+	private CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> readChunksAsync(ESArtifactData artifact,
+			String key, Long size, Integer payloadChunkSize, ArtifactReadHandle read) {
+		if (size == null || payloadChunkSize == null) {
+			return CompletableFuture.completedFuture(Either.left(artifact));
+		}
+		// the payload is allocated once its bytes are reserved
+		return read.reserve(size).thenCompose(reserved -> {
+			byte[] data = new byte[Math.toIntExact(size)];
+			return readChunkAsync(key, 0, data, payloadChunkSize, read).thenApply(done -> data);
+		}).handle((data, e) -> {
+			if (e != null) {
+				logger.debug("Failed to read the chunks of artifact {}", artifact.getId(), e);
+				return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+			}
+			artifact.setData(ByteBuffer.wrap(data));
+			return Either.left(artifact);
+		});
+	}
+
+	/**
+	 * Reads the chunks one after the other, each chunk is read once the previous one was copied.
+	 */
+	private CompletableFuture<Void> readChunkAsync(String key, int chunk, byte[] data, int payloadChunkSize,
+			ArtifactReadHandle read) {
+		long offset = (long) chunk * payloadChunkSize;
+		if (offset >= data.length) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return toCompletableFuture(read.track(artifactAccessor.getChunkAsync(key, chunk))).thenCompose(result -> {
+			Row row = result.one();
+			ByteBuffer chunkData = row == null ? null : row.getBytes(0);
+			int length = (int) Math.min(payloadChunkSize, data.length - offset);
+			if (chunkData == null || chunkData.remaining() < length) {
+				throw new IllegalStateException("Chunk " + chunk + " of " + key + " is missing or incomplete");
+			}
+			chunkData.duplicate().get(data, (int) offset, length);
+			return readChunkAsync(key, chunk + 1, data, payloadChunkSize, read);
+		});
+	}
+
+	private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Futures.addCallback(future, new FutureCallback<T>() {
+			@Override
+			public void onSuccess(T value) {
+				result.complete(value);
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				result.completeExceptionally(t);
+			}
+		});
+		return result;
+	}
+
+	private CassandraOperationStatus execute(Supplier<ResultSet> statement) {
+		try {
+			statement.get();
+			return CassandraOperationStatus.OK;
+		} catch (Exception e) {
+			logger.debug("Failed to execute statement", e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+	}
+
+	static String calculateChecksum(ByteBuffer data) {
+		if (data.hasArray()) {
+			return Hashing.sha256().hashBytes(data.array(), data.arrayOffset() + data.position(), data.remaining())
+					.toString();
+		}
+		byte[] bytes = new byte[data.remaining()];
+		data.duplicate().get(bytes);
+		return Hashing.sha256().hashBytes(bytes).toString();
+	}
+
+	private static ArtifactStorageConfig getArtifactStorageConfig() {
+		ConfigurationManager configurationManager = ConfigurationManager.getConfigurationManager();
+		if (configurationManager == null || configurationManager.getConfiguration() == null) {
+			return null;
+		}
+		return configurationManager.getConfiguration().getArtifactStorage();
+	}
+
+	/**
+	 * Where the payload of an artifact row is stored
+	 */
+	private static class ArtifactManifest {
+		private static final ArtifactManifest NONE = new ArtifactManifest(false, null, null, null, null);
+
+		private final boolean exists;
+		private final String checksum;
+		private final Long size;
+		private final Integer chunkSize;
+		private final String generation;
+
+		ArtifactManifest(String checksum, Long size, Integer chunkSize, String generation) {
+			this(true, checksum, size, chunkSize, generation);
+		}
+
+		private ArtifactManifest(boolean exists, String checksum, Long size, Integer chunkSize, String generation) {
+			this.exists = exists;
+			this.checksum = checksum;
+			this.size = size;
+			this.chunkSize = chunkSize;
+			this.generation = generation;
+		}
+
+		/**
+		 * @return true if the payload is stored apart from the artifact row
+		 */
+		boolean referencesStorage() {
+			return checksum != null || chunkSize != null;
+		}
+	}
 }
@@ -0,0 +1,130 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads an artifact payload chunk by chunk, holding a single chunk in memory.
+ * <p>
+ * {@link #skip(long)} moves to the requested position without reading the chunks before it, so a range of a large
+ * payload is read by skipping to its start and reading its length.
+ */
+public class ArtifactPayloadStream extends InputStream {
+
+    @FunctionalInterface
+    public interface ChunkReader {
+        ByteBuffer read(int chunk) throws IOException;
+    }
+
+    private final long size;
+    private final int chunkSize;
+    private final ChunkReader reader;
+    private long position;
+    private int currentChunk = -1;
+    private ByteBuffer current;
+
+    public ArtifactPayloadStream(long size, int chunkSize, ChunkReader reader) {
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.reader = reader;
+    }
+
+    /**
+     * @return a stream over a payload held in memory
+     */
+    public static ArtifactPayloadStream of(ByteBuffer data) {
+        ByteBuffer payload = data.duplicate();
+        return new ArtifactPayloadStream(payload.remaining(), Math.max(1, payload.remaining()), chunk -> payload);
+    }
+
+    /**
+     * @return the size of the whole payload
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+        ByteBuffer chunk = getChunk();
+        int offsetInChunk = (int) (position % chunkSize);
+        int count = (int) Math.min(Math.min(len, chunk.remaining() - offsetInChunk), size - position);
+        if (count <= 0) {
+            throw new IOException("Chunk " + currentChunk + " is shorter than expected");
+        }
+        ByteBuffer source = chunk.duplicate();
+        source.position(source.position() + offsetInChunk);
+        source.get(b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        if (current == null || position >= size || (int) (position / chunkSize) != currentChunk) {
+            return 0;
+        }
+        return (int) Math.min(current.remaining() - position % chunkSize, size - position);
+    }
+
+    @Override
+    public void close() {
+        current = null;
+    }
+
+    private ByteBuffer getChunk() throws IOException {
+        int chunk = (int) (position / chunkSize);
+        if (chunk != currentChunk) {
+            current = reader.read(chunk);
+            if (current == null) {
+                throw new IOException("Chunk " + chunk + " is missing");
+            }
+            currentChunk = chunk;
+        }
+        return current;
+    }
+}
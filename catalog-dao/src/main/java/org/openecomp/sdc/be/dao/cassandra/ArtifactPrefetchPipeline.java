@@ -0,0 +1,326 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import fj.data.Either;
+import org.openecomp.sdc.be.resources.data.ESArtifactData;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Reads artifact payloads ahead while earlier entries are consumed.
+ * <p>
+ * Every added entry issues its read right away, up to {@code maxInFlight} entries which are not consumed yet. Entries
+ * are handed to the consumer on the calling thread in the order they were added, so the output does not depend on the
+ * order in which the reads complete. The bytes of the payloads of the entries not consumed yet are bounded by
+ * {@code maxInFlightBytes}: a chunked payload is allocated by the reader once its bytes are reserved through the
+ * {@link ArtifactReadHandle} of the read, and a payload read at once is counted once read. A reservation waits until
+ * earlier entries are consumed, except for the entry consumed next, which is never kept waiting.
+ * <p>
+ * If the consumer throws, the reads of the remaining entries, with their statements in flight, are cancelled before
+ * the exception is propagated.
+ * <p>
+ * Not thread safe, a pipeline is used by a single writer.
+ *
+ * @param <T> the entry written with the payload
+ */
+public class ArtifactPrefetchPipeline<T> {
+
+    private static final Logger log = Logger.getLogger(ArtifactPrefetchPipeline.class.getName());
+
+    @FunctionalInterface
+    public interface EntryConsumer<T> {
+        /**
+         * @param payload the artifact read for the entry, null if the entry was added without an artifact id
+         */
+        void accept(T entry, Either<ESArtifactData, CassandraOperationStatus> payload) throws IOException;
+    }
+
+    private final BiFunction<String, ArtifactReadHandle, CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>>> reader;
+    private final int maxInFlight;
+    private final long maxInFlightBytes;
+    private final EntryConsumer<T> consumer;
+    private final Deque<PendingEntry<T>> pending = new ArrayDeque<>();
+    // the reservations are made by the threads completing the reads, they are guarded by the budget lock
+    private final Object budgetLock = new Object();
+    private final Deque<Reservation> waitingReservations = new ArrayDeque<>();
+    private long reservedBytes;
+
+    private int fetchCount;
+    private int maxQueued;
+    private long waitTimeNanos;
+
+    public ArtifactPrefetchPipeline(Function<String, CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>>> reader,
+                                    int maxInFlight, long maxInFlightBytes, EntryConsumer<T> consumer) {
+        this((artifactId, read) -> reader.apply(artifactId), maxInFlight, maxInFlightBytes, consumer);
+    }
+
+    public ArtifactPrefetchPipeline(BiFunction<String, ArtifactReadHandle, CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>>> reader,
+                                    int maxInFlight, long maxInFlightBytes, EntryConsumer<T> consumer) {
+        this.reader = reader;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Adds an entry and issues the read of its artifact. Entries before it may be consumed before returning.
+     *
+     * @param artifactId the artifact to read, null if the entry has no payload to read
+     */
+    public void add(T entry, String artifactId) throws IOException {
+        consumeCompleted();
+        while (pending.size() >= maxInFlight || (!pending.isEmpty() && getReservedBytes() > maxInFlightBytes)) {
+            consumeHead();
+        }
+        PendingEntry<T> pendingEntry = new PendingEntry<>(entry);
+        if (artifactId != null) {
+            pendingEntry.read = new ArtifactReadHandle(bytes -> reserve(pendingEntry, bytes));
+            pendingEntry.payload = reader.apply(artifactId, pendingEntry.read);
+            fetchCount++;
+            pendingEntry.payload.whenComplete((read, error) -> {
+                if (read != null) {
+                    countUnreserved(pendingEntry, sizeOf(read));
+                }
+            });
+        }
+        pending.addLast(pendingEntry);
+        maxQueued = Math.max(maxQueued, pending.size());
+    }
+
+    /**
+     * Consumes all the remaining entries, waiting for their reads.
+     */
+    public void finish() throws IOException {
+        while (!pending.isEmpty()) {
+            consumeHead();
+        }
+        log.debug("Prefetched {} artifacts, max queued {}, waited {} ms for reads", fetchCount, maxQueued,
+                waitTimeNanos / 1_000_000);
+    }
+
+    /**
+     * Drops the remaining entries without consuming them, e.g. when writing failed. Their statements in flight are
+     * cancelled.
+     */
+    public void cancel() {
+        for (PendingEntry<T> entry : pending) {
+            if (entry.payload != null) {
+                entry.read.cancel();
+                entry.payload.cancel(true);
+            }
+            release(entry);
+        }
+        pending.clear();
+    }
+
+    public int getFetchCount() {
+        return fetchCount;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public long getWaitTimeNanos() {
+        return waitTimeNanos;
+    }
+
+    long getReservedBytes() {
+        synchronized (budgetLock) {
+            return reservedBytes;
+        }
+    }
+
+    private void consumeCompleted() throws IOException {
+        while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+            consumeHead();
+        }
+    }
+
+    private void consumeHead() throws IOException {
+        PendingEntry<T> head = pending.removeFirst();
+        Either<ESArtifactData, CassandraOperationStatus> payload = null;
+        try {
+            if (head.payload != null) {
+                grantAll(head);
+                long start = System.nanoTime();
+                payload = join(head.payload);
+                waitTimeNanos += System.nanoTime() - start;
+            }
+            consumer.accept(head.entry, payload);
+        } catch (IOException | RuntimeException e) {
+            cancel();
+            throw e;
+        } finally {
+            release(head);
+        }
+    }
+
+    private CompletableFuture<Void> reserve(PendingEntry<T> entry, long bytes) {
+        Reservation reservation = new Reservation(entry, bytes);
+        synchronized (budgetLock) {
+            if (entry.released) {
+                reservation.cancelled = true;
+            } else if (entry.head || reservedBytes == 0 || reservedBytes + bytes <= maxInFlightBytes) {
+                grant(reservation);
+            } else {
+                waitingReservations.addLast(reservation);
+                return reservation.granted;
+            }
+        }
+        reservation.settle();
+        return reservation.granted;
+    }
+
+    /**
+     * Counts the bytes of a payload which was read without reserving them first
+     */
+    private void countUnreserved(PendingEntry<T> entry, long size) {
+        synchronized (budgetLock) {
+            if (!entry.released && size > entry.reserved) {
+                reservedBytes += size - entry.reserved;
+                entry.reserved = size;
+            }
+        }
+    }
+
+    /**
+     * Grants the reservations of the entry consumed next, its read being waited for
+     */
+    private void grantAll(PendingEntry<T> head) {
+        List<Reservation> settled = new ArrayList<>();
+        synchronized (budgetLock) {
+            head.head = true;
+            for (Iterator<Reservation> it = waitingReservations.iterator(); it.hasNext(); ) {
+                Reservation reservation = it.next();
+                if (reservation.entry == head) {
+                    it.remove();
+                    grant(reservation);
+                    settled.add(reservation);
+                }
+            }
+        }
+        settled.forEach(Reservation::settle);
+    }
+
+    /**
+     * Releases the bytes of a consumed or dropped entry, and grants the waiting reservations which fit in the budget,
+     * in the order they were made
+     */
+    private void release(PendingEntry<T> entry) {
+        List<Reservation> settled = new ArrayList<>();
+        synchronized (budgetLock) {
+            entry.released = true;
+            reservedBytes -= entry.reserved;
+            entry.reserved = 0;
+            for (Iterator<Reservation> it = waitingReservations.iterator(); it.hasNext(); ) {
+                Reservation reservation = it.next();
+                if (reservation.entry == entry) {
+                    it.remove();
+                    reservation.cancelled = true;
+                    settled.add(reservation);
+                }
+            }
+            while (!waitingReservations.isEmpty() && (reservedBytes == 0
+                    || reservedBytes + waitingReservations.peekFirst().bytes <= maxInFlightBytes)) {
+                Reservation reservation = waitingReservations.removeFirst();
+                grant(reservation);
+                settled.add(reservation);
+            }
+        }
+        // completed out of the lock, a granted reservation continues the read on this thread
+        settled.forEach(Reservation::settle);
+    }
+
+    private void grant(Reservation reservation) {
+        reservedBytes += reservation.bytes;
+        reservation.entry.reserved += reservation.bytes;
+    }
+
+    private static long sizeOf(Either<ESArtifactData, CassandraOperationStatus> payload) {
+        if (payload.isLeft() && payload.left().value().getData() != null) {
+            ByteBuffer data = payload.left().value().getData();
+            return data.remaining();
+        }
+        return 0;
+    }
+
+    private static Either<ESArtifactData, CassandraOperationStatus> join(
+            CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> payload) {
+        try {
+            return payload.join();
+        } catch (CompletionException | CancellationException e) {
+            log.debug("Failed to read artifact", e);
+            return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+        }
+    }
+
+    private static class PendingEntry<T> {
+        private final T entry;
+        private ArtifactReadHandle read;
+        private CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> payload;
+        // guarded by the budget lock
+        private long reserved;
+        private boolean head;
+        private boolean released;
+
+        PendingEntry(T entry) {
+            this.entry = entry;
+        }
+
+        boolean isDone() {
+            return payload == null || payload.isDone();
+        }
+    }
+
+    private static class Reservation {
+        private final PendingEntry<?> entry;
+        private final long bytes;
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+        private boolean cancelled;
+
+        Reservation(PendingEntry<?> entry, long bytes) {
+            this.entry = entry;
+            this.bytes = bytes;
+        }
+
+        void settle() {
+            if (cancelled) {
+                granted.completeExceptionally(new CancellationException("The read of the artifact was cancelled"));
+            } else {
+                granted.complete(null);
+            }
+        }
+    }
+}
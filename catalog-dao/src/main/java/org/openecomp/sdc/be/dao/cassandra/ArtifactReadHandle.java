@@ -0,0 +1,86 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * An asynchronous read of an artifact payload. The reader reserves the bytes of a payload before allocating them, and
+ * registers the statements it issues, so they are cancelled with the read.
+ */
+public class ArtifactReadHandle {
+
+    private final LongFunction<CompletableFuture<Void>> reservation;
+    private final List<Future<?>> statements = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * @param reservation reserves the given number of bytes, the future completes once they may be allocated
+     */
+    public ArtifactReadHandle(LongFunction<CompletableFuture<Void>> reservation) {
+        this.reservation = reservation;
+    }
+
+    /**
+     * @return a read whose payloads may be allocated right away
+     */
+    public static ArtifactReadHandle unbounded() {
+        return new ArtifactReadHandle(bytes -> CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * @return completed once the bytes may be allocated, completed exceptionally if the read was cancelled meanwhile
+     */
+    public CompletableFuture<Void> reserve(long bytes) {
+        return reservation.apply(bytes);
+    }
+
+    /**
+     * Registers a statement issued by the read, the statement is cancelled right away if the read was cancelled
+     */
+    public synchronized <F extends Future<?>> F track(F statement) {
+        if (cancelled) {
+            statement.cancel(true);
+        } else {
+            statements.removeIf(Future::isDone);
+            statements.add(statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Cancels the statements of the read in flight and those issued later on
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        statements.forEach(statement -> statement.cancel(true));
+        statements.clear();
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+}
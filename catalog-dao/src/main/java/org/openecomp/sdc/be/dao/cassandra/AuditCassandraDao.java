@@ -20,7 +20,10 @@
 
 package org.openecomp.sdc.be.dao.cassandra;
 
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
 import com.datastax.driver.mapping.Result;
 import fj.data.Either;
@@ -35,6 +38,7 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Component("audit-cassandra-dao")
@@ -76,6 +80,48 @@ public class AuditCassandraDao extends CassandraDao {
 		return client.save(entity, (Class<T>) entity.getClass(), manager);
 	}
 
+	/**
+	 * Saves the records with one insert each, all the inserts are sent before waiting for any of them. The records
+	 * belong to different tables and partitions, so they are not grouped in a batch.
+	 *
+	 * @return the status of each record, in the order of the records
+	 */
+	public List<CassandraOperationStatus> saveRecords(List<? extends AuditingGenericEvent> entities) {
+		if (!client.isConnected() || manager == null) {
+			return new ArrayList<>(Collections.nCopies(entities.size(), CassandraOperationStatus.CLUSTER_NOT_CONNECTED));
+		}
+		List<ResultSetFuture> inserts = new ArrayList<>(entities.size());
+		for (AuditingGenericEvent entity : entities) {
+			try {
+				inserts.add(session.executeAsync(saveQuery(entity)));
+			} catch (Exception e) {
+				logger.debug("Failed to send audit record {}, error :", entity.getAction(), e);
+				inserts.add(null);
+			}
+		}
+		List<CassandraOperationStatus> statuses = new ArrayList<>(entities.size());
+		for (ResultSetFuture insert : inserts) {
+			if (insert == null) {
+				statuses.add(CassandraOperationStatus.GENERAL_ERROR);
+				continue;
+			}
+			try {
+				insert.getUninterruptibly();
+				statuses.add(CassandraOperationStatus.OK);
+			} catch (Exception e) {
+				logger.debug("Failed to save audit record, error :", e);
+				statuses.add(CassandraOperationStatus.GENERAL_ERROR);
+			}
+		}
+		return statuses;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends AuditingGenericEvent> Statement saveQuery(T entity) {
+		Mapper<T> mapper = manager.mapper((Class<T>) entity.getClass());
+		return mapper.saveQuery(entity);
+	}
+
 	/**
 	 * 
 	 * @param did
@@ -26,6 +26,9 @@ import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.policies.*;
 import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import fj.data.Either;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.openecomp.sdc.be.config.ConfigurationManager;
@@ -34,6 +37,9 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PreDestroy;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 @Component("cassandra-client")
 public class CassandraClient {
@@ -193,6 +199,49 @@ public class CassandraClient {
 		}
 	}
 
+	/**
+	 * Same as {@link #getById(String, Class, MappingManager)} but the query is executed asynchronously.
+	 * The returned future is completed on a driver thread.
+	 */
+	public <T> CompletableFuture<Either<T, CassandraOperationStatus>> getByIdAsync(String id, Class<T> clazz, MappingManager manager) {
+		return getByIdAsync(id, clazz, manager, statement -> {
+		});
+	}
+
+	/**
+	 * Same as {@link #getByIdAsync(String, Class, MappingManager)}, the issued statement is passed to the given
+	 * consumer so it can be cancelled.
+	 */
+	public <T> CompletableFuture<Either<T, CassandraOperationStatus>> getByIdAsync(String id, Class<T> clazz, MappingManager manager,
+			Consumer<Future<?>> issued) {
+		CompletableFuture<Either<T, CassandraOperationStatus>> result = new CompletableFuture<>();
+		if (!isConnected) {
+			result.complete(Either.right(CassandraOperationStatus.CLUSTER_NOT_CONNECTED));
+			return result;
+		}
+		try {
+			Mapper<T> mapper = manager.mapper(clazz);
+			ListenableFuture<T> statement = mapper.getAsync(id);
+			issued.accept(statement);
+			Futures.addCallback(statement, new FutureCallback<T>() {
+				@Override
+				public void onSuccess(T value) {
+					result.complete(value == null ? Either.right(CassandraOperationStatus.NOT_FOUND) : Either.left(value));
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					logger.debug("Failed to get by Id [{}], error :", id, t);
+					result.complete(Either.right(CassandraOperationStatus.GENERAL_ERROR));
+				}
+			});
+		} catch (Exception e) {
+			logger.debug("Failed to get by Id [{}], error :", id, e);
+			result.complete(Either.right(CassandraOperationStatus.GENERAL_ERROR));
+		}
+		return result;
+	}
+
 	public <T> CassandraOperationStatus delete(String id, Class<T> clazz, MappingManager manager) {
 		if (!isConnected) {
 			return CassandraOperationStatus.CLUSTER_NOT_CONNECTED;
@@ -0,0 +1,46 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Param;
+import com.datastax.driver.mapping.annotations.Query;
+
+import java.util.Date;
+
+@Accessor
+public interface ComponentLockAccessor {
+
+	@Query("SELECT token, owner, expires FROM sdcrepository.componentlocks WHERE id = :id")
+	ResultSet getLock(@Param("id") String id);
+
+	@Query("INSERT INTO sdcrepository.componentlocks (id, token, owner, expires) VALUES (:id, :token, :owner, :expires) IF NOT EXISTS")
+	ResultSet createLock(@Param("id") String id, @Param("token") long token, @Param("owner") String owner,
+			@Param("expires") Date expires);
+
+	@Query("UPDATE sdcrepository.componentlocks SET token = :token, owner = :owner, expires = :expires WHERE id = :id IF token = :previousToken")
+	ResultSet takeLock(@Param("id") String id, @Param("token") long token, @Param("owner") String owner,
+			@Param("expires") Date expires, @Param("previousToken") long previousToken);
+
+	@Query("DELETE FROM sdcrepository.componentlocks WHERE id = :id IF token = :token")
+	ResultSet releaseLock(@Param("id") String id, @Param("token") long token);
+}
@@ -0,0 +1,132 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.mapping.MappingManager;
+import fj.data.Either;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Component lock leases shared by all the BEs of a site, taken with lightweight transactions.
+ * <p>
+ * Every lease taken on a lock gets a random token identifying it, the lease is taken over and released only if the
+ * row still holds the token the lease was read with. A lease which was not released expires after its lease time and
+ * can then be taken by another owner; its owner can no longer release it. Expiry is checked against the clock of the
+ * BE taking the lock.
+ */
+@Component("component-lock-cassandra-dao")
+public class ComponentLockCassandraDao extends CassandraDao {
+
+	private static Logger logger = Logger.getLogger(ComponentLockCassandraDao.class.getName());
+	private ComponentLockAccessor componentLockAccessor;
+
+	@Autowired
+	public ComponentLockCassandraDao(CassandraClient cassandraClient) {
+		super(cassandraClient);
+	}
+
+	@PostConstruct
+	public void init() {
+		String keyspace = AuditingTypesConstants.REPO_KEYSPACE;
+		if (client.isConnected()) {
+			Either<ImmutablePair<Session, MappingManager>, CassandraOperationStatus> result = client.connect(keyspace);
+			if (result.isLeft()) {
+				session = result.left().value().left;
+				manager = result.left().value().right;
+				componentLockAccessor = manager.createAccessor(ComponentLockAccessor.class);
+				logger.info("** ComponentLockCassandraDao created");
+			} else {
+				logger.info("** ComponentLockCassandraDao failed");
+				throw new RuntimeException("Component lock keyspace [" + keyspace + "] failed to connect with error : "
+						+ result.right().value());
+			}
+		} else {
+			logger.info("** Cassandra client isn't connected");
+			logger.info("** ComponentLockCassandraDao created, but not connected");
+		}
+	}
+
+	/**
+	 * Takes a lease on the lock if it is not held or its lease expired.
+	 *
+	 * @return the token of the lease, ALREADY_LOCKED if the lock is held by another lease
+	 */
+	public Either<Long, CassandraOperationStatus> acquireLock(String lockId, String owner, long leaseTimeMillis) {
+		if (componentLockAccessor == null) {
+			return Either.right(CassandraOperationStatus.CLUSTER_NOT_CONNECTED);
+		}
+		try {
+			long now = System.currentTimeMillis();
+			Date expires = new Date(now + leaseTimeMillis);
+			long token = ThreadLocalRandom.current().nextLong();
+			Row current = componentLockAccessor.getLock(lockId).one();
+			if (current == null) {
+				if (componentLockAccessor.createLock(lockId, token, owner, expires).wasApplied()) {
+					return Either.left(token);
+				}
+				return Either.right(CassandraOperationStatus.ALREADY_LOCKED);
+			}
+			Date currentExpires = current.getTimestamp(2);
+			if (current.getString(1) != null && currentExpires != null && currentExpires.getTime() > now) {
+				logger.debug("Lock {} is held by {} until {}", lockId, current.getString(1), currentExpires);
+				return Either.right(CassandraOperationStatus.ALREADY_LOCKED);
+			}
+			if (componentLockAccessor.takeLock(lockId, token, owner, expires, current.getLong(0)).wasApplied()) {
+				return Either.left(token);
+			}
+			return Either.right(CassandraOperationStatus.ALREADY_LOCKED);
+		} catch (Exception e) {
+			logger.debug("Failed to acquire lock {}", lockId, e);
+			return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+		}
+	}
+
+	/**
+	 * Releases the lease with the given token, deleting the lock row only if it still holds the token.
+	 *
+	 * @return NOT_FOUND if the lease expired and the lock was taken by another lease since
+	 */
+	public CassandraOperationStatus releaseLock(String lockId, long token) {
+		if (componentLockAccessor == null) {
+			return CassandraOperationStatus.CLUSTER_NOT_CONNECTED;
+		}
+		try {
+			if (componentLockAccessor.releaseLock(lockId, token).wasApplied()) {
+				return CassandraOperationStatus.OK;
+			}
+			logger.debug("Lease {} of lock {} is not held anymore", token, lockId);
+			return CassandraOperationStatus.NOT_FOUND;
+		} catch (Exception e) {
+			logger.debug("Failed to release lock {}", lockId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+	}
+}
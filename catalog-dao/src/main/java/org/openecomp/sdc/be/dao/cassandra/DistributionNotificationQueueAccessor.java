@@ -0,0 +1,53 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.mapping.Result;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Param;
+import com.datastax.driver.mapping.annotations.Query;
+import org.openecomp.sdc.be.resources.data.DistributionNotificationQueueEntry;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Accessor
+public interface DistributionNotificationQueueAccessor {
+
+	@Query("SELECT * FROM sdcrepository.distributionnotificationqueue")
+	Result<DistributionNotificationQueueEntry> getAll();
+
+	@Query("UPDATE sdcrepository.distributionnotificationqueue SET owner = :owner, lease_expires = :leaseExpires WHERE env_id = :envId AND id = :id IF owner = :previousOwner")
+	ResultSet claim(@Param("envId") String envId, @Param("id") UUID id, @Param("owner") String owner,
+			@Param("leaseExpires") Date leaseExpires, @Param("previousOwner") String previousOwner);
+
+	@Query("UPDATE sdcrepository.distributionnotificationqueue SET lease_expires = :leaseExpires WHERE env_id = :envId AND id = :id IF owner = :owner")
+	ResultSet renew(@Param("envId") String envId, @Param("id") UUID id, @Param("owner") String owner,
+			@Param("leaseExpires") Date leaseExpires);
+
+	@Query("UPDATE sdcrepository.distributionnotificationqueue SET failure = :failure, owner = null, lease_expires = null WHERE env_id = :envId AND id = :id IF owner = :owner")
+	ResultSet fail(@Param("envId") String envId, @Param("id") UUID id, @Param("owner") String owner,
+			@Param("failure") String failure);
+
+	@Query("DELETE FROM sdcrepository.distributionnotificationqueue WHERE env_id = :envId AND id = :id IF owner = :owner")
+	ResultSet delete(@Param("envId") String envId, @Param("id") UUID id, @Param("owner") String owner);
+}
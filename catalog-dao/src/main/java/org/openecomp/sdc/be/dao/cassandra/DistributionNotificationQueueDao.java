@@ -0,0 +1,170 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import com.datastax.driver.core.Session;
+import com.datastax.driver.mapping.MappingManager;
+import fj.data.Either;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.resources.data.DistributionNotificationQueueEntry;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the distribution notifications which were accepted and not published yet, so that they are published
+ * after a restart of the BE which accepted them.
+ */
+@Component("distribution-notification-queue-dao")
+public class DistributionNotificationQueueDao extends CassandraDao {
+
+	private static Logger logger = Logger.getLogger(DistributionNotificationQueueDao.class.getName());
+	private DistributionNotificationQueueAccessor distributionNotificationQueueAccessor;
+
+	@Autowired
+	public DistributionNotificationQueueDao(CassandraClient cassandraClient) {
+		super(cassandraClient);
+	}
+
+	@PostConstruct
+	public void init() {
+		String keyspace = AuditingTypesConstants.REPO_KEYSPACE;
+		if (client.isConnected()) {
+			Either<ImmutablePair<Session, MappingManager>, CassandraOperationStatus> result = client.connect(keyspace);
+			if (result.isLeft()) {
+				session = result.left().value().left;
+				manager = result.left().value().right;
+				distributionNotificationQueueAccessor = manager.createAccessor(DistributionNotificationQueueAccessor.class);
+				logger.info("** DistributionNotificationQueueDao created");
+			} else {
+				logger.info("** DistributionNotificationQueueDao failed");
+				throw new RuntimeException("Distribution notification queue keyspace [" + keyspace
+						+ "] failed to connect with error : " + result.right().value());
+			}
+		} else {
+			logger.info("** Cassandra client isn't connected");
+			logger.info("** DistributionNotificationQueueDao created, but not connected");
+		}
+	}
+
+	public CassandraOperationStatus save(DistributionNotificationQueueEntry entry) {
+		if (distributionNotificationQueueAccessor == null) {
+			return CassandraOperationStatus.CLUSTER_NOT_CONNECTED;
+		}
+		return client.save(entry, DistributionNotificationQueueEntry.class, manager);
+	}
+
+	public Either<List<DistributionNotificationQueueEntry>, CassandraOperationStatus> getAll() {
+		if (distributionNotificationQueueAccessor == null) {
+			return Either.right(CassandraOperationStatus.CLUSTER_NOT_CONNECTED);
+		}
+		try {
+			return Either.left(distributionNotificationQueueAccessor.getAll().all());
+		} catch (Exception e) {
+			logger.debug("Failed to read the distribution notification queue", e);
+			return Either.right(CassandraOperationStatus.GENERAL_ERROR);
+		}
+	}
+
+	/**
+	 * Takes over a notification from its previous owner, whose lease expired.
+	 *
+	 * @return ALREADY_LOCKED when the notification was taken over by another owner first
+	 */
+	public CassandraOperationStatus claim(String envId, UUID id, String owner, Date leaseExpires,
+			String previousOwner) {
+		if (distributionNotificationQueueAccessor == null) {
+			return CassandraOperationStatus.CLUSTER_NOT_CONNECTED;
+		}
+		try {
+			if (distributionNotificationQueueAccessor.claim(envId, id, owner, leaseExpires, previousOwner)
+					.wasApplied()) {
+				return CassandraOperationStatus.OK;
+			}
+			return CassandraOperationStatus.ALREADY_LOCKED;
+		} catch (Exception e) {
+			logger.debug("Failed to claim notification {} of environment {}", id, envId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+	}
+
+	/**
+	 * @return NOT_FOUND when the notification is not owned by the owner anymore
+	 */
+	public CassandraOperationStatus renew(String envId, UUID id, String owner, Date leaseExpires) {
+		if (distributionNotificationQueueAccessor == null) {
+			return CassandraOperationStatus.CLUSTER_NOT_CONNECTED;
+		}
+		try {
+			if (distributionNotificationQueueAccessor.renew(envId, id, owner, leaseExpires).wasApplied()) {
+				return CassandraOperationStatus.OK;
+			}
+			return CassandraOperationStatus.NOT_FOUND;
+		} catch (Exception e) {
+			logger.debug("Failed to renew the lease of notification {} of environment {}", id, envId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+	}
+
+	/**
+	 * Keeps a notification which could not be published as a dead letter, which is not published again.
+	 *
+	 * @return NOT_FOUND when the notification is not owned by the owner anymore
+	 */
+	public CassandraOperationStatus fail(String envId, UUID id, String owner, String failure) {
+		if (distributionNotificationQueueAccessor == null) {
+			return CassandraOperationStatus.CLUSTER_NOT_CONNECTED;
+		}
+		try {
+			if (distributionNotificationQueueAccessor.fail(envId, id, owner, failure).wasApplied()) {
+				return CassandraOperationStatus.OK;
+			}
+			return CassandraOperationStatus.NOT_FOUND;
+		} catch (Exception e) {
+			logger.debug("Failed to keep notification {} of environment {} as failed", id, envId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+	}
+
+	/**
+	 * @return NOT_FOUND when the notification is not owned by the owner anymore
+	 */
+	public CassandraOperationStatus delete(String envId, UUID id, String owner) {
+		if (distributionNotificationQueueAccessor == null) {
+			return CassandraOperationStatus.CLUSTER_NOT_CONNECTED;
+		}
+		try {
+			if (distributionNotificationQueueAccessor.delete(envId, id, owner).wasApplied()) {
+				return CassandraOperationStatus.OK;
+			}
+			return CassandraOperationStatus.NOT_FOUND;
+		} catch (Exception e) {
+			logger.debug("Failed to delete notification {} of environment {} from the queue", id, envId, e);
+			return CassandraOperationStatus.GENERAL_ERROR;
+		}
+	}
+}
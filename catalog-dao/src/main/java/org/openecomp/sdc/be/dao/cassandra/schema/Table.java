@@ -25,6 +25,8 @@ import org.openecomp.sdc.be.dao.cassandra.schema.tables.*;
 public enum Table {
 
     ARTIFACT(new ArtifactTableDescription()),
+    ARTIFACT_PAYLOAD(new ArtifactPayloadTableDescription()),
+    ARTIFACT_CHUNK(new ArtifactChunkTableDescription()),
     USER_ADMIN_EVENT(new UserAdminEventTableDescription()),
     USER_ACCESS_EVENT(new UserAccessEventTableDescription()),
     RESOURCE_ADMIN_EVENT(new ResAdminEventTableDescription()),
@@ -43,6 +45,8 @@ public enum Table {
     SDC_SCHEMA_FILES(new SdcSchemaFilesTableDescription()),
     SDC_REPO(new MigrationTasksTableDescription()),
     SDC_OPERATIONAL_ENVIRONMENT(new OperationalEnvironmentsTableDescription()),
+    COMPONENT_LOCK(new ComponentLockTableDescription()),
+    DISTRIBUTION_NOTIFICATION_QUEUE(new DistributionNotificationQueueTableDescription()),
     AUDIT_ECOMP_OPERATIONAL_ENVIRONMENT(new EcompOperationalEnvironmentEventTableDesc());
 
 	ITableDescription tableDescription;
@@ -0,0 +1,71 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra.schema.tables;
+
+import com.datastax.driver.core.DataType;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.dao.cassandra.schema.ITableDescription;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed size chunks of the artifact payloads too large to be stored in a single row. A partition holds the chunks of
+ * one payload, keyed by the artifact id or by the checksum of a content addressed payload.
+ */
+public class ArtifactChunkTableDescription implements ITableDescription {
+
+	private static final String CHUNK_FIELD = "chunk";
+
+	@Override
+	public List<ImmutablePair<String, DataType>> primaryKeys() {
+		List<ImmutablePair<String, DataType>> keys = new ArrayList<>();
+		keys.add(new ImmutablePair<>(ID_FIELD, DataType.varchar()));
+		return keys;
+	}
+
+	@Override
+	public List<ImmutablePair<String, DataType>> clusteringKeys() {
+		List<ImmutablePair<String, DataType>> keys = new ArrayList<>();
+		keys.add(new ImmutablePair<>(CHUNK_FIELD, DataType.cint()));
+		return keys;
+	}
+
+	@Override
+	public Map<String, ImmutablePair<DataType, Boolean>> getColumnDescription() {
+		Map<String, ImmutablePair<DataType, Boolean>> columns = new HashMap<>();
+		columns.put("data", new ImmutablePair<>(DataType.blob(), false));
+		return columns;
+	}
+
+	@Override
+	public String getKeyspace() {
+		return AuditingTypesConstants.ARTIFACT_KEYSPACE;
+	}
+
+	@Override
+	public String getTableName() {
+		return "chunks";
+	}
+}
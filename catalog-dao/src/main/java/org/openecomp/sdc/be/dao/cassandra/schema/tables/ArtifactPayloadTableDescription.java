@@ -0,0 +1,74 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra.schema.tables;
+
+import com.datastax.driver.core.DataType;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.dao.cassandra.schema.ITableDescription;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Artifact payloads stored once per content, keyed by the checksum of the payload. A row also holds the number of
+ * artifacts referencing the payload, which is only changed by lightweight transactions so that the row can be deleted
+ * atomically with its last reference, and the generation the chunks of a chunked payload are stored under.
+ */
+public class ArtifactPayloadTableDescription implements ITableDescription {
+
+	public static final String CHECKSUM_FIELD = "checksum";
+
+	@Override
+	public List<ImmutablePair<String, DataType>> primaryKeys() {
+		List<ImmutablePair<String, DataType>> keys = new ArrayList<>();
+		keys.add(new ImmutablePair<>(CHECKSUM_FIELD, DataType.varchar()));
+		return keys;
+	}
+
+	@Override
+	public List<ImmutablePair<String, DataType>> clusteringKeys() {
+		return null;
+	}
+
+	@Override
+	public Map<String, ImmutablePair<DataType, Boolean>> getColumnDescription() {
+		Map<String, ImmutablePair<DataType, Boolean>> columns = new HashMap<>();
+		columns.put("data", new ImmutablePair<>(DataType.blob(), false));
+		columns.put("size", new ImmutablePair<>(DataType.bigint(), false));
+		columns.put("chunkSize", new ImmutablePair<>(DataType.cint(), false));
+		columns.put("generation", new ImmutablePair<>(DataType.varchar(), false));
+		columns.put("refcount", new ImmutablePair<>(DataType.cint(), false));
+		return columns;
+	}
+
+	@Override
+	public String getKeyspace() {
+		return AuditingTypesConstants.ARTIFACT_KEYSPACE;
+	}
+
+	@Override
+	public String getTableName() {
+		return "payloads";
+	}
+}
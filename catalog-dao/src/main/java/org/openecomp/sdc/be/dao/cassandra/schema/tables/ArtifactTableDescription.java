@@ -61,7 +61,11 @@ public class ArtifactTableDescription implements ITableDescription {
 	}
 
 	enum ArtifactFieldsDescription {
-		DATA("data", DataType.blob(), false);
+		DATA("data", DataType.blob(), false),
+		CHECKSUM("checksum", DataType.varchar(), false),
+		SIZE("size", DataType.bigint(), false),
+		CHUNK_SIZE("chunkSize", DataType.cint(), false),
+		GENERATION("generation", DataType.varchar(), false);
 
 		private String name;
 		private DataType type;
@@ -0,0 +1,69 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra.schema.tables;
+
+import com.datastax.driver.core.DataType;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.dao.cassandra.schema.ITableDescription;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Component lock leases. A row is kept per held lock with the token of the lease holding it, its owner and its
+ * expiry; the row is deleted when the lease is released.
+ */
+public class ComponentLockTableDescription implements ITableDescription {
+
+	private static final String COMPONENT_LOCK_TABLE = "componentlocks";
+
+	@Override
+	public List<ImmutablePair<String, DataType>> primaryKeys() {
+		return Collections.singletonList(ImmutablePair.of(ID_FIELD, DataType.varchar()));
+	}
+
+	@Override
+	public List<ImmutablePair<String, DataType>> clusteringKeys() {
+		return null;
+	}
+
+	@Override
+	public Map<String, ImmutablePair<DataType, Boolean>> getColumnDescription() {
+		Map<String, ImmutablePair<DataType, Boolean>> columns = new HashMap<>();
+		columns.put("token", ImmutablePair.of(DataType.bigint(), false));
+		columns.put("owner", ImmutablePair.of(DataType.varchar(), false));
+		columns.put("expires", ImmutablePair.of(DataType.timestamp(), false));
+		return columns;
+	}
+
+	@Override
+	public String getKeyspace() {
+		return AuditingTypesConstants.REPO_KEYSPACE;
+	}
+
+	@Override
+	public String getTableName() {
+		return COMPONENT_LOCK_TABLE;
+	}
+}
@@ -0,0 +1,73 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra.schema.tables;
+
+import com.datastax.driver.core.DataType;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openecomp.sdc.be.dao.cassandra.schema.ITableDescription;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribution notifications waiting to be published, partitioned by operational environment and ordered by the
+ * time they were accepted. A row is owned by the BE which holds its notification until the lease of the row expires.
+ * It is deleted once its notification was published, and kept with its failure when it could not be published.
+ */
+public class DistributionNotificationQueueTableDescription implements ITableDescription {
+
+	private static final String DISTRIBUTION_NOTIFICATION_QUEUE_TABLE = "distributionnotificationqueue";
+
+	@Override
+	public List<ImmutablePair<String, DataType>> primaryKeys() {
+		return Collections.singletonList(ImmutablePair.of("env_id", DataType.varchar()));
+	}
+
+	@Override
+	public List<ImmutablePair<String, DataType>> clusteringKeys() {
+		return Collections.singletonList(ImmutablePair.of(ID_FIELD, DataType.timeuuid()));
+	}
+
+	@Override
+	public Map<String, ImmutablePair<DataType, Boolean>> getColumnDescription() {
+		Map<String, ImmutablePair<DataType, Boolean>> columns = new HashMap<>();
+		for (String column : new String[] { "topic_name", "distribution_id", "message", "workload_context",
+				"service_uuid", "service_name", "service_version", "service_state", "modifier_id",
+				"modifier_first_name", "modifier_last_name", "owner", "failure" }) {
+			columns.put(column, ImmutablePair.of(DataType.varchar(), false));
+		}
+		columns.put("lease_expires", ImmutablePair.of(DataType.timestamp(), false));
+		return columns;
+	}
+
+	@Override
+	public String getKeyspace() {
+		return AuditingTypesConstants.REPO_KEYSPACE;
+	}
+
+	@Override
+	public String getTableName() {
+		return DISTRIBUTION_NOTIFICATION_QUEUE_TABLE;
+	}
+}
@@ -21,6 +21,7 @@
 package org.openecomp.sdc.be.dao.impl;
 
 import fj.data.Either;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -86,6 +87,14 @@ public class AuditingDao extends ESTimeBasedDao {
 		return write(type, auditingGenericEvent);
 	}
 
+	/**
+	 * @param auditEvents the events to persist, each with its type
+	 */
+	public ActionStatus addRecords(List<ImmutablePair<String, ? extends AuditingGenericEvent>> auditEvents) {
+		log.debug("Auditing: Persisting {} objects", auditEvents.size());
+		return writeBulk(new ArrayList<>(auditEvents));
+	}
+
 	public ActionStatus addRecord(AuditingGenericEvent auditEvent, String type) {
 
 		log.debug("Auditing: Persisting object of type {}, fields: {}", type, auditEvent.getAction());
@@ -24,6 +24,9 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -102,6 +105,43 @@ public abstract class ESTimeBasedDao {
 		return res;
 	}
 
+	/**
+	 * Writes the events in a single bulk request with a single refresh.
+	 *
+	 * @param events the events to write, each with its type name
+	 */
+	public ActionStatus writeBulk(List<ImmutablePair<String, ? extends ESTimeBasedEvent>> events) {
+		if (events.isEmpty()) {
+			return ActionStatus.OK;
+		}
+		ActionStatus res = ActionStatus.OK;
+		try {
+			BulkRequestBuilder bulkRequest = esClient.getClient().prepareBulk().setRefresh(true);
+			for (ImmutablePair<String, ? extends ESTimeBasedEvent> event : events) {
+				ESTimeBasedEvent data = event.getRight();
+				bulkRequest.add(esClient.getClient().prepareIndex(getIndexName(data), event.getLeft())
+						.setSource(new JSONObject(data.getFields()).toString()));
+			}
+			BulkResponse bulkResponse = bulkRequest.execute().actionGet(TimeValue.timeValueSeconds(15));
+			if (bulkResponse.hasFailures()) {
+				log.error("Bulk of {} records couldn't be created: {}", events.size(), bulkResponse.buildFailureMessage());
+				res = ActionStatus.GENERAL_ERROR;
+			} else {
+				log.debug("Created {} records", events.size());
+			}
+		} catch (Exception e) {
+			log.error("Couldn't write bulk of {} records", events.size(), e);
+			res = ActionStatus.GENERAL_ERROR;
+		}
+		return res;
+	}
+
+	private String getIndexName(ESTimeBasedEvent data) {
+		String indexPrefix = getIndexPrefix();
+		String indexSuffix = getIndexSuffix(indexPrefix, data);
+		return indexSuffix != null ? indexPrefix + "-" + indexSuffix : indexPrefix;
+	}
+
 	public ActionStatus write(ESTimeBasedEvent data) {
 
 		String indexPrefix = getIndexPrefix();
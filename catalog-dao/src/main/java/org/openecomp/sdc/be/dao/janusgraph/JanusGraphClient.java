@@ -31,6 +31,7 @@ import org.janusgraph.graphdb.database.idassigner.IDPoolExhaustedException;
 import fj.data.Either;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.openecomp.sdc.be.config.BeEcompErrorManager;
 import org.openecomp.sdc.be.config.ConfigurationManager;
@@ -44,7 +45,9 @@ import org.springframework.stereotype.Component;
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 
 @Component("janusgraph-client")
@@ -124,6 +127,8 @@ public class JanusGraphClient {
 	private String janusGraphCfgFile = null;
 	JanusGraphClientStrategy janusGraphClientStrategy;
 
+	private final ThreadLocal<List<Consumer<Transaction.Status>>> transactionListeners = ThreadLocal.withInitial(ArrayList::new);
+
 	public JanusGraphClient(JanusGraphClientStrategy janusGraphClientStrategy) {
 		super();
 		this.janusGraphClientStrategy = janusGraphClientStrategy;
@@ -270,8 +275,10 @@ public class JanusGraphClient {
 		if (graph != null) {
 			try {
 				graph.tx().commit();
+				fireTransactionListeners(Transaction.Status.COMMIT);
 				return JanusGraphOperationStatus.OK;
 			} catch (Exception e) {
+				fireTransactionListeners(Transaction.Status.ROLLBACK);
 				return handleJanusGraphException(e);
 			}
 		} else {
@@ -287,12 +294,39 @@ public class JanusGraphClient {
 				return JanusGraphOperationStatus.OK;
 			} catch (Exception e) {
 				return handleJanusGraphException(e);
+			} finally {
+				fireTransactionListeners(Transaction.Status.ROLLBACK);
 			}
 		} else {
 			return JanusGraphOperationStatus.NOT_CREATED;
 		}
 	}
 
+	/**
+	 * Registers a listener to be notified once, when the transaction of the calling thread is committed or rolled back
+	 */
+	public void addTransactionListener(Consumer<Transaction.Status> listener) {
+		transactionListeners.get().add(listener);
+	}
+
+	/**
+	 * Notifies and removes the listeners registered by the calling thread. Called once its transaction ended.
+	 */
+	public void fireTransactionListeners(Transaction.Status status) {
+		List<Consumer<Transaction.Status>> listeners = transactionListeners.get();
+		if (listeners.isEmpty()) {
+			return;
+		}
+		transactionListeners.remove();
+		for (Consumer<Transaction.Status> listener : listeners) {
+			try {
+				listener.accept(status);
+			} catch (RuntimeException e) {
+				logger.error("Transaction listener failed on {}", status, e);
+			}
+		}
+	}
+
 	public static JanusGraphOperationStatus handleJanusGraphException(Exception e) {
 		if (e instanceof JanusGraphConfigurationException) {
 			return JanusGraphOperationStatus.JANUSGRAPH_CONFIGURATION;
@@ -406,6 +440,7 @@ public class JanusGraphClient {
 				}
 			}
 		}
+		JanusGraphCompositeIndexes.createMissingIndexes(graphMgt);
 		graphMgt.commit();
 	}
 
@@ -0,0 +1,70 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.janusgraph;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.PropertyKey;
+import org.janusgraph.core.schema.JanusGraphIndex;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.openecomp.sdc.be.dao.jsongraph.types.CompositeIndexEnum;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+/**
+ * Builds the composite indexes of {@link CompositeIndexEnum} in the graph schema.
+ */
+public class JanusGraphCompositeIndexes {
+
+    private static final Logger logger = Logger.getLogger(JanusGraphCompositeIndexes.class.getName());
+
+    private JanusGraphCompositeIndexes() {
+    }
+
+    /**
+     * Builds the composite indexes missing from the graph. The property keys of the indexes are made when missing.
+     * <p>
+     * An index built on a graph which already has vertices with its keys is only installed, it is enabled by
+     * reindexing the graph.
+     */
+    public static void createMissingIndexes(JanusGraphManagement graphMgt) {
+        for (CompositeIndexEnum compositeIndex : CompositeIndexEnum.values()) {
+            if (!graphMgt.containsGraphIndex(compositeIndex.getIndexName())) {
+                buildIndex(graphMgt, compositeIndex);
+            }
+        }
+    }
+
+    public static JanusGraphIndex buildIndex(JanusGraphManagement graphMgt, CompositeIndexEnum compositeIndex) {
+        JanusGraphManagement.IndexBuilder indexBuilder = graphMgt.buildIndex(compositeIndex.getIndexName(), Vertex.class);
+        for (GraphPropertyEnum key : compositeIndex.getKeys()) {
+            indexBuilder.addKey(getOrMakePropertyKey(graphMgt, key));
+        }
+        logger.info("Building composite index {} on {}", compositeIndex.getIndexName(), compositeIndex.getKeys());
+        return indexBuilder.buildCompositeIndex();
+    }
+
+    private static PropertyKey getOrMakePropertyKey(JanusGraphManagement graphMgt, GraphPropertyEnum key) {
+        if (graphMgt.containsPropertyKey(key.getProperty())) {
+            return graphMgt.getPropertyKey(key.getProperty());
+        }
+        return graphMgt.makePropertyKey(key.getProperty()).dataType(key.getClazz()).make();
+    }
+}
@@ -20,6 +20,7 @@
 
 package org.openecomp.sdc.be.dao.janusgraph.transactions;
 
+import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.janusgraph.core.JanusGraphException;
 import org.janusgraph.core.JanusGraph;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphClient;
@@ -65,7 +66,9 @@ public class SimpleJanusGraphTransactionManager implements PlatformTransactionMa
         log.debug("#commit - committing transaction");
         try {
             janusGraph.tx().commit();
+            janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
         } catch (JanusGraphException e) {
+            janusGraphClient.fireTransactionListeners(Transaction.Status.ROLLBACK);
             log.debug("#commit - failed to commit transaction", e);
             throw new TransactionSystemException("failed to commit transaction", e);
         }
@@ -79,6 +82,8 @@ public class SimpleJanusGraphTransactionManager implements PlatformTransactionMa
         } catch (JanusGraphException e) {
             log.debug("#rollback - failed to rollback transaction", e);
             throw new TransactionSystemException("failed to rollback transaction", e);
+        } finally {
+            janusGraphClient.fireTransactionListeners(Transaction.Status.ROLLBACK);
         }
     }
 
@@ -0,0 +1,45 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph;
+
+import org.janusgraph.core.JanusGraphVertex;
+
+/**
+ * A shard vertex holding the json of a single key of a sharded data vertex, as read from the graph
+ */
+public class DataShard {
+
+    private final JanusGraphVertex vertex;
+    private final String json;
+
+    public DataShard(JanusGraphVertex vertex, String json) {
+        this.vertex = vertex;
+        this.json = json;
+    }
+
+    public JanusGraphVertex getVertex() {
+        return vertex;
+    }
+
+    public String getJson() {
+        return json;
+    }
+}
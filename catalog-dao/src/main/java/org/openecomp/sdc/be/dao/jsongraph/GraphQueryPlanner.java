@@ -0,0 +1,111 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph;
+
+import org.openecomp.sdc.be.dao.jsongraph.types.CompositeIndexEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the index a criteria query is answered with - the composite index covering the most of its equality
+ * conditions, otherwise the single key index of its most selective indexed key - and logs the queries no index
+ * covers, which are answered by a full scan of the graph, with their timings.
+ */
+class GraphQueryPlanner {
+
+    private static final Logger logger = Logger.getLogger(GraphQueryPlanner.class.getName());
+
+    private static final Set<GraphPropertyEnum> LOW_SELECTIVITY_KEYS = EnumSet.of(GraphPropertyEnum.LABEL,
+            GraphPropertyEnum.COMPONENT_TYPE, GraphPropertyEnum.RESOURCE_TYPE, GraphPropertyEnum.STATE);
+
+    QueryPlan plan(VertexTypeEnum type, Map<GraphPropertyEnum, Object> props) {
+        Set<GraphPropertyEnum> equalityKeys = EnumSet.noneOf(GraphPropertyEnum.class);
+        if (type != null) {
+            equalityKeys.add(GraphPropertyEnum.LABEL);
+        }
+        if (props != null) {
+            props.forEach((key, value) -> {
+                if (value != null && !(value instanceof Collection)) {
+                    equalityKeys.add(key);
+                }
+            });
+        }
+        CompositeIndexEnum compositeIndex = CompositeIndexEnum.getBestMatch(equalityKeys);
+        if (compositeIndex != null) {
+            return new QueryPlan(compositeIndex.getIndexName(), compositeIndex.getKeys());
+        }
+        return equalityKeys.stream()
+                .filter(GraphPropertyEnum::isIndexed)
+                .min(Comparator.comparingInt(GraphQueryPlanner::selectivityRank))
+                .map(key -> new QueryPlan(key.getProperty(), Collections.singletonList(key)))
+                .orElse(QueryPlan.FULL_SCAN);
+    }
+
+    void logExecution(QueryPlan plan, VertexTypeEnum type, Map<GraphPropertyEnum, ?> props, long startTime, int found) {
+        long elapsed = System.currentTimeMillis() - startTime;
+        if (plan.isFullScan()) {
+            logger.warn("No index covers the criteria type = {} and properties = {}, {} vertices were found by a full scan in {} ms", type, props, found, elapsed);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("{} vertices were found for criteria type = {} and properties = {} using index {} in {} ms", found, type, props, plan.getIndexName(), elapsed);
+        }
+    }
+
+    private static int selectivityRank(GraphPropertyEnum key) {
+        if (key.isUnique()) {
+            return 0;
+        }
+        return key.getClazz() == Boolean.class || LOW_SELECTIVITY_KEYS.contains(key) ? 2 : 1;
+    }
+
+    static final class QueryPlan {
+
+        static final QueryPlan FULL_SCAN = new QueryPlan(null, Collections.emptyList());
+
+        private final String indexName;
+        private final List<GraphPropertyEnum> indexKeys;
+
+        QueryPlan(String indexName, List<GraphPropertyEnum> indexKeys) {
+            this.indexName = indexName;
+            this.indexKeys = indexKeys;
+        }
+
+        String getIndexName() {
+            return indexName;
+        }
+
+        List<GraphPropertyEnum> getIndexKeys() {
+            return indexKeys;
+        }
+
+        boolean isFullScan() {
+            return indexName == null;
+        }
+    }
+}
@@ -23,6 +23,7 @@ package org.openecomp.sdc.be.dao.jsongraph;
 import org.janusgraph.core.JanusGraphVertex;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
 import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
 import org.openecomp.sdc.be.datatypes.enums.ComponentTypeEnum;
 import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
@@ -33,6 +34,7 @@ import org.openecomp.sdc.be.datatypes.tosca.ToscaDataDefinition;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 public class GraphVertex {
 	private String uniqueId;
@@ -44,6 +46,11 @@ public class GraphVertex {
 	private Map<String, Object> metadataJson;
 	private Map<GraphPropertyEnum, Object> metadataProperties;
 
+	private Set<EdgeLabelEnum> prefetchedLabels;
+	private Map<EdgeLabelEnum, GraphVertex> prefetchedChildren;
+
+	private Map<String, DataShard> dataShards;
+
 	public GraphVertex() {
 
 	}
@@ -62,6 +69,11 @@ public class GraphVertex {
 		addMetadataProperty(GraphPropertyEnum.UNIQUE_ID, uniqueId);
 	}
 
+	/**
+	 * When the vertex was read from the graph the returned map deserializes its entries on first access
+	 * 
+	 * @return the json map of the vertex
+	 */
 	public Map<String, ? extends ToscaDataDefinition> getJson() {
 		return json;
 	}
@@ -144,6 +156,8 @@ public class GraphVertex {
 		json = other.getJson();
 		metadataJson = other.getMetadataJson();
 		metadataProperties = other.getMetadataProperties();
+		// shards whose json is left unchanged are shared with the vertex the data was cloned from
+		dataShards = other.getDataShards();
 	}
 
 	public void setJsonMetadataField(JsonPresentationFields field, Object value) {
@@ -177,4 +191,39 @@ public class GraphVertex {
 			}
 		}
 	}
+
+	/**
+	 * Keeps children fetched ahead in a single traversal, so reading the data of these labels does not query the graph again
+	 * 
+	 * @param labels the labels that were fetched
+	 * @param children the found children by label, a fetched label missing from the map has no child
+	 */
+	public void setPrefetchedChildren(Set<EdgeLabelEnum> labels, Map<EdgeLabelEnum, GraphVertex> children) {
+		this.prefetchedLabels = labels;
+		this.prefetchedChildren = children;
+	}
+
+	public boolean isChildPrefetched(EdgeLabelEnum label) {
+		return prefetchedLabels != null && prefetchedLabels.contains(label);
+	}
+
+	public GraphVertex getPrefetchedChild(EdgeLabelEnum label) {
+		return prefetchedChildren != null ? prefetchedChildren.get(label) : null;
+	}
+
+	public void clearPrefetchedChildren() {
+		prefetchedLabels = null;
+		prefetchedChildren = null;
+	}
+
+	/**
+	 * @return the shards the json of a sharded data vertex was read from, by key, null when the vertex is not sharded
+	 */
+	public Map<String, DataShard> getDataShards() {
+		return dataShards;
+	}
+
+	public void setDataShards(Map<String, DataShard> dataShards) {
+		this.dataShards = dataShards;
+	}
 }
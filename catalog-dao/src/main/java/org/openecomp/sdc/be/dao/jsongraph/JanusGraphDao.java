@@ -25,9 +25,11 @@ import fj.data.Either;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.tinkerpop.gremlin.structure.*;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphClient;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
+import org.openecomp.sdc.be.dao.jsongraph.GraphQueryPlanner.QueryPlan;
 import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
 import org.openecomp.sdc.be.dao.jsongraph.types.EdgePropertyEnum;
 import org.openecomp.sdc.be.dao.jsongraph.types.JsonParseFlagEnum;
@@ -53,6 +55,10 @@ public class JanusGraphDao {
 
     private static Logger logger = Logger.getLogger(JanusGraphDao.class.getName());
 
+    private final ShardedDataStore shardedDataStore = new ShardedDataStore();
+
+    private final GraphQueryPlanner queryPlanner = new GraphQueryPlanner();
+
     public JanusGraphDao(@Qualifier("janusgraph-client") JanusGraphClient janusGraphClient) {
         this.janusGraphClient = janusGraphClient;
         logger.info("** JanusGraphDao created");
@@ -68,6 +74,14 @@ public class JanusGraphDao {
         return janusGraphClient.rollback();
     }
 
+    /**
+     * Drops what the transaction listeners of the calling thread still hold, as on a rollback. Called when a request
+     * ends, so a pooled thread whose transaction was not ended does not pass them on to its next request.
+     */
+    public void endTransactionScope() {
+        janusGraphClient.fireTransactionListeners(Transaction.Status.ROLLBACK);
+    }
+
     public Either<JanusGraph, JanusGraphOperationStatus> getGraph() {
         return janusGraphClient.getGraph();
     }
@@ -241,9 +255,12 @@ public class JanusGraphDao {
 
         Map<String, ? extends ToscaDataDefinition> json = graphVertex.getJson();
         if (json != null) {
-            String jsonStr = JsonParserUtils.toJson(json);
-            vertex.property(GraphPropertyEnum.JSON.getProperty(), jsonStr);
-
+            if (shardedDataStore.isSharded(vertex) || shardedDataStore.isShardedLabel(graphVertex.getLabel())) {
+                shardedDataStore.write(vertex, graphVertex);
+            } else {
+                String jsonStr = JsonParserUtils.toJson(json);
+                vertex.property(GraphPropertyEnum.JSON.getProperty(), jsonStr);
+            }
         }
         Map<String, Object> jsonMetadata = graphVertex.getMetadataJson();
         if (jsonMetadata != null) {
@@ -289,7 +306,7 @@ public class JanusGraphDao {
             case JSON:
                 if (parseFlag == JsonParseFlagEnum.ParseAll || parseFlag == JsonParseFlagEnum.ParseJson) {
                     String json = (String) entry.getValue();
-                    Map<String, ? extends ToscaDataDefinition> jsonObj = JsonParserUtils.toMap(json, label.getClassOfJson());
+                    Map<String, ? extends ToscaDataDefinition> jsonObj = JsonParserUtils.toLazyMap(json, label.getClassOfJson());
                     graphVertex.setJson(jsonObj);
                 }
                 break;
@@ -305,6 +322,10 @@ public class JanusGraphDao {
                 break;
             }
         }
+        if (Boolean.TRUE.equals(properties.get(GraphPropertyEnum.SHARDED))
+                && (parseFlag == JsonParseFlagEnum.ParseAll || parseFlag == JsonParseFlagEnum.ParseJson)) {
+            graphVertex.setJson(shardedDataStore.read(graphVertex, null));
+        }
     }
 
     public JanusGraphOperationStatus createEdge(GraphVertex from, GraphVertex to, EdgeLabelEnum label, Map<EdgePropertyEnum, Object> properties) {
@@ -420,6 +441,8 @@ public class JanusGraphDao {
                         query = query.has(entry.getKey().getProperty(), entry.getValue());
                     }
                 }
+                QueryPlan plan = queryPlanner.plan(type, props);
+                long startTime = System.currentTimeMillis();
                 Iterable<JanusGraphVertex> vertices = query.vertices();
                 if (vertices == null) {
                     return Either.right(JanusGraphOperationStatus.NOT_FOUND);
@@ -431,14 +454,11 @@ public class JanusGraphDao {
                 while (iterator.hasNext()) {
                     JanusGraphVertex vertex = iterator.next();
 
-                    Map<GraphPropertyEnum, Object> newProp = getVertexProperties(vertex);
                     GraphVertex graphVertex = createAndFill(vertex, parseFlag);
 
                     result.add(graphVertex);
                 }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Number of fetced nodes in graph for criteria : from type = {} and properties = {} is {}", type, props, result.size());
-                }
+                queryPlanner.logExecution(plan, type, props, startTime, result.size());
                 if (result.size() == 0) {
                     return Either.right(JanusGraphOperationStatus.NOT_FOUND);
                 }
@@ -484,6 +504,8 @@ public class JanusGraphDao {
                         }
                     }
                 }
+                QueryPlan plan = queryPlanner.plan(type, props);
+                long startTime = System.currentTimeMillis();
                 Iterable<JanusGraphVertex> vertices = query.vertices();
                 if (vertices == null) {
                     return Either.right(JanusGraphOperationStatus.NOT_FOUND);
@@ -495,14 +517,11 @@ public class JanusGraphDao {
                 while (iterator.hasNext()) {
                     JanusGraphVertex vertex = iterator.next();
 
-                    Map<GraphPropertyEnum, Object> newProp = getVertexProperties(vertex);
                     GraphVertex graphVertex = createAndFill(vertex, parseFlag);
 
                     result.add(graphVertex);
                 }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Number of fetced nodes in graph for criteria : from type = {} and properties = {} is {}", type, props, result.size());
-                }
+                queryPlanner.logExecution(plan, type, props, startTime, result.size());
                 if (result.size() == 0) {
                     return Either.right(JanusGraphOperationStatus.NOT_FOUND);
                 }
@@ -581,6 +600,36 @@ public class JanusGraphDao {
         return Either.left(childrenVertecies.left().value().get(0));
     }
 
+    /**
+     * Fetches the first child vertex of each of the given edge labels in a single traversal of the out edges of the parent
+     *
+     * @param parentVertex
+     * @param edgeLabels
+     * @param parseFlag
+     * @return map of the found children by edge label, labels without a child are absent from the map
+     */
+    public Either<Map<EdgeLabelEnum, GraphVertex>, JanusGraphOperationStatus> getChildrenVerticesByLabels(GraphVertex parentVertex, Collection<EdgeLabelEnum> edgeLabels, JsonParseFlagEnum parseFlag) {
+        Map<EdgeLabelEnum, GraphVertex> children = new EnumMap<>(EdgeLabelEnum.class);
+        if (edgeLabels.isEmpty()) {
+            return Either.left(children);
+        }
+        String[] labels = edgeLabels.stream().map(EdgeLabelEnum::name).toArray(String[]::new);
+        try {
+            Iterator<Edge> edges = parentVertex.getVertex().edges(Direction.OUT, labels);
+            while (edges.hasNext()) {
+                Edge edge = edges.next();
+                EdgeLabelEnum edgeLabel = EdgeLabelEnum.getEdgeLabelEnum(edge.label());
+                if (edgeLabel != null && !children.containsKey(edgeLabel)) {
+                    children.put(edgeLabel, createAndFill((JanusGraphVertex) edge.inVertex(), parseFlag));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to fetch children {} of vertex {}", edgeLabels, parentVertex.getUniqueId(), e);
+            return Either.right(JanusGraphClient.handleJanusGraphException(e));
+        }
+        return Either.left(children);
+    }
+
     /**
      *
      * @param parentVertex
@@ -1008,7 +1057,7 @@ public class JanusGraphDao {
 
                 Iterator<Edge> restOfEdges = secondVertex.edges(reverseDirection, label.name());
                 if (!restOfEdges.hasNext()) {
-                    secondVertex.remove();
+                    deleteDataVertex(secondVertex);
                     CommonUtility.addRecordToLog(logger, LogLevelEnum.TRACE, "This was last edge . Vertex  {} was removed ", vertex.getUniqueId());
                 }
             }
@@ -1019,6 +1068,23 @@ public class JanusGraphDao {
         return JanusGraphOperationStatus.OK;
     }
 
+    /**
+     * @return true when the data vertices of the label are configured to be kept as one shard vertex per key
+     */
+    public boolean isShardedDataLabel(VertexTypeEnum label) {
+        return shardedDataStore.isShardedLabel(label);
+    }
+
+    /**
+     * Removes a data vertex together with its shards that no other data vertex uses
+     */
+    public void deleteDataVertex(Vertex dataVertex) {
+        if (shardedDataStore.isSharded(dataVertex)) {
+            shardedDataStore.deleteShards(dataVertex);
+        }
+        dataVertex.remove();
+    }
+
     public Object getProperty(JanusGraphVertex vertex, String key) {
         PropertyKey propertyKey = janusGraphClient.getGraph().left().value().getPropertyKey(key);
         return vertex.valueOrNull(propertyKey);
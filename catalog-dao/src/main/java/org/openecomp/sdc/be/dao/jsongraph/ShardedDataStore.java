@@ -0,0 +1,231 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.janusgraph.core.JanusGraphVertex;
+import org.openecomp.sdc.be.config.Configuration.ShardedInstanceDataConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.dao.jsongraph.utils.IdBuilderUtils;
+import org.openecomp.sdc.be.dao.jsongraph.utils.JsonParserUtils;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+import org.openecomp.sdc.be.datatypes.tosca.ToscaDataDefinition;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the json of a data vertex as one shard vertex per key of the json - per component instance for the instance
+ * data labels - instead of a single json property.
+ * <p>
+ * A sharded data vertex has no json property, it is linked by {@link EdgeLabelEnum#DATA_SHARD} edges to its shards.
+ * A shard whose json is unchanged by an update is left untouched, and shards are shared between the data vertices
+ * copied from each other, so an update writes, or copies on write, only the shards of the keys it changed.
+ */
+class ShardedDataStore {
+
+    private static final Logger logger = Logger.getLogger(ShardedDataStore.class.getName());
+
+    private final Supplier<ShardedInstanceDataConfig> config;
+
+    ShardedDataStore() {
+        this(ShardedDataStore::getConfiguredSharding);
+    }
+
+    ShardedDataStore(Supplier<ShardedInstanceDataConfig> config) {
+        this.config = config;
+    }
+
+    private static ShardedInstanceDataConfig getConfiguredSharding() {
+        ConfigurationManager configurationManager = ConfigurationManager.getConfigurationManager();
+        if (configurationManager == null || configurationManager.getConfiguration() == null) {
+            return null;
+        }
+        return configurationManager.getConfiguration().getShardedInstanceData();
+    }
+
+    boolean isSharded(Vertex vertex) {
+        return Boolean.TRUE.equals(vertex.property(GraphPropertyEnum.SHARDED.getProperty()).orElse(null));
+    }
+
+    /**
+     * @return true when new and updated data vertices of the label are to be sharded
+     */
+    boolean isShardedLabel(VertexTypeEnum label) {
+        ShardedInstanceDataConfig sharding = config.get();
+        return label != null && label.getClassOfJson() != null && sharding != null
+                && Boolean.TRUE.equals(sharding.getEnabled()) && sharding.getVertexLabels() != null
+                && sharding.getVertexLabels().contains(label.name());
+    }
+
+    /**
+     * Reassembles the json of a sharded data vertex, the entries are deserialized on first access.
+     *
+     * @param keys the keys to read, null reads all of them
+     */
+    Map<String, ? extends ToscaDataDefinition> read(GraphVertex graphVertex, Set<String> keys) {
+        Map<String, DataShard> shards = new LinkedHashMap<>();
+        Map<String, String> jsonEntries = new LinkedHashMap<>();
+        Iterator<Edge> edges = graphVertex.getVertex().edges(Direction.OUT, EdgeLabelEnum.DATA_SHARD.name());
+        while (edges.hasNext()) {
+            JanusGraphVertex shardVertex = (JanusGraphVertex) edges.next().inVertex();
+            String key = getShardKey(shardVertex);
+            if (key == null || (keys != null && !keys.contains(key))) {
+                continue;
+            }
+            String json = (String) shardVertex.property(GraphPropertyEnum.JSON.getProperty()).orElse(null);
+            shards.put(key, new DataShard(shardVertex, json));
+            jsonEntries.put(key, json);
+        }
+        graphVertex.setDataShards(shards);
+        return JsonParserUtils.toLazyMap(jsonEntries, graphVertex.getLabel().getClassOfJson());
+    }
+
+    /**
+     * Writes the json of the graph vertex to the shards of the vertex.
+     * <p>
+     * The shard of a key whose json is unchanged is kept, or linked when it is a shard of the vertex the data was
+     * cloned from. The shard of a changed key is updated in place when only this vertex uses it, otherwise a new shard
+     * is written for this vertex. The shards of the keys which were read and are removed from the json are unlinked
+     * and deleted once no vertex uses them, the shards of the keys a partial read left out are kept. When the json was
+     * not read from the shards, it replaces all of them.
+     */
+    void write(JanusGraphVertex vertex, GraphVertex graphVertex) throws IOException {
+        Map<String, ? extends ToscaDataDefinition> json = graphVertex.getJson();
+        Map<String, DataShard> knownShards = graphVertex.getDataShards() != null ? graphVertex.getDataShards() : Collections.emptyMap();
+        Map<Object, Edge> linkedShards = new HashMap<>();
+        Map<String, Edge> linkedShardsByKey = new HashMap<>();
+        vertex.edges(Direction.OUT, EdgeLabelEnum.DATA_SHARD.name()).forEachRemaining(edge -> {
+            linkedShards.put(edge.inVertex().id(), edge);
+            linkedShardsByKey.put(getShardKey(edge.inVertex()), edge);
+        });
+
+        Map<String, DataShard> writtenShards = new LinkedHashMap<>();
+        int written = 0;
+        for (String key : json.keySet()) {
+            String entryJson = JsonParserUtils.entryToJson(json, key);
+            if (entryJson == null) {
+                continue;
+            }
+            DataShard shard = knownShards.containsKey(key) ? knownShards.get(key) : readLinkedShard(linkedShardsByKey.get(key));
+            Edge shardEdge = shard != null ? linkedShards.remove(shard.getVertex().id()) : null;
+            if (shard != null && entryJson.equals(shard.getJson())) {
+                if (shardEdge == null) {
+                    vertex.addEdge(EdgeLabelEnum.DATA_SHARD.name(), shard.getVertex());
+                }
+                writtenShards.put(key, shard);
+                continue;
+            }
+            written++;
+            if (shardEdge != null && countUses(shard.getVertex()) == 1) {
+                shard.getVertex().property(GraphPropertyEnum.JSON.getProperty(), entryJson);
+                writtenShards.put(key, new DataShard(shard.getVertex(), entryJson));
+                continue;
+            }
+            if (shardEdge != null) {
+                shardEdge.remove();
+            }
+            writtenShards.put(key, new DataShard(createShard(vertex, key, entryJson), entryJson));
+        }
+        boolean replaceAll = graphVertex.getDataShards() == null;
+        for (Edge staleEdge : linkedShards.values()) {
+            Vertex shardVertex = staleEdge.inVertex();
+            String key = getShardKey(shardVertex);
+            if (!replaceAll && !(knownShards.containsKey(key) && !writtenShards.containsKey(key))) {
+                continue;
+            }
+            staleEdge.remove();
+            deleteIfUnused(shardVertex);
+        }
+
+        vertex.property(GraphPropertyEnum.SHARDED.getProperty(), true);
+        VertexProperty<Object> jsonProperty = vertex.property(GraphPropertyEnum.JSON.getProperty());
+        if (jsonProperty.isPresent()) {
+            jsonProperty.remove();
+        }
+        graphVertex.addMetadataProperty(GraphPropertyEnum.SHARDED, true);
+        graphVertex.setDataShards(writtenShards);
+        logger.trace("Wrote {} of the {} shards of vertex {}", written, writtenShards.size(), graphVertex.getUniqueId());
+    }
+
+    /**
+     * Unlinks the shards of a data vertex which is about to be removed, deleting those no other vertex uses.
+     */
+    void deleteShards(Vertex vertex) {
+        Iterator<Edge> edges = vertex.edges(Direction.OUT, EdgeLabelEnum.DATA_SHARD.name());
+        while (edges.hasNext()) {
+            Edge edge = edges.next();
+            Vertex shardVertex = edge.inVertex();
+            edge.remove();
+            deleteIfUnused(shardVertex);
+        }
+    }
+
+    private static String getShardKey(Vertex shardVertex) {
+        return (String) shardVertex.property(GraphPropertyEnum.SHARD_KEY.getProperty()).orElse(null);
+    }
+
+    private static DataShard readLinkedShard(Edge shardEdge) {
+        if (shardEdge == null) {
+            return null;
+        }
+        Vertex shardVertex = shardEdge.inVertex();
+        return new DataShard((JanusGraphVertex) shardVertex, (String) shardVertex.property(GraphPropertyEnum.JSON.getProperty()).orElse(null));
+    }
+
+    private JanusGraphVertex createShard(JanusGraphVertex vertex, String key, String json) {
+        JanusGraphVertex shardVertex = vertex.graph().addVertex();
+        shardVertex.property(GraphPropertyEnum.LABEL.getProperty(), VertexTypeEnum.DATA_SHARD.getName());
+        shardVertex.property(GraphPropertyEnum.UNIQUE_ID.getProperty(), IdBuilderUtils.generateUniqueId());
+        shardVertex.property(GraphPropertyEnum.SHARD_KEY.getProperty(), key);
+        shardVertex.property(GraphPropertyEnum.JSON.getProperty(), json);
+        vertex.addEdge(EdgeLabelEnum.DATA_SHARD.name(), shardVertex);
+        return shardVertex;
+    }
+
+    private static int countUses(Vertex shardVertex) {
+        int uses = 0;
+        Iterator<Edge> edges = shardVertex.edges(Direction.IN, EdgeLabelEnum.DATA_SHARD.name());
+        while (edges.hasNext() && uses < 2) {
+            edges.next();
+            uses++;
+        }
+        return uses;
+    }
+
+    private static void deleteIfUnused(Vertex shardVertex) {
+        if (!shardVertex.edges(Direction.IN, EdgeLabelEnum.DATA_SHARD.name()).hasNext()) {
+            shardVertex.remove();
+        }
+    }
+}
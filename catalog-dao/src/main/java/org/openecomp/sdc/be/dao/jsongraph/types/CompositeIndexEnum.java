@@ -0,0 +1,80 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph.types;
+
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The multi key composite vertex indexes of the graph, in addition to the single key indexes of the indexed
+ * {@link GraphPropertyEnum} properties.
+ * <p>
+ * JanusGraph uses a composite index only for queries with an equality condition on every one of its keys.
+ */
+public enum CompositeIndexEnum {
+	NAME_HIGHEST_VERSION						(GraphPropertyEnum.NAME, GraphPropertyEnum.IS_HIGHEST_VERSION),
+	LABEL_NAME_HIGHEST_VERSION					(GraphPropertyEnum.LABEL, GraphPropertyEnum.NAME, GraphPropertyEnum.IS_HIGHEST_VERSION),
+	UUID_HIGHEST_VERSION						(GraphPropertyEnum.UUID, GraphPropertyEnum.IS_HIGHEST_VERSION),
+	LABEL_UUID_HIGHEST_VERSION					(GraphPropertyEnum.LABEL, GraphPropertyEnum.UUID, GraphPropertyEnum.IS_HIGHEST_VERSION),
+	UUID_VERSION								(GraphPropertyEnum.UUID, GraphPropertyEnum.VERSION),
+	TOSCA_RESOURCE_NAME_HIGHEST_VERSION			(GraphPropertyEnum.TOSCA_RESOURCE_NAME, GraphPropertyEnum.IS_HIGHEST_VERSION),
+	TOSCA_RESOURCE_NAME_STATE					(GraphPropertyEnum.TOSCA_RESOURCE_NAME, GraphPropertyEnum.STATE),
+	SYSTEM_NAME_COMPONENT_TYPE					(GraphPropertyEnum.SYSTEM_NAME, GraphPropertyEnum.COMPONENT_TYPE);
+
+	private final List<GraphPropertyEnum> keys;
+
+	CompositeIndexEnum(GraphPropertyEnum... keys) {
+		this.keys = Collections.unmodifiableList(Arrays.asList(keys));
+	}
+
+	/**
+	 * @return the name of the index in the graph
+	 */
+	public String getIndexName() {
+		return "composite_" + name().toLowerCase();
+	}
+
+	public List<GraphPropertyEnum> getKeys() {
+		return keys;
+	}
+
+	public boolean isCoveredBy(Set<GraphPropertyEnum> equalityKeys) {
+		return equalityKeys.containsAll(keys);
+	}
+
+	/**
+	 * @param equalityKeys the keys of the equality conditions of a query
+	 * @return the composite index covering the most of the keys, null when none covers them
+	 */
+	public static CompositeIndexEnum getBestMatch(Set<GraphPropertyEnum> equalityKeys) {
+		CompositeIndexEnum bestMatch = null;
+		for (CompositeIndexEnum index : CompositeIndexEnum.values()) {
+			if (index.isCoveredBy(equalityKeys) && (bestMatch == null || index.keys.size() > bestMatch.keys.size())) {
+				bestMatch = index;
+			}
+		}
+		return bestMatch;
+	}
+}
@@ -66,7 +66,8 @@ public enum EdgeLabelEnum {
 	INTERFACE_OPERATION,
 	INST_INTERFACES,
 	NODE_FILTER_TEMPLATE,
-	DATA_TYPES;
+	DATA_TYPES,
+	DATA_SHARD;
 
     /**
 	 * Returns EdgeLabelEnum according received name
@@ -64,7 +64,8 @@ public enum VertexTypeEnum {
 	INTERFACE_OPERATION			("interfaceOperation",			OperationDataDefinition.class),
 	NODE_FILTER_TEMPLATE		("NodeTemplateFilter",          CINodeFilterDataDefinition.class),
 	INST_INTERFACES             ("InstInterfaces",              MapInterfaceDataDefinition.class),
-	DATA_TYPES					("data_types", 					DataTypeDataDefinition.class);
+	DATA_TYPES					("data_types", 					DataTypeDataDefinition.class),
+	DATA_SHARD					("dataShard",					null);
 
 	private String name;
 	private Class classOfJson;
@@ -21,22 +21,40 @@
 package org.openecomp.sdc.be.dao.jsongraph.utils;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.base.Strings;
 import org.openecomp.sdc.be.datatypes.tosca.ToscaDataDefinition;
 import org.openecomp.sdc.common.log.wrappers.Logger;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JsonParserUtils {
     private static Logger log = Logger.getLogger(JsonParserUtils.class.getName());
     private static final ObjectMapper mapper = buildObjectMapper();
+    private static final ObjectWriter writer = mapper.writer();
+    private static final ObjectReader genericMapReader = mapper.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+    /**
+     * Readers are immutable and thread safe, so one reader per {@link ToscaDataDefinition} class is built once and
+     * reused instead of resolving the deserializer on every call.
+     */
+    private static final Map<Class<?>, ObjectReader> mapReaders = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectReader> valueReaders = new ConcurrentHashMap<>();
 
     private JsonParserUtils() {
         // No instances allowed
@@ -50,8 +68,20 @@ public class JsonParserUtils {
     }
 
     public static <T> String toJson(T object) throws IOException {
-        return mapper.writer()
-                     .writeValueAsString(object);
+        if (object instanceof LazyJsonMap) {
+            return toJson((LazyJsonMap<?>) object);
+        }
+        return writer.writeValueAsString(object);
+    }
+
+    /**
+     * Writes a lazy map back to json. Entries that were never accessed are copied as their original raw json and are
+     * not deserialized/serialized again.
+     */
+    private static String toJson(LazyJsonMap<?> lazyMap) throws IOException {
+        synchronized (lazyMap) {
+            return writer.writeValueAsString(lazyMap.rawEntries());
+        }
     }
 
     public static Map<String, Object> toMap(String json) {
@@ -61,10 +91,7 @@ public class JsonParserUtils {
 
         Map<String, Object> object = null;
         try {
-            TypeReference<Map<String, Object>> typeRef = new TypeReference<Map<String, Object>>() {
-            };
-            object = mapper.readerFor(typeRef)
-                           .readValue(json);
+            object = genericMapReader.readValue(json);
         }
         catch (Exception e) {
             log.debug("Failed to parse json {}", json, e);
@@ -79,16 +106,139 @@ public class JsonParserUtils {
 
         Map<String, T> object = null;
         try {
-            JavaType type = mapper.getTypeFactory()
-                                  .constructMapType(Map.class, String.class, clazz);
-            object = mapper.readerFor(type)
-                           .readValue(json);
+            object = mapReader(clazz).readValue(json);
         }
         catch (Exception e) {
             log.debug("Failed to parse json {} to map", json, e);
         }
         return object;
     }
+
+    /**
+     * Parses only the requested top level keys of the json map. The values of all other keys are skipped by the
+     * streaming parser without being deserialized.
+     */
+    public static <T extends ToscaDataDefinition> Map<String, T> toMap(String json, Class<T> clazz, Set<String> keys) {
+        if (Strings.isNullOrEmpty(json)) {
+            return null;
+        }
+
+        Map<String, T> object = new HashMap<>();
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                log.debug("Failed to parse json {} to map, json is not an object", json);
+                return null;
+            }
+            ObjectReader reader = valueReader(clazz);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.getCurrentName();
+                parser.nextToken();
+                if (keys.contains(key)) {
+                    object.put(key, reader.readValue(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        catch (Exception e) {
+            log.debug("Failed to parse keys {} of json {} to map", keys, json, e);
+            return null;
+        }
+        return object;
+    }
+
+    /**
+     * Builds a map whose entries are deserialized only on first access.
+     * The json is scanned once by a streaming parser which records the raw json of every top level entry.
+     */
+    public static <T extends ToscaDataDefinition> Map<String, T> toLazyMap(String json, Class<T> clazz) {
+        if (Strings.isNullOrEmpty(json)) {
+            return null;
+        }
+
+        Map<String, Object> rawEntries = new LinkedHashMap<>();
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                log.debug("Failed to parse json {} to map, json is not an object", json);
+                return null;
+            }
+            ObjectReader reader = valueReader(clazz);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (valueToken.isStructStart()) {
+                    int start = (int) parser.getTokenLocation().getCharOffset();
+                    parser.skipChildren();
+                    int end = (int) parser.getCurrentLocation().getCharOffset();
+                    rawEntries.put(key, new LazyJsonMap.RawJson(json.substring(start, end)));
+                } else {
+                    rawEntries.put(key, reader.readValue(parser));
+                }
+            }
+        }
+        catch (Exception e) {
+            log.debug("Failed to parse json {} to map", json, e);
+            return null;
+        }
+        return new LazyJsonMap<>(clazz, rawEntries);
+    }
+
+    /**
+     * Builds a lazy map out of the json of each of its entries, as kept when the entries of a map are stored apart.
+     */
+    public static <T extends ToscaDataDefinition> Map<String, T> toLazyMap(Map<String, String> jsonEntries, Class<T> clazz) {
+        Map<String, Object> rawEntries = new LinkedHashMap<>();
+        jsonEntries.forEach((key, json) -> rawEntries.put(key, new LazyJsonMap.RawJson(json)));
+        return new LazyJsonMap<>(clazz, rawEntries);
+    }
+
+    /**
+     * Writes a single entry of a map to json. An entry of a lazy map that was never accessed is returned as its
+     * original raw json.
+     *
+     * @return the json of the entry, null when the map has no value for the key
+     */
+    public static String entryToJson(Map<String, ?> map, String key) throws IOException {
+        Object value = map instanceof LazyJsonMap ? ((LazyJsonMap<?>) map).rawEntries().get(key) : map.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LazyJsonMap.RawJson) {
+            return ((LazyJsonMap.RawJson) value).getJson();
+        }
+        return writer.writeValueAsString(value);
+    }
+
+    static <T> T toObject(String json, Class<T> clazz) {
+        try {
+            return valueReader(clazz).readValue(json);
+        }
+        catch (Exception e) {
+            log.debug("Failed to parse json {} to {}", json, clazz.getSimpleName(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Reads json to a generic type, such as the type of a field.
+     *
+     * @throws IOException if the json cannot be read, unlike the other methods which return null
+     */
+    public static Object readValue(String json, Type type) throws IOException {
+        return mapper.readerFor(mapper.getTypeFactory().constructType(type)).readValue(json);
+    }
+
+    private static ObjectReader mapReader(Class<?> clazz) {
+        return mapReaders.computeIfAbsent(clazz, c -> {
+            JavaType type = mapper.getTypeFactory()
+                                  .constructMapType(Map.class, String.class, c);
+            return mapper.readerFor(type);
+        });
+    }
+
+    private static ObjectReader valueReader(Class<?> clazz) {
+        return valueReaders.computeIfAbsent(clazz, mapper::readerFor);
+    }
     public static <T> List<T> toList(String json, Class<T> clazz) {
         if (Strings.isNullOrEmpty(json)) {
             return null;
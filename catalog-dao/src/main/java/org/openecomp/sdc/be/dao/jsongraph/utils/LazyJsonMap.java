@@ -0,0 +1,162 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.openecomp.sdc.be.datatypes.tosca.ToscaDataDefinition;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map of tosca data definitions which keeps the raw json of every entry and deserializes it only on first access.
+ * Entries that are never accessed are written back as is by {@link JsonParserUtils#toJson(Object)}.
+ * An entry is deserialized once even when read by several threads, the access to the entries being synchronized on the
+ * map. A map returned by {@link #entrySet()} is fully deserialized, so iterating it does not modify the map.
+ * {@link #put} and {@link #remove} do not deserialize the entry they replace, they return null for an entry which was
+ * not deserialized yet.
+ */
+public class LazyJsonMap<T extends ToscaDataDefinition> extends AbstractMap<String, T> {
+
+    private final Class<T> clazz;
+    private final Map<String, Object> entries;
+
+    LazyJsonMap(Class<T> clazz, Map<String, Object> entries) {
+        this.clazz = clazz;
+        this.entries = entries;
+    }
+
+    @Override
+    public synchronized T get(Object key) {
+        return materialize(key, entries.get(key));
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return a copy of the keys, which does not change with the map
+     */
+    @Override
+    public synchronized Set<String> keySet() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(entries.keySet()));
+    }
+
+    @Override
+    public synchronized T put(String key, T value) {
+        return parsedOrNull(entries.put(key, value));
+    }
+
+    @Override
+    public synchronized T remove(Object key) {
+        return parsedOrNull(entries.remove(key));
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Iterating over the entries deserializes all of them.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized Set<Entry<String, T>> entrySet() {
+        for (Entry<String, Object> entry : entries.entrySet()) {
+            if (entry.getValue() instanceof RawJson) {
+                entry.setValue(JsonParserUtils.toObject(((RawJson) entry.getValue()).getJson(), clazz));
+            }
+        }
+        return (Set<Entry<String, T>>) (Set<?>) entries.entrySet();
+    }
+
+    public synchronized boolean isMaterialized(String key) {
+        return !(entries.get(key) instanceof RawJson);
+    }
+
+    synchronized Map<String, Object> rawEntries() {
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T materialize(Object key, Object value) {
+        if (value instanceof RawJson) {
+            T object = JsonParserUtils.toObject(((RawJson) value).getJson(), clazz);
+            if (entries.get(key) == value) {
+                entries.put((String) key, object);
+            }
+            return object;
+        }
+        return (T) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T parsedOrNull(Object value) {
+        return value instanceof RawJson ? null : (T) value;
+    }
+
+    /**
+     * The json of an entry not deserialized yet. It is written as is, so a lazy map is serialized by the same map
+     * serializer, with the same handling of null values, as a map deserialized eagerly.
+     */
+    static final class RawJson implements JsonSerializable {
+        private final String json;
+
+        RawJson(String json) {
+            this.json = json;
+        }
+
+        String getJson() {
+            return json;
+        }
+
+        @Override
+        public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            generator.writeRawValue(json);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+                throws IOException {
+            serialize(generator, serializers);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.resources.data;
+
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A chunk of an artifact payload stored in chunks. The artifact row, or the payload row of a content addressed
+ * payload, holds the size and the chunk size of the payload instead of its data.
+ */
+@Table(keyspace = "sdcartifact", name = "chunks")
+public class ArtifactChunkData {
+
+	@PartitionKey
+	@Column(name = "id")
+	private String id;
+
+	@ClusteringColumn
+	@Column(name = "chunk")
+	private Integer chunk;
+
+	@Column
+	private ByteBuffer data;
+
+	public ArtifactChunkData() {
+
+	}
+
+	public ArtifactChunkData(String id, int chunk, ByteBuffer data) {
+		this.id = id;
+		this.chunk = chunk;
+		this.data = data;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Integer getChunk() {
+		return chunk;
+	}
+
+	public void setChunk(Integer chunk) {
+		this.chunk = chunk;
+	}
+
+	public ByteBuffer getData() {
+		return data;
+	}
+
+	public void setData(ByteBuffer data) {
+		this.data = data;
+	}
+}
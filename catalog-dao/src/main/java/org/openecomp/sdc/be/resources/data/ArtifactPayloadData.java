@@ -0,0 +1,113 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.resources.data;
+
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Artifact payload shared by all the artifacts with the same content, see {@link ESArtifactData#getChecksum()}.
+ */
+@Table(keyspace = "sdcartifact", name = "payloads")
+public class ArtifactPayloadData {
+
+	@PartitionKey
+	@Column(name = "checksum")
+	private String checksum;
+
+	@Column
+	private ByteBuffer data;
+
+	@Column
+	private Long size;
+
+	@Column
+	private Integer chunkSize;
+
+	@Column
+	private String generation;
+
+	@Column(name = "refcount")
+	private Integer refCount;
+
+	public ArtifactPayloadData() {
+
+	}
+
+	public ArtifactPayloadData(String checksum, ByteBuffer data) {
+		this.checksum = checksum;
+		this.data = data;
+	}
+
+	public String getChecksum() {
+		return checksum;
+	}
+
+	public void setChecksum(String checksum) {
+		this.checksum = checksum;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Integer getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(Integer chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @return the generation the chunks of the payload are stored under, null for a payload stored in the row
+	 */
+	public String getGeneration() {
+		return generation;
+	}
+
+	public void setGeneration(String generation) {
+		this.generation = generation;
+	}
+
+	public Integer getRefCount() {
+		return refCount;
+	}
+
+	public void setRefCount(Integer refCount) {
+		this.refCount = refCount;
+	}
+
+	public ByteBuffer getData() {
+		return data;
+	}
+
+	public void setData(ByteBuffer data) {
+		this.data = data;
+	}
+}
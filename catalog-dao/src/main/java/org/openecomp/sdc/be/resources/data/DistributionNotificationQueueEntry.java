@@ -0,0 +1,225 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.resources.data;
+
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A distribution notification which was accepted for publishing and was not published yet. Along with the
+ * notification itself it keeps what is needed to audit its publishing.
+ * <p>
+ * The BE which queued the notification owns it until its lease expires, and renews the lease as long as the
+ * notification is queued. A notification which failed to be published is kept with its failure as a dead letter.
+ */
+@Table(keyspace = "sdcrepository", name = "distributionnotificationqueue")
+public class DistributionNotificationQueueEntry {
+
+    @PartitionKey
+    @Column(name = "env_id")
+    private String envId;
+
+    @ClusteringColumn
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "topic_name")
+    private String topicName;
+
+    @Column(name = "distribution_id")
+    private String distributionId;
+
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "workload_context")
+    private String workloadContext;
+
+    @Column(name = "service_uuid")
+    private String serviceUuid;
+
+    @Column(name = "service_name")
+    private String serviceName;
+
+    @Column(name = "service_version")
+    private String serviceVersion;
+
+    @Column(name = "service_state")
+    private String serviceState;
+
+    @Column(name = "modifier_id")
+    private String modifierId;
+
+    @Column(name = "modifier_first_name")
+    private String modifierFirstName;
+
+    @Column(name = "modifier_last_name")
+    private String modifierLastName;
+
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "lease_expires")
+    private Date leaseExpires;
+
+    @Column(name = "failure")
+    private String failure;
+
+    public String getEnvId() {
+        return envId;
+    }
+
+    public void setEnvId(String envId) {
+        this.envId = envId;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public void setTopicName(String topicName) {
+        this.topicName = topicName;
+    }
+
+    public String getDistributionId() {
+        return distributionId;
+    }
+
+    public void setDistributionId(String distributionId) {
+        this.distributionId = distributionId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getWorkloadContext() {
+        return workloadContext;
+    }
+
+    public void setWorkloadContext(String workloadContext) {
+        this.workloadContext = workloadContext;
+    }
+
+    public String getServiceUuid() {
+        return serviceUuid;
+    }
+
+    public void setServiceUuid(String serviceUuid) {
+        this.serviceUuid = serviceUuid;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getServiceVersion() {
+        return serviceVersion;
+    }
+
+    public void setServiceVersion(String serviceVersion) {
+        this.serviceVersion = serviceVersion;
+    }
+
+    public String getServiceState() {
+        return serviceState;
+    }
+
+    public void setServiceState(String serviceState) {
+        this.serviceState = serviceState;
+    }
+
+    public String getModifierId() {
+        return modifierId;
+    }
+
+    public void setModifierId(String modifierId) {
+        this.modifierId = modifierId;
+    }
+
+    public String getModifierFirstName() {
+        return modifierFirstName;
+    }
+
+    public void setModifierFirstName(String modifierFirstName) {
+        this.modifierFirstName = modifierFirstName;
+    }
+
+    public String getModifierLastName() {
+        return modifierLastName;
+    }
+
+    public void setModifierLastName(String modifierLastName) {
+        this.modifierLastName = modifierLastName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Date getLeaseExpires() {
+        return leaseExpires;
+    }
+
+    public void setLeaseExpires(Date leaseExpires) {
+        this.leaseExpires = leaseExpires;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    @Override
+    public String toString() {
+        return "DistributionNotificationQueueEntry [envId=" + envId + ", id=" + id + ", topicName=" + topicName
+                + ", distributionId=" + distributionId + ", serviceUuid=" + serviceUuid + ", owner=" + owner
+                + ", leaseExpires=" + leaseExpires + ", failure=" + failure + "]";
+    }
+}
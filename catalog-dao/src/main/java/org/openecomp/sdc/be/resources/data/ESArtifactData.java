@@ -47,6 +47,27 @@ public class ESArtifactData {
 	@Column
 	private ByteBuffer data;
 
+	/*
+	 * SHA-256 of the data when the data is stored in the content addressed payload table
+	 */
+	@Column
+	private String checksum;
+
+	/*
+	 * Size and chunk size of the data when it is stored in chunks, see ArtifactChunkData
+	 */
+	@Column
+	private Long size;
+
+	@Column
+	private Integer chunkSize;
+
+	/*
+	 * Generation the chunks of the data are stored under, a new one is used by every write of chunked data
+	 */
+	@Column
+	private String generation;
+
 	// private byte[] data;
 
 	public ESArtifactData() {
@@ -95,6 +116,38 @@ public class ESArtifactData {
 		}
 	}
 
+	public String getChecksum() {
+		return checksum;
+	}
+
+	public void setChecksum(String checksum) {
+		this.checksum = checksum;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Integer getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(Integer chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public String getGeneration() {
+		return generation;
+	}
+
+	public void setGeneration(String generation) {
+		this.generation = generation;
+	}
+
 	public String getId() {
 		return id;
 	}
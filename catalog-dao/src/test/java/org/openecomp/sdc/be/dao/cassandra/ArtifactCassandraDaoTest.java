@@ -21,20 +21,41 @@
 package org.openecomp.sdc.be.dao.cassandra;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.mapping.MappingManager;
 import fj.data.Either;
+import mockit.Deencapsulation;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.openecomp.sdc.be.resources.data.ArtifactChunkData;
+import org.openecomp.sdc.be.resources.data.ArtifactPayloadData;
 import org.openecomp.sdc.be.resources.data.ESArtifactData;
 import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 public class ArtifactCassandraDaoTest {
 
 	@InjectMocks
@@ -142,4 +163,513 @@ public class ArtifactCassandraDaoTest {
 		// default test
 		result = testSubject.getCountOfArtifactById(uniqeId);
 	}
+
+	private void initContentAddressed() {
+		Mockito.when(client.isConnected()).thenReturn(true);
+		Mockito.when(client.connect(AuditingTypesConstants.ARTIFACT_KEYSPACE)).thenReturn(Either.left(ImmutablePair.of(null,mappingManager)));
+		Mockito.when(mappingManager.createAccessor(ArtifactAccessor.class)).thenReturn(artifactAccessor);
+		testSubject.init();
+		Deencapsulation.setField(testSubject, "contentAddressed", true);
+		mockManifestSwitches();
+	}
+
+	private void initChunked() {
+		Mockito.when(client.isConnected()).thenReturn(true);
+		Mockito.when(client.connect(AuditingTypesConstants.ARTIFACT_KEYSPACE)).thenReturn(Either.left(ImmutablePair.of(null,mappingManager)));
+		Mockito.when(mappingManager.createAccessor(ArtifactAccessor.class)).thenReturn(artifactAccessor);
+		Mockito.when(client.save(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(CassandraOperationStatus.OK);
+		testSubject.init();
+		Deencapsulation.setField(testSubject, "chunkSize", 4);
+		mockManifestSwitches();
+	}
+
+	private void mockManifestSwitches() {
+		ResultSet inserted = applied(true);
+		Mockito.when(artifactAccessor.insertArtifactManifest(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any())).thenReturn(inserted);
+		ResultSet updated = applied(true);
+		Mockito.when(artifactAccessor.updateArtifactManifest(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(updated);
+		ResultSet deleted = applied(true);
+		Mockito.when(artifactAccessor.deleteArtifactManifest(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(deleted);
+	}
+
+	private static ResultSet resultSet(Row row) {
+		ResultSet resultSet = Mockito.mock(ResultSet.class);
+		Mockito.when(resultSet.one()).thenReturn(row);
+		return resultSet;
+	}
+
+	private static ResultSet checksumResult(String checksum) {
+		Row row = Mockito.mock(Row.class);
+		Mockito.when(row.getString(0)).thenReturn(checksum);
+		return resultSet(row);
+	}
+
+	private static ResultSet manifestResult(Long size, Integer chunkSize) {
+		return manifestResult(size, chunkSize, null);
+	}
+
+	private static ResultSet manifestResult(Long size, Integer chunkSize, String generation) {
+		Row row = Mockito.mock(Row.class);
+		Mockito.when(row.get(1, Long.class)).thenReturn(size);
+		Mockito.when(row.get(2, Integer.class)).thenReturn(chunkSize);
+		Mockito.when(row.getString(3)).thenReturn(generation);
+		return resultSet(row);
+	}
+
+	private static ResultSet chunkResult(String data) {
+		Row row = Mockito.mock(Row.class);
+		Mockito.when(row.getBytes(0)).thenReturn(ByteBuffer.wrap(data.getBytes()));
+		return resultSet(row);
+	}
+
+	private static ResultSetFuture chunkFuture(String data) throws Exception {
+		ResultSet chunk = chunkResult(data);
+		ResultSetFuture future = Mockito.mock(ResultSetFuture.class);
+		Mockito.when(future.isDone()).thenReturn(true);
+		Mockito.when(future.get()).thenReturn(chunk);
+		Mockito.doAnswer(invocation -> {
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(future).addListener(Mockito.any(), Mockito.any());
+		return future;
+	}
+
+	private static String asString(ByteBuffer data) {
+		byte[] bytes = new byte[data.remaining()];
+		data.duplicate().get(bytes);
+		return new String(bytes);
+	}
+
+	private static ResultSet refCountResult(int refCount, String generation) {
+		Row row = Mockito.mock(Row.class);
+		Mockito.when(row.getInt(0)).thenReturn(refCount);
+		Mockito.when(row.getString(1)).thenReturn(generation);
+		return resultSet(row);
+	}
+
+	private static ResultSet applied(boolean applied) {
+		ResultSet resultSet = Mockito.mock(ResultSet.class);
+		Mockito.when(resultSet.wasApplied()).thenReturn(applied);
+		return resultSet;
+	}
+
+	@Test
+	public void testSaveArtifactContentAddressedReferencesStoredPayload() throws Exception {
+		initContentAddressed();
+		ESArtifactData artifact = new ESArtifactData("id", "payload".getBytes());
+		String checksum = ArtifactCassandraDao.calculateChecksum(artifact.getData());
+		ResultSet noChecksum = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(noChecksum);
+		ResultSet refCount = refCountResult(1, null);
+		Mockito.when(artifactAccessor.getPayloadRefCount(checksum)).thenReturn(refCount);
+		ResultSet incremented = applied(true);
+		Mockito.when(artifactAccessor.updatePayloadRefCount(checksum, 2, 1)).thenReturn(incremented);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(artifact));
+		Mockito.verify(artifactAccessor).updatePayloadRefCount(checksum, 2, 1);
+		Mockito.verify(artifactAccessor, Mockito.never()).insertPayload(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(artifactAccessor).insertArtifactManifest("id", null, checksum, null, null, null);
+		Mockito.verify(client, Mockito.never()).save(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void testSaveArtifactContentAddressedWithSamePayloadWritesNothing() throws Exception {
+		initContentAddressed();
+		ESArtifactData artifact = new ESArtifactData("id", "payload".getBytes());
+		String checksum = ArtifactCassandraDao.calculateChecksum(artifact.getData());
+		ResultSet currentChecksum = checksumResult(checksum);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(currentChecksum);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(artifact));
+		Mockito.verify(client, Mockito.never()).save(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(artifactAccessor, Mockito.never()).updatePayloadRefCount(Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt());
+	}
+
+	@Test
+	public void testSaveArtifactContentAddressedReleasesPreviousPayload() throws Exception {
+		initContentAddressed();
+		ESArtifactData artifact = new ESArtifactData("id", "payload".getBytes());
+		String checksum = ArtifactCassandraDao.calculateChecksum(artifact.getData());
+		ResultSet oldChecksum = checksumResult("old");
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(oldChecksum);
+		ResultSet notStored = resultSet(null);
+		Mockito.when(artifactAccessor.getPayloadRefCount(checksum)).thenReturn(notStored);
+		ResultSet inserted = applied(true);
+		Mockito.when(artifactAccessor.insertPayload(Mockito.eq(checksum), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(inserted);
+		ResultSet oldRefCount = refCountResult(1, "generation");
+		Mockito.when(artifactAccessor.getPayloadRefCount("old")).thenReturn(oldRefCount);
+		ResultSet deleted = applied(true);
+		Mockito.when(artifactAccessor.deletePayload("old", 1)).thenReturn(deleted);
+		Mockito.when(client.save(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(CassandraOperationStatus.OK);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(artifact));
+		Mockito.verify(artifactAccessor).insertPayload(checksum, artifact.getData(), null, null, null);
+		Mockito.verify(artifactAccessor).deletePayload("old", 1);
+		Mockito.verify(artifactAccessor).deleteChunks("old#generation", 0);
+	}
+
+	@Test
+	public void testGetArtifactResolvesPayloadReference() throws Exception {
+		ESArtifactData reference = new ESArtifactData("id");
+		reference.setChecksum("checksum");
+		Mockito.when(client.getById("id", ESArtifactData.class, null)).thenReturn(Either.left(reference));
+		Mockito.when(client.getById("checksum", ArtifactPayloadData.class, null))
+				.thenReturn(Either.left(new ArtifactPayloadData("checksum", ByteBuffer.wrap("payload".getBytes()))));
+
+		Either<ESArtifactData, CassandraOperationStatus> result = testSubject.getArtifact("id");
+		assertTrue(result.isLeft());
+		assertEquals("payload", new String(result.left().value().getDataAsArray()));
+	}
+
+	@Test
+	public void testGetArtifactAsyncResolvesPayloadReference() throws Exception {
+		ESArtifactData reference = new ESArtifactData("id");
+		reference.setChecksum("checksum");
+		Mockito.when(client.getByIdAsync(Mockito.eq("id"), Mockito.eq(ESArtifactData.class), Mockito.isNull(), Mockito.any()))
+				.thenReturn(CompletableFuture.completedFuture(Either.left(reference)));
+		Mockito.when(client.getByIdAsync(Mockito.eq("checksum"), Mockito.eq(ArtifactPayloadData.class), Mockito.isNull(), Mockito.any()))
+				.thenReturn(CompletableFuture.completedFuture(Either.right(CassandraOperationStatus.NOT_FOUND)));
+
+		Either<ESArtifactData, CassandraOperationStatus> result = testSubject.getArtifactAsync("id").join();
+		assertEquals(CassandraOperationStatus.NOT_FOUND, result.right().value());
+	}
+
+	@Test
+	public void testCopyArtifactContentAddressedWritesReferenceOnly() throws Exception {
+		initContentAddressed();
+		ResultSet sourceChecksum = checksumResult("checksum");
+		Mockito.when(artifactAccessor.getArtifactManifest("source")).thenReturn(sourceChecksum);
+		ResultSet noChecksum = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("target")).thenReturn(noChecksum);
+		ResultSet refCount = refCountResult(1, null);
+		Mockito.when(artifactAccessor.getPayloadRefCount("checksum")).thenReturn(refCount);
+		ResultSet incremented = applied(true);
+		Mockito.when(artifactAccessor.updatePayloadRefCount("checksum", 2, 1)).thenReturn(incremented);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.copyArtifact("source", "target"));
+		Mockito.verify(artifactAccessor).updatePayloadRefCount("checksum", 2, 1);
+		Mockito.verify(artifactAccessor).insertArtifactManifest("target", null, "checksum", null, null, null);
+		Mockito.verify(client, Mockito.never()).getById(Mockito.anyString(), Mockito.any(), Mockito.any());
+		Mockito.verify(client, Mockito.never()).save(Mockito.any(), Mockito.eq(ArtifactPayloadData.class), Mockito.any());
+	}
+
+	@Test
+	public void testDeleteArtifactReleasesPayload() throws Exception {
+		initContentAddressed();
+		ResultSet checksum = checksumResult("checksum");
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(checksum);
+		ResultSet refCount = refCountResult(2, null);
+		Mockito.when(artifactAccessor.getPayloadRefCount("checksum")).thenReturn(refCount);
+		ResultSet decremented = applied(true);
+		Mockito.when(artifactAccessor.updatePayloadRefCount("checksum", 1, 2)).thenReturn(decremented);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.deleteArtifact("id"));
+		Mockito.verify(artifactAccessor).deleteArtifactManifest("id", "checksum", null, null);
+		Mockito.verify(artifactAccessor).updatePayloadRefCount("checksum", 1, 2);
+		Mockito.verify(artifactAccessor, Mockito.never()).deletePayload(Mockito.anyString(), Mockito.anyInt());
+	}
+
+	@Test
+	public void testReleaseOfLastReferenceRetriesWhenReferencedConcurrently() throws Exception {
+		initContentAddressed();
+		ResultSet checksum = checksumResult("checksum");
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(checksum);
+		ResultSet lastReference = refCountResult(1, null);
+		ResultSet referencedAgain = refCountResult(2, null);
+		Mockito.when(artifactAccessor.getPayloadRefCount("checksum")).thenReturn(lastReference, referencedAgain);
+		ResultSet notDeleted = applied(false);
+		Mockito.when(artifactAccessor.deletePayload("checksum", 1)).thenReturn(notDeleted);
+		ResultSet decremented = applied(true);
+		Mockito.when(artifactAccessor.updatePayloadRefCount("checksum", 1, 2)).thenReturn(decremented);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.deleteArtifact("id"));
+		Mockito.verify(artifactAccessor).updatePayloadRefCount("checksum", 1, 2);
+		Mockito.verify(artifactAccessor, Mockito.never()).deleteChunks(Mockito.anyString(), Mockito.anyInt());
+	}
+
+	@Test
+	public void testAcquireChunkedPayloadStoredConcurrentlyDropsOwnChunks() throws Exception {
+		initChunked();
+		Deencapsulation.setField(testSubject, "contentAddressed", true);
+		ESArtifactData artifact = new ESArtifactData("id", "0123456789".getBytes());
+		String checksum = ArtifactCassandraDao.calculateChecksum(artifact.getData());
+		ResultSet noManifest = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(noManifest);
+		ResultSet notStored = resultSet(null);
+		ResultSet stored = refCountResult(1, "other");
+		Mockito.when(artifactAccessor.getPayloadRefCount(checksum)).thenReturn(notStored, stored);
+		ResultSet notInserted = applied(false);
+		Mockito.when(artifactAccessor.insertPayload(Mockito.eq(checksum), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(notInserted);
+		ResultSet incremented = applied(true);
+		Mockito.when(artifactAccessor.updatePayloadRefCount(checksum, 2, 1)).thenReturn(incremented);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(artifact));
+		ArgumentCaptor<ArtifactChunkData> chunks = ArgumentCaptor.forClass(ArtifactChunkData.class);
+		Mockito.verify(client, Mockito.times(3)).save(chunks.capture(), Mockito.eq(ArtifactChunkData.class), Mockito.any());
+		String chunksKey = chunks.getValue().getId();
+		assertTrue(chunksKey.startsWith(checksum + "#"));
+		Mockito.verify(artifactAccessor).deleteChunks(chunksKey, 0);
+		Mockito.verify(artifactAccessor).updatePayloadRefCount(checksum, 2, 1);
+	}
+
+	@Test
+	public void testSaveArtifactStoresLargePayloadInChunks() throws Exception {
+		initChunked();
+		ResultSet noManifest = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(noManifest);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(new ESArtifactData("id", "0123456789".getBytes())));
+		ArgumentCaptor<ArtifactChunkData> chunks = ArgumentCaptor.forClass(ArtifactChunkData.class);
+		Mockito.verify(client, Mockito.times(3)).save(chunks.capture(), Mockito.eq(ArtifactChunkData.class), Mockito.any());
+		List<ArtifactChunkData> saved = chunks.getAllValues();
+		assertEquals("0123", asString(saved.get(0).getData()));
+		assertEquals("89", asString(saved.get(2).getData()));
+		assertEquals(Integer.valueOf(2), saved.get(2).getChunk());
+		ArgumentCaptor<String> generation = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(artifactAccessor).insertArtifactManifest(Mockito.eq("id"), Mockito.isNull(), Mockito.isNull(),
+				Mockito.eq(10L), Mockito.eq(4), generation.capture());
+		assertNotNull(generation.getValue());
+		assertEquals("id#" + generation.getValue(), saved.get(0).getId());
+		Mockito.verify(artifactAccessor, Mockito.never()).deleteChunks(Mockito.anyString(), Mockito.anyInt());
+	}
+
+	@Test
+	public void testSaveArtifactDeletesChunksOfPreviousPayloadAfterSwitchingToNewOnes() throws Exception {
+		initChunked();
+		ResultSet chunkedManifest = manifestResult(10L, 4, "old");
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(chunkedManifest);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(new ESArtifactData("id", "012345".getBytes())));
+		ArgumentCaptor<ArtifactChunkData> chunks = ArgumentCaptor.forClass(ArtifactChunkData.class);
+		InOrder inOrder = Mockito.inOrder(client, artifactAccessor);
+		inOrder.verify(client, Mockito.times(2)).save(chunks.capture(), Mockito.eq(ArtifactChunkData.class), Mockito.any());
+		inOrder.verify(artifactAccessor).updateArtifactManifest(Mockito.eq("id"), Mockito.isNull(), Mockito.isNull(),
+				Mockito.eq(6L), Mockito.eq(4), Mockito.anyString(), Mockito.isNull(), Mockito.eq(4), Mockito.eq("old"));
+		inOrder.verify(artifactAccessor).deleteChunks("id#old", 0);
+		assertNotEquals("id#old", chunks.getValue().getId());
+		Mockito.verify(artifactAccessor, Mockito.times(1)).deleteChunks(Mockito.anyString(), Mockito.anyInt());
+	}
+
+	@Test
+	public void testSaveArtifactDeletesChunksOfPayloadWrittenBeforeGenerations() throws Exception {
+		initChunked();
+		ResultSet chunkedManifest = manifestResult(10L, 4);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(chunkedManifest);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(new ESArtifactData("id", "012345".getBytes())));
+		Mockito.verify(artifactAccessor).deleteChunks("id", 0);
+	}
+
+	@Test
+	public void testSaveArtifactKeepsPreviousPayloadWhenManifestIsNotSaved() throws Exception {
+		initChunked();
+		ResultSet chunkedManifest = manifestResult(10L, 4, "old");
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(chunkedManifest);
+		Mockito.when(artifactAccessor.updateArtifactManifest(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(new IllegalStateException());
+
+		assertEquals(CassandraOperationStatus.GENERAL_ERROR,
+				testSubject.saveArtifact("id", new ByteArrayInputStream("012345".getBytes())));
+		ArgumentCaptor<ArtifactChunkData> chunks = ArgumentCaptor.forClass(ArtifactChunkData.class);
+		Mockito.verify(client, Mockito.times(2)).save(chunks.capture(), Mockito.eq(ArtifactChunkData.class), Mockito.any());
+		Mockito.verify(artifactAccessor).deleteChunks(chunks.getValue().getId(), 0);
+		Mockito.verify(artifactAccessor, Mockito.never()).deleteChunks("id#old", 0);
+	}
+
+	@Test
+	public void testSaveArtifactFromStreamWritesChunks() throws Exception {
+		initChunked();
+		ResultSet noManifest = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(noManifest);
+
+		assertEquals(CassandraOperationStatus.OK,
+				testSubject.saveArtifact("id", new ByteArrayInputStream("01234567".getBytes())));
+		Mockito.verify(client, Mockito.times(2)).save(Mockito.any(), Mockito.eq(ArtifactChunkData.class), Mockito.any());
+		Mockito.verify(artifactAccessor).insertArtifactManifest(Mockito.eq("id"), Mockito.isNull(), Mockito.isNull(),
+				Mockito.eq(8L), Mockito.eq(4), Mockito.anyString());
+	}
+
+	@Test
+	public void testSaveArtifactFromStreamKeepsSmallPayloadInline() throws Exception {
+		initChunked();
+		ResultSet noManifest = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(noManifest);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact("id", new ByteArrayInputStream("012".getBytes())));
+		ArgumentCaptor<ByteBuffer> saved = ArgumentCaptor.forClass(ByteBuffer.class);
+		Mockito.verify(artifactAccessor).insertArtifactManifest(Mockito.eq("id"), saved.capture(), Mockito.isNull(),
+				Mockito.isNull(), Mockito.isNull(), Mockito.isNull());
+		assertEquals("012", asString(saved.getValue()));
+		Mockito.verify(client, Mockito.never()).save(Mockito.any(), Mockito.eq(ArtifactChunkData.class), Mockito.any());
+	}
+
+	@Test
+	public void testGetArtifactAssemblesChunks() throws Exception {
+		initChunked();
+		ESArtifactData manifest = new ESArtifactData("id");
+		manifest.setSize(10L);
+		manifest.setChunkSize(4);
+		Mockito.when(client.getById("id", ESArtifactData.class, mappingManager)).thenReturn(Either.left(manifest));
+		ResultSet chunk0 = chunkResult("0123");
+		ResultSet chunk1 = chunkResult("4567");
+		ResultSet chunk2 = chunkResult("89");
+		Mockito.when(artifactAccessor.getChunk("id", 0)).thenReturn(chunk0);
+		Mockito.when(artifactAccessor.getChunk("id", 1)).thenReturn(chunk1);
+		Mockito.when(artifactAccessor.getChunk("id", 2)).thenReturn(chunk2);
+
+		Either<ESArtifactData, CassandraOperationStatus> result = testSubject.getArtifact("id");
+		assertEquals("0123456789", new String(result.left().value().getDataAsArray()));
+	}
+
+	@Test
+	public void testGetArtifactAsyncAssemblesChunks() throws Exception {
+		initChunked();
+		ESArtifactData manifest = new ESArtifactData("id");
+		manifest.setSize(6L);
+		manifest.setChunkSize(4);
+		Mockito.when(client.getByIdAsync(Mockito.eq("id"), Mockito.eq(ESArtifactData.class), Mockito.eq(mappingManager), Mockito.any()))
+				.thenReturn(CompletableFuture.completedFuture(Either.left(manifest)));
+		ResultSetFuture chunk0 = chunkFuture("0123");
+		ResultSetFuture chunk1 = chunkFuture("45");
+		Mockito.when(artifactAccessor.getChunkAsync("id", 0)).thenReturn(chunk0);
+		Mockito.when(artifactAccessor.getChunkAsync("id", 1)).thenReturn(chunk1);
+
+		Either<ESArtifactData, CassandraOperationStatus> result = testSubject.getArtifactAsync("id").join();
+		assertEquals("012345", new String(result.left().value().getDataAsArray()));
+	}
+
+	@Test
+	public void testGetArtifactAsyncReadsChunksOnceReserved() throws Exception {
+		initChunked();
+		ESArtifactData manifest = new ESArtifactData("id");
+		manifest.setSize(6L);
+		manifest.setChunkSize(4);
+		Mockito.when(client.getByIdAsync(Mockito.eq("id"), Mockito.eq(ESArtifactData.class), Mockito.eq(mappingManager), Mockito.any()))
+				.thenReturn(CompletableFuture.completedFuture(Either.left(manifest)));
+		ResultSetFuture chunk0 = chunkFuture("0123");
+		ResultSetFuture chunk1 = chunkFuture("45");
+		Mockito.when(artifactAccessor.getChunkAsync("id", 0)).thenReturn(chunk0);
+		Mockito.when(artifactAccessor.getChunkAsync("id", 1)).thenReturn(chunk1);
+		CompletableFuture<Void> reservation = new CompletableFuture<>();
+		List<Long> reserved = new ArrayList<>();
+		ArtifactReadHandle read = new ArtifactReadHandle(bytes -> {
+			reserved.add(bytes);
+			return reservation;
+		});
+
+		CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> result = testSubject.getArtifactAsync("id", read);
+		assertEquals(Collections.singletonList(6L), reserved);
+		Mockito.verify(artifactAccessor, Mockito.never()).getChunkAsync(Mockito.anyString(), Mockito.anyInt());
+
+		reservation.complete(null);
+		assertEquals("012345", new String(result.join().left().value().getDataAsArray()));
+	}
+
+	@Test
+	public void testGetArtifactStreamReadsOnlyRequestedChunks() throws Exception {
+		initChunked();
+		ResultSet chunkedManifest = manifestResult(10L, 4, "gen");
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(chunkedManifest);
+		ResultSet chunk2 = chunkResult("89");
+		Mockito.when(artifactAccessor.getChunk("id#gen", 2)).thenReturn(chunk2);
+
+		ArtifactPayloadStream stream = testSubject.getArtifactStream("id").left().value();
+		assertEquals(10, stream.getSize());
+		assertEquals(8, stream.skip(8));
+		byte[] read = new byte[4];
+		assertEquals(2, stream.read(read));
+		assertArrayEquals("89".getBytes(), Arrays.copyOf(read, 2));
+		assertEquals(-1, stream.read());
+		Mockito.verify(artifactAccessor, Mockito.times(1)).getChunk(Mockito.anyString(), Mockito.anyInt());
+	}
+
+	@Test
+	public void testGetArtifactStreamNotFound() throws Exception {
+		initChunked();
+		ResultSet noManifest = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(noManifest);
+
+		assertEquals(CassandraOperationStatus.NOT_FOUND, testSubject.getArtifactStream("id").right().value());
+	}
+
+	@Test
+	public void testCopyArtifactCopiesChunksOneAtATime() throws Exception {
+		initChunked();
+		ResultSet sourceManifest = manifestResult(6L, 4, "gen");
+		ResultSet noManifest = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("source")).thenReturn(sourceManifest);
+		Mockito.when(artifactAccessor.getArtifactManifest("target")).thenReturn(noManifest);
+		ResultSet chunk0 = chunkResult("0123");
+		ResultSet chunk1 = chunkResult("45");
+		Mockito.when(artifactAccessor.getChunk("source#gen", 0)).thenReturn(chunk0);
+		Mockito.when(artifactAccessor.getChunk("source#gen", 1)).thenReturn(chunk1);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.copyArtifact("source", "target"));
+		ArgumentCaptor<ArtifactChunkData> chunks = ArgumentCaptor.forClass(ArtifactChunkData.class);
+		Mockito.verify(client, Mockito.times(2)).save(chunks.capture(), Mockito.eq(ArtifactChunkData.class), Mockito.any());
+		assertEquals("45", asString(chunks.getValue().getData()));
+		assertTrue(chunks.getValue().getId().startsWith("target#"));
+		Mockito.verify(client, Mockito.never()).getById(Mockito.eq("source"), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void testDeleteArtifactDeletesChunks() throws Exception {
+		initChunked();
+		ResultSet chunkedManifest = manifestResult(10L, 4);
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(chunkedManifest);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.deleteArtifact("id"));
+		Mockito.verify(artifactAccessor).deleteArtifactManifest("id", null, 4, null);
+		Mockito.verify(artifactAccessor).deleteChunks("id", 0);
+	}
+
+	@Test
+	public void testSaveArtifactReleasesOnlyThePayloadItReplaced() throws Exception {
+		initContentAddressed();
+		ESArtifactData artifact = new ESArtifactData("id", "payload".getBytes());
+		String checksum = ArtifactCassandraDao.calculateChecksum(artifact.getData());
+		ResultSet oldChecksum = checksumResult("old");
+		ResultSet otherChecksum = checksumResult("other");
+		Mockito.when(artifactAccessor.getArtifactManifest("id")).thenReturn(oldChecksum, otherChecksum);
+		ResultSet refCount = refCountResult(1, null);
+		Mockito.when(artifactAccessor.getPayloadRefCount(checksum)).thenReturn(refCount);
+		ResultSet incremented = applied(true);
+		Mockito.when(artifactAccessor.updatePayloadRefCount(checksum, 2, 1)).thenReturn(incremented);
+		ResultSet switchedConcurrently = applied(false);
+		Mockito.when(artifactAccessor.updateArtifactManifest("id", null, checksum, null, null, null, "old", null, null))
+				.thenReturn(switchedConcurrently);
+		ResultSet otherRefCount = refCountResult(2, null);
+		Mockito.when(artifactAccessor.getPayloadRefCount("other")).thenReturn(otherRefCount);
+		ResultSet decremented = applied(true);
+		Mockito.when(artifactAccessor.updatePayloadRefCount("other", 1, 2)).thenReturn(decremented);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.saveArtifact(artifact));
+		Mockito.verify(artifactAccessor).updateArtifactManifest("id", null, checksum, null, null, null, "other", null, null);
+		Mockito.verify(artifactAccessor).updatePayloadRefCount("other", 1, 2);
+		Mockito.verify(artifactAccessor, Mockito.never()).getPayloadRefCount("old");
+	}
+
+	@Test
+	public void testCopyArtifactCopiesPayloadDeletedConcurrently() throws Exception {
+		initContentAddressed();
+		ResultSet sourceChecksum = checksumResult("deleted");
+		ResultSet sourceInline = manifestResult(null, null);
+		Mockito.when(artifactAccessor.getArtifactManifest("source")).thenReturn(sourceChecksum, sourceInline);
+		ResultSet noManifest = resultSet(null);
+		Mockito.when(artifactAccessor.getArtifactManifest("target")).thenReturn(noManifest);
+		ResultSet notStored = resultSet(null);
+		Mockito.when(artifactAccessor.getPayloadRefCount(Mockito.anyString())).thenReturn(notStored);
+		Mockito.when(client.getById("source", ESArtifactData.class, mappingManager))
+				.thenReturn(Either.left(new ESArtifactData("source", "payload".getBytes())));
+		ResultSet inserted = applied(true);
+		Mockito.when(artifactAccessor.insertPayload(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(inserted);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.copyArtifact("source", "target"));
+		String checksum = ArtifactCassandraDao.calculateChecksum(ByteBuffer.wrap("payload".getBytes()));
+		Mockito.verify(artifactAccessor).insertPayload(Mockito.eq(checksum), Mockito.any(), Mockito.isNull(), Mockito.isNull(), Mockito.isNull());
+		Mockito.verify(artifactAccessor).insertArtifactManifest("target", null, checksum, null, null, null);
+	}
 }
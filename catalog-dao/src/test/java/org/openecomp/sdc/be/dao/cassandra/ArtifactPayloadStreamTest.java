@@ -0,0 +1,84 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ArtifactPayloadStreamTest {
+
+	private static final String PAYLOAD = "0123456789";
+
+	private final List<Integer> reads = new ArrayList<>();
+
+	private ArtifactPayloadStream createTestSubject() {
+		return new ArtifactPayloadStream(PAYLOAD.length(), 4, chunk -> {
+			reads.add(chunk);
+			int start = chunk * 4;
+			return ByteBuffer.wrap(PAYLOAD.substring(start, Math.min(start + 4, PAYLOAD.length())).getBytes());
+		});
+	}
+
+	@Test
+	public void testReadAll() throws Exception {
+		assertEquals(PAYLOAD, IOUtils.toString(createTestSubject(), "UTF-8"));
+		assertEquals(3, reads.size());
+	}
+
+	@Test
+	public void testSkipDoesNotReadSkippedChunks() throws Exception {
+		ArtifactPayloadStream testSubject = createTestSubject();
+		assertEquals(5, testSubject.skip(5));
+		assertEquals('5', testSubject.read());
+		assertEquals(6, testSubject.getPosition());
+		assertEquals(2, testSubject.available());
+		assertEquals("6789", IOUtils.toString(testSubject, "UTF-8"));
+		assertEquals(2, reads.size());
+		assertEquals(Integer.valueOf(1), reads.get(0));
+	}
+
+	@Test
+	public void testSkipBeyondEnd() throws Exception {
+		ArtifactPayloadStream testSubject = createTestSubject();
+		assertEquals(10, testSubject.skip(20));
+		assertEquals(-1, testSubject.read());
+	}
+
+	@Test
+	public void testOf() throws Exception {
+		ArtifactPayloadStream testSubject = ArtifactPayloadStream.of(ByteBuffer.wrap(PAYLOAD.getBytes()));
+		assertEquals(10, testSubject.getSize());
+		testSubject.skip(3);
+		assertEquals("3456789", IOUtils.toString(testSubject, "UTF-8"));
+	}
+
+	@Test(expected = IOException.class)
+	public void testMissingChunk() throws Exception {
+		new ArtifactPayloadStream(10, 4, chunk -> null).read();
+	}
+}
@@ -0,0 +1,116 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import fj.data.Either;
+import org.openecomp.sdc.be.resources.data.ESArtifactData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the artifacts of a synthetic service of 300 artifacts to a zip the way CsarUtils does, reading the payloads
+ * through a simulated Cassandra with a fixed latency per read. A max in flight of 1 is the sequential read used before.
+ * Not a unit test, run with the main method or through the jmh runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactPrefetchPipelineBenchmark {
+
+    private static final int ARTIFACTS = 300;
+    private static final int PAYLOAD_SIZE = 16 * 1024;
+    private static final long READ_LATENCY_MICROS = 500;
+
+    @Param({"1", "4", "16", "64"})
+    private int maxInFlight;
+
+    private ScheduledExecutorService cassandra;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        cassandra = Executors.newScheduledThreadPool(8);
+        payload = new byte[PAYLOAD_SIZE];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i % 31);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cassandra.shutdownNow();
+    }
+
+    private CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> read(String id) {
+        CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> result = new CompletableFuture<>();
+        cassandra.schedule(() -> result.complete(Either.left(new ESArtifactData(id, payload))),
+                READ_LATENCY_MICROS, TimeUnit.MICROSECONDS);
+        return result;
+    }
+
+    @Benchmark
+    public int writeServiceArtifacts() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            ArtifactPrefetchPipeline<String> pipeline = new ArtifactPrefetchPipeline<>(this::read, maxInFlight,
+                    64L * 1024 * 1024, (name, artifact) -> {
+                        zip.putNextEntry(new ZipEntry(name));
+                        zip.write(artifact.left().value().getDataAsArray());
+                    });
+            for (int i = 0; i < ARTIFACTS; i++) {
+                pipeline.add("Artifacts/Deployment/HEAT/artifact" + i + ".yaml", "esId" + i);
+            }
+            pipeline.finish();
+        }
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ArtifactPrefetchPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
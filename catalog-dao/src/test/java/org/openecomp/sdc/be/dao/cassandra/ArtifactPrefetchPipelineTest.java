@@ -0,0 +1,232 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import fj.data.Either;
+import org.junit.Test;
+import org.openecomp.sdc.be.resources.data.ESArtifactData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ArtifactPrefetchPipelineTest {
+
+	private final Map<String, CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>>> reads = new ConcurrentHashMap<>();
+	private final List<String> written = new ArrayList<>();
+
+	private CompletableFuture<Either<ESArtifactData, CassandraOperationStatus>> read(String id) {
+		return reads.computeIfAbsent(id, k -> new CompletableFuture<>());
+	}
+
+	private ArtifactPrefetchPipeline<String> createTestSubject(int maxInFlight, long maxInFlightBytes) {
+		return new ArtifactPrefetchPipeline<>(this::read, maxInFlight, maxInFlightBytes, (entry, payload) -> {
+			if (payload == null) {
+				written.add(entry);
+			} else if (payload.isLeft()) {
+				written.add(entry + "=" + new String(payload.left().value().getDataAsArray()));
+			} else {
+				written.add(entry + "!" + payload.right().value());
+			}
+		});
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void complete(String id) {
+		read(id).complete(Either.left(new ESArtifactData(id, id.getBytes())));
+	}
+
+	@Test
+	public void testEntriesAreWrittenInOrderOfAdding() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = createTestSubject(10, Long.MAX_VALUE);
+		testSubject.add("a", "1");
+		testSubject.add("b", "2");
+		testSubject.add("c", null);
+		testSubject.add("d", "3");
+		complete("3");
+		complete("2");
+		testSubject.add("e", "4");
+		assertTrue(written.isEmpty());
+
+		complete("1");
+		complete("4");
+		testSubject.finish();
+		assertEquals(Arrays.asList("a=1", "b=2", "c", "d=3", "e=4"), written);
+		assertEquals(4, testSubject.getFetchCount());
+	}
+
+	@Test
+	public void testReadsAreBoundedByMaxInFlight() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = createTestSubject(2, Long.MAX_VALUE);
+		testSubject.add("a", "1");
+		testSubject.add("b", "2");
+		assertEquals(2, reads.size());
+		CompletableFuture.runAsync(() -> {
+			sleep(100);
+			complete("1");
+		});
+		testSubject.add("c", "3");
+		assertEquals(Arrays.asList("a=1"), written);
+		assertEquals(2, testSubject.getMaxQueued());
+		complete("2");
+		complete("3");
+		testSubject.finish();
+		assertEquals(Arrays.asList("a=1", "b=2", "c=3"), written);
+	}
+
+	@Test
+	public void testReadsWaitForBufferedBytesToBeWritten() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = createTestSubject(10, 1);
+		testSubject.add("a", "1");
+		testSubject.add("b", "22");
+		complete("22");
+		CompletableFuture.runAsync(() -> {
+			sleep(100);
+			complete("1");
+		});
+		testSubject.add("c", "333");
+		assertEquals(Arrays.asList("a=1", "b=22"), written);
+		complete("333");
+		testSubject.finish();
+		assertEquals(3, written.size());
+	}
+
+	@Test
+	public void testReadsDoNotWaitWithinByteBudget() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = createTestSubject(10, 100);
+		testSubject.add("a", "1");
+		testSubject.add("b", "22");
+		complete("22");
+		testSubject.add("c", "333");
+		assertTrue(written.isEmpty());
+		assertEquals(3, testSubject.getMaxQueued());
+	}
+
+	@Test
+	public void testFailedReadIsHandedToConsumer() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = createTestSubject(10, Long.MAX_VALUE);
+		testSubject.add("a", "1");
+		testSubject.add("b", "2");
+		read("1").complete(Either.right(CassandraOperationStatus.NOT_FOUND));
+		read("2").completeExceptionally(new IllegalStateException());
+		testSubject.finish();
+		assertEquals(Arrays.asList("a!NOT_FOUND", "b!GENERAL_ERROR"), written);
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = createTestSubject(10, Long.MAX_VALUE);
+		testSubject.add("a", "1");
+		testSubject.cancel();
+		testSubject.finish();
+		assertTrue(read("1").isCancelled());
+		assertTrue(written.isEmpty());
+	}
+
+	@Test
+	public void testFailingConsumerCancelsRemainingReads() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = new ArtifactPrefetchPipeline<>(this::read, 10, Long.MAX_VALUE,
+				(entry, payload) -> {
+					throw new IOException("zip closed");
+				});
+		testSubject.add("a", "1");
+		testSubject.add("b", "2");
+		complete("1");
+		try {
+			testSubject.finish();
+			fail("the failure of the consumer is expected to be propagated");
+		} catch (IOException e) {
+			assertEquals("zip closed", e.getMessage());
+		}
+		assertTrue(read("2").isCancelled());
+	}
+
+	@Test(timeout = 5000)
+	public void testConsumedPayloadsAreReleasedFromByteBudget() throws Exception {
+		ArtifactPrefetchPipeline<String> testSubject = createTestSubject(10, 1);
+		testSubject.add("a", "11");
+		complete("11");
+		testSubject.add("b", "22");
+		// "11" was written, so the read of "33" does not wait for "22"
+		testSubject.add("c", "33");
+		assertEquals(Arrays.asList("a=11"), written);
+		complete("22");
+		complete("33");
+		testSubject.finish();
+		assertEquals(Arrays.asList("a=11", "b=22", "c=33"), written);
+	}
+
+	@Test(timeout = 5000)
+	public void testReservationsWaitForEarlierPayloadsToBeWritten() throws Exception {
+		Map<String, CompletableFuture<Void>> reservations = new ConcurrentHashMap<>();
+		ArtifactPrefetchPipeline<String> testSubject = new ArtifactPrefetchPipeline<>((id, read) -> {
+			CompletableFuture<Void> reservation = read.reserve(8);
+			reservations.put(id, reservation);
+			return reservation.thenCompose(reserved -> read(id));
+		}, 10, 10, (entry, payload) -> written.add(entry + "=" + new String(payload.left().value().getDataAsArray())));
+		testSubject.add("a", "1");
+		testSubject.add("b", "2");
+		assertTrue(reservations.get("1").isDone());
+		assertFalse(reservations.get("2").isDone());
+		assertEquals(8, testSubject.getReservedBytes());
+
+		complete("1");
+		complete("2");
+		testSubject.finish();
+		assertTrue(reservations.get("2").isDone());
+		assertEquals(Arrays.asList("a=1", "b=2"), written);
+		assertEquals(0, testSubject.getReservedBytes());
+	}
+
+	@Test
+	public void testCancelCancelsIssuedStatements() throws Exception {
+		List<CompletableFuture<Void>> statements = new ArrayList<>();
+		List<ArtifactReadHandle> handles = new ArrayList<>();
+		ArtifactPrefetchPipeline<String> testSubject = new ArtifactPrefetchPipeline<>((id, read) -> {
+			statements.add(read.track(new CompletableFuture<>()));
+			handles.add(read);
+			return read(id);
+		}, 10, Long.MAX_VALUE, (entry, payload) -> written.add(entry));
+		testSubject.add("a", "1");
+		testSubject.cancel();
+		assertTrue(statements.get(0).isCancelled());
+		// a statement issued after the cancellation is cancelled right away
+		CompletableFuture<Void> late = handles.get(0).track(new CompletableFuture<>());
+		assertTrue(late.isCancelled());
+		assertTrue(written.isEmpty());
+	}
+}
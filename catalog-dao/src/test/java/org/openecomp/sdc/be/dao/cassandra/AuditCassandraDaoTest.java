@@ -20,10 +20,14 @@
 
 package org.openecomp.sdc.be.dao.cassandra;
 
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
 import com.datastax.driver.mapping.Result;
 import fj.data.Either;
+import mockit.Deencapsulation;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,9 +38,13 @@ import org.mockito.MockitoAnnotations;
 import org.openecomp.sdc.be.dao.api.ActionStatus;
 import org.openecomp.sdc.be.resources.data.auditing.*;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+
 public class AuditCassandraDaoTest {
 
 	@InjectMocks
@@ -68,6 +76,41 @@ public class AuditCassandraDaoTest {
 		testSubject.init();
 	}
 
+	@Test
+	public void testSaveRecordsNotConnected() throws Exception {
+		Mockito.when(client.isConnected()).thenReturn(false);
+		List<AuditingGenericEvent> records = new LinkedList<>();
+		records.add(new ResourceAdminEvent());
+		assertEquals(Collections.singletonList(CassandraOperationStatus.CLUSTER_NOT_CONNECTED), testSubject.saveRecords(records));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSaveRecordsInsertsEachRecord() throws Exception {
+		Session session = Mockito.mock(Session.class);
+		MappingManager manager = Mockito.mock(MappingManager.class);
+		Mapper<ResourceAdminEvent> mapper = Mockito.mock(Mapper.class);
+		Statement first = Mockito.mock(Statement.class);
+		Statement second = Mockito.mock(Statement.class);
+		ResourceAdminEvent firstEvent = new ResourceAdminEvent();
+		ResourceAdminEvent secondEvent = new ResourceAdminEvent();
+		Mockito.when(client.isConnected()).thenReturn(true);
+		Mockito.when(manager.mapper(ResourceAdminEvent.class)).thenReturn(mapper);
+		Mockito.when(mapper.saveQuery(firstEvent)).thenReturn(first);
+		Mockito.when(mapper.saveQuery(secondEvent)).thenReturn(second);
+		ResultSetFuture saved = Mockito.mock(ResultSetFuture.class);
+		ResultSetFuture notSaved = Mockito.mock(ResultSetFuture.class);
+		Mockito.when(notSaved.getUninterruptibly()).thenThrow(new RuntimeException("timeout"));
+		Mockito.when(session.executeAsync(first)).thenReturn(saved);
+		Mockito.when(session.executeAsync(second)).thenReturn(notSaved);
+		Deencapsulation.setField(testSubject, "session", session);
+		Deencapsulation.setField(testSubject, "manager", manager);
+
+		assertEquals(Arrays.asList(CassandraOperationStatus.OK, CassandraOperationStatus.GENERAL_ERROR),
+				testSubject.saveRecords(Arrays.asList(firstEvent, secondEvent)));
+		Mockito.verify(session, Mockito.never()).execute(Mockito.any(Statement.class));
+	}
+
 	@Test
 	public void testGetListOfDistributionStatuses() throws Exception {
 		String did = "";
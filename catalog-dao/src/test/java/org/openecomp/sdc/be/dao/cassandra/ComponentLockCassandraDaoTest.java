@@ -0,0 +1,144 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.mapping.MappingManager;
+import fj.data.Either;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+public class ComponentLockCassandraDaoTest {
+
+	@InjectMocks
+	private ComponentLockCassandraDao testSubject;
+
+	@Mock
+	private CassandraClient client;
+
+	@Mock
+	private ComponentLockAccessor componentLockAccessor;
+
+	@Mock
+	private MappingManager mappingManager;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(client.isConnected()).thenReturn(true);
+		Mockito.when(client.connect(AuditingTypesConstants.REPO_KEYSPACE)).thenReturn(Either.left(ImmutablePair.of(null, mappingManager)));
+		Mockito.when(mappingManager.createAccessor(ComponentLockAccessor.class)).thenReturn(componentLockAccessor);
+		testSubject.init();
+	}
+
+	private static ResultSet applied(boolean applied) {
+		ResultSet resultSet = Mockito.mock(ResultSet.class);
+		Mockito.when(resultSet.wasApplied()).thenReturn(applied);
+		return resultSet;
+	}
+
+	private static ResultSet lockRow(long token, String owner, Date expires) {
+		Row row = Mockito.mock(Row.class);
+		Mockito.when(row.getLong(0)).thenReturn(token);
+		Mockito.when(row.getString(1)).thenReturn(owner);
+		Mockito.when(row.getTimestamp(2)).thenReturn(expires);
+		ResultSet resultSet = Mockito.mock(ResultSet.class);
+		Mockito.when(resultSet.one()).thenReturn(row);
+		return resultSet;
+	}
+
+	@Test
+	public void testAcquireNewLock() throws Exception {
+		ResultSet noLock = Mockito.mock(ResultSet.class);
+		Mockito.when(componentLockAccessor.getLock("id")).thenReturn(noLock);
+		ResultSet created = applied(true);
+		Mockito.when(componentLockAccessor.createLock(Mockito.eq("id"), Mockito.anyLong(), Mockito.eq("owner"), Mockito.any()))
+				.thenReturn(created);
+
+		long token = testSubject.acquireLock("id", "owner", 1000).left().value();
+		Mockito.verify(componentLockAccessor).createLock(Mockito.eq("id"), Mockito.eq(token), Mockito.eq("owner"), Mockito.any());
+	}
+
+	@Test
+	public void testAcquireHeldLock() throws Exception {
+		ResultSet held = lockRow(3, "other", new Date(System.currentTimeMillis() + 60000));
+		Mockito.when(componentLockAccessor.getLock("id")).thenReturn(held);
+
+		assertEquals(CassandraOperationStatus.ALREADY_LOCKED, testSubject.acquireLock("id", "owner", 1000).right().value());
+		Mockito.verify(componentLockAccessor, Mockito.never()).takeLock(Mockito.anyString(), Mockito.anyLong(),
+				Mockito.anyString(), Mockito.any(), Mockito.anyLong());
+	}
+
+	@Test
+	public void testAcquireExpiredLockReplacesToken() throws Exception {
+		ResultSet expired = lockRow(3, "other", new Date(System.currentTimeMillis() - 1));
+		Mockito.when(componentLockAccessor.getLock("id")).thenReturn(expired);
+		ResultSet taken = applied(true);
+		Mockito.when(componentLockAccessor.takeLock(Mockito.eq("id"), Mockito.anyLong(), Mockito.eq("owner"), Mockito.any(),
+				Mockito.eq(3L))).thenReturn(taken);
+
+		long token = testSubject.acquireLock("id", "owner", 1000).left().value();
+		Mockito.verify(componentLockAccessor).takeLock(Mockito.eq("id"), Mockito.eq(token), Mockito.eq("owner"), Mockito.any(),
+				Mockito.eq(3L));
+	}
+
+	@Test
+	public void testAcquireLockTakenConcurrently() throws Exception {
+		ResultSet released = lockRow(3, null, null);
+		Mockito.when(componentLockAccessor.getLock("id")).thenReturn(released);
+		ResultSet notTaken = applied(false);
+		Mockito.when(componentLockAccessor.takeLock(Mockito.eq("id"), Mockito.anyLong(), Mockito.eq("owner"), Mockito.any(),
+				Mockito.eq(3L))).thenReturn(notTaken);
+
+		assertEquals(CassandraOperationStatus.ALREADY_LOCKED, testSubject.acquireLock("id", "owner", 1000).right().value());
+	}
+
+	@Test
+	public void testReleaseLock() throws Exception {
+		ResultSet releasedLock = applied(true);
+		Mockito.when(componentLockAccessor.releaseLock("id", 4L)).thenReturn(releasedLock);
+		ResultSet notReleased = applied(false);
+		Mockito.when(componentLockAccessor.releaseLock("id", 3L)).thenReturn(notReleased);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.releaseLock("id", 4L));
+		assertEquals(CassandraOperationStatus.NOT_FOUND, testSubject.releaseLock("id", 3L));
+	}
+
+	@Test
+	public void testNotConnected() throws Exception {
+		ComponentLockCassandraDao notConnected = new ComponentLockCassandraDao(Mockito.mock(CassandraClient.class));
+		notConnected.init();
+
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED, notConnected.acquireLock("id", "owner", 1000).right().value());
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED, notConnected.releaseLock("id", 1L));
+	}
+}
@@ -0,0 +1,167 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.mapping.MappingManager;
+import com.datastax.driver.mapping.Result;
+import fj.data.Either;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.openecomp.sdc.be.resources.data.DistributionNotificationQueueEntry;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class DistributionNotificationQueueDaoTest {
+
+	@InjectMocks
+	private DistributionNotificationQueueDao testSubject;
+
+	@Mock
+	private CassandraClient client;
+
+	@Mock
+	private DistributionNotificationQueueAccessor distributionNotificationQueueAccessor;
+
+	@Mock
+	private MappingManager mappingManager;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(client.isConnected()).thenReturn(true);
+		Mockito.when(client.connect(AuditingTypesConstants.REPO_KEYSPACE)).thenReturn(Either.left(ImmutablePair.of(null, mappingManager)));
+		Mockito.when(mappingManager.createAccessor(DistributionNotificationQueueAccessor.class)).thenReturn(distributionNotificationQueueAccessor);
+		testSubject.init();
+	}
+
+	@Test
+	public void testSave() throws Exception {
+		DistributionNotificationQueueEntry entry = new DistributionNotificationQueueEntry();
+		Mockito.when(client.save(entry, DistributionNotificationQueueEntry.class, mappingManager)).thenReturn(CassandraOperationStatus.OK);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.save(entry));
+	}
+
+	@Test
+	public void testGetAll() throws Exception {
+		DistributionNotificationQueueEntry entry = new DistributionNotificationQueueEntry();
+		@SuppressWarnings("unchecked")
+		Result<DistributionNotificationQueueEntry> result = Mockito.mock(Result.class);
+		Mockito.when(result.all()).thenReturn(Collections.singletonList(entry));
+		Mockito.when(distributionNotificationQueueAccessor.getAll()).thenReturn(result);
+
+		assertEquals(Collections.singletonList(entry), testSubject.getAll().left().value());
+	}
+
+	@Test
+	public void testDelete() throws Exception {
+		UUID id = UUID.randomUUID();
+		ResultSet applied = resultSet(true);
+		Mockito.when(distributionNotificationQueueAccessor.delete("env", id, "be1")).thenReturn(applied);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.delete("env", id, "be1"));
+	}
+
+	@Test
+	public void testDeleteNotOwned() throws Exception {
+		UUID id = UUID.randomUUID();
+		ResultSet notApplied = resultSet(false);
+		Mockito.when(distributionNotificationQueueAccessor.delete("env", id, "be1")).thenReturn(notApplied);
+
+		assertEquals(CassandraOperationStatus.NOT_FOUND, testSubject.delete("env", id, "be1"));
+	}
+
+	@Test
+	public void testDeleteFailure() throws Exception {
+		UUID id = UUID.randomUUID();
+		Mockito.when(distributionNotificationQueueAccessor.delete("env", id, "be1")).thenThrow(new RuntimeException());
+
+		assertEquals(CassandraOperationStatus.GENERAL_ERROR, testSubject.delete("env", id, "be1"));
+	}
+
+	@Test
+	public void testClaim() throws Exception {
+		UUID id = UUID.randomUUID();
+		Date leaseExpires = new Date();
+		ResultSet applied = resultSet(true);
+		ResultSet notApplied = resultSet(false);
+		Mockito.when(distributionNotificationQueueAccessor.claim("env", id, "be2", leaseExpires, "be1")).thenReturn(applied);
+		Mockito.when(distributionNotificationQueueAccessor.claim("env", id, "be3", leaseExpires, "be1")).thenReturn(notApplied);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.claim("env", id, "be2", leaseExpires, "be1"));
+		assertEquals(CassandraOperationStatus.ALREADY_LOCKED, testSubject.claim("env", id, "be3", leaseExpires, "be1"));
+	}
+
+	@Test
+	public void testRenew() throws Exception {
+		UUID id = UUID.randomUUID();
+		Date leaseExpires = new Date();
+		ResultSet applied = resultSet(true);
+		ResultSet notApplied = resultSet(false);
+		Mockito.when(distributionNotificationQueueAccessor.renew("env", id, "be1", leaseExpires)).thenReturn(applied);
+		Mockito.when(distributionNotificationQueueAccessor.renew("env", id, "be2", leaseExpires)).thenReturn(notApplied);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.renew("env", id, "be1", leaseExpires));
+		assertEquals(CassandraOperationStatus.NOT_FOUND, testSubject.renew("env", id, "be2", leaseExpires));
+	}
+
+	@Test
+	public void testFail() throws Exception {
+		UUID id = UUID.randomUUID();
+		ResultSet applied = resultSet(true);
+		Mockito.when(distributionNotificationQueueAccessor.fail("env", id, "be1", "GENERAL_ERROR")).thenReturn(applied);
+
+		assertEquals(CassandraOperationStatus.OK, testSubject.fail("env", id, "be1", "GENERAL_ERROR"));
+	}
+
+	@Test
+	public void testNotConnected() throws Exception {
+		DistributionNotificationQueueDao notConnected = new DistributionNotificationQueueDao(Mockito.mock(CassandraClient.class));
+		notConnected.init();
+
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED, notConnected.save(new DistributionNotificationQueueEntry()));
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED, notConnected.getAll().right().value());
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED, notConnected.delete("env", UUID.randomUUID(), "be1"));
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED,
+				notConnected.claim("env", UUID.randomUUID(), "be1", new Date(), null));
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED,
+				notConnected.renew("env", UUID.randomUUID(), "be1", new Date()));
+		assertEquals(CassandraOperationStatus.CLUSTER_NOT_CONNECTED,
+				notConnected.fail("env", UUID.randomUUID(), "be1", "GENERAL_ERROR"));
+	}
+
+	private static ResultSet resultSet(boolean applied) {
+		ResultSet resultSet = Mockito.mock(ResultSet.class);
+		Mockito.when(resultSet.wasApplied()).thenReturn(applied);
+		return resultSet;
+	}
+}
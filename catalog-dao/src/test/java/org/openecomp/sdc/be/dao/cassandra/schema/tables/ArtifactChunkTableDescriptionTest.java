@@ -0,0 +1,55 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.cassandra.schema.tables;
+
+import com.datastax.driver.core.DataType;
+import org.junit.Test;
+import org.openecomp.sdc.be.resources.data.auditing.AuditingTypesConstants;
+
+import static org.junit.Assert.assertEquals;
+
+public class ArtifactChunkTableDescriptionTest {
+
+	private ArtifactChunkTableDescription createTestSubject() {
+		return new ArtifactChunkTableDescription();
+	}
+
+	@Test
+	public void testPrimaryKeys() throws Exception {
+		assertEquals("id", createTestSubject().primaryKeys().get(0).getLeft());
+	}
+
+	@Test
+	public void testClusteringKeys() throws Exception {
+		assertEquals("chunk", createTestSubject().clusteringKeys().get(0).getLeft());
+	}
+
+	@Test
+	public void testGetColumnDescription() throws Exception {
+		assertEquals(DataType.blob(), createTestSubject().getColumnDescription().get("data").getLeft());
+	}
+
+	@Test
+	public void testGetKeyspaceAndTableName() throws Exception {
+		assertEquals(AuditingTypesConstants.ARTIFACT_KEYSPACE, createTestSubject().getKeyspace());
+		assertEquals("chunks", createTestSubject().getTableName());
+	}
+}
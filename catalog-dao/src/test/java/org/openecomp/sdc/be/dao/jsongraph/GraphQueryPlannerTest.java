@@ -0,0 +1,73 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph;
+
+import org.junit.Test;
+import org.openecomp.sdc.be.dao.jsongraph.GraphQueryPlanner.QueryPlan;
+import org.openecomp.sdc.be.dao.jsongraph.types.CompositeIndexEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GraphQueryPlannerTest {
+
+    private final GraphQueryPlanner queryPlanner = new GraphQueryPlanner();
+
+    @Test
+    public void testPlanPicksCompositeIndexCoveringMostKeys() {
+        Map<GraphPropertyEnum, Object> props = new EnumMap<>(GraphPropertyEnum.class);
+        props.put(GraphPropertyEnum.UUID, "uuid");
+        props.put(GraphPropertyEnum.IS_HIGHEST_VERSION, true);
+        props.put(GraphPropertyEnum.STATE, "CERTIFIED");
+
+        assertEquals(CompositeIndexEnum.UUID_HIGHEST_VERSION.getIndexName(), queryPlanner.plan(null, props).getIndexName());
+        QueryPlan plan = queryPlanner.plan(VertexTypeEnum.TOPOLOGY_TEMPLATE, props);
+        assertEquals(CompositeIndexEnum.LABEL_UUID_HIGHEST_VERSION.getIndexName(), plan.getIndexName());
+        assertEquals(CompositeIndexEnum.LABEL_UUID_HIGHEST_VERSION.getKeys(), plan.getIndexKeys());
+    }
+
+    @Test
+    public void testPlanPicksMostSelectiveSingleKeyIndex() {
+        Map<GraphPropertyEnum, Object> props = new EnumMap<>(GraphPropertyEnum.class);
+        props.put(GraphPropertyEnum.IS_ABSTRACT, false);
+        props.put(GraphPropertyEnum.CSAR_UUID, "csar");
+
+        QueryPlan plan = queryPlanner.plan(VertexTypeEnum.NODE_TYPE, props);
+        assertEquals(GraphPropertyEnum.CSAR_UUID.getProperty(), plan.getIndexName());
+        assertEquals(GraphPropertyEnum.LABEL.getProperty(), queryPlanner.plan(VertexTypeEnum.NODE_TYPE, null).getIndexName());
+    }
+
+    @Test
+    public void testPlanFallsBackToFullScan() {
+        Map<GraphPropertyEnum, Object> props = new EnumMap<>(GraphPropertyEnum.class);
+        props.put(GraphPropertyEnum.DISTRIBUTION_STATUS, "DISTRIBUTED");
+        props.put(GraphPropertyEnum.UUID, Collections.singletonList("uuid"));
+
+        assertTrue(queryPlanner.plan(null, props).isFullScan());
+        queryPlanner.logExecution(queryPlanner.plan(null, props), null, props, System.currentTimeMillis(), 0);
+    }
+}
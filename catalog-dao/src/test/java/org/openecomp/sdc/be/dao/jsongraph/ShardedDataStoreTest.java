@@ -0,0 +1,230 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.JanusGraphVertex;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openecomp.sdc.be.config.Configuration.ShardedInstanceDataConfig;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.dao.jsongraph.utils.JsonParserUtils;
+import org.openecomp.sdc.be.datatypes.elements.MapPropertiesDataDefinition;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ShardedDataStoreTest {
+
+    private static final String SHARD_EDGE = EdgeLabelEnum.DATA_SHARD.name();
+    private static final String JSON_A = "{\"a\":{\"name\":\"a\"}}";
+    private static final String JSON_B = "{\"b\":{\"name\":\"b\"}}";
+    private static final String JSON_B_CHANGED = "{\"b2\":{\"name\":\"b2\"}}";
+    private static final String JSON_C = "{\"c\":{\"name\":\"c\"}}";
+
+    private ShardedInstanceDataConfig config;
+    private ShardedDataStore shardedDataStore;
+    private JanusGraphVertex dataVertex;
+    private List<Edge> dataVertexEdges;
+    private long ids;
+
+    @Before
+    public void setUp() {
+        config = new ShardedInstanceDataConfig();
+        config.setEnabled(true);
+        config.setVertexLabels(Collections.singletonList(VertexTypeEnum.INST_PROPERTIES.name()));
+        shardedDataStore = new ShardedDataStore(() -> config);
+        dataVertexEdges = new ArrayList<>();
+        dataVertex = Mockito.mock(JanusGraphVertex.class);
+        Mockito.when(dataVertex.edges(Direction.OUT, SHARD_EDGE)).thenAnswer(invocation -> new ArrayList<>(dataVertexEdges).iterator());
+        Mockito.doReturn(VertexProperty.empty()).when(dataVertex).property(GraphPropertyEnum.JSON.getProperty());
+    }
+
+    @Test
+    public void testIsShardedLabel() {
+        assertTrue(shardedDataStore.isShardedLabel(VertexTypeEnum.INST_PROPERTIES));
+        assertFalse(shardedDataStore.isShardedLabel(VertexTypeEnum.INST_INPUTS));
+        config.setEnabled(false);
+        assertFalse(shardedDataStore.isShardedLabel(VertexTypeEnum.INST_PROPERTIES));
+        assertFalse(new ShardedDataStore(() -> null).isShardedLabel(VertexTypeEnum.INST_PROPERTIES));
+    }
+
+    @Test
+    public void testReadReassemblesShards() {
+        JanusGraphVertex shardA = linkShard("a", JSON_A, 1);
+        linkShard("b", JSON_B, 1);
+        GraphVertex graphVertex = graphVertex(null);
+
+        Map<String, ?> json = shardedDataStore.read(graphVertex, null);
+        assertEquals(2, json.size());
+        assertTrue(((MapPropertiesDataDefinition) json.get("b")).getMapToscaDataDefinition().containsKey("b"));
+        assertSame(shardA, graphVertex.getDataShards().get("a").getVertex());
+
+        json = shardedDataStore.read(graphVertex, Collections.singleton("a"));
+        assertEquals(Collections.singleton("a"), json.keySet());
+    }
+
+    @Test
+    public void testWriteRewritesOnlyChangedShards() throws Exception {
+        JanusGraphVertex shardA = linkShard("a", JSON_A, 1);
+        JanusGraphVertex shardB = linkShard("b", JSON_B, 1);
+        JanusGraphVertex shardC = linkShard("c", JSON_C, 1);
+        GraphVertex graphVertex = graphVertex(null);
+        shardedDataStore.read(graphVertex, null);
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a", JSON_A);
+        entries.put("b", JSON_B_CHANGED);
+        graphVertex.setJson(JsonParserUtils.toLazyMap(entries, MapPropertiesDataDefinition.class));
+        Edge edgeC = dataVertexEdges.get(2);
+        Mockito.when(shardC.edges(Direction.IN, SHARD_EDGE)).thenAnswer(invocation -> Collections.emptyIterator());
+
+        shardedDataStore.write(dataVertex, graphVertex);
+
+        Mockito.verify(shardA, Mockito.never()).property(Mockito.eq(GraphPropertyEnum.JSON.getProperty()), Mockito.any());
+        Mockito.verify(shardB).property(GraphPropertyEnum.JSON.getProperty(), JSON_B_CHANGED);
+        Mockito.verify(edgeC).remove();
+        Mockito.verify(shardC).remove();
+        Mockito.verify(dataVertex).property(GraphPropertyEnum.SHARDED.getProperty(), true);
+        assertEquals(JSON_B_CHANGED, graphVertex.getDataShards().get("b").getJson());
+        assertEquals(2, graphVertex.getDataShards().size());
+    }
+
+    @Test
+    public void testWriteAfterPartialReadKeepsShardsNotRead() throws Exception {
+        JanusGraphVertex shardA = linkShard("a", JSON_A, 1);
+        JanusGraphVertex shardB = linkShard("b", JSON_B, 1);
+        JanusGraphVertex shardC = linkShard("c", JSON_C, 1);
+        GraphVertex graphVertex = graphVertex(null);
+        shardedDataStore.read(graphVertex, new HashSet<>(Arrays.asList("a", "b")));
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("b", JSON_B_CHANGED);
+        graphVertex.setJson(JsonParserUtils.toLazyMap(entries, MapPropertiesDataDefinition.class));
+        Edge edgeA = dataVertexEdges.get(0);
+        Edge edgeC = dataVertexEdges.get(2);
+        Mockito.when(shardA.edges(Direction.IN, SHARD_EDGE)).thenAnswer(invocation -> Collections.emptyIterator());
+
+        shardedDataStore.write(dataVertex, graphVertex);
+
+        Mockito.verify(edgeA).remove();
+        Mockito.verify(shardA).remove();
+        Mockito.verify(shardB).property(GraphPropertyEnum.JSON.getProperty(), JSON_B_CHANGED);
+        Mockito.verify(edgeC, Mockito.never()).remove();
+        Mockito.verify(shardC, Mockito.never()).remove();
+    }
+
+    @Test
+    public void testWriteOfJsonNotReadReplacesShards() throws Exception {
+        JanusGraphVertex shardA = linkShard("a", JSON_A, 1);
+        JanusGraphVertex shardB = linkShard("b", JSON_B, 1);
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a", JSON_A);
+        GraphVertex graphVertex = graphVertex(JsonParserUtils.toLazyMap(entries, MapPropertiesDataDefinition.class));
+        Edge edgeB = dataVertexEdges.get(1);
+        Mockito.when(shardB.edges(Direction.IN, SHARD_EDGE)).thenAnswer(invocation -> Collections.emptyIterator());
+
+        shardedDataStore.write(dataVertex, graphVertex);
+
+        Mockito.verify(dataVertex, Mockito.never()).addEdge(Mockito.eq(SHARD_EDGE), Mockito.any());
+        Mockito.verify(shardA, Mockito.never()).property(Mockito.eq(GraphPropertyEnum.JSON.getProperty()), Mockito.any());
+        Mockito.verify(edgeB).remove();
+        Mockito.verify(shardB).remove();
+        assertSame(shardA, graphVertex.getDataShards().get("a").getVertex());
+    }
+
+    @Test
+    public void testWriteOfClonedDataSharesUnchangedShards() throws Exception {
+        JanusGraphVertex shardA = shard("a", JSON_A, 2);
+        JanusGraphVertex shardB = shard("b", JSON_B, 2);
+        Map<String, DataShard> clonedShards = new HashMap<>();
+        clonedShards.put("a", new DataShard(shardA, JSON_A));
+        clonedShards.put("b", new DataShard(shardB, JSON_B));
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a", JSON_A);
+        entries.put("b", JSON_B_CHANGED);
+        GraphVertex graphVertex = graphVertex(JsonParserUtils.toLazyMap(entries, MapPropertiesDataDefinition.class));
+        graphVertex.setDataShards(clonedShards);
+        JanusGraphTransaction graph = Mockito.mock(JanusGraphTransaction.class);
+        JanusGraphVertex newShard = Mockito.mock(JanusGraphVertex.class);
+        Mockito.when(dataVertex.graph()).thenReturn(graph);
+        Mockito.when(graph.addVertex()).thenReturn(newShard);
+
+        shardedDataStore.write(dataVertex, graphVertex);
+
+        Mockito.verify(dataVertex).addEdge(SHARD_EDGE, shardA);
+        Mockito.verify(dataVertex).addEdge(SHARD_EDGE, newShard);
+        Mockito.verify(newShard).property(GraphPropertyEnum.SHARD_KEY.getProperty(), "b");
+        Mockito.verify(newShard).property(GraphPropertyEnum.JSON.getProperty(), JSON_B_CHANGED);
+        Mockito.verify(shardB, Mockito.never()).property(Mockito.eq(GraphPropertyEnum.JSON.getProperty()), Mockito.any());
+        assertSame(newShard, graphVertex.getDataShards().get("b").getVertex());
+    }
+
+    private GraphVertex graphVertex(Map<String, MapPropertiesDataDefinition> json) {
+        GraphVertex graphVertex = new GraphVertex(VertexTypeEnum.INST_PROPERTIES);
+        graphVertex.setVertex(dataVertex);
+        graphVertex.setJson(json);
+        return graphVertex;
+    }
+
+    private JanusGraphVertex linkShard(String key, String json, int uses) {
+        JanusGraphVertex shardVertex = shard(key, json, uses);
+        Edge edge = Mockito.mock(Edge.class);
+        Mockito.when(edge.inVertex()).thenReturn(shardVertex);
+        dataVertexEdges.add(edge);
+        return shardVertex;
+    }
+
+    private JanusGraphVertex shard(String key, String json, int uses) {
+        JanusGraphVertex shardVertex = Mockito.mock(JanusGraphVertex.class);
+        Mockito.when(shardVertex.id()).thenReturn(++ids);
+        Mockito.doReturn(property(key)).when(shardVertex).property(GraphPropertyEnum.SHARD_KEY.getProperty());
+        Mockito.doReturn(property(json)).when(shardVertex).property(GraphPropertyEnum.JSON.getProperty());
+        List<Edge> inEdges = new ArrayList<>();
+        for (int i = 0; i < uses; i++) {
+            inEdges.add(Mockito.mock(Edge.class));
+        }
+        Mockito.when(shardVertex.edges(Direction.IN, SHARD_EDGE)).thenAnswer(invocation -> inEdges.iterator());
+        return shardVertex;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VertexProperty<Object> property(Object value) {
+        VertexProperty<Object> property = Mockito.mock(VertexProperty.class);
+        Mockito.doReturn(value).when(property).orElse(Mockito.any());
+        return property;
+    }
+}
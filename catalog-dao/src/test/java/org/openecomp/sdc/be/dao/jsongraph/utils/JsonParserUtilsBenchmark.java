@@ -0,0 +1,113 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph.utils;
+
+import org.openecomp.sdc.be.datatypes.elements.PropertyDataDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the eager json map parsing used by JanusGraphDao so far with the key filtered and the lazy parsing.
+ * Not a unit test, run with the main method or through the jmh runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonParserUtilsBenchmark {
+
+    @Param({"10", "500", "5000"})
+    private int entries;
+
+    private String json;
+    private Set<String> keys;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, PropertyDataDefinition> map = new HashMap<>();
+        for (int i = 0; i < entries; i++) {
+            PropertyDataDefinition property = new PropertyDataDefinition();
+            property.setName("property" + i);
+            property.setType("string");
+            property.setValue("value of property " + i);
+            property.setDescription("description of property " + i);
+            map.put(property.getName(), property);
+        }
+        json = JsonParserUtils.toJson(map);
+        keys = Collections.singleton("property0");
+    }
+
+    @Benchmark
+    public Object eagerParseOneKey() {
+        return JsonParserUtils.toMap(json, PropertyDataDefinition.class).get("property0");
+    }
+
+    @Benchmark
+    public Object filteredParseOneKey() {
+        return JsonParserUtils.toMap(json, PropertyDataDefinition.class, keys).get("property0");
+    }
+
+    @Benchmark
+    public Object lazyParseOneKey() {
+        return JsonParserUtils.toLazyMap(json, PropertyDataDefinition.class).get("property0");
+    }
+
+    @Benchmark
+    public String eagerRoundTrip() throws IOException {
+        Map<String, PropertyDataDefinition> map = JsonParserUtils.toMap(json, PropertyDataDefinition.class);
+        map.get("property0").setValue("changed");
+        return JsonParserUtils.toJson(map);
+    }
+
+    @Benchmark
+    public String lazyRoundTrip() throws IOException {
+        Map<String, PropertyDataDefinition> map = JsonParserUtils.toLazyMap(json, PropertyDataDefinition.class);
+        map.get("property0").setValue("changed");
+        return JsonParserUtils.toJson(map);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonParserUtilsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
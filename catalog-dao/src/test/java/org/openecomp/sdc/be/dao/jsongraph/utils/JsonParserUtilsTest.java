@@ -0,0 +1,152 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.dao.jsongraph.utils;
+
+import org.junit.Test;
+import org.openecomp.sdc.be.datatypes.elements.PropertyDataDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JsonParserUtilsTest {
+
+    private static final String JSON = "{\"prop1\":{\"name\":\"prop1\",\"type\":\"string\",\"value\":\"v1\"},"
+            + "\"prop2\":{\"name\":\"prop2\",\"type\":\"integer\",\"value\":\"2\"}}";
+
+    @Test
+    public void testToMapWithKeys() {
+        Map<String, PropertyDataDefinition> result = JsonParserUtils.toMap(JSON, PropertyDataDefinition.class, Collections.singleton("prop2"));
+        assertEquals(1, result.size());
+        assertEquals("2", result.get("prop2").getValue());
+    }
+
+    @Test
+    public void testToMapWithKeysInvalidJson() {
+        assertNull(JsonParserUtils.toMap("[]", PropertyDataDefinition.class, Collections.singleton("prop2")));
+    }
+
+    @Test
+    public void testToLazyMap() {
+        Map<String, PropertyDataDefinition> result = JsonParserUtils.toLazyMap(JSON, PropertyDataDefinition.class);
+        LazyJsonMap<PropertyDataDefinition> lazyMap = (LazyJsonMap<PropertyDataDefinition>) result;
+        assertEquals(2, result.size());
+        assertTrue(result.containsKey("prop1"));
+        assertFalse(lazyMap.isMaterialized("prop1"));
+        assertEquals("v1", result.get("prop1").getValue());
+        assertTrue(lazyMap.isMaterialized("prop1"));
+        assertFalse(lazyMap.isMaterialized("prop2"));
+    }
+
+    @Test
+    public void testToLazyMapEqualsEagerMap() {
+        Map<String, PropertyDataDefinition> lazy = JsonParserUtils.toLazyMap(JSON, PropertyDataDefinition.class);
+        Map<String, PropertyDataDefinition> eager = JsonParserUtils.toMap(JSON, PropertyDataDefinition.class);
+        assertEquals(eager.keySet(), lazy.keySet());
+        assertEquals(eager.get("prop2").getType(), new HashMap<>(lazy).get("prop2").getType());
+    }
+
+    @Test
+    public void testLazyMapReplacesEntriesWithoutDeserializingThem() {
+        Map<String, PropertyDataDefinition> lazy = JsonParserUtils.toLazyMap(JSON, PropertyDataDefinition.class);
+        PropertyDataDefinition prop1 = new PropertyDataDefinition();
+        assertNull(lazy.put("prop1", prop1));
+        assertSame(prop1, lazy.put("prop1", new PropertyDataDefinition()));
+        assertNull(lazy.remove("prop2"));
+        assertFalse(lazy.containsKey("prop2"));
+    }
+
+    @Test
+    public void testLazyMapKeySetIsACopy() {
+        Map<String, PropertyDataDefinition> lazy = JsonParserUtils.toLazyMap(JSON, PropertyDataDefinition.class);
+        Set<String> keys = lazy.keySet();
+        lazy.remove("prop1");
+        assertEquals(2, keys.size());
+        assertEquals(Collections.singleton("prop2"), lazy.keySet());
+    }
+
+    @Test
+    public void testLazyMapToJson() throws Exception {
+        Map<String, PropertyDataDefinition> lazy = JsonParserUtils.toLazyMap(JSON, PropertyDataDefinition.class);
+        lazy.get("prop1").setValue("v2");
+        Map<String, PropertyDataDefinition> result = JsonParserUtils.toMap(JsonParserUtils.toJson(lazy), PropertyDataDefinition.class);
+        assertEquals("v2", result.get("prop1").getValue());
+        assertEquals("2", result.get("prop2").getValue());
+    }
+
+    @Test
+    public void testToLazyMapFromEntries() throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("prop1", "{\"name\":\"prop1\",\"type\":\"string\",\"value\":\"v1\"}");
+        Map<String, PropertyDataDefinition> result = JsonParserUtils.toLazyMap(entries, PropertyDataDefinition.class);
+        assertFalse(((LazyJsonMap<PropertyDataDefinition>) result).isMaterialized("prop1"));
+        assertEquals(entries.get("prop1"), JsonParserUtils.entryToJson(result, "prop1"));
+        assertEquals("v1", result.get("prop1").getValue());
+    }
+
+    @Test
+    public void testEntryToJson() throws Exception {
+        Map<String, PropertyDataDefinition> lazy = JsonParserUtils.toLazyMap(JSON, PropertyDataDefinition.class);
+        lazy.get("prop1").setValue("v2");
+        assertEquals("v2", JsonParserUtils.toObject(JsonParserUtils.entryToJson(lazy, "prop1"), PropertyDataDefinition.class).getValue());
+        assertEquals("{\"name\":\"prop2\",\"type\":\"integer\",\"value\":\"2\"}", JsonParserUtils.entryToJson(lazy, "prop2"));
+        assertNull(JsonParserUtils.entryToJson(lazy, "prop3"));
+    }
+
+    @Test
+    public void testLazyMapToJsonHandlesNullLikeEagerMap() throws Exception {
+        String json = "{\"prop1\":null,\"prop2\":{\"name\":\"prop2\",\"type\":\"integer\",\"value\":\"2\"}}";
+        Map<String, PropertyDataDefinition> lazy = JsonParserUtils.toLazyMap(json, PropertyDataDefinition.class);
+        Map<String, PropertyDataDefinition> eager = JsonParserUtils.toMap(json, PropertyDataDefinition.class);
+        assertEquals(JsonParserUtils.toMap(JsonParserUtils.toJson(eager)).keySet(),
+                JsonParserUtils.toMap(JsonParserUtils.toJson(lazy)).keySet());
+    }
+
+    @Test
+    public void testLazyMapDeserializesAnEntryOnceAcrossThreads() throws Exception {
+        Map<String, PropertyDataDefinition> lazy = JsonParserUtils.toLazyMap(JSON, PropertyDataDefinition.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<PropertyDataDefinition>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> lazy.get("prop1")));
+            }
+            for (Future<PropertyDataDefinition> read : reads) {
+                assertSame(lazy.get("prop1"), read.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -470,6 +470,24 @@ public class ComponentParametersView {
         this.ignoreDataType = ignoreDataType;
     }
 
+    /**
+     * @return a key which is equal for all the views ignoring the same parts of a component
+     */
+    public String getViewKey() {
+        boolean[] flags = {ignoreUsers, ignoreGroups, ignoreComponentInstances, ignoreComponentInstancesProperties,
+                ignoreProperties, ignoreCapabilities, ignoreRequirements, ignoreCategories, ignoreAllVersions,
+                ignoreAdditionalInformation, ignoreArtifacts, ignoreInterfaces, ignoreInterfaceInstances,
+                ignoreComponentInstancesInterfaces, ignoreDerivedFrom, ignoreAttributesFrom,
+                ignoreComponentInstancesAttributesFrom, ignoreInputs, ignoreComponentInstancesInputs,
+                ignoreCapabiltyProperties, ignoreServicePath, ignorePolicies, ignoreNodeFilterRequirements,
+                ignoreNodeFilter, ignoreDataType};
+        StringBuilder key = new StringBuilder(flags.length);
+        for (boolean flag : flags) {
+            key.append(flag ? '1' : '0');
+        }
+        return key.toString();
+    }
+
     public JsonParseFlagEnum detectParseFlag() {
         JsonParseFlagEnum parseFlag;
         if (isIgnoreComponentInstances()) {
@@ -32,35 +32,58 @@ import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
 import org.openecomp.sdc.be.datatypes.elements.DataTypeDataDefinition;
 import org.openecomp.sdc.be.model.DataTypeDefinition;
 import org.openecomp.sdc.be.model.operations.impl.PropertyOperation;
+import org.openecomp.sdc.be.model.operations.impl.UniqueIdBuilder;
 import org.openecomp.sdc.be.resources.data.DataTypeData;
 import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+/**
+ * Cache of all the data types in the graph.
+ * <p>
+ * The data types are held in an immutable snapshot which is replaced as a whole on every change, so readers never
+ * block. The polling task probes the count and the latest modification time of the data type nodes and, only when
+ * they changed, reloads the data types which were added or modified (and the data types derived from them). Local
+ * imports of data types refresh the changed data types right after they are committed.
+ */
 @Component("application-datatype-cache")
 public class ApplicationDataTypeCache implements ApplicationCache<DataTypeDefinition>, Runnable {
 
     private static final String APPLICATION_DATA_TYPES_CACHE = "ApplicationDataTypesCache";
-	private final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock();
-    private final Lock r = rwl.readLock();
-    private final Lock w = rwl.writeLock();
+    private static final String METRICS_NAME = "ApplicationDataTypeCache";
+    private final Lock w = new ReentrantLock();
+
+    private volatile DataTypesSnapshot snapshot = DataTypesSnapshot.EMPTY;
+    private volatile ImmutablePair<Long, Long> lastModificationStamp;
 
-    private Map<String, DataTypeDefinition> data = new HashMap<>();
+    private final AtomicLong fullReloadCount = new AtomicLong();
+    private final AtomicLong deltaRefreshCount = new AtomicLong();
+    private final AtomicLong reloadedDataTypesCount = new AtomicLong();
+    private volatile long lastRefreshDurationMs;
+    private volatile long maxRefreshDurationMs;
+    private volatile long lastRefreshTime;
 
     private ScheduledExecutorService scheduledPollingService = Executors.newScheduledThreadPool(1,
             new BasicThreadFactory.Builder().namingPattern("ApplicationDataTypeCacheThread-%d").build());
@@ -98,6 +121,7 @@ public class ApplicationDataTypeCache implements ApplicationCache<DataTypeDefini
                         scheduledFuture = scheduledPollingService.scheduleAtFixedRate(this, firstRunDelayInSec,
                                 pollingIntervalInSec, TimeUnit.SECONDS);
                     }
+                    PerformanceMetricsRegistry.getInstance().register(METRICS_NAME, this::getMetrics);
 
                 }
             } else {
@@ -120,6 +144,7 @@ public class ApplicationDataTypeCache implements ApplicationCache<DataTypeDefini
 
             scheduledFuture = null;
         }
+        PerformanceMetricsRegistry.getInstance().unregister(METRICS_NAME);
         shutdownExecutor();
     }
 
@@ -153,44 +178,58 @@ public class ApplicationDataTypeCache implements ApplicationCache<DataTypeDefini
 
     }
 
+    /**
+     * @return the current snapshot of the data types, keyed by name. The returned map is read only.
+     */
     @Override
     public Either<Map<String, DataTypeDefinition>, JanusGraphOperationStatus> getAll() {
 
-        try {
-
-            r.lock();
-            if (data == null || data.isEmpty()) {
-                return getAllDataTypesFromGraph();
-            }
-
-            return Either.left(data);
-
-        } finally {
-            r.unlock();
+        DataTypesSnapshot current = snapshot;
+        if (current.isEmpty()) {
+            return getAllDataTypesFromGraph();
         }
+
+        return Either.left(current.getByName());
     }
 
     @Override
     public Either<DataTypeDefinition, JanusGraphOperationStatus> get(String uniqueId) {
 
+        DataTypeDefinition dataTypeDefinition = snapshot.getByUniqueId().get(uniqueId);
+        if (dataTypeDefinition == null) {
+            return propertyOperation
+                    .getDataTypeByUid(uniqueId);
+        }
+        return Either.left(dataTypeDefinition);
+    }
+
+    /**
+     * Refreshes the given data types in the background. Called after data types were created or updated and the
+     * transaction was committed.
+     *
+     * @param dataTypeNames the names of the created or updated data types
+     */
+    public void refreshDataTypes(Collection<String> dataTypeNames) {
+        if (dataTypeNames == null || dataTypeNames.isEmpty() || scheduledFuture == null) {
+            return;
+        }
+        Set<String> uniqueIds = dataTypeNames.stream().map(UniqueIdBuilder::buildDataTypeUid).collect(Collectors.toSet());
         try {
-            r.lock();
+            scheduledPollingService.execute(() -> refreshInBackground(uniqueIds));
+        } catch (Exception e) {
+            log.debug("Failed to schedule the refresh of data types {}, they will be refreshed by the polling task", dataTypeNames, e);
+        }
+    }
 
-            if (data == null || data.isEmpty()) {
-                return propertyOperation
-                        .getDataTypeByUid(uniqueId);
-            } else {
-                DataTypeDefinition dataTypeDefinition = data.values().stream()
-                        .filter(p -> p.getUniqueId().equals(uniqueId)).findFirst().orElse(null);
-                if (dataTypeDefinition == null) {
-                    return propertyOperation
-                            .getDataTypeByUid(uniqueId);
-                } else {
-                    return Either.left(dataTypeDefinition);
-                }
+    private void refreshInBackground(Set<String> uniqueIds) {
+        try {
+            if (!snapshot.isEmpty()) {
+                applyChanges(uniqueIds, Collections.emptySet());
             }
+        } catch (Exception e) {
+            log.debug("Failed to refresh data types {}", uniqueIds, e);
         } finally {
-            r.unlock();
+            commitGraph();
         }
     }
 
@@ -200,48 +239,28 @@ public class ApplicationDataTypeCache implements ApplicationCache<DataTypeDefini
 
         try {
 
-            Long start = System.currentTimeMillis();
-            log.trace("Start fetching all data types from db");
-            Either<List<DataTypeData>, JanusGraphOperationStatus> allDataTypeNodes = propertyOperation.getAllDataTypeNodes();
-            Long end = System.currentTimeMillis();
-            log.trace("Finish fetching all data types from db. Took {} Milliseconds", (end - start));
-            if (allDataTypeNodes.isRight()) {
-                JanusGraphOperationStatus status = allDataTypeNodes.right().value();
-                if (status != JanusGraphOperationStatus.OK) {
-                    log.debug("ApplicationDataTypesCache - Failed to fetch all data types nodes");
-                    BeEcompErrorManager.getInstance().logInternalConnectionError("FetchDataTypes",
-                            "Failed to fetch data types from graph(cache)", ErrorSeverity.INFO);
-                }
-            } else {
-
-                List<DataTypeData> list = allDataTypeNodes.left().value();
-                if (list != null) {
-
-                    Map<String, ImmutablePair<Long, Long>> dataTypeNameToModificationTime = list.stream()
-                            .collect(Collectors.toMap(p -> p.getDataTypeDataDefinition().getName(),
-                                    p -> new ImmutablePair<>(p.getDataTypeDataDefinition().getCreationTime(),
-                                            p.getDataTypeDataDefinition().getModificationTime())));
-
-                    Map<String, ImmutablePair<Long, Long>> currentDataTypeToModificationTime = new HashMap<>();
-                    try {
-                        r.lock();
-                        if (data != null) {
-                            currentDataTypeToModificationTime = data.values().stream().collect(Collectors.toMap(
-                                    DataTypeDataDefinition::getName,
-                                    p -> new ImmutablePair<>(p.getCreationTime(), p.getModificationTime())));
-
-                        }
-                    } finally {
-                        r.unlock();
-                    }
-
-                    boolean isChanged = compareDataTypes(dataTypeNameToModificationTime,
-                            currentDataTypeToModificationTime);
-                    if (isChanged) {
-                        replaceAllData();
-                    }
+            Either<ImmutablePair<Long, Long>, JanusGraphOperationStatus> modificationStamp = propertyOperation
+                    .getDataTypesModificationStamp();
+            if (modificationStamp.isRight()) {
+                log.debug("ApplicationDataTypesCache - Failed to probe data types nodes. status is {}", modificationStamp.right().value());
+                BeEcompErrorManager.getInstance().logInternalConnectionError("FetchDataTypes",
+                        "Failed to fetch data types from graph(cache)", ErrorSeverity.INFO);
+                return;
+            }
+            ImmutablePair<Long, Long> stamp = modificationStamp.left().value();
+            if (stamp.equals(lastModificationStamp)) {
+                log.trace("Data types were not changed since the last refresh");
+                return;
+            }
 
-                }
+            boolean refreshed;
+            if (snapshot.isEmpty()) {
+                refreshed = replaceAllData();
+            } else {
+                refreshed = refreshChangedData();
+            }
+            if (refreshed) {
+                lastModificationStamp = stamp;
             }
 
         } catch (Exception e) {
@@ -250,79 +269,251 @@ public class ApplicationDataTypeCache implements ApplicationCache<DataTypeDefini
             BeEcompErrorManager.getInstance().logInternalUnexpectedError(APPLICATION_DATA_TYPES_CACHE,
                     "Failed to run refresh data types job", ErrorSeverity.INFO);
         } finally {
-            try {
-                propertyOperation.getJanusGraphGenericDao().commit();
-            } catch (Exception e) {
-                log.trace("Failed to commit ApplicationDataTypeCache", e);
-            }
+            commitGraph();
         }
 
     }
 
-    private boolean compareDataTypes(Map<String, ImmutablePair<Long, Long>> dataTypeNameToModificationTime,
-            Map<String, ImmutablePair<Long, Long>> currentDataTypeToModificationTime) {
-        if (dataTypeNameToModificationTime.size() != currentDataTypeToModificationTime.size()) {
-            return true;
+    private void commitGraph() {
+        try {
+            propertyOperation.getJanusGraphGenericDao().commit();
+        } catch (Exception e) {
+            log.trace("Failed to commit ApplicationDataTypeCache", e);
+        }
+    }
+
+    /**
+     * Reloads only the data types whose nodes were added, modified or removed since they were cached.
+     */
+    private boolean refreshChangedData() {
+
+        Long start = System.currentTimeMillis();
+        log.trace("Start fetching all data types nodes from db");
+        Either<List<DataTypeData>, JanusGraphOperationStatus> allDataTypeNodes = propertyOperation.getAllDataTypeNodes();
+        Long end = System.currentTimeMillis();
+        log.trace("Finish fetching all data types nodes from db. Took {} Milliseconds", (end - start));
+        List<DataTypeData> list;
+        if (allDataTypeNodes.isRight()) {
+            JanusGraphOperationStatus status = allDataTypeNodes.right().value();
+            if (status != JanusGraphOperationStatus.OK) {
+                log.debug("ApplicationDataTypesCache - Failed to fetch all data types nodes");
+                BeEcompErrorManager.getInstance().logInternalConnectionError("FetchDataTypes",
+                        "Failed to fetch data types from graph(cache)", ErrorSeverity.INFO);
+                return false;
+            }
+            list = Collections.emptyList();
         } else {
+            list = allDataTypeNodes.left().value();
+        }
+
+        Set<String> changed = new HashSet<>();
+        Set<String> removed = new HashSet<>(snapshot.getByUniqueId().keySet());
+        findChangedDataTypes(list, snapshot.getByUniqueId(), changed, removed);
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return true;
+        }
+        log.debug("Data types changed in graph {}, removed from graph {}", changed, removed);
+        return applyChanges(changed, removed);
+    }
 
-            Set<String> currentkeySet = currentDataTypeToModificationTime.keySet();
-            Set<String> keySet = dataTypeNameToModificationTime.keySet();
-
-            if (currentkeySet.containsAll(keySet)) {
-
-                for (Entry<String, ImmutablePair<Long, Long>> entry : dataTypeNameToModificationTime.entrySet()) {
-                    String dataTypeName = entry.getKey();
-                    ImmutablePair<Long, Long> creationAndModificationTimes = entry.getValue();
-                    long creationTime = creationAndModificationTimes.getLeft() == null ? 0
-                            : creationAndModificationTimes.getLeft().longValue();
-                    long modificationTime = creationAndModificationTimes.getRight() == null ? 0
-                            : creationAndModificationTimes.getRight().longValue();
-
-                    ImmutablePair<Long, Long> currentEntry = currentDataTypeToModificationTime.get(dataTypeName);
-                    long currentCreationTime = currentEntry.getLeft() == null ? 0 : currentEntry.getLeft().longValue();
-                    long currentModificationTime = currentEntry.getRight() == null ? 0
-                            : currentEntry.getRight().longValue();
-
-                    if (creationTime > currentCreationTime || modificationTime > currentModificationTime) {
-                        log.debug("Datatype {} was updated. Creation Time  {} vs {}. Modification Time {} vs {}",
-                                dataTypeName, currentCreationTime, creationTime, currentModificationTime,
-                                modificationTime);
-                        return true;
+    /**
+     * Compares the data types nodes in the graph to the cached data types.
+     *
+     * @param dataTypeNodes the data types nodes in the graph
+     * @param current       the cached data types keyed by unique id
+     * @param changed       filled with the unique ids of the added or modified data types
+     * @param removed       holds the unique ids of all cached data types, those still in graph are removed from it
+     */
+    private void findChangedDataTypes(List<DataTypeData> dataTypeNodes, Map<String, DataTypeDefinition> current,
+            Set<String> changed, Set<String> removed) {
+        for (DataTypeData dataTypeNode : dataTypeNodes) {
+            DataTypeDataDefinition dataTypeDataDefinition = dataTypeNode.getDataTypeDataDefinition();
+            String uniqueId = dataTypeDataDefinition.getUniqueId();
+            removed.remove(uniqueId);
+            DataTypeDefinition cached = current.get(uniqueId);
+            if (cached == null || toLong(dataTypeDataDefinition.getCreationTime()) > toLong(cached.getCreationTime())
+                    || toLong(dataTypeDataDefinition.getModificationTime()) > toLong(cached.getModificationTime())) {
+                changed.add(uniqueId);
+            }
+        }
+    }
+
+    private static long toLong(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Builds a new snapshot in which the changed data types, and the data types derived from them, are reloaded from
+     * the graph and the removed data types are dropped. Unchanged data types are shared with the previous snapshot.
+     */
+    private boolean applyChanges(Set<String> changed, Set<String> removed) {
+
+        long start = System.currentTimeMillis();
+        w.lock();
+        try {
+            DataTypesSnapshot current = snapshot;
+            Set<String> toReload = new HashSet<>(changed);
+            toReload.removeAll(removed);
+            addDerivedDataTypes(current, changed, removed, toReload);
+
+            Map<String, DataTypeDefinition> byName = new HashMap<>(current.getByName());
+            for (String uniqueId : removed) {
+                removeByUniqueId(current, byName, uniqueId);
+            }
+            List<DataTypeDefinition> reloaded = new ArrayList<>();
+            for (String uniqueId : toReload) {
+                Either<DataTypeDefinition, JanusGraphOperationStatus> dataType = propertyOperation
+                        .getDataTypeByUidWithoutDerivedDataTypes(uniqueId);
+                if (dataType.isRight()) {
+                    if (dataType.right().value() != JanusGraphOperationStatus.NOT_FOUND) {
+                        log.debug("Failed to reload data type {}. status is {}", uniqueId, dataType.right().value());
+                        return false;
                     }
+                    removeByUniqueId(current, byName, uniqueId);
+                } else {
+                    removeByUniqueId(current, byName, uniqueId);
+                    byName.put(dataType.left().value().getName(), dataType.left().value());
+                    reloaded.add(dataType.left().value());
                 }
-            } else {
-                return true;
             }
+            for (DataTypeDefinition dataTypeDefinition : reloaded) {
+                String derivedFromName = dataTypeDefinition.getDerivedFromName();
+                if (derivedFromName != null) {
+                    DataTypeDefinition parent = byName.get(derivedFromName);
+                    if (parent == null) {
+                        log.debug("The parent data type {} of data type {} is not cached", derivedFromName, dataTypeDefinition.getName());
+                    }
+                    dataTypeDefinition.setDerivedFrom(parent);
+                }
+            }
+            snapshot = new DataTypesSnapshot(byName);
+            deltaRefreshCount.incrementAndGet();
+            reloadedDataTypesCount.addAndGet(reloaded.size());
+            BeEcompErrorManager.getInstance().logInternalFlowError("ReplaceDataTypesCache",
+                    "Succeed to refresh " + reloaded.size() + " data types in the data types cache", ErrorSeverity.INFO);
+            return true;
+        } finally {
+            w.unlock();
+            recordRefresh(start);
+        }
+    }
 
+    /**
+     * Adds to the data types to reload all the cached data types which are derived, directly or not, from a changed
+     * or removed data type, since they hold the parent definition.
+     */
+    private void addDerivedDataTypes(DataTypesSnapshot current, Set<String> changed, Set<String> removed, Set<String> toReload) {
+        Map<String, List<DataTypeDefinition>> childrenByParentName = current.getByName().values().stream()
+                .filter(dataType -> dataType.getDerivedFromName() != null)
+                .collect(Collectors.groupingBy(DataTypeDefinition::getDerivedFromName));
+        Deque<String> parentNames = new ArrayDeque<>();
+        for (String uniqueId : changed) {
+            DataTypeDefinition dataType = current.getByUniqueId().get(uniqueId);
+            if (dataType != null) {
+                parentNames.add(dataType.getName());
+            }
+        }
+        for (String uniqueId : removed) {
+            DataTypeDefinition dataType = current.getByUniqueId().get(uniqueId);
+            if (dataType != null) {
+                parentNames.add(dataType.getName());
+            }
+        }
+        Set<String> visited = new HashSet<>(parentNames);
+        while (!parentNames.isEmpty()) {
+            for (DataTypeDefinition child : childrenByParentName.getOrDefault(parentNames.poll(), Collections.emptyList())) {
+                if (visited.add(child.getName())) {
+                    if (!removed.contains(child.getUniqueId())) {
+                        toReload.add(child.getUniqueId());
+                    }
+                    parentNames.add(child.getName());
+                }
+            }
         }
+    }
 
-        return false;
+    private static void removeByUniqueId(DataTypesSnapshot current, Map<String, DataTypeDefinition> byName, String uniqueId) {
+        DataTypeDefinition dataType = current.getByUniqueId().get(uniqueId);
+        if (dataType != null) {
+            byName.remove(dataType.getName());
+        }
     }
 
-    private void replaceAllData() {
+    private boolean replaceAllData() {
 
+        long start = System.currentTimeMillis();
         Either<Map<String, DataTypeDefinition>, JanusGraphOperationStatus> allDataTypes = propertyOperation
                 .getAllDataTypes();
 
         if (allDataTypes.isRight()) {
             JanusGraphOperationStatus status = allDataTypes.right().value();
             log.debug("Failed to fetch all data types from db. Status is {}", status);
-        } else {
+            return false;
+        }
 
-            try {
-                w.lock();
+        w.lock();
+        try {
 
-                data = allDataTypes.left().value();
+            snapshot = new DataTypesSnapshot(allDataTypes.left().value());
+            fullReloadCount.incrementAndGet();
 
-                BeEcompErrorManager.getInstance().logInternalFlowError("ReplaceDataTypesCache",
-                        "Succeed to replace the data types cache", ErrorSeverity.INFO);
+            BeEcompErrorManager.getInstance().logInternalFlowError("ReplaceDataTypesCache",
+                    "Succeed to replace the data types cache", ErrorSeverity.INFO);
 
-            } finally {
-                w.unlock();
-            }
+        } finally {
+            w.unlock();
+            recordRefresh(start);
+        }
+        return true;
+
+    }
 
+    private void recordRefresh(long start) {
+        long end = System.currentTimeMillis();
+        lastRefreshDurationMs = end - start;
+        maxRefreshDurationMs = Math.max(maxRefreshDurationMs, lastRefreshDurationMs);
+        lastRefreshTime = end;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("size", snapshot.getByName().size());
+        metrics.put("fullReloadCount", fullReloadCount.get());
+        metrics.put("deltaRefreshCount", deltaRefreshCount.get());
+        metrics.put("reloadedDataTypesCount", reloadedDataTypesCount.get());
+        metrics.put("lastRefreshDurationMs", lastRefreshDurationMs);
+        metrics.put("maxRefreshDurationMs", maxRefreshDurationMs);
+        metrics.put("lastRefreshTime", lastRefreshTime);
+        return metrics;
+    }
+
+    /**
+     * Immutable view of the cached data types, keyed by name and by unique id.
+     */
+    private static class DataTypesSnapshot {
+        static final DataTypesSnapshot EMPTY = new DataTypesSnapshot(Collections.emptyMap());
+
+        private final Map<String, DataTypeDefinition> byName;
+        private final Map<String, DataTypeDefinition> byUniqueId;
+
+        DataTypesSnapshot(Map<String, DataTypeDefinition> dataTypes) {
+            this.byName = Collections.unmodifiableMap(new HashMap<>(dataTypes));
+            Map<String, DataTypeDefinition> uniqueIds = new HashMap<>();
+            dataTypes.values().forEach(dataType -> uniqueIds.put(dataType.getUniqueId(), dataType));
+            this.byUniqueId = Collections.unmodifiableMap(uniqueIds);
         }
 
+        Map<String, DataTypeDefinition> getByName() {
+            return byName;
+        }
+
+        Map<String, DataTypeDefinition> getByUniqueId() {
+            return byUniqueId;
+        }
+
+        boolean isEmpty() {
+            return byName.isEmpty();
+        }
     }
 
 }
@@ -0,0 +1,447 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+
+
+package org.openecomp.sdc.be.model.cache;
+
+import fj.data.Either;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.openecomp.sdc.be.config.Configuration.ApplicationL1CacheCatalogSnapshotInfo;
+import org.openecomp.sdc.be.config.Configuration.ApplicationL1CacheConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphClient;
+import org.openecomp.sdc.be.datatypes.enums.ResourceTypeEnum;
+import org.openecomp.sdc.be.model.catalog.CatalogChanges;
+import org.openecomp.sdc.be.model.catalog.CatalogComponent;
+import org.openecomp.sdc.be.model.catalog.CatalogSnapshot;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of the catalog and archive screens.
+ * <p>
+ * The snapshot is loaded by a full traversal of the catalog root on first use and then maintained incrementally: the
+ * operations which add a component to the catalog or change it call {@link #markChanged(String)}, and only these
+ * components are read again from the graph on the next request. Every change of a row increments the snapshot version,
+ * so clients can ask for the changes since the version they hold.
+ * <p>
+ * A component is marked only once the transaction marking it is committed, and every mark gets a sequence number, so a
+ * row read for an older mark never replaces a row read for a newer one. Changes made by other nodes are picked up by
+ * the full reload, which runs periodically in the background and never on the request thread once the snapshot was
+ * loaded.
+ */
+@Component("catalog-snapshot-cache")
+public class CatalogSnapshotCache {
+
+    /**
+     * Reads catalog rows from the graph
+     */
+    public interface Loader {
+
+        Either<List<CatalogComponent>, StorageOperationStatus> loadAll(boolean isCatalog);
+
+        /**
+         * @return the row of the component or NOT_FOUND if the component is not in the catalog (or archive)
+         */
+        Either<CatalogComponent, StorageOperationStatus> load(String uniqueId, boolean isCatalog);
+    }
+
+    private static final Logger log = Logger.getLogger(CatalogSnapshotCache.class.getName());
+    private static final String METRICS_NAME = "CatalogSnapshotCache";
+    private static final int DEFAULT_FULL_REFRESH_INTERVAL_IN_SEC = 300;
+    private static final int DEFAULT_MAX_CHANGES = 1000;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong markSequence = new AtomicLong();
+    private final ThreadLocal<Set<String>> pendingMarks = new ThreadLocal<>();
+    private final CatalogIndex catalog = new CatalogIndex(true);
+    private final CatalogIndex archive = new CatalogIndex(false);
+    private JanusGraphClient janusGraphClient;
+    private ScheduledExecutorService refresher;
+    private boolean enabled;
+    private int maxChanges;
+
+    @Autowired(required = false)
+    public void setJanusGraphClient(@Qualifier("janusgraph-client") JanusGraphClient janusGraphClient) {
+        this.janusGraphClient = janusGraphClient;
+    }
+
+    @PostConstruct
+    public void init() {
+        ApplicationL1CacheCatalogSnapshotInfo snapshotInfo = null;
+        ApplicationL1CacheConfig applicationL1CacheConfig = ConfigurationManager.getConfigurationManager()
+                .getConfiguration().getApplicationL1Cache();
+        if (applicationL1CacheConfig != null) {
+            snapshotInfo = applicationL1CacheConfig.getCatalogSnapshot();
+        }
+        if (snapshotInfo == null || !Boolean.TRUE.equals(snapshotInfo.getEnabled())) {
+            log.debug("CatalogSnapshotCache is disabled");
+            return;
+        }
+        int fullRefreshIntervalInSec = snapshotInfo.getFullRefreshIntervalInSec() != null ?
+                snapshotInfo.getFullRefreshIntervalInSec() : DEFAULT_FULL_REFRESH_INTERVAL_IN_SEC;
+        maxChanges = snapshotInfo.getMaxChanges() != null ? snapshotInfo.getMaxChanges() : DEFAULT_MAX_CHANGES;
+        enabled = true;
+        refresher = Executors.newSingleThreadScheduledExecutor(
+                new BasicThreadFactory.Builder().namingPattern("CatalogSnapshotCacheThread-%d").daemon(true).build());
+        refresher.scheduleWithFixedDelay(this::refreshAll, fullRefreshIntervalInSec, fullRefreshIntervalInSec, TimeUnit.SECONDS);
+        PerformanceMetricsRegistry.getInstance().register(METRICS_NAME, this::getMetrics);
+        log.debug("CatalogSnapshotCache is enabled. full refresh interval {} seconds, max changes {}", fullRefreshIntervalInSec, maxChanges);
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        PerformanceMetricsRegistry.getInstance().unregister(METRICS_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks the component to be read again on the next request once the transaction of the calling thread is
+     * committed. Called by every operation adding the component to the catalog or archive, removing it from there or
+     * changing its metadata.
+     */
+    public void markChanged(String uniqueId) {
+        if (!enabled || uniqueId == null) {
+            return;
+        }
+        if (janusGraphClient == null) {
+            markCommitted(Collections.singleton(uniqueId));
+            return;
+        }
+        Set<String> pending = pendingMarks.get();
+        if (pending == null) {
+            pending = new HashSet<>();
+            pendingMarks.set(pending);
+            janusGraphClient.addTransactionListener(this::onTransactionEnd);
+        }
+        pending.add(uniqueId);
+    }
+
+    public Either<CatalogSnapshot, StorageOperationStatus> getSnapshot(boolean isCatalog, List<ResourceTypeEnum> excludeTypes, Loader loader) {
+        return getIndex(isCatalog).getSnapshot(excludeTypes, loader);
+    }
+
+    /**
+     * @param since a version returned by a previous call to {@link #getSnapshot} or {@link #getChangesSince}
+     */
+    public Either<CatalogChanges, StorageOperationStatus> getChangesSince(boolean isCatalog, String since, List<ResourceTypeEnum> excludeTypes, Loader loader) {
+        return getIndex(isCatalog).getChangesSince(since, excludeTypes, loader);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("catalog", catalog.getMetrics());
+        metrics.put("archive", archive.getMetrics());
+        return metrics;
+    }
+
+    /**
+     * Reloads the catalog and archive snapshots which were already loaded, run periodically by the refresher
+     */
+    void refreshAll() {
+        try {
+            catalog.reload();
+            archive.reload();
+        } catch (Exception e) {
+            log.debug("Failed to refresh the catalog snapshot", e);
+        } finally {
+            if (janusGraphClient != null) {
+                // the next reload must not read through the transaction of this one
+                janusGraphClient.rollback();
+            }
+        }
+    }
+
+    private void onTransactionEnd(Transaction.Status status) {
+        Set<String> pending = pendingMarks.get();
+        pendingMarks.remove();
+        if (pending != null && status == Transaction.Status.COMMIT) {
+            markCommitted(pending);
+        }
+    }
+
+    private void markCommitted(Collection<String> uniqueIds) {
+        long sequence = markSequence.incrementAndGet();
+        catalog.markChanged(uniqueIds, sequence);
+        archive.markChanged(uniqueIds, sequence);
+    }
+
+    private CatalogIndex getIndex(boolean isCatalog) {
+        return isCatalog ? catalog : archive;
+    }
+
+    private static boolean isIncluded(CatalogComponent component, List<ResourceTypeEnum> excludeTypes) {
+        if (excludeTypes == null || excludeTypes.isEmpty() || component.getResourceType() == null) {
+            return true;
+        }
+        return !excludeTypes.contains(ResourceTypeEnum.getType(component.getResourceType()));
+    }
+
+    private static final class Change {
+        private final long version;
+        private final String uniqueId;
+        private final CatalogComponent component;
+
+        Change(long version, String uniqueId, CatalogComponent component) {
+            this.version = version;
+            this.uniqueId = uniqueId;
+            this.component = component;
+        }
+    }
+
+    private final class CatalogIndex {
+        private final boolean isCatalog;
+        private final Object fullLoadLock = new Object();
+        // the marks to read again, by the sequence of their latest mark
+        private final ConcurrentMap<String, Long> changed = new ConcurrentHashMap<>();
+        // the sequence of the mark of the rows read since the last full load, guarded by this
+        private final Map<String, Long> readMarks = new HashMap<>();
+        private final Deque<Change> changes = new ArrayDeque<>();
+        private volatile Loader loader;
+        private volatile boolean loaded;
+        private Map<String, CatalogComponent> components;
+        private long version;
+        private long loadTime;
+        private long fullLoads;
+        private long componentLoads;
+
+        CatalogIndex(boolean isCatalog) {
+            this.isCatalog = isCatalog;
+        }
+
+        void markChanged(Collection<String> uniqueIds, long sequence) {
+            uniqueIds.forEach(uniqueId -> changed.put(uniqueId, sequence));
+        }
+
+        Either<CatalogSnapshot, StorageOperationStatus> getSnapshot(List<ResourceTypeEnum> excludeTypes, Loader loader) {
+            StorageOperationStatus status = refresh(loader);
+            if (status != StorageOperationStatus.OK) {
+                return Either.right(status);
+            }
+            synchronized (this) {
+                List<CatalogComponent> result = components.values().stream()
+                        .filter(component -> isIncluded(component, excludeTypes))
+                        .collect(Collectors.toList());
+                return Either.left(new CatalogSnapshot(buildVersion(), result));
+            }
+        }
+
+        Either<CatalogChanges, StorageOperationStatus> getChangesSince(String since, List<ResourceTypeEnum> excludeTypes, Loader loader) {
+            StorageOperationStatus status = refresh(loader);
+            if (status != StorageOperationStatus.OK) {
+                return Either.right(status);
+            }
+            synchronized (this) {
+                Long sinceVersion = parseVersion(since);
+                if (sinceVersion == null || sinceVersion > version || (!changes.isEmpty() && changes.peekFirst().version > sinceVersion + 1)
+                        || (changes.isEmpty() && sinceVersion < version)) {
+                    return Either.left(CatalogChanges.reloadRequired(buildVersion()));
+                }
+                Map<String, CatalogComponent> latest = new LinkedHashMap<>();
+                for (Change change : changes) {
+                    if (change.version > sinceVersion) {
+                        latest.remove(change.uniqueId);
+                        latest.put(change.uniqueId, change.component);
+                    }
+                }
+                List<CatalogComponent> updated = new ArrayList<>();
+                List<String> removed = new ArrayList<>();
+                latest.forEach((uniqueId, component) -> {
+                    if (component == null) {
+                        removed.add(uniqueId);
+                    } else if (isIncluded(component, excludeTypes)) {
+                        updated.add(component);
+                    }
+                });
+                return Either.left(new CatalogChanges(buildVersion(), updated, removed));
+            }
+        }
+
+        /**
+         * Loads the snapshot on first use and reads the marked components again, the graph is read without holding the
+         * lock of the index
+         */
+        private StorageOperationStatus refresh(Loader loader) {
+            this.loader = loader;
+            if (!loaded) {
+                synchronized (fullLoadLock) {
+                    if (!loaded) {
+                        StorageOperationStatus status = loadAll(loader);
+                        if (status != StorageOperationStatus.OK) {
+                            return status;
+                        }
+                    }
+                }
+            }
+            for (Map.Entry<String, Long> entry : changed.entrySet()) {
+                String uniqueId = entry.getKey();
+                Long sequence = entry.getValue();
+                Either<CatalogComponent, StorageOperationStatus> component = loader.load(uniqueId, isCatalog);
+                if (component.isLeft()) {
+                    applyRead(uniqueId, component.left().value(), sequence);
+                } else if (component.right().value() == StorageOperationStatus.NOT_FOUND) {
+                    applyRead(uniqueId, null, sequence);
+                } else {
+                    log.debug("Failed to read catalog component {}. error {}", uniqueId, component.right().value());
+                    continue;
+                }
+                changed.remove(uniqueId, sequence);
+            }
+            return StorageOperationStatus.OK;
+        }
+
+        void reload() {
+            Loader currentLoader = loader;
+            if (!loaded || currentLoader == null) {
+                return;
+            }
+            synchronized (fullLoadLock) {
+                loadAll(currentLoader);
+            }
+        }
+
+        private StorageOperationStatus loadAll(Loader loader) {
+            // every mark up to this sequence was committed before the traversal started
+            long startSequence = markSequence.get();
+            Either<List<CatalogComponent>, StorageOperationStatus> all = loader.loadAll(isCatalog);
+            if (all.isRight()) {
+                log.debug("Failed to load the catalog. error {}", all.right().value());
+                return all.right().value();
+            }
+            Map<String, CatalogComponent> loadedComponents = new LinkedHashMap<>();
+            all.left().value().forEach(component -> loadedComponents.put(component.getUniqueId(), component));
+            synchronized (this) {
+                fullLoads++;
+                if (components == null) {
+                    components = loadedComponents;
+                } else {
+                    new ArrayList<>(components.keySet()).stream()
+                            .filter(uniqueId -> !loadedComponents.containsKey(uniqueId) && !isReadAfter(uniqueId, startSequence))
+                            .forEach(uniqueId -> apply(uniqueId, null));
+                    loadedComponents.forEach((uniqueId, component) -> {
+                        if (!isReadAfter(uniqueId, startSequence)) {
+                            apply(uniqueId, component);
+                        }
+                    });
+                }
+                readMarks.values().removeIf(sequence -> sequence <= startSequence);
+                loadTime = System.currentTimeMillis();
+            }
+            changed.values().removeIf(sequence -> sequence <= startSequence);
+            loaded = true;
+            return StorageOperationStatus.OK;
+        }
+
+        private boolean isReadAfter(String uniqueId, long sequence) {
+            Long readMark = readMarks.get(uniqueId);
+            return readMark != null && readMark > sequence;
+        }
+
+        private synchronized void applyRead(String uniqueId, CatalogComponent component, long sequence) {
+            componentLoads++;
+            Long readMark = readMarks.get(uniqueId);
+            if (readMark != null && readMark > sequence) {
+                // a row read for a later mark was already applied
+                return;
+            }
+            readMarks.put(uniqueId, sequence);
+            apply(uniqueId, component);
+        }
+
+        private void apply(String uniqueId, CatalogComponent component) {
+            CatalogComponent current = components.get(uniqueId);
+            if (Objects.equals(current, component)) {
+                return;
+            }
+            if (component == null) {
+                components.remove(uniqueId);
+            } else {
+                components.put(uniqueId, component);
+            }
+            version++;
+            changes.addLast(new Change(version, uniqueId, component));
+            while (changes.size() > maxChanges) {
+                changes.removeFirst();
+            }
+        }
+
+        private String buildVersion() {
+            return epoch + "-" + version;
+        }
+
+        private Long parseVersion(String since) {
+            String prefix = epoch + "-";
+            if (since == null || !since.startsWith(prefix)) {
+                return null;
+            }
+            try {
+                return Long.valueOf(since.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        synchronized Map<String, Object> getMetrics() {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("size", components != null ? components.size() : 0);
+            metrics.put("version", version);
+            metrics.put("pendingChanges", changed.size());
+            metrics.put("fullLoads", fullLoads);
+            metrics.put("componentLoads", componentLoads);
+            metrics.put("loadTime", loadTime);
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.apache.commons.collections.MapUtils;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.openecomp.sdc.be.config.Configuration.ApplicationL1CacheComponentsInfo;
+import org.openecomp.sdc.be.config.Configuration.ApplicationL1CacheConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphClient;
+import org.openecomp.sdc.be.dao.jsongraph.GraphVertex;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+import org.openecomp.sdc.be.datatypes.enums.JsonPresentationFields;
+import org.openecomp.sdc.be.model.ComponentParametersView;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.TopologyTemplate;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElement;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache of the tosca elements read by {@link org.openecomp.sdc.be.model.jsonjanusgraph.operations.ToscaOperationFacade}.
+ * <p>
+ * An entry is keyed by component unique id and the parts of the component requested by the view. An entry is valid
+ * only as long as the last update date, the state and the archive/distribution flags of the component vertex did not
+ * change, certified components included.
+ * <p>
+ * An entry holds a snapshot of the tosca element, each hit restores a new tosca element out of it, so a caller
+ * modifying the element it got does not modify the cache. The entries read and the evictions made by a graph
+ * transaction are applied to the cache once the transaction is committed, and dropped if it is rolled back. An entry
+ * read by a transaction is dropped as well if an eviction was committed meanwhile by another one.
+ */
+@Component("tosca-element-cache")
+public class ToscaElementCache {
+
+    private static final Logger log = Logger.getLogger(ToscaElementCache.class.getName());
+    private static final String METRICS_NAME = "ToscaElementCache";
+    private static final long DEFAULT_MAX_WEIGHT = 20000;
+    private static final int DEFAULT_EXPIRE_AFTER_WRITE_IN_SEC = 600;
+    private static final int MAX_PENDING_ENTRIES = 100;
+    private static final GraphPropertyEnum[] STAMP_PROPERTIES = {GraphPropertyEnum.STATE,
+            GraphPropertyEnum.IS_HIGHEST_VERSION, GraphPropertyEnum.IS_DELETED, GraphPropertyEnum.IS_ARCHIVED,
+            GraphPropertyEnum.DISTRIBUTION_STATUS};
+
+    private Cache<String, CachedToscaElement> cache;
+    private JanusGraphClient janusGraphClient;
+    private final ThreadLocal<PendingChanges> pendingChanges = new ThreadLocal<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired(required = false)
+    public void setJanusGraphClient(@Qualifier("janusgraph-client") JanusGraphClient janusGraphClient) {
+        this.janusGraphClient = janusGraphClient;
+    }
+
+    @PostConstruct
+    public void init() {
+        ApplicationL1CacheComponentsInfo componentsInfo = null;
+        ApplicationL1CacheConfig applicationL1CacheConfig = ConfigurationManager.getConfigurationManager()
+                .getConfiguration().getApplicationL1Cache();
+        if (applicationL1CacheConfig != null) {
+            componentsInfo = applicationL1CacheConfig.getComponents();
+        }
+        if (componentsInfo == null || !Boolean.TRUE.equals(componentsInfo.getEnabled())) {
+            log.debug("ToscaElementCache is disabled");
+            return;
+        }
+        long maxWeight = componentsInfo.getMaxWeight() != null ? componentsInfo.getMaxWeight() : DEFAULT_MAX_WEIGHT;
+        int expireAfterWriteInSec = componentsInfo.getExpireAfterWriteInSec() != null ?
+                componentsInfo.getExpireAfterWriteInSec() : DEFAULT_EXPIRE_AFTER_WRITE_IN_SEC;
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String key, CachedToscaElement value) -> value.getWeight())
+                .expireAfterWrite(expireAfterWriteInSec, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        PerformanceMetricsRegistry.getInstance().register(METRICS_NAME, this::getMetrics);
+        log.debug("ToscaElementCache is enabled. max weight {}, expire after write {} seconds", maxWeight, expireAfterWriteInSec);
+    }
+
+    @PreDestroy
+    void destroy() {
+        PerformanceMetricsRegistry.getInstance().unregister(METRICS_NAME);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return a copy of the cached tosca element if it is still up to date with the given component vertex, otherwise
+     * null
+     */
+    public ToscaElement get(GraphVertex componentV, ComponentParametersView view) {
+        CachedToscaElement cached = getUpToDate(componentV, view);
+        return cached != null ? restore(componentV, view, cached) : null;
+    }
+
+    /**
+     * Caches a snapshot of the tosca element once the transaction of the calling thread is committed
+     */
+    public void put(GraphVertex componentV, ComponentParametersView view, ToscaElement toscaElement) {
+        if (cache == null) {
+            return;
+        }
+        String stamp = buildStamp(componentV);
+        if (stamp == null) {
+            return;
+        }
+        CachedToscaElement cached;
+        try {
+            cached = new CachedToscaElement(ToscaElementSnapshot.of(toscaElement), toscaElement, stamp);
+        } catch (IOException e) {
+            log.debug("Failed to copy tosca element {} to the cache", componentV.getUniqueId(), e);
+            return;
+        }
+        String key = buildKey(componentV.getUniqueId(), view);
+        PendingChanges pending = getPendingChanges();
+        if (pending != null) {
+            pending.put(key, cached);
+        } else {
+            cache.put(key, cached);
+        }
+    }
+
+    /**
+     * Removes all the cached views of the component, now and once the transaction of the calling thread is committed.
+     * Called on every update of the component.
+     */
+    public void evict(String uniqueId) {
+        if (cache == null || uniqueId == null) {
+            return;
+        }
+        invalidate(uniqueId);
+        PendingChanges pending = getPendingChanges();
+        if (pending != null) {
+            pending.evict(uniqueId);
+        } else {
+            synchronized (evictions) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public void evictAll() {
+        if (cache == null) {
+            return;
+        }
+        cache.invalidateAll();
+        PendingChanges pending = getPendingChanges();
+        if (pending != null) {
+            pending.evictAll();
+        } else {
+            synchronized (evictions) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        if (cache != null) {
+            CacheStats stats = cache.stats();
+            metrics.put("size", cache.size());
+            metrics.put("hitCount", stats.hitCount());
+            metrics.put("missCount", stats.missCount());
+            metrics.put("hitRate", stats.hitRate());
+            metrics.put("evictionCount", stats.evictionCount());
+        }
+        return metrics;
+    }
+
+    private CachedToscaElement getUpToDate(GraphVertex componentV, ComponentParametersView view) {
+        if (cache == null) {
+            return null;
+        }
+        String stamp = buildStamp(componentV);
+        if (stamp == null) {
+            return null;
+        }
+        PendingChanges pending = getPendingChanges();
+        if (pending != null && pending.isEvicted(componentV.getUniqueId())) {
+            // updated by the current transaction, only the graph is up to date
+            return null;
+        }
+        String key = buildKey(componentV.getUniqueId(), view);
+        CachedToscaElement cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (!stamp.equals(cached.getStamp())) {
+            log.trace("Cached tosca element {} is outdated", key);
+            cache.invalidate(key);
+            return null;
+        }
+        return cached;
+    }
+
+    private ToscaElement restore(GraphVertex componentV, ComponentParametersView view, CachedToscaElement cached) {
+        try {
+            return cached.getSnapshot().restore();
+        } catch (IOException e) {
+            log.debug("Failed to restore cached tosca element {}", componentV.getUniqueId(), e);
+            cache.invalidate(buildKey(componentV.getUniqueId(), view));
+            return null;
+        }
+    }
+
+    private void invalidate(String uniqueId) {
+        String prefix = uniqueId + ":";
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * @return the changes pending the end of the transaction of the calling thread, null if the end of the
+     * transactions cannot be listened to. The changes are dropped by the listener when the transaction ends, or when
+     * the request of the thread ends without ending it, see {@link JanusGraphClient#fireTransactionListeners}.
+     */
+    private PendingChanges getPendingChanges() {
+        if (janusGraphClient == null) {
+            return null;
+        }
+        PendingChanges pending = pendingChanges.get();
+        if (pending == null) {
+            pending = new PendingChanges(evictions.get());
+            pendingChanges.set(pending);
+            janusGraphClient.addTransactionListener(this::onTransactionEnd);
+        }
+        return pending;
+    }
+
+    private void onTransactionEnd(Transaction.Status status) {
+        PendingChanges pending = pendingChanges.get();
+        pendingChanges.remove();
+        if (pending == null || status != Transaction.Status.COMMIT) {
+            return;
+        }
+        synchronized (evictions) {
+            // the entries read by the transaction may be outdated by an eviction committed since it started
+            boolean upToDate = evictions.get() == pending.getStartEvictions();
+            if (pending.isEvictedAll()) {
+                evictions.incrementAndGet();
+                cache.invalidateAll();
+            } else if (!pending.getEvicted().isEmpty()) {
+                evictions.incrementAndGet();
+                pending.getEvicted().forEach(this::invalidate);
+            }
+            if (upToDate) {
+                cache.putAll(pending.getEntries());
+            } else if (!pending.getEntries().isEmpty()) {
+                log.trace("Dropped {} tosca elements read by a transaction outdated by an eviction", pending.getEntries().size());
+            }
+        }
+    }
+
+    private static String buildKey(String uniqueId, ComponentParametersView view) {
+        return uniqueId + ":" + view.getViewKey();
+    }
+
+    private static String buildStamp(GraphVertex componentV) {
+        Object lastUpdateDate = componentV.getJsonMetadataField(JsonPresentationFields.LAST_UPDATE_DATE);
+        if (componentV.getUniqueId() == null || lastUpdateDate == null || MapUtils.isEmpty(componentV.getMetadataProperties())) {
+            return null;
+        }
+        StringBuilder stamp = new StringBuilder().append(lastUpdateDate);
+        for (GraphPropertyEnum property : STAMP_PROPERTIES) {
+            stamp.append('|').append(componentV.getMetadataProperty(property));
+        }
+        return stamp.toString();
+    }
+
+    private static class CachedToscaElement {
+        private final ToscaElementSnapshot snapshot;
+        private final String stamp;
+        private final int weight;
+
+        CachedToscaElement(ToscaElementSnapshot snapshot, ToscaElement toscaElement, String stamp) {
+            this.snapshot = snapshot;
+            this.stamp = stamp;
+            int instances = 0;
+            if (toscaElement instanceof TopologyTemplate && ((TopologyTemplate) toscaElement).getComponentInstances() != null) {
+                instances = ((TopologyTemplate) toscaElement).getComponentInstances().size();
+            }
+            this.weight = 1 + instances;
+        }
+
+        ToscaElementSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        String getStamp() {
+            return stamp;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+    }
+
+    /**
+     * The entries read and the evictions made by the transaction of a thread
+     */
+    private static class PendingChanges {
+        private final long startEvictions;
+        private final Map<String, CachedToscaElement> entries = new LinkedHashMap<>();
+        private final Set<String> evicted = new HashSet<>();
+        private boolean evictedAll;
+
+        PendingChanges(long startEvictions) {
+            this.startEvictions = startEvictions;
+        }
+
+        void put(String key, CachedToscaElement cached) {
+            if (entries.size() < MAX_PENDING_ENTRIES || entries.containsKey(key)) {
+                entries.put(key, cached);
+            }
+        }
+
+        void evict(String uniqueId) {
+            evicted.add(uniqueId);
+            String prefix = uniqueId + ":";
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        void evictAll() {
+            evictedAll = true;
+            entries.clear();
+        }
+
+        boolean isEvicted(String uniqueId) {
+            return evictedAll || evicted.contains(uniqueId);
+        }
+
+        long getStartEvictions() {
+            return startEvictions;
+        }
+
+        Map<String, CachedToscaElement> getEntries() {
+            return entries;
+        }
+
+        Set<String> getEvicted() {
+            return evicted;
+        }
+
+        boolean isEvictedAll() {
+            return evictedAll;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.sdc.be.model.cache;
+
+import org.openecomp.sdc.be.dao.jsongraph.utils.JsonParserUtils;
+import org.openecomp.sdc.be.datatypes.tosca.ToscaDataDefinition;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElement;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable copy of a tosca element, holding the json of each of its fields as written to the graph. Each
+ * {@link #restore()} builds a new tosca element sharing nothing with the former ones. The maps of tosca data are
+ * restored as lazy maps, so only the entries read by the caller are deserialized.
+ */
+class ToscaElementSnapshot {
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private final Class<? extends ToscaElement> type;
+    private final List<FieldValue> values;
+
+    private ToscaElementSnapshot(Class<? extends ToscaElement> type, List<FieldValue> values) {
+        this.type = type;
+        this.values = values;
+    }
+
+    static ToscaElementSnapshot of(ToscaElement toscaElement) throws IOException {
+        List<FieldValue> values = new ArrayList<>();
+        try {
+            for (Field field : FIELDS.computeIfAbsent(toscaElement.getClass(), ToscaElementSnapshot::getFields)) {
+                Object value = field.get(toscaElement);
+                values.add(new FieldValue(field, value == null ? null : JsonParserUtils.toJson(value)));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IOException("Failed to copy " + toscaElement.getClass().getSimpleName(), e);
+        }
+        return new ToscaElementSnapshot(toscaElement.getClass(), Collections.unmodifiableList(values));
+    }
+
+    ToscaElement restore() throws IOException {
+        try {
+            ToscaElement toscaElement = type.newInstance();
+            for (FieldValue value : values) {
+                value.field.set(toscaElement, value.json == null ? null : read(value.field, value.json));
+            }
+            return toscaElement;
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IOException("Failed to restore " + type.getSimpleName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object read(Field field, String json) throws IOException {
+        Class<?> valueClass = getMapValueClass(field.getGenericType());
+        if (valueClass != null && ToscaDataDefinition.class.isAssignableFrom(valueClass)) {
+            Map<String, ?> map = JsonParserUtils.toLazyMap(json, (Class<? extends ToscaDataDefinition>) valueClass);
+            if (map == null) {
+                throw new IOException("Failed to restore field " + field.getName());
+            }
+            return map;
+        }
+        return JsonParserUtils.readValue(json, field.getGenericType());
+    }
+
+    /**
+     * @return the class of the values of a map type, null if not a map of a concrete class
+     */
+    private static Class<?> getMapValueClass(Type type) {
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Map.class) {
+            Type valueType = ((ParameterizedType) type).getActualTypeArguments()[1];
+            if (valueType instanceof Class && !Modifier.isAbstract(((Class<?>) valueType).getModifiers())) {
+                return (Class<?>) valueType;
+            }
+        }
+        return null;
+    }
+
+    private static List<Field> getFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static class FieldValue {
+        private final Field field;
+        private final String json;
+
+        FieldValue(Field field, String json) {
+            this.field = field;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.catalog;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The catalog components added, updated or removed since a given version of the catalog snapshot.
+ * When the given version is no longer known the whole catalog has to be reloaded.
+ */
+public class CatalogChanges {
+
+    private final String version;
+    private final boolean reloadRequired;
+    private final List<CatalogComponent> updated;
+    private final List<String> removed;
+
+    public CatalogChanges(String version, List<CatalogComponent> updated, List<String> removed) {
+        this(version, false, updated, removed);
+    }
+
+    private CatalogChanges(String version, boolean reloadRequired, List<CatalogComponent> updated, List<String> removed) {
+        this.version = version;
+        this.reloadRequired = reloadRequired;
+        this.updated = updated;
+        this.removed = removed;
+    }
+
+    public static CatalogChanges reloadRequired(String version) {
+        return new CatalogChanges(version, true, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public boolean isReloadRequired() {
+        return reloadRequired;
+    }
+
+    public List<CatalogComponent> getUpdated() {
+        return updated;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+}
@@ -26,6 +26,7 @@ import org.openecomp.sdc.be.datatypes.enums.ComponentTypeEnum;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import static java.util.Objects.requireNonNull;
 
@@ -140,4 +141,27 @@ public class CatalogComponent {
         requireNonNull(tags);
         this.tags = new ArrayList<>(tags);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CatalogComponent that = (CatalogComponent) o;
+        return lastUpdateDate == that.lastUpdateDate && Objects.equals(version, that.version)
+                && componentType == that.componentType && Objects.equals(icon, that.icon)
+                && Objects.equals(uniqueId, that.uniqueId) && Objects.equals(lifecycleState, that.lifecycleState)
+                && Objects.equals(name, that.name) && Objects.equals(resourceType, that.resourceType)
+                && Objects.equals(categoryNormalizedName, that.categoryNormalizedName)
+                && Objects.equals(subCategoryNormalizedName, that.subCategoryNormalizedName)
+                && Objects.equals(distributionStatus, that.distributionStatus) && Objects.equals(tags, that.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(uniqueId, version, lastUpdateDate);
+    }
 }
@@ -69,6 +69,7 @@ public class ArchiveOperation extends BaseOperation {
     public Either<List<String>, ActionStatus> archiveComponent(String componentId) {
         final Either<GraphVertex, JanusGraphOperationStatus> vertexResult = this.janusGraphDao.getVertexById(componentId);
         if (vertexResult.isLeft()){
+            evictAllFromToscaElementCache();
             return doAction(ARCHIVE, vertexResult.left().value());
         } else {
             return Either.right(onError(ARCHIVE.name(), componentId, vertexResult.right().value()));
@@ -78,6 +79,7 @@ public class ArchiveOperation extends BaseOperation {
     public Either<List<String>, ActionStatus> restoreComponent(String componentId) {
         final Either<GraphVertex, JanusGraphOperationStatus> vertexResult = this.janusGraphDao.getVertexById(componentId);
         if (vertexResult.isLeft()){
+            evictAllFromToscaElementCache();
             return doAction(RESTORE, vertexResult.left().value());
         } else {
             return Either.right(onError(RESTORE.name(), componentId, vertexResult.right().value()));
@@ -93,6 +95,7 @@ public class ArchiveOperation extends BaseOperation {
     }
 
     private ActionStatus onVspStateChanged(Action action, String csarId) {
+        evictAllFromToscaElementCache();
         Map<GraphPropertyEnum, Object> props = new HashMap<>();
         props.put(GraphPropertyEnum.CSAR_UUID, csarId);
         Either<List<GraphVertex>, JanusGraphOperationStatus> vfsE = janusGraphDao
@@ -277,12 +280,14 @@ public class ArchiveOperation extends BaseOperation {
     }
 
     private void archiveEdges(GraphVertex catalogRoot, GraphVertex archiveRoot, GraphVertex v) {
+        markCatalogChanged(v.getUniqueId());
         janusGraphDao.deleteAllEdges(catalogRoot, v, EdgeLabelEnum.CATALOG_ELEMENT);
         janusGraphDao.createEdge(archiveRoot, v, EdgeLabelEnum.ARCHIVE_ELEMENT, null);
         setPropertiesByAction(v, ARCHIVE);
     }
 
     private void restoreEdges(GraphVertex catalogRoot, GraphVertex archiveRoot, GraphVertex v) {
+        markCatalogChanged(v.getUniqueId());
         janusGraphDao.deleteAllEdges(archiveRoot, v, EdgeLabelEnum.ARCHIVE_ELEMENT);
         janusGraphDao.createEdge(catalogRoot, v, EdgeLabelEnum.CATALOG_ELEMENT, null);
         setPropertiesByAction(v, RESTORE);
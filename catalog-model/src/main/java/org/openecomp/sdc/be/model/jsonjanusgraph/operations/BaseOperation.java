@@ -51,7 +51,10 @@ import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
 import org.openecomp.sdc.be.datatypes.enums.JsonPresentationFields;
 import org.openecomp.sdc.be.datatypes.tosca.ToscaDataDefinition;
 import org.openecomp.sdc.be.model.User;
+import org.openecomp.sdc.be.model.cache.CatalogSnapshotCache;
+import org.openecomp.sdc.be.model.cache.ToscaElementCache;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElementTypeEnum;
+import org.openecomp.sdc.be.model.jsonjanusgraph.utils.ComponentProjection;
 import org.openecomp.sdc.be.model.operations.StorageException;
 import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
 import org.openecomp.sdc.be.model.operations.impl.DaoStatusConverter;
@@ -95,9 +98,33 @@ public abstract class BaseOperation {
 //    @Autowired
     protected HealingPipelineDao healingPipelineDao;
 
+    @Autowired(required = false)
+    protected ToscaElementCache toscaElementCache;
+
+    @Autowired(required = false)
+    protected CatalogSnapshotCache catalogSnapshotCache;
+
     public void setJanusGraphDao(JanusGraphDao janusGraphDao) {
         this.janusGraphDao = janusGraphDao;
     }
+
+    protected void evictFromToscaElementCache(String toscaElementId) {
+        if (toscaElementCache != null) {
+            toscaElementCache.evict(toscaElementId);
+        }
+    }
+
+    protected void evictAllFromToscaElementCache() {
+        if (toscaElementCache != null) {
+            toscaElementCache.evictAll();
+        }
+    }
+
+    protected void markCatalogChanged(String toscaElementId) {
+        if (catalogSnapshotCache != null) {
+            catalogSnapshotCache.markChanged(toscaElementId);
+        }
+    }
     /**
      * Returns reference to appropriate toscaTemplateOperation
      *
@@ -219,6 +246,10 @@ public abstract class BaseOperation {
     }
 
     protected <T extends ToscaDataDefinition> Either<GraphVertex, JanusGraphOperationStatus> getDataVertex(GraphVertex componentV, EdgeLabelEnum edgelabel) {
+        if (componentV.isChildPrefetched(edgelabel)) {
+            GraphVertex prefetchedV = componentV.getPrefetchedChild(edgelabel);
+            return prefetchedV != null ? Either.left(prefetchedV) : Either.right(JanusGraphOperationStatus.NOT_FOUND);
+        }
         Either<GraphVertex, JanusGraphOperationStatus> childVertex = janusGraphDao
             .getChildVertex(componentV, edgelabel, JsonParseFlagEnum.ParseJson);
         if (childVertex.isRight()) {
@@ -231,6 +262,23 @@ public abstract class BaseOperation {
         return Either.left(propV);
     }
 
+    /**
+     * Fetches the data vertices of the projection in a single traversal and keeps them on the component vertex until
+     * {@link GraphVertex#clearPrefetchedChildren()} is called. If the batched fetch fails the data is read label by label.
+     *
+     * @param componentV
+     * @param projection
+     */
+    protected void prefetchDataVertices(GraphVertex componentV, ComponentProjection projection) {
+        Either<Map<EdgeLabelEnum, GraphVertex>, JanusGraphOperationStatus> children = janusGraphDao
+            .getChildrenVerticesByLabels(componentV, projection.getEdgeLabels(), JsonParseFlagEnum.ParseJson);
+        if (children.isRight()) {
+            log.debug("failed to prefetch {} for tosca element with id {}, error {}", projection.getEdgeLabels(), componentV.getUniqueId(), children.right().value());
+            return;
+        }
+        componentV.setPrefetchedChildren(projection.getEdgeLabels(), children.left().value());
+    }
+
     /**
      * Returns tosca data belonging to tosca element specified by uid according received label
      *
@@ -297,6 +345,7 @@ public abstract class BaseOperation {
     }
 
     protected Either<GraphVertex, JanusGraphOperationStatus> updateOrCopyOnUpdate(GraphVertex dataVertex, GraphVertex toscaElementVertex, EdgeLabelEnum label) {
+        evictFromToscaElementCache(toscaElementVertex.getUniqueId());
 //        healingPipelineDao.setHealingVersion(dataVertex);
         Iterator<Edge> edges = dataVertex.getVertex().edges(Direction.IN, label.name());
         int edgeCount = 0;
@@ -355,6 +404,7 @@ public abstract class BaseOperation {
     }
 
     public Either<GraphVertex, StorageOperationStatus> associateElementToData(GraphVertex element, VertexTypeEnum vertexLabel, EdgeLabelEnum edgeLabel, Map<String, ? extends ToscaDataDefinition> data) {
+        evictFromToscaElementCache(element.getUniqueId());
         GraphVertex dataV = new GraphVertex(vertexLabel);
         String id = IdBuilderUtils.generateChildId(element.getUniqueId(), vertexLabel);
         dataV.setUniqueId(id);
@@ -1044,7 +1094,7 @@ public abstract class BaseOperation {
     }
 
     @SuppressWarnings("unchecked")
-    private <T extends ToscaDataDefinition> StorageOperationStatus addDeepElementsBlock(GraphVertex toscaDataVertex, T toscaDataBlock, String key) {
+    protected <T extends ToscaDataDefinition> StorageOperationStatus addDeepElementsBlock(GraphVertex toscaDataVertex, T toscaDataBlock, String key) {
 
         StorageOperationStatus result = null;
         Map<String, T> currMap = (Map<String, T>) toscaDataVertex.getJson();
@@ -1107,6 +1157,7 @@ public abstract class BaseOperation {
      * @return
      */
     public StorageOperationStatus removeToscaDataVertex(GraphVertex toscaElement, EdgeLabelEnum edgeLabel, VertexTypeEnum vertexLabel) {
+        evictFromToscaElementCache(toscaElement.getUniqueId());
         StorageOperationStatus result = null;
         GraphVertex toscaDataVertex = null;
         Iterator<Edge> edges = null;
@@ -1148,7 +1199,7 @@ public abstract class BaseOperation {
             if (edgeCounter > 1 && edgeToDelete!=null) {
                 edgeToDelete.remove();
             } else {
-                toscaDataVertex.getVertex().remove();
+                janusGraphDao.deleteDataVertex(toscaDataVertex.getVertex());
             }
         }
         if (result == null) {
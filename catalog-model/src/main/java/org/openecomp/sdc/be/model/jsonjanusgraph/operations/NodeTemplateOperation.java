@@ -2039,9 +2039,7 @@ public class NodeTemplateOperation extends BaseOperation {
             }
         }
         if (result == null && updateElement != null) {
-            GraphVertex vertexC = updateElement.left().value();
-            instancesJsonData.entrySet().forEach(i ->createInstanceEdge(vertexC, i.getValue()));
-            result = StorageOperationStatus.OK;
+            result = createInstanceEdges(updateElement.left().value(), instancesJsonData.values());
         }
         return result;
     }
@@ -2250,6 +2248,36 @@ public class NodeTemplateOperation extends BaseOperation {
         return result;
     }
 
+    /**
+     * Creates the instance edges of all the given instances, updating each edge between the container and an origin
+     * once with all the instances of that origin
+     */
+    public StorageOperationStatus createInstanceEdges(GraphVertex metadataVertex, Collection<ComponentInstanceDataDefinition> componentInstances) {
+        Map<String, List<String>> instancesByOrigin = componentInstances.stream()
+                .collect(Collectors.groupingBy(ComponentInstanceDataDefinition::getComponentUid, LinkedHashMap::new,
+                        Collectors.mapping(ComponentInstanceDataDefinition::getUniqueId, Collectors.toList())));
+        Map<String, List<String>> proxiesBySource = componentInstances.stream()
+                .filter(ComponentInstanceDataDefinition::getIsProxy)
+                .collect(Collectors.groupingBy(ComponentInstanceDataDefinition::getSourceModelUid, LinkedHashMap::new,
+                        Collectors.mapping(ComponentInstanceDataDefinition::getUniqueId, Collectors.toList())));
+
+        StorageOperationStatus result = createOrUpdateInstanceEdges(metadataVertex, EdgeLabelEnum.INSTANCE_OF, instancesByOrigin);
+        if (result == StorageOperationStatus.OK) {
+            result = createOrUpdateInstanceEdges(metadataVertex, EdgeLabelEnum.PROXY_OF, proxiesBySource);
+        }
+        return result;
+    }
+
+    private StorageOperationStatus createOrUpdateInstanceEdges(GraphVertex metadataVertex, EdgeLabelEnum edgeLabel, Map<String, List<String>> instancesByComponent) {
+        for (Entry<String, List<String>> entry : instancesByComponent.entrySet()) {
+            Either<GraphVertex, JanusGraphOperationStatus> edgeResult = createOrUpdateInstanceEdge(metadataVertex, edgeLabel, entry.getKey(), entry.getValue());
+            if (edgeResult.isRight()) {
+                return DaoStatusConverter.convertJanusGraphStatusToStorageStatus(edgeResult.right().value());
+            }
+        }
+        return StorageOperationStatus.OK;
+    }
+
     public StorageOperationStatus createAllottedOfEdge(String componentId, String instanceId, String serviceUUID) {
         Either<GraphVertex, JanusGraphOperationStatus> vertexById = janusGraphDao.getVertexById(componentId);
         if ( vertexById.isRight() ){
@@ -2303,14 +2331,18 @@ public class NodeTemplateOperation extends BaseOperation {
     }
 
     private Either<GraphVertex, JanusGraphOperationStatus> createOrUpdateInstanceEdge(GraphVertex metadataVertex, EdgeLabelEnum edgeLabel, String componentUid, String instUniqueId) {
+        return createOrUpdateInstanceEdge(metadataVertex, edgeLabel, componentUid, Collections.singletonList(instUniqueId));
+    }
+
+    private Either<GraphVertex, JanusGraphOperationStatus> createOrUpdateInstanceEdge(GraphVertex metadataVertex, EdgeLabelEnum edgeLabel, String componentUid, List<String> instUniqueIds) {
         Map<GraphPropertyEnum, Object> properties = new EnumMap<>(GraphPropertyEnum.class);
         properties.put(GraphPropertyEnum.UNIQUE_ID, componentUid);
 
         return janusGraphDao.getEdgeByChildrenVertexProperties(metadataVertex, edgeLabel, properties)
                 .left()
-                .bind(v -> addInstanceToPropertyOnEdge(instUniqueId, v, metadataVertex))
+                .bind(v -> addInstancesToPropertyOnEdge(instUniqueIds, v, metadataVertex))
                 .right()
-                .bind(s -> createInstanceEdge(metadataVertex, edgeLabel, componentUid, instUniqueId, s));
+                .bind(s -> createInstanceEdge(metadataVertex, edgeLabel, componentUid, instUniqueIds, s));
     }
 
     private Either<GraphVertex, JanusGraphOperationStatus> removeOrUpdateInstanceEdge(GraphVertex metadataVertex, EdgeLabelEnum edgeLabel, String componentUid, String instUniqueId) {
@@ -2321,15 +2353,16 @@ public class NodeTemplateOperation extends BaseOperation {
                 .map(err -> removeInstanceEdgeLogError(metadataVertex, edgeLabel, componentUid, err));
     }
 
-    private Either<GraphVertex, JanusGraphOperationStatus> addInstanceToPropertyOnEdge(String instUniqueId, Edge edge, GraphVertex metadataVertex) {
-        // edge exist need to add instance id to list on edge's property
+    private Either<GraphVertex, JanusGraphOperationStatus> addInstancesToPropertyOnEdge(List<String> instUniqueIds, Edge edge, GraphVertex metadataVertex) {
+        // edge exist need to add instance ids to list on edge's property
         List<String> property = (List<String>) janusGraphDao.getProperty(edge, EdgePropertyEnum.INSTANCES);
         if (property == null) {
             property = new ArrayList<>();
         }
-        Optional<String> findFirst = property.stream().filter(a -> a.equals(instUniqueId)).findFirst();
-        if (!findFirst.isPresent()) {
-            property.add(instUniqueId);
+        for (String instUniqueId : instUniqueIds) {
+            if (!property.contains(instUniqueId)) {
+                property.add(instUniqueId);
+            }
         }
         try {
             String jsonArr = JsonParserUtils.toJson(property);
@@ -2368,7 +2401,7 @@ public class NodeTemplateOperation extends BaseOperation {
         return Either.left(metadataVertex);
     }
 
-    private Either<GraphVertex, JanusGraphOperationStatus> createInstanceEdge(GraphVertex metadataVertex, EdgeLabelEnum edgeLabel, String componentUid, String instUniqueId, JanusGraphOperationStatus retrieveEdgeStatus) {
+    private Either<GraphVertex, JanusGraphOperationStatus> createInstanceEdge(GraphVertex metadataVertex, EdgeLabelEnum edgeLabel, String componentUid, List<String> instUniqueIds, JanusGraphOperationStatus retrieveEdgeStatus) {
         if (retrieveEdgeStatus == JanusGraphOperationStatus.NOT_FOUND) {
             // create new edge
             Either<GraphVertex, JanusGraphOperationStatus> vertexById = janusGraphDao.getVertexById(componentUid);
@@ -2377,9 +2410,7 @@ public class NodeTemplateOperation extends BaseOperation {
             }
             GraphVertex originVertex = vertexById.left().value();
             Map<EdgePropertyEnum, Object> edgeProps = new EnumMap<>(EdgePropertyEnum.class);
-            List<String> instList = new ArrayList<>();
-            instList.add(instUniqueId);
-            edgeProps.put(EdgePropertyEnum.INSTANCES, instList);
+            edgeProps.put(EdgePropertyEnum.INSTANCES, new ArrayList<>(instUniqueIds));
 
             log.debug("Create new edge {} between {} and {} and properties {} ", edgeLabel, metadataVertex.getUniqueId(), originVertex.getUniqueId(), edgeProps);
             JanusGraphOperationStatus
@@ -38,6 +38,8 @@ import org.openecomp.sdc.be.model.LifecycleStateEnum;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.NodeType;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElement;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElementTypeEnum;
+import org.openecomp.sdc.be.model.jsonjanusgraph.utils.ComponentProjection;
+import org.openecomp.sdc.be.model.jsonjanusgraph.utils.ComponentProjectionPlanner;
 import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
 import org.openecomp.sdc.be.model.operations.impl.DaoStatusConverter;
 import org.openecomp.sdc.be.model.operations.impl.UniqueIdBuilder;
@@ -195,6 +197,18 @@ public class NodeTypeOperation extends ToscaElementOperation {
     // -------------------------------------------------------------
     @Override
     public Either<ToscaElement, StorageOperationStatus> getToscaElement(GraphVertex componentV, ComponentParametersView componentParametersView) {
+        ComponentProjection projection = ComponentProjectionPlanner.plan(ToscaElementTypeEnum.NODE_TYPE, componentParametersView);
+        long start = System.nanoTime();
+        prefetchDataVertices(componentV, projection);
+        try {
+            return loadToscaElement(componentV, componentParametersView);
+        } finally {
+            componentV.clearPrefetchedChildren();
+            projection.recordLoadTime(System.nanoTime() - start);
+        }
+    }
+
+    private Either<ToscaElement, StorageOperationStatus> loadToscaElement(GraphVertex componentV, ComponentParametersView componentParametersView) {
         NodeType toscaElement;
         toscaElement = convertToComponent(componentV);
         JanusGraphOperationStatus status = null;
@@ -68,6 +68,8 @@ import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.TopologyTemplate;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElement;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElementTypeEnum;
 import org.openecomp.sdc.be.model.jsonjanusgraph.utils.CapabilityRequirementNameResolver;
+import org.openecomp.sdc.be.model.jsonjanusgraph.utils.ComponentProjection;
+import org.openecomp.sdc.be.model.jsonjanusgraph.utils.ComponentProjectionPlanner;
 import org.openecomp.sdc.be.model.jsonjanusgraph.utils.ModelConverter;
 import org.openecomp.sdc.be.model.operations.StorageException;
 import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
@@ -89,6 +91,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -506,7 +509,7 @@ public class TopologyTemplateOperation extends ToscaElementOperation {
 
     private <T extends MapDataDefinition> Either<GraphVertex, StorageOperationStatus> associateOrAddElementToData(GraphVertex nodeTypeVertex, VertexTypeEnum vertexTypeEnum, EdgeLabelEnum edgeLabelEnum, Map<String, T> dataMap) {
         return janusGraphDao.getChildVertex(nodeTypeVertex, edgeLabelEnum, JsonParseFlagEnum.ParseJson)
-                .either(dataVertex -> addElementsToComponent(nodeTypeVertex, dataVertex, vertexTypeEnum, edgeLabelEnum, dataMap),
+                .either(dataVertex -> addElementsToComponent(nodeTypeVertex, dataVertex, edgeLabelEnum, dataMap),
                         status -> associateElementToDataIfNotFound(status, nodeTypeVertex, vertexTypeEnum, edgeLabelEnum, dataMap));
     }
 
@@ -517,16 +520,53 @@ public class TopologyTemplateOperation extends ToscaElementOperation {
         return Either.right(DaoStatusConverter.convertJanusGraphStatusToStorageStatus(status));
     }
 
-    private <T extends MapDataDefinition> Either<GraphVertex, StorageOperationStatus> addElementsToComponent(GraphVertex nodeTypeVertex, GraphVertex dataVertex, VertexTypeEnum vertexTypeEnum, EdgeLabelEnum edgeLabelEnum, Map<String, T> dataMap) {
+    /**
+     * Adds the blocks of all the instances in dataMap to the existing data vertex and writes it once, rather than
+     * reading and writing the vertex again for every instance
+     */
+    private <T extends MapDataDefinition> Either<GraphVertex, StorageOperationStatus> addElementsToComponent(GraphVertex nodeTypeVertex, GraphVertex dataVertex, EdgeLabelEnum edgeLabelEnum, Map<String, T> dataMap) {
         Optional<StorageOperationStatus> error = dataMap.entrySet()
                 .stream()
-                .map(e -> addElementToComponent(nodeTypeVertex.getUniqueId(), vertexTypeEnum, edgeLabelEnum, e))
-                .filter(s -> s != StorageOperationStatus.OK)
+                .filter(e -> MapUtils.isNotEmpty(e.getValue().getMapToscaDataDefinition()))
+                .map(e -> addDeepElementsBlock(dataVertex, e.getValue(), e.getKey()))
+                .filter(Objects::nonNull)
                 .findFirst();
         if (error.isPresent()) {
             return Either.right(error.get());
         }
-        return Either.left(dataVertex);
+        if (dataMap.values().stream().allMatch(e -> MapUtils.isEmpty(e.getMapToscaDataDefinition()))) {
+            return Either.left(dataVertex);
+        }
+        return updateOrCopyOnUpdate(dataVertex, nodeTypeVertex, edgeLabelEnum)
+                .right()
+                .map(DaoStatusConverter::convertJanusGraphStatusToStorageStatus);
+    }
+
+    /**
+     * Associates the data of all the component instances held by instancesData to the component, writing each of its
+     * instance data vertices once
+     */
+    public StorageOperationStatus associateInstancesDataToComponent(GraphVertex nodeTypeVertex, TopologyTemplate instancesData) {
+        StorageOperationStatus status = associateInstPropertiesToComponent(nodeTypeVertex, instancesData);
+        if (status == StorageOperationStatus.OK) {
+            status = associateInstInputsToComponent(nodeTypeVertex, instancesData);
+        }
+        if (status == StorageOperationStatus.OK) {
+            status = associateInstDeploymentArtifactsToComponent(nodeTypeVertex, instancesData.getInstDeploymentArtifacts());
+        }
+        if (status == StorageOperationStatus.OK) {
+            status = associateInstArtifactsToComponent(nodeTypeVertex, instancesData.getInstanceArtifacts());
+        }
+        if (status == StorageOperationStatus.OK) {
+            status = associateOrAddCalcCapReqToComponent(nodeTypeVertex, instancesData.getCalculatedRequirements(), instancesData.getCalculatedCapabilities(), instancesData.getCalculatedCapabilitiesProperties());
+        }
+        if (status == StorageOperationStatus.OK) {
+            status = associateInstAttributesToComponent(nodeTypeVertex, instancesData);
+        }
+        if (status != StorageOperationStatus.OK) {
+            log.debug("Failed to associate the instances data to component {}. Status is {}", nodeTypeVertex.getUniqueId(), status);
+        }
+        return status;
     }
 
     private StorageOperationStatus associateInstAttributesToComponent(GraphVertex nodeTypeVertex, TopologyTemplate topologyTemplate) {
@@ -645,6 +685,18 @@ public class TopologyTemplateOperation extends ToscaElementOperation {
     // -------------------------------------------------------------
 
     public Either<ToscaElement, StorageOperationStatus> getToscaElement(GraphVertex componentV, ComponentParametersView componentParametersView) {
+        ComponentProjection projection = ComponentProjectionPlanner.plan(ToscaElementTypeEnum.TOPOLOGY_TEMPLATE, componentParametersView);
+        long start = System.nanoTime();
+        prefetchDataVertices(componentV, projection);
+        try {
+            return loadToscaElement(componentV, componentParametersView);
+        } finally {
+            componentV.clearPrefetchedChildren();
+            projection.recordLoadTime(System.nanoTime() - start);
+        }
+    }
+
+    private Either<ToscaElement, StorageOperationStatus> loadToscaElement(GraphVertex componentV, ComponentParametersView componentParametersView) {
         TopologyTemplate toscaElement;
 
         toscaElement = convertToTopologyTemplate(componentV);
@@ -86,6 +86,8 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
      * @return
      */
     public Either<ToscaElement, StorageOperationStatus> checkinToscaELement(LifecycleStateEnum currState, String toscaElementId, String modifierId, String ownerId) {
+        evictFromToscaElementCache(toscaElementId);
+        markCatalogChanged(toscaElementId);
         Either<GraphVertex, StorageOperationStatus> updateResult = null;
         Either<ToscaElement, StorageOperationStatus> result = null;
         Map<String, GraphVertex> vertices = null;
@@ -167,6 +169,8 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
      * @return
      */
     public Either<ToscaElement, StorageOperationStatus> checkoutToscaElement(String toscaElementId, String modifierId, String ownerId) {
+        evictFromToscaElementCache(toscaElementId);
+        markCatalogChanged(toscaElementId);
         Either<ToscaElement, StorageOperationStatus> result = null;
         Map<String, GraphVertex> vertices = null;
         try {
@@ -205,6 +209,8 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
      * @return
      */
     public Either<ToscaElement, StorageOperationStatus> undoCheckout(String toscaElementId) {
+        evictAllFromToscaElementCache();
+        markCatalogChanged(toscaElementId);
         Either<ToscaElement, StorageOperationStatus> result = null;
         Either<GraphVertex, JanusGraphOperationStatus> getToscaElementRes = null;
         Iterator<Edge> nextVersionComponentIter = null;
@@ -263,6 +269,8 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
      * @return
      */
     public Either<ToscaElement, StorageOperationStatus> requestCertificationToscaElement(String toscaElementId, String modifierId, String ownerId) {
+        evictFromToscaElementCache(toscaElementId);
+        markCatalogChanged(toscaElementId);
         Either<GraphVertex, StorageOperationStatus> resultUpdate = null;
         Either<ToscaElement, StorageOperationStatus> result = null;
         GraphVertex toscaElement = null;
@@ -318,6 +326,8 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
      * @return
      */
     public Either<ToscaElement, StorageOperationStatus> startCertificationToscaElement(String toscaElementId, String modifierId, String ownerId) {
+        evictFromToscaElementCache(toscaElementId);
+        markCatalogChanged(toscaElementId);
         Either<ToscaElement, StorageOperationStatus> result = null;
         Either<GraphVertex, StorageOperationStatus> resultUpdate = null;
         GraphVertex toscaElement = null;
@@ -363,6 +373,9 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
     }
 
     public Either<ToscaElement, StorageOperationStatus> certifyToscaElement(String toscaElementId, String modifierId, String ownerId) {
+        // certification changes the highest version flag of the previous versions as well
+        evictAllFromToscaElementCache();
+        markCatalogChanged(toscaElementId);
         Either<ToscaElement, StorageOperationStatus> result = null;
         Either<GraphVertex, StorageOperationStatus> cloneRes = null;
         GraphVertex toscaElement = null;
@@ -455,6 +468,8 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
      * @return
      */
     public Either<ToscaElement, StorageOperationStatus> cancelOrFailCertification(String toscaElementId, String modifierId, String ownerId, LifecycleStateEnum nextState) {
+        evictFromToscaElementCache(toscaElementId);
+        markCatalogChanged(toscaElementId);
         Either<ToscaElement, StorageOperationStatus> result = null;
         StorageOperationStatus status;
         ToscaElementOperation operation = null;
@@ -1512,6 +1527,8 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
     }
 
     public Either<ToscaElement, StorageOperationStatus> forceCerificationOfToscaElement(String toscaElementId, String modifierId, String ownerId, String currVersion) {
+        evictAllFromToscaElementCache();
+        markCatalogChanged(toscaElementId);
         Either<GraphVertex, StorageOperationStatus> resultUpdate = null;
         Either<ToscaElement, StorageOperationStatus> result = null;
         GraphVertex toscaElement = null;
@@ -1606,6 +1623,7 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
         }
         GraphVertex catalogV = catalog.left().value();
         if (newVersionV != null) {
+            markCatalogChanged(newVersionV.getUniqueId());
             Boolean isAbstract = (Boolean) newVersionV.getMetadataProperty(GraphPropertyEnum.IS_ABSTRACT);
 			
 			if ( isAbstract == null || !isAbstract ) {
@@ -1620,6 +1638,7 @@ public class ToscaElementLifecycleOperation extends BaseOperation {
             }
         }
         if (prevVersionV != null) {
+            markCatalogChanged(prevVersionV.getUniqueId());
             Boolean isAbstract = (Boolean) prevVersionV.getMetadataProperty(GraphPropertyEnum.IS_ABSTRACT);
             if (isAbstract == null || !isAbstract) {
                 // if prev == null -> new resource was added
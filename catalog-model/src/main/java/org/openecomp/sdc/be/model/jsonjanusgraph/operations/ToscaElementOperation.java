@@ -548,6 +548,7 @@ public abstract class ToscaElementOperation extends BaseOperation {
             log.debug("Failed to fetch catalog vertex. error {}", catalog.right().value());
             return DaoStatusConverter.convertJanusGraphStatusToStorageStatus(catalog.right().value());
         }
+        markCatalogChanged(nodeTypeVertex.getUniqueId());
         JanusGraphOperationStatus
             createEdge = janusGraphDao
             .createEdge(catalog.left().value(), nodeTypeVertex, EdgeLabelEnum.CATALOG_ELEMENT, null);
@@ -1233,33 +1234,64 @@ public abstract class ToscaElementOperation extends BaseOperation {
 
 
         if (isAddToCatalog(excludeTypes, metadatObj) && (existInCatalog.get(uniqueId) == null && (isDeleted == null || !isDeleted.booleanValue()))) {
-            CatalogComponent catalogComponent = new CatalogComponent();
-            catalogComponent.setUniqueId(uniqueId);
-
-            catalogComponent.setComponentType(ComponentTypeEnum.valueOf((String) metadatObj.get(JsonPresentationFields.COMPONENT_TYPE.getPresentation())));
-            catalogComponent.setVersion((String) metadatObj.get(JsonPresentationFields.VERSION.getPresentation()));
-            catalogComponent.setName((String) metadatObj.get(JsonPresentationFields.NAME.getPresentation()));
-            catalogComponent.setIcon((String) metadatObj.get(JsonPresentationFields.ICON.getPresentation()));
-            catalogComponent.setLifecycleState((String) metadatObj.get(JsonPresentationFields.LIFECYCLE_STATE.getPresentation()));
-            catalogComponent.setLastUpdateDate((Long) metadatObj.get(JsonPresentationFields.LAST_UPDATE_DATE.getPresentation()));
-            catalogComponent.setDistributionStatus((String) metadatObj.get(JsonPresentationFields.DISTRIBUTION_STATUS.getPresentation()));
-            Object resourceType = metadatObj.get(JsonPresentationFields.RESOURCE_TYPE.getPresentation());
-            if (resourceType != null) {
-                catalogComponent.setResourceType((String) resourceType);
-            }
+            existInCatalog.put(uniqueId, buildCatalogComponent(vertex, uniqueId, metadatObj));
+        }
+    }
 
-            if (catalogComponent.getComponentType() == ComponentTypeEnum.SERVICE) {
-                setServiceCategoryFromGraphV(vertex, catalogComponent);
+    /**
+     * Reads the catalog data of a single component
+     *
+     * @param uniqueId
+     * @param isCatalog
+     * @return the catalog data or NOT_FOUND if the component is deleted or not in the catalog (archive)
+     */
+    public Either<CatalogComponent, StorageOperationStatus> getElementCatalogData(String uniqueId, boolean isCatalog) {
+        Either<GraphVertex, JanusGraphOperationStatus> vertexEither = janusGraphDao.getVertexById(uniqueId, JsonParseFlagEnum.NoParse);
+        if (vertexEither.isRight()) {
+            return Either.right(DaoStatusConverter.convertJanusGraphStatusToStorageStatus(vertexEither.right().value()));
+        }
+        Vertex vertex = vertexEither.left().value().getVertex();
+        EdgeLabelEnum rootEdgeLabel = isCatalog ? EdgeLabelEnum.CATALOG_ELEMENT : EdgeLabelEnum.ARCHIVE_ELEMENT;
+        if (!vertex.edges(Direction.IN, rootEdgeLabel.name()).hasNext()) {
+            return Either.right(StorageOperationStatus.NOT_FOUND);
+        }
+        VertexProperty<Object> property = vertex.property(GraphPropertiesDictionary.METADATA.getProperty());
+        Map<String, Object> metadatObj = JsonParserUtils.toMap((String) property.value());
+        Boolean isDeleted = (Boolean) metadatObj.get(JsonPresentationFields.IS_DELETED.getPresentation());
+        if (isDeleted != null && isDeleted) {
+            return Either.right(StorageOperationStatus.NOT_FOUND);
+        }
+        return Either.left(buildCatalogComponent(vertex, uniqueId, metadatObj));
+    }
 
-            } else {
-                setResourceCategoryFromGraphV(vertex, catalogComponent);
-            }
-            List<String> tags = (List<String>) metadatObj.get(JsonPresentationFields.TAGS.getPresentation());
-            if (tags != null) {
-                catalogComponent.setTags(tags);
-            }
-            existInCatalog.put(uniqueId, catalogComponent);
+    @SuppressWarnings("unchecked")
+    private CatalogComponent buildCatalogComponent(Vertex vertex, String uniqueId, Map<String, Object> metadatObj) {
+        CatalogComponent catalogComponent = new CatalogComponent();
+        catalogComponent.setUniqueId(uniqueId);
+
+        catalogComponent.setComponentType(ComponentTypeEnum.valueOf((String) metadatObj.get(JsonPresentationFields.COMPONENT_TYPE.getPresentation())));
+        catalogComponent.setVersion((String) metadatObj.get(JsonPresentationFields.VERSION.getPresentation()));
+        catalogComponent.setName((String) metadatObj.get(JsonPresentationFields.NAME.getPresentation()));
+        catalogComponent.setIcon((String) metadatObj.get(JsonPresentationFields.ICON.getPresentation()));
+        catalogComponent.setLifecycleState((String) metadatObj.get(JsonPresentationFields.LIFECYCLE_STATE.getPresentation()));
+        catalogComponent.setLastUpdateDate((Long) metadatObj.get(JsonPresentationFields.LAST_UPDATE_DATE.getPresentation()));
+        catalogComponent.setDistributionStatus((String) metadatObj.get(JsonPresentationFields.DISTRIBUTION_STATUS.getPresentation()));
+        Object resourceType = metadatObj.get(JsonPresentationFields.RESOURCE_TYPE.getPresentation());
+        if (resourceType != null) {
+            catalogComponent.setResourceType((String) resourceType);
+        }
+
+        if (catalogComponent.getComponentType() == ComponentTypeEnum.SERVICE) {
+            setServiceCategoryFromGraphV(vertex, catalogComponent);
+
+        } else {
+            setResourceCategoryFromGraphV(vertex, catalogComponent);
+        }
+        List<String> tags = (List<String>) metadatObj.get(JsonPresentationFields.TAGS.getPresentation());
+        if (tags != null) {
+            catalogComponent.setTags(tags);
         }
+        return catalogComponent;
     }
 
     private boolean isAddToCatalog(List<ResourceTypeEnum> excludeTypes, Map<String, Object> metadatObj) {
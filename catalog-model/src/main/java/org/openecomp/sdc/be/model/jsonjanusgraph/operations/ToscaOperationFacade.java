@@ -37,7 +37,11 @@ import org.openecomp.sdc.be.datatypes.elements.*;
 import org.openecomp.sdc.be.datatypes.elements.MapInterfaceDataDefinition;
 import org.openecomp.sdc.be.datatypes.enums.*;
 import org.openecomp.sdc.be.model.*;
+import org.openecomp.sdc.be.model.cache.CatalogSnapshotCache;
+import org.openecomp.sdc.be.model.cache.ToscaElementCache;
+import org.openecomp.sdc.be.model.catalog.CatalogChanges;
 import org.openecomp.sdc.be.model.catalog.CatalogComponent;
+import org.openecomp.sdc.be.model.catalog.CatalogSnapshot;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.TopologyTemplate;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElement;
 import org.openecomp.sdc.be.model.jsonjanusgraph.utils.ModelConverter;
@@ -85,6 +89,22 @@ public class ToscaOperationFacade {
     private GroupsOperation groupsOperation;
     @Autowired
     private HealingJanusGraphDao janusGraphDao;
+    @Autowired(required = false)
+    private ToscaElementCache toscaElementCache;
+    @Autowired(required = false)
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    private final CatalogSnapshotCache.Loader catalogLoader = new CatalogSnapshotCache.Loader() {
+        @Override
+        public Either<List<CatalogComponent>, StorageOperationStatus> loadAll(boolean isCatalog) {
+            return topologyTemplateOperation.getElementCatalogData(isCatalog, Collections.emptyList());
+        }
+
+        @Override
+        public Either<CatalogComponent, StorageOperationStatus> load(String uniqueId, boolean isCatalog) {
+            return topologyTemplateOperation.getElementCatalogData(uniqueId, isCatalog);
+        }
+    };
 
     private static final Logger log = Logger.getLogger(ToscaOperationFacade.class.getName());
     // endregion
@@ -107,14 +127,27 @@ public class ToscaOperationFacade {
 
     public <T extends Component> Either<T, StorageOperationStatus> getToscaElement(String componentId, ComponentParametersView filters) {
 
+        JsonParseFlagEnum parseFlag = filters.detectParseFlag();
+        boolean isCacheEnabled = isToscaElementCacheEnabled();
+        // the stamp of a cached element is checked against the metadata of the vertex, its json is parsed on a miss only
         Either<GraphVertex, JanusGraphOperationStatus> getVertexEither = janusGraphDao
-            .getVertexById(componentId, filters.detectParseFlag());
+            .getVertexById(componentId, isCacheEnabled ? JsonParseFlagEnum.ParseMetadata : parseFlag);
         if (getVertexEither.isRight()) {
             log.debug(COULDNT_FETCH_COMPONENT_WITH_AND_UNIQUE_ID_ERROR, componentId, getVertexEither.right().value());
             return Either.right(DaoStatusConverter.convertJanusGraphStatusToStorageStatus(getVertexEither.right().value()));
 
         }
-        return getToscaElementByOperation(getVertexEither.left().value(), filters);
+        GraphVertex componentV = getVertexEither.left().value();
+        if (isCacheEnabled) {
+            ToscaElement cachedElement = toscaElementCache.get(componentV, filters);
+            if (cachedElement != null) {
+                return Either.left(ModelConverter.convertFromToscaElement(cachedElement));
+            }
+            if (parseFlag != JsonParseFlagEnum.ParseMetadata) {
+                janusGraphDao.parseVertexProperties(componentV, parseFlag);
+            }
+        }
+        return readToscaElement(componentV, filters);
     }
 
     public <T extends Component> Either<T, StorageOperationStatus> getToscaElement(String componentId, JsonParseFlagEnum parseFlag) {
@@ -172,8 +205,20 @@ public class ToscaOperationFacade {
     }
 
     private <T extends Component> Either<T, StorageOperationStatus> getToscaElementByOperation(GraphVertex componentV, ComponentParametersView filters) {
-        VertexTypeEnum label = componentV.getLabel();
+        if (isToscaElementCacheEnabled()) {
+            ToscaElement cachedElement = toscaElementCache.get(componentV, filters);
+            if (cachedElement != null) {
+                return Either.left(ModelConverter.convertFromToscaElement(cachedElement));
+            }
+        }
+        return readToscaElement(componentV, filters);
+    }
 
+    /**
+     * Reads the tosca element of the component vertex from the graph, without looking it up in the cache
+     */
+    private <T extends Component> Either<T, StorageOperationStatus> readToscaElement(GraphVertex componentV, ComponentParametersView filters) {
+        VertexTypeEnum label = componentV.getLabel();
         ToscaElementOperation toscaOperation = getToscaElementOperation(componentV);
         log.debug("getToscaElementByOperation: toscaOperation={}", toscaOperation.getClass());
         Either<ToscaElement, StorageOperationStatus> toscaElement;
@@ -188,9 +233,33 @@ public class ToscaOperationFacade {
         if (toscaElement.isRight()) {
             return Either.right(toscaElement.right().value());
         }
+        if (isToscaElementCacheEnabled()) {
+            toscaElementCache.put(componentV, filters, toscaElement.left().value());
+        }
         return Either.left(ModelConverter.convertFromToscaElement(toscaElement.left().value()));
     }
 
+    private boolean isToscaElementCacheEnabled() {
+        return toscaElementCache != null && toscaElementCache.isEnabled();
+    }
+
+    /**
+     * Removes the component from the tosca element cache and marks it to be read again by the catalog snapshot, must
+     * be called by every operation updating a component without changing its last update date.
+     */
+    public void evictFromCache(String componentId) {
+        if (isToscaElementCacheEnabled()) {
+            toscaElementCache.evict(componentId);
+        }
+        if (isCatalogSnapshotEnabled()) {
+            catalogSnapshotCache.markChanged(componentId);
+        }
+    }
+
+    private boolean isCatalogSnapshotEnabled() {
+        return catalogSnapshotCache != null && catalogSnapshotCache.isEnabled();
+    }
+
     // endregion
     private ToscaElementOperation getToscaElementOperation(GraphVertex componentV) {
         VertexTypeEnum label = componentV.getLabel();
@@ -233,6 +302,7 @@ public class ToscaOperationFacade {
 
             }
             GraphVertex componentV = getResponse.left().value();
+            evictFromCache(componentV.getUniqueId());
 
             // same operation for node type and topology template operations
             Either<GraphVertex, StorageOperationStatus> result = nodeTypeOperation.markComponentToDelete(componentV);
@@ -244,6 +314,7 @@ public class ToscaOperationFacade {
     }
 
     public <T extends Component> Either<T, StorageOperationStatus> deleteToscaComponent(String componentId) {
+        evictFromCache(componentId);
 
         Either<GraphVertex, JanusGraphOperationStatus> getVertexEither = janusGraphDao
             .getVertexById(componentId, JsonParseFlagEnum.ParseAll);
@@ -526,6 +597,7 @@ public class ToscaOperationFacade {
 
     public <T extends Component> Either<T, StorageOperationStatus> updateToscaElement(T componentToUpdate, ComponentParametersView filterResult) {
         String componentId = componentToUpdate.getUniqueId();
+        evictFromCache(componentId);
         Either<GraphVertex, JanusGraphOperationStatus> getVertexEither = janusGraphDao
             .getVertexById(componentId, JsonParseFlagEnum.ParseAll);
         if (getVertexEither.isRight()) {
@@ -658,11 +730,43 @@ public class ToscaOperationFacade {
     }
 
     public Either<List<CatalogComponent>, StorageOperationStatus> getCatalogOrArchiveComponents(boolean isCatalog, List<OriginTypeEnum> excludeTypes) {
-        List<ResourceTypeEnum> excludedResourceTypes = Optional.ofNullable(excludeTypes).orElse(Collections.emptyList()).stream().filter(type -> !type.equals(OriginTypeEnum.SERVICE)).map(type -> ResourceTypeEnum.getTypeByName(type.name()))
-                .collect(Collectors.toList());
+        List<ResourceTypeEnum> excludedResourceTypes = toExcludedResourceTypes(excludeTypes);
+        if (isCatalogSnapshotEnabled()) {
+            return catalogSnapshotCache.getSnapshot(isCatalog, excludedResourceTypes, catalogLoader)
+                    .left().map(CatalogSnapshot::getComponents);
+        }
         return topologyTemplateOperation.getElementCatalogData(isCatalog, excludedResourceTypes);
     }
 
+    /**
+     * @return the catalog (or archive) components together with the snapshot version, or only the components if the
+     * catalog snapshot is disabled
+     */
+    public Either<CatalogSnapshot, StorageOperationStatus> getCatalogOrArchiveSnapshot(boolean isCatalog, List<OriginTypeEnum> excludeTypes) {
+        List<ResourceTypeEnum> excludedResourceTypes = toExcludedResourceTypes(excludeTypes);
+        if (isCatalogSnapshotEnabled()) {
+            return catalogSnapshotCache.getSnapshot(isCatalog, excludedResourceTypes, catalogLoader);
+        }
+        return topologyTemplateOperation.getElementCatalogData(isCatalog, excludedResourceTypes)
+                .left().map(components -> new CatalogSnapshot(null, components));
+    }
+
+    /**
+     * @return the changes of the catalog (or archive) since the given snapshot version. A reload is required if the
+     * catalog snapshot is disabled.
+     */
+    public Either<CatalogChanges, StorageOperationStatus> getCatalogOrArchiveChanges(boolean isCatalog, String sinceVersion, List<OriginTypeEnum> excludeTypes) {
+        if (!isCatalogSnapshotEnabled()) {
+            return Either.left(CatalogChanges.reloadRequired(null));
+        }
+        return catalogSnapshotCache.getChangesSince(isCatalog, sinceVersion, toExcludedResourceTypes(excludeTypes), catalogLoader);
+    }
+
+    private List<ResourceTypeEnum> toExcludedResourceTypes(List<OriginTypeEnum> excludeTypes) {
+        return Optional.ofNullable(excludeTypes).orElse(Collections.emptyList()).stream().filter(type -> !type.equals(OriginTypeEnum.SERVICE)).map(type -> ResourceTypeEnum.getTypeByName(type.name()))
+                .collect(Collectors.toList());
+    }
+
     // endregion
     public <T extends Component> Either<List<T>, StorageOperationStatus> getCatalogComponents(ComponentTypeEnum componentType, List<OriginTypeEnum> excludeTypes, boolean isHighestVersions) {
         List<T> components = new ArrayList<>();
@@ -1130,18 +1234,7 @@ public class ToscaOperationFacade {
         }
 
         GraphVertex vertex = getVertexEither.left().value();
-        Map<String, MapPropertiesDataDefinition> instPropsMap = new HashMap<>();
-        if (instProperties != null) {
-
-            MapPropertiesDataDefinition propertiesMap;
-            for (Entry<String, List<ComponentInstanceProperty>> entry : instProperties.entrySet()) {
-                propertiesMap = new MapPropertiesDataDefinition();
-
-                propertiesMap.setMapToscaDataDefinition(entry.getValue().stream().map(PropertyDataDefinition::new).collect(Collectors.toMap(PropertyDataDefinition::getName, e -> e)));
-
-                instPropsMap.put(entry.getKey(), propertiesMap);
-            }
-        }
+        Map<String, MapPropertiesDataDefinition> instPropsMap = toInstPropertiesMap(instProperties);
 
         StorageOperationStatus status = topologyTemplateOperation.associateInstPropertiesToComponent(vertex, instPropsMap);
 
@@ -1207,18 +1300,7 @@ public class ToscaOperationFacade {
 
         }
         GraphVertex vertex = getVertexEither.left().value();
-        Map<String, MapPropertiesDataDefinition> instPropsMap = new HashMap<>();
-        if (instInputs != null) {
-
-            MapPropertiesDataDefinition propertiesMap;
-            for (Entry<String, List<ComponentInstanceInput>> entry : instInputs.entrySet()) {
-                propertiesMap = new MapPropertiesDataDefinition();
-
-                propertiesMap.setMapToscaDataDefinition(entry.getValue().stream().map(PropertyDataDefinition::new).collect(Collectors.toMap(PropertyDataDefinition::getName, e -> e)));
-
-                instPropsMap.put(entry.getKey(), propertiesMap);
-            }
-        }
+        Map<String, MapPropertiesDataDefinition> instPropsMap = toInstPropertiesMap(instInputs);
 
         StorageOperationStatus status = topologyTemplateOperation.associateInstInputsToComponent(vertex, instPropsMap);
 
@@ -1401,18 +1483,7 @@ public class ToscaOperationFacade {
         }
 
         GraphVertex vertex = getVertexEither.left().value();
-        Map<String, MapArtifactDataDefinition> instArtMap = new HashMap<>();
-        if (instDeploymentArtifacts != null) {
-
-            MapArtifactDataDefinition artifactsMap;
-            for (Entry<String, Map<String, ArtifactDefinition>> entry : instDeploymentArtifacts.entrySet()) {
-                Map<String, ArtifactDefinition> artList = entry.getValue();
-                Map<String, ArtifactDataDefinition> artifacts = artList.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> new ArtifactDataDefinition(e.getValue())));
-                artifactsMap = nodeTemplateOperation.prepareInstDeploymentArtifactPerInstance(artifacts, entry.getKey(), user, NodeTemplateOperation.HEAT_VF_ENV_NAME);
-
-                instArtMap.put(entry.getKey(), artifactsMap);
-            }
-        }
+        Map<String, MapArtifactDataDefinition> instArtMap = toInstDeploymentArtifactsMap(instDeploymentArtifacts, user);
 
         return topologyTemplateOperation.associateInstDeploymentArtifactsToComponent(vertex, instArtMap);
 
@@ -1429,18 +1500,7 @@ public class ToscaOperationFacade {
         }
 
         GraphVertex vertex = getVertexEither.left().value();
-        Map<String, MapArtifactDataDefinition> instArtMap = new HashMap<>();
-        if (instArtifacts != null) {
-
-            MapArtifactDataDefinition artifactsMap;
-            for (Entry<String, Map<String, ArtifactDefinition>> entry : instArtifacts.entrySet()) {
-                Map<String, ArtifactDefinition> artList = entry.getValue();
-                Map<String, ArtifactDataDefinition> artifacts = artList.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> new ArtifactDataDefinition(e.getValue())));
-                artifactsMap = new MapArtifactDataDefinition(artifacts);
-
-                instArtMap.put(entry.getKey(), artifactsMap);
-            }
-        }
+        Map<String, MapArtifactDataDefinition> instArtMap = toInstArtifactsMap(instArtifacts);
 
         return topologyTemplateOperation.associateInstArtifactsToComponent(vertex, instArtMap);
 
@@ -1457,16 +1517,7 @@ public class ToscaOperationFacade {
         }
 
         GraphVertex vertex = getVertexEither.left().value();
-        Map<String, MapPropertiesDataDefinition> instAttr = new HashMap<>();
-        if (instArttributes != null) {
-
-            MapPropertiesDataDefinition attributesMap;
-            for (Entry<String, List<PropertyDefinition>> entry : instArttributes.entrySet()) {
-                attributesMap = new MapPropertiesDataDefinition();
-                attributesMap.setMapToscaDataDefinition(entry.getValue().stream().map(PropertyDataDefinition::new).collect(Collectors.toMap(PropertyDataDefinition::getName, e -> e)));
-                instAttr.put(entry.getKey(), attributesMap);
-            }
-        }
+        Map<String, MapPropertiesDataDefinition> instAttr = toInstPropertiesMap(instArttributes);
 
         return topologyTemplateOperation.associateInstAttributeToComponent(vertex, instAttr);
 
@@ -1483,9 +1534,78 @@ public class ToscaOperationFacade {
         }
 
         GraphVertex vertex = getVertexEither.left().value();
+        TopologyTemplate instancesData = new TopologyTemplate();
+        setCalculatedCapReq(instancesData, instCapabilties, instReg);
 
-        Map<String, MapListRequirementDataDefinition> calcRequirements = new HashMap<>();
+        return topologyTemplateOperation.associateOrAddCalcCapReqToComponent(vertex, instancesData.getCalculatedRequirements(), instancesData.getCalculatedCapabilities(), instancesData.getCalculatedCapabilitiesProperties());
+    }
+
+    /**
+     * Associates the data of all the component instances of the component at once - properties, inputs, artifacts,
+     * calculated capabilities, requirements and attributes - building the data of all the instances in memory first, so
+     * that each instance data vertex of the component is written once
+     */
+    public StorageOperationStatus associateComponentInstancesDataToComponent(String componentId, Map<String, List<ComponentInstanceProperty>> instProperties, Map<String, List<ComponentInstanceInput>> instInputs,
+                                                                            Map<String, Map<String, ArtifactDefinition>> instDeploymentArtifacts, Map<String, Map<String, ArtifactDefinition>> instArtifacts,
+                                                                            Map<ComponentInstance, Map<String, List<CapabilityDefinition>>> instCapabilities, Map<ComponentInstance, Map<String, List<RequirementDefinition>>> instRequirements,
+                                                                            Map<String, List<PropertyDefinition>> instAttributes, User user) {
+        Either<GraphVertex, JanusGraphOperationStatus> getVertexEither = janusGraphDao
+            .getVertexById(componentId, JsonParseFlagEnum.NoParse);
+        if (getVertexEither.isRight()) {
+            log.debug(COULDNT_FETCH_COMPONENT_WITH_AND_UNIQUE_ID_ERROR, componentId, getVertexEither.right().value());
+            return DaoStatusConverter.convertJanusGraphStatusToStorageStatus(getVertexEither.right().value());
+        }
+
+        TopologyTemplate instancesData = new TopologyTemplate();
+        instancesData.setInstProperties(toInstPropertiesMap(instProperties));
+        instancesData.setInstInputs(toInstPropertiesMap(instInputs));
+        instancesData.setInstDeploymentArtifacts(toInstDeploymentArtifactsMap(instDeploymentArtifacts, user));
+        instancesData.setInstanceArtifacts(toInstArtifactsMap(instArtifacts));
+        setCalculatedCapReq(instancesData, instCapabilities, instRequirements);
+        instancesData.setInstAttributes(toInstPropertiesMap(instAttributes));
+
+        return topologyTemplateOperation.associateInstancesDataToComponent(getVertexEither.left().value(), instancesData);
+    }
 
+    private Map<String, MapPropertiesDataDefinition> toInstPropertiesMap(Map<String, ? extends List<? extends PropertyDataDefinition>> instProperties) {
+        Map<String, MapPropertiesDataDefinition> instPropsMap = new HashMap<>();
+        if (instProperties != null) {
+            for (Entry<String, ? extends List<? extends PropertyDataDefinition>> entry : instProperties.entrySet()) {
+                MapPropertiesDataDefinition propertiesMap = new MapPropertiesDataDefinition();
+                propertiesMap.setMapToscaDataDefinition(entry.getValue().stream().map(PropertyDataDefinition::new).collect(Collectors.toMap(PropertyDataDefinition::getName, e -> e)));
+                instPropsMap.put(entry.getKey(), propertiesMap);
+            }
+        }
+        return instPropsMap;
+    }
+
+    private Map<String, MapArtifactDataDefinition> toInstDeploymentArtifactsMap(Map<String, Map<String, ArtifactDefinition>> instDeploymentArtifacts, User user) {
+        Map<String, MapArtifactDataDefinition> instArtMap = new HashMap<>();
+        if (instDeploymentArtifacts != null) {
+            for (Entry<String, Map<String, ArtifactDefinition>> entry : instDeploymentArtifacts.entrySet()) {
+                Map<String, ArtifactDataDefinition> artifacts = toArtifactDataDefinitions(entry.getValue());
+                instArtMap.put(entry.getKey(), nodeTemplateOperation.prepareInstDeploymentArtifactPerInstance(artifacts, entry.getKey(), user, NodeTemplateOperation.HEAT_VF_ENV_NAME));
+            }
+        }
+        return instArtMap;
+    }
+
+    private Map<String, MapArtifactDataDefinition> toInstArtifactsMap(Map<String, Map<String, ArtifactDefinition>> instArtifacts) {
+        Map<String, MapArtifactDataDefinition> instArtMap = new HashMap<>();
+        if (instArtifacts != null) {
+            for (Entry<String, Map<String, ArtifactDefinition>> entry : instArtifacts.entrySet()) {
+                instArtMap.put(entry.getKey(), new MapArtifactDataDefinition(toArtifactDataDefinitions(entry.getValue())));
+            }
+        }
+        return instArtMap;
+    }
+
+    private Map<String, ArtifactDataDefinition> toArtifactDataDefinitions(Map<String, ArtifactDefinition> artifacts) {
+        return artifacts.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> new ArtifactDataDefinition(e.getValue())));
+    }
+
+    private void setCalculatedCapReq(TopologyTemplate instancesData, Map<ComponentInstance, Map<String, List<CapabilityDefinition>>> instCapabilties, Map<ComponentInstance, Map<String, List<RequirementDefinition>>> instReg) {
+        Map<String, MapListRequirementDataDefinition> calcRequirements = new HashMap<>();
         Map<String, MapListCapabilityDataDefinition> calcCapabilty = new HashMap<>();
         Map<String, MapCapabilityProperty> calculatedCapabilitiesProperties = new HashMap<>();
         if (instCapabilties != null) {
@@ -1522,7 +1642,9 @@ public class ToscaOperationFacade {
             }
         }
 
-        return topologyTemplateOperation.associateOrAddCalcCapReqToComponent(vertex, calcRequirements, calcCapabilty, calculatedCapabilitiesProperties);
+        instancesData.setCalculatedRequirements(calcRequirements);
+        instancesData.setCalculatedCapabilities(calcCapabilty);
+        instancesData.setCalculatedCapabilitiesProperties(calculatedCapabilitiesProperties);
     }
 
     private Either<List<Service>, StorageOperationStatus> getLatestVersionNonCheckoutServicesMetadataOnly(Map<GraphPropertyEnum, Object> hasProps, Map<GraphPropertyEnum, Object> hasNotProps) {
@@ -2099,6 +2221,7 @@ public class ToscaOperationFacade {
     }
 
     public Either<Service, StorageOperationStatus> updateDistributionStatus(Service service, User user, DistributionStatusEnum distributionStatus) {
+        evictFromCache(service.getUniqueId());
         Either<GraphVertex, StorageOperationStatus> updateDistributionStatus = topologyTemplateOperation.updateDistributionStatus(service.getUniqueId(), user, distributionStatus);
         if (updateDistributionStatus.isRight()) {
             return Either.right(updateDistributionStatus.right().value());
@@ -2110,6 +2233,7 @@ public class ToscaOperationFacade {
     }
 
     public Either<ComponentMetadataData, StorageOperationStatus> updateComponentLastUpdateDateOnGraph(Component component) {
+        evictFromCache(component.getUniqueId());
 
         Either<ComponentMetadataData, StorageOperationStatus> result = null;
         GraphVertex serviceVertex;
@@ -2510,6 +2634,14 @@ public class ToscaOperationFacade {
         this.topologyTemplateOperation = topologyTemplateOperation;
     }
 
+    public void setNodeTemplateOperation(NodeTemplateOperation nodeTemplateOperation) {
+        this.nodeTemplateOperation = nodeTemplateOperation;
+    }
+
+    public void setJanusGraphDao(HealingJanusGraphDao janusGraphDao) {
+        this.janusGraphDao = janusGraphDao;
+    }
+
     public StorageOperationStatus deleteComponentInstanceInputsFromTopologyTemplate(Component containerComponent, List<InputDefinition> inputsToDelete) {
         return topologyTemplateOperation.deleteToscaDataElements(containerComponent.getUniqueId(), EdgeLabelEnum.INPUTS, inputsToDelete.stream().map(PropertyDataDefinition::getName).collect(Collectors.toList()));
     }
@@ -0,0 +1,79 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.jsonjanusgraph.utils;
+
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The data vertices of a tosca element required by a {@link org.openecomp.sdc.be.model.ComponentParametersView},
+ * together with the load times of the tosca elements read with this projection.
+ */
+public class ComponentProjection {
+
+    private final String key;
+    private final Set<EdgeLabelEnum> edgeLabels;
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    ComponentProjection(String key, Set<EdgeLabelEnum> edgeLabels) {
+        this.key = key;
+        this.edgeLabels = Collections.unmodifiableSet(edgeLabels);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Set<EdgeLabelEnum> getEdgeLabels() {
+        return edgeLabels;
+    }
+
+    public void recordLoadTime(long nanos) {
+        loadCount.increment();
+        totalLoadNanos.add(nanos);
+        maxLoadNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    Map<String, Object> getMetrics() {
+        long count = loadCount.sum();
+        long total = totalLoadNanos.sum();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("edgeLabels", edgeLabels.size());
+        metrics.put("count", count);
+        metrics.put("totalMs", TimeUnit.NANOSECONDS.toMillis(total));
+        metrics.put("avgMs", count == 0 ? 0 : (double) total / count / TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.put("maxMs", TimeUnit.NANOSECONDS.toMillis(maxLoadNanos.get()));
+        return metrics;
+    }
+}
@@ -0,0 +1,154 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.jsonjanusgraph.utils;
+
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+import org.openecomp.sdc.be.model.ComponentParametersView;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElementTypeEnum;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Translates a {@link ComponentParametersView} to the data vertices that have to be read from the graph in order to
+ * fill a tosca element. Data that the view ignores is not fetched at all.
+ * <p>
+ * Projections are shared per element type and view, their load times are published as the "ComponentProjection"
+ * metrics.
+ */
+public final class ComponentProjectionPlanner {
+
+    private static final String METRICS_NAME = "ComponentProjection";
+    private static final ConcurrentMap<String, ComponentProjection> projections = new ConcurrentHashMap<>();
+
+    static {
+        PerformanceMetricsRegistry.getInstance().register(METRICS_NAME, ComponentProjectionPlanner::getMetrics);
+    }
+
+    private ComponentProjectionPlanner() {
+    }
+
+    public static ComponentProjection plan(ToscaElementTypeEnum elementType, ComponentParametersView view) {
+        String key = elementType.name() + ":" + view.getViewKey();
+        return projections.computeIfAbsent(key, k -> new ComponentProjection(k, buildEdgeLabels(elementType, view)));
+    }
+
+    static Set<EdgeLabelEnum> buildEdgeLabels(ToscaElementTypeEnum elementType, ComponentParametersView view) {
+        Set<EdgeLabelEnum> labels = EnumSet.noneOf(EdgeLabelEnum.class);
+        if (!view.isIgnoreArtifacts()) {
+            Collections.addAll(labels, EdgeLabelEnum.ARTIFACTS, EdgeLabelEnum.DEPLOYMENT_ARTIFACTS, EdgeLabelEnum.TOSCA_ARTIFACTS);
+        }
+        if (!view.isIgnoreAdditionalInformation()) {
+            labels.add(EdgeLabelEnum.ADDITIONAL_INFORMATION);
+        }
+        if (!view.isIgnoreProperties()) {
+            labels.add(EdgeLabelEnum.PROPERTIES);
+        }
+        if (!view.isIgnoreCapabiltyProperties()) {
+            labels.add(EdgeLabelEnum.CAPABILITIES_PROPERTIES);
+        }
+        if (elementType == ToscaElementTypeEnum.NODE_TYPE) {
+            addNodeTypeEdgeLabels(view, labels);
+        } else {
+            addTopologyTemplateEdgeLabels(view, labels);
+        }
+        return labels;
+    }
+
+    private static void addNodeTypeEdgeLabels(ComponentParametersView view, Set<EdgeLabelEnum> labels) {
+        if (!view.isIgnoreAttributesFrom()) {
+            labels.add(EdgeLabelEnum.ATTRIBUTES);
+        }
+        if (!view.isIgnoreRequirements()) {
+            labels.add(EdgeLabelEnum.REQUIREMENTS);
+        }
+        if (!view.isIgnoreCapabilities()) {
+            labels.add(EdgeLabelEnum.CAPABILITIES);
+        }
+        if (!view.isIgnoreInterfaces()) {
+            labels.add(EdgeLabelEnum.INTERFACE_ARTIFACTS);
+        }
+    }
+
+    private static void addTopologyTemplateEdgeLabels(ComponentParametersView view, Set<EdgeLabelEnum> labels) {
+        if (!view.isIgnoreArtifacts()) {
+            Collections.addAll(labels, EdgeLabelEnum.SERVICE_API_ARTIFACTS, EdgeLabelEnum.INST_DEPLOYMENT_ARTIFACTS, EdgeLabelEnum.INSTANCE_ARTIFACTS);
+        }
+        if (!view.isIgnoreComponentInstancesProperties()) {
+            labels.add(EdgeLabelEnum.INST_PROPERTIES);
+        }
+        if (!view.isIgnoreCapabilities()) {
+            Collections.addAll(labels, EdgeLabelEnum.CALCULATED_CAPABILITIES, EdgeLabelEnum.FULLFILLED_CAPABILITIES, EdgeLabelEnum.CAPABILITIES);
+        }
+        if (!view.isIgnoreRequirements()) {
+            Collections.addAll(labels, EdgeLabelEnum.CALCULATED_REQUIREMENTS, EdgeLabelEnum.FULLFILLED_REQUIREMENTS, EdgeLabelEnum.REQUIREMENTS);
+        }
+        if (!view.isIgnoreGroups()) {
+            labels.add(EdgeLabelEnum.GROUPS);
+        }
+        if (!view.isIgnorePolicies()) {
+            labels.add(EdgeLabelEnum.POLICIES);
+        }
+        if (!view.isIgnoreComponentInstances()) {
+            labels.add(EdgeLabelEnum.INST_GROUPS);
+        }
+        if (!view.isIgnoreInputs()) {
+            labels.add(EdgeLabelEnum.INPUTS);
+        }
+        if (!view.isIgnoreComponentInstancesInputs()) {
+            labels.add(EdgeLabelEnum.INST_INPUTS);
+        }
+        if (!view.isIgnoreCapabiltyProperties()) {
+            labels.add(EdgeLabelEnum.CALCULATED_CAP_PROPERTIES);
+        }
+        if (!view.isIgnoreForwardingPath()) {
+            labels.add(EdgeLabelEnum.FORWARDING_PATH);
+        }
+        if (!view.isIgnoreNodeFilter()) {
+            labels.add(EdgeLabelEnum.NODE_FILTER_TEMPLATE);
+        }
+        if (!view.isIgnoreInterfaces()) {
+            labels.add(EdgeLabelEnum.INTERFACE);
+        }
+        if (!view.isIgnoreComponentInstancesInterfaces()) {
+            labels.add(EdgeLabelEnum.INST_INTERFACES);
+        }
+        if (!view.isIgnoreDataType()) {
+            labels.add(EdgeLabelEnum.DATA_TYPES);
+        }
+    }
+
+    static Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        projections.forEach((key, projection) -> {
+            if (projection.getLoadCount() > 0) {
+                metrics.put(key, projection.getMetrics());
+            }
+        });
+        return metrics;
+    }
+}
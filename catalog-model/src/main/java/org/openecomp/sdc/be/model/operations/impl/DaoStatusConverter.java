@@ -89,6 +89,8 @@ public class DaoStatusConverter {
             return StorageOperationStatus.STORAGE_NOT_AVAILABLE;
         case NOT_FOUND:
             return StorageOperationStatus.NOT_FOUND;
+        case ALREADY_LOCKED:
+            return StorageOperationStatus.FAILED_TO_LOCK_ELEMENT;
 
         default:
             return StorageOperationStatus.GENERAL_ERROR;
@@ -20,25 +20,84 @@
 
 package org.openecomp.sdc.be.model.operations.impl;
 
+import org.openecomp.sdc.be.config.Configuration.ComponentLockConfig;
+import org.openecomp.sdc.be.config.ConfigurationManager;
+import org.openecomp.sdc.be.dao.cassandra.ComponentLockCassandraDao;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphGenericDao;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
 import org.openecomp.sdc.be.datatypes.enums.NodeTypeEnum;
 import org.openecomp.sdc.be.model.operations.api.IGraphLockOperation;
 import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.be.model.operations.impl.lock.CassandraComponentLeaseStore;
+import org.openecomp.sdc.be.model.operations.impl.lock.ComponentLeaseManager;
+import org.openecomp.sdc.be.model.operations.impl.lock.ComponentLeaseStore;
+import org.openecomp.sdc.be.model.operations.impl.lock.LocalComponentLeaseStore;
 import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.PerformanceMetricsRegistry;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locks components, by default with lock vertices in the graph. The componentLock configuration selects leases
+ * instead: "local" keeps them in memory and fits a single BE, "cassandra" shares them between all the BEs. Leases
+ * don't commit graph transactions and expire on their own if a BE goes down while holding them.
+ */
 @Component("graph-lock-operation")
 public class GraphLockOperation implements IGraphLockOperation {
     private static final Logger log = Logger.getLogger(GraphLockOperation.class.getName());
+    private static final String METRICS_NAME = "ComponentLocks";
+    private static final String LOCK_ID_PREFIX = "lock_";
+    static final String LOCAL_PROVIDER = "local";
+    static final String CASSANDRA_PROVIDER = "cassandra";
+    private static final int DEFAULT_STRIPES = 64;
+    private static final long DEFAULT_LEASE_TIME_IN_SEC = 1800;
 
     @javax.annotation.Resource
     private JanusGraphGenericDao janusGraphGenericDao;
 
+    @javax.annotation.Resource
+    private ComponentLockCassandraDao componentLockCassandraDao;
+
+    private ComponentLeaseManager leaseManager;
+
     public GraphLockOperation() {
         super();
     }
 
+    @PostConstruct
+    public void init() {
+        ComponentLockConfig lockConfig = getComponentLockConfig();
+        ComponentLeaseStore store = null;
+        if (lockConfig != null && LOCAL_PROVIDER.equals(lockConfig.getProvider())) {
+            store = new LocalComponentLeaseStore(lockConfig.getStripes() != null ? lockConfig.getStripes() : DEFAULT_STRIPES);
+        } else if (lockConfig != null && CASSANDRA_PROVIDER.equals(lockConfig.getProvider())) {
+            store = new CassandraComponentLeaseStore(componentLockCassandraDao, getOwner());
+        }
+        if (store == null) {
+            log.info("Components are locked with graph lock vertices");
+            return;
+        }
+        long leaseTimeInSec = lockConfig.getLeaseTimeInSec() != null ? lockConfig.getLeaseTimeInSec() : getDefaultLeaseTimeInSec();
+        long acquireTimeoutInMs = lockConfig.getAcquireTimeoutInMs() != null ? lockConfig.getAcquireTimeoutInMs() : 0;
+        leaseManager = new ComponentLeaseManager(store, TimeUnit.SECONDS.toMillis(leaseTimeInSec), acquireTimeoutInMs);
+        PerformanceMetricsRegistry.getInstance().register(METRICS_NAME, leaseManager::getMetrics);
+        log.info("Components are locked with {} leases, lease time {} seconds, acquire timeout {} ms",
+                lockConfig.getProvider(), leaseTimeInSec, acquireTimeoutInMs);
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (leaseManager != null) {
+            PerformanceMetricsRegistry.getInstance().unregister(METRICS_NAME);
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -47,6 +106,9 @@ public class GraphLockOperation implements IGraphLockOperation {
     @Override
     public StorageOperationStatus lockComponent(String componentId, NodeTypeEnum nodeType) {
         log.info("lock resource with id {}", componentId);
+        if (leaseManager != null) {
+            return leaseManager.lock(buildLockId(componentId, nodeType), nodeType);
+        }
         JanusGraphOperationStatus lockElementStatus = null;
         try {
             lockElementStatus = janusGraphGenericDao.lockElement(componentId, nodeType);
@@ -66,6 +128,9 @@ public class GraphLockOperation implements IGraphLockOperation {
      */
     @Override
     public StorageOperationStatus unlockComponent(String componentId, NodeTypeEnum nodeType) {
+        if (leaseManager != null) {
+            return leaseManager.unlock(buildLockId(componentId, nodeType), nodeType);
+        }
         JanusGraphOperationStatus lockElementStatus = janusGraphGenericDao
             .releaseElement(componentId, nodeType);
         return DaoStatusConverter.convertJanusGraphStatusToStorageStatus(lockElementStatus);
@@ -73,6 +138,9 @@ public class GraphLockOperation implements IGraphLockOperation {
 
     @Override
     public StorageOperationStatus unlockComponentByName(String name, String componentId, NodeTypeEnum nodeType) {
+        if (leaseManager != null) {
+            return leaseManager.unlock(buildLockId(name, nodeType), nodeType);
+        }
         JanusGraphOperationStatus
             lockElementStatus = janusGraphGenericDao.releaseElement(name, nodeType);
         return DaoStatusConverter.convertJanusGraphStatusToStorageStatus(lockElementStatus);
@@ -81,6 +149,9 @@ public class GraphLockOperation implements IGraphLockOperation {
     @Override
     public StorageOperationStatus lockComponentByName(String name, NodeTypeEnum nodeType) {
         log.info("lock resource with name {}", name);
+        if (leaseManager != null) {
+            return leaseManager.lock(buildLockId(name, nodeType), nodeType);
+        }
         JanusGraphOperationStatus lockElementStatus = null;
         try {
 
@@ -94,4 +165,31 @@ public class GraphLockOperation implements IGraphLockOperation {
         return DaoStatusConverter.convertJanusGraphStatusToStorageStatus(lockElementStatus);
 
     }
+
+    private static String buildLockId(String id, NodeTypeEnum nodeType) {
+        return LOCK_ID_PREFIX + nodeType.getName() + "_" + id;
+    }
+
+    private static ComponentLockConfig getComponentLockConfig() {
+        ConfigurationManager configurationManager = ConfigurationManager.getConfigurationManager();
+        if (configurationManager == null || configurationManager.getConfiguration() == null) {
+            return null;
+        }
+        return configurationManager.getConfiguration().getComponentLock();
+    }
+
+    private static long getDefaultLeaseTimeInSec() {
+        Long janusGraphLockTimeout = ConfigurationManager.getConfigurationManager().getConfiguration().getJanusGraphLockTimeout();
+        return janusGraphLockTimeout != null ? janusGraphLockTimeout : DEFAULT_LEASE_TIME_IN_SEC;
+    }
+
+    private static String getOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "_" + UUID.randomUUID();
+    }
 }
@@ -66,6 +66,7 @@ import org.openecomp.sdc.be.dao.graph.datatype.GraphEdge;
 import org.openecomp.sdc.be.dao.graph.datatype.GraphElementTypeEnum;
 import org.openecomp.sdc.be.dao.graph.datatype.GraphNode;
 import org.openecomp.sdc.be.dao.graph.datatype.GraphRelation;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphClient;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphGenericDao;
 import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
 import org.openecomp.sdc.be.dao.neo4j.GraphEdgeLabels;
@@ -2038,6 +2039,42 @@ public class PropertyOperation extends AbstractOperation implements IPropertyOpe
 		return getAllDataTypes;
 	}
 
+	/**
+	 * Cheap probe used to detect changes of the data types in the graph. Only the creation and modification dates of
+	 * the data type nodes are read, their properties and derived from edges are not traversed.
+	 *
+	 * @return the number of data types and their latest creation or modification date
+	 */
+	public Either<ImmutablePair<Long, Long>, JanusGraphOperationStatus> getDataTypesModificationStamp() {
+		Either<JanusGraph, JanusGraphOperationStatus> graphResult = janusGraphGenericDao.getGraph();
+		if (graphResult.isRight()) {
+			return Either.right(graphResult.right().value());
+		}
+		try {
+			long count = 0;
+			long latestTime = 0;
+			Iterable<JanusGraphVertex> vertices = graphResult.left().value().query()
+					.has(GraphPropertiesDictionary.LABEL.getProperty(), NodeTypeEnum.DataType.getName()).vertices();
+			for (JanusGraphVertex vertex : vertices) {
+				count++;
+				latestTime = Math.max(latestTime, getLongProperty(vertex, GraphPropertiesDictionary.CREATION_DATE));
+				latestTime = Math.max(latestTime, getLongProperty(vertex, GraphPropertiesDictionary.LAST_UPDATE_DATE));
+			}
+			return Either.left(new ImmutablePair<>(count, latestTime));
+		} catch (Exception e) {
+			log.debug("Failed to probe the modification time of the data types", e);
+			return Either.right(JanusGraphClient.handleJanusGraphException(e));
+		}
+	}
+
+	private long getLongProperty(Vertex vertex, GraphPropertiesDictionary property) {
+		VertexProperty<Object> vertexProperty = vertex.property(property.getProperty());
+		if (vertexProperty.isPresent() && vertexProperty.value() instanceof Number) {
+			return ((Number) vertexProperty.value()).longValue();
+		}
+		return 0;
+	}
+
 	public Either<Object, Boolean> validateAndUpdatePropertyValue(String propertyType, String value, boolean isValidate, String innerType, Map<String, DataTypeDefinition> dataTypes) {
 		log.trace("Going to validate property value and its type. type = {}, value = {}", propertyType, value);
 		ToscaPropertyType type = getType(propertyType);
@@ -184,7 +184,7 @@ public class UniqueIdBuilder {
         return resourceUniqueId + DOT + "additionalinformation";
     }
 
-    static String buildDataTypeUid(String name) {
+    public static String buildDataTypeUid(String name) {
         return name + DOT + "datatype";
     }
 
@@ -0,0 +1,58 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.operations.impl.lock;
+
+import fj.data.Either;
+import org.openecomp.sdc.be.dao.cassandra.CassandraOperationStatus;
+import org.openecomp.sdc.be.dao.cassandra.ComponentLockCassandraDao;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.be.model.operations.impl.DaoStatusConverter;
+
+/**
+ * Leases shared by all the BEs, stored in Cassandra.
+ */
+public class CassandraComponentLeaseStore implements ComponentLeaseStore {
+
+    private final ComponentLockCassandraDao componentLockCassandraDao;
+    private final String owner;
+
+    /**
+     * @param owner identifies this BE in the lock table
+     */
+    public CassandraComponentLeaseStore(ComponentLockCassandraDao componentLockCassandraDao, String owner) {
+        this.componentLockCassandraDao = componentLockCassandraDao;
+        this.owner = owner;
+    }
+
+    @Override
+    public Either<Long, StorageOperationStatus> acquire(String lockId, long leaseTimeMillis) {
+        Either<Long, CassandraOperationStatus> token = componentLockCassandraDao.acquireLock(lockId, owner, leaseTimeMillis);
+        if (token.isRight()) {
+            return Either.right(DaoStatusConverter.convertCassandraStatusToStorageStatus(token.right().value()));
+        }
+        return Either.left(token.left().value());
+    }
+
+    @Override
+    public StorageOperationStatus release(String lockId, long token) {
+        return DaoStatusConverter.convertCassandraStatusToStorageStatus(componentLockCassandraDao.releaseLock(lockId, token));
+    }
+}
@@ -0,0 +1,195 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.operations.impl.lock;
+
+import fj.data.Either;
+import org.openecomp.sdc.be.datatypes.enums.NodeTypeEnum;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.common.log.wrappers.Logger;
+import org.openecomp.sdc.common.monitoring.LatencyHistogram;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Locks components with leases taken from a {@link ComponentLeaseStore}.
+ * <p>
+ * The leases taken by this BE are kept per lock and token until they are released, and the thread which took a lease
+ * releases it with its token, so a lease which expired never releases the lease taken after it, also when both were
+ * taken by this BE. A held lock is retried until the acquire timeout passes, a timeout of 0 fails right away as the
+ * graph locks do.
+ * <p>
+ * The time spent taking a lock and the time it was held are recorded per node type.
+ */
+public class ComponentLeaseManager {
+
+    private static final Logger log = Logger.getLogger(ComponentLeaseManager.class.getName());
+    private static final long MIN_RETRY_MILLIS = 5;
+    private static final long MAX_RETRY_MILLIS = 100;
+
+    private final ComponentLeaseStore store;
+    private final long leaseTimeMillis;
+    private final long acquireTimeoutMillis;
+    private final Map<LeaseKey, HeldLease> heldLeases = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<String, Long>> threadLeases = ThreadLocal.withInitial(HashMap::new);
+    private final Map<NodeTypeEnum, LockStats> stats = new ConcurrentHashMap<>();
+
+    public ComponentLeaseManager(ComponentLeaseStore store, long leaseTimeMillis, long acquireTimeoutMillis) {
+        this.store = store;
+        this.leaseTimeMillis = leaseTimeMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public StorageOperationStatus lock(String lockId, NodeTypeEnum nodeType) {
+        LockStats lockStats = statsOf(nodeType);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        long retryMillis = MIN_RETRY_MILLIS;
+        Either<Long, StorageOperationStatus> token = store.acquire(lockId, leaseTimeMillis);
+        while (token.isRight() && token.right().value() == StorageOperationStatus.FAILED_TO_LOCK_ELEMENT
+                && deadline - System.nanoTime() > 0) {
+            if (!sleep(Math.min(retryMillis, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1))) {
+                break;
+            }
+            retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+            token = store.acquire(lockId, leaseTimeMillis);
+        }
+        long acquired = System.nanoTime();
+        lockStats.wait.record(acquired - start);
+        if (token.isRight()) {
+            lockStats.failed.incrementAndGet();
+            log.debug("Failed to lock {}, status {}", lockId, token.right().value());
+            return token.right().value();
+        }
+        heldLeases.put(new LeaseKey(lockId, token.left().value()), new HeldLease(acquired));
+        Long expired = threadLeases.get().put(lockId, token.left().value());
+        if (expired != null) {
+            // the previous lease of this thread on the lock expired before it was released
+            heldLeases.remove(new LeaseKey(lockId, expired));
+        }
+        log.debug("Locked {} with lease {}", lockId, token.left().value());
+        return StorageOperationStatus.OK;
+    }
+
+    /**
+     * Releases the lease the current thread took on the lock. A lock taken by another thread is released only if it is
+     * the single lease this server holds on it.
+     */
+    public StorageOperationStatus unlock(String lockId, NodeTypeEnum nodeType) {
+        Long token = threadLeases.get().remove(lockId);
+        if (token == null) {
+            token = getSingleHeldToken(lockId);
+        }
+        HeldLease lease = token == null ? null : heldLeases.remove(new LeaseKey(lockId, token));
+        if (lease == null) {
+            log.debug("Lock {} is not held by this thread", lockId);
+            return StorageOperationStatus.NOT_FOUND;
+        }
+        statsOf(nodeType).hold.record(System.nanoTime() - lease.acquiredAtNanos);
+        StorageOperationStatus status = store.release(lockId, token);
+        if (status != StorageOperationStatus.OK) {
+            log.debug("Failed to release lease {} of {}, status {}", token, lockId, status);
+        }
+        return status;
+    }
+
+    private Long getSingleHeldToken(String lockId) {
+        List<Long> tokens = heldLeases.keySet().stream()
+                .filter(key -> key.lockId.equals(lockId))
+                .map(key -> key.token)
+                .limit(2)
+                .collect(Collectors.toList());
+        return tokens.size() == 1 ? tokens.get(0) : null;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        metrics.put("held", heldLeases.size());
+        stats.forEach((nodeType, lockStats) -> {
+            metrics.put(nodeType.getName() + ".waitMs", lockStats.wait.getMetrics());
+            metrics.put(nodeType.getName() + ".holdMs", lockStats.hold.getMetrics());
+            metrics.put(nodeType.getName() + ".failed", lockStats.failed.get());
+        });
+        return metrics;
+    }
+
+    private LockStats statsOf(NodeTypeEnum nodeType) {
+        return stats.computeIfAbsent(nodeType, type -> new LockStats());
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class LeaseKey {
+        private final String lockId;
+        private final long token;
+
+        LeaseKey(String lockId, long token) {
+            this.lockId = lockId;
+            this.token = token;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LeaseKey)) {
+                return false;
+            }
+            LeaseKey other = (LeaseKey) o;
+            return token == other.token && lockId.equals(other.lockId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lockId, token);
+        }
+    }
+
+    private static class HeldLease {
+        private final long acquiredAtNanos;
+
+        HeldLease(long acquiredAtNanos) {
+            this.acquiredAtNanos = acquiredAtNanos;
+        }
+    }
+
+    private static class LockStats {
+        private final LatencyHistogram wait = new LatencyHistogram();
+        private final LatencyHistogram hold = new LatencyHistogram();
+        private final AtomicLong failed = new AtomicLong();
+    }
+}
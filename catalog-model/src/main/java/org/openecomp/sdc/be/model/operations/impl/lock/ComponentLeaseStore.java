@@ -0,0 +1,44 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.operations.impl.lock;
+
+import fj.data.Either;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+
+/**
+ * Storage of component lock leases. A lease expires after its lease time unless it is released before.
+ */
+public interface ComponentLeaseStore {
+
+    /**
+     * Takes a lease on the lock if it is not held or its lease expired.
+     *
+     * @return the token identifying the lease, or FAILED_TO_LOCK_ELEMENT if the lock is held by another lease
+     */
+    Either<Long, StorageOperationStatus> acquire(String lockId, long leaseTimeMillis);
+
+    /**
+     * Releases the lease only if it is still the one holding the lock.
+     *
+     * @return NOT_FOUND if the lease expired and the lock was taken by another lease since
+     */
+    StorageOperationStatus release(String lockId, long token);
+}
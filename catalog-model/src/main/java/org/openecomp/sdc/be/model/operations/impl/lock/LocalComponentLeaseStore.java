@@ -0,0 +1,92 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.operations.impl.lock;
+
+import fj.data.Either;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leases held in memory, for a single BE. The locks are spread over a fixed number of stripes, each guarded by its
+ * own monitor, so locking different components rarely contends.
+ */
+public class LocalComponentLeaseStore implements ComponentLeaseStore {
+
+    private final Stripe[] stripes;
+    private final AtomicLong tokens = new AtomicLong();
+
+    public LocalComponentLeaseStore(int stripes) {
+        this.stripes = new Stripe[Math.max(1, stripes)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public Either<Long, StorageOperationStatus> acquire(String lockId, long leaseTimeMillis) {
+        Stripe stripe = stripeOf(lockId);
+        synchronized (stripe) {
+            long now = System.nanoTime();
+            Lease current = stripe.leases.get(lockId);
+            if (current != null && current.expiresAtNanos - now > 0) {
+                return Either.right(StorageOperationStatus.FAILED_TO_LOCK_ELEMENT);
+            }
+            long token = tokens.incrementAndGet();
+            stripe.leases.put(lockId, new Lease(token, now + TimeUnit.MILLISECONDS.toNanos(leaseTimeMillis)));
+            return Either.left(token);
+        }
+    }
+
+    @Override
+    public StorageOperationStatus release(String lockId, long token) {
+        Stripe stripe = stripeOf(lockId);
+        synchronized (stripe) {
+            Lease current = stripe.leases.get(lockId);
+            if (current == null || current.token != token) {
+                return StorageOperationStatus.NOT_FOUND;
+            }
+            stripe.leases.remove(lockId);
+            return StorageOperationStatus.OK;
+        }
+    }
+
+    private Stripe stripeOf(String lockId) {
+        return stripes[Math.floorMod(lockId.hashCode(), stripes.length)];
+    }
+
+    private static class Stripe {
+        private final Map<String, Lease> leases = new HashMap<>();
+    }
+
+    private static class Lease {
+        private final long token;
+        private final long expiresAtNanos;
+
+        Lease(long token, long expiresAtNanos) {
+            this.token = token;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
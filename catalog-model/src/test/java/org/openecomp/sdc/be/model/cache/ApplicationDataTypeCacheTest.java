@@ -35,11 +35,17 @@ import org.openecomp.sdc.be.model.operations.impl.PropertyOperation;
 import org.openecomp.sdc.be.resources.data.DataTypeData;
 import org.openecomp.sdc.be.unittests.utils.ModelConfDependentTest;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 public class ApplicationDataTypeCacheTest extends ModelConfDependentTest{
 
 	@InjectMocks
@@ -145,28 +151,85 @@ public class ApplicationDataTypeCacheTest extends ModelConfDependentTest{
 	}
 	
 	@Test
-	public void testCompareDataTypes() throws Exception {
-		Map<String, ImmutablePair<Long, Long>> dataTypeNameToModificationTime = new HashMap<>();
-		Map<String, ImmutablePair<Long, Long>> currentDataTypeToModificationTime = new HashMap<>();
-		boolean result;
+	public void testRunSkipsUnchangedDataTypes() throws Exception {
+		mockInitialDataTypes();
+		testSubject.run();
+		testSubject.run();
 
-		// default test
-		result = Deencapsulation.invoke(testSubject, "compareDataTypes", dataTypeNameToModificationTime, currentDataTypeToModificationTime);
+		Mockito.verify(propertyOperation, Mockito.times(1)).getAllDataTypes();
+		Mockito.verify(propertyOperation, Mockito.never()).getAllDataTypeNodes();
+		assertEquals(2, testSubject.getAll().left().value().size());
 	}
 
 	@Test
-	public void testCompareDataTypes2() throws Exception {
-		Map<String, ImmutablePair<Long, Long>> dataTypeNameToModificationTime = new HashMap<>();
-		Map<String, ImmutablePair<Long, Long>> currentDataTypeToModificationTime = new HashMap<>();
-		boolean result;
-		
-		currentDataTypeToModificationTime.put("mock", ImmutablePair.of(1L, 2L));
-		dataTypeNameToModificationTime.put("mock", ImmutablePair.of(5L, 6L));
-		
-		// default test
-		result = Deencapsulation.invoke(testSubject, "compareDataTypes", dataTypeNameToModificationTime, currentDataTypeToModificationTime);
+	public void testRunReloadsOnlyChangedDataTypes() throws Exception {
+		mockInitialDataTypes();
+		testSubject.run();
+
+		DataTypeDefinition newRoot = dataType("root", null, 1L, 5L);
+		DataTypeDefinition newDerived = dataType("derived", "root", 1L, 1L);
+		DataTypeDefinition other = dataType("other", null, 3L, 3L);
+		Mockito.when(propertyOperation.getDataTypesModificationStamp()).thenReturn(Either.left(ImmutablePair.of(3L, 5L)));
+		Mockito.when(propertyOperation.getAllDataTypeNodes()).thenReturn(Either.left(Arrays.asList(
+				new DataTypeData(newRoot), new DataTypeData(newDerived), new DataTypeData(other))));
+		Mockito.when(propertyOperation.getDataTypeByUidWithoutDerivedDataTypes("root.uid")).thenReturn(Either.left(newRoot));
+		Mockito.when(propertyOperation.getDataTypeByUidWithoutDerivedDataTypes("derived.uid")).thenReturn(Either.left(newDerived));
+		Mockito.when(propertyOperation.getDataTypeByUidWithoutDerivedDataTypes("other.uid")).thenReturn(Either.left(other));
+		testSubject.run();
+
+		Map<String, DataTypeDefinition> dataTypes = testSubject.getAll().left().value();
+		Mockito.verify(propertyOperation, Mockito.times(1)).getAllDataTypes();
+		assertEquals(3, dataTypes.size());
+		assertSame(newRoot, dataTypes.get("root"));
+		assertSame(newRoot, dataTypes.get("derived").getDerivedFrom());
+		assertSame(other, testSubject.get("other.uid").left().value());
+		assertEquals(3L, testSubject.getMetrics().get("reloadedDataTypesCount"));
 	}
-	
+
+	@Test
+	public void testRunRemovesDeletedDataTypes() throws Exception {
+		mockInitialDataTypes();
+		testSubject.run();
+
+		Mockito.when(propertyOperation.getDataTypesModificationStamp()).thenReturn(Either.left(ImmutablePair.of(1L, 1L)));
+		Mockito.when(propertyOperation.getAllDataTypeNodes()).thenReturn(Either.left(Collections.singletonList(
+				new DataTypeData(dataType("root", null, 1L, 1L)))));
+		testSubject.run();
+
+		Map<String, DataTypeDefinition> dataTypes = testSubject.getAll().left().value();
+		assertEquals(1, dataTypes.size());
+		assertTrue(dataTypes.containsKey("root"));
+		Mockito.verify(propertyOperation, Mockito.never()).getDataTypeByUidWithoutDerivedDataTypes(Mockito.anyString());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetAllIsReadOnly() throws Exception {
+		mockInitialDataTypes();
+		testSubject.run();
+		testSubject.getAll().left().value().put("mock", new DataTypeDefinition());
+	}
+
+	private void mockInitialDataTypes() {
+		Map<String, DataTypeDefinition> dataTypes = new HashMap<>();
+		DataTypeDefinition root = dataType("root", null, 1L, 1L);
+		DataTypeDefinition derived = dataType("derived", "root", 1L, 1L);
+		derived.setDerivedFrom(root);
+		dataTypes.put(root.getName(), root);
+		dataTypes.put(derived.getName(), derived);
+		Mockito.when(propertyOperation.getDataTypesModificationStamp()).thenReturn(Either.left(ImmutablePair.of(2L, 1L)));
+		Mockito.when(propertyOperation.getAllDataTypes()).thenReturn(Either.left(dataTypes));
+	}
+
+	private DataTypeDefinition dataType(String name, String derivedFromName, Long creationTime, Long modificationTime) {
+		DataTypeDefinition dataType = new DataTypeDefinition();
+		dataType.setName(name);
+		dataType.setUniqueId(name + ".uid");
+		dataType.setDerivedFromName(derivedFromName);
+		dataType.setCreationTime(creationTime);
+		dataType.setModificationTime(modificationTime);
+		return dataType;
+	}
+
 	@Test
 	public void testReplaceAllData() throws Exception {
 		HashMap<String, DataTypeDefinition> a = new HashMap<>();
@@ -0,0 +1,222 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.cache;
+
+import fj.data.Either;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphClient;
+import org.openecomp.sdc.be.datatypes.enums.ComponentTypeEnum;
+import org.openecomp.sdc.be.datatypes.enums.ResourceTypeEnum;
+import org.openecomp.sdc.be.model.catalog.CatalogChanges;
+import org.openecomp.sdc.be.model.catalog.CatalogComponent;
+import org.openecomp.sdc.be.model.catalog.CatalogSnapshot;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+import org.openecomp.sdc.be.unittests.utils.ModelConfDependentTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CatalogSnapshotCacheTest extends ModelConfDependentTest {
+
+    private CatalogSnapshotCache testSubject;
+    private TestLoader loader;
+
+    @Before
+    public void initCache() {
+        testSubject = new CatalogSnapshotCache();
+        testSubject.init();
+        loader = new TestLoader();
+        loader.put(createComponent("vf1", "VF", 1L));
+        loader.put(createComponent("cp1", "CP", 1L));
+    }
+
+    @After
+    public void destroyCache() {
+        testSubject.destroy();
+    }
+
+    @Test
+    public void testSnapshotIsLoadedOnce() {
+        CatalogSnapshot snapshot = testSubject.getSnapshot(true, null, loader).left().value();
+        CatalogSnapshot again = testSubject.getSnapshot(true, null, loader).left().value();
+
+        assertEquals(2, snapshot.getComponents().size());
+        assertEquals(snapshot.getVersion(), again.getVersion());
+        assertEquals(1, loader.fullLoads);
+        assertEquals(0, loader.componentLoads);
+    }
+
+    @Test
+    public void testExcludeTypes() {
+        CatalogSnapshot snapshot = testSubject.getSnapshot(true, Collections.singletonList(ResourceTypeEnum.CP), loader).left().value();
+
+        assertEquals(1, snapshot.getComponents().size());
+        assertEquals("vf1", snapshot.getComponents().get(0).getUniqueId());
+    }
+
+    @Test
+    public void testOnlyChangedComponentsAreReadAgain() {
+        String version = testSubject.getSnapshot(true, null, loader).left().value().getVersion();
+        loader.put(createComponent("vf1", "VF", 2L));
+        loader.put(createComponent("vf2", "VF", 1L));
+        loader.components.remove("cp1");
+        testSubject.markChanged("vf1");
+        testSubject.markChanged("vf2");
+        testSubject.markChanged("cp1");
+
+        CatalogSnapshot snapshot = testSubject.getSnapshot(true, null, loader).left().value();
+
+        assertEquals(2, snapshot.getComponents().size());
+        assertNotEquals(version, snapshot.getVersion());
+        assertEquals(1, loader.fullLoads);
+        assertEquals(3, loader.componentLoads);
+
+        CatalogChanges changes = testSubject.getChangesSince(true, version, null, loader).left().value();
+        assertFalse(changes.isReloadRequired());
+        assertEquals(snapshot.getVersion(), changes.getVersion());
+        assertEquals(2, changes.getUpdated().size());
+        assertEquals(Collections.singletonList("cp1"), changes.getRemoved());
+    }
+
+    @Test
+    public void testUnchangedComponentKeepsVersion() {
+        String version = testSubject.getSnapshot(true, null, loader).left().value().getVersion();
+        testSubject.markChanged("vf1");
+
+        CatalogChanges changes = testSubject.getChangesSince(true, version, null, loader).left().value();
+
+        assertEquals(version, changes.getVersion());
+        assertTrue(changes.getUpdated().isEmpty());
+        assertTrue(changes.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void testComponentIsReadAgainOnlyAfterCommit() {
+        JanusGraphClient janusGraphClient = new JanusGraphClient();
+        testSubject.setJanusGraphClient(janusGraphClient);
+        String version = testSubject.getSnapshot(true, null, loader).left().value().getVersion();
+        loader.put(createComponent("vf1", "VF", 2L));
+        testSubject.markChanged("vf1");
+
+        assertEquals(version, testSubject.getSnapshot(true, null, loader).left().value().getVersion());
+        assertEquals(0, loader.componentLoads);
+
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+        CatalogSnapshot snapshot = testSubject.getSnapshot(true, null, loader).left().value();
+
+        assertNotEquals(version, snapshot.getVersion());
+        assertEquals(1, loader.componentLoads);
+
+        testSubject.getSnapshot(true, null, loader);
+        assertEquals(1, loader.componentLoads);
+    }
+
+    @Test
+    public void testRolledBackChangeIsNotRead() {
+        JanusGraphClient janusGraphClient = new JanusGraphClient();
+        testSubject.setJanusGraphClient(janusGraphClient);
+        String version = testSubject.getSnapshot(true, null, loader).left().value().getVersion();
+        testSubject.markChanged("vf1");
+        janusGraphClient.fireTransactionListeners(Transaction.Status.ROLLBACK);
+
+        assertEquals(version, testSubject.getSnapshot(true, null, loader).left().value().getVersion());
+        assertEquals(0, loader.componentLoads);
+    }
+
+    @Test
+    public void testFullReloadRunsOutsideTheRequest() {
+        String version = testSubject.getSnapshot(true, null, loader).left().value().getVersion();
+        loader.put(createComponent("vf2", "VF", 1L));
+
+        assertEquals(version, testSubject.getSnapshot(true, null, loader).left().value().getVersion());
+        assertEquals(1, loader.fullLoads);
+
+        testSubject.refreshAll();
+        CatalogSnapshot snapshot = testSubject.getSnapshot(true, null, loader).left().value();
+
+        assertEquals(2, loader.fullLoads);
+        assertEquals(3, snapshot.getComponents().size());
+        // the archive was never requested, so it is not reloaded
+        assertEquals(0, ((Map<?, ?>) testSubject.getMetrics().get("archive")).get("size"));
+    }
+
+    @Test
+    public void testUnknownVersionRequiresReload() {
+        testSubject.getSnapshot(true, null, loader);
+
+        assertTrue(testSubject.getChangesSince(true, "unknown-1", null, loader).left().value().isReloadRequired());
+        assertTrue(testSubject.getChangesSince(true, null, null, loader).left().value().isReloadRequired());
+    }
+
+    @Test
+    public void testLoadFailure() {
+        loader.failure = StorageOperationStatus.GENERAL_ERROR;
+
+        assertEquals(StorageOperationStatus.GENERAL_ERROR, testSubject.getSnapshot(true, null, loader).right().value());
+    }
+
+    private static CatalogComponent createComponent(String uniqueId, String resourceType, long lastUpdateDate) {
+        CatalogComponent component = new CatalogComponent();
+        component.setUniqueId(uniqueId);
+        component.setComponentType(ComponentTypeEnum.RESOURCE);
+        component.setResourceType(resourceType);
+        component.setLastUpdateDate(lastUpdateDate);
+        return component;
+    }
+
+    private static class TestLoader implements CatalogSnapshotCache.Loader {
+        private final Map<String, CatalogComponent> components = new HashMap<>();
+        private StorageOperationStatus failure;
+        private int fullLoads;
+        private int componentLoads;
+
+        void put(CatalogComponent component) {
+            components.put(component.getUniqueId(), component);
+        }
+
+        @Override
+        public Either<List<CatalogComponent>, StorageOperationStatus> loadAll(boolean isCatalog) {
+            if (failure != null) {
+                return Either.right(failure);
+            }
+            fullLoads++;
+            return Either.left(new ArrayList<>(components.values()));
+        }
+
+        @Override
+        public Either<CatalogComponent, StorageOperationStatus> load(String uniqueId, boolean isCatalog) {
+            componentLoads++;
+            CatalogComponent component = components.get(uniqueId);
+            return component != null ? Either.left(component) : Either.right(StorageOperationStatus.NOT_FOUND);
+        }
+    }
+}
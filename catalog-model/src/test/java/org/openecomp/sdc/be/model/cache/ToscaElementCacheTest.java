@@ -0,0 +1,189 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.cache;
+
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+import org.openecomp.sdc.be.dao.janusgraph.JanusGraphClient;
+import org.openecomp.sdc.be.dao.jsongraph.GraphVertex;
+import org.openecomp.sdc.be.dao.jsongraph.JanusGraphDao;
+import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.datatypes.elements.PropertyDataDefinition;
+import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
+import org.openecomp.sdc.be.datatypes.enums.JsonPresentationFields;
+import org.openecomp.sdc.be.model.ComponentParametersView;
+import org.openecomp.sdc.be.model.LifecycleStateEnum;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.TopologyTemplate;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElement;
+import org.openecomp.sdc.be.unittests.utils.ModelConfDependentTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ToscaElementCacheTest extends ModelConfDependentTest {
+
+    private static final String COMPONENT_ID = "componentId";
+
+    private ToscaElementCache testSubject;
+    private JanusGraphClient janusGraphClient;
+
+    @Before
+    public void initCache() {
+        janusGraphClient = new JanusGraphClient();
+        testSubject = new ToscaElementCache();
+        testSubject.setJanusGraphClient(janusGraphClient);
+        testSubject.init();
+    }
+
+    @Test
+    public void testGetUpToDate() {
+        ToscaElement toscaElement = createToscaElement(LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT);
+        ComponentParametersView view = new ComponentParametersView();
+        testSubject.put(createVertex(1L, LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT), view, toscaElement);
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+
+        TopologyTemplate cached = (TopologyTemplate) testSubject.get(createVertex(1L, LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT), new ComponentParametersView());
+        assertNotNull(cached);
+        assertNotSame(toscaElement, cached);
+        assertEquals("v1", cached.getProperties().get("prop1").getValue());
+        assertEquals(LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT, cached.getLifecycleState());
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT), new ComponentParametersView(true)));
+    }
+
+    @Test
+    public void testGetReturnsACopy() {
+        ComponentParametersView view = new ComponentParametersView();
+        testSubject.put(createVertex(1L, LifecycleStateEnum.CERTIFIED), view, createToscaElement(LifecycleStateEnum.CERTIFIED));
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+
+        TopologyTemplate first = (TopologyTemplate) testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view);
+        first.getProperties().get("prop1").setValue("changed");
+        first.getProperties().remove("prop1");
+        first.getMetadata().put("name", "changed");
+
+        TopologyTemplate second = (TopologyTemplate) testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view);
+        assertEquals("v1", second.getProperties().get("prop1").getValue());
+        assertEquals("vf", second.getMetadata().get("name"));
+    }
+
+    @Test
+    public void testGetOutdated() {
+        ComponentParametersView view = new ComponentParametersView();
+        testSubject.put(createVertex(1L, LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT), view, createToscaElement(LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT));
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+
+        assertNull(testSubject.get(createVertex(2L, LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT), view));
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.NOT_CERTIFIED_CHECKOUT), view));
+    }
+
+    @Test
+    public void testGetChecksStampAndEvict() {
+        ComponentParametersView view = new ComponentParametersView();
+        testSubject.put(createVertex(1L, LifecycleStateEnum.CERTIFIED), view, createToscaElement(LifecycleStateEnum.CERTIFIED));
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+
+        assertNotNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+        testSubject.evict(COMPONENT_ID);
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+
+        testSubject.put(createVertex(1L, LifecycleStateEnum.CERTIFIED), view, createToscaElement(LifecycleStateEnum.CERTIFIED));
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+        assertNull(testSubject.get(createVertex(2L, LifecycleStateEnum.CERTIFIED), view));
+    }
+
+    @Test
+    public void testRolledBackEntryIsNotCached() {
+        ComponentParametersView view = new ComponentParametersView();
+        testSubject.put(createVertex(1L, LifecycleStateEnum.CERTIFIED), view, createToscaElement(LifecycleStateEnum.CERTIFIED));
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+        janusGraphClient.fireTransactionListeners(Transaction.Status.ROLLBACK);
+
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+    }
+
+    @Test
+    public void testPendingChangesDoNotOutliveTheTransactionScope() {
+        ComponentParametersView view = new ComponentParametersView();
+        testSubject.put(createVertex(1L, LifecycleStateEnum.CERTIFIED), view, createToscaElement(LifecycleStateEnum.CERTIFIED));
+        testSubject.evict("otherId");
+        new JanusGraphDao(janusGraphClient).endTransactionScope();
+
+        // the next transaction of the thread starts with no pending changes of its own
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+        testSubject.put(createVertex(1L, LifecycleStateEnum.CERTIFIED), view, createToscaElement(LifecycleStateEnum.CERTIFIED));
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+        assertNotNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+    }
+
+    @Test
+    public void testEntryReadBeforeACommittedEvictionIsNotCached() throws Exception {
+        ComponentParametersView view = new ComponentParametersView();
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+        testSubject.put(createVertex(1L, LifecycleStateEnum.CERTIFIED), view, createToscaElement(LifecycleStateEnum.CERTIFIED));
+        CompletableFuture.runAsync(() -> {
+            testSubject.evict(COMPONENT_ID);
+            janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+        }).get();
+        janusGraphClient.fireTransactionListeners(Transaction.Status.COMMIT);
+
+        assertNull(testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), view));
+    }
+
+    @Test
+    public void testMetrics() {
+        assertTrue(testSubject.isEnabled());
+        testSubject.get(createVertex(1L, LifecycleStateEnum.CERTIFIED), new ComponentParametersView());
+        assertEquals(1L, testSubject.getMetrics().get("missCount"));
+    }
+
+    private GraphVertex createVertex(Long lastUpdateDate, LifecycleStateEnum state) {
+        GraphVertex vertex = new GraphVertex(VertexTypeEnum.TOPOLOGY_TEMPLATE);
+        vertex.setUniqueId(COMPONENT_ID);
+        vertex.addMetadataProperty(GraphPropertyEnum.STATE, state.name());
+        vertex.setJsonMetadataField(JsonPresentationFields.LAST_UPDATE_DATE, lastUpdateDate);
+        return vertex;
+    }
+
+    private ToscaElement createToscaElement(LifecycleStateEnum state) {
+        TopologyTemplate topologyTemplate = new TopologyTemplate();
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("name", "vf");
+        topologyTemplate.setMetadata(metadata);
+        topologyTemplate.setLifecycleState(state);
+        PropertyDataDefinition property = new PropertyDataDefinition();
+        property.setName("prop1");
+        property.setValue("v1");
+        Map<String, PropertyDataDefinition> properties = new HashMap<>();
+        properties.put("prop1", property);
+        topologyTemplate.setProperties(properties);
+        return topologyTemplate;
+    }
+}
@@ -33,6 +33,7 @@ import com.google.common.collect.Lists;
 import fj.data.Either;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.junit.Assert;
@@ -44,6 +45,7 @@ import org.openecomp.sdc.be.dao.janusgraph.JanusGraphOperationStatus;
 import org.openecomp.sdc.be.dao.jsongraph.GraphVertex;
 import org.openecomp.sdc.be.dao.jsongraph.JanusGraphDao;
 import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgePropertyEnum;
 import org.openecomp.sdc.be.dao.jsongraph.types.JsonParseFlagEnum;
 import org.openecomp.sdc.be.datatypes.elements.*;
 import org.openecomp.sdc.be.datatypes.enums.ResourceTypeEnum;
@@ -62,6 +64,7 @@ import java.util.Map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -350,6 +353,39 @@ public class NodeTemplateOperationTest extends ModelTestBase {
         relationInfo.setRelationships(relationshipImpl);
     }
 
+    @Test
+    public void testCreateInstanceEdgesCreatesOneEdgePerOrigin() {
+        JanusGraphDao dao = Mockito.mock(JanusGraphDao.class);
+        NodeTemplateOperation nodeTemplateOperation = new NodeTemplateOperation();
+        nodeTemplateOperation.setJanusGraphDao(dao);
+        GraphVertex containerVertex = new GraphVertex();
+        containerVertex.setUniqueId(COMPONENT_ID);
+        GraphVertex origin1 = new GraphVertex();
+        GraphVertex origin2 = new GraphVertex();
+        when(dao.getEdgeByChildrenVertexProperties(eq(containerVertex), eq(EdgeLabelEnum.INSTANCE_OF), any())).thenReturn(Either.right(JanusGraphOperationStatus.NOT_FOUND));
+        when(dao.getVertexById("origin1")).thenReturn(Either.left(origin1));
+        when(dao.getVertexById("origin2")).thenReturn(Either.left(origin2));
+        when(dao.createEdge(eq(containerVertex), any(GraphVertex.class), eq(EdgeLabelEnum.INSTANCE_OF), any())).thenReturn(JanusGraphOperationStatus.OK);
+
+        List<ComponentInstanceDataDefinition> instances = Lists.newArrayList(createInstanceOf("instance1", "origin1"),
+                createInstanceOf("instance2", "origin1"), createInstanceOf("instance3", "origin2"));
+        StorageOperationStatus result = nodeTemplateOperation.createInstanceEdges(containerVertex, instances);
+
+        assertEquals(StorageOperationStatus.OK, result);
+        ArgumentCaptor<Map> edgeProperties = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(dao).createEdge(eq(containerVertex), eq(origin1), eq(EdgeLabelEnum.INSTANCE_OF), edgeProperties.capture());
+        assertEquals(Lists.newArrayList("instance1", "instance2"), edgeProperties.getValue().get(EdgePropertyEnum.INSTANCES));
+        Mockito.verify(dao).createEdge(eq(containerVertex), eq(origin2), eq(EdgeLabelEnum.INSTANCE_OF), any());
+        Mockito.verify(dao, Mockito.times(2)).getEdgeByChildrenVertexProperties(any(), any(), any());
+    }
+
+    private ComponentInstanceDataDefinition createInstanceOf(String instanceId, String originId) {
+        ComponentInstanceDataDefinition instance = new ComponentInstanceDataDefinition();
+        instance.setUniqueId(instanceId);
+        instance.setComponentUid(originId);
+        return instance;
+    }
+
     private boolean isBelongingRequirement(RelationshipInfo relationshipInfo, RequirementDataDefinition req) {
         return  req.getRelationship().equals(relationshipInfo.getRelationship().getType()) &&
                 req.getName().equals(relationshipInfo.getRequirement()) &&
@@ -36,17 +36,21 @@ import org.openecomp.sdc.be.dao.jsongraph.JanusGraphDao;
 import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
 import org.openecomp.sdc.be.dao.jsongraph.types.JsonParseFlagEnum;
 import org.openecomp.sdc.be.dao.jsongraph.types.VertexTypeEnum;
+import org.openecomp.sdc.be.datatypes.elements.DataTypeDataDefinition;
 import org.openecomp.sdc.be.datatypes.elements.MapCapabilityProperty;
 import org.openecomp.sdc.be.datatypes.elements.MapListCapabilityDataDefinition;
 import org.openecomp.sdc.be.datatypes.elements.MapListRequirementDataDefinition;
+import org.openecomp.sdc.be.datatypes.elements.RequirementDataDefinition;
 import org.openecomp.sdc.be.datatypes.enums.GraphPropertyEnum;
 import org.openecomp.sdc.be.datatypes.enums.JsonPresentationFields;
+import org.openecomp.sdc.be.datatypes.tosca.ToscaDataDefinition;
 import org.openecomp.sdc.be.model.DistributionStatusEnum;
 import org.openecomp.sdc.be.model.PolicyDefinition;
 import org.openecomp.sdc.be.model.User;
 import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
 import org.openecomp.sdc.be.model.operations.impl.UniqueIdBuilder;
 import org.openecomp.sdc.be.model.ComponentParametersView;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.TopologyTemplate;
 import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElement;
 
 import java.util.*;
@@ -129,6 +133,65 @@ public class TopologyTemplateOperationTest {
         assertEquals(StorageOperationStatus.OK, result);
     }
 
+    @Test
+    public void testAssociateOrAddCalcCapReqToComponentWritesExistingDataVertexOnce() {
+        GraphVertex containerVertex = new GraphVertex();
+        containerVertex.setUniqueId(CONTAINER_ID);
+        GraphVertex requirementsVertex = createDataVertexOf(containerVertex, EdgeLabelEnum.CALCULATED_REQUIREMENTS, new HashMap<>());
+        GraphVertex fullfilledVertex = createDataVertexOf(containerVertex, EdgeLabelEnum.FULLFILLED_REQUIREMENTS, new HashMap<>());
+        when(janusGraphDao.getChildVertex(containerVertex, EdgeLabelEnum.CALCULATED_REQUIREMENTS, JsonParseFlagEnum.ParseJson)).thenReturn(Either.left(requirementsVertex));
+        when(janusGraphDao.getChildVertex(containerVertex, EdgeLabelEnum.FULLFILLED_REQUIREMENTS, JsonParseFlagEnum.ParseJson)).thenReturn(Either.left(fullfilledVertex));
+        when(janusGraphDao.updateVertex(requirementsVertex)).thenReturn(Either.left(requirementsVertex));
+        Map<String, MapListRequirementDataDefinition> calcRequirements = new HashMap<>();
+        calcRequirements.put("instance1", createRequirementsOf("req1"));
+        calcRequirements.put("instance2", createRequirementsOf("req2"));
+
+        StorageOperationStatus result = topologyTemplateOperation.associateOrAddCalcCapReqToComponent(containerVertex, calcRequirements, null, null);
+
+        assertEquals(StorageOperationStatus.OK, result);
+        assertThat(requirementsVertex.getJson()).containsOnlyKeys("instance1", "instance2");
+        Mockito.verify(janusGraphDao, Mockito.times(1)).updateVertex(any(GraphVertex.class));
+        Mockito.verify(janusGraphDao, Mockito.never()).getVertexById(any(String.class), any(JsonParseFlagEnum.class));
+    }
+
+    @Test
+    public void testAssociateOrAddCalcCapReqToComponentRejectsExistingInstance() {
+        GraphVertex containerVertex = new GraphVertex();
+        containerVertex.setUniqueId(CONTAINER_ID);
+        Map<String, MapListRequirementDataDefinition> existing = new HashMap<>();
+        existing.put("instance1", createRequirementsOf("req1"));
+        GraphVertex requirementsVertex = createDataVertexOf(containerVertex, EdgeLabelEnum.CALCULATED_REQUIREMENTS, existing);
+        when(janusGraphDao.getChildVertex(containerVertex, EdgeLabelEnum.CALCULATED_REQUIREMENTS, JsonParseFlagEnum.ParseJson)).thenReturn(Either.left(requirementsVertex));
+        Map<String, MapListRequirementDataDefinition> calcRequirements = new HashMap<>();
+        calcRequirements.put("instance1", createRequirementsOf("req2"));
+
+        StorageOperationStatus result = topologyTemplateOperation.associateOrAddCalcCapReqToComponent(containerVertex, calcRequirements, null, null);
+
+        assertEquals(StorageOperationStatus.ENTITY_ALREADY_EXISTS, result);
+        Mockito.verify(janusGraphDao, Mockito.never()).updateVertex(any(GraphVertex.class));
+    }
+
+    private GraphVertex createDataVertexOf(GraphVertex containerVertex, EdgeLabelEnum edgeLabel, Map<String, ? extends ToscaDataDefinition> json) {
+        JanusGraphVertex containerJanusGraphVertex = Mockito.mock(JanusGraphVertex.class);
+        Edge edge = Mockito.mock(Edge.class);
+        when(edge.outVertex()).thenReturn(containerJanusGraphVertex);
+        when(janusGraphDao.getProperty(containerJanusGraphVertex, GraphPropertyEnum.UNIQUE_ID.getProperty())).thenReturn(containerVertex.getUniqueId());
+        JanusGraphVertex dataJanusGraphVertex = Mockito.mock(JanusGraphVertex.class);
+        when(dataJanusGraphVertex.edges(Direction.IN, edgeLabel.name())).thenAnswer(invocation -> Collections.singletonList(edge).iterator());
+        GraphVertex dataVertex = new GraphVertex();
+        dataVertex.setVertex(dataJanusGraphVertex);
+        dataVertex.setJson(json);
+        return dataVertex;
+    }
+
+    private MapListRequirementDataDefinition createRequirementsOf(String requirementName) {
+        RequirementDataDefinition requirement = new RequirementDataDefinition();
+        requirement.setName(requirementName);
+        MapListRequirementDataDefinition requirements = new MapListRequirementDataDefinition();
+        requirements.add("tosca.capabilities.Node", requirement);
+        return requirements;
+    }
+
     @Test
     public void testSetDataTypesFromGraph() {
         GraphVertex containerVertex = new GraphVertex();
@@ -141,12 +204,43 @@ public class TopologyTemplateOperationTest {
         containerVertex.setJsonMetadataField(JsonPresentationFields.NAME, componentName);
         containerVertex.setUniqueId(componentId);
         containerVertex.setLabel(VertexTypeEnum.TOPOLOGY_TEMPLATE);
+        when(janusGraphDao.getChildrenVerticesByLabels(eq(containerVertex), any(), eq(JsonParseFlagEnum.ParseJson))).thenReturn(Either.right(
+            JanusGraphOperationStatus.GENERAL_ERROR));
         when(janusGraphDao.getChildVertex(any(GraphVertex.class), any(EdgeLabelEnum.class), any(JsonParseFlagEnum.class))).thenReturn(Either.right(
             JanusGraphOperationStatus.GENERAL_ERROR));
         Either<ToscaElement, StorageOperationStatus> storageOperationStatus = topologyTemplateOperation.getToscaElement(containerVertex, filter);
         assertThat(storageOperationStatus).isEqualTo(Either.right(StorageOperationStatus.GENERAL_ERROR));
     }
 
+    @Test
+    public void testGetToscaElementReadsOnlyPrefetchedDataVertices() {
+        GraphVertex containerVertex = new GraphVertex();
+        ComponentParametersView filter = new ComponentParametersView(true);
+        filter.setIgnoreComponentInstancesInterfaces(true);
+        filter.setIgnoreDataType(false);
+        filter.setIgnorePolicies(false);
+        containerVertex.setVertex(Mockito.mock(JanusGraphVertex.class));
+        containerVertex.setJsonMetadataField(JsonPresentationFields.NAME, "componentName");
+        containerVertex.setUniqueId(UniqueIdBuilder.buildResourceUniqueId());
+        containerVertex.setLabel(VertexTypeEnum.TOPOLOGY_TEMPLATE);
+        GraphVertex dataTypesVertex = new GraphVertex();
+        Map<String, DataTypeDataDefinition> dataTypes = new HashMap<>();
+        dataTypes.put("dataType", new DataTypeDataDefinition());
+        dataTypesVertex.setJson(dataTypes);
+        Map<EdgeLabelEnum, GraphVertex> children = new EnumMap<>(EdgeLabelEnum.class);
+        children.put(EdgeLabelEnum.DATA_TYPES, dataTypesVertex);
+        when(janusGraphDao.getChildrenVerticesByLabels(containerVertex, EnumSet.of(EdgeLabelEnum.DATA_TYPES, EdgeLabelEnum.POLICIES), JsonParseFlagEnum.ParseJson))
+            .thenReturn(Either.left(children));
+
+        Either<ToscaElement, StorageOperationStatus> result = topologyTemplateOperation.getToscaElement(containerVertex, filter);
+
+        assertThat(result.isLeft()).isTrue();
+        assertThat(((TopologyTemplate) result.left().value()).getDataTypes()).isEqualTo(dataTypes);
+        assertThat(((TopologyTemplate) result.left().value()).getPolicies()).isNull();
+        assertThat(containerVertex.isChildPrefetched(EdgeLabelEnum.DATA_TYPES)).isFalse();
+        Mockito.verify(janusGraphDao, Mockito.never()).getChildVertex(any(GraphVertex.class), any(EdgeLabelEnum.class), any(JsonParseFlagEnum.class));
+    }
+
     @Test
     public void testUpdateDistributionStatus() {
         Either<GraphVertex, StorageOperationStatus> result;
@@ -0,0 +1,85 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.jsonjanusgraph.utils;
+
+import org.junit.Test;
+import org.openecomp.sdc.be.dao.jsongraph.types.EdgeLabelEnum;
+import org.openecomp.sdc.be.model.ComponentParametersView;
+import org.openecomp.sdc.be.model.jsonjanusgraph.datamodel.ToscaElementTypeEnum;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComponentProjectionPlannerTest {
+
+    @Test
+    public void testIgnoredDataIsNotPlanned() {
+        ComponentParametersView view = new ComponentParametersView(true);
+        view.setIgnoreComponentInstancesInterfaces(true);
+        view.setIgnoreComponentInstancesProperties(false);
+        view.setIgnoreCapabilities(false);
+
+        ComponentProjection projection = ComponentProjectionPlanner.plan(ToscaElementTypeEnum.TOPOLOGY_TEMPLATE, view);
+
+        assertThat(projection.getEdgeLabels()).isEqualTo(EnumSet.of(EdgeLabelEnum.INST_PROPERTIES,
+                EdgeLabelEnum.CALCULATED_CAPABILITIES, EdgeLabelEnum.FULLFILLED_CAPABILITIES, EdgeLabelEnum.CAPABILITIES));
+    }
+
+    @Test
+    public void testNodeTypeProjection() {
+        ComponentParametersView view = new ComponentParametersView(true);
+        view.setIgnoreInterfaces(false);
+        view.setIgnoreComponentInstancesProperties(false);
+
+        ComponentProjection projection = ComponentProjectionPlanner.plan(ToscaElementTypeEnum.NODE_TYPE, view);
+
+        assertThat(projection.getEdgeLabels()).containsExactly(EdgeLabelEnum.INTERFACE_ARTIFACTS);
+    }
+
+    @Test
+    public void testFullViewPlansAllDataOfTopologyTemplate() {
+        ComponentProjection projection = ComponentProjectionPlanner.plan(ToscaElementTypeEnum.TOPOLOGY_TEMPLATE, new ComponentParametersView());
+
+        assertThat(projection.getEdgeLabels()).contains(EdgeLabelEnum.INST_PROPERTIES, EdgeLabelEnum.INST_INPUTS,
+                EdgeLabelEnum.CALCULATED_CAP_PROPERTIES, EdgeLabelEnum.INSTANCE_ARTIFACTS, EdgeLabelEnum.DATA_TYPES);
+    }
+
+    @Test
+    public void testProjectionIsSharedPerViewAndRecordsLoadTimes() {
+        ComponentParametersView view = new ComponentParametersView(true);
+        view.setIgnoreGroups(false);
+        ComponentProjection projection = ComponentProjectionPlanner.plan(ToscaElementTypeEnum.TOPOLOGY_TEMPLATE, view);
+        ComponentParametersView sameView = new ComponentParametersView(true);
+        sameView.setIgnoreGroups(false);
+
+        assertThat(ComponentProjectionPlanner.plan(ToscaElementTypeEnum.TOPOLOGY_TEMPLATE, sameView)).isSameAs(projection);
+
+        projection.recordLoadTime(3_000_000);
+        projection.recordLoadTime(1_000_000);
+        Map<String, Object> metrics = projection.getMetrics();
+        assertThat(metrics.get("count")).isEqualTo(2L);
+        assertThat(metrics.get("maxMs")).isEqualTo(3L);
+        assertThat(metrics.get("avgMs")).isEqualTo(2.0);
+        assertThat(ComponentProjectionPlanner.getMetrics()).containsKey(projection.getKey());
+    }
+}
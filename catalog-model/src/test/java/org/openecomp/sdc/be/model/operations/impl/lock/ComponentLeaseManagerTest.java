@@ -0,0 +1,99 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.operations.impl.lock;
+
+import org.junit.Test;
+import org.openecomp.sdc.be.datatypes.enums.NodeTypeEnum;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+
+public class ComponentLeaseManagerTest {
+
+    private final LocalComponentLeaseStore store = new LocalComponentLeaseStore(4);
+
+    @Test
+    public void testLockAndUnlock() {
+        ComponentLeaseManager testSubject = new ComponentLeaseManager(store, 60000, 0);
+        assertEquals(StorageOperationStatus.OK, testSubject.lock("a", NodeTypeEnum.Resource));
+        assertEquals(StorageOperationStatus.FAILED_TO_LOCK_ELEMENT, testSubject.lock("a", NodeTypeEnum.Resource));
+        assertEquals(StorageOperationStatus.OK, testSubject.unlock("a", NodeTypeEnum.Resource));
+        assertEquals(StorageOperationStatus.NOT_FOUND, testSubject.unlock("a", NodeTypeEnum.Resource));
+    }
+
+    @Test
+    public void testExpiredLeaseDoesNotReleaseLeaseTakenAfterIt() throws Exception {
+        ComponentLeaseManager testSubject = new ComponentLeaseManager(store, 20, 0);
+        assertEquals(StorageOperationStatus.OK, testSubject.lock("a", NodeTypeEnum.Resource));
+        Thread.sleep(40);
+        assertEquals(StorageOperationStatus.OK,
+                CompletableFuture.supplyAsync(() -> testSubject.lock("a", NodeTypeEnum.Resource)).get());
+
+        assertEquals(StorageOperationStatus.NOT_FOUND, testSubject.unlock("a", NodeTypeEnum.Resource));
+        assertEquals(StorageOperationStatus.FAILED_TO_LOCK_ELEMENT, store.acquire("a", 60000).right().value());
+        assertEquals(1, testSubject.getMetrics().get("held"));
+    }
+
+    @Test
+    public void testLockTakenByAnotherThreadIsReleased() throws Exception {
+        ComponentLeaseManager testSubject = new ComponentLeaseManager(store, 60000, 0);
+        assertEquals(StorageOperationStatus.OK,
+                CompletableFuture.supplyAsync(() -> testSubject.lock("a", NodeTypeEnum.Resource)).get());
+        assertEquals(StorageOperationStatus.OK, testSubject.unlock("a", NodeTypeEnum.Resource));
+        assertEquals(0, testSubject.getMetrics().get("held"));
+    }
+
+    @Test
+    public void testLockWaitsForRelease() throws Exception {
+        ComponentLeaseManager holder = new ComponentLeaseManager(store, 60000, 0);
+        ComponentLeaseManager waiter = new ComponentLeaseManager(store, 60000, 5000);
+        assertEquals(StorageOperationStatus.OK, holder.lock("a", NodeTypeEnum.Service));
+        CompletableFuture<StorageOperationStatus> waiting = CompletableFuture.supplyAsync(() -> waiter.lock("a", NodeTypeEnum.Service));
+        Thread.sleep(50);
+        assertEquals(StorageOperationStatus.OK, holder.unlock("a", NodeTypeEnum.Service));
+        assertEquals(StorageOperationStatus.OK, waiting.get());
+    }
+
+    @Test
+    public void testLockTimesOut() {
+        ComponentLeaseManager holder = new ComponentLeaseManager(store, 60000, 0);
+        ComponentLeaseManager waiter = new ComponentLeaseManager(store, 60000, 30);
+        holder.lock("a", NodeTypeEnum.Resource);
+        assertEquals(StorageOperationStatus.FAILED_TO_LOCK_ELEMENT, waiter.lock("a", NodeTypeEnum.Resource));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMetricsPerNodeType() {
+        ComponentLeaseManager testSubject = new ComponentLeaseManager(store, 60000, 0);
+        testSubject.lock("a", NodeTypeEnum.Resource);
+        testSubject.lock("a", NodeTypeEnum.Resource);
+        testSubject.unlock("a", NodeTypeEnum.Resource);
+        Map<String, Object> metrics = testSubject.getMetrics();
+        assertEquals(2L, ((Map<String, Object>) metrics.get("resource.waitMs")).get("count"));
+        assertEquals(1L, ((Map<String, Object>) metrics.get("resource.holdMs")).get("count"));
+        assertEquals(1L, metrics.get("resource.failed"));
+        assertEquals(0, metrics.get("held"));
+    }
+}
@@ -0,0 +1,59 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.be.model.operations.impl.lock;
+
+import fj.data.Either;
+import org.junit.Test;
+import org.openecomp.sdc.be.model.operations.api.StorageOperationStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LocalComponentLeaseStoreTest {
+
+    private final LocalComponentLeaseStore testSubject = new LocalComponentLeaseStore(4);
+
+    @Test
+    public void testAcquireHeldLock() {
+        assertTrue(testSubject.acquire("a", 60000).isLeft());
+        assertEquals(StorageOperationStatus.FAILED_TO_LOCK_ELEMENT, testSubject.acquire("a", 60000).right().value());
+        assertTrue(testSubject.acquire("b", 60000).isLeft());
+    }
+
+    @Test
+    public void testReleaseAndReacquireIncrementsToken() {
+        long first = testSubject.acquire("a", 60000).left().value();
+        assertEquals(StorageOperationStatus.OK, testSubject.release("a", first));
+        long second = testSubject.acquire("a", 60000).left().value();
+        assertTrue(second > first);
+    }
+
+    @Test
+    public void testExpiredLeaseIsTakenOverAndCannotBeReleased() throws Exception {
+        long expired = testSubject.acquire("a", 1).left().value();
+        Thread.sleep(5);
+        Either<Long, StorageOperationStatus> current = testSubject.acquire("a", 60000);
+        assertTrue(current.isLeft());
+        assertEquals(StorageOperationStatus.NOT_FOUND, testSubject.release("a", expired));
+        assertEquals(StorageOperationStatus.FAILED_TO_LOCK_ELEMENT, testSubject.acquire("a", 60000).right().value());
+        assertEquals(StorageOperationStatus.OK, testSubject.release("a", current.left().value()));
+    }
+}
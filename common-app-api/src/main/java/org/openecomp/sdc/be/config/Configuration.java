@@ -134,6 +134,20 @@ public class Configuration extends BasicConfiguration {
 
     private ToscaValidatorsConfig toscaValidators;
 
+    private ArtifactPrefetchConfig artifactPrefetch;
+
+    private ArtifactStorageConfig artifactStorage;
+
+    private ComponentLockConfig componentLock;
+
+    private ToscaExportConfig toscaExport;
+
+    private AuditPipelineConfig auditPipeline;
+
+    private ShardedInstanceDataConfig shardedInstanceData;
+
+    private CsarImportConfig csarImport;
+
     private boolean disableAudit;
 
     private Map<String, VfModuleProperty> vfModuleProperties;
@@ -1147,6 +1161,9 @@ public class Configuration extends BasicConfiguration {
     public static class ApplicationL1CacheConfig {
 
         private ApplicationL1CacheInfo datatypes;
+        private ApplicationL1CacheComponentsInfo components;
+        private ApplicationL1CacheComponentsInfo toscaTemplates;
+        private ApplicationL1CacheCatalogSnapshotInfo catalogSnapshot;
 
         public ApplicationL1CacheInfo getDatatypes() {
             return datatypes;
@@ -1156,9 +1173,34 @@ public class Configuration extends BasicConfiguration {
             this.datatypes = datatypes;
         }
 
+        public ApplicationL1CacheComponentsInfo getComponents() {
+            return components;
+        }
+
+        public void setComponents(ApplicationL1CacheComponentsInfo components) {
+            this.components = components;
+        }
+
+        public ApplicationL1CacheComponentsInfo getToscaTemplates() {
+            return toscaTemplates;
+        }
+
+        public void setToscaTemplates(ApplicationL1CacheComponentsInfo toscaTemplates) {
+            this.toscaTemplates = toscaTemplates;
+        }
+
+        public ApplicationL1CacheCatalogSnapshotInfo getCatalogSnapshot() {
+            return catalogSnapshot;
+        }
+
+        public void setCatalogSnapshot(ApplicationL1CacheCatalogSnapshotInfo catalogSnapshot) {
+            this.catalogSnapshot = catalogSnapshot;
+        }
+
         @Override
         public String toString() {
-            return "ApplicationL1CacheConfig [datatypes=" + datatypes + "]";
+            return "ApplicationL1CacheConfig [datatypes=" + datatypes + ", components=" + components
+                    + ", toscaTemplates=" + toscaTemplates + ", catalogSnapshot=" + catalogSnapshot + "]";
         }
 
     }
@@ -1220,6 +1262,253 @@ public class Configuration extends BasicConfiguration {
 
     }
 
+    public static class ArtifactPrefetchConfig {
+
+        private Integer maxInFlight;
+        private Integer maxInFlightBytesInMB;
+
+        public Integer getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(Integer maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public Integer getMaxInFlightBytesInMB() {
+            return maxInFlightBytesInMB;
+        }
+
+        public void setMaxInFlightBytesInMB(Integer maxInFlightBytesInMB) {
+            this.maxInFlightBytesInMB = maxInFlightBytesInMB;
+        }
+
+        @Override
+        public String toString() {
+            return "ArtifactPrefetchConfig [maxInFlight=" + maxInFlight + ", maxInFlightBytesInMB="
+                    + maxInFlightBytesInMB + "]";
+        }
+
+    }
+
+    public static class ToscaExportConfig {
+
+        private Integer dependencyResolverThreads;
+        private Integer parallelResolveThreshold;
+
+        public Integer getDependencyResolverThreads() {
+            return dependencyResolverThreads;
+        }
+
+        public void setDependencyResolverThreads(Integer dependencyResolverThreads) {
+            this.dependencyResolverThreads = dependencyResolverThreads;
+        }
+
+        public Integer getParallelResolveThreshold() {
+            return parallelResolveThreshold;
+        }
+
+        public void setParallelResolveThreshold(Integer parallelResolveThreshold) {
+            this.parallelResolveThreshold = parallelResolveThreshold;
+        }
+
+        @Override
+        public String toString() {
+            return "ToscaExportConfig [dependencyResolverThreads=" + dependencyResolverThreads
+                    + ", parallelResolveThreshold=" + parallelResolveThreshold + "]";
+        }
+
+    }
+
+    public static class AuditPipelineConfig {
+
+        private Boolean enabled;
+        private Integer queueSize;
+        private Integer batchSize;
+        private Integer flushIntervalInMs;
+        private String overflowPolicy;
+        private String journalDir;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(Integer queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public Integer getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(Integer batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Integer getFlushIntervalInMs() {
+            return flushIntervalInMs;
+        }
+
+        public void setFlushIntervalInMs(Integer flushIntervalInMs) {
+            this.flushIntervalInMs = flushIntervalInMs;
+        }
+
+        public String getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(String overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public String getJournalDir() {
+            return journalDir;
+        }
+
+        public void setJournalDir(String journalDir) {
+            this.journalDir = journalDir;
+        }
+
+        @Override
+        public String toString() {
+            return "AuditPipelineConfig [enabled=" + enabled + ", queueSize=" + queueSize + ", batchSize=" + batchSize
+                    + ", flushIntervalInMs=" + flushIntervalInMs + ", overflowPolicy=" + overflowPolicy
+                    + ", journalDir=" + journalDir + "]";
+        }
+
+    }
+
+    public static class ShardedInstanceDataConfig {
+
+        private Boolean enabled;
+        private List<String> vertexLabels;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getVertexLabels() {
+            return vertexLabels;
+        }
+
+        public void setVertexLabels(List<String> vertexLabels) {
+            this.vertexLabels = vertexLabels;
+        }
+
+        @Override
+        public String toString() {
+            return "ShardedInstanceDataConfig [enabled=" + enabled + ", vertexLabels=" + vertexLabels + "]";
+        }
+
+    }
+
+    public static class CsarImportConfig {
+
+        private Integer nodeTypeCreationThreads;
+
+        public Integer getNodeTypeCreationThreads() {
+            return nodeTypeCreationThreads;
+        }
+
+        public void setNodeTypeCreationThreads(Integer nodeTypeCreationThreads) {
+            this.nodeTypeCreationThreads = nodeTypeCreationThreads;
+        }
+
+        @Override
+        public String toString() {
+            return "CsarImportConfig [nodeTypeCreationThreads=" + nodeTypeCreationThreads + "]";
+        }
+
+    }
+
+    public static class ComponentLockConfig {
+
+        private String provider;
+        private Integer leaseTimeInSec;
+        private Integer acquireTimeoutInMs;
+        private Integer stripes;
+
+        public String getProvider() {
+            return provider;
+        }
+
+        public void setProvider(String provider) {
+            this.provider = provider;
+        }
+
+        public Integer getLeaseTimeInSec() {
+            return leaseTimeInSec;
+        }
+
+        public void setLeaseTimeInSec(Integer leaseTimeInSec) {
+            this.leaseTimeInSec = leaseTimeInSec;
+        }
+
+        public Integer getAcquireTimeoutInMs() {
+            return acquireTimeoutInMs;
+        }
+
+        public void setAcquireTimeoutInMs(Integer acquireTimeoutInMs) {
+            this.acquireTimeoutInMs = acquireTimeoutInMs;
+        }
+
+        public Integer getStripes() {
+            return stripes;
+        }
+
+        public void setStripes(Integer stripes) {
+            this.stripes = stripes;
+        }
+
+        @Override
+        public String toString() {
+            return "ComponentLockConfig [provider=" + provider + ", leaseTimeInSec=" + leaseTimeInSec
+                    + ", acquireTimeoutInMs=" + acquireTimeoutInMs + ", stripes=" + stripes + "]";
+        }
+
+    }
+
+    public static class ArtifactStorageConfig {
+
+        private Boolean contentAddressed;
+        private Integer chunkSizeInKB;
+
+        public Boolean getContentAddressed() {
+            return contentAddressed;
+        }
+
+        public void setContentAddressed(Boolean contentAddressed) {
+            this.contentAddressed = contentAddressed;
+        }
+
+        public Integer getChunkSizeInKB() {
+            return chunkSizeInKB;
+        }
+
+        public void setChunkSizeInKB(Integer chunkSizeInKB) {
+            this.chunkSizeInKB = chunkSizeInKB;
+        }
+
+        @Override
+        public String toString() {
+            return "ArtifactStorageConfig [contentAddressed=" + contentAddressed + ", chunkSizeInKB=" + chunkSizeInKB
+                    + "]";
+        }
+
+    }
+
     public static class ApplicationL1CacheInfo {
 
         private Boolean enabled;
@@ -1257,6 +1546,80 @@ public class Configuration extends BasicConfiguration {
         }
     }
 
+    public static class ApplicationL1CacheComponentsInfo {
+
+        private Boolean enabled;
+        private Long maxWeight;
+        private Integer expireAfterWriteInSec;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Long getMaxWeight() {
+            return maxWeight;
+        }
+
+        public void setMaxWeight(Long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        public Integer getExpireAfterWriteInSec() {
+            return expireAfterWriteInSec;
+        }
+
+        public void setExpireAfterWriteInSec(Integer expireAfterWriteInSec) {
+            this.expireAfterWriteInSec = expireAfterWriteInSec;
+        }
+
+        @Override
+        public String toString() {
+            return "ApplicationL1CacheComponentsInfo [enabled=" + enabled + ", maxWeight=" + maxWeight
+                    + ", expireAfterWriteInSec=" + expireAfterWriteInSec + "]";
+        }
+    }
+
+    public static class ApplicationL1CacheCatalogSnapshotInfo {
+
+        private Boolean enabled;
+        private Integer fullRefreshIntervalInSec;
+        private Integer maxChanges;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getFullRefreshIntervalInSec() {
+            return fullRefreshIntervalInSec;
+        }
+
+        public void setFullRefreshIntervalInSec(Integer fullRefreshIntervalInSec) {
+            this.fullRefreshIntervalInSec = fullRefreshIntervalInSec;
+        }
+
+        public Integer getMaxChanges() {
+            return maxChanges;
+        }
+
+        public void setMaxChanges(Integer maxChanges) {
+            this.maxChanges = maxChanges;
+        }
+
+        @Override
+        public String toString() {
+            return "ApplicationL1CacheCatalogSnapshotInfo [enabled=" + enabled + ", fullRefreshIntervalInSec="
+                    + fullRefreshIntervalInSec + ", maxChanges=" + maxChanges + "]";
+        }
+    }
+
     public static class ApplicationL1CacheCatalogInfo {
 
         private Boolean enabled;
@@ -1525,6 +1888,62 @@ public class Configuration extends BasicConfiguration {
         this.toscaValidators = toscaValidators;
     }
 
+    public ComponentLockConfig getComponentLock() {
+        return componentLock;
+    }
+
+    public void setComponentLock(ComponentLockConfig componentLock) {
+        this.componentLock = componentLock;
+    }
+
+    public ToscaExportConfig getToscaExport() {
+        return toscaExport;
+    }
+
+    public void setToscaExport(ToscaExportConfig toscaExport) {
+        this.toscaExport = toscaExport;
+    }
+
+    public AuditPipelineConfig getAuditPipeline() {
+        return auditPipeline;
+    }
+
+    public void setAuditPipeline(AuditPipelineConfig auditPipeline) {
+        this.auditPipeline = auditPipeline;
+    }
+
+    public ShardedInstanceDataConfig getShardedInstanceData() {
+        return shardedInstanceData;
+    }
+
+    public void setShardedInstanceData(ShardedInstanceDataConfig shardedInstanceData) {
+        this.shardedInstanceData = shardedInstanceData;
+    }
+
+    public CsarImportConfig getCsarImport() {
+        return csarImport;
+    }
+
+    public void setCsarImport(CsarImportConfig csarImport) {
+        this.csarImport = csarImport;
+    }
+
+    public ArtifactPrefetchConfig getArtifactPrefetch() {
+        return artifactPrefetch;
+    }
+
+    public void setArtifactPrefetch(ArtifactPrefetchConfig artifactPrefetch) {
+        this.artifactPrefetch = artifactPrefetch;
+    }
+
+    public ArtifactStorageConfig getArtifactStorage() {
+        return artifactStorage;
+    }
+
+    public void setArtifactStorage(ArtifactStorageConfig artifactStorage) {
+        this.artifactStorage = artifactStorage;
+    }
+
     public boolean isDisableAudit() {
         return disableAudit;
     }
@@ -402,6 +402,7 @@ public class DistributionEngineConfiguration extends BasicConfiguration {
         private Integer maxWaitingAfterSendingSeconds;
         private Integer maxThreadPoolSize;
         private Integer minThreadPoolSize;
+        private DistributionNotificationDispatchConfig dispatch;
 
         public Integer getMaxWaitingAfterSendingSeconds() {
             return maxWaitingAfterSendingSeconds;
@@ -427,12 +428,147 @@ public class DistributionEngineConfiguration extends BasicConfiguration {
             this.minThreadPoolSize = minThreadPoolSize;
         }
 
+        public DistributionNotificationDispatchConfig getDispatch() {
+            return dispatch;
+        }
+
+        public void setDispatch(DistributionNotificationDispatchConfig dispatch) {
+            this.dispatch = dispatch;
+        }
+
         @Override
         public String toString() {
             return "DistributionNotificationTopicConfig [maxWaitingAfterSendingSeconds=" + maxWaitingAfterSendingSeconds
-                    + ", maxThreadPoolSize=" + maxThreadPoolSize + ", minThreadPoolSize=" + minThreadPoolSize + "]";
+                    + ", maxThreadPoolSize=" + maxThreadPoolSize + ", minThreadPoolSize=" + minThreadPoolSize
+                    + ", dispatch=" + dispatch + "]";
+        }
+
+    }
+
+    /**
+     * Queued dispatch of the distribution notifications. When disabled, every notification is published on the
+     * thread of the request which activated the distribution.
+     */
+    public static class DistributionNotificationDispatchConfig {
+
+        private Boolean enabled;
+        private Boolean persistent;
+        private Boolean waitForPublish;
+        private Integer queueSize;
+        private Integer workerThreads;
+        private Integer batchSize;
+        private Integer flushIntervalInMs;
+        private Integer offerTimeoutInMs;
+        private Integer maxRetries;
+        private Integer retryIntervalInMs;
+        private Integer publishTimeoutInMs;
+        private Integer leaseInMs;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Boolean getPersistent() {
+            return persistent;
+        }
+
+        public void setPersistent(Boolean persistent) {
+            this.persistent = persistent;
+        }
+
+        public Boolean getWaitForPublish() {
+            return waitForPublish;
+        }
+
+        public void setWaitForPublish(Boolean waitForPublish) {
+            this.waitForPublish = waitForPublish;
+        }
+
+        public Integer getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(Integer queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public Integer getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public void setWorkerThreads(Integer workerThreads) {
+            this.workerThreads = workerThreads;
+        }
+
+        public Integer getBatchSize() {
+            return batchSize;
         }
 
+        public void setBatchSize(Integer batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Integer getFlushIntervalInMs() {
+            return flushIntervalInMs;
+        }
+
+        public void setFlushIntervalInMs(Integer flushIntervalInMs) {
+            this.flushIntervalInMs = flushIntervalInMs;
+        }
+
+        public Integer getOfferTimeoutInMs() {
+            return offerTimeoutInMs;
+        }
+
+        public void setOfferTimeoutInMs(Integer offerTimeoutInMs) {
+            this.offerTimeoutInMs = offerTimeoutInMs;
+        }
+
+        public Integer getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Integer getRetryIntervalInMs() {
+            return retryIntervalInMs;
+        }
+
+        public void setRetryIntervalInMs(Integer retryIntervalInMs) {
+            this.retryIntervalInMs = retryIntervalInMs;
+        }
+
+        public Integer getPublishTimeoutInMs() {
+            return publishTimeoutInMs;
+        }
+
+        public void setPublishTimeoutInMs(Integer publishTimeoutInMs) {
+            this.publishTimeoutInMs = publishTimeoutInMs;
+        }
+
+        public Integer getLeaseInMs() {
+            return leaseInMs;
+        }
+
+        public void setLeaseInMs(Integer leaseInMs) {
+            this.leaseInMs = leaseInMs;
+        }
+
+        @Override
+        public String toString() {
+            return "DistributionNotificationDispatchConfig [enabled=" + enabled + ", persistent=" + persistent
+                    + ", waitForPublish=" + waitForPublish + ", queueSize=" + queueSize + ", workerThreads="
+                    + workerThreads + ", batchSize=" + batchSize + ", flushIntervalInMs=" + flushIntervalInMs
+                    + ", offerTimeoutInMs=" + offerTimeoutInMs + ", maxRetries=" + maxRetries
+                    + ", retryIntervalInMs=" + retryIntervalInMs + ", publishTimeoutInMs=" + publishTimeoutInMs
+                    + ", leaseInMs=" + leaseInMs + "]";
+        }
     }
 
     public static class ComponentArtifactTypesConfig {
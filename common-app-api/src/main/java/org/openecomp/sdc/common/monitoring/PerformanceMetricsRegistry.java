@@ -0,0 +1,58 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.common.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Application wide registry of in-process performance metrics (cache hit ratios, queue depths, timings).
+ * Components register a supplier under a unique name, the supplier is invoked only when the metrics are read.
+ */
+public class PerformanceMetricsRegistry {
+
+    private static final PerformanceMetricsRegistry instance = new PerformanceMetricsRegistry();
+
+    private final Map<String, Supplier<Map<String, Object>>> sources = new ConcurrentSkipListMap<>();
+
+    private PerformanceMetricsRegistry() {
+    }
+
+    public static PerformanceMetricsRegistry getInstance() {
+        return instance;
+    }
+
+    public void register(String name, Supplier<Map<String, Object>> source) {
+        sources.put(name, source);
+    }
+
+    public void unregister(String name) {
+        sources.remove(name);
+    }
+
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        sources.forEach((name, source) -> metrics.put(name, source.get()));
+        return metrics;
+    }
+}
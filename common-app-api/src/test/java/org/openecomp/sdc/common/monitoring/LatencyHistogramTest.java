@@ -0,0 +1,55 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * SDC
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.sdc.common.monitoring;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram testSubject = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            testSubject.record(TimeUnit.MILLISECONDS.toNanos(3));
+        }
+        testSubject.record(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertEquals(100, testSubject.getCount());
+        assertEquals(4, testSubject.getPercentile(50));
+        assertEquals(4, testSubject.getPercentile(99));
+        assertEquals(1024, testSubject.getPercentile(100));
+        Map<String, Object> metrics = testSubject.getMetrics();
+        assertEquals(1000L, metrics.get("maxMs"));
+        assertEquals(12L, metrics.get("meanMs"));
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram testSubject = new LatencyHistogram();
+        assertEquals(0, testSubject.getPercentile(99));
+        assertEquals(0L, testSubject.getMetrics().get("meanMs"));
+    }
+}
@@ -57,7 +57,11 @@ public enum GraphPropertyEnum {
     ARCHIVE_TIME("archiveTime", Long.class, false, true),
 
     //Healing
-    HEALING_VERSION("healVersion", Integer.class, false, true);
+    HEALING_VERSION("healVersion", Integer.class, false, true),
+
+    //Sharded data
+    SHARDED("sharded", Boolean.class, false, false),
+    SHARD_KEY("shardKey", String.class, false, false);
 
     private String property;
     private Class clazz;
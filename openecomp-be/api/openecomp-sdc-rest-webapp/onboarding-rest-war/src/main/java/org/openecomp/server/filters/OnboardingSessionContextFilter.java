@@ -20,15 +20,31 @@
 
 package org.openecomp.server.filters;
 
+import org.openecomp.core.zusammen.api.ElementCacheScope;
 import org.openecomp.sdcrests.filters.SessionContextFilter;
 
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 
 import static org.openecomp.sdcrests.common.RestConstants.USER_ID_HEADER_PARAM;
 
 public class OnboardingSessionContextFilter extends SessionContextFilter {
 
+  /**
+   * Caches the zusammen elements read by a request until it completes.
+   */
+  @Override
+  public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse,
+                       FilterChain filterChain) throws IOException, ServletException {
+    try (ElementCacheScope ignored = ElementCacheScope.open()) {
+      super.doFilter(servletRequest, servletResponse, filterChain);
+    }
+  }
+
   @Override
   public String getUser(ServletRequest servletRequest) {
     return ((HttpServletRequest) servletRequest).getHeader(USER_ID_HEADER_PARAM);
@@ -17,7 +17,6 @@
 package org.openecomp.sdc.validation.util;
 
 import org.openecomp.core.utilities.file.FileContentHandler;
-import org.openecomp.core.utilities.file.FileUtils;
 import org.openecomp.core.validation.api.ValidationManager;
 import org.openecomp.core.validation.factory.ValidationManagerFactory;
 import org.openecomp.sdc.common.errors.Messages;
@@ -59,8 +58,9 @@ public class ValidationManagerUtil {
    */
   public static ValidationManager initValidationManager(FileContentHandler fileContentMap) {
     ValidationManager validationManager = ValidationManagerFactory.getInstance().createInterface();
-    fileContentMap.getFileList().forEach(fileName -> validationManager
-        .addFile(fileName, FileUtils.toByteArray(fileContentMap.getFileContent(fileName))));
+    validationManager.setParsedFileCache(fileContentMap.getParsedFileCache());
+    fileContentMap.getFileList()
+        .forEach(fileName -> validationManager.addFileFrom(fileName, fileContentMap));
     return validationManager;
   }
 }
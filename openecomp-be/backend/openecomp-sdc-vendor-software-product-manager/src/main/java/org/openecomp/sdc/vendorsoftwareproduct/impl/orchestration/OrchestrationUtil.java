@@ -108,9 +108,20 @@ public class OrchestrationUtil {
   public static Optional<FileContentHandler> getFileContentMap(OnboardingTypesEnum type,
                                                                UploadFileResponse uploadFileResponse,
                                                                byte[] uploadedFileData) {
+    return getFileContentMap(type, uploadFileResponse, uploadedFileData, new FileContentHandler());
+  }
+
+  /**
+   * Same as {@link #getFileContentMap(OnboardingTypesEnum, UploadFileResponse, byte[])}, extracting
+   * the files to the given handler.
+   */
+  public static Optional<FileContentHandler> getFileContentMap(OnboardingTypesEnum type,
+                                                               UploadFileResponse uploadFileResponse,
+                                                               byte[] uploadedFileData,
+                                                               FileContentHandler fileContent) {
     FileContentHandler contentMap = null;
     try {
-      contentMap = CommonUtil.validateAndUploadFileContent(type, uploadedFileData);
+      contentMap = CommonUtil.validateAndUploadFileContent(type, uploadedFileData, fileContent);
     } catch (IOException exception) {
       uploadFileResponse.addStructureError(
           SdcCommon.UPLOAD_FILE,
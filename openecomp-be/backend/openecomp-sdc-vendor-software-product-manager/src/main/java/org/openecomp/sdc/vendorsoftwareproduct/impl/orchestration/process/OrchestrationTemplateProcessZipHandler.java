@@ -18,8 +18,10 @@ package org.openecomp.sdc.vendorsoftwareproduct.impl.orchestration.process;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.onap.config.api.ConfigurationManager;
 import org.openecomp.core.translator.datatypes.TranslatorOutput;
 import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.core.utilities.file.SpillingFileContentHandler;
 import org.openecomp.core.utilities.json.JsonUtil;
 import org.openecomp.core.utilities.orchestration.OnboardingTypesEnum;
 import org.openecomp.core.validation.util.MessageContainerUtil;
@@ -29,6 +31,8 @@ import org.openecomp.sdc.datatypes.error.ErrorLevel;
 import org.openecomp.sdc.datatypes.error.ErrorMessage;
 import org.openecomp.sdc.heat.datatypes.structure.HeatStructureTree;
 import org.openecomp.sdc.heat.datatypes.structure.ValidationStructureList;
+import org.openecomp.sdc.logging.api.Logger;
+import org.openecomp.sdc.logging.api.LoggerFactory;
 import org.openecomp.sdc.tosca.datatypes.ToscaServiceModel;
 import org.openecomp.sdc.translator.services.heattotosca.HeatToToscaUtil;
 import org.openecomp.sdc.validation.util.ValidationManagerUtil;
@@ -36,6 +40,7 @@ import org.openecomp.sdc.vendorsoftwareproduct.dao.type.*;
 import org.openecomp.sdc.vendorsoftwareproduct.factory.CandidateServiceFactory;
 import org.openecomp.sdc.vendorsoftwareproduct.impl.orchestration.OrchestrationUtil;
 import org.openecomp.sdc.vendorsoftwareproduct.services.filedatastructuremodule.CandidateService;
+import org.openecomp.sdc.vendorsoftwareproduct.types.ConfigConstants;
 import org.openecomp.sdc.vendorsoftwareproduct.types.OrchestrationTemplateActionResponse;
 import org.openecomp.sdc.vendorsoftwareproduct.types.UploadFileResponse;
 import org.openecomp.sdc.vendorsoftwareproduct.types.candidateheat.FilesDataStructure;
@@ -45,21 +50,43 @@ import org.openecomp.sdc.versioning.dao.types.Version;
 import java.io.ByteArrayInputStream;
 import java.util.*;
 
+import static org.openecomp.sdc.vendorsoftwareproduct.impl.orchestration.OrchestrationUtil.ORCHESTRATION_CONFIG_NAMESPACE;
+
 public class OrchestrationTemplateProcessZipHandler implements OrchestrationTemplateProcessHandler {
 
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(OrchestrationTemplateProcessZipHandler.class);
+
   private final CandidateService candidateService =
       CandidateServiceFactory.getInstance().createInterface();
 
+  private final long memoryThreshold = getMemoryThreshold();
+
   @Override
   public OrchestrationTemplateActionResponse process(VspDetails vspDetails,
                                                      OrchestrationTemplateCandidateData candidateData) {
+    try (SpillingFileContentHandler files = new SpillingFileContentHandler(memoryThreshold)) {
+      OrchestrationTemplateActionResponse response = process(vspDetails, candidateData, files);
+      LOGGER.debug("Processed the files of VSP {} version {}, {}", vspDetails.getId(),
+          vspDetails.getVersion().getId(), files);
+      return response;
+    }
+  }
+
+  /**
+   * The files of the package are extracted to a handler which spills them to disk beyond the
+   * memory threshold, and are shared rather than copied by the validation and the translation.
+   */
+  private OrchestrationTemplateActionResponse process(VspDetails vspDetails,
+                                                      OrchestrationTemplateCandidateData candidateData,
+                                                      FileContentHandler files) {
     String vspId = vspDetails.getId();
     Version version = vspDetails.getVersion();
     OrchestrationTemplateActionResponse response = new OrchestrationTemplateActionResponse();
     UploadFileResponse uploadFileResponse = new UploadFileResponse();
     Optional<FileContentHandler> fileContent = OrchestrationUtil
         .getFileContentMap(OnboardingTypesEnum.ZIP, uploadFileResponse,
-            candidateData.getContentData().array());
+            candidateData.getContentData().array(), files);
     if (!fileContent.isPresent()) {
       response.addStructureErrors(uploadFileResponse.getErrors());
       return response;
@@ -116,6 +143,8 @@ public class OrchestrationTemplateProcessZipHandler implements OrchestrationTemp
 
     TranslatorOutput translatorOutput =
         HeatToToscaUtil.loadAndTranslateTemplateData(fileContentMap);
+    LOGGER.info("Validation and translation of VSP {} version {} {}", vspId, version.getId(),
+        fileContentMap.getParsedFileCache());
 
     ToscaServiceModel toscaServiceModel = translatorOutput.getToscaServiceModel();
     orchestrationUtil
@@ -131,6 +160,12 @@ public class OrchestrationTemplateProcessZipHandler implements OrchestrationTemp
     return response;
   }
 
+  private static long getMemoryThreshold() {
+    Integer thresholdMb = ConfigurationManager.lookup().getAsIntegerValue(
+        ORCHESTRATION_CONFIG_NAMESPACE, ConfigConstants.PROCESS_MEMORY_THRESHOLD_MB_KEY);
+    return thresholdMb == null ? Long.MAX_VALUE : thresholdMb * 1024L * 1024L;
+  }
+
   private Map<String, List<ErrorMessage>> getErrors(OrchestrationTemplateActionResponse
                                                         orchestrationTemplateActionResponse) {
     Map<String, List<ErrorMessage>> errors =
@@ -19,6 +19,7 @@ package org.openecomp.sdc.vendorsoftwareproduct.types;
 public class ConfigConstants {
   public static final String NAMESPACE = "Orchestration";
   public static final String PROCESS_IMPL_KEY =  "process_impl";
+  public static final String PROCESS_MEMORY_THRESHOLD_MB_KEY = "processMemoryThresholdMB";
 
   private ConfigConstants(){
 
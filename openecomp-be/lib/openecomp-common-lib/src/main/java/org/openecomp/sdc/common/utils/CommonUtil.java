@@ -26,7 +26,6 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.openecomp.core.utilities.file.FileContentHandler;
-import org.openecomp.core.utilities.file.FileUtils;
 import org.openecomp.core.utilities.orchestration.OnboardingTypesEnum;
 import org.openecomp.sdc.common.errors.CoreException;
 import org.openecomp.sdc.common.errors.ErrorCategory;
@@ -60,8 +59,19 @@ public class CommonUtil {
   public static FileContentHandler validateAndUploadFileContent(OnboardingTypesEnum type,
                                                                 byte[] uploadedFileData)
       throws IOException {
+    return validateAndUploadFileContent(type, uploadedFileData, new FileContentHandler());
+  }
+
+  /**
+   * Same as {@link #validateAndUploadFileContent(OnboardingTypesEnum, byte[])}, extracting the
+   * files to the given handler, e.g. one which spills large packages to disk.
+   */
+  public static FileContentHandler validateAndUploadFileContent(OnboardingTypesEnum type,
+                                                                byte[] uploadedFileData,
+                                                                FileContentHandler fileContent)
+      throws IOException {
     return getFileContentMapFromOrchestrationCandidateZipAndValidateNoFolders(type,
-        uploadedFileData);
+        uploadedFileData, fileContent);
   }
 
   /**
@@ -71,10 +81,10 @@ public class CommonUtil {
    * @return FileContentHandler if input is valid and has no folders
    */
   private static FileContentHandler getFileContentMapFromOrchestrationCandidateZipAndValidateNoFolders(
-      OnboardingTypesEnum type, byte[] uploadFileData)
+      OnboardingTypesEnum type, byte[] uploadFileData, FileContentHandler fileContent)
       throws IOException {
     Pair<FileContentHandler, List<String>> pair =
-        getFileContentMapFromOrchestrationCandidateZip(uploadFileData);
+        getFileContentMapFromOrchestrationCandidateZip(uploadFileData, fileContent);
 
     if (isFileOriginFromZip(type.toString())) {
       validateNoFolders(pair.getRight());
@@ -86,25 +96,36 @@ public class CommonUtil {
   public static Pair<FileContentHandler, List<String>> getFileContentMapFromOrchestrationCandidateZip(
       byte[] uploadFileData)
       throws IOException {
+    return getFileContentMapFromOrchestrationCandidateZip(uploadFileData, new FileContentHandler());
+  }
+
+  /**
+   * Extracts the files of a zip to the given handler. Each entry is streamed to the handler, so a
+   * handler which spills to disk does not hold the content of a large entry in memory.
+   *
+   * @param uploadFileData the zip
+   * @param mapFileContent the handler the files are added to
+   * @return the handler and the folders of the zip
+   */
+  public static Pair<FileContentHandler, List<String>> getFileContentMapFromOrchestrationCandidateZip(
+      byte[] uploadFileData, FileContentHandler mapFileContent)
+      throws IOException {
     ZipEntry zipEntry;
     List<String> folderList = new ArrayList<>();
-    FileContentHandler mapFileContent = new FileContentHandler();
     try (ByteArrayInputStream in = new ByteArrayInputStream(uploadFileData);
          ZipInputStream inputZipStream = new ZipInputStream(in)) {
-      byte[] fileByteContent;
       String currentEntryName;
 
       while ((zipEntry = inputZipStream.getNextEntry()) != null) {
         assertEntryNotVulnerable(zipEntry);
         currentEntryName = zipEntry.getName();
-        fileByteContent = FileUtils.toByteArray(inputZipStream);
 
         int index = lastIndexFileSeparatorIndex(currentEntryName);
         if (index != -1) {
           folderList.add(currentEntryName);
         }
         if (isFile(currentEntryName)) {
-          mapFileContent.addFile(currentEntryName, fileByteContent);
+          mapFileContent.addFile(currentEntryName, inputZipStream);
         }
       }
 
@@ -23,7 +23,14 @@ package org.openecomp.core.utilities.file;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -31,9 +38,18 @@ import java.util.function.Function;
 
 import org.apache.commons.collections4.MapUtils;
 
+/**
+ * Files of an onboarded package, by file name.
+ * <p>
+ * The content of a file is kept in heap, or in a file on disk when it was spilled by a
+ * {@link SpillingFileContentHandler}. Spilled files are read whenever their content is requested,
+ * and are shared without reading them when they are added to another handler.
+ */
 public class FileContentHandler {
 
     private Map<String, byte[]> files = new HashMap<>();
+    private final Map<String, Path> spilledFiles = new HashMap<>();
+    private ParsedFileCache parsedFileCache = new ParsedFileCache();
 
     /**
      * Gets file content.
@@ -43,6 +59,11 @@ public class FileContentHandler {
      */
     public InputStream getFileContent(String fileName) {
 
+        Path spilledFile = spilledFiles.get(fileName);
+        if (spilledFile != null) {
+            return getSpilledFileContent(fileName, spilledFile);
+        }
+
         byte[] content = files.get(fileName);
         if (content == null || content.length == 0) {
             return null;
@@ -70,55 +91,235 @@ public class FileContentHandler {
         }
     }
 
+    /**
+     * Gets the whole content of a file. The content of a file kept in heap is returned as is and must
+     * not be modified, the content of a spilled file is read.
+     *
+     * @param fileName the file name
+     * @return the file content, null if there is no such file
+     */
+    public byte[] getFileBytes(String fileName) {
+        Path spilledFile = spilledFiles.get(fileName);
+        if (spilledFile == null) {
+            return files.get(fileName);
+        }
+        try {
+            return Files.readAllBytes(spilledFile);
+        } catch (IOException e) {
+            throw new ProcessingException("Failed to read file: " + fileName, e);
+        }
+    }
+
+    /**
+     * Gets the size of a file without reading it.
+     *
+     * @param fileName the file name
+     * @return the size of the file in bytes, 0 if there is no such file
+     */
+    public long getFileSize(String fileName) {
+        Path spilledFile = spilledFiles.get(fileName);
+        if (spilledFile != null) {
+            try {
+                return Files.size(spilledFile);
+            } catch (IOException e) {
+                throw new ProcessingException("Failed to get the size of file: " + fileName, e);
+            }
+        }
+        byte[] content = files.get(fileName);
+        return content == null ? 0 : content.length;
+    }
+
+    /**
+     * Gets a file's content parsed to the given type. The file is parsed once as long as its content
+     * does not change, see {@link ParsedFileCache}.
+     *
+     * @param fileName name of a file inside this content handler
+     * @param type     the type to parse the content to
+     * @param parser   parses the content of the file
+     * @param <T>      the parsed type
+     * @return the parsed content, empty if the file has no content
+     */
+    public <T> Optional<T> getParsedFileContent(String fileName, Class<T> type, Function<InputStream, T> parser) {
+        Path spilledFile = spilledFiles.get(fileName);
+        if (spilledFile != null) {
+            // a spilled file does not change as long as it is held, it is matched without reading it
+            long size = getFileSize(fileName);
+            if (size == 0) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(parsedFileCache.get(fileName, spilledFile.toAbsolutePath() + ":" + size,
+                    () -> getFileContent(fileName), type, parser));
+        }
+        byte[] content = files.get(fileName);
+        if (content == null || content.length == 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(parsedFileCache.get(fileName, content, type, parser));
+    }
+
+    public ParsedFileCache getParsedFileCache() {
+        return parsedFileCache;
+    }
+
+    /**
+     * Shares the parsed content with other handlers of the same files, e.g. the ones the files are
+     * copied to for validation and translation.
+     */
+    public void setParsedFileCache(ParsedFileCache parsedFileCache) {
+        this.parsedFileCache = parsedFileCache;
+    }
+
     public void addFile(String fileName, byte[] content) {
-        files.put(fileName, content);
+        putFile(fileName, content);
     }
 
     public void addFile(String fileName, InputStream is) {
 
-        files.put(fileName, FileUtils.toByteArray(is));
+        addFile(fileName, FileUtils.toByteArray(is));
     }
 
+    /**
+     * Adds a file of another handler, sharing its content instead of copying it.
+     *
+     * @param fileName the file name
+     * @param source   the handler holding the file
+     */
+    public void addFileFrom(String fileName, FileContentHandler source) {
+        Path spilledFile = source.spilledFiles.get(fileName);
+        if (spilledFile != null) {
+            addSpilledFile(fileName, spilledFile);
+        } else {
+            putFile(fileName, source.files.get(fileName));
+        }
+    }
+
+    private void putFile(String fileName, byte[] content) {
+        spilledFiles.remove(fileName);
+        files.put(fileName, content);
+    }
+
+    /**
+     * Adds a file whose content was written to disk. The file must not change as long as it is held
+     * by a handler.
+     *
+     * @param fileName    the file name
+     * @param spilledFile the file holding the content
+     */
+    protected void addSpilledFile(String fileName, Path spilledFile) {
+        files.remove(fileName);
+        spilledFiles.put(fileName, spilledFile);
+    }
+
+    /**
+     * Gets the files by name. Spilled files are read when their entry is iterated over or looked up,
+     * in which case the returned map is read only.
+     *
+     * @return the files
+     */
     public Map<String, byte[]> getFiles() {
-        return files;
+        return spilledFiles.isEmpty() ? files : new FilesView();
     }
 
     public void setFiles(Map<String, byte[]> files) {
         this.files = files;
+        this.spilledFiles.clear();
     }
 
     public void setFiles(FileContentHandler extFiles) {
-        extFiles.getFileList().forEach(fileName -> this.addFile(fileName, extFiles.getFileContent(fileName)));
+        addAll(extFiles);
     }
 
     public Set<String> getFileList() {
-        return files.keySet();
+        if (spilledFiles.isEmpty()) {
+            return files.keySet();
+        }
+        Set<String> fileList = new LinkedHashSet<>(files.keySet());
+        fileList.addAll(spilledFiles.keySet());
+        return Collections.unmodifiableSet(fileList);
     }
 
     public void putAll(Map<String, byte[]> files) {
-        this.files = files;
+        setFiles(files);
     }
 
     public void addAll(FileContentHandler other) {
-        this.files.putAll(other.files);
+        other.getFileList().forEach(fileName -> addFileFrom(fileName, other));
     }
 
     public boolean isEmpty() {
-        return MapUtils.isEmpty(this.files);
+        return MapUtils.isEmpty(this.files) && spilledFiles.isEmpty();
     }
 
     public void remove(String fileName) {
         files.remove(fileName);
+        spilledFiles.remove(fileName);
     }
 
     public boolean containsFile(String fileName) {
-        return files.containsKey(fileName);
+        return files.containsKey(fileName) || spilledFiles.containsKey(fileName);
+    }
+
+    private static InputStream getSpilledFileContent(String fileName, Path spilledFile) {
+        try {
+            return Files.size(spilledFile) == 0 ? null : Files.newInputStream(spilledFile);
+        } catch (IOException e) {
+            throw new ProcessingException("Failed to read file: " + fileName, e);
+        }
+    }
+
+    /**
+     * Read only view of the files in heap and on disk, which reads a spilled file only when its
+     * content is requested.
+     */
+    private class FilesView extends AbstractMap<String, byte[]> {
+
+        @Override
+        public byte[] get(Object key) {
+            return key instanceof String ? getFileBytes((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && containsFile((String) key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return getFileList();
+        }
+
+        @Override
+        public Set<Entry<String, byte[]>> entrySet() {
+            return new AbstractSet<Entry<String, byte[]>>() {
+                @Override
+                public Iterator<Entry<String, byte[]>> iterator() {
+                    Iterator<String> fileNames = getFileList().iterator();
+                    return new Iterator<Entry<String, byte[]>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return fileNames.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, byte[]> next() {
+                            String fileName = fileNames.next();
+                            return new SimpleImmutableEntry<>(fileName, getFileBytes(fileName));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return files.size() + spilledFiles.size();
+                }
+            };
+        }
     }
 
     /**
      * An application-specific runtime exception
      */
-    private static class ProcessingException extends RuntimeException {
+    static class ProcessingException extends RuntimeException {
 
         public ProcessingException() {
             super();
@@ -0,0 +1,233 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.core.utilities.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Parsed content of the files of an onboarded package.
+ * <p>
+ * An entry is kept per file name and parsed type, and is valid as long as the content of the file
+ * has the same hash, so a file is parsed once even when its content is copied between the
+ * validation, the heat tree and the translation of the package. The cache does not keep the
+ * content of the files, and the content of a file kept apart from the heap is identified without
+ * reading it. The parsed content is shared by all the callers and must not be modified. A parse
+ * failure is kept as well and rethrown to every caller.
+ * <p>
+ * Thread safe, a file is parsed by a single thread while the other callers of the same file wait
+ * for it. The file is parsed out of the map, so other files are looked up and parsed meanwhile.
+ */
+public class ParsedFileCache {
+
+    private final Map<String, CompletableFuture<ParsedFile>> parsedFiles = new ConcurrentHashMap<>();
+    private final AtomicLong parseCount = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong parseTimeNanos = new AtomicLong();
+    private final AtomicLong savedTimeNanos = new AtomicLong();
+
+    /**
+     * Gets the content of a file parsed to the given type, parsing it if it was not parsed yet.
+     *
+     * @param fileName the file name
+     * @param content  the content of the file, not empty
+     * @param type     the type to parse the content to
+     * @param parser   parses the content of the file
+     * @param <T>      the parsed type
+     * @return the parsed content
+     */
+    public <T> T get(String fileName, byte[] content, Class<T> type, Function<InputStream, T> parser) {
+        String key = type.getName() + ':' + fileName;
+        ParsedFile parsedFile = get(key, current -> current.matches(content),
+                () -> parse(content, DigestUtils.sha256Hex(content), () -> new ByteArrayInputStream(content),
+                        parser));
+        if (!parsedFile.isRaw(content)) {
+            // later lookups of the same array are matched without hashing it
+            parsedFiles.computeIfPresent(key, (k, current) -> current.getNow(null) == parsedFile
+                    ? CompletableFuture.completedFuture(parsedFile.withRaw(content)) : current);
+        }
+        return get(parsedFile, type);
+    }
+
+    /**
+     * Gets the content of a file kept apart from the heap, e.g. a spilled file, parsed to the given
+     * type. The content is not read to look it up, it is identified by the given id instead.
+     *
+     * @param fileName  the file name
+     * @param contentId identifies the content, e.g. the path and the size of a file which does not
+     *                  change as long as it is held, changes whenever the content does
+     * @param content   opens the content of the file, not empty
+     * @param type      the type to parse the content to
+     * @param parser    parses the content of the file
+     * @param <T>       the parsed type
+     * @return the parsed content
+     */
+    public <T> T get(String fileName, String contentId, Supplier<InputStream> content, Class<T> type,
+            Function<InputStream, T> parser) {
+        ParsedFile parsedFile = get(type.getName() + ':' + fileName,
+                current -> current.version.equals(contentId), () -> parse(null, contentId, content, parser));
+        return get(parsedFile, type);
+    }
+
+    public void clear() {
+        parsedFiles.clear();
+    }
+
+    public int size() {
+        return parsedFiles.size();
+    }
+
+    public long getParseCount() {
+        return parseCount.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getParseTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(parseTimeNanos.get());
+    }
+
+    /**
+     * @return the time the hits would have spent parsing the files again
+     */
+    public long getSavedTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(savedTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "parsed " + getParseCount() + " files in " + getParseTimeMillis() + " ms, " + getHitCount()
+                       + " hits saved " + getSavedTimeMillis() + " ms";
+    }
+
+    /**
+     * Gets the entry of a file, waiting for the file to be parsed if it is being parsed. The entry is
+     * parsed by the caller which added it, or which replaced an entry of a previous content.
+     */
+    private ParsedFile get(String key, Predicate<ParsedFile> matches, Supplier<ParsedFile> parse) {
+        while (true) {
+            CompletableFuture<ParsedFile> parsing = new CompletableFuture<>();
+            CompletableFuture<ParsedFile> current = parsedFiles.computeIfAbsent(key, k -> parsing);
+            if (current == parsing) {
+                return parse(key, parsing, parse);
+            }
+            ParsedFile parsedFile = current.join();
+            if (matches.test(parsedFile)) {
+                return hit(parsedFile);
+            }
+            if (parsedFiles.replace(key, current, parsing)) {
+                return parse(key, parsing, parse);
+            }
+        }
+    }
+
+    private ParsedFile parse(String key, CompletableFuture<ParsedFile> parsing, Supplier<ParsedFile> parse) {
+        try {
+            ParsedFile parsedFile = parse.get();
+            parsing.complete(parsedFile);
+            return parsedFile;
+        } catch (RuntimeException | Error exception) {
+            parsedFiles.remove(key, parsing);
+            parsing.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    private static <T> T get(ParsedFile parsedFile, Class<T> type) {
+        if (parsedFile.failure != null) {
+            throw parsedFile.failure;
+        }
+        return type.cast(parsedFile.content);
+    }
+
+    private ParsedFile hit(ParsedFile parsedFile) {
+        hitCount.incrementAndGet();
+        savedTimeNanos.addAndGet(parsedFile.parseNanos);
+        return parsedFile;
+    }
+
+    /**
+     * @param raw     the content in heap, null if the content is kept apart from the heap
+     * @param version the hash of the content in heap, or the id of the content kept apart
+     */
+    private ParsedFile parse(byte[] raw, String version, Supplier<InputStream> content,
+            Function<InputStream, ?> parser) {
+        long start = System.nanoTime();
+        Object parsed = null;
+        RuntimeException failure = null;
+        try (InputStream input = content.get()) {
+            parsed = parser.apply(input);
+        } catch (IOException exception) {
+            failure = new UncheckedIOException(exception);
+        } catch (RuntimeException exception) {
+            failure = exception;
+        }
+        long parseNanos = System.nanoTime() - start;
+        parseCount.incrementAndGet();
+        parseTimeNanos.addAndGet(parseNanos);
+        return new ParsedFile(raw, version, parsed, failure, parseNanos);
+    }
+
+    private static class ParsedFile {
+
+        // the content is only compared by identity, it is not kept for the cache
+        private final WeakReference<byte[]> raw;
+        private final String version;
+        private final Object content;
+        private final RuntimeException failure;
+        private final long parseNanos;
+
+        ParsedFile(byte[] raw, String version, Object content, RuntimeException failure, long parseNanos) {
+            this.raw = raw == null ? null : new WeakReference<>(raw);
+            this.version = version;
+            this.content = content;
+            this.failure = failure;
+            this.parseNanos = parseNanos;
+        }
+
+        boolean isRaw(byte[] content) {
+            return raw != null && raw.get() == content;
+        }
+
+        /**
+         * The same array is matched without hashing it, which is the case for every file but the
+         * first lookup after the content was copied.
+         */
+        boolean matches(byte[] content) {
+            return isRaw(content) || version.equals(DigestUtils.sha256Hex(content));
+        }
+
+        ParsedFile withRaw(byte[] content) {
+            return new ParsedFile(content, version, this.content, failure, parseNanos);
+        }
+    }
+}
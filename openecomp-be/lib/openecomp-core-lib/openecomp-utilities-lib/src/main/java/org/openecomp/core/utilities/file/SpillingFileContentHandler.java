@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.core.utilities.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.openecomp.sdc.logging.api.Logger;
+import org.openecomp.sdc.logging.api.LoggerFactory;
+
+/**
+ * Files of an onboarded package which are kept in heap up to a threshold and written to a temporary
+ * directory beyond it, so a large package is validated and translated in bounded memory.
+ * <p>
+ * The threshold applies to the files added to this handler. A file added from a stream is read into
+ * heap only up to the remaining threshold, the rest of it is streamed to disk. A file which is
+ * replaced or removed no longer counts towards the threshold. Handlers the files are shared with
+ * read the spilled files from the same directory, which is deleted on {@link #close()}, so the
+ * handler is closed once the package was processed.
+ */
+public class SpillingFileContentHandler extends FileContentHandler implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillingFileContentHandler.class);
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long memoryThreshold;
+    private final Map<String, Integer> memorySizes = new HashMap<>();
+    private long memoryBytes;
+    private long spilledBytes;
+    private int spilledCount;
+    private Path spillDirectory;
+
+    /**
+     * @param memoryThreshold the number of bytes kept in heap before files are written to disk
+     */
+    public SpillingFileContentHandler(long memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    @Override
+    public void addFile(String fileName, byte[] content) {
+        release(fileName);
+        if (content != null && content.length > getRemainingMemory()) {
+            spill(fileName, new ByteArrayInputStream(content), new byte[0]);
+        } else {
+            super.addFile(fileName, content);
+            hold(fileName, content == null ? 0 : content.length);
+        }
+    }
+
+    @Override
+    public void addFile(String fileName, InputStream is) {
+        if (is == null) {
+            addFile(fileName, new byte[0]);
+            return;
+        }
+        release(fileName);
+        int limit = (int) Math.min(getRemainingMemory(), MAX_BUFFER_SIZE);
+        byte[] head;
+        try {
+            head = IOUtils.toByteArray(new BoundedInputStream(is, limit + 1L));
+        } catch (IOException e) {
+            throw new ProcessingException("Failed to read file: " + fileName, e);
+        }
+        if (head.length <= limit) {
+            super.addFile(fileName, head);
+            hold(fileName, head.length);
+        } else {
+            spill(fileName, is, head);
+        }
+    }
+
+    /**
+     * Adds a file of another handler, its content is shared with that handler and is not counted
+     * towards the threshold of this one.
+     */
+    @Override
+    public void addFileFrom(String fileName, FileContentHandler source) {
+        release(fileName);
+        super.addFileFrom(fileName, source);
+    }
+
+    @Override
+    public void setFiles(Map<String, byte[]> files) {
+        super.setFiles(files);
+        memorySizes.clear();
+        memoryBytes = 0;
+        if (files != null) {
+            files.forEach((fileName, content) -> hold(fileName, content == null ? 0 : content.length));
+        }
+    }
+
+    @Override
+    public void remove(String fileName) {
+        release(fileName);
+        super.remove(fileName);
+    }
+
+    public long getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    /**
+     * @return the number of bytes held in heap by the files of this handler
+     */
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * @return the number of bytes written to disk
+     */
+    public long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    public int getSpilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * Deletes the spilled files. Their content is no longer available from this handler or any
+     * handler they were shared with.
+     */
+    @Override
+    public void close() {
+        if (spillDirectory == null) {
+            return;
+        }
+        LOGGER.debug("Deleting {} files of {} bytes spilled to {}", spilledCount, spilledBytes, spillDirectory);
+        if (!org.apache.commons.io.FileUtils.deleteQuietly(spillDirectory.toFile())) {
+            LOGGER.warn("Failed to delete the spilled files directory {}", spillDirectory);
+        }
+        spillDirectory = null;
+    }
+
+    @Override
+    public String toString() {
+        return "kept " + memoryBytes + " bytes in memory, spilled " + spilledCount + " files of " + spilledBytes
+                       + " bytes";
+    }
+
+    private void hold(String fileName, int size) {
+        memorySizes.put(fileName, size);
+        memoryBytes += size;
+    }
+
+    private void release(String fileName) {
+        Integer size = memorySizes.remove(fileName);
+        if (size != null) {
+            memoryBytes -= size;
+        }
+    }
+
+    private long getRemainingMemory() {
+        return Math.max(0, memoryThreshold - memoryBytes);
+    }
+
+    /**
+     * The spilled file is named by a counter rather than by the file name, which may contain any path.
+     */
+    private void spill(String fileName, InputStream rest, byte[] head) {
+        try {
+            if (spillDirectory == null) {
+                spillDirectory = Files.createTempDirectory("onboarding");
+            }
+            Path spilledFile = spillDirectory.resolve(Integer.toString(++spilledCount));
+            try (OutputStream out = Files.newOutputStream(spilledFile)) {
+                out.write(head);
+                IOUtils.copyLarge(rest, out);
+            }
+            spilledBytes += Files.size(spilledFile);
+            addSpilledFile(fileName, spilledFile);
+        } catch (IOException e) {
+            throw new ProcessingException("Failed to spill file: " + fileName, e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.core.utilities.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Test;
+
+public class ParsedFileCacheTest {
+
+    private static final String FILE_NAME = "base.yaml";
+    private static final byte[] CONTENT = "heat_template_version: 2013-05-23".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+    private final Function<InputStream, String> parser = content -> {
+        parseCount.incrementAndGet();
+        return new String(FileUtils.toByteArray(content), StandardCharsets.UTF_8);
+    };
+
+    @Test
+    public void testParsedOnceForCopiedContent() {
+        ParsedFileCache cache = new ParsedFileCache();
+        FileContentHandler validationFiles = new FileContentHandler();
+        validationFiles.setParsedFileCache(cache);
+        validationFiles.addFile(FILE_NAME, CONTENT);
+        FileContentHandler translationFiles = new FileContentHandler();
+        translationFiles.setParsedFileCache(cache);
+        translationFiles.addFile(FILE_NAME, CONTENT.clone());
+
+        Optional<String> parsed = validationFiles.getParsedFileContent(FILE_NAME, String.class, parser);
+        assertSame(parsed.get(), validationFiles.getParsedFileContent(FILE_NAME, String.class, parser).get());
+        assertSame(parsed.get(), translationFiles.getParsedFileContent(FILE_NAME, String.class, parser).get());
+
+        assertEquals(1, parseCount.get());
+        assertEquals(1, cache.getParseCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testParsedAgainWhenContentChanges() {
+        FileContentHandler files = new FileContentHandler();
+        files.addFile(FILE_NAME, CONTENT);
+        assertEquals(new String(CONTENT, StandardCharsets.UTF_8),
+                files.getParsedFileContent(FILE_NAME, String.class, parser).get());
+
+        files.addFile(FILE_NAME, "changed".getBytes(StandardCharsets.UTF_8));
+        assertEquals("changed", files.getParsedFileContent(FILE_NAME, String.class, parser).get());
+        assertEquals(2, parseCount.get());
+        assertEquals(1, files.getParsedFileCache().size());
+    }
+
+    @Test
+    public void testParseFailureRethrown() {
+        ParsedFileCache cache = new ParsedFileCache();
+        IllegalStateException failure = new IllegalStateException("invalid yaml");
+        Function<InputStream, String> failingParser = content -> {
+            parseCount.incrementAndGet();
+            throw failure;
+        };
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                cache.get(FILE_NAME, CONTENT, String.class, failingParser);
+                fail("Expected the parse failure");
+            } catch (IllegalStateException exception) {
+                assertSame(failure, exception);
+            }
+        }
+        assertEquals(1, parseCount.get());
+    }
+
+    @Test
+    public void testEmptyFileNotParsed() {
+        FileContentHandler files = new FileContentHandler();
+        files.addFile(FILE_NAME, new byte[0]);
+        assertFalse(files.getParsedFileContent(FILE_NAME, String.class, parser).isPresent());
+        assertFalse(files.getParsedFileContent("missing.yaml", String.class, parser).isPresent());
+        assertEquals(0, parseCount.get());
+    }
+
+    @Test(timeout = 5000)
+    public void testConcurrentCallersWaitForSingleParse() throws Exception {
+        ParsedFileCache cache = new ParsedFileCache();
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<InputStream, String> blockingParser = content -> {
+            parsing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return parser.apply(content);
+        };
+        CompletableFuture<String> first =
+                CompletableFuture.supplyAsync(() -> cache.get(FILE_NAME, CONTENT, String.class, blockingParser));
+        parsing.await();
+        CompletableFuture<String> second =
+                CompletableFuture.supplyAsync(() -> cache.get(FILE_NAME, CONTENT.clone(), String.class, parser));
+
+        // other files are parsed while the first one is being parsed
+        assertEquals("other", cache.get("other.yaml", "other".getBytes(StandardCharsets.UTF_8), String.class, parser));
+        release.countDown();
+        assertSame(first.get(1, TimeUnit.SECONDS), second.get(1, TimeUnit.SECONDS));
+        assertEquals(2, parseCount.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testParserMayLookUpOtherFiles() {
+        ParsedFileCache cache = new ParsedFileCache();
+        Function<InputStream, String> nestedParser = content -> parser.apply(content) + "+"
+                + cache.get("nested.yaml", "nested".getBytes(StandardCharsets.UTF_8), String.class, parser);
+        assertEquals("heat_template_version: 2013-05-23+nested",
+                cache.get(FILE_NAME, CONTENT, String.class, nestedParser));
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.core.utilities.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.Test;
+
+public class SpillingFileContentHandlerTest {
+
+    private static final byte[] SMALL = "heat_template_version: 2013-05-23".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LARGE = new byte[1000];
+
+    static {
+        Arrays.fill(LARGE, (byte) 'x');
+    }
+
+    @Test
+    public void testFilesBeyondThresholdSpilled() {
+        try (SpillingFileContentHandler files = new SpillingFileContentHandler(100)) {
+            files.addFile("base.yaml", SMALL);
+            files.addFile("image.qcow2", LARGE);
+            files.addFile("empty.env", new byte[0]);
+
+            assertEquals(1, files.getSpilledCount());
+            assertEquals(SMALL.length, files.getMemoryBytes());
+            assertEquals(LARGE.length, files.getSpilledBytes());
+            assertEquals(LARGE.length, files.getFileSize("image.qcow2"));
+            assertArrayEquals(LARGE, FileUtils.toByteArray(files.getFileContent("image.qcow2")));
+            assertArrayEquals(SMALL, files.getFileBytes("base.yaml"));
+            assertNull(files.getFileContent("empty.env"));
+            assertEquals(new HashSet<>(Arrays.asList("base.yaml", "image.qcow2", "empty.env")), files.getFileList());
+
+            Map<String, byte[]> view = files.getFiles();
+            assertEquals(3, view.size());
+            assertArrayEquals(LARGE, view.get("image.qcow2"));
+            assertTrue(view.containsKey("base.yaml"));
+        }
+    }
+
+    @Test
+    public void testStreamSpilledBeyondRemainingThreshold() {
+        try (SpillingFileContentHandler files = new SpillingFileContentHandler(SMALL.length + 10)) {
+            files.addFile("base.yaml", new ByteArrayInputStream(SMALL));
+            files.addFile("image.qcow2", new ByteArrayInputStream(LARGE));
+            files.addFile("missing.env", (InputStream) null);
+
+            assertEquals(1, files.getSpilledCount());
+            assertArrayEquals(SMALL, files.getFileBytes("base.yaml"));
+            assertArrayEquals(LARGE, files.getFileBytes("image.qcow2"));
+            assertEquals(0, files.getFileSize("missing.env"));
+        }
+    }
+
+    @Test
+    public void testSpilledFilesSharedUntilClosed() {
+        FileContentHandler shared = new FileContentHandler();
+        SpillingFileContentHandler files = new SpillingFileContentHandler(0);
+        files.addFile("base.yaml", SMALL);
+        shared.addAll(files);
+
+        assertArrayEquals(SMALL, FileUtils.toByteArray(shared.getFileContent("base.yaml")));
+        assertEquals("heat_template_version: 2013-05-23",
+                shared.getParsedFileContent("base.yaml", String.class,
+                        content -> new String(FileUtils.toByteArray(content), StandardCharsets.UTF_8)).get());
+
+        files.close();
+        assertTrue(shared.containsFile("base.yaml"));
+        try {
+            shared.getFileContent("base.yaml");
+            fail("Expected the spilled file to be deleted");
+        } catch (FileContentHandler.ProcessingException expected) {
+            // the spilled file was deleted
+        }
+    }
+
+    @Test
+    public void testSpilledFileParsedFromDisk() {
+        ParsedFileCache cache = new ParsedFileCache();
+        try (SpillingFileContentHandler files = new SpillingFileContentHandler(0)) {
+            files.setParsedFileCache(cache);
+            files.addFile("base.yaml", SMALL);
+            FileContentHandler shared = new FileContentHandler();
+            shared.setParsedFileCache(cache);
+            shared.addAll(files);
+            Function<InputStream, String> parser = content -> {
+                assertFalse(content instanceof ByteArrayInputStream);
+                return new String(FileUtils.toByteArray(content), StandardCharsets.UTF_8);
+            };
+
+            assertEquals("heat_template_version: 2013-05-23",
+                    files.getParsedFileContent("base.yaml", String.class, parser).get());
+            assertEquals("heat_template_version: 2013-05-23",
+                    shared.getParsedFileContent("base.yaml", String.class, parser).get());
+            assertEquals(1, cache.getParseCount());
+            assertEquals(1, cache.getHitCount());
+        }
+    }
+
+    @Test
+    public void testFileReplacedInHeap() {
+        try (SpillingFileContentHandler files = new SpillingFileContentHandler(100)) {
+            files.addFile("image.qcow2", LARGE);
+            files.addFile("image.qcow2", SMALL);
+
+            assertArrayEquals(SMALL, files.getFileBytes("image.qcow2"));
+            assertEquals(1, files.getFileList().size());
+            assertEquals(SMALL.length, files.getMemoryBytes());
+            files.remove("image.qcow2");
+            assertFalse(files.containsFile("image.qcow2"));
+            assertTrue(files.isEmpty());
+            assertEquals(0, files.getMemoryBytes());
+        }
+    }
+
+    @Test
+    public void testReplacedAndRemovedFilesReleaseThreshold() {
+        try (SpillingFileContentHandler files = new SpillingFileContentHandler(SMALL.length)) {
+            files.addFile("base.yaml", SMALL);
+            files.addFile("base.yaml", new ByteArrayInputStream(SMALL));
+            assertEquals(SMALL.length, files.getMemoryBytes());
+
+            files.remove("base.yaml");
+            files.addFile("other.yaml", SMALL);
+
+            assertEquals(0, files.getSpilledCount());
+            assertEquals(SMALL.length, files.getMemoryBytes());
+        }
+    }
+
+    @Test
+    public void testSetFilesResetsThreshold() {
+        try (SpillingFileContentHandler files = new SpillingFileContentHandler(100)) {
+            files.addFile("base.yaml", SMALL);
+            files.putAll(Collections.singletonMap("image.qcow2", LARGE));
+
+            assertEquals(LARGE.length, files.getMemoryBytes());
+            files.addFile("base.yaml", SMALL);
+            assertEquals(1, files.getSpilledCount());
+        }
+    }
+}
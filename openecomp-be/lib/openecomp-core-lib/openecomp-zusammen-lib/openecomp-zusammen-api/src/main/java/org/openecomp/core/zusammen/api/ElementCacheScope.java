@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.core.zusammen.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.openecomp.sdc.logging.api.Logger;
+import org.openecomp.sdc.logging.api.LoggerFactory;
+import org.openecomp.sdc.logging.api.MetricsData;
+import org.openecomp.sdc.logging.api.StatusCode;
+
+/**
+ * Caches the element reads of the zusammen adaptor on the current thread, from the time the scope
+ * is opened until it is closed - typically for the duration of a single request.
+ * <p>
+ * Reads are cached per user, item, version and revision, and the whole cache is dropped on any
+ * write through the adaptor. When no scope is open on the thread, nothing is cached.
+ * <p>
+ * When the scope is closed, its hits and round trips to zusammen are written to the metrics log.
+ */
+public class ElementCacheScope implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ElementCacheScope.class);
+  private static final ThreadLocal<ElementCacheScope> CURRENT = new ThreadLocal<>();
+  private static final String METRICS_TARGET_ENTITY = "zusammen";
+  private static final String METRICS_TARGET_VIRTUAL_ENTITY = "element cache scope";
+
+  private final Map<Object, Object> reads = new HashMap<>();
+  private final long openedAt = System.currentTimeMillis();
+  private int openings = 1;
+  private long hits;
+  private long roundTrips;
+
+  private ElementCacheScope() {
+  }
+
+  /**
+   * Opens a scope on the current thread, or joins the scope which is already open on it.
+   *
+   * @return the scope, to be closed by the caller
+   */
+  public static ElementCacheScope open() {
+    ElementCacheScope scope = CURRENT.get();
+    if (scope == null) {
+      CURRENT.set(new ElementCacheScope());
+    } else {
+      scope.openings++;
+    }
+    return CURRENT.get();
+  }
+
+  public static Optional<ElementCacheScope> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Gets a cached read, or reads it and caches the result, null included.
+   *
+   * @param key    identifies the read
+   * @param reader reads from zusammen
+   * @param <T>    the read result type
+   * @return the result of the read
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Supplier<T> reader) {
+    if (reads.containsKey(key)) {
+      hits++;
+      return (T) reads.get(key);
+    }
+    roundTrips++;
+    T result = reader.get();
+    reads.put(key, result);
+    return result;
+  }
+
+  /**
+   * @return whether the read is cached, reading it through {@link #get(Object, Supplier)} is a hit
+   */
+  public boolean contains(Object key) {
+    return reads.containsKey(key);
+  }
+
+  public void invalidate() {
+    reads.clear();
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getRoundTrips() {
+    return roundTrips;
+  }
+
+  /**
+   * @return the share of the reads which were served from the cache, 0 when nothing was read
+   */
+  public double getHitRate() {
+    long total = hits + roundTrips;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  @Override
+  public void close() {
+    if (--openings > 0) {
+      return;
+    }
+    CURRENT.remove();
+    LOGGER.debug("Element cache scope closed with {} hits and {} round trips to zusammen", hits,
+        roundTrips);
+    if (LOGGER.isMetricsEnabled()) {
+      LOGGER.metrics(MetricsData.builder()
+          .startTime(openedAt)
+          .endTime(System.currentTimeMillis())
+          .statusCode(StatusCode.COMPLETE)
+          .targetEntity(METRICS_TARGET_ENTITY)
+          .targetVirtualEntity(METRICS_TARGET_VIRTUAL_ENTITY)
+          .responseDescription(String.format("hits=%d roundTrips=%d hitRate=%.3f", hits, roundTrips,
+              getHitRate()))
+          .build());
+    }
+  }
+}
@@ -73,6 +73,20 @@ public interface ZusammenAdaptor {
   Optional<Element> getElement(SessionContext context, ElementContext elementContext,
                                String elementId); // TODO: 4/3/2017 change to Id
 
+  /**
+   * Gets the elements of elementIds, reading each distinct element once and the elements which are
+   * not cached concurrently. Elements which do not exist are skipped.
+   */
+  Collection<Element> getElements(SessionContext context, ElementContext elementContext,
+                                  Collection<Id> elementIds);
+
+  /**
+   * Gets an element with its sub elements, down to depth levels below it. Depth 0 gets the element
+   * alone. The elements of each level are read concurrently.
+   */
+  Optional<Element> getElementTree(SessionContext context, ElementContext elementContext,
+                                   Id elementId, int depth);
+
   Optional<Element> getElementByName(SessionContext context, ElementContext elementContext,
                                      Id parentElementId, String elementName);
 
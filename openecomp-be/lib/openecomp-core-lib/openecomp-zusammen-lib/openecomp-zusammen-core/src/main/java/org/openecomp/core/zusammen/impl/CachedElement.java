@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.core.zusammen.impl;
+
+import com.amdocs.zusammen.adaptor.inbound.api.types.item.Element;
+import com.amdocs.zusammen.adaptor.inbound.api.types.item.ElementInfo;
+import com.amdocs.zusammen.adaptor.inbound.api.types.item.ZusammenElement;
+import com.amdocs.zusammen.datatypes.item.Info;
+import com.amdocs.zusammen.datatypes.item.Relation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.openecomp.core.utilities.file.FileUtils;
+import org.openecomp.core.utilities.json.JsonUtil;
+
+/**
+ * An element read from zusammen, kept with its streams buffered and its info, relations and sub
+ * elements copied, so that every copy of it can be read, and changed, independently of the cache.
+ * <p>
+ * Infos and relations are copied through their json form, which is how zusammen stores them, so a
+ * copy holds the same property values a read from zusammen would.
+ */
+class CachedElement {
+
+  private final ZusammenElement element;
+  private final byte[] data;
+  private final byte[] searchableData;
+  private final byte[] visualization;
+  private final List<CachedElement> subElements;
+
+  private CachedElement(Element element) {
+    this.element = new ZusammenElement();
+    this.element.setElementId(element.getElementId());
+    this.element.setAction(element.getAction());
+    this.element.setInfo(copyOf(element.getInfo()));
+    this.element.setRelations(copyOfRelations(element.getRelations()));
+    this.data = toBytes(element.getData());
+    this.searchableData = toBytes(element.getSearchableData());
+    this.visualization = toBytes(element.getVisualization());
+    this.subElements = element.getSubElements() == null ? new ArrayList<>()
+        : element.getSubElements().stream().map(CachedElement::new).collect(Collectors.toList());
+  }
+
+  static CachedElement of(Element element) {
+    return element == null ? null : new CachedElement(element);
+  }
+
+  ZusammenElement toElement() {
+    ZusammenElement copy = new ZusammenElement();
+    copy.setElementId(element.getElementId());
+    copy.setAction(element.getAction());
+    copy.setInfo(copyOf(element.getInfo()));
+    copy.setRelations(copyOfRelations(element.getRelations()));
+    copy.setData(toStream(data));
+    copy.setSearchableData(toStream(searchableData));
+    copy.setVisualization(toStream(visualization));
+    copy.setSubElements(subElements.stream().<Element>map(CachedElement::toElement)
+        .collect(Collectors.toList()));
+    return copy;
+  }
+
+  static ElementInfo copyOf(ElementInfo elementInfo) {
+    return copyOf(elementInfo, ElementInfo.class);
+  }
+
+  static Collection<ElementInfo> copyOf(Collection<ElementInfo> elementInfos) {
+    return elementInfos == null ? null
+        : elementInfos.stream().map(CachedElement::copyOf).collect(Collectors.toList());
+  }
+
+  private static Info copyOf(Info info) {
+    return copyOf(info, Info.class);
+  }
+
+  private static Collection<Relation> copyOfRelations(Collection<Relation> relations) {
+    return relations == null ? null : relations.stream()
+        .map(relation -> copyOf(relation, Relation.class)).collect(Collectors.toList());
+  }
+
+  private static <T> T copyOf(T value, Class<T> type) {
+    return value == null ? null : JsonUtil.json2Object(JsonUtil.object2Json(value), type);
+  }
+
+  private static byte[] toBytes(InputStream stream) {
+    return stream == null ? null : FileUtils.toByteArray(stream);
+  }
+
+  private static InputStream toStream(byte[] bytes) {
+    return bytes == null ? null : new ByteArrayInputStream(bytes);
+  }
+}
@@ -34,15 +34,38 @@ import com.amdocs.zusammen.datatypes.item.Resolution;
 import com.amdocs.zusammen.datatypes.itemversion.ItemVersionRevisions;
 import com.amdocs.zusammen.datatypes.itemversion.Tag;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.openecomp.core.zusammen.api.ElementCacheScope;
 import org.openecomp.core.zusammen.api.ZusammenAdaptor;
 import org.openecomp.core.zusammen.db.ZusammenConnector;
+import org.openecomp.sdc.logging.api.LoggingContext;
 
 public class ZusammenAdaptorImpl implements ZusammenAdaptor {
 
+  private static final int READ_THREADS = 8;
+  // reads of several elements are fanned out to a pool shared by all the adaptors
+  private static final ExecutorService READ_POOL = Executors.newFixedThreadPool(READ_THREADS,
+      runnable -> {
+        Thread thread = new Thread(runnable, "zusammen-element-reader");
+        thread.setDaemon(true);
+        return thread;
+      });
+
   private ZusammenConnector connector;
 
   public ZusammenAdaptorImpl(ZusammenConnector connector) {
@@ -52,21 +75,94 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
   @Override
   public Optional<ElementInfo> getElementInfo(SessionContext context, ElementContext elementContext,
                                               Id elementId) {
-    return Optional.ofNullable(connector.getElementInfo(context, elementContext, elementId));
+    return Optional.ofNullable(readElementInfo(context, elementContext, elementId));
   }
 
   @Override
   public Optional<Element> getElement(SessionContext context, ElementContext elementContext,
                                       String elementId) {
-    return Optional.ofNullable(connector.getElement(context, elementContext, new Id(elementId)));
+    return Optional.ofNullable(readElement(context, elementContext, new Id(elementId)));
+  }
+
+  @Override
+  public Collection<Element> getElements(SessionContext context, ElementContext elementContext,
+                                         Collection<Id> elementIds) {
+    Collection<Id> distinctIds = new LinkedHashSet<>(elementIds);
+    Map<Id, Future<Element>> fetched = fetchUncached("element", context, elementContext,
+        distinctIds, elementId -> connector.getElement(context, elementContext, elementId));
+    return distinctIds.stream()
+        .map(elementId -> readElement(context, elementContext, elementId,
+            fetched(fetched, elementId, () -> connector.getElement(context, elementContext, elementId))))
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public Optional<Element> getElementTree(SessionContext context, ElementContext elementContext,
+                                          Id elementId, int depth) {
+    Element element = readElement(context, elementContext, elementId);
+    if (element == null) {
+      return Optional.empty();
+    }
+    ZusammenElement elementTree = toZusammenElement(element);
+    List<ZusammenElement> level = new ArrayList<>();
+    level.add(elementTree);
+    for (int levelDepth = 0; levelDepth < depth && !level.isEmpty(); levelDepth++) {
+      level = readSubElements(context, elementContext, level);
+    }
+    return Optional.of(elementTree);
+  }
+
+  /**
+   * Reads the sub elements of all the elements of a tree level, sets them on their parents and
+   * returns them as the next level. The lists of the level are read concurrently, and then all of
+   * their elements.
+   */
+  private List<ZusammenElement> readSubElements(SessionContext context,
+                                                ElementContext elementContext,
+                                                List<ZusammenElement> level) {
+    List<Id> parentIds = level.stream().map(Element::getElementId).collect(Collectors.toList());
+    Map<Id, Future<Collection<ElementInfo>>> listed = fetchUncached("elements", context,
+        elementContext, parentIds, parentId -> connector.listElements(context, elementContext, parentId));
+    Map<Id, Collection<ElementInfo>> subElementInfos = new HashMap<>();
+    List<Id> subElementIds = new ArrayList<>();
+    for (Id parentId : parentIds) {
+      Collection<ElementInfo> elementInfos = readElements(context, elementContext, parentId,
+          fetched(listed, parentId, () -> connector.listElements(context, elementContext, parentId)));
+      subElementInfos.put(parentId, elementInfos == null ? new ArrayList<>() : elementInfos);
+      subElementInfos.get(parentId).forEach(elementInfo -> subElementIds.add(elementInfo.getId()));
+    }
+    Map<Id, Future<Element>> fetched = fetchUncached("element", context, elementContext,
+        subElementIds, subElementId -> connector.getElement(context, elementContext, subElementId));
+    List<ZusammenElement> nextLevel = new ArrayList<>();
+    for (ZusammenElement parent : level) {
+      Collection<Element> subElements = new ArrayList<>();
+      for (ElementInfo elementInfo : subElementInfos.get(parent.getElementId())) {
+        Id subElementId = elementInfo.getId();
+        Element subElement = readElement(context, elementContext, subElementId, fetched(fetched,
+            subElementId, () -> connector.getElement(context, elementContext, subElementId)));
+        if (subElement != null) {
+          ZusammenElement subElementTree = toZusammenElement(subElement);
+          subElements.add(subElementTree);
+          nextLevel.add(subElementTree);
+        }
+      }
+      parent.setSubElements(subElements);
+    }
+    return nextLevel;
+  }
+
+  private static ZusammenElement toZusammenElement(Element element) {
+    return element instanceof ZusammenElement
+        ? (ZusammenElement) element
+        : CachedElement.of(element).toElement();
   }
 
   @Override
   public Optional<Element> getElementByName(
       SessionContext context, ElementContext elementContext, Id parentElementId,
       String elementName) {
-    Collection<ElementInfo> elementInfos =
-        connector.listElements(context, elementContext, parentElementId);
+    Collection<ElementInfo> elementInfos = readElements(context, elementContext, parentElementId);
     Predicate<ElementInfo> elementInfoPredicate = elementInfo -> elementInfo.getInfo() != null
         && elementName.equals(elementInfo.getInfo().getName());
     return getFirstElementInfo(elementInfos, elementInfoPredicate)
@@ -77,20 +173,20 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
   @Override
   public Collection<ElementInfo> listElements(SessionContext context, ElementContext elementContext,
                                               Id parentElementId) {
-    return connector.listElements(context, elementContext, parentElementId);
+    return readElements(context, elementContext, parentElementId);
   }
 
   @Override
   public Collection<Element> listElementData(SessionContext context,
                                              ElementContext elementContext,
                                              Id parentElementId) {
-    Collection<ElementInfo> elementInfoList = connector.listElements(context, elementContext,
+    Collection<ElementInfo> elementInfoList = readElements(context, elementContext,
         parentElementId);
 
     return elementInfoList == null
         ? new ArrayList<>()
         : elementInfoList.stream()
-            .map(elementInfo -> connector.getElement(context, elementContext, elementInfo.getId()))
+            .map(elementInfo -> readElement(context, elementContext, elementInfo.getId()))
             .collect(Collectors.toList());
   }
 
@@ -103,7 +199,7 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
         getElementInfoByName(context, elementContext, parentElementId, elementName);
 
     return elementInfoByName.isPresent()
-        ? connector.listElements(context, elementContext, elementInfoByName.get().getId())
+        ? readElements(context, elementContext, elementInfoByName.get().getId())
         : new ArrayList<>();
   }
 
@@ -111,8 +207,7 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
   public Optional<ElementInfo> getElementInfoByName(
       SessionContext context, ElementContext elementContext, Id parentElementId,
       String elementName) {
-    Collection<ElementInfo> elementInfos =
-        connector.listElements(context, elementContext, parentElementId);
+    Collection<ElementInfo> elementInfos = readElements(context, elementContext, parentElementId);
     return getFirstElementInfo(elementInfos,
         elementInfo -> elementInfo.getInfo() != null
            && elementName.equals(elementInfo.getInfo().getName()));
@@ -128,14 +223,125 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
   @Override
   public Element saveElement(SessionContext context, ElementContext elementContext,
                              ZusammenElement element, String message) {
-    enrichElementHierarchyRec(context, elementContext, null, element);
-    return connector.saveElement(context, elementContext, element, message);
+    try {
+      enrichElementHierarchyRec(context, elementContext, null, element);
+      return connector.saveElement(context, elementContext, element, message);
+    } finally {
+      invalidateElementCache();
+    }
   }
 
   @Override
   public void resolveElementConflict(SessionContext context, ElementContext elementContext,
                                      ZusammenElement element, Resolution resolution) {
     connector.resolveElementConflict(context, elementContext, element, resolution);
+    invalidateElementCache();
+  }
+
+  private Element readElement(SessionContext context, ElementContext elementContext,
+                              Id elementId) {
+    return readElement(context, elementContext, elementId,
+        () -> connector.getElement(context, elementContext, elementId));
+  }
+
+  private Element readElement(SessionContext context, ElementContext elementContext, Id elementId,
+                              Supplier<Element> reader) {
+    if (!ElementCacheScope.current().isPresent()) {
+      return reader.get();
+    }
+    CachedElement cachedElement = readCached("element", context, elementContext, elementId,
+        () -> CachedElement.of(reader.get()));
+    return cachedElement == null ? null : cachedElement.toElement();
+  }
+
+  private ElementInfo readElementInfo(SessionContext context, ElementContext elementContext,
+                                      Id elementId) {
+    if (!ElementCacheScope.current().isPresent()) {
+      return connector.getElementInfo(context, elementContext, elementId);
+    }
+    return CachedElement.copyOf(readCached("elementInfo", context, elementContext, elementId,
+        () -> CachedElement.copyOf(connector.getElementInfo(context, elementContext, elementId))));
+  }
+
+  private Collection<ElementInfo> readElements(SessionContext context,
+                                               ElementContext elementContext,
+                                               Id parentElementId) {
+    return readElements(context, elementContext, parentElementId,
+        () -> connector.listElements(context, elementContext, parentElementId));
+  }
+
+  private Collection<ElementInfo> readElements(SessionContext context,
+                                               ElementContext elementContext,
+                                               Id parentElementId,
+                                               Supplier<Collection<ElementInfo>> reader) {
+    if (!ElementCacheScope.current().isPresent()) {
+      return reader.get();
+    }
+    return CachedElement.copyOf(readCached("elements", context, elementContext, parentElementId,
+        () -> CachedElement.copyOf(reader.get())));
+  }
+
+  private <T> T readCached(String readType, SessionContext context, ElementContext elementContext,
+                           Id id, Supplier<T> reader) {
+    Optional<ElementCacheScope> elementCacheScope = ElementCacheScope.current();
+    if (!elementCacheScope.isPresent()) {
+      return reader.get();
+    }
+    return elementCacheScope.get().get(buildCacheKey(readType, context, elementContext, id), reader);
+  }
+
+  private static Object buildCacheKey(String readType, SessionContext context,
+                                      ElementContext elementContext, Id id) {
+    return Arrays.asList(readType,
+        context.getUser() == null ? null : context.getUser().getUserName(), context.getTenant(),
+        Objects.toString(elementContext.getItemId(), null),
+        Objects.toString(elementContext.getVersionId(), null),
+        Objects.toString(elementContext.getRevisionId(), null),
+        Objects.toString(id, null));
+  }
+
+  /**
+   * Starts reading, on the read pool, each of the ids which is not cached in the current scope.
+   * The results are cached by the caller, as it reads them through {@link #fetched}.
+   */
+  private <T> Map<Id, Future<T>> fetchUncached(String readType, SessionContext context,
+                                               ElementContext elementContext, Collection<Id> ids,
+                                               Function<Id, T> reader) {
+    Optional<ElementCacheScope> elementCacheScope = ElementCacheScope.current();
+    Map<Id, Future<T>> fetched = new HashMap<>();
+    for (Id id : ids) {
+      if (!fetched.containsKey(id) && !(elementCacheScope.isPresent() && elementCacheScope.get()
+          .contains(buildCacheKey(readType, context, elementContext, id)))) {
+        fetched.put(id, READ_POOL.submit(LoggingContext.copyToCallable(() -> reader.apply(id))));
+      }
+    }
+    return fetched;
+  }
+
+  private static <T> Supplier<T> fetched(Map<Id, Future<T>> fetched, Id id, Supplier<T> reader) {
+    Future<T> read = fetched.get(id);
+    return read == null ? reader : () -> join(read);
+  }
+
+  private static <T> T join(Future<T> read) {
+    try {
+      return read.get();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading from zusammen", exception);
+    } catch (ExecutionException exception) {
+      if (exception.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exception.getCause();
+      }
+      if (exception.getCause() instanceof Error) {
+        throw (Error) exception.getCause();
+      }
+      throw new IllegalStateException(exception.getCause());
+    }
+  }
+
+  private void invalidateElementCache() {
+    ElementCacheScope.current().ifPresent(ElementCacheScope::invalidate);
   }
 
   private void enrichElementHierarchyRec(SessionContext context, ElementContext
@@ -194,6 +400,7 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
   @Override
   public void deleteItem(SessionContext context, Id itemId){
     connector.deleteItem(context,itemId);
+    invalidateElementCache();
   }
 
   @Override
@@ -236,6 +443,7 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
   public void updateVersion(SessionContext context, Id itemId, Id versionId,
                             ItemVersionData itemVersionData) {
     connector.updateVersion(context, itemId, versionId, itemVersionData);
+    invalidateElementCache();
   }
 
   @Override
@@ -247,31 +455,37 @@ public class ZusammenAdaptorImpl implements ZusammenAdaptor {
   public void resetVersionHistory(SessionContext context, Id itemId, Id versionId,
                                   String changeRef) {
     connector.resetVersionHistory(context, itemId, versionId, changeRef);
+    invalidateElementCache();
   }
 
   @Override
   public void publishVersion(SessionContext context, Id itemId, Id versionId, String message) {
     connector.publishVersion(context, itemId, versionId, message);
+    invalidateElementCache();
   }
 
   @Override
   public void syncVersion(SessionContext context, Id itemId, Id versionId) {
     connector.syncVersion(context, itemId, versionId);
+    invalidateElementCache();
   }
 
   @Override
   public void forceSyncVersion(SessionContext context, Id itemId, Id versionId) {
     connector.forceSyncVersion(context, itemId, versionId);
+    invalidateElementCache();
   }
 
   @Override
   public void cleanVersion(SessionContext context, Id itemId, Id versionId) {
     connector.cleanVersion(context, itemId, versionId);
+    invalidateElementCache();
   }
 
   @Override
   public void revert(SessionContext context, Id itemId, Id versionId, Id revisionId) {
     connector.revertVersionRevision(context, itemId, versionId, revisionId);
+    invalidateElementCache();
   }
 
   @Override
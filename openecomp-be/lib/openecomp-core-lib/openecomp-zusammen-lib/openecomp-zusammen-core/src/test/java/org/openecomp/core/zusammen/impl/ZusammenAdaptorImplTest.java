@@ -23,6 +23,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.amdocs.zusammen.adaptor.inbound.api.types.item.Element;
@@ -33,8 +34,11 @@ import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.Action;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
 import com.amdocs.zusammen.datatypes.item.Info;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.junit.Before;
@@ -44,6 +48,8 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.openecomp.core.utilities.file.FileUtils;
+import org.openecomp.core.zusammen.api.ElementCacheScope;
 import org.openecomp.core.zusammen.db.ZusammenConnector;
 
 public class ZusammenAdaptorImplTest {
@@ -296,6 +302,138 @@ public class ZusammenAdaptorImplTest {
         assertEquals(Action.IGNORE, ignored.getAction());
     }
 
+    @Test
+    public void readElementsOnceWhenElementCacheScopeIsOpen() {
+        doReturn(ELEMENTS).when(connector).listElements(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+        ELEMENTS.forEach(elementInfo -> doReturn(createElement(elementInfo.getId(), "data"))
+                .when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, elementInfo.getId()));
+
+        try (ElementCacheScope elementCacheScope = ElementCacheScope.open()) {
+            zusammenAdaptor.listElementData(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+            Collection<Element> elements = zusammenAdaptor.getElements(CONTEXT, ELEMENT_CONTEXT,
+                    Arrays.asList(ELEMENTS.get(0).getId(), ELEMENTS.get(1).getId(), ELEMENTS.get(0).getId()));
+
+            assertEquals(2, elements.size());
+            assertEquals(4, elementCacheScope.getRoundTrips());
+            assertEquals(2, elementCacheScope.getHits());
+        }
+        verify(connector, times(1)).listElements(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+        ELEMENTS.forEach(elementInfo -> verify(connector, times(1))
+                .getElement(CONTEXT, ELEMENT_CONTEXT, elementInfo.getId()));
+    }
+
+    @Test
+    public void readElementDataOfEachCachedElement() {
+        doReturn(createElement(ELEMENT_ID, "data")).when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+
+        try (ElementCacheScope ignored = ElementCacheScope.open()) {
+            for (int read = 0; read < 2; read++) {
+                Optional<Element> element = zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID.getValue());
+
+                assertTrue(element.isPresent());
+                assertEquals("data", new String(FileUtils.toByteArray(element.get().getData()), StandardCharsets.UTF_8));
+            }
+        }
+        verify(connector, times(1)).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+    }
+
+    @Test
+    public void readElementsAgainAfterSavingAnElement() {
+        doReturn(createElement(ELEMENT_ID, "data")).when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+        ZusammenElement element = new ZusammenElement();
+        element.setAction(Action.UPDATE);
+        element.setElementId(ELEMENT_ID);
+
+        try (ElementCacheScope ignored = ElementCacheScope.open()) {
+            zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID.getValue());
+            zusammenAdaptor.saveElement(CONTEXT, ELEMENT_CONTEXT, element, "Update element");
+            zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID.getValue());
+        }
+        verify(connector, times(2)).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+    }
+
+    @Test
+    public void readElementsEachTimeWhenElementCacheScopeIsNotOpen() {
+        doReturn(createElement(ELEMENT_ID, "data")).when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+
+        zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID.getValue());
+        zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID.getValue());
+
+        assertFalse(ElementCacheScope.current().isPresent());
+        verify(connector, times(2)).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+    }
+
+    @Test
+    public void readCopiesOfCachedElements() {
+        ZusammenElement element = createElement(ELEMENT_ID, "data");
+        element.setInfo(ELEMENTS.get(0).getInfo());
+        doReturn(element).when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+        doReturn(ELEMENTS.get(1)).when(connector).getElementInfo(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+        doReturn(ELEMENTS).when(connector).listElements(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+
+        try (ElementCacheScope ignored = ElementCacheScope.open()) {
+            zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID.getValue()).get().getInfo()
+                           .setName("changed");
+            zusammenAdaptor.getElementInfo(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID).get().getInfo().setName("changed");
+            zusammenAdaptor.listElements(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID).iterator().next().getInfo()
+                           .setName("changed");
+
+            assertEquals("element1", zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID.getValue())
+                                                    .get().getInfo().getName());
+            assertEquals("element2",
+                    zusammenAdaptor.getElementInfo(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID).get().getInfo().getName());
+            assertEquals("element1", zusammenAdaptor.listElements(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID).iterator()
+                                                    .next().getInfo().getName());
+        }
+        assertEquals("element1", ELEMENTS.get(0).getInfo().getName());
+        assertEquals("element2", ELEMENTS.get(1).getInfo().getName());
+    }
+
+    @Test
+    public void getElementsReadsUncachedElementsOnce() {
+        ELEMENTS.forEach(elementInfo -> doReturn(createElement(elementInfo.getId(), "data"))
+                .when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, elementInfo.getId()));
+
+        try (ElementCacheScope elementCacheScope = ElementCacheScope.open()) {
+            zusammenAdaptor.getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENTS.get(0).getId().getValue());
+            Collection<Element> elements = zusammenAdaptor.getElements(CONTEXT, ELEMENT_CONTEXT,
+                    Arrays.asList(ELEMENTS.get(0).getId(), ELEMENTS.get(1).getId(), ELEMENTS.get(2).getId()));
+
+            assertEquals(3, elements.size());
+            assertEquals(3, elementCacheScope.getRoundTrips());
+            assertEquals(1, elementCacheScope.getHits());
+        }
+        ELEMENTS.forEach(elementInfo -> verify(connector, times(1))
+                .getElement(CONTEXT, ELEMENT_CONTEXT, elementInfo.getId()));
+    }
+
+    @Test
+    public void getElementTreeDownToDepth() {
+        Id subElementId = ELEMENTS.get(0).getId();
+        Id leafId = ELEMENTS.get(1).getId();
+        doReturn(createElement(ELEMENT_ID, "root")).when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+        doReturn(createElement(subElementId, "sub")).when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, subElementId);
+        doReturn(createElement(leafId, "leaf")).when(connector).getElement(CONTEXT, ELEMENT_CONTEXT, leafId);
+        doReturn(Collections.singletonList(ELEMENTS.get(0))).when(connector)
+                .listElements(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID);
+        doReturn(Collections.singletonList(ELEMENTS.get(1))).when(connector)
+                .listElements(CONTEXT, ELEMENT_CONTEXT, subElementId);
+
+        Optional<Element> elementTree = zusammenAdaptor.getElementTree(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID, 1);
+
+        assertTrue(elementTree.isPresent());
+        assertEquals(1, elementTree.get().getSubElements().size());
+        Element subElement = elementTree.get().getSubElements().iterator().next();
+        assertEquals(subElementId, subElement.getElementId());
+        assertTrue(subElement.getSubElements().isEmpty());
+        verify(connector, times(0)).listElements(CONTEXT, ELEMENT_CONTEXT, subElementId);
+
+        Element leaf = zusammenAdaptor.getElementTree(CONTEXT, ELEMENT_CONTEXT, ELEMENT_ID, 2).get()
+                .getSubElements().iterator().next().getSubElements().iterator().next();
+        assertEquals(leafId, leaf.getElementId());
+        assertEquals("leaf", new String(FileUtils.toByteArray(leaf.getData()), StandardCharsets.UTF_8));
+    }
+
     private void testSaveElement(String message, ZusammenElement element) {
         ZusammenElement returnedElement = new ZusammenElement();
         doReturn(returnedElement).when(connector).saveElement(CONTEXT, ELEMENT_CONTEXT, element, message);
@@ -305,6 +443,13 @@ public class ZusammenAdaptorImplTest {
         assertEquals(returnedElement, saved);
     }
 
+    private static ZusammenElement createElement(Id id, String data) {
+        ZusammenElement element = new ZusammenElement();
+        element.setElementId(id);
+        element.setData(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+        return element;
+    }
+
     private static ElementInfo createElementInfo(String id, String name) {
         ElementInfo elementInfo = new ElementInfo();
         elementInfo.setId(new Id(id));
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.heat.services;
+
+import java.io.InputStream;
+
+import org.onap.sdc.tosca.services.YamlUtil;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.sdc.common.errors.SdcRuntimeException;
+import org.openecomp.sdc.heat.datatypes.model.Environment;
+import org.openecomp.sdc.heat.datatypes.model.HeatOrchestrationTemplate;
+
+/**
+ * Parses the heat templates and environments of an onboarded package. A file is parsed once per
+ * package through the {@link org.openecomp.core.utilities.file.ParsedFileCache} of its files, so
+ * the returned model is shared and must not be modified.
+ */
+public class HeatTemplateParser {
+
+    private HeatTemplateParser() {
+        // prevent instantiation
+    }
+
+    public static HeatOrchestrationTemplate parse(InputStream content) {
+        return new YamlUtil().yamlToObject(content, HeatOrchestrationTemplate.class);
+    }
+
+    public static Environment parseEnvironment(InputStream content) {
+        return new YamlUtil().yamlToObject(content, Environment.class);
+    }
+
+    /**
+     * Gets a heat template of the package.
+     *
+     * @param files    the files of the package
+     * @param fileName the heat file name
+     * @return the parsed template
+     * @throws SdcRuntimeException if the file has no content
+     */
+    public static HeatOrchestrationTemplate getHeatOrchestrationTemplate(FileContentHandler files,
+                                                                         String fileName) {
+        return files.getParsedFileContent(fileName, HeatOrchestrationTemplate.class, HeatTemplateParser::parse)
+                    .orElseThrow(() -> new SdcRuntimeException("Missing content of heat file " + fileName));
+    }
+
+    /**
+     * Gets a heat environment of the package.
+     *
+     * @param files       the files of the package
+     * @param envFileName the environment file name
+     * @return the parsed environment
+     * @throws SdcRuntimeException if the file has no content
+     */
+    public static Environment getEnvironment(FileContentHandler files, String envFileName) {
+        return files.getParsedFileContent(envFileName, Environment.class, HeatTemplateParser::parseEnvironment)
+                    .orElseThrow(() -> new SdcRuntimeException("Missing content of heat environment file " + envFileName));
+    }
+}
@@ -24,9 +24,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.core.utilities.file.FileContentHandler;
 import org.openecomp.core.utilities.file.FileUtils;
+import org.openecomp.core.utilities.file.ParsedFileCache;
 import org.openecomp.core.utilities.json.JsonUtil;
 import org.openecomp.core.validation.types.GlobalValidationContext;
 import org.openecomp.sdc.common.utils.SdcCommon;
@@ -36,6 +36,7 @@ import org.openecomp.sdc.heat.datatypes.manifest.ManifestContent;
 import org.openecomp.sdc.heat.datatypes.model.HeatOrchestrationTemplate;
 import org.openecomp.sdc.heat.datatypes.structure.Artifact;
 import org.openecomp.sdc.heat.datatypes.structure.HeatStructureTree;
+import org.openecomp.sdc.heat.services.HeatTemplateParser;
 import org.openecomp.sdc.logging.api.Logger;
 import org.openecomp.sdc.logging.api.LoggerFactory;
 
@@ -71,6 +72,28 @@ public class HeatTreeManager {
         }
     }
 
+    /**
+     * Adds a file of the given handler, sharing its content instead of copying it.
+     *
+     * @param fileName the file name
+     * @param files    the handler holding the file
+     */
+    public void addFileFrom(String fileName, FileContentHandler files) {
+        if (fileName.equals(SdcCommon.MANIFEST_NAME)) {
+            manifest = FileUtils.toByteArray(files.getFileContent(fileName));
+        } else {
+            heatContentMap.addFileFrom(fileName, files);
+        }
+    }
+
+    /**
+     * Shares the templates parsed by the other stages of the onboarding, see
+     * {@link FileContentHandler#setParsedFileCache(ParsedFileCache)}.
+     */
+    public void setParsedFileCache(ParsedFileCache parsedFileCache) {
+        heatContentMap.setParsedFileCache(parsedFileCache);
+    }
+
     /**
      * Create tree.
      */
@@ -118,9 +141,8 @@ public class HeatTreeManager {
                                             GlobalValidationContext globalContext) {
 
         String fileName = fileHeatStructureTree.getFileName();
-        try (InputStream fileContent = this.heatContentMap.getFileContent(fileName)) {
-            HeatOrchestrationTemplate hot =
-                    new YamlUtil().yamlToObject(fileContent, HeatOrchestrationTemplate.class);
+        try {
+            HeatOrchestrationTemplate hot = HeatTemplateParser.getHeatOrchestrationTemplate(heatContentMap, fileName);
 
             Set<String> nestedSet = HeatTreeManagerUtil.getNestedFiles(hot);
             addHeatNestedFiles(fileHeatStructureTree, nestedSet);
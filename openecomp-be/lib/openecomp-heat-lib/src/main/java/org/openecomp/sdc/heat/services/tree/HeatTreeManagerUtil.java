@@ -53,8 +53,8 @@ public class HeatTreeManagerUtil {
     public static HeatTreeManager initHeatTreeManager(FileContentHandler fileContentMap) {
 
         HeatTreeManager heatTreeManager = new HeatTreeManager();
-        fileContentMap.getFileList().forEach(
-                fileName -> heatTreeManager.addFile(fileName, fileContentMap.getFileContent(fileName)));
+        heatTreeManager.setParsedFileCache(fileContentMap.getParsedFileCache());
+        fileContentMap.getFileList().forEach(fileName -> heatTreeManager.addFileFrom(fileName, fileContentMap));
 
         return heatTreeManager;
     }
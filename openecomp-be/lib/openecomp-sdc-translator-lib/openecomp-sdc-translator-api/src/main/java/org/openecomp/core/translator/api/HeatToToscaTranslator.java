@@ -22,6 +22,8 @@ package org.openecomp.core.translator.api;
 
 
 import org.openecomp.core.translator.datatypes.TranslatorOutput;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.core.utilities.file.ParsedFileCache;
 import org.openecomp.sdc.datatypes.error.ErrorMessage;
 
 import java.io.InputStream;
@@ -39,6 +41,18 @@ public interface HeatToToscaTranslator {
 
   void addFile(String name, InputStream content);
 
+  /**
+   * Adds a file of the given handler to the validation and the translation without copying its
+   * content.
+   */
+  void addFileFrom(String name, FileContentHandler files);
+
+  /**
+   * Shares the files already parsed by the other stages of the onboarding with the validation and
+   * the translation of the files.
+   */
+  void setParsedFileCache(ParsedFileCache parsedFileCache);
+
   // return Map, key - file name which has error
   //             value - the error code
   Map<String, List<ErrorMessage>> validate();
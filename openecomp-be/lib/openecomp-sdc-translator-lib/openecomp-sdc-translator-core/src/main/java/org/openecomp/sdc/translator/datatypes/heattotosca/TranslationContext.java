@@ -31,7 +31,10 @@ import org.openecomp.sdc.common.errors.CoreException;
 import org.openecomp.sdc.datatypes.configuration.ImplementationConfiguration;
 import org.openecomp.sdc.heat.datatypes.manifest.FileData;
 import org.openecomp.sdc.heat.datatypes.manifest.ManifestFile;
+import org.openecomp.sdc.heat.datatypes.model.Environment;
+import org.openecomp.sdc.heat.datatypes.model.HeatOrchestrationTemplate;
 import org.openecomp.sdc.heat.datatypes.model.Resource;
+import org.openecomp.sdc.heat.services.HeatTemplateParser;
 import org.onap.sdc.tosca.datatypes.model.NodeTemplate;
 import org.onap.sdc.tosca.datatypes.model.ServiceTemplate;
 import org.openecomp.sdc.tosca.services.ToscaUtil;
@@ -71,6 +74,7 @@ public class TranslationContext {
   private static final List<String> vfcGroupSubInterfaceExposedProperties;
   private static final List<String> enrichPortResourceProperties;
   private static final ImplementationConfiguration vfcInstanceGroupConfiguration;
+  private static final int defaultTranslationThreads;
 
   private static Map<String, ImplementationConfiguration> supportedConsolidationComputeResources;
   private static Map<String, ImplementationConfiguration> supportedConsolidationPortResources;
@@ -109,6 +113,8 @@ public class TranslationContext {
   //Key - service template name, value - Map of key: node template id, value: properties with %index%
   private final Map<String, ListMultimap<String, String>> indexVarProperties = new HashMap<>();
 
+  private int translationThreads = defaultTranslationThreads;
+
   static {
     Configuration config = ConfigurationManager.lookup();
     translationMapping =
@@ -130,6 +136,9 @@ public class TranslationContext {
     vfcInstanceGroupConfiguration = getVfcInstanceGroupConfiguration(config);
     vfcGroupSubInterfaceExposedProperties = config.getAsStringValues(ConfigConstants.UNIFIED_MODEL_NAMESPACE,
             ConfigConstants.FULL_EXPOSED_PROPERTIES_KEY);
+    Integer threads = config.getAsIntegerValue(ConfigConstants.TRANSLATOR_NAMESPACE,
+            ConfigConstants.TRANSLATION_THREADS_KEY);
+    defaultTranslationThreads = threads == null ? 0 : threads;
   }
 
 
@@ -180,6 +189,18 @@ public class TranslationContext {
     return CommonMethods.newInstance(nameExtractorImplClassName, NameExtractor.class);
   }
 
+  /**
+   * The number of threads translating the package. Up to 1 thread the package is translated on the
+   * calling thread only.
+   */
+  public int getTranslationThreads() {
+    return translationThreads;
+  }
+
+  public void setTranslationThreads(int translationThreads) {
+    this.translationThreads = translationThreads;
+  }
+
   public Map<String, UnifiedSubstitutionData> getUnifiedSubstitutionData() {
     return unifiedSubstitutionData;
   }
@@ -287,6 +308,18 @@ public class TranslationContext {
     return files.getFileContent(fileName);
   }
 
+  /**
+   * Gets a heat template of the translated package. A template is parsed once per package and
+   * shared with the validation, so it must not be modified.
+   */
+  public HeatOrchestrationTemplate getHeatOrchestrationTemplate(String fileName) {
+    return HeatTemplateParser.getHeatOrchestrationTemplate(files, fileName);
+  }
+
+  public Environment getHeatEnvironment(String envFileName) {
+    return HeatTemplateParser.getEnvironment(files, envFileName);
+  }
+
   public void addFile(String name, byte[] content) {
     files.addFile(name, content);
   }
@@ -23,7 +23,9 @@ package org.openecomp.sdc.translator.impl.heattotosca;
 import org.apache.commons.collections4.MapUtils;
 import org.openecomp.core.translator.api.HeatToToscaTranslator;
 import org.openecomp.core.translator.datatypes.TranslatorOutput;
+import org.openecomp.core.utilities.file.FileContentHandler;
 import org.openecomp.core.utilities.file.FileUtils;
+import org.openecomp.core.utilities.file.ParsedFileCache;
 import org.openecomp.core.utilities.json.JsonUtil;
 import org.openecomp.core.validation.api.ValidationManager;
 import org.openecomp.core.validation.factory.ValidationManagerFactory;
@@ -80,6 +82,28 @@ public class HeatToToscaTranslatorImpl implements HeatToToscaTranslator {
     addFile(name, FileUtils.toByteArray(content));
   }
 
+  @Override
+  public void addFileFrom(String name, FileContentHandler files) {
+    translationContext.getFiles().addFileFrom(name, files);
+    validationManager.addFileFrom(name, files);
+    isValid = false;
+  }
+
+
+  @Override
+  public void setParsedFileCache(ParsedFileCache parsedFileCache) {
+    translationContext.getFiles().setParsedFileCache(parsedFileCache);
+    validationManager.setParsedFileCache(parsedFileCache);
+  }
+
+  /**
+   * Overrides the configured number of translation threads.
+   *
+   * @param translationThreads the number of threads, up to 1 the package is translated sequentially
+   */
+  public void setTranslationThreads(int translationThreads) {
+    translationContext.setTranslationThreads(translationThreads);
+  }
 
   @Override
   public Map<String, List<ErrorMessage>> validate() {
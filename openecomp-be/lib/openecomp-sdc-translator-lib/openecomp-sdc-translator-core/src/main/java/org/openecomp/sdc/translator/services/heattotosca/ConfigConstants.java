@@ -43,6 +43,7 @@ public class ConfigConstants {
   public static final String VFC_INSTANCE_GROUP_KEY = "vfcInstanceGroup";
   public static final String FULL_EXPOSED_PROPERTIES_KEY =
       "unifiedModelImpl.vfcInstanceGroup.properties.exposedProperties";
+  public static final String TRANSLATION_THREADS_KEY = "translationThreads";
 
 
   //others
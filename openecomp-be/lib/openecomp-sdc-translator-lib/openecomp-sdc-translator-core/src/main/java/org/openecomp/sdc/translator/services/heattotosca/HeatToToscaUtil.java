@@ -25,11 +25,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -49,7 +51,6 @@ import org.onap.sdc.tosca.datatypes.model.ServiceTemplate;
 import org.onap.sdc.tosca.datatypes.model.Template;
 import org.onap.sdc.tosca.datatypes.model.TopologyTemplate;
 import org.onap.sdc.tosca.services.ToscaExtensionYamlUtil;
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.core.translator.api.HeatToToscaTranslator;
 import org.openecomp.core.translator.datatypes.TranslatorOutput;
 import org.openecomp.core.translator.factory.HeatToToscaTranslatorFactory;
@@ -119,6 +120,7 @@ public class HeatToToscaUtil {
      */
     public static TranslatorOutput loadAndTranslateTemplateData(FileContentHandler fileNameContentMap) {
         HeatToToscaTranslator heatToToscaTranslator = HeatToToscaTranslatorFactory.getInstance().createInterface();
+        heatToToscaTranslator.setParsedFileCache(fileNameContentMap.getParsedFileCache());
 
         try (InputStream fileContent = fileNameContentMap.getFileContent(SdcCommon.MANIFEST_NAME)) {
             heatToToscaTranslator.addManifest(SdcCommon.MANIFEST_NAME, FileUtils.toByteArray(fileContent));
@@ -127,8 +129,7 @@ public class HeatToToscaUtil {
         }
 
         fileNameContentMap.getFileList().stream().filter(fileName -> !(fileName.equals(SdcCommon.MANIFEST_NAME)))
-                          .forEach(fileName -> heatToToscaTranslator.addFile(fileName,
-                                  FileUtils.toByteArray(fileNameContentMap.getFileContent(fileName))));
+                          .forEach(fileName -> heatToToscaTranslator.addFileFrom(fileName, fileNameContentMap));
 
         Map<String, List<ErrorMessage>> errors = heatToToscaTranslator.validate();
         if (MapUtils.isNotEmpty(MessageContainerUtil.getMessageByLevel(ErrorLevel.ERROR, errors))) {
@@ -232,8 +233,8 @@ public class HeatToToscaUtil {
                 if (fileData.getBase() != null && fileData.getBase()) {
                     fileDataCollection.addBaseFiles(fileData);
                 }
-                HeatOrchestrationTemplate heatOrchestrationTemplate = new YamlUtil().yamlToObject(
-                        translationContext.getFileContent(fileName), HeatOrchestrationTemplate.class);
+                HeatOrchestrationTemplate heatOrchestrationTemplate =
+                        translationContext.getHeatOrchestrationTemplate(fileName);
                 if (MapUtils.isNotEmpty(heatOrchestrationTemplate.getResources())) {
                     referenced.addAll(applyFilterOnFileCollection(heatOrchestrationTemplate, translationContext,
                             fileDataCollection, filteredFiles));
@@ -564,8 +565,8 @@ public class HeatToToscaUtil {
     }
 
     private static boolean isNestedVlanResource(String nestedHeatFileName, TranslationContext translationContext) {
-        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate = new YamlUtil().yamlToObject(
-                translationContext.getFileContent(nestedHeatFileName), HeatOrchestrationTemplate.class);
+        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate =
+                translationContext.getHeatOrchestrationTemplate(nestedHeatFileName);
         return Objects.nonNull(nestedHeatOrchestrationTemplate.getResources()) && nestedHeatOrchestrationTemplate
                                                                                           .getResources().values()
                                                                                           .stream().anyMatch(
@@ -574,8 +575,8 @@ public class HeatToToscaUtil {
 
     public static Optional<String> getSubInterfaceParentPortNodeTemplateId(TranslateTo subInterfaceTo) {
         String subInterfaceResourceType = getSubInterfaceResourceType(subInterfaceTo.getResource());
-        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate = new YamlUtil().yamlToObject(
-                subInterfaceTo.getContext().getFileContent(subInterfaceResourceType), HeatOrchestrationTemplate.class);
+        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate =
+                subInterfaceTo.getContext().getHeatOrchestrationTemplate(subInterfaceResourceType);
         if (Objects.isNull(nestedHeatOrchestrationTemplate.getResources())) {
             return Optional.empty();
         }
@@ -663,8 +664,8 @@ public class HeatToToscaUtil {
      */
     public static boolean isNestedVfcResource(Resource resource, TranslationContext context) {
         Optional<String> nestedHeatFileName = HeatToToscaUtil.getNestedHeatFileName(resource);
-        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate = new YamlUtil().yamlToObject(
-                context.getFileContent(nestedHeatFileName.get()), HeatOrchestrationTemplate.class);
+        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate =
+                context.getHeatOrchestrationTemplate(nestedHeatFileName.get());
         Map<String, Resource> resources = nestedHeatOrchestrationTemplate.getResources();
         return Objects.nonNull(resources) && resources.values().stream()
                      .anyMatch(ConsolidationDataUtil::isComputeResource);
@@ -1205,6 +1206,10 @@ public class HeatToToscaUtil {
         Map<String, CapabilityDefinition> nodeTypeCapabilitiesDefinition = new HashMap<>();
         Map<String, CapabilityDefinition> exposedCapabilitiesDefinition;
         ToscaAnalyzerService toscaAnalyzerService = new ToscaAnalyzerServiceImpl();
+        Set<String> nodeTypes = nodeTemplates.values().stream().map(NodeTemplate::getType)
+                                             .collect(Collectors.toCollection(LinkedHashSet::new));
+        Function<String, NodeType> flatNodeTypes = TranslationExecutor.computeAll(context, nodeTypes,
+                type -> getNodeTypeWithFlatHierarchy(type, substitutionServiceTemplate, context));
 
         for (Map.Entry<String, NodeTemplate> entry : nodeTemplates.entrySet()) {
             nodeTemplateId = entry.getKey();
@@ -1212,8 +1217,8 @@ public class HeatToToscaUtil {
             nodeType = nodeTemplate.getType();
 
             // get requirements
-            nodeTypeRequirementsDefinition = getNodeTypeReqs(nodeType, nodeTemplateId, substitutionServiceTemplate,
-                    requirementSubstitutionMapping, context);
+            nodeTypeRequirementsDefinition = getNodeTypeReqs(flatNodeTypes.apply(nodeType), nodeTemplateId,
+                    requirementSubstitutionMapping);
             nodeTemplateRequirementsAssignment = DataModelUtil.getNodeTemplateRequirements(nodeTemplate);
             fullFilledRequirementsDefinition.put(nodeTemplateId, nodeTemplateRequirementsAssignment);
             //set substitution node type requirements
@@ -1224,8 +1229,8 @@ public class HeatToToscaUtil {
                     nodeTemplateId);
 
             //get capabilities
-            addNodeTypeCapabilitiesToSubMapping(nodeTypeCapabilitiesDefinition, capabilitySubstitutionMapping, nodeType,
-                    nodeTemplateId, substitutionServiceTemplate, context);
+            addNodeTypeCapabilitiesToSubMapping(nodeTypeCapabilitiesDefinition, capabilitySubstitutionMapping,
+                    flatNodeTypes.apply(nodeType), nodeTemplateId);
         }
 
         exposedCapabilitiesDefinition = toscaAnalyzerService
@@ -1237,11 +1242,7 @@ public class HeatToToscaUtil {
 
     private static void addNodeTypeCapabilitiesToSubMapping(Map<String, CapabilityDefinition> nodeTypeCapabilitiesDefinition,
                                                                    Map<String, List<String>> capabilitySubstitutionMapping,
-                                                                   String type, String templateName,
-                                                                   ServiceTemplate serviceTemplate,
-                                                                   TranslationContext context) {
-        NodeType flatNodeType = getNodeTypeWithFlatHierarchy(type, serviceTemplate, context);
-
+                                                                   NodeType flatNodeType, String templateName) {
         if (flatNodeType.getCapabilities() != null) {
             flatNodeType.getCapabilities().entrySet().stream().forEach(
                     capabilityNodeEntry -> addCapabilityToSubMapping(templateName, capabilityNodeEntry,
@@ -1263,12 +1264,9 @@ public class HeatToToscaUtil {
         capabilitySubstitutionMapping.put(capabilityKey, capabilityMapping);
     }
 
-    private static List<Map<String, RequirementDefinition>> getNodeTypeReqs(String type, String templateName,
-                                                                                   ServiceTemplate serviceTemplate,
-                                                                                   Map<String, List<String>> requirementSubstitutionMapping,
-                                                                                   TranslationContext context) {
+    private static List<Map<String, RequirementDefinition>> getNodeTypeReqs(NodeType flatNodeType, String templateName,
+                                                                                   Map<String, List<String>> requirementSubstitutionMapping) {
         List<Map<String, RequirementDefinition>> requirementList = new ArrayList<>();
-        NodeType flatNodeType = getNodeTypeWithFlatHierarchy(type, serviceTemplate, context);
         List<String> requirementMapping;
 
         if (flatNodeType.getRequirements() == null) {
@@ -1414,8 +1412,8 @@ public class HeatToToscaUtil {
             return networkRole;
         }
 
-        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate = new YamlUtil().yamlToObject(
-                translationContext.getFileContent(nestedHeatFileName.get()), HeatOrchestrationTemplate.class);
+        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate =
+                translationContext.getHeatOrchestrationTemplate(nestedHeatFileName.get());
 
         if (MapUtils.isNotEmpty(nestedHeatOrchestrationTemplate.getResources())) {
             ContrailV2VirtualMachineInterfaceHelper contrailV2VirtualMachineInterfaceHelper =
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.translator.services.heattotosca;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import org.openecomp.sdc.translator.datatypes.heattotosca.TranslationContext;
+
+/**
+ * Runs the parts of a translation which depend on no shared translation state in parallel, when the
+ * translation context is configured with more than one translation thread.
+ * <p>
+ * A result is used where the sequential translation computes it, and a failure is rethrown there,
+ * so a concurrent translation has the same output and fails the same way as a sequential one.
+ * Translations with the same number of threads share a pool of that size.
+ */
+public class TranslationExecutor {
+
+    private static final Map<Integer, ForkJoinPool> TRANSLATION_POOLS = new ConcurrentHashMap<>();
+
+    private TranslationExecutor() {
+        // prevent instantiation
+    }
+
+    public static boolean isConcurrent(TranslationContext context) {
+        return context.getTranslationThreads() > 1;
+    }
+
+    /**
+     * Computes a function for items of a translation, once per item.
+     * <p>
+     * In a concurrent translation all the items are computed ahead in parallel, otherwise an item is
+     * computed the first time it is looked up. The function must only read translation state which
+     * is not modified until the last item was looked up.
+     *
+     * @param context  the translation context
+     * @param items    the items to compute
+     * @param function computes an item
+     * @param <T>      the item type
+     * @param <R>      the result type
+     * @return looks up the result of an item, rethrowing the failure of its computation
+     */
+    public static <T, R> Function<T, R> computeAll(TranslationContext context, Collection<T> items,
+                                                   Function<T, R> function) {
+        if (!isConcurrent(context) || items.size() < 2) {
+            Map<T, R> results = new HashMap<>();
+            return item -> results.computeIfAbsent(item, function);
+        }
+        ForkJoinPool pool = getTranslationPool(context.getTranslationThreads());
+        Map<T, CompletableFuture<R>> results = new LinkedHashMap<>();
+        items.forEach(item -> results.computeIfAbsent(item,
+                key -> CompletableFuture.supplyAsync(() -> function.apply(key), pool)));
+        return item -> {
+            CompletableFuture<R> result = results.get(item);
+            return result == null ? function.apply(item) : join(result);
+        };
+    }
+
+    private static <R> R join(CompletableFuture<R> result) {
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            if (exception.getCause() instanceof Error) {
+                throw (Error) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    static ForkJoinPool getTranslationPool(int parallelism) {
+        return TRANSLATION_POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+}
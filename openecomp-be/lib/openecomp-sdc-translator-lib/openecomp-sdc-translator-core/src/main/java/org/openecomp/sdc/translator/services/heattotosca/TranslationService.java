@@ -19,17 +19,18 @@ package org.openecomp.sdc.translator.services.heattotosca;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.onap.sdc.tosca.datatypes.model.*;
 import org.onap.sdc.tosca.datatypes.model.heatextend.ParameterDefinitionExt;
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.core.translator.datatypes.TranslatorOutput;
 import org.openecomp.core.utilities.file.FileUtils;
 import org.openecomp.sdc.common.errors.CoreException;
@@ -100,11 +101,34 @@ public class TranslationService {
         //Keeping a copy of tosca service model after first stage of translation for extraction of
         // composition data
         translatorOutput.setNonUnifiedToscaServiceModel(
-                ToscaServiceModel.getClonedServiceModel(toscaServiceModel));
+                getClonedServiceModel(toscaServiceModel, translationContext));
         translatorOutput.setToscaServiceModel(toscaServiceModel);
         return translatorOutput;
     }
 
+    /**
+     * Clones the service model, in a concurrent translation every service template is cloned in its
+     * own task.
+     */
+    private ToscaServiceModel getClonedServiceModel(ToscaServiceModel toscaServiceModel,
+                                                    TranslationContext translationContext) {
+        if (!TranslationExecutor.isConcurrent(translationContext)) {
+            return ToscaServiceModel.getClonedServiceModel(toscaServiceModel);
+        }
+        Map<String, ServiceTemplate> serviceTemplates = toscaServiceModel.getServiceTemplates();
+        Function<String, ServiceTemplate> clonedServiceTemplates = TranslationExecutor.computeAll(
+                translationContext, serviceTemplates.keySet(),
+                name -> (ServiceTemplate) DataModelUtil.getClonedObject(serviceTemplates.get(name)));
+        ToscaServiceModel clonedServiceModel = ToscaServiceModel.getClonedServiceModel(
+                new ToscaServiceModel(toscaServiceModel.getArtifactFiles(), new HashMap<>(),
+                        toscaServiceModel.getEntryDefinitionServiceTemplate()));
+        Map<String, ServiceTemplate> clonedServiceTemplatesByName = new LinkedHashMap<>();
+        serviceTemplates.keySet().forEach(name ->
+                clonedServiceTemplatesByName.put(name, clonedServiceTemplates.apply(name)));
+        clonedServiceModel.setServiceTemplates(clonedServiceTemplatesByName);
+        return clonedServiceModel;
+    }
+
     private ServiceTemplate createMainServiceTemplate(TranslationContext translationContext) {
         ServiceTemplate mainServiceTemplate = new ServiceTemplate();
         translationContext.getTranslatedServiceTemplates()
@@ -128,8 +152,7 @@ public class TranslationService {
     public void translateHeatFile(ServiceTemplate serviceTemplate, FileData heatFileData,
                                   TranslationContext context) {
         String heatFileName = heatFileData.getFile();
-        HeatOrchestrationTemplate heatOrchestrationTemplate = new YamlUtil()
-                .yamlToObject(context.getFileContent(heatFileName), HeatOrchestrationTemplate.class);
+        HeatOrchestrationTemplate heatOrchestrationTemplate = context.getHeatOrchestrationTemplate(heatFileName);
 
         translateInputParameters(serviceTemplate, heatOrchestrationTemplate, heatFileData, context,
                 heatFileName);
@@ -389,8 +412,7 @@ public class TranslationService {
         }
         for (FileData fileRelatedData : fileRelatedDataList) {
             if (fileRelatedData.getType().equals(FileData.Type.HEAT_ENV)) {
-                return new YamlUtil().yamlToObject(context.getFileContent(fileRelatedData.getFile()),
-                        Environment.class);
+                return context.getHeatEnvironment(fileRelatedData.getFile());
             }
         }
         return new Environment();
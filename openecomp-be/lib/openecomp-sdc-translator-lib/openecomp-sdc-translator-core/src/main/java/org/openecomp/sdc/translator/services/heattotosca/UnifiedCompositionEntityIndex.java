@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.translator.services.heattotosca;
+
+import static org.openecomp.sdc.translator.services.heattotosca.UnifiedCompositionUtil.getSubInterfaceTemplateConsolidationDataList;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.onap.sdc.tosca.datatypes.model.NodeType;
+import org.onap.sdc.tosca.datatypes.model.ServiceTemplate;
+import org.openecomp.sdc.translator.datatypes.heattotosca.TranslationContext;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.composition.UnifiedCompositionData;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.composition.UnifiedCompositionEntity;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.composition.to.UnifiedCompositionTo;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.consolidation.ComputeTemplateConsolidationData;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.consolidation.NestedTemplateConsolidationData;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.consolidation.PortTemplateConsolidationData;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.consolidation.SubInterfaceTemplateConsolidationData;
+
+/**
+ * Looks up the consolidation entities of a unified composition by node template id, instead of
+ * scanning the unified composition data of all the consolidated computes for every entity.
+ * <p>
+ * Each map is built the first time it is used, so an index must not be used across changes to
+ * the unified composition data list, or to the node types of the substitution service template.
+ */
+class UnifiedCompositionEntityIndex {
+
+  private final ServiceTemplate serviceTemplate;
+  private final ServiceTemplate substitutionServiceTemplate;
+  private final List<UnifiedCompositionData> unifiedCompositionDataList;
+  private final TranslationContext context;
+
+  private Map<String, UnifiedCompositionEntity> consolidationNodeTemplateIdAndType;
+  private Map<String, String> consolidationEntityIdToType;
+  private Map<String, PortTemplateConsolidationData> portTemplateConsolidationDataById;
+  private Map<String, ComputeTemplateConsolidationData> connectedComputeConsolidationDataByPortId;
+  private final Map<String, NodeType> substitutionNodeTypesWithFlatHierarchy = new HashMap<>();
+
+  UnifiedCompositionEntityIndex(UnifiedCompositionTo unifiedCompositionTo) {
+    this.serviceTemplate = unifiedCompositionTo.getServiceTemplate();
+    this.substitutionServiceTemplate = unifiedCompositionTo.getSubstitutionServiceTemplate();
+    this.unifiedCompositionDataList = unifiedCompositionTo.getUnifiedCompositionDataList();
+    this.context = unifiedCompositionTo.getContext();
+  }
+
+  List<UnifiedCompositionData> getUnifiedCompositionDataList() {
+    return unifiedCompositionDataList;
+  }
+
+  /**
+   * @return the unified composition entity of each compute, port, sub interface and nested node
+   * template in the unified composition data list
+   */
+  Map<String, UnifiedCompositionEntity> getConsolidationNodeTemplateIdAndType() {
+    if (consolidationNodeTemplateIdAndType == null) {
+      consolidationNodeTemplateIdAndType = new HashMap<>();
+      for (UnifiedCompositionData unifiedCompositionData : unifiedCompositionDataList) {
+        addConsolidationNodeTemplateIdsAndTypes(unifiedCompositionData);
+      }
+    }
+    return consolidationNodeTemplateIdAndType;
+  }
+
+  /**
+   * @return the compute type or port type of each compute and port node template of the service
+   * template, from the consolidation data of the whole file
+   */
+  Map<String, String> getConsolidationEntityIdToType() {
+    if (consolidationEntityIdToType == null) {
+      consolidationEntityIdToType = ConsolidationService.getConsolidationEntityIdToType(serviceTemplate,
+          context.getConsolidationData());
+    }
+    return consolidationEntityIdToType;
+  }
+
+  /**
+   * Same as {@link UnifiedCompositionUtil#getPortTemplateConsolidationDataForPort(List, String)}.
+   */
+  PortTemplateConsolidationData getPortTemplateConsolidationData(String portNodeTemplateId) {
+    if (portTemplateConsolidationDataById == null) {
+      portTemplateConsolidationDataById = new HashMap<>();
+      for (UnifiedCompositionData unifiedCompositionData : unifiedCompositionDataList) {
+        for (PortTemplateConsolidationData portTemplateConsolidationData :
+            getPortTemplateConsolidationDataList(unifiedCompositionData)) {
+          portTemplateConsolidationDataById
+              .putIfAbsent(portTemplateConsolidationData.getNodeTemplateId(), portTemplateConsolidationData);
+        }
+      }
+    }
+    return portTemplateConsolidationDataById.get(portNodeTemplateId);
+  }
+
+  /**
+   * Same as {@link UnifiedCompositionUtil#getConnectedComputeConsolidationData(List, String)}.
+   */
+  ComputeTemplateConsolidationData getConnectedComputeConsolidationData(String portNodeTemplateId) {
+    if (connectedComputeConsolidationDataByPortId == null) {
+      connectedComputeConsolidationDataByPortId = new HashMap<>();
+      for (UnifiedCompositionData unifiedCompositionData : unifiedCompositionDataList) {
+        ComputeTemplateConsolidationData computeTemplateConsolidationData =
+            unifiedCompositionData.getComputeTemplateConsolidationData();
+        if (Objects.isNull(computeTemplateConsolidationData)
+            || Objects.isNull(computeTemplateConsolidationData.getPorts())) {
+          continue;
+        }
+        for (List<String> portIdList : computeTemplateConsolidationData.getPorts().values()) {
+          portIdList.forEach(portId ->
+              connectedComputeConsolidationDataByPortId.putIfAbsent(portId, computeTemplateConsolidationData));
+        }
+      }
+    }
+    return connectedComputeConsolidationDataByPortId.get(portNodeTemplateId);
+  }
+
+  /**
+   * Gets a node type of the substitution service template with flat hierarchy, resolving it once
+   * per node type.
+   */
+  NodeType getSubstitutionNodeTypeWithFlatHierarchy(String nodeTypeId) {
+    return substitutionNodeTypesWithFlatHierarchy.computeIfAbsent(nodeTypeId,
+        type -> HeatToToscaUtil.getNodeTypeWithFlatHierarchy(type, substitutionServiceTemplate, context));
+  }
+
+  private void addConsolidationNodeTemplateIdsAndTypes(UnifiedCompositionData unifiedCompositionData) {
+    ComputeTemplateConsolidationData computeTemplateConsolidationData =
+        unifiedCompositionData.getComputeTemplateConsolidationData();
+    if (Objects.nonNull(computeTemplateConsolidationData)) {
+      consolidationNodeTemplateIdAndType
+          .put(computeTemplateConsolidationData.getNodeTemplateId(), UnifiedCompositionEntity.COMPUTE);
+    }
+    for (SubInterfaceTemplateConsolidationData subInterfaceTemplateConsolidationData :
+        getSubInterfaceTemplateConsolidationDataList(unifiedCompositionData)) {
+      consolidationNodeTemplateIdAndType.put(subInterfaceTemplateConsolidationData.getNodeTemplateId(),
+          UnifiedCompositionEntity.SUB_INTERFACE);
+    }
+    for (PortTemplateConsolidationData portTemplateConsolidationData :
+        getPortTemplateConsolidationDataList(unifiedCompositionData)) {
+      consolidationNodeTemplateIdAndType.put(portTemplateConsolidationData.getNodeTemplateId(),
+          UnifiedCompositionEntity.PORT);
+    }
+    NestedTemplateConsolidationData nestedTemplateConsolidationData =
+        unifiedCompositionData.getNestedTemplateConsolidationData();
+    if (Objects.nonNull(nestedTemplateConsolidationData)) {
+      consolidationNodeTemplateIdAndType.put(nestedTemplateConsolidationData.getNodeTemplateId(),
+          UnifiedCompositionEntity.NESTED);
+    }
+  }
+
+  private static List<PortTemplateConsolidationData> getPortTemplateConsolidationDataList(
+      UnifiedCompositionData unifiedCompositionData) {
+    return unifiedCompositionData.getPortTemplateConsolidationDataList() == null ? Collections.emptyList()
+        : unifiedCompositionData.getPortTemplateConsolidationDataList();
+  }
+}
@@ -31,7 +31,6 @@ import static org.openecomp.sdc.translator.services.heattotosca.Constants.PORT_I
 import static org.openecomp.sdc.translator.services.heattotosca.Constants.SUB_INTERFACE_PROPERTY_VALUE_PREFIX;
 import static org.openecomp.sdc.translator.services.heattotosca.Constants.SUB_INTERFACE_ROLE;
 import static org.openecomp.sdc.translator.services.heattotosca.Constants.VFC_PARENT_PORT_ROLE;
-import static org.openecomp.sdc.translator.services.heattotosca.UnifiedCompositionUtil.getPortTemplateConsolidationDataForPort;
 import static org.openecomp.sdc.translator.services.heattotosca.UnifiedCompositionUtil.getComputeTypeSuffix;
 import static org.openecomp.sdc.translator.services.heattotosca.UnifiedCompositionUtil.getConnectedComputeConsolidationData;
 import static org.openecomp.sdc.translator.services.heattotosca.UnifiedCompositionUtil.getNewComputeNodeTemplateId;
@@ -1087,7 +1086,8 @@ public class UnifiedCompositionService {
           List<UnifiedCompositionData> unifiedComposotionDataList,
           TranslationContext context) {
     Map<String, UnifiedCompositionEntity> consolidationNodeTemplateIdAndType =
-            getAllConsolidationNodeTemplateIdAndType(unifiedComposotionDataList);
+            new UnifiedCompositionEntityIndex(new UnifiedCompositionTo(serviceTemplate, null,
+                    unifiedComposotionDataList, context, null)).getConsolidationNodeTemplateIdAndType();
     for (UnifiedCompositionData unifiedCompositionData : unifiedComposotionDataList) {
       ComputeTemplateConsolidationData computeTemplateConsolidationData =
               unifiedCompositionData.getComputeTemplateConsolidationData();
@@ -1490,21 +1490,20 @@ public class UnifiedCompositionService {
 
   private void createOutputParameters(UnifiedCompositionTo unifiedCompositionTo,
                                       String computeNodeType) {
+    UnifiedCompositionEntityIndex entityIndex = new UnifiedCompositionEntityIndex(unifiedCompositionTo);
 
     createOutputParametersForCompute(unifiedCompositionTo.getServiceTemplate(),
-            unifiedCompositionTo.getSubstitutionServiceTemplate(), unifiedCompositionTo.getUnifiedCompositionDataList(),
-            unifiedCompositionTo.getContext());
-    createOutputParameterForPorts(unifiedCompositionTo.getSubstitutionServiceTemplate(),
-            unifiedCompositionTo.getUnifiedCompositionDataList(), computeNodeType, unifiedCompositionTo.getContext());
-    createOutputParameterForSubInterfaces(unifiedCompositionTo, computeNodeType);
+            unifiedCompositionTo.getSubstitutionServiceTemplate(), entityIndex);
+    createOutputParameterForPorts(unifiedCompositionTo.getSubstitutionServiceTemplate(), entityIndex,
+            computeNodeType);
+    createOutputParameterForSubInterfaces(unifiedCompositionTo, entityIndex, computeNodeType);
   }
 
   private void createOutputParameterForPorts(
           ServiceTemplate substitutionServiceTemplate,
-          List<UnifiedCompositionData> unifiedCompositionDataList,
-          String connectedComputeNodeType,
-          TranslationContext context) {
-    for (UnifiedCompositionData unifiedCompositionData : unifiedCompositionDataList) {
+          UnifiedCompositionEntityIndex entityIndex,
+          String connectedComputeNodeType) {
+    for (UnifiedCompositionData unifiedCompositionData : entityIndex.getUnifiedCompositionDataList()) {
       List<PortTemplateConsolidationData> portTemplateConsolidationDataList =
               getPortTemplateConsolidationDataList(unifiedCompositionData);
       if (CollectionUtils.isEmpty(portTemplateConsolidationDataList)) {
@@ -1518,12 +1517,13 @@ public class UnifiedCompositionService {
                         connectedComputeNodeType,
                         unifiedCompositionData.getComputeTemplateConsolidationData());
         addOutputParameters(portTemplateConsolidationData, newPortNodeTemplateId,
-                substitutionServiceTemplate, unifiedCompositionDataList, context);
+                substitutionServiceTemplate, entityIndex);
       }
     }
   }
 
   private void createOutputParameterForSubInterfaces(UnifiedCompositionTo unifiedCompositionTo,
+                                                     UnifiedCompositionEntityIndex entityIndex,
                                                      String connectedComputeNodeType) {
     for (UnifiedCompositionData unifiedCompositionData : unifiedCompositionTo.getUnifiedCompositionDataList()) {
       List<SubInterfaceTemplateConsolidationData> subInterfaceTemplateConsolidationDataList =
@@ -1539,8 +1539,7 @@ public class UnifiedCompositionService {
                         .getComputeTemplateConsolidationData(), subInterfaceTemplateConsolidationData,
                 unifiedCompositionTo.getContext());
         addOutputParameters(subInterfaceTemplateConsolidationData, newSubInterfaceNodeTemplateId,
-                unifiedCompositionTo.getSubstitutionServiceTemplate(), unifiedCompositionTo.getUnifiedCompositionDataList(),
-                unifiedCompositionTo.getContext());
+                unifiedCompositionTo.getSubstitutionServiceTemplate(), entityIndex);
       }
     }
   }
@@ -1548,43 +1547,40 @@ public class UnifiedCompositionService {
   private void createOutputParametersForCompute(
           ServiceTemplate serviceTemplate,
           ServiceTemplate substitutionServiceTemplate,
-          List<UnifiedCompositionData>
-                  unifiedCompositionDataList,
-          TranslationContext context) {
+          UnifiedCompositionEntityIndex entityIndex) {
     List<EntityConsolidationData> computeConsolidationDataList =
-            getComputeConsolidationDataList(unifiedCompositionDataList);
+            getComputeConsolidationDataList(entityIndex.getUnifiedCompositionDataList());
 
     for (EntityConsolidationData computeTemplateConsolidationData : computeConsolidationDataList) {
       String newComputeNodeTemplateId =
               getNewComputeNodeTemplateId(serviceTemplate,
                       computeTemplateConsolidationData.getNodeTemplateId());
       addOutputParameters(computeTemplateConsolidationData, newComputeNodeTemplateId,
-              substitutionServiceTemplate, unifiedCompositionDataList, context);
+              substitutionServiceTemplate, entityIndex);
     }
   }
 
   private void addOutputParameters(EntityConsolidationData entityConsolidationData,
                                    String newNodeTemplateId,
                                    ServiceTemplate substitutionServiceTemplate,
-                                   List<UnifiedCompositionData> unifiedCompositionDataList,
-                                   TranslationContext context) {
+                                   UnifiedCompositionEntityIndex entityIndex) {
     handleNodesGetAttrIn(entityConsolidationData, newNodeTemplateId, substitutionServiceTemplate,
-            unifiedCompositionDataList, context);
+            entityIndex);
 
     handleOutputParamGetAttrIn(entityConsolidationData, newNodeTemplateId,
-            substitutionServiceTemplate, context);
+            substitutionServiceTemplate, entityIndex);
   }
 
   private void handleOutputParamGetAttrIn(EntityConsolidationData entityConsolidationData,
                                           String newNodeTemplateId,
                                           ServiceTemplate substitutionServiceTemplate,
-                                          TranslationContext context) {
+                                          UnifiedCompositionEntityIndex entityIndex) {
     List<GetAttrFuncData> outputParametersGetAttrIn =
             entityConsolidationData.getOutputParametersGetAttrIn();
     if (!CollectionUtils.isEmpty(outputParametersGetAttrIn)) {
       for (GetAttrFuncData getAttrFuncData : outputParametersGetAttrIn) {
         createAndAddOutputParameter(newNodeTemplateId,
-                substitutionServiceTemplate, getAttrFuncData, context);
+                substitutionServiceTemplate, getAttrFuncData, entityIndex);
       }
     }
   }
@@ -1592,21 +1588,20 @@ public class UnifiedCompositionService {
   private void handleNodesGetAttrIn(EntityConsolidationData entityConsolidationData,
                                     String newNodeTemplateId,
                                     ServiceTemplate substitutionServiceTemplate,
-                                    List<UnifiedCompositionData> unifiedCompositionDataList,
-                                    TranslationContext context) {
+                                    UnifiedCompositionEntityIndex entityIndex) {
     Map<String, List<GetAttrFuncData>> getAttrIn = entityConsolidationData.getNodesGetAttrIn();
     if (MapUtils.isEmpty(getAttrIn)) {
       return;
     }
     Map<String, UnifiedCompositionEntity> consolidationNodeTemplateIdAndType =
-            getAllConsolidationNodeTemplateIdAndType(unifiedCompositionDataList);
+            entityIndex.getConsolidationNodeTemplateIdAndType();
     for (Map.Entry<String, List<GetAttrFuncData>> getAttrInEntry : getAttrIn.entrySet()) {
       String sourceNodeTemplateId = getAttrInEntry.getKey();
       if (!consolidationNodeTemplateIdAndType.keySet().contains(sourceNodeTemplateId)) {
         List<GetAttrFuncData> getAttrFuncDataList = getAttrInEntry.getValue();
         for (GetAttrFuncData getAttrFuncData : getAttrFuncDataList) {
           createAndAddOutputParameter(newNodeTemplateId,
-                  substitutionServiceTemplate, getAttrFuncData, context);
+                  substitutionServiceTemplate, getAttrFuncData, entityIndex);
         }
       }
     }
@@ -1615,7 +1610,7 @@ public class UnifiedCompositionService {
   private void createAndAddOutputParameter(String newNodeTemplateId,
                                            ServiceTemplate substitutionServiceTemplate,
                                            GetAttrFuncData getAttrFuncData,
-                                           TranslationContext context) {
+                                           UnifiedCompositionEntityIndex entityIndex) {
     Map<String, List<Object>> parameterValue = new HashMap<>();
     List<Object> valueList = new ArrayList<>();
     valueList.add(newNodeTemplateId);
@@ -1624,7 +1619,7 @@ public class UnifiedCompositionService {
     ParameterDefinition outputParameter = new ParameterDefinition();
     outputParameter.setValue(parameterValue);
     setOutputParameterType(substitutionServiceTemplate, newNodeTemplateId, getAttrFuncData
-            .getAttributeName(), outputParameter, context);
+            .getAttributeName(), outputParameter, entityIndex);
     DataModelUtil.addOutputParameterToTopologyTemplate(substitutionServiceTemplate,
             getNewSubstitutionOutputParameterId(newNodeTemplateId, getAttrFuncData.getAttributeName()),
             outputParameter);
@@ -1634,15 +1629,14 @@ public class UnifiedCompositionService {
                                       String newNodeTemplateId,
                                       String outputParameterName,
                                       ParameterDefinition outputParameter,
-                                      TranslationContext context) {
+                                      UnifiedCompositionEntityIndex entityIndex) {
     NodeTemplate nodeTemplate = DataModelUtil.getNodeTemplate(substitutionServiceTemplate,
             newNodeTemplateId);
     //Get the type and entry schema of the output parameter from the node type flat hierarchy
     String outputParameterType;
     EntrySchema outputParameterEntrySchema;
     NodeType nodeTypeWithFlatHierarchy =
-            HeatToToscaUtil.getNodeTypeWithFlatHierarchy(nodeTemplate.getType(),
-                    substitutionServiceTemplate, context);
+            entityIndex.getSubstitutionNodeTypeWithFlatHierarchy(nodeTemplate.getType());
     //Check if the parameter is present in the attributes
     AttributeDefinition outputParameterDefinitionFromAttributes =
             getOutputParameterDefinitionFromAttributes(nodeTypeWithFlatHierarchy, outputParameterName);
@@ -1993,6 +1987,8 @@ public class UnifiedCompositionService {
     UnifiedCompositionData unifiedCompositionData = unifiedCompositionTo.getUnifiedCompositionDataList().get(0);
     ServiceTemplate serviceTemplate = unifiedCompositionTo.getServiceTemplate();
     TranslationContext context = unifiedCompositionTo.getContext();
+    UnifiedCompositionEntityIndex entityIndex = new UnifiedCompositionEntityIndex(unifiedCompositionTo);
+    NodeType nodeTypeWithFlatHierarchy = null;
     newSubInterfaceNodeTemplate.setProperties(new HashMap<>());
     for (EntityConsolidationData entityConsolidationData : entityConsolidationDataList) {
       String nodeTemplateId = entityConsolidationData.getNodeTemplateId();
@@ -2005,10 +2001,12 @@ public class UnifiedCompositionService {
         continue;
       }
 
-      for (Map.Entry<String, Object> propertyEntry : properties.entrySet()) {
-        NodeType nodeTypeWithFlatHierarchy =
+      if (nodeTypeWithFlatHierarchy == null) {
+        nodeTypeWithFlatHierarchy =
                 HeatToToscaUtil.getNodeTypeWithFlatHierarchy(newSubInterfaceNodeTemplate.getType(),
                         serviceTemplate, context);
+      }
+      for (Map.Entry<String, Object> propertyEntry : properties.entrySet()) {
         PropertyDefinition propertyDefinition =
                 nodeTypeWithFlatHierarchy.getProperties().get(propertyEntry.getKey());
         String propertyType = propertyDefinition.getType();
@@ -2028,7 +2026,7 @@ public class UnifiedCompositionService {
                   updateProperty(serviceTemplate, nodeTemplateId, newSubInterfaceNodeTemplate,
                           propertyEntry, UnifiedCompositionEntity.SUB_INTERFACE, unifiedCompositionData
                                   .getComputeTemplateConsolidationData(), portTemplateConsolidationData,
-                          unifiedCompositionTo.getUnifiedCompositionDataList(), context);
+                          entityIndex, context);
           parameterId.ifPresent(
                   parameterIdValue -> addPropertyInputParameter(propertyType,
                           unifiedCompositionTo.getSubstitutionServiceTemplate(),
@@ -2159,6 +2157,8 @@ public class UnifiedCompositionService {
                                             ) {
     List<String> propertiesWithIdenticalVal =
             consolidationService.getPropertiesWithIdenticalVal(unifiedCompositionEntity);
+    UnifiedCompositionEntityIndex entityIndex = new UnifiedCompositionEntityIndex(unifiedCompositionTo);
+    NodeType nodeTypeWithFlatHierarchy = null;
 
     for (EntityConsolidationData entityConsolidationData : entityConsolidationDataList) {
       String nodeTemplateId = entityConsolidationData.getNodeTemplateId();
@@ -2172,10 +2172,12 @@ public class UnifiedCompositionService {
         continue;
       }
 
-      for (Map.Entry<String, Object> propertyEntry : properties.entrySet()) {
-        NodeType nodeTypeWithFlatHierarchy =
+      if (nodeTypeWithFlatHierarchy == null) {
+        nodeTypeWithFlatHierarchy =
             HeatToToscaUtil.getNodeTypeWithFlatHierarchy(unifiedCompositionTo.getNodeTemplate().getType(),
                 unifiedCompositionTo.getServiceTemplate(), unifiedCompositionTo.getContext());
+      }
+      for (Map.Entry<String, Object> propertyEntry : properties.entrySet()) {
         PropertyDefinition propertyDefinition =
                 nodeTypeWithFlatHierarchy.getProperties().get(propertyEntry.getKey());
         String propertyType = propertyDefinition.getType();
@@ -2183,7 +2185,7 @@ public class UnifiedCompositionService {
         if (propertiesWithIdenticalVal.contains(propertyEntry.getKey())) {
           String parameterId =
               updateIdenticalProperty(nodeTemplateId, propertyEntry.getKey(),
-                  unifiedCompositionTo.getNodeTemplate(),unifiedCompositionEntity, unifiedCompositionTo.getUnifiedCompositionDataList());
+                  unifiedCompositionTo.getNodeTemplate(),unifiedCompositionEntity, entityIndex);
 
           addInputParameter(
               parameterId, propertyType,
@@ -2199,8 +2201,7 @@ public class UnifiedCompositionService {
           Optional<String> parameterId =
               updateProperty(unifiedCompositionTo.getServiceTemplate(), nodeTemplateId, unifiedCompositionTo.getNodeTemplate(), propertyEntry,
                   unifiedCompositionEntity, computeTemplateConsolidationData,
-                      getPortTemplateConsolidationDataForPort(unifiedCompositionTo.getUnifiedCompositionDataList(), nodeTemplateId),
-                  unifiedCompositionTo.getUnifiedCompositionDataList(),
+                      entityIndex.getPortTemplateConsolidationData(nodeTemplateId), entityIndex,
                   unifiedCompositionTo.getContext());
           parameterId.ifPresent(
               parameterIdValue -> addPropertyInputParameter(propertyType,
@@ -2467,7 +2468,7 @@ public class UnifiedCompositionService {
   private String updateIdenticalProperty(String nodeTemplateId, String propertyId,
                                          NodeTemplate nodeTemplate,
                                          UnifiedCompositionEntity unifiedCompositionEntity,
-                                         List<UnifiedCompositionData> unifiedCompositionDataList) {
+                                         UnifiedCompositionEntityIndex entityIndex) {
 
     String inputParamId = null;
     Map<String, Object> propertyVal = new HashMap<>();
@@ -2481,14 +2482,13 @@ public class UnifiedCompositionService {
         break;
       case PORT:
         PortTemplateConsolidationData portTemplateConsolidationData =
-                getPortTemplateConsolidationDataForPort(unifiedCompositionDataList,
-                        nodeTemplateId);
+                entityIndex.getPortTemplateConsolidationData(nodeTemplateId);
         String portType = null;
         if (Objects.nonNull(portTemplateConsolidationData)) {
           portType = portTemplateConsolidationData.getPortType();
         }
         ComputeTemplateConsolidationData computeTemplateConsolidationData =
-                getConnectedComputeConsolidationData(unifiedCompositionDataList, nodeTemplateId);
+                entityIndex.getConnectedComputeConsolidationData(nodeTemplateId);
         inputParamId = getInputParamIdForPort(nodeTemplateId, propertyId, portType, computeTemplateConsolidationData);
         propertyVal.put(ToscaFunctions.GET_INPUT.getDisplayName(), inputParamId);
         nodeTemplate.getProperties().put(propertyId, propertyVal);
@@ -2537,11 +2537,11 @@ public class UnifiedCompositionService {
           UnifiedCompositionEntity compositionEntity,
           ComputeTemplateConsolidationData computeTemplateConsolidationData,
           PortTemplateConsolidationData portTemplateConsolidationData,
-          List<UnifiedCompositionData> unifiedCompositionDataList,
+          UnifiedCompositionEntityIndex entityIndex,
           TranslationContext context) {
 
     if (handleGetAttrFromConsolidationNodes(serviceTemplate, nodeTemplateId, nodeTemplate,
-            propertyEntry, unifiedCompositionDataList, context)) {
+            propertyEntry, entityIndex, context)) {
       return Optional.empty();
     }
 
@@ -2567,18 +2567,20 @@ public class UnifiedCompositionService {
           ServiceTemplate serviceTemplate,
           String nodeTemplateId, NodeTemplate nodeTemplate,
           Map.Entry<String, Object> propertyEntry,
-          List<UnifiedCompositionData> unifiedCompositionDataList,
+          UnifiedCompositionEntityIndex entityIndex,
           TranslationContext context) {
+    List<List<Object>> getAttrFunctionList = extractGetAttrFunction(propertyEntry.getValue());
+    if (getAttrFunctionList.isEmpty()) {
+      return false;
+    }
     Map<String, UnifiedCompositionEntity> consolidationNodeTemplateIdAndType =
-            getAllConsolidationNodeTemplateIdAndType(unifiedCompositionDataList);
+            entityIndex.getConsolidationNodeTemplateIdAndType();
 
     Set<String> consolidationNodeTemplateIds = consolidationNodeTemplateIdAndType.keySet();
-    Map<String, String> entityIdToType = ConsolidationService.getConsolidationEntityIdToType(
-            serviceTemplate, context.getConsolidationData());
+    Map<String, String> entityIdToType = entityIndex.getConsolidationEntityIdToType();
     boolean includeGetAttrFromConsolidationNodes = false;
     boolean includeGetAttrFromOutsideNodes = false;
     boolean isGetAttrFromConsolidationIsFromSameType = false;
-    List<List<Object>> getAttrFunctionList = extractGetAttrFunction(propertyEntry.getValue());
     for (List<Object> getAttrFunc : getAttrFunctionList) {
       String getAttrNodeId = (String) getAttrFunc.get(0);
       if (consolidationNodeTemplateIds.contains(getAttrNodeId)) {
@@ -2602,7 +2604,7 @@ public class UnifiedCompositionService {
       for (List<Object> getAttrFunc : clonedGetAttrFuncList) {
         String targetNodeTemplateId = (String) getAttrFunc.get(0);
         if (consolidationNodeTemplateIds.contains(targetNodeTemplateId)) {
-          updatePropertyGetAttrFunc(serviceTemplate, unifiedCompositionDataList,
+          updatePropertyGetAttrFunc(serviceTemplate, entityIndex.getUnifiedCompositionDataList(),
                   consolidationNodeTemplateIdAndType, targetNodeTemplateId, getAttrFunc, context);
         }
       }
@@ -3758,41 +3760,6 @@ public class UnifiedCompositionService {
     return propertyValue;
   }
 
-  private Map<String, UnifiedCompositionEntity> getAllConsolidationNodeTemplateIdAndType(
-          List<UnifiedCompositionData> unifiedCompositionDataList) {
-
-    Map<String, UnifiedCompositionEntity> consolidationNodeTemplateIdAndType = new HashMap<>();
-    for (UnifiedCompositionData unifiedCompositionData : unifiedCompositionDataList) {
-      ComputeTemplateConsolidationData computeTemplateConsolidationData =
-              unifiedCompositionData.getComputeTemplateConsolidationData();
-      if (Objects.nonNull(computeTemplateConsolidationData)) {
-        consolidationNodeTemplateIdAndType.put(computeTemplateConsolidationData.getNodeTemplateId(), COMPUTE);
-      }
-      List<SubInterfaceTemplateConsolidationData> subInterfaceTemplateConsolidationDataList =
-              getSubInterfaceTemplateConsolidationDataList(unifiedCompositionData);
-      for (SubInterfaceTemplateConsolidationData subInterfaceTemplateConsolidationData :
-              subInterfaceTemplateConsolidationDataList) {
-        consolidationNodeTemplateIdAndType.put(subInterfaceTemplateConsolidationData.getNodeTemplateId(),
-                UnifiedCompositionEntity.SUB_INTERFACE);
-      }
-      List<PortTemplateConsolidationData> portTemplateConsolidationDataList =
-              getPortTemplateConsolidationDataList(unifiedCompositionData);
-      for (PortTemplateConsolidationData portTemplateConsolidationData :
-              portTemplateConsolidationDataList) {
-        consolidationNodeTemplateIdAndType.put(portTemplateConsolidationData.getNodeTemplateId(),
-                UnifiedCompositionEntity.PORT);
-      }
-      NestedTemplateConsolidationData nestedTemplateConsolidationData =
-              unifiedCompositionData.getNestedTemplateConsolidationData();
-      if (Objects.nonNull(nestedTemplateConsolidationData)) {
-        consolidationNodeTemplateIdAndType
-                .put(nestedTemplateConsolidationData.getNodeTemplateId(),
-                        UnifiedCompositionEntity.NESTED);
-      }
-    }
-    return consolidationNodeTemplateIdAndType;
-  }
-
   private List<PortTemplateConsolidationData> getPortTemplateConsolidationDataList(
           UnifiedCompositionData unifiedCompositionData) {
     return unifiedCompositionData.getPortTemplateConsolidationDataList() == null ? new
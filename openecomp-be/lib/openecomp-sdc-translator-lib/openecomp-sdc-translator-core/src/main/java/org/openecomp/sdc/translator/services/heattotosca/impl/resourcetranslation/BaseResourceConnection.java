@@ -31,7 +31,6 @@ import org.onap.sdc.tosca.datatypes.model.NodeType;
 import org.onap.sdc.tosca.datatypes.model.RequirementAssignment;
 import org.onap.sdc.tosca.datatypes.model.RequirementDefinition;
 import org.onap.sdc.tosca.datatypes.model.ServiceTemplate;
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.sdc.common.errors.CoreException;
 import org.openecomp.sdc.common.errors.ErrorCategory;
 import org.openecomp.sdc.common.errors.ErrorCode;
@@ -102,9 +101,8 @@ abstract class BaseResourceConnection<T> {
         ServiceTemplate nestedServiceTemplate = translateTo.getContext().getTranslatedServiceTemplates()
                 .get(translateTo.getResource().getType());
         List<String> paramNames;
-        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate = new YamlUtil()
-                .yamlToObject(translateTo.getContext().getFileContent(nestedFileData.getFile()),
-                        HeatOrchestrationTemplate.class);
+        HeatOrchestrationTemplate nestedHeatOrchestrationTemplate =
+                translateTo.getContext().getHeatOrchestrationTemplate(nestedFileData.getFile());
         List<Map<String, T>> exposedConnectionPoints = getAllConnectionPoints();
         for (Map<String, T> connectionPointsMap : exposedConnectionPoints) {
             for (Map.Entry<String, T> connectionPointEntry : connectionPointsMap.entrySet()) {
@@ -147,9 +145,8 @@ abstract class BaseResourceConnection<T> {
         if (Objects.isNull(mappedNestedHeatFileName)) {
             return Collections.emptyList();
         }
-        HeatOrchestrationTemplate mappedNestedHeatOrchestrationTemplate = new YamlUtil()
-                .yamlToObject(translateTo.getContext().getFileContent(mappedNestedHeatFileName),
-                        HeatOrchestrationTemplate.class);
+        HeatOrchestrationTemplate mappedNestedHeatOrchestrationTemplate =
+                translateTo.getContext().getHeatOrchestrationTemplate(mappedNestedHeatFileName);
         ServiceTemplate mappedNestedServiceTemplate =
                 translateTo.getContext().getTranslatedServiceTemplates().get(mappedNestedHeatFileName);
         List<String> nestedPropertyNames = getConnectionParameterName(mappedNestedServiceTemplate,
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.translator.services.heattotosca;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Test;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.sdc.translator.datatypes.heattotosca.TranslationContext;
+
+public class ConcurrentTranslationTest {
+
+    private static final int NESTED_TEMPLATES = 50;
+
+    @Test
+    public void testConcurrentTranslationSameAsSequential() {
+        FileContentHandler files = NestedHeatPackage.create(NESTED_TEMPLATES);
+        String sequential = NestedHeatPackage.toYaml(NestedHeatPackage.translate(files, 0));
+        assertEquals(sequential, NestedHeatPackage.toYaml(NestedHeatPackage.translate(files, 4)));
+        assertEquals(sequential, NestedHeatPackage.toYaml(NestedHeatPackage.translate(files, 2)));
+    }
+
+    @Test
+    public void testTranslationPoolSizedByThreads() {
+        assertEquals(2, TranslationExecutor.getTranslationPool(2).getParallelism());
+        assertEquals(4, TranslationExecutor.getTranslationPool(4).getParallelism());
+        assertSame(TranslationExecutor.getTranslationPool(4), TranslationExecutor.getTranslationPool(4));
+    }
+
+    @Test
+    public void testComputeAllOncePerItem() {
+        TranslationContext context = new TranslationContext();
+        context.setTranslationThreads(4);
+        AtomicInteger computations = new AtomicInteger();
+        Function<String, String> results = TranslationExecutor.computeAll(context,
+                Arrays.asList("a", "b", "a"), item -> {
+                    computations.incrementAndGet();
+                    return item.toUpperCase();
+                });
+        assertEquals("A", results.apply("a"));
+        assertEquals("B", results.apply("b"));
+        assertEquals("A", results.apply("a"));
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void testComputeAllRethrowsFailureOnLookup() {
+        TranslationContext context = new TranslationContext();
+        context.setTranslationThreads(4);
+        IllegalStateException failure = new IllegalStateException("b");
+        Function<String, String> results = TranslationExecutor.computeAll(context, Arrays.asList("a", "b"),
+                item -> {
+                    if ("b".equals(item)) {
+                        throw failure;
+                    }
+                    return item;
+                });
+        assertEquals("a", results.apply("a"));
+        try {
+            results.apply("b");
+            fail("the failure of b should be rethrown");
+        } catch (IllegalStateException exception) {
+            assertSame(failure, exception);
+        }
+    }
+}
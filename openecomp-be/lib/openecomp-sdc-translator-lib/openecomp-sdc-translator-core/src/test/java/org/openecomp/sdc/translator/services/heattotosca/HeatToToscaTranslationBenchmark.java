@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.translator.services.heattotosca;
+
+import java.util.concurrent.TimeUnit;
+import org.openecomp.core.translator.datatypes.TranslatorOutput;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Translates a synthetic heat package with a nested template per resource of its base template.
+ * 0 threads is the sequential translation. The setup fails if a concurrent translation differs from
+ * the sequential one.
+ * Not a unit test, run with the main method or through the jmh runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HeatToToscaTranslationBenchmark {
+
+    @Param({"50"})
+    private int nestedTemplates;
+
+    @Param({"0", "4"})
+    private int threads;
+
+    private FileContentHandler files;
+
+    @Setup
+    public void setUp() {
+        files = NestedHeatPackage.create(nestedTemplates);
+        String sequential = NestedHeatPackage.toYaml(NestedHeatPackage.translate(files, 0));
+        if (!sequential.equals(NestedHeatPackage.toYaml(NestedHeatPackage.translate(files, threads)))) {
+            throw new IllegalStateException("The translation with " + threads
+                    + " threads differs from the sequential translation");
+        }
+    }
+
+    @Benchmark
+    public TranslatorOutput translate() {
+        return NestedHeatPackage.translate(files, threads);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HeatToToscaTranslationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.translator.services.heattotosca;
+
+import static org.openecomp.sdc.common.utils.SdcCommon.MANIFEST_NAME;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import org.onap.sdc.tosca.datatypes.model.ServiceTemplate;
+import org.onap.sdc.tosca.services.ToscaExtensionYamlUtil;
+import org.openecomp.core.translator.datatypes.TranslatorOutput;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.sdc.tosca.datatypes.ToscaServiceModel;
+import org.openecomp.sdc.translator.impl.heattotosca.HeatToToscaTranslatorImpl;
+
+/**
+ * A synthetic heat package whose base template has a resource per nested template. A nested
+ * template has a server with two ports and an attached volume.
+ */
+class NestedHeatPackage {
+
+    private NestedHeatPackage() {
+    }
+
+    static FileContentHandler create(int nestedTemplates) {
+        FileContentHandler files = new FileContentHandler();
+        StringBuilder manifest = new StringBuilder("{\"name\": \"nested\", \"description\": \"nested templates\", "
+                + "\"version\": \"2013-05-23\", \"data\": [{\"file\": \"main.yml\", \"type\": \"HEAT\", "
+                + "\"isBase\": \"true\", \"data\": [{\"file\": \"main.env\", \"type\": \"HEAT_ENV\"}]}");
+        StringBuilder main = new StringBuilder("heat_template_version: 2013-05-23\ndescription: nested templates\n"
+                + "parameters:\n  net_name:\n    type: string\n  image:\n    type: string\n  flavor:\n    type: string\n");
+        for (int index = 0; index < nestedTemplates; index++) {
+            main.append("  vm_").append(index).append("_names:\n    type: comma_delimited_list\n");
+        }
+        main.append("resources:\n  oam_net:\n    type: OS::Neutron::Net\n    properties:\n"
+                + "      name: {get_param: net_name}\n");
+        for (int index = 0; index < nestedTemplates; index++) {
+            String nestedFileName = "nested_" + index + ".yml";
+            manifest.append(", {\"file\": \"").append(nestedFileName).append("\", \"type\": \"HEAT\", "
+                    + "\"isBase\": \"false\"}");
+            main.append("  vm_").append(index).append(":\n    type: ").append(nestedFileName)
+                .append("\n    properties:\n      names: {get_param: vm_").append(index)
+                .append("_names}\n      image: {get_param: image}\n      flavor: {get_param: flavor}\n"
+                        + "      net: {get_resource: oam_net}\n");
+            addFile(files, nestedFileName, createNestedTemplate("vm" + index));
+        }
+        manifest.append("]}");
+        addFile(files, MANIFEST_NAME, manifest.toString());
+        addFile(files, "main.yml", main.toString());
+        addFile(files, "main.env", "parameters:\n  net_name: oam\n  image: image\n  flavor: m1.large\n");
+        return files;
+    }
+
+    static TranslatorOutput translate(FileContentHandler files, int translationThreads) {
+        HeatToToscaTranslatorImpl heatToToscaTranslator = new HeatToToscaTranslatorImpl();
+        heatToToscaTranslator.setTranslationThreads(translationThreads);
+        heatToToscaTranslator.addManifest(MANIFEST_NAME, files.getFileBytes(MANIFEST_NAME));
+        files.getFileList().stream().filter(fileName -> !MANIFEST_NAME.equals(fileName))
+             .forEach(fileName -> heatToToscaTranslator.addFileFrom(fileName, files));
+        return heatToToscaTranslator.translate();
+    }
+
+    /**
+     * @return the service templates of the output as they are written to the csar, in the order of
+     * the service model, followed by those of the non unified service model
+     */
+    static String toYaml(TranslatorOutput translatorOutput) {
+        StringBuilder yaml = new StringBuilder();
+        if (translatorOutput.getErrorMessages() != null) {
+            yaml.append(new TreeMap<>(translatorOutput.getErrorMessages())).append('\n');
+        }
+        appendServiceTemplates(yaml, translatorOutput.getToscaServiceModel());
+        appendServiceTemplates(yaml, translatorOutput.getNonUnifiedToscaServiceModel());
+        return yaml.toString();
+    }
+
+    private static void appendServiceTemplates(StringBuilder yaml, ToscaServiceModel toscaServiceModel) {
+        ToscaExtensionYamlUtil toscaExtensionYamlUtil = new ToscaExtensionYamlUtil();
+        yaml.append(toscaServiceModel.getEntryDefinitionServiceTemplate()).append('\n');
+        for (Map.Entry<String, ServiceTemplate> serviceTemplate : toscaServiceModel.getServiceTemplates().entrySet()) {
+            yaml.append(serviceTemplate.getKey()).append('\n')
+                .append(toscaExtensionYamlUtil.objectToYaml(serviceTemplate.getValue()));
+        }
+    }
+
+    private static String createNestedTemplate(String vmType) {
+        return "heat_template_version: 2013-05-23\ndescription: nested " + vmType + "\nparameters:\n"
+                + "  names:\n    type: comma_delimited_list\n  image:\n    type: string\n"
+                + "  flavor:\n    type: string\n  net:\n    type: string\n"
+                + "resources:\n"
+                + "  " + vmType + "_server_0:\n    type: OS::Nova::Server\n    properties:\n"
+                + "      name: {get_param: [names, 0]}\n      image: {get_param: image}\n"
+                + "      flavor: {get_param: flavor}\n      networks:\n"
+                + "      - port: {get_resource: " + vmType + "_port_0}\n"
+                + "      - port: {get_resource: " + vmType + "_port_1}\n"
+                + "  " + vmType + "_port_0:\n    type: OS::Neutron::Port\n    properties:\n"
+                + "      network: {get_param: net}\n"
+                + "  " + vmType + "_port_1:\n    type: OS::Neutron::Port\n    properties:\n"
+                + "      network: {get_param: net}\n"
+                + "  " + vmType + "_volume:\n    type: OS::Cinder::Volume\n    properties:\n      size: 10\n"
+                + "  " + vmType + "_attachment:\n    type: OS::Cinder::VolumeAttachment\n    properties:\n"
+                + "      volume_id: {get_resource: " + vmType + "_volume}\n"
+                + "      instance_uuid: {get_resource: " + vmType + "_server_0}\n"
+                + "outputs:\n  server_id:\n    value: {get_resource: " + vmType + "_server_0}\n";
+    }
+
+    private static void addFile(FileContentHandler files, String fileName, String content) {
+        files.addFile(fileName, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.translator.services.heattotosca;
+
+import static org.openecomp.sdc.common.utils.SdcCommon.MANIFEST_NAME;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openecomp.core.translator.datatypes.TranslatorOutput;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Translates a synthetic heat template with 2 compute types, each scaled to a number of servers
+ * with 2 ports. The servers of a type are consolidated into one substitution service template, and
+ * each server reads an attribute of a port of the other type.
+ * Not a unit test, run with the main method or through the jmh runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UnifiedCompositionBenchmark {
+
+    private static final int COMPUTE_TYPES = 2;
+    private static final int PORTS_PER_SERVER = 2;
+
+    @Param({"100", "400"})
+    private int serversPerType;
+
+    private FileContentHandler files;
+
+    @Setup
+    public void setUp() {
+        files = createScalingInstancesPackage(serversPerType);
+    }
+
+    @Benchmark
+    public TranslatorOutput translate() {
+        return NestedHeatPackage.translate(files, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UnifiedCompositionBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static FileContentHandler createScalingInstancesPackage(int serversPerType) {
+        StringBuilder main = new StringBuilder("heat_template_version: 2013-05-23\ndescription: scaling instances\n"
+                + "parameters:\n  net_name:\n    type: string\n");
+        for (int type = 0; type < COMPUTE_TYPES; type++) {
+            main.append("  pd").append(type).append("_names:\n    type: comma_delimited_list\n")
+                .append("  pd").append(type).append("_image_name:\n    type: string\n")
+                .append("  pd").append(type).append("_flavor_name:\n    type: string\n");
+        }
+        main.append("resources:\n  oam_net:\n    type: OS::Neutron::Net\n    properties:\n"
+                + "      name: {get_param: net_name}\n");
+        for (int type = 0; type < COMPUTE_TYPES; type++) {
+            String vmType = "pd" + type;
+            String otherVmType = "pd" + ((type + 1) % COMPUTE_TYPES);
+            for (int server = 0; server < serversPerType; server++) {
+                main.append("  ").append(vmType).append("_server_").append(server)
+                    .append(":\n    type: OS::Nova::Server\n    properties:\n")
+                    .append("      name: {get_param: [").append(vmType).append("_names, ").append(server).append("]}\n")
+                    .append("      image: {get_param: ").append(vmType).append("_image_name}\n")
+                    .append("      flavor: {get_param: ").append(vmType).append("_flavor_name}\n")
+                    .append("      networks:\n");
+                for (int port = 0; port < PORTS_PER_SERVER; port++) {
+                    main.append("      - port: {get_resource: ").append(getPortId(vmType, server, port)).append("}\n");
+                }
+                main.append("      metadata:\n        peer: {get_attr: [").append(getPortId(otherVmType, server, 0))
+                    .append(", fixed_ips]}\n");
+                for (int port = 0; port < PORTS_PER_SERVER; port++) {
+                    main.append("  ").append(getPortId(vmType, server, port))
+                        .append(":\n    type: OS::Neutron::Port\n    properties:\n")
+                        .append("      network: {get_resource: oam_net}\n");
+                }
+            }
+        }
+        FileContentHandler files = new FileContentHandler();
+        addFile(files, MANIFEST_NAME, "{\"name\": \"scaling\", \"description\": \"scaling instances\", "
+                + "\"version\": \"2013-05-23\", \"data\": [{\"file\": \"main.yml\", \"type\": \"HEAT\", "
+                + "\"isBase\": \"true\", \"data\": [{\"file\": \"main.env\", \"type\": \"HEAT_ENV\"}]}]}");
+        addFile(files, "main.yml", main.toString());
+        addFile(files, "main.env", "parameters:\n  net_name: oam\n");
+        return files;
+    }
+
+    private static String getPortId(String vmType, int server, int port) {
+        return vmType + "_" + server + "_oam" + port + "_port_0";
+    }
+
+    private static void addFile(FileContentHandler files, String fileName, String content) {
+        files.addFile(fileName, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openecomp.sdc.translator.services.heattotosca;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.sdc.tosca.datatypes.model.ServiceTemplate;
+import org.openecomp.sdc.translator.datatypes.heattotosca.TranslationContext;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.composition.UnifiedCompositionData;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.composition.UnifiedCompositionEntity;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.composition.to.UnifiedCompositionTo;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.consolidation.ComputeTemplateConsolidationData;
+import org.openecomp.sdc.translator.datatypes.heattotosca.unifiedmodel.consolidation.PortTemplateConsolidationData;
+
+public class UnifiedCompositionEntityIndexTest {
+
+    private static final int COMPUTES = 3;
+    private static final String PORT_TYPE = "pd_oam_port";
+
+    private List<UnifiedCompositionData> unifiedCompositionDataList;
+    private UnifiedCompositionEntityIndex entityIndex;
+
+    @Before
+    public void setUp() {
+        unifiedCompositionDataList = new ArrayList<>();
+        for (int index = 0; index < COMPUTES; index++) {
+            ComputeTemplateConsolidationData compute = new ComputeTemplateConsolidationData();
+            compute.setNodeTemplateId("pd_server_" + index);
+            UnifiedCompositionData unifiedCompositionData = new UnifiedCompositionData();
+            unifiedCompositionData.setComputeTemplateConsolidationData(compute);
+            for (int portIndex = 0; portIndex < 2; portIndex++) {
+                PortTemplateConsolidationData port = new PortTemplateConsolidationData();
+                port.setNodeTemplateId("pd_" + index + "_oam_port_" + portIndex);
+                port.setPortType(PORT_TYPE);
+                compute.addPort(PORT_TYPE, port.getNodeTemplateId());
+                unifiedCompositionData.addPortTemplateConsolidationData(port);
+            }
+            unifiedCompositionDataList.add(unifiedCompositionData);
+        }
+        entityIndex = new UnifiedCompositionEntityIndex(new UnifiedCompositionTo(new ServiceTemplate(), null,
+                unifiedCompositionDataList, new TranslationContext(), null));
+    }
+
+    @Test
+    public void testPortLookupsSameAsScans() {
+        for (UnifiedCompositionData unifiedCompositionData : unifiedCompositionDataList) {
+            for (PortTemplateConsolidationData port : unifiedCompositionData.getPortTemplateConsolidationDataList()) {
+                String portId = port.getNodeTemplateId();
+                assertSame(UnifiedCompositionUtil.getPortTemplateConsolidationDataForPort(unifiedCompositionDataList,
+                        portId), entityIndex.getPortTemplateConsolidationData(portId));
+                assertSame(UnifiedCompositionUtil.getConnectedComputeConsolidationData(unifiedCompositionDataList,
+                        portId), entityIndex.getConnectedComputeConsolidationData(portId));
+                assertSame(unifiedCompositionData.getComputeTemplateConsolidationData(),
+                        entityIndex.getConnectedComputeConsolidationData(portId));
+            }
+        }
+        assertNull(entityIndex.getPortTemplateConsolidationData("pd_server_0"));
+        assertNull(entityIndex.getConnectedComputeConsolidationData("pd_server_0"));
+    }
+
+    @Test
+    public void testConsolidationNodeTemplateIdAndType() {
+        assertEquals(COMPUTES * 3, entityIndex.getConsolidationNodeTemplateIdAndType().size());
+        assertEquals(UnifiedCompositionEntity.COMPUTE,
+                entityIndex.getConsolidationNodeTemplateIdAndType().get("pd_server_1"));
+        assertEquals(UnifiedCompositionEntity.PORT,
+                entityIndex.getConsolidationNodeTemplateIdAndType().get("pd_1_oam_port_1"));
+    }
+}
@@ -21,6 +21,8 @@
 package org.openecomp.core.validation.api;
 
 
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.core.utilities.file.ParsedFileCache;
 import org.openecomp.core.validation.types.GlobalValidationContext;
 import org.openecomp.sdc.datatypes.error.ErrorMessage;
 
@@ -33,5 +35,12 @@ public interface ValidationManager {
 
   void addFile(String fileName, byte[] validationContent);
 
+  /**
+   * Adds a file of the given handler without copying its content.
+   */
+  void addFileFrom(String fileName, FileContentHandler files);
+
   void updateGlobalContext(GlobalValidationContext globalContext);
+
+  void setParsedFileCache(ParsedFileCache parsedFileCache);
 }
@@ -21,6 +21,8 @@
 package org.openecomp.core.validation.types;
 
 
+import org.openecomp.core.utilities.file.FileContentHandler;
+
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
@@ -29,19 +31,33 @@ public class FileValidationContext {
   private String fileName;
   private MessageContainer messageContainer = new MessageContainer();
   private byte[] content;
+  private FileContentHandler files;
 
   public FileValidationContext(String fileName, byte[] fileContent) {
     this.fileName = fileName;
     this.content = fileContent;
   }
 
+  /**
+   * Validates a file of the given handler, reading its content from the handler instead of keeping
+   * a copy of it.
+   */
+  public FileValidationContext(String fileName, FileContentHandler files) {
+    this.fileName = fileName;
+    this.files = files;
+  }
+
 
   MessageContainer getMessageContainer() {
     return this.messageContainer;
   }
 
   public InputStream getContent() {
-    return new ByteArrayInputStream(content);
+    return files == null ? new ByteArrayInputStream(content) : files.getFileContent(fileName);
+  }
+
+  byte[] getRawContent() {
+    return files == null ? content : files.getFileBytes(fileName);
   }
 
   public String getFileName() {
@@ -49,6 +65,6 @@ public class FileValidationContext {
   }
 
   public boolean isEmpty() {
-    return content == null || content.length == 0;
+    return files == null ? content == null || content.length == 0 : files.getFileSize(fileName) == 0;
   }
 }
@@ -17,34 +17,135 @@
 package org.openecomp.core.validation.types;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.core.utilities.file.ParsedFileCache;
 import org.openecomp.core.validation.ErrorMessageCode;
 import org.openecomp.sdc.datatypes.error.ErrorLevel;
 import org.openecomp.sdc.logging.api.Logger;
 import org.openecomp.sdc.logging.api.LoggerFactory;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class GlobalValidationContext {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(GlobalValidationContext.class);
   private final Map<String, FileValidationContext> fileContextMap = new HashMap<>();
   private final Map<String, MessageContainer> messageContainerMap = new HashMap<>();
-  private ErrorMessageCode messageCode;
+  private ParsedFileCache parsedFileCache = new ParsedFileCache();
+  private final ThreadLocal<ErrorMessageCode> messageCode = new ThreadLocal<>();
+  private final ThreadLocal<Long> messageOrder = ThreadLocal.withInitial(() -> 0L);
+  private boolean concurrentFileValidation;
 
+  /**
+   * The message code is kept per thread, so validators running in parallel do not see each
+   * other's code.
+   */
   public ErrorMessageCode getMessageCode() {
-    return messageCode;
+    return messageCode.get();
   }
 
   public void setMessageCode(ErrorMessageCode messageCode) {
-    this.messageCode = messageCode;
+    this.messageCode.set(messageCode);
+  }
+
+  public boolean isConcurrentFileValidation() {
+    return concurrentFileValidation;
+  }
+
+  /**
+   * Lets {@link #forEachFile(Collection, Consumer)} validate the files in parallel. Set only when
+   * the validators run in a fork join pool, see ValidationManagerImpl.
+   */
+  public void setConcurrentFileValidation(boolean concurrentFileValidation) {
+    this.concurrentFileValidation = concurrentFileValidation;
+  }
+
+  /**
+   * Runs a validator on the current thread. The messages it adds are listed after the messages of
+   * the validators with a lower index, as if the validators ran one after the other.
+   *
+   * @param validatorIndex the position of the validator in the sequential order
+   * @param validator      the validation to run
+   */
+  public void runValidator(int validatorIndex, Runnable validator) {
+    runOrdered((long) validatorIndex << 32, validator);
+  }
+
+  /**
+   * Validates each of the files, in parallel if concurrent file validation is enabled. The
+   * messages added while validating a file are listed in the order of the files.
+   *
+   * @param fileNames the files to validate
+   * @param action    the validation of a single file
+   */
+  public void forEachFile(Collection<String> fileNames, Consumer<String> action) {
+    if (!concurrentFileValidation || fileNames.size() < 2) {
+      fileNames.forEach(action);
+      return;
+    }
+    List<String> files = new ArrayList<>(fileNames);
+    long order = messageOrder.get();
+    ErrorMessageCode code = messageCode.get();
+    IntStream.range(0, files.size()).parallel().forEach(index -> runOrdered(order + index + 1, () -> {
+      messageCode.set(code);
+      action.accept(files.get(index));
+    }));
+  }
+
+  private void runOrdered(long order, Runnable task) {
+    Long currentOrder = messageOrder.get();
+    ErrorMessageCode currentCode = messageCode.get();
+    messageOrder.set(order);
+    try {
+      task.run();
+    } finally {
+      messageOrder.set(currentOrder);
+      messageCode.set(currentCode);
+    }
   }
 
+  /**
+   * Gets the content of a file parsed to the given type. Each file is parsed once per type, the
+   * parsed content is shared by all the validators and must not be modified. A parse failure is
+   * rethrown to every caller.
+   *
+   * @param fileName the file name
+   * @param type     the type to parse the content to
+   * @param parser   parses the content of the file
+   * @return the parsed content, empty if the file has no content
+   */
+  public <T> Optional<T> getParsedFileContent(String fileName, Class<T> type,
+                                              Function<InputStream, T> parser) {
+    FileValidationContext fileContext = fileContextMap.get(fileName);
+    if (fileContext == null || fileContext.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(
+        parsedFileCache.get(fileName, fileContext.getRawContent(), type, parser));
+  }
+
+  public ParsedFileCache getParsedFileCache() {
+    return parsedFileCache;
+  }
+
+  /**
+   * Shares the parsed files with the other stages of the onboarding, so the files already parsed
+   * by them are not parsed again.
+   */
+  public void setParsedFileCache(ParsedFileCache parsedFileCache) {
+    this.parsedFileCache = parsedFileCache;
+  }
 
   /**
    * Add message.
@@ -59,14 +160,15 @@ public class GlobalValidationContext {
 
     if (fileContextMap.containsKey(fileName)) {
       fileContextMap.get(fileName).getMessageContainer().getMessageBuilder()
-          .setMessage(level.toString() + ": " + message).setLevel(level).create();
+          .setMessage(level.toString() + ": " + message).setLevel(level)
+          .setOrder(messageOrder.get()).create();
     } else {
       MessageContainer messageContainer;
       synchronized (this) {
         messageContainer = messageContainerMap.computeIfAbsent(fileName, k -> new MessageContainer());
       }
       messageContainer.getMessageBuilder().setMessage(level.toString() + ": " + message)
-          .setLevel(level).create();
+          .setLevel(level).setOrder(messageOrder.get()).create();
     }
   }
 
@@ -88,6 +190,16 @@ public class GlobalValidationContext {
     fileContextMap.put(fileName, new FileValidationContext(fileName, fileContent));
   }
 
+  /**
+   * Adds a file of the given handler, which is read from the handler when validated.
+   *
+   * @param fileName the file name
+   * @param files    the handler holding the file
+   */
+  public void addFileContextFrom(String fileName, FileContentHandler files) {
+    fileContextMap.put(fileName, new FileValidationContext(fileName, files));
+  }
+
   /**
    * Gets context message containers.
    *
@@ -119,5 +231,4 @@ public class GlobalValidationContext {
   public Collection<String> getFiles() {
     return this.getFileContextMap().keySet();
   }
-
 }
@@ -24,16 +24,31 @@ import org.openecomp.sdc.datatypes.error.ErrorLevel;
 import org.openecomp.sdc.datatypes.error.ErrorMessage;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
-
+/**
+ * Messages of a single file. Messages may be added concurrently by validators running in parallel,
+ * they are listed in the order in which a sequential run of the validators would have added them,
+ * see {@link GlobalValidationContext#runValidator(int, Runnable)}.
+ */
 public class MessageContainer {
 
-  private List<ErrorMessage> errorMessageList = new ArrayList<>();
+  private static final Comparator<OrderedMessage> MESSAGE_ORDER =
+      Comparator.comparingLong((OrderedMessage message) -> message.order)
+          .thenComparingLong(message -> message.sequence);
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  private final List<OrderedMessage> messages = new ArrayList<>();
 
   public List<ErrorMessage> getErrorMessageList() {
-    return errorMessageList;
+    synchronized (messages) {
+      return messages.stream().sorted(MESSAGE_ORDER).map(message -> message.errorMessage)
+          .collect(Collectors.toList());
+    }
   }
 
   public MessageBuilder getMessageBuilder() {
@@ -49,7 +64,7 @@ public class MessageContainer {
   public List<ErrorMessage> getErrorMessageListByLevel(ErrorLevel level) {
 
     List<ErrorMessage> errors = new ArrayList<>();
-    errorMessageList.stream().filter(new Predicate<ErrorMessage>() {
+    getErrorMessageList().stream().filter(new Predicate<ErrorMessage>() {
       @Override
       public boolean test(ErrorMessage errorMessage) {
         return errorMessage.getLevel().equals(level);
@@ -58,10 +73,27 @@ public class MessageContainer {
     return errors;
   }
 
+  private void add(ErrorMessage errorMessage, long order) {
+    long sequence = SEQUENCE.incrementAndGet();
+    synchronized (messages) {
+      for (OrderedMessage message : messages) {
+        if (message.errorMessage.equals(errorMessage)) {
+          if (order < message.order) {
+            message.order = order;
+            message.sequence = sequence;
+          }
+          return;
+        }
+      }
+      messages.add(new OrderedMessage(errorMessage, order, sequence));
+    }
+  }
+
   public class MessageBuilder {
 
     String message;
     ErrorLevel level;
+    long order;
 
     MessageBuilder setMessage(String message) {
       this.message = message;
@@ -73,11 +105,25 @@ public class MessageContainer {
       return this;
     }
 
+    MessageBuilder setOrder(long order) {
+      this.order = order;
+      return this;
+    }
+
     void create() {
-      ErrorMessage errorMessage = new ErrorMessage(level, message);
-      if (!errorMessageList.contains(errorMessage)) {
-        errorMessageList.add(errorMessage);
-      }
+      add(new ErrorMessage(level, message), order);
+    }
+  }
+
+  private static class OrderedMessage {
+    private final ErrorMessage errorMessage;
+    private long order;
+    private long sequence;
+
+    OrderedMessage(ErrorMessage errorMessage, long order, long sequence) {
+      this.errorMessage = errorMessage;
+      this.order = order;
+      this.sequence = sequence;
     }
   }
 }
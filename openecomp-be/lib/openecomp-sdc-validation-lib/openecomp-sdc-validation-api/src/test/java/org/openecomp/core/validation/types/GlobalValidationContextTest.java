@@ -24,12 +24,16 @@ import org.openecomp.core.validation.ErrorMessageCode;
 import org.openecomp.sdc.datatypes.error.ErrorLevel;
 import org.openecomp.sdc.datatypes.error.ErrorMessage;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 public class GlobalValidationContextTest {
   private static String filename = "testName";
@@ -97,6 +101,89 @@ public class GlobalValidationContextTest {
 
   }
 
+  @Test
+  public void testMessagesAreOrderedByValidator() {
+    GlobalValidationContext globalValidationContext = new GlobalValidationContext();
+    globalValidationContext.addFileContext(filename, content.getBytes());
+    globalValidationContext.runValidator(1, () ->
+        globalValidationContext.addMessage(filename, ErrorLevel.ERROR, "second"));
+    globalValidationContext.runValidator(0, () -> {
+      globalValidationContext.addMessage(filename, ErrorLevel.ERROR, "first");
+      globalValidationContext.addMessage(filename, ErrorLevel.ERROR, "second");
+    });
+
+    List<ErrorMessage> messages =
+        globalValidationContext.getContextMessageContainers().get(filename).getErrorMessageList();
+    Assert.assertEquals(2, messages.size());
+    Assert.assertEquals("ERROR: first", messages.get(0).getMessage());
+    Assert.assertEquals("ERROR: second", messages.get(1).getMessage());
+  }
+
+  @Test
+  public void testForEachFileKeepsFileOrder() {
+    GlobalValidationContext globalValidationContext = new GlobalValidationContext();
+    globalValidationContext.setConcurrentFileValidation(true);
+    List<String> files = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      files.add("file" + i + ".yaml");
+    }
+    ErrorMessageCode code = new ErrorMessageCode("CODE");
+    globalValidationContext.runValidator(0, () -> {
+      globalValidationContext.setMessageCode(code);
+      globalValidationContext.forEachFile(files, file -> {
+        Assert.assertEquals(code, globalValidationContext.getMessageCode());
+        globalValidationContext.addMessage(filename, ErrorLevel.WARNING, file);
+      });
+    });
+
+    List<ErrorMessage> messages =
+        globalValidationContext.getContextMessageContainers().get(filename).getErrorMessageList();
+    Assert.assertEquals(files.size(), messages.size());
+    for (int i = 0; i < files.size(); i++) {
+      Assert.assertEquals("WARNING: " + files.get(i), messages.get(i).getMessage());
+    }
+  }
+
+  @Test
+  public void testParsedFileContentIsParsedOnce() {
+    GlobalValidationContext globalValidationContext = new GlobalValidationContext();
+    globalValidationContext.addFileContext(yaml1, content.getBytes());
+    AtomicInteger parseCount = new AtomicInteger();
+    Function<InputStream, String> parser = inputStream -> {
+      parseCount.incrementAndGet();
+      return content;
+    };
+
+    Assert.assertEquals(content,
+        globalValidationContext.getParsedFileContent(yaml1, String.class, parser).get());
+    Assert.assertEquals(content,
+        globalValidationContext.getParsedFileContent(yaml1, String.class, parser).get());
+    Assert.assertEquals(1, parseCount.get());
+    Assert.assertFalse(
+        globalValidationContext.getParsedFileContent(yaml2, String.class, parser).isPresent());
+  }
+
+  @Test
+  public void testParseFailureIsRethrown() {
+    GlobalValidationContext globalValidationContext = new GlobalValidationContext();
+    globalValidationContext.addFileContext(yaml1, content.getBytes());
+    AtomicInteger parseCount = new AtomicInteger();
+    Function<InputStream, String> parser = inputStream -> {
+      parseCount.incrementAndGet();
+      throw new IllegalArgumentException(message);
+    };
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        globalValidationContext.getParsedFileContent(yaml1, String.class, parser);
+        Assert.fail();
+      } catch (IllegalArgumentException exception) {
+        Assert.assertEquals(message, exception.getMessage());
+      }
+    }
+    Assert.assertEquals(1, parseCount.get());
+  }
+
   private void testGetFilesByFileType(BiPredicate<String, GlobalValidationContext> func,
                                       int expectedFilesNumberToFind,
                                       List<String> expectedFileNames,
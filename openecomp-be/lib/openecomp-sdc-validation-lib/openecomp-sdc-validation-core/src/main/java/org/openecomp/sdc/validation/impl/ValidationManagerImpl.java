@@ -21,6 +21,8 @@
 package org.openecomp.sdc.validation.impl;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.openecomp.core.utilities.file.FileContentHandler;
+import org.openecomp.core.utilities.file.ParsedFileCache;
 import org.openecomp.core.validation.api.ValidationManager;
 import org.openecomp.core.validation.types.GlobalValidationContext;
 import org.openecomp.core.validation.types.MessageContainer;
@@ -30,43 +32,161 @@ import org.openecomp.sdc.logging.api.LoggerFactory;
 import org.openecomp.sdc.validation.Validator;
 import org.openecomp.sdc.validation.services.ValidationFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Runs the validators over the files of a package.
+ * <p>
+ * With more than one validation thread configured, a validator starts as soon as the validators it
+ * depends on completed, and validators which validate each file on its own validate the files in
+ * parallel. The messages are reported in the same order as when the validators run one after the
+ * other.
+ */
 public class ValidationManagerImpl implements ValidationManager {
 
   private static Logger logger = (Logger) LoggerFactory.getLogger(ValidationManagerImpl.class);
+  private static ForkJoinPool validationPool;
 
   private GlobalValidationContext globalContext;
   private List<Validator> validators;
+  private final int validationThreads;
+  private final Map<String, Long> validatorTimings = new LinkedHashMap<>();
 
   public ValidationManagerImpl() {
+    this(ValidationFactory.getValidators(), ValidationFactory.getValidationThreads());
+  }
+
+  ValidationManagerImpl(List<Validator> validators, int validationThreads) {
     globalContext = new GlobalValidationContext();
-    validators = ValidationFactory.getValidators();
+    this.validators = validators.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    this.validationThreads = validationThreads;
   }
 
   @Override
   public Map<String, List<ErrorMessage>> validate() {
-    for (Validator validator : validators) {
-      if(Objects.nonNull(validator)) {
-        validator.validate(globalContext);
+    long[] durations = new long[validators.size()];
+    long start = System.nanoTime();
+    if (validationThreads > 1 && validators.size() > 1) {
+      validateConcurrently(durations);
+    } else {
+      for (int index = 0; index < validators.size(); index++) {
+        runValidator(index, durations);
       }
     }
+    reportTimings(durations, System.nanoTime() - start);
     return convertMessageContainsToErrorMessage(globalContext.getContextMessageContainers());
   }
 
+  /**
+   * @return the time each validator took in the last validation, in milliseconds
+   */
+  public Map<String, Long> getValidatorTimings() {
+    return validatorTimings;
+  }
+
   @Override
   public void addFile(String fileName, byte[] fileContent) {
     globalContext.addFileContext(fileName, fileContent);
   }
 
+  @Override
+  public void addFileFrom(String fileName, FileContentHandler files) {
+    globalContext.addFileContextFrom(fileName, files);
+  }
+
   @Override
   public void updateGlobalContext(GlobalValidationContext globalContext) {
     this.globalContext = globalContext;
   }
 
+  @Override
+  public void setParsedFileCache(ParsedFileCache parsedFileCache) {
+    globalContext.setParsedFileCache(parsedFileCache);
+  }
+
+  private void validateConcurrently(long[] durations) {
+    ForkJoinPool pool = getValidationPool(validationThreads);
+    Map<Integer, CompletableFuture<Void>> scheduled = new HashMap<>();
+    globalContext.setConcurrentFileValidation(true);
+    try {
+      for (int index = 0; index < validators.size(); index++) {
+        schedule(index, pool, scheduled, new HashSet<>(), durations);
+      }
+      CompletableFuture.allOf(scheduled.values().toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exception.getCause();
+      }
+      throw exception;
+    } finally {
+      globalContext.setConcurrentFileValidation(false);
+    }
+  }
+
+  private CompletableFuture<Void> schedule(int index, ForkJoinPool pool,
+                                           Map<Integer, CompletableFuture<Void>> scheduled,
+                                           Set<Integer> path, long[] durations) {
+    CompletableFuture<Void> future = scheduled.get(index);
+    if (future != null) {
+      return future;
+    }
+    Validator validator = validators.get(index);
+    if (!path.add(index)) {
+      throw new IllegalStateException(
+          "Cyclic dependency of validator " + validator.getClass().getName());
+    }
+    List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+    for (Class<? extends Validator> dependencyClass : validator.getDependencies()) {
+      for (int dependency = 0; dependency < validators.size(); dependency++) {
+        if (dependencyClass.isInstance(validators.get(dependency))) {
+          dependencies.add(schedule(dependency, pool, scheduled, path, durations));
+        }
+      }
+    }
+    path.remove(index);
+    future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+        .thenRunAsync(() -> runValidator(index, durations), pool);
+    scheduled.put(index, future);
+    return future;
+  }
+
+  private void runValidator(int index, long[] durations) {
+    Validator validator = validators.get(index);
+    long start = System.nanoTime();
+    globalContext.runValidator(index, () -> validator.validate(globalContext));
+    durations[index] = System.nanoTime() - start;
+  }
+
+  private void reportTimings(long[] durations, long total) {
+    validatorTimings.clear();
+    for (int index = 0; index < validators.size(); index++) {
+      validatorTimings.put(validators.get(index).getClass().getName(),
+          TimeUnit.NANOSECONDS.toMillis(durations[index]));
+    }
+    logger.info("Validation of {} files took {} ms, per validator: {}, {}",
+        globalContext.getFiles().size(), TimeUnit.NANOSECONDS.toMillis(total), validatorTimings,
+        globalContext.getParsedFileCache());
+  }
+
+  private static synchronized ForkJoinPool getValidationPool(int parallelism) {
+    if (validationPool == null) {
+      validationPool = new ForkJoinPool(parallelism);
+    }
+    return validationPool;
+  }
+
   private Map<String, List<ErrorMessage>> convertMessageContainsToErrorMessage(
       Map<String, MessageContainer> contextMessageContainers) {
     Map<String, List<ErrorMessage>> errors = new HashMap<>();
@@ -37,6 +37,7 @@ import java.util.Map;
 public class ValidationFactory {
   private static final List<Validator> validators = new ArrayList<>();
   private static Map<String, ImplementationConfiguration> validationImplMap;
+  private static int validationThreads;
   private static Logger logger =
       (Logger) LoggerFactory.getLogger(ValidationFactory.class);
   private static File file;
@@ -48,6 +49,9 @@ public class ValidationFactory {
         ConfigConstants.Validator_Impl_Key, ImplementationConfiguration.class);
     validationImplMap.putAll(config.populateMap(ConfigConstants.Mandatory_Namespace,
         ConfigConstants.Validator_Impl_Key, ImplementationConfiguration.class));
+    Integer threads =
+        config.getAsIntegerValue(ConfigConstants.Namespace, ConfigConstants.Validation_Threads_Key);
+    validationThreads = threads == null ? 0 : threads;
   }
 
   /**
@@ -65,6 +69,14 @@ public class ValidationFactory {
     return validators;
   }
 
+  /**
+   * The number of threads validating a package, validators with no dependency between them run in
+   * parallel. Up to 1 thread the validators run one after the other on the calling thread.
+   */
+  public static int getValidationThreads() {
+    return validationThreads;
+  }
+
   private static Validator cerateValidatorImpl(ImplementationConfiguration validatorConf) {
     Validator validator = null;
     validator =
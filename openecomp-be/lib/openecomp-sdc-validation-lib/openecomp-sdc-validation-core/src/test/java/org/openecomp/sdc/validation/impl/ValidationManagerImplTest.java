@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2019 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.openecomp.sdc.validation.impl;
+
+import org.openecomp.core.validation.types.GlobalValidationContext;
+import org.openecomp.sdc.datatypes.error.ErrorLevel;
+import org.openecomp.sdc.datatypes.error.ErrorMessage;
+import org.openecomp.sdc.validation.Validator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ValidationManagerImplTest {
+
+  private static final int FILES = 20;
+
+  @Test
+  public void testConcurrentValidationMatchesSequential() {
+    Map<String, List<ErrorMessage>> sequential = validate(1);
+    Map<String, List<ErrorMessage>> concurrent = validate(4);
+
+    Assert.assertEquals(sequential.size(), FILES + 1);
+    Assert.assertEquals(concurrent, sequential);
+    Assert.assertEquals(sequential.get("file0.yaml").get(0).getMessage(),
+        "WARNING: FirstValidator file0.yaml");
+  }
+
+  @Test
+  public void testDependentValidatorRunsAfterItsDependency() {
+    AtomicBoolean firstCompleted = new AtomicBoolean();
+    AtomicBoolean dependentSawFirst = new AtomicBoolean();
+    Validator first = new FirstValidator() {
+      @Override
+      public void validate(GlobalValidationContext globalContext) {
+        sleep();
+        firstCompleted.set(true);
+      }
+    };
+    Validator dependent = new DependentValidator() {
+      @Override
+      public void validate(GlobalValidationContext globalContext) {
+        dependentSawFirst.set(firstCompleted.get());
+      }
+    };
+    ValidationManagerImpl validationManager =
+        new ValidationManagerImpl(Arrays.asList(dependent, first), 4);
+    validationManager.validate();
+
+    Assert.assertTrue(dependentSawFirst.get());
+    Assert.assertEquals(validationManager.getValidatorTimings().size(), 2);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testFailingValidatorFailsValidation() {
+    Validator failing = globalContext -> {
+      throw new IllegalStateException("failed");
+    };
+    new ValidationManagerImpl(Arrays.asList(failing, new FirstValidator()), 4).validate();
+  }
+
+  private Map<String, List<ErrorMessage>> validate(int validationThreads) {
+    ValidationManagerImpl validationManager = new ValidationManagerImpl(
+        Arrays.asList(new FirstValidator(), new DependentValidator(), new PerFileValidator()),
+        validationThreads);
+    for (int i = 0; i < FILES; i++) {
+      validationManager.addFile("file" + i + ".yaml", "content".getBytes());
+    }
+    return validationManager.validate();
+  }
+
+  private static void addMessages(String validator, GlobalValidationContext globalContext) {
+    globalContext.getFiles().stream().sorted().forEach(fileName -> globalContext
+        .addMessage(fileName, ErrorLevel.WARNING, validator + " " + fileName));
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(50);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class FirstValidator implements Validator {
+    @Override
+    public void validate(GlobalValidationContext globalContext) {
+      sleep();
+      addMessages("FirstValidator", globalContext);
+    }
+  }
+
+  private static class DependentValidator implements Validator {
+    @Override
+    public void validate(GlobalValidationContext globalContext) {
+      addMessages("DependentValidator", globalContext);
+    }
+
+    @Override
+    public Collection<Class<? extends Validator>> getDependencies() {
+      return Collections.singletonList(FirstValidator.class);
+    }
+  }
+
+  private static class PerFileValidator implements Validator {
+    @Override
+    public void validate(GlobalValidationContext globalContext) {
+      globalContext.forEachFile(globalContext.getFiles(), fileName -> {
+        globalContext.addMessage(fileName, ErrorLevel.ERROR, "PerFileValidator " + fileName);
+        globalContext.addMessage("all", ErrorLevel.ERROR, "PerFileValidator " + fileName);
+      });
+    }
+  }
+}
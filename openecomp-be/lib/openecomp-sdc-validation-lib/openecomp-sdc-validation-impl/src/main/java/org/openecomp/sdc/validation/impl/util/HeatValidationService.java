@@ -17,7 +17,6 @@
 package org.openecomp.sdc.validation.impl.util;
 
 import org.apache.commons.collections4.CollectionUtils;
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.core.validation.errors.ErrorMessagesFormatBuilder;
 import org.openecomp.core.validation.types.GlobalValidationContext;
 import org.openecomp.sdc.common.errors.Messages;
@@ -28,12 +27,13 @@ import org.openecomp.sdc.heat.datatypes.model.HeatOrchestrationTemplate;
 import org.openecomp.sdc.heat.datatypes.model.Parameter;
 import org.openecomp.sdc.heat.datatypes.model.Resource;
 import org.openecomp.sdc.heat.services.HeatStructureUtil;
+import org.openecomp.sdc.heat.services.HeatTemplateParser;
 import org.openecomp.sdc.logging.api.Logger;
 import org.openecomp.sdc.logging.api.LoggerFactory;
 import org.openecomp.sdc.validation.impl.validators.HeatValidator;
 import org.openecomp.sdc.validation.type.HeatResourceValidationContext;
+import org.openecomp.sdc.validation.util.ValidationUtil;
 
-import java.io.InputStream;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -133,9 +133,10 @@ public class HeatValidationService {
                                                                         GlobalValidationContext globalContext)
           throws Exception {
 
-    Optional<InputStream> fileContent = globalContext.getFileContent(fileName);
-    if (fileContent.isPresent()) {
-      return new YamlUtil().yamlToObject(fileContent.get(), HeatOrchestrationTemplate.class);
+    HeatOrchestrationTemplate heatOrchestrationTemplate =
+        ValidationUtil.getHeatOrchestrationTemplate(fileName, globalContext);
+    if (heatOrchestrationTemplate != null) {
+      return heatOrchestrationTemplate;
     } else {
       Exception exception = new Exception(String.format(NO_CONTENT_IN_FILE_MSG, fileName));
       LOGGER.error("Error while reading file : " + fileName , exception);
@@ -284,12 +285,9 @@ public class HeatValidationService {
 
   private static HeatOrchestrationTemplate getNestedHeatOrchestrationTemplate( String nestedFileName,
                                           GlobalValidationContext globalContext) throws Exception {
-    Optional<InputStream> fileContent = globalContext.getFileContent(nestedFileName);
-    HeatOrchestrationTemplate nestedHeatOrchestrationTemplate;
-    if (fileContent.isPresent()) {
-      nestedHeatOrchestrationTemplate =
-              new YamlUtil().yamlToObject(fileContent.get(), HeatOrchestrationTemplate.class);
-    } else {
+    HeatOrchestrationTemplate nestedHeatOrchestrationTemplate =
+        ValidationUtil.getHeatOrchestrationTemplate(nestedFileName, globalContext);
+    if (nestedHeatOrchestrationTemplate == null) {
       throw new Exception(String.format(NO_CONTENT_IN_FILE_MSG, nestedFileName));
     }
 
@@ -312,9 +310,10 @@ public class HeatValidationService {
                                                GlobalValidationContext globalContext) {
     Environment envContent;
     try {
-      Optional<InputStream> fileContent = globalContext.getFileContent(envFileName);
-      if (fileContent.isPresent()) {
-        envContent = new YamlUtil().yamlToObject(fileContent.get(), Environment.class);
+      Optional<Environment> parsedContent = globalContext.getParsedFileContent(envFileName,
+          Environment.class, HeatTemplateParser::parseEnvironment);
+      if (parsedContent.isPresent()) {
+        envContent = parsedContent.get();
       } else {
         throw new Exception(String.format(NO_CONTENT_IN_FILE_MSG, envFileName));
       }
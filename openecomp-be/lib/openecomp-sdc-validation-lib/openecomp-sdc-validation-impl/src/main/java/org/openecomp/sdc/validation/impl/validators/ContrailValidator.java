@@ -17,7 +17,6 @@
 package org.openecomp.sdc.validation.impl.validators;
 
 import org.apache.commons.collections4.MapUtils;
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.core.validation.ErrorMessageCode;
 import org.openecomp.core.validation.errors.ErrorMessagesFormatBuilder;
 import org.openecomp.core.validation.types.GlobalValidationContext;
@@ -35,7 +34,8 @@ import org.openecomp.sdc.validation.Validator;
 import org.openecomp.sdc.validation.tos.ContrailResourcesMappingTo;
 import org.openecomp.sdc.validation.util.ValidationUtil;
 
-import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -48,6 +48,11 @@ public class ContrailValidator implements Validator {
   private static final ErrorMessageCode ERROR_CODE_CTL_3 = new ErrorMessageCode("CTL3");
   private static final ErrorMessageCode ERROR_CODE_CTL_4 = new ErrorMessageCode("CTL4");
 
+  @Override
+  public Collection<Class<? extends Validator>> getDependencies() {
+    return Collections.singletonList(HeatValidator.class);
+  }
+
   @Override
   public void validate(GlobalValidationContext globalContext) {
     ManifestContent manifestContent;
@@ -101,26 +106,24 @@ public class ContrailValidator implements Validator {
 
   private Optional<ContrailResourcesMappingTo> collectHeatFileContrailResources(
       GlobalValidationContext globalContext, String fileName) {
-    Optional<InputStream> fileContent = globalContext.getFileContent(fileName);
-    if (!fileContent.isPresent()) {
+    if (!globalContext.getFileContent(fileName).isPresent()) {
       globalContext.addMessage(fileName, ErrorLevel.ERROR, ErrorMessagesFormatBuilder
           .getErrorWithParameters(ERROR_CODE_CTL_1, Messages.INVALID_HEAT_FORMAT_REASON
                   .getErrorMessage(),
           "The file '" + fileName + "' has no content"));
       return Optional.empty();
     }
-    return fetchContrailResourcesMapping(fileName, fileContent.get());
+    return fetchContrailResourcesMapping(fileName, globalContext);
   }
 
   private Optional<ContrailResourcesMappingTo> fetchContrailResourcesMapping(String fileName,
-          InputStream fileContent ) {
+          GlobalValidationContext globalContext) {
     ContrailResourcesMappingTo contrailResourcesMappingTo = new ContrailResourcesMappingTo();
     HeatOrchestrationTemplate heatOrchestrationTemplate;
     try {
-      heatOrchestrationTemplate =
-          new YamlUtil().yamlToObject(fileContent, HeatOrchestrationTemplate.class);
+      heatOrchestrationTemplate = ValidationUtil.getHeatOrchestrationTemplate(fileName, globalContext);
     } catch (Exception ignored) {
-      LOGGER.error("Invalid file content : " + fileContent, ignored);
+      LOGGER.error("Invalid file content : " + fileName, ignored);
       // the HeatValidator should handle file that is failing to parse
       return Optional.empty();
     }
@@ -32,6 +32,8 @@ import org.openecomp.sdc.logging.api.LoggerFactory;
 import org.openecomp.sdc.validation.Validator;
 import org.openecomp.sdc.validation.util.ValidationUtil;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
@@ -69,6 +71,11 @@ public class ForbiddenResourceGuideLineValidator implements Validator {
   }
 
 
+  @Override
+  public Collection<Class<? extends Validator>> getDependencies() {
+    return Collections.singletonList(HeatValidator.class);
+  }
+
   @Override
   public void validate(GlobalValidationContext globalContext) {
     ManifestContent manifestContent;
@@ -81,10 +88,9 @@ public class ForbiddenResourceGuideLineValidator implements Validator {
 
     Map<String, FileData.Type> fileTypeMap = ManifestUtil.getFileTypeMap(manifestContent);
 
-    globalContext.getFiles().stream()
-        .filter(fileName -> FileData
-            .isHeatFile(fileTypeMap.get(fileName)))
-        .forEach(fileName -> validate(fileName, globalContext));
+    globalContext.forEachFile(globalContext.files(
+        (fileName, context) -> FileData.isHeatFile(fileTypeMap.get(fileName))),
+        fileName -> validate(fileName, globalContext));
   }
 
   private void validate(String fileName, GlobalValidationContext globalContext) {
@@ -18,6 +18,7 @@ package org.openecomp.sdc.validation.impl.validators;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,6 +35,7 @@ import org.openecomp.sdc.heat.services.HeatStructureUtil;
 import org.openecomp.sdc.logging.api.Logger;
 import org.openecomp.sdc.logging.api.LoggerFactory;
 import org.openecomp.sdc.validation.ValidationContext;
+import org.openecomp.sdc.validation.Validator;
 import org.openecomp.sdc.validation.base.ResourceBaseValidator;
 import org.openecomp.sdc.validation.type.ConfigConstants;
 import org.openecomp.sdc.validation.type.HeatResourceValidationContext;
@@ -47,6 +49,11 @@ public class HeatResourceValidator extends ResourceBaseValidator {
     super.init((Map<String, Object>) properties.get(ConfigConstants.Resource_Base_Validator));
   }
 
+  @Override
+  public Collection<Class<? extends Validator>> getDependencies() {
+    return Collections.singletonList(HeatValidator.class);
+  }
+
   @Override
   public ValidationContext createValidationContext(String fileName,
                                                    String envFileName,
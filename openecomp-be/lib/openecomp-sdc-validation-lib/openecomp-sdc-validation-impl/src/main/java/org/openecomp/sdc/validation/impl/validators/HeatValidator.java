@@ -16,17 +16,14 @@
 
 package org.openecomp.sdc.validation.impl.validators;
 
-import java.io.InputStream;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.core.validation.ErrorMessageCode;
 import org.openecomp.core.validation.errors.ErrorMessagesFormatBuilder;
 import org.openecomp.core.validation.types.GlobalValidationContext;
@@ -319,11 +316,9 @@ public class HeatValidator implements Validator {
     Map<String, Output> nestedOutputMap;
     HeatOrchestrationTemplate nestedHeatOrchestrationTemplate;
     try {
-      Optional<InputStream> fileContent = globalContext.getFileContent(resourceType);
-      if (fileContent.isPresent()) {
-        nestedHeatOrchestrationTemplate =
-            new YamlUtil().yamlToObject(fileContent.get(), HeatOrchestrationTemplate.class);
-      } else {
+      nestedHeatOrchestrationTemplate =
+          ValidationUtil.getHeatOrchestrationTemplate(resourceType, globalContext);
+      if (nestedHeatOrchestrationTemplate == null) {
         throw new Exception("The file '" + resourceType + "' has no content");
       }
     } catch (Exception exception) {
@@ -22,10 +22,13 @@ package org.openecomp.sdc.validation.impl.validators;
 import org.openecomp.core.validation.types.GlobalValidationContext;
 import org.openecomp.sdc.heat.datatypes.model.HeatOrchestrationTemplate;
 import org.openecomp.sdc.validation.ValidationContext;
+import org.openecomp.sdc.validation.Validator;
 import org.openecomp.sdc.validation.base.ResourceBaseValidator;
 import org.openecomp.sdc.validation.type.ConfigConstants;
 import org.openecomp.sdc.validation.type.NamingConventionValidationContext;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -38,6 +41,11 @@ public class NamingConventionGuideLineValidator extends ResourceBaseValidator {
     super.init((Map<String, Object>) properties.get(ConfigConstants.Resource_Base_Validator));
   }
 
+  @Override
+  public Collection<Class<? extends Validator>> getDependencies() {
+    return Collections.singletonList(HeatValidator.class);
+  }
+
   @Override
   public ValidationContext createValidationContext(String fileName, String envFileName,
                                                       HeatOrchestrationTemplate
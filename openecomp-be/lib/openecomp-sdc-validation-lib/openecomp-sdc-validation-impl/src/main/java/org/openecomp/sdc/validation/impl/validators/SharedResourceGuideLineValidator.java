@@ -36,6 +36,8 @@ import org.openecomp.sdc.logging.api.LoggerFactory;
 import org.openecomp.sdc.validation.Validator;
 import org.openecomp.sdc.validation.util.ValidationUtil;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -50,6 +52,11 @@ public class SharedResourceGuideLineValidator implements Validator {
   private static final ErrorMessageCode ERROR_CODE_SRG_5 = new ErrorMessageCode("SRG5");
   private static final ErrorMessageCode ERROR_CODE_SRG_6 = new ErrorMessageCode("SRG6");
 
+  @Override
+  public Collection<Class<? extends Validator>> getDependencies() {
+    return Collections.singletonList(HeatValidator.class);
+  }
+
   @Override
   public void validate(GlobalValidationContext globalContext) {
     ManifestContent manifestContent;
@@ -63,11 +70,9 @@ public class SharedResourceGuideLineValidator implements Validator {
     Set<String> baseFiles = validateManifest(manifestContent, globalContext);
 
     Map<String, FileData.Type> fileTypeMap = ManifestUtil.getFileTypeMap(manifestContent);
-    globalContext.getFiles().stream()
-        .filter(fileName -> FileData
-            .isHeatFile(fileTypeMap.get(fileName)))
-        .forEach(fileName -> validate(fileName,
-            fileTypeMap, baseFiles, globalContext));
+    globalContext.forEachFile(globalContext.files(
+        (fileName, context) -> FileData.isHeatFile(fileTypeMap.get(fileName))),
+        fileName -> validate(fileName, fileTypeMap, baseFiles, globalContext));
 
 
   }
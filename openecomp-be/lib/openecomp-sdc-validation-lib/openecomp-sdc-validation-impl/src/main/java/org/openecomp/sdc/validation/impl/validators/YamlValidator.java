@@ -40,7 +40,7 @@ public class YamlValidator implements Validator {
         (fileName, globalValidationContext) -> fileName.endsWith(".yaml")
             || fileName.endsWith(".yml") || fileName.endsWith(".env"));
 
-    files.stream().forEach(fileName -> validate(fileName, globalContext));
+    globalContext.forEachFile(files, fileName -> validate(fileName, globalContext));
   }
 
   private void validate(String fileName, GlobalValidationContext globalContext) {
@@ -54,7 +54,7 @@ public class YamlValidator implements Validator {
     }
 
     try {
-      convert(rowContent.get(), Map.class);
+      globalContext.getParsedFileContent(fileName, Map.class, content -> convert(content, Map.class));
     } catch (Exception exception) {
 
       globalContext.addMessage(fileName, ErrorLevel.ERROR, ErrorMessagesFormatBuilder
@@ -18,6 +18,8 @@ package org.openecomp.sdc.validation;
 
 import org.openecomp.core.validation.types.GlobalValidationContext;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 
@@ -25,4 +27,14 @@ public interface Validator {
   void validate(GlobalValidationContext globalContext);
 
   default void init(Map<String, Object> properties){ }
+
+  /**
+   * Validators which must complete before this validator starts. Validators with no dependency
+   * between them may run in parallel. A dependency which is not enabled is ignored.
+   *
+   * @return the classes of the validators this validator depends on
+   */
+  default Collection<Class<? extends Validator>> getDependencies() {
+    return Collections.emptyList();
+  }
 }
@@ -80,10 +80,9 @@ public class ResourceBaseValidator implements Validator {
 
     Map<String, FileData.Type> fileTypeMap = ManifestUtil.getFileTypeMap(manifestContent);
     Map<String, FileData> fileEnvMap = ManifestUtil.getFileAndItsEnv(manifestContent);
-    globalContext.getFiles().stream()
-        .filter(fileName -> FileData
-            .isHeatFile(fileTypeMap.get(fileName)))
-        .forEach(fileName -> validate(fileName,
+    globalContext.forEachFile(globalContext.files(
+        (fileName, context) -> FileData.isHeatFile(fileTypeMap.get(fileName))),
+        fileName -> validate(fileName,
             fileEnvMap.get(fileName) != null ? fileEnvMap.get(fileName).getFile() : null,
             globalContext));
   }
@@ -31,6 +31,7 @@ public class ConfigConstants {
   public static final String Mandatory_Namespace = "mandatoryValidation";
   public static final String Validator_Impl_Key = "validatorImplementations";
   public static final String Nested_Resource_Key = "nestedResource";
+  public static final String Validation_Threads_Key = "validationThreads";
 
   private ConfigConstants(){}
 }
@@ -17,7 +17,6 @@
 package org.openecomp.sdc.validation.util;
 
 import org.apache.commons.collections4.CollectionUtils;
-import org.onap.sdc.tosca.services.YamlUtil;
 import org.openecomp.core.utilities.json.JsonUtil;
 import org.openecomp.core.validation.errors.ErrorMessagesFormatBuilder;
 import org.openecomp.core.validation.types.GlobalValidationContext;
@@ -28,6 +27,7 @@ import org.openecomp.sdc.datatypes.error.ErrorLevel;
 import org.openecomp.sdc.heat.datatypes.manifest.ManifestContent;
 import org.openecomp.sdc.heat.datatypes.model.*;
 import org.openecomp.sdc.heat.services.HeatStructureUtil;
+import org.openecomp.sdc.heat.services.HeatTemplateParser;
 import org.openecomp.sdc.logging.api.Logger;
 import org.openecomp.sdc.logging.api.LoggerFactory;
 
@@ -130,9 +130,10 @@ public class ValidationUtil {
                                          GlobalValidationContext globalContext) {
     Environment envContent;
     try {
-      Optional<InputStream> fileContent = globalContext.getFileContent(envFileName);
-      if (fileContent.isPresent()) {
-        envContent = new YamlUtil().yamlToObject(fileContent.get(), Environment.class);
+      Optional<Environment> parsedContent = globalContext.getParsedFileContent(envFileName,
+          Environment.class, HeatTemplateParser::parseEnvironment);
+      if (parsedContent.isPresent()) {
+        envContent = parsedContent.get();
       } else {
         throw new Exception("The file '" + envFileName + "' has no content");
       }
@@ -190,17 +191,23 @@ public class ValidationUtil {
     return reason;
   }
 
+  /**
+   * Gets a heat file parsed once per onboarded package. The template is shared by all the
+   * validators and the other stages of the onboarding, and must not be modified.
+   *
+   * @return the template, null if the file has no content
+   */
+  public static HeatOrchestrationTemplate getHeatOrchestrationTemplate(String fileName,
+                                                                       GlobalValidationContext globalContext) {
+    return globalContext.getParsedFileContent(fileName, HeatOrchestrationTemplate.class,
+        HeatTemplateParser::parse).orElse(null);
+  }
+
   public static HeatOrchestrationTemplate checkHeatOrchestrationPreCondition(String fileName,
                                                                          GlobalValidationContext globalContext) {
     HeatOrchestrationTemplate heatOrchestrationTemplate;
     try {
-      Optional<InputStream> fileContent = globalContext.getFileContent(fileName);
-      if (fileContent.isPresent()) {
-        heatOrchestrationTemplate =
-            new YamlUtil().yamlToObject(fileContent.get(), HeatOrchestrationTemplate.class);
-      } else {
-        heatOrchestrationTemplate = null;
-      }
+      heatOrchestrationTemplate = getHeatOrchestrationTemplate(fileName, globalContext);
     } catch (Exception exception) {
       globalContext.addMessage(fileName, ErrorLevel.ERROR, ErrorMessagesFormatBuilder
               .getErrorWithParameters(globalContext.getMessageCode(),
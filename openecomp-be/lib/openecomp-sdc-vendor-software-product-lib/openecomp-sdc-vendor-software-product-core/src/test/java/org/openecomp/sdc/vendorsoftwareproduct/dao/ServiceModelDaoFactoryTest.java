@@ -219,6 +219,18 @@ public class ServiceModelDaoFactoryTest {
       return Optional.empty();
     }
 
+    @Override
+    public Collection<Element> getElements(SessionContext context, ElementContext elementContext,
+                                           Collection<Id> elementIds) {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public Optional<Element> getElementTree(SessionContext context, ElementContext elementContext,
+                                            Id elementId, int depth) {
+      return Optional.empty();
+    }
+
     @Override
     public Optional<Element> getElementByName(SessionContext context,
                                               ElementContext elementContext,